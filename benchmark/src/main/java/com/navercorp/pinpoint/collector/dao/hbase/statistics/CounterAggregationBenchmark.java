@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import org.apache.hadoop.hbase.client.Increment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map statistics aggregation under multi-threaded span ingest.
+ * <p>
+ * Four threads update caller statistics the way HbaseMapStatisticsCallerDao does while one thread flushes
+ * into bulk Increments every flushIntervalMillis. compares {@link ConcurrentCounterMap} with {@link AtomicCounterTable}.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar CounterAggregationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterAggregationBenchmark {
+
+    private static final byte[] FAMILY = {'C'};
+    private static final long ROW_TIME_SLOT = 1483228800000L;
+
+    // distinct caller -> callee pairs per flush interval
+    @Param({"64", "1024"})
+    public int keyCount;
+
+    // the collector flushes periodically. a busy flush loop would only measure table allocation
+    @Param({"10"})
+    public int flushIntervalMillis;
+
+    private String[] callerApplicationNames;
+    private String[] calleeApplicationNames;
+
+    private ConcurrentCounterMap<RowInfo> counterMap;
+    private AtomicCounterTable counterTable;
+    private RowKeyMerge rowKeyMerge;
+
+    @Setup
+    public void setUp() {
+        this.callerApplicationNames = new String[keyCount];
+        this.calleeApplicationNames = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            this.callerApplicationNames[i] = "callerApplication" + (i % 16);
+            this.calleeApplicationNames[i] = "calleeApplication" + i;
+        }
+        this.counterMap = new ConcurrentCounterMap<>();
+        this.counterTable = new AtomicCounterTable();
+        this.rowKeyMerge = new RowKeyMerge(FAMILY);
+    }
+
+    @State(Scope.Thread)
+    public static class Sequence {
+        private int next;
+
+        int next(int keyCount) {
+            final int index = next;
+            next = (index + 1) % keyCount;
+            return index;
+        }
+    }
+
+    private RowKey newRowKey(int index) {
+        return new CallRowKey(callerApplicationNames[index], (short) 1010, ROW_TIME_SLOT);
+    }
+
+    private ColumnName newColumnName(int index) {
+        return new CalleeColumnName("agentId", (short) 2100, calleeApplicationNames[index], "127.0.0.1:8080", (short) (index & 7));
+    }
+
+    @Benchmark
+    @Group("concurrentCounterMap")
+    @GroupThreads(4)
+    public void concurrentCounterMapIngest(Sequence sequence) {
+        final int index = sequence.next(keyCount);
+        counterMap.increment(new DefaultRowInfo(newRowKey(index), newColumnName(index)), 1L);
+    }
+
+    @Benchmark
+    @Group("concurrentCounterMap")
+    @GroupThreads(1)
+    public List<Increment> concurrentCounterMapFlush() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(flushIntervalMillis);
+        final Map<RowInfo, ConcurrentCounterMap.LongAdder> remove = counterMap.remove();
+        return rowKeyMerge.createBulkIncrement(remove, null);
+    }
+
+    @Benchmark
+    @Group("atomicCounterTable")
+    @GroupThreads(4)
+    public void atomicCounterTableIngest(Sequence sequence) {
+        final int index = sequence.next(keyCount);
+        counterTable.increment(newRowKey(index), newColumnName(index), 1L);
+    }
+
+    @Benchmark
+    @Group("atomicCounterTable")
+    @GroupThreads(1)
+    public List<Increment> atomicCounterTableFlush() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(flushIntervalMillis);
+        final AtomicCounterTable.Snapshot remove = counterTable.remove();
+        return rowKeyMerge.createBulkIncrement(remove, null);
+    }
+}
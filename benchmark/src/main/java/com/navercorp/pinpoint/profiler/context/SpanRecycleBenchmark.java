@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.id.AsyncIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DefaultAsyncIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultRecorderFactory;
+import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
+import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.metadata.DefaultSqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.DefaultStringMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.profiler.sender.AbstractDataSender;
+import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.profiler.sender.LoggingDataSender;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import org.apache.thrift.TBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of a traced request with and without span event recycling.
+ * <p>
+ * Each operation traces a transaction with spanEventCount span events and serializes the span and span chunks
+ * the way the UDP span data sender does. Run with -prof gc and compare gc.alloc.rate.norm (bytes per transaction).
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar SpanRecycleBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanRecycleBenchmark {
+
+    private static final String AGENT_ID = "agentId";
+    private static final String SQL = "select * from member where id = ?";
+
+    @Param({"false", "true"})
+    public boolean recycle;
+
+    @Param({"10", "100"})
+    public int spanEventCount;
+
+    private CallStackFactory callStackFactory;
+    private StorageFactory storageFactory;
+    private SpanFactory spanFactory;
+    private RecorderFactory recorderFactory;
+    private AsyncIdGenerator asyncIdGenerator;
+    private long transactionId;
+
+    @Setup
+    public void setUp() {
+        final SpanRecycler spanRecycler;
+        if (recycle) {
+            spanRecycler = new PooledSpanRecycler(4096);
+        } else {
+            spanRecycler = DisabledSpanRecycler.INSTANCE;
+        }
+        this.callStackFactory = new DefaultCallStackFactory(64);
+        this.spanFactory = new DefaultSpanFactory("applicationName", AGENT_ID, 0, ServiceType.STAND_ALONE, spanRecycler);
+        final SpanChunkFactory spanChunkFactory = new DefaultSpanChunkFactory("applicationName", AGENT_ID, 0, ServiceType.STAND_ALONE);
+        this.storageFactory = new BufferedStorageFactory(20, new SerializingDataSender(), spanChunkFactory, spanRecycler);
+
+        final EnhancedDataSender metaDataSender = new LoggingDataSender();
+        final StringMetaDataService stringMetaDataService = new DefaultStringMetaDataService(AGENT_ID, 0, metaDataSender);
+        final SqlMetaDataService sqlMetaDataService = new DefaultSqlMetaDataService(AGENT_ID, 0, metaDataSender, 1024);
+        this.recorderFactory = new DefaultRecorderFactory(stringMetaDataService, sqlMetaDataService);
+        this.asyncIdGenerator = new DefaultAsyncIdGenerator();
+    }
+
+    @Benchmark
+    public Trace traceTransaction() {
+        final long localTransactionId = transactionId++;
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, 0, localTransactionId, false);
+        final Trace trace = new DefaultTrace(callStackFactory, storageFactory.createStorage(), traceId, localTransactionId, asyncIdGenerator, true,
+                spanFactory, recorderFactory);
+
+        final SpanRecorder spanRecorder = trace.getSpanRecorder();
+        spanRecorder.recordServiceType(ServiceType.STAND_ALONE);
+        spanRecorder.recordRpcName("/benchmark");
+
+        for (int i = 0; i < spanEventCount; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordApiId(i);
+            recorder.recordAttribute(AnnotationKey.ARGS0, "arg");
+            recorder.recordAttribute(AnnotationKey.ARGS1, i);
+            if ((i & 3) == 0) {
+                recorder.recordSqlInfo(SQL);
+            }
+            trace.traceBlockEnd();
+        }
+        trace.close();
+        return trace;
+    }
+
+    /**
+     * Serializes and recycles on the caller thread like UdpDataSender does on its executor thread.
+     */
+    private static class SerializingDataSender extends AbstractDataSender {
+
+        private final HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024 * 64, true).createSerializer();
+
+        @Override
+        public boolean send(TBase<?, ?> data) {
+            sendPacket(data);
+            return true;
+        }
+
+        @Override
+        protected void sendPacket(Object message) {
+            try {
+                serialize(serializer, (TBase) message);
+            } finally {
+                recycle(message);
+            }
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.resource.DefaultThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.DisabledThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of span cpu time and allocated bytes capture.
+ * <p>
+ * Each operation creates a span and closes it the way DefaultTrace does.
+ * The difference against resourceUsage=NONE is the cost added to every traced transaction.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar SpanResourceUsageBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanResourceUsageBenchmark {
+
+    public enum ResourceUsage {
+        NONE, CPU_TIME, ALLOCATED_BYTES, ALL
+    }
+
+    @Param({"NONE", "CPU_TIME", "ALLOCATED_BYTES", "ALL"})
+    public ResourceUsage resourceUsage;
+
+    private SpanFactory spanFactory;
+
+    @Setup
+    public void setUp() {
+        final ThreadResourceMeter threadResourceMeter;
+        switch (resourceUsage) {
+            case CPU_TIME:
+                threadResourceMeter = new DefaultThreadResourceMeter(true, false);
+                break;
+            case ALLOCATED_BYTES:
+                threadResourceMeter = new DefaultThreadResourceMeter(false, true);
+                break;
+            case ALL:
+                threadResourceMeter = new DefaultThreadResourceMeter(true, true);
+                break;
+            default:
+                threadResourceMeter = DisabledThreadResourceMeter.INSTANCE;
+        }
+        this.spanFactory = new DefaultSpanFactory("applicationName", "agentId", 0, ServiceType.STAND_ALONE,
+                DisabledSpanRecycler.INSTANCE, threadResourceMeter);
+    }
+
+    @Benchmark
+    public Span span() {
+        final Span span = spanFactory.newSpan();
+        span.markAfterTime();
+        span.markAfterResourceUsage();
+        return span;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.id;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * transactionId header inject(format) and extract(parse) of the "agentId^agentStartTime^sequence" form against the base64url compact form.
+ * <p>
+ * nextTraceIdHeader* is the agent path of an outgoing call. the compact header is formatted once per transaction and reused by the next traceIds.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar TransactionIdHeaderBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdHeaderBenchmark {
+
+    private static final String AGENT_ID = "order-api-prod-01";
+    private static final long AGENT_START_TIME = 1508232000000L;
+
+    private long transactionSequence = 123456;
+    private final String legacyHeader = TransactionIdUtils.formatString(AGENT_ID, AGENT_START_TIME, 123456);
+    private final String compactHeader = TransactionIdUtils.formatCompactString(AGENT_ID, AGENT_START_TIME, 123456);
+    private final char[] buffer = new char[128];
+
+    private final TraceId legacyTraceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, 123456, false);
+    private final TraceId compactTraceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, 123456, true);
+
+    @Benchmark
+    public String injectLegacy() {
+        return TransactionIdUtils.formatString(AGENT_ID, AGENT_START_TIME, transactionSequence);
+    }
+
+    @Benchmark
+    public TransactionId extractLegacy() {
+        return TransactionIdUtils.parseTransactionId(legacyHeader);
+    }
+
+    @Benchmark
+    public String injectCompact() {
+        return TransactionIdUtils.formatCompactString(AGENT_ID, AGENT_START_TIME, transactionSequence);
+    }
+
+    @Benchmark
+    public int injectCompactBuffer() {
+        return TransactionIdUtils.formatCompact(AGENT_ID, AGENT_START_TIME, transactionSequence, buffer, 0);
+    }
+
+    @Benchmark
+    public TransactionId extractCompact() {
+        return TransactionIdUtils.parseTransactionId(compactHeader);
+    }
+
+    @Benchmark
+    public String nextTraceIdHeaderLegacy() {
+        return legacyTraceId.getNextTraceId().getTransactionIdHeader();
+    }
+
+    @Benchmark
+    public String nextTraceIdHeaderCompact() {
+        return compactTraceId.getNextTraceId().getTransactionIdHeader();
+    }
+}
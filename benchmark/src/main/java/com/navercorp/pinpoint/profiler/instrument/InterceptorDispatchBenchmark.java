@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor1;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
+import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor dispatch of an ASM instrumented method. InterceptorRegistry lookup vs static final field binding.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar InterceptorDispatchBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorDispatchBenchmark {
+
+    private final InterceptorRegistryBinder interceptorRegistryBinder = new DefaultInterceptorRegistryBinder();
+
+    private final String argument = "argument";
+
+    private Target plain;
+    private Target registryLookup;
+    private Target staticBinding;
+
+    @Setup
+    public void setUp() throws Exception {
+        interceptorRegistryBinder.bind();
+        final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(new CountingInterceptor());
+
+        this.plain = new TargetImpl();
+        this.registryLookup = newInstrumentedTarget(interceptorId, false);
+        this.staticBinding = newInstrumentedTarget(interceptorId, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        interceptorRegistryBinder.unbind();
+    }
+
+    @Benchmark
+    public Object plain() {
+        return plain.call(argument);
+    }
+
+    @Benchmark
+    public Object registryLookup() {
+        return registryLookup.call(argument);
+    }
+
+    @Benchmark
+    public Object staticBinding() {
+        return staticBinding.call(argument);
+    }
+
+    private Target newInstrumentedTarget(int interceptorId, boolean interceptorStaticBinding) throws Exception {
+        final String className = TargetImpl.class.getName();
+        final ClassNode classNode = new ClassNode();
+        new ClassReader(readClassFile(className)).accept(classNode, 0);
+
+        final ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(null, null, classNode);
+        final String interceptorFieldName = interceptorStaticBinding ? classNodeAdapter.addInterceptorField(interceptorId) : null;
+        final InterceptorDefinition interceptorDefinition = new InterceptorDefinitionFactory().createInterceptorDefinition(CountingInterceptor.class);
+        final ASMMethodNodeAdapter methodNode = classNodeAdapter.getDeclaredMethod("call", "(Ljava/lang/String;)");
+        methodNode.addBeforeInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, -1);
+        methodNode.addAfterInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, -1);
+
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classNode.accept(classWriter);
+        final Class<?> instrumentedClass = new InstrumentedClassLoader().define(className, classWriter.toByteArray());
+        return (Target) instrumentedClass.newInstance();
+    }
+
+    private byte[] readClassFile(String className) throws IOException {
+        final InputStream in = getClass().getClassLoader().getResourceAsStream(className.replace('.', '/') + ".class");
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static class InstrumentedClassLoader extends ClassLoader {
+        InstrumentedClassLoader() {
+            super(InterceptorDispatchBenchmark.class.getClassLoader());
+        }
+
+        Class<?> define(String className, byte[] classFile) {
+            return defineClass(className, classFile, 0, classFile.length);
+        }
+    }
+
+    public interface Target {
+        Object call(String value);
+    }
+
+    public static class TargetImpl implements Target {
+        @Override
+        public Object call(String value) {
+            return value;
+        }
+    }
+
+    public static class CountingInterceptor implements AroundInterceptor1 {
+        private int beforeCount;
+        private int afterCount;
+
+        @Override
+        public void before(Object target, Object arg0) {
+            beforeCount++;
+        }
+
+        @Override
+        public void after(Object target, Object arg0, Object result, Throwable throwable) {
+            afterCount++;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.common.util.DefaultSqlParser;
+import com.navercorp.pinpoint.common.util.StreamingSqlNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultSqlParser} against {@link StreamingSqlNormalizer} over the ORM style statements of sql-corpus.txt.
+ * Literals and IN lists of 1 to maxInListSize elements are generated per statement.
+ * <p>
+ * parse* normalizes every statement. cachingNormalizer* is the agent path, a cache lookup per statement.
+ * One operation processes the whole corpus.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar SqlNormalizerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlNormalizerBenchmark {
+
+    private static final int CORPUS_SIZE = 1000;
+
+    @Param({"10", "200"})
+    public int maxInListSize;
+
+    private String[] corpus;
+
+    private final DefaultSqlParser defaultSqlParser = new DefaultSqlParser();
+    private final StreamingSqlNormalizer streamingSqlNormalizer = new StreamingSqlNormalizer(true);
+
+    private CachingSqlNormalizer defaultCachingSqlNormalizer;
+    private CachingSqlNormalizer streamingCachingSqlNormalizer;
+
+    @Setup
+    public void setup() throws IOException {
+        final List<String> templates = loadTemplates();
+        final Random random = new Random(1);
+        this.corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            final String template = templates.get(random.nextInt(templates.size()));
+            corpus[i] = generate(template, random);
+        }
+        this.defaultCachingSqlNormalizer = new DefaultCachingSqlNormalizer(1024);
+        this.streamingCachingSqlNormalizer = new StreamingCachingSqlNormalizer(1024, true);
+    }
+
+    private List<String> loadTemplates() throws IOException {
+        final InputStream inputStream = SqlNormalizerBenchmark.class.getClassLoader().getResourceAsStream("sql-corpus.txt");
+        if (inputStream == null) {
+            throw new IOException("sql-corpus.txt not found");
+        }
+        final List<String> templates = new ArrayList<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                templates.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return templates;
+    }
+
+    private String generate(String template, Random random) {
+        final StringBuilder sql = new StringBuilder(template.length() * 2);
+        int index = 0;
+        while (index < template.length()) {
+            final int start = template.indexOf('{', index);
+            final int end = start == -1 ? -1 : template.indexOf('}', start);
+            if (start == -1 || end == -1) {
+                sql.append(template, index, template.length());
+                break;
+            }
+            sql.append(template, index, start);
+            final String placeholder = template.substring(start + 1, end);
+            if (placeholder.equals("N")) {
+                sql.append(random.nextInt(100000));
+            } else if (placeholder.equals("S")) {
+                sql.append('\'').append(Long.toHexString(random.nextLong())).append('\'');
+            } else if (placeholder.startsWith("IN")) {
+                final int size = 1 + random.nextInt(maxInListSize);
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        sql.append(", ");
+                    }
+                    if (placeholder.equals("INS")) {
+                        sql.append('\'').append(Integer.toHexString(random.nextInt())).append('\'');
+                    } else if (placeholder.equals("INB")) {
+                        sql.append('?');
+                    } else {
+                        sql.append(random.nextInt(1000000));
+                    }
+                }
+            } else {
+                // not a placeholder. e.g. mybatis #{teamId}
+                sql.append(template, start, end + 1);
+            }
+            index = end + 1;
+        }
+        return sql.toString();
+    }
+
+    @Benchmark
+    public void parseDefaultSqlParser(Blackhole blackhole) {
+        for (String sql : corpus) {
+            blackhole.consume(defaultSqlParser.normalizedSql(sql));
+        }
+    }
+
+    @Benchmark
+    public void parseStreamingSqlNormalizer(Blackhole blackhole) {
+        for (String sql : corpus) {
+            final StringBuilder output = new StringBuilder(32);
+            blackhole.consume(streamingSqlNormalizer.normalize(sql, output));
+            blackhole.consume(output.toString());
+        }
+    }
+
+    @Benchmark
+    public void cachingNormalizerDefault(Blackhole blackhole) {
+        normalize(defaultCachingSqlNormalizer, blackhole);
+    }
+
+    @Benchmark
+    public void cachingNormalizerStreaming(Blackhole blackhole) {
+        normalize(streamingCachingSqlNormalizer, blackhole);
+    }
+
+    private void normalize(CachingSqlNormalizer cachingSqlNormalizer, Blackhole blackhole) {
+        for (String sql : corpus) {
+            final ParsingResult parsingResult = cachingSqlNormalizer.wrapSql(sql);
+            blackhole.consume(cachingSqlNormalizer.normalizedSql(parsingResult));
+            blackhole.consume(parsingResult.getOutput());
+        }
+    }
+}
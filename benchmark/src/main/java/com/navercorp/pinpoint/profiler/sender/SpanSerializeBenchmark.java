@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.SpanCompactSerializer;
+import org.apache.thrift.TException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span serialization of the UDP span data sender. generic {@link HeaderTBaseSerializer} vs {@link SpanCompactSerializer}.
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar SpanSerializeBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanSerializeBenchmark {
+
+    @Param({"10", "100"})
+    public int spanEventCount;
+
+    private final HeaderTBaseSerializer headerTBaseSerializer = new HeaderTBaseSerializerFactory(false, UdpDataSender.UDP_MAX_PACKET_LENGTH, false).createSerializer();
+    private final SpanCompactSerializer spanCompactSerializer = new SpanCompactSerializer(UdpDataSender.UDP_MAX_PACKET_LENGTH);
+
+    private Span span;
+
+    @Setup
+    public void setUp() {
+        final Span span = new Span();
+        span.setAgentId("agentId");
+        span.setApplicationName("applicationName");
+        span.setAgentStartTime(System.currentTimeMillis());
+        span.setTransactionId(new byte[] {0, 7, 'a', 'g', 'e', 'n', 't', 'I', 'd', -1, -1, 1, 2});
+        span.setSpanId(-5768437586948476271L);
+        span.setParentSpanId(-1);
+        span.setStartTime(System.currentTimeMillis());
+        span.setElapsed(120);
+        span.setRpc("/benchmark/span");
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        span.setFlag((short) 0);
+        span.setApiId(1);
+        span.addAnnotation(new Annotation(AnnotationKey.HTTP_URL.getCode(), "/benchmark/span?id=1"));
+
+        final List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>(spanEventCount);
+        for (int i = 0; i < spanEventCount; i++) {
+            final SpanEvent spanEvent = new SpanEvent(span);
+            spanEvent.setSequence((short) i);
+            spanEvent.setStartElapsed(i);
+            spanEvent.setEndElapsed(1);
+            spanEvent.setDepth(2);
+            spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+            spanEvent.setApiId(i);
+            spanEvent.addAnnotation(new Annotation(AnnotationKey.ARGS0.getCode(), "arg"));
+            spanEvent.addAnnotation(new Annotation(AnnotationKey.ARGS1.getCode(), i));
+            if ((i & 3) == 0) {
+                spanEvent.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), new TIntStringValue(i)));
+                spanEvent.setNextSpanId(-1);
+                spanEvent.setDestinationId("database");
+                spanEvent.setEndPoint("localhost:3306");
+            }
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        this.span = span;
+    }
+
+    @Benchmark
+    public int headerTBaseSerializer() throws TException {
+        headerTBaseSerializer.serialize(span);
+        return headerTBaseSerializer.getInterBufferSize();
+    }
+
+    @Benchmark
+    public int spanCompactSerializer() throws TException {
+        spanCompactSerializer.serialize(span);
+        return spanCompactSerializer.getInterBufferSize();
+    }
+}
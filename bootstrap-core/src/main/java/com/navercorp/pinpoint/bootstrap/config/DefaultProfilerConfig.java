@@ -90,6 +90,10 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean profileEnable = false;
 
     private String profileInstrumentEngine = INSTRUMENT_ENGINE_ASM;
+    private boolean interceptorStaticBinding = false;
+    private boolean bytecodeCacheEnable = false;
+    private String bytecodeCacheDir = "";
+    private long bytecodeCacheMaxSize = 1024 * 1024 * 64;
 
     private int interceptorRegistrySize = 1024*8;
 
@@ -107,12 +111,19 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private int spanDataSenderSocketTimeout = 1000 * 3;
     private int spanDataSenderChunkSize = 1024 * 16;
     private String spanDataSenderSocketType = "OIO";
+    private String spanDataSenderWriteQueueType = "LINKED";
 
     private int statDataSenderWriteQueueSize = 1024 * 5;
     private int statDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int statDataSenderSocketTimeout = 1000 * 3;
     private int statDataSenderChunkSize = 1024 * 16;
     private String statDataSenderSocketType = "OIO";
+    private String statDataSenderWriteQueueType = "LINKED";
+
+    private int udpDataSenderCoalescingPacketSize = 1432;
+    private long udpDataSenderCoalescingFlushInterval = 100;
+
+    private String tcpDataSenderWriteQueueType = "LINKED";
 
     private boolean tcpDataSenderCommandAcceptEnable = false;
     private boolean tcpDataSenderCommandActiveThreadEnable = false;
@@ -122,23 +133,74 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
     private boolean traceAgentActiveThread = true;
 
+    private boolean stackSamplingEnable = false;
+    private int stackSamplingInterval = 100;
+    private int stackSamplingThreshold = 1000;
+    private int stackSamplingMaxDepth = 64;
+    private int stackSamplingMaxEntryPoint = 100;
+    private int stackSamplingMaxStack = 2000;
+
     private boolean traceAgentDataSource = false;
     private int dataSourceTraceLimitSize = 20;
 
     private int callStackMaxDepth = 512;
+    // per-trace span event budget. -1 is unlimited
+    private int callStackMaxSpanEventCount = -1;
+    private boolean callStackCollapseEnable = false;
 
     private int jdbcSqlCacheSize = 1024;
+    private String jdbcSqlNormalizerType = "DEFAULT";
+    private boolean jdbcSqlNormalizerInListCollapse = false;
     private boolean traceSqlBindValue = false;
     private int maxSqlBindValueSize = 1024;
 
     // Sampling
     private boolean samplingEnable = true;
     private int samplingRate = 1;
+    private String samplingType = "RATE";
+    private int samplingThroughput = 20;
+
+    // deferred sampling of unsampled transactions
+    private boolean deferredSamplingEnable = false;
+    private long deferredSamplingLatencyThreshold = 1000;
+    private int deferredSamplingMaxSpanEventCount = 256;
+    private int deferredSamplingMaxTraceCount = 256;
+    private long deferredSamplingMaxAge = 60000;
+    private long deferredSamplingEntryPointInterval = 60000;
+
+    // sampling throttled by the occupancy(%) of the span sender queue
+    private boolean samplingBackpressureEnable = false;
+    private int samplingBackpressureLowWatermark = 50;
+    private int samplingBackpressureHighWatermark = 90;
+
+    // base64url binary transactionId header
+    private boolean compactTransactionIdHeader = false;
 
     // span buffering
     private boolean ioBufferingEnable;
     private int ioBufferingBufferSize;
 
+    // span event recycling
+    private boolean spanRecycleEnable = false;
+    private int spanRecyclePoolSize = 4096;
+    private boolean spanRecycleLeakDetectionEnable = false;
+    private long spanRecycleLeakThreshold = 60000;
+
+    // thread resource usage of span
+    private boolean spanCpuTimeEnable = false;
+    private boolean spanAllocatedBytesEnable = false;
+
+    // response time histogram of unsampled transactions
+    private boolean responseTimeHistogramEnable = false;
+    private long responseTimeHistogramFlushInterval = 10000;
+
+    // disk spill of undeliverable data
+    private boolean spillEnable = false;
+    private String spillDir = "";
+    private int spillSegmentSize = 1024 * 1024 * 8;
+    private int spillSegmentCount = 8;
+    private int spillReplayRate = 500;
+
     private int profileJvmCollectInterval;
     private String profileJvmVendorName;
     private boolean profilerJvmCollectDetailedMetrics;
@@ -151,6 +213,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private String applicationServerType;
     private List<String> applicationTypeDetectOrder = Collections.emptyList();
     private List<String> disabledPlugins = Collections.emptyList();
+    private boolean pluginLazySetup = false;
+    private int pluginSetupThreadCount = 1;
 
     private boolean propagateInterceptorException = false;
 
@@ -221,6 +285,21 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return statDataSenderSocketType;
     }
 
+    @Override
+    public String getStatDataSenderWriteQueueType() {
+        return statDataSenderWriteQueueType;
+    }
+
+    @Override
+    public int getUdpDataSenderCoalescingPacketSize() {
+        return udpDataSenderCoalescingPacketSize;
+    }
+
+    @Override
+    public long getUdpDataSenderCoalescingFlushInterval() {
+        return udpDataSenderCoalescingFlushInterval;
+    }
+
     @Override
     public int getSpanDataSenderWriteQueueSize() {
         return spanDataSenderWriteQueueSize;
@@ -231,6 +310,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return spanDataSenderSocketSendBufferSize;
     }
 
+    @Override
+    public String getSpanDataSenderWriteQueueType() {
+        return spanDataSenderWriteQueueType;
+    }
+
+    @Override
+    public String getTcpDataSenderWriteQueueType() {
+        return tcpDataSenderWriteQueueType;
+    }
+
     @Override
     public boolean isTcpDataSenderCommandAcceptEnable() {
         return tcpDataSenderCommandAcceptEnable;
@@ -261,6 +350,36 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return traceAgentActiveThread;
     }
 
+    @Override
+    public boolean isStackSamplingEnable() {
+        return stackSamplingEnable;
+    }
+
+    @Override
+    public int getStackSamplingInterval() {
+        return stackSamplingInterval;
+    }
+
+    @Override
+    public int getStackSamplingThreshold() {
+        return stackSamplingThreshold;
+    }
+
+    @Override
+    public int getStackSamplingMaxDepth() {
+        return stackSamplingMaxDepth;
+    }
+
+    @Override
+    public int getStackSamplingMaxEntryPoint() {
+        return stackSamplingMaxEntryPoint;
+    }
+
+    @Override
+    public int getStackSamplingMaxStack() {
+        return stackSamplingMaxStack;
+    }
+
     @Override
     public boolean isTraceAgentDataSource() {
         return traceAgentDataSource;
@@ -301,6 +420,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return jdbcSqlCacheSize;
     }
 
+    @Override
+    public String getJdbcSqlNormalizerType() {
+        return jdbcSqlNormalizerType;
+    }
+
+    @Override
+    public boolean isJdbcSqlNormalizerInListCollapse() {
+        return jdbcSqlNormalizerInListCollapse;
+    }
+
     @Override
     public boolean isTraceSqlBindValue() {
         return traceSqlBindValue;
@@ -322,6 +451,66 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return samplingRate;
     }
 
+    @Override
+    public String getSamplingType() {
+        return samplingType;
+    }
+
+    @Override
+    public int getSamplingThroughput() {
+        return samplingThroughput;
+    }
+
+    @Override
+    public boolean isDeferredSamplingEnable() {
+        return deferredSamplingEnable;
+    }
+
+    @Override
+    public long getDeferredSamplingLatencyThreshold() {
+        return deferredSamplingLatencyThreshold;
+    }
+
+    @Override
+    public int getDeferredSamplingMaxSpanEventCount() {
+        return deferredSamplingMaxSpanEventCount;
+    }
+
+    @Override
+    public int getDeferredSamplingMaxTraceCount() {
+        return deferredSamplingMaxTraceCount;
+    }
+
+    @Override
+    public long getDeferredSamplingMaxAge() {
+        return deferredSamplingMaxAge;
+    }
+
+    @Override
+    public long getDeferredSamplingEntryPointInterval() {
+        return deferredSamplingEntryPointInterval;
+    }
+
+    @Override
+    public boolean isSamplingBackpressureEnable() {
+        return samplingBackpressureEnable;
+    }
+
+    @Override
+    public int getSamplingBackpressureLowWatermark() {
+        return samplingBackpressureLowWatermark;
+    }
+
+    @Override
+    public int getSamplingBackpressureHighWatermark() {
+        return samplingBackpressureHighWatermark;
+    }
+
+    @Override
+    public boolean isCompactTransactionIdHeader() {
+        return compactTransactionIdHeader;
+    }
+
     @Override
     public boolean isIoBufferingEnable() {
         return ioBufferingEnable;
@@ -332,6 +521,71 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return ioBufferingBufferSize;
     }
 
+    @Override
+    public boolean isSpanRecycleEnable() {
+        return spanRecycleEnable;
+    }
+
+    @Override
+    public int getSpanRecyclePoolSize() {
+        return spanRecyclePoolSize;
+    }
+
+    @Override
+    public boolean isSpanRecycleLeakDetectionEnable() {
+        return spanRecycleLeakDetectionEnable;
+    }
+
+    @Override
+    public long getSpanRecycleLeakThreshold() {
+        return spanRecycleLeakThreshold;
+    }
+
+    @Override
+    public boolean isSpanCpuTimeEnable() {
+        return spanCpuTimeEnable;
+    }
+
+    @Override
+    public boolean isSpanAllocatedBytesEnable() {
+        return spanAllocatedBytesEnable;
+    }
+
+    @Override
+    public boolean isResponseTimeHistogramEnable() {
+        return responseTimeHistogramEnable;
+    }
+
+    @Override
+    public long getResponseTimeHistogramFlushInterval() {
+        return responseTimeHistogramFlushInterval;
+    }
+
+    @Override
+    public boolean isSpillEnable() {
+        return spillEnable;
+    }
+
+    @Override
+    public String getSpillDir() {
+        return spillDir;
+    }
+
+    @Override
+    public int getSpillSegmentSize() {
+        return spillSegmentSize;
+    }
+
+    @Override
+    public int getSpillSegmentCount() {
+        return spillSegmentCount;
+    }
+
+    @Override
+    public int getSpillReplayRate() {
+        return spillReplayRate;
+    }
+
     @Override
     public int getProfileJvmCollectInterval() {
         return profileJvmCollectInterval;
@@ -368,6 +622,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return disabledPlugins;
     }
 
+    @Override
+    public boolean isPluginLazySetup() {
+        return pluginLazySetup;
+    }
+
+    @Override
+    public int getPluginSetupThreadCount() {
+        return pluginSetupThreadCount;
+    }
+
     @Override
     public String getApplicationServerType() {
         return applicationServerType;
@@ -386,6 +650,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     public void setCallStackMaxDepth(int callStackMaxDepth) {
         this.callStackMaxDepth = callStackMaxDepth;
     }
+
+    @Override
+    public int getCallStackMaxSpanEventCount() {
+        return callStackMaxSpanEventCount;
+    }
+
+    @Override
+    public boolean isCallStackCollapseEnable() {
+        return callStackCollapseEnable;
+    }
     
     @Override
     public boolean isPropagateInterceptorException() {
@@ -397,6 +671,26 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return profileInstrumentEngine;
     }
 
+    @Override
+    public boolean isInterceptorStaticBinding() {
+        return interceptorStaticBinding;
+    }
+
+    @Override
+    public boolean isBytecodeCacheEnable() {
+        return bytecodeCacheEnable;
+    }
+
+    @Override
+    public String getBytecodeCacheDir() {
+        return bytecodeCacheDir;
+    }
+
+    @Override
+    public long getBytecodeCacheMaxSize() {
+        return bytecodeCacheMaxSize;
+    }
+
 
     // for test
     void readPropertyValues() {
@@ -405,6 +699,10 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
         this.profileEnable = readBoolean("profiler.enable", true);
         this.profileInstrumentEngine = readString("profiler.instrument.engine", INSTRUMENT_ENGINE_ASM);
+        this.interceptorStaticBinding = readBoolean("profiler.instrument.interceptor.static.binding", false);
+        this.bytecodeCacheEnable = readBoolean("profiler.instrument.bytecode.cache.enable", false);
+        this.bytecodeCacheDir = readString("profiler.instrument.bytecode.cache.dir", "");
+        this.bytecodeCacheMaxSize = readLong("profiler.instrument.bytecode.cache.max.size", 1024 * 1024 * 64);
 
         this.interceptorRegistrySize = readInt("profiler.interceptorregistry.size", 1024*8);
 
@@ -422,12 +720,19 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.spanDataSenderSocketTimeout = readInt("profiler.spandatasender.socket.timeout", 1000 * 3);
         this.spanDataSenderChunkSize = readInt("profiler.spandatasender.chunk.size", 1024 * 16);
         this.spanDataSenderSocketType = readString("profiler.spandatasender.socket.type", "OIO");
+        this.spanDataSenderWriteQueueType = readString("profiler.spandatasender.write.queue.type", "LINKED");
 
         this.statDataSenderWriteQueueSize = readInt("profiler.statdatasender.write.queue.size", 1024 * 5);
         this.statDataSenderSocketSendBufferSize = readInt("profiler.statdatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.statDataSenderSocketTimeout = readInt("profiler.statdatasender.socket.timeout", 1000 * 3);
         this.statDataSenderChunkSize = readInt("profiler.statdatasender.chunk.size", 1024 * 16);
         this.statDataSenderSocketType = readString("profiler.statdatasender.socket.type", "OIO");
+        this.statDataSenderWriteQueueType = readString("profiler.statdatasender.write.queue.type", "LINKED");
+
+        this.udpDataSenderCoalescingPacketSize = readInt("profiler.udpdatasender.coalescing.packet.size", 1432);
+        this.udpDataSenderCoalescingFlushInterval = readLong("profiler.udpdatasender.coalescing.flush.interval", 100);
+
+        this.tcpDataSenderWriteQueueType = readString("profiler.tcpdatasender.write.queue.type", "LINKED");
 
         this.tcpDataSenderCommandAcceptEnable = readBoolean("profiler.tcpdatasender.command.accept.enable", false);
         this.tcpDataSenderCommandActiveThreadEnable = readBoolean("profiler.tcpdatasender.command.activethread.enable", false);
@@ -437,6 +742,13 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
         this.traceAgentActiveThread = readBoolean("profiler.pinpoint.activethread", true);
 
+        this.stackSamplingEnable = readBoolean("profiler.stack.sampling.enable", false);
+        this.stackSamplingInterval = readInt("profiler.stack.sampling.interval", 100);
+        this.stackSamplingThreshold = readInt("profiler.stack.sampling.threshold", 1000);
+        this.stackSamplingMaxDepth = readInt("profiler.stack.sampling.max.depth", 64);
+        this.stackSamplingMaxEntryPoint = readInt("profiler.stack.sampling.max.entrypoint", 100);
+        this.stackSamplingMaxStack = readInt("profiler.stack.sampling.max.stack", 2000);
+
         this.traceAgentDataSource = readBoolean("profiler.pinpoint.datasource", false);
         this.dataSourceTraceLimitSize = readInt("profiler.pinpoint.datasource.tracelimitsize", 20);
 
@@ -445,14 +757,36 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         if (this.callStackMaxDepth < 2) {
             this.callStackMaxDepth = 2;
         }
+        this.callStackMaxSpanEventCount = readInt("profiler.callstack.max.spanevent.count", -1);
+        if (this.callStackMaxSpanEventCount < 1) {
+            this.callStackMaxSpanEventCount = -1;
+        }
+        this.callStackCollapseEnable = readBoolean("profiler.callstack.collapse.enable", false);
         
         // JDBC
         this.jdbcSqlCacheSize = readInt("profiler.jdbc.sqlcachesize", 1024);
+        this.jdbcSqlNormalizerType = readString("profiler.jdbc.sqlnormalizer.type", "DEFAULT");
+        this.jdbcSqlNormalizerInListCollapse = readBoolean("profiler.jdbc.sqlnormalizer.inlist.collapse", false);
         this.traceSqlBindValue = readBoolean("profiler.jdbc.tracesqlbindvalue", false);
 
 
         this.samplingEnable = readBoolean("profiler.sampling.enable", true);
         this.samplingRate = readInt("profiler.sampling.rate", 1);
+        this.samplingType = readString("profiler.sampling.type", "RATE");
+        this.samplingThroughput = readInt("profiler.sampling.throughput", 20);
+
+        this.deferredSamplingEnable = readBoolean("profiler.sampling.deferred.enable", false);
+        this.deferredSamplingLatencyThreshold = readLong("profiler.sampling.deferred.latency.threshold", 1000);
+        this.deferredSamplingMaxSpanEventCount = readInt("profiler.sampling.deferred.max.spanevent.count", 256);
+        this.deferredSamplingMaxTraceCount = readInt("profiler.sampling.deferred.max.trace.count", 256);
+        this.deferredSamplingMaxAge = readLong("profiler.sampling.deferred.max.age", 60000);
+        this.deferredSamplingEntryPointInterval = readLong("profiler.sampling.deferred.entrypoint.interval", 60000);
+
+        this.samplingBackpressureEnable = readBoolean("profiler.sampling.backpressure.enable", false);
+        this.samplingBackpressureLowWatermark = readInt("profiler.sampling.backpressure.low.watermark", 50);
+        this.samplingBackpressureHighWatermark = readInt("profiler.sampling.backpressure.high.watermark", 90);
+
+        this.compactTransactionIdHeader = readBoolean("profiler.transaction.id.compact.header", false);
 
         // configuration for sampling and IO buffer 
         this.ioBufferingEnable = readBoolean("profiler.io.buffering.enable", true);
@@ -460,6 +794,23 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         // it may be a problem to be here.  need to modify(delete or move or .. )  this configuration.
         this.ioBufferingBufferSize = readInt("profiler.io.buffering.buffersize", 20);
 
+        this.spanRecycleEnable = readBoolean("profiler.span.recycle.enable", false);
+        this.spanRecyclePoolSize = readInt("profiler.span.recycle.pool.size", 4096);
+        this.spanRecycleLeakDetectionEnable = readBoolean("profiler.span.recycle.leak.detection.enable", false);
+        this.spanRecycleLeakThreshold = readLong("profiler.span.recycle.leak.threshold", 60000);
+
+        this.spanCpuTimeEnable = readBoolean("profiler.span.cputime.enable", false);
+        this.spanAllocatedBytesEnable = readBoolean("profiler.span.allocatedbytes.enable", false);
+
+        this.responseTimeHistogramEnable = readBoolean("profiler.responsetime.histogram.enable", false);
+        this.responseTimeHistogramFlushInterval = readLong("profiler.responsetime.histogram.flush.interval", 10000);
+
+        this.spillEnable = readBoolean("profiler.spill.enable", false);
+        this.spillDir = readString("profiler.spill.dir", "");
+        this.spillSegmentSize = readInt("profiler.spill.segment.size", 1024 * 1024 * 8);
+        this.spillSegmentCount = readInt("profiler.spill.segment.count", 8);
+        this.spillReplayRate = readInt("profiler.spill.replay.rate", 500);
+
         // JVM
         this.profileJvmCollectInterval = readInt("profiler.jvm.collect.interval", 1000);
         this.profileJvmVendorName = readString("profiler.jvm.vendor.name", null);
@@ -474,6 +825,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.applicationTypeDetectOrder = readList("profiler.type.detect.order");
         
         this.disabledPlugins = readList("profiler.plugin.disable");
+        this.pluginLazySetup = readBoolean("profiler.plugin.lazy.setup", false);
+        this.pluginSetupThreadCount = readInt("profiler.plugin.setup.thread.count", 1);
         
         // TODO have to remove        
         // profile package included in order to test "call stack view".
@@ -596,6 +949,14 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(properties);
         builder.append(", interceptorRegistrySize=");
         builder.append(interceptorRegistrySize);
+        builder.append(", interceptorStaticBinding=");
+        builder.append(interceptorStaticBinding);
+        builder.append(", bytecodeCacheEnable=");
+        builder.append(bytecodeCacheEnable);
+        builder.append(", bytecodeCacheDir=");
+        builder.append(bytecodeCacheDir);
+        builder.append(", bytecodeCacheMaxSize=");
+        builder.append(bytecodeCacheMaxSize);
         builder.append(", propertyPlaceholderHelper=");
         builder.append(propertyPlaceholderHelper);
         builder.append(", profileEnable=");
@@ -622,6 +983,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(spanDataSenderChunkSize);
         builder.append(", spanDataSenderSocketType=");
         builder.append(spanDataSenderSocketType);
+        builder.append(", spanDataSenderWriteQueueType=");
+        builder.append(spanDataSenderWriteQueueType);
         builder.append(", statDataSenderWriteQueueSize=");
         builder.append(statDataSenderWriteQueueSize);
         builder.append(", statDataSenderSocketSendBufferSize=");
@@ -632,6 +995,14 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(statDataSenderChunkSize);
         builder.append(", statDataSenderSocketType=");
         builder.append(statDataSenderSocketType);
+        builder.append(", statDataSenderWriteQueueType=");
+        builder.append(statDataSenderWriteQueueType);
+        builder.append(", udpDataSenderCoalescingPacketSize=");
+        builder.append(udpDataSenderCoalescingPacketSize);
+        builder.append(", udpDataSenderCoalescingFlushInterval=");
+        builder.append(udpDataSenderCoalescingFlushInterval);
+        builder.append(", tcpDataSenderWriteQueueType=");
+        builder.append(tcpDataSenderWriteQueueType);
         builder.append(", tcpDataSenderCommandAcceptEnable=");
         builder.append(tcpDataSenderCommandAcceptEnable);
         builder.append(", tcpDataSenderCommandActiveThreadEnable=");
@@ -644,14 +1015,34 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(tcpDataSenderCommandActiveThreadLightDumpEnable);
         builder.append(", traceAgentActiveThread=");
         builder.append(traceAgentActiveThread);
+        builder.append(", stackSamplingEnable=");
+        builder.append(stackSamplingEnable);
+        builder.append(", stackSamplingInterval=");
+        builder.append(stackSamplingInterval);
+        builder.append(", stackSamplingThreshold=");
+        builder.append(stackSamplingThreshold);
+        builder.append(", stackSamplingMaxDepth=");
+        builder.append(stackSamplingMaxDepth);
+        builder.append(", stackSamplingMaxEntryPoint=");
+        builder.append(stackSamplingMaxEntryPoint);
+        builder.append(", stackSamplingMaxStack=");
+        builder.append(stackSamplingMaxStack);
         builder.append(", traceAgentDataSource=");
         builder.append(traceAgentDataSource);
         builder.append(", dataSourceTraceLimitSize=");
         builder.append(dataSourceTraceLimitSize);
         builder.append(", callStackMaxDepth=");
         builder.append(callStackMaxDepth);
+        builder.append(", callStackMaxSpanEventCount=");
+        builder.append(callStackMaxSpanEventCount);
+        builder.append(", callStackCollapseEnable=");
+        builder.append(callStackCollapseEnable);
         builder.append(", jdbcSqlCacheSize=");
         builder.append(jdbcSqlCacheSize);
+        builder.append(", jdbcSqlNormalizerType=");
+        builder.append(jdbcSqlNormalizerType);
+        builder.append(", jdbcSqlNormalizerInListCollapse=");
+        builder.append(jdbcSqlNormalizerInListCollapse);
         builder.append(", traceSqlBindValue=");
         builder.append(traceSqlBindValue);
         builder.append(", maxSqlBindValueSize=");
@@ -660,10 +1051,60 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(samplingEnable);
         builder.append(", samplingRate=");
         builder.append(samplingRate);
+        builder.append(", samplingType=");
+        builder.append(samplingType);
+        builder.append(", samplingThroughput=");
+        builder.append(samplingThroughput);
+        builder.append(", deferredSamplingEnable=");
+        builder.append(deferredSamplingEnable);
+        builder.append(", deferredSamplingLatencyThreshold=");
+        builder.append(deferredSamplingLatencyThreshold);
+        builder.append(", deferredSamplingMaxSpanEventCount=");
+        builder.append(deferredSamplingMaxSpanEventCount);
+        builder.append(", deferredSamplingMaxTraceCount=");
+        builder.append(deferredSamplingMaxTraceCount);
+        builder.append(", deferredSamplingMaxAge=");
+        builder.append(deferredSamplingMaxAge);
+        builder.append(", deferredSamplingEntryPointInterval=");
+        builder.append(deferredSamplingEntryPointInterval);
+        builder.append(", samplingBackpressureEnable=");
+        builder.append(samplingBackpressureEnable);
+        builder.append(", samplingBackpressureLowWatermark=");
+        builder.append(samplingBackpressureLowWatermark);
+        builder.append(", samplingBackpressureHighWatermark=");
+        builder.append(samplingBackpressureHighWatermark);
+        builder.append(", compactTransactionIdHeader=");
+        builder.append(compactTransactionIdHeader);
         builder.append(", ioBufferingEnable=");
         builder.append(ioBufferingEnable);
         builder.append(", ioBufferingBufferSize=");
         builder.append(ioBufferingBufferSize);
+        builder.append(", spanRecycleEnable=");
+        builder.append(spanRecycleEnable);
+        builder.append(", spanRecyclePoolSize=");
+        builder.append(spanRecyclePoolSize);
+        builder.append(", spanRecycleLeakDetectionEnable=");
+        builder.append(spanRecycleLeakDetectionEnable);
+        builder.append(", spanRecycleLeakThreshold=");
+        builder.append(spanRecycleLeakThreshold);
+        builder.append(", spanCpuTimeEnable=");
+        builder.append(spanCpuTimeEnable);
+        builder.append(", spanAllocatedBytesEnable=");
+        builder.append(spanAllocatedBytesEnable);
+        builder.append(", responseTimeHistogramEnable=");
+        builder.append(responseTimeHistogramEnable);
+        builder.append(", responseTimeHistogramFlushInterval=");
+        builder.append(responseTimeHistogramFlushInterval);
+        builder.append(", spillEnable=");
+        builder.append(spillEnable);
+        builder.append(", spillDir=");
+        builder.append(spillDir);
+        builder.append(", spillSegmentSize=");
+        builder.append(spillSegmentSize);
+        builder.append(", spillSegmentCount=");
+        builder.append(spillSegmentCount);
+        builder.append(", spillReplayRate=");
+        builder.append(spillReplayRate);
         builder.append(", profileJvmCollectInterval=");
         builder.append(profileJvmCollectInterval);
         builder.append(", profilableClassFilter=");
@@ -678,6 +1119,10 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(applicationTypeDetectOrder);
         builder.append(", disabledPlugins=");
         builder.append(disabledPlugins);
+        builder.append(", pluginLazySetup=");
+        builder.append(pluginLazySetup);
+        builder.append(", pluginSetupThreadCount=");
+        builder.append(pluginSetupThreadCount);
         builder.append("}");
         return builder.toString();
     }
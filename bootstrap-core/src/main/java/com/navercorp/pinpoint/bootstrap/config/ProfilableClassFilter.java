@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.bootstrap.config;
 
+import com.navercorp.pinpoint.bootstrap.util.ClassNameTrie;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -26,6 +28,7 @@ public class ProfilableClassFilter implements Filter<String> {
 
     private final Set<String> profileInclude = new HashSet<String>();
     private final Set<String> profileIncludeSub = new HashSet<String>();
+    private final ClassNameTrie<Boolean> profileIncludeTrie = new ClassNameTrie<Boolean>();
 
     public ProfilableClassFilter(String profilableClass) {
         if (profilableClass == null || profilableClass.isEmpty()) {
@@ -34,10 +37,13 @@ public class ProfilableClassFilter implements Filter<String> {
         String[] className = profilableClass.split(",");
         for (String str : className) {
             if (str.endsWith(".*")) {
-                this.profileIncludeSub.add(str.substring(0, str.length() - 2).replace('.', '/') + "/");
+                final String packageName = str.substring(0, str.length() - 2).replace('.', '/') + "/";
+                this.profileIncludeSub.add(packageName);
+                this.profileIncludeTrie.putPrefix(packageName, Boolean.TRUE);
             } else {
                 String replace = str.trim().replace('.', '/');
                 this.profileInclude.add(replace);
+                this.profileIncludeTrie.putExact(replace, Boolean.TRUE);
             }
         }
     }
@@ -50,17 +56,8 @@ public class ProfilableClassFilter implements Filter<String> {
      */
     @Override
     public boolean filter(String className) {
-        if (profileInclude.contains(className)) {
-            return true;
-        } else {
-            final String packageName = className.substring(0, className.lastIndexOf("/") + 1);
-            for (String pkg : profileIncludeSub) {
-                if (packageName.startsWith(pkg)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        // called for every class load. no substring allocation
+        return profileIncludeTrie.find(className) != null;
     }
 
 
@@ -46,10 +46,20 @@ public interface ProfilerConfig {
 
     String getStatDataSenderSocketType();
 
+    String getStatDataSenderWriteQueueType();
+
+    int getUdpDataSenderCoalescingPacketSize();
+
+    long getUdpDataSenderCoalescingFlushInterval();
+
     int getSpanDataSenderWriteQueueSize();
 
     int getSpanDataSenderSocketSendBufferSize();
 
+    String getSpanDataSenderWriteQueueType();
+
+    String getTcpDataSenderWriteQueueType();
+
     boolean isTcpDataSenderCommandAcceptEnable();
 
     boolean isTcpDataSenderCommandActiveThreadEnable();
@@ -62,6 +72,18 @@ public interface ProfilerConfig {
 
     boolean isTraceAgentActiveThread();
 
+    boolean isStackSamplingEnable();
+
+    int getStackSamplingInterval();
+
+    int getStackSamplingThreshold();
+
+    int getStackSamplingMaxDepth();
+
+    int getStackSamplingMaxEntryPoint();
+
+    int getStackSamplingMaxStack();
+
     boolean isTraceAgentDataSource();
 
     int getDataSourceTraceLimitSize();
@@ -78,6 +100,10 @@ public interface ProfilerConfig {
 
     int getJdbcSqlCacheSize();
 
+    String getJdbcSqlNormalizerType();
+
+    boolean isJdbcSqlNormalizerInListCollapse();
+
     boolean isTraceSqlBindValue();
 
     int getMaxSqlBindValueSize();
@@ -86,10 +112,60 @@ public interface ProfilerConfig {
 
     int getSamplingRate();
 
+    String getSamplingType();
+
+    int getSamplingThroughput();
+
+    boolean isDeferredSamplingEnable();
+
+    long getDeferredSamplingLatencyThreshold();
+
+    int getDeferredSamplingMaxSpanEventCount();
+
+    int getDeferredSamplingMaxTraceCount();
+
+    long getDeferredSamplingMaxAge();
+
+    long getDeferredSamplingEntryPointInterval();
+
+    boolean isSamplingBackpressureEnable();
+
+    int getSamplingBackpressureLowWatermark();
+
+    int getSamplingBackpressureHighWatermark();
+
+    boolean isCompactTransactionIdHeader();
+
     boolean isIoBufferingEnable();
 
     int getIoBufferingBufferSize();
 
+    boolean isSpanRecycleEnable();
+
+    int getSpanRecyclePoolSize();
+
+    boolean isSpanRecycleLeakDetectionEnable();
+
+    long getSpanRecycleLeakThreshold();
+
+    boolean isSpanCpuTimeEnable();
+
+    boolean isSpanAllocatedBytesEnable();
+
+    boolean isResponseTimeHistogramEnable();
+
+    long getResponseTimeHistogramFlushInterval();
+
+    boolean isSpillEnable();
+
+    String getSpillDir();
+
+    int getSpillSegmentSize();
+
+    int getSpillSegmentCount();
+
+    int getSpillReplayRate();
+
     int getProfileJvmCollectInterval();
 
     String getProfilerJvmVendorName();
@@ -105,14 +181,30 @@ public interface ProfilerConfig {
 
     List<String> getDisabledPlugins();
 
+    boolean isPluginLazySetup();
+
+    int getPluginSetupThreadCount();
+
     String getApplicationServerType();
 
     int getCallStackMaxDepth();
 
+    int getCallStackMaxSpanEventCount();
+
+    boolean isCallStackCollapseEnable();
+
     boolean isPropagateInterceptorException();
 
     String getProfileInstrumentEngine();
 
+    boolean isInterceptorStaticBinding();
+
+    boolean isBytecodeCacheEnable();
+
+    String getBytecodeCacheDir();
+
+    long getBytecodeCacheMaxSize();
+
     String readString(String propertyName, String defaultValue);
 
     int readInt(String propertyName, int defaultValue);
@@ -27,6 +27,12 @@ public interface TraceId {
 
     String getTransactionId();
 
+    /**
+     * transactionId to propagate to the next agent.
+     * compact form if profiler.transaction.id.compact.header is enabled, otherwise same as {@link #getTransactionId()}
+     */
+    String getTransactionIdHeader();
+
     String getAgentId();
 
     long getAgentStartTime();
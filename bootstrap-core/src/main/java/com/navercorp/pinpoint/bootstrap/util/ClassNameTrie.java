@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.bootstrap.util;
+
+/**
+ * Radix trie over class internal names. e.g. com/navercorp/pinpoint/MyClass
+ * <p>
+ * An exact entry matches a single class, a prefix entry matches every class whose name starts with the prefix.
+ * The exact entry wins over prefix entries and the longest prefix wins over shorter ones.
+ * {@link #find(String)} walks the name once and allocates nothing.
+ * most unrelated names are rejected within the first few characters.
+ * <p>
+ * Caution. not thread safe while building. complete all put operations before sharing the trie.
+ */
+public class ClassNameTrie<T> {
+
+    private static final char[] EMPTY_KEYS = new char[0];
+
+    private final Node<T> root = new Node<T>("");
+
+    private int exactCount = 0;
+    private int prefixCount = 0;
+    private int nodeCount = 1;
+
+    /**
+     * @return previous value of the class name or null
+     */
+    public T putExact(String classInternalName, T value) {
+        if (classInternalName == null) {
+            throw new NullPointerException("classInternalName must not be null");
+        }
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        final Node<T> node = getOrCreateNode(classInternalName);
+        final T old = node.exact;
+        node.exact = value;
+        if (old == null) {
+            exactCount++;
+        }
+        return old;
+    }
+
+    /**
+     * @return previous value of the prefix or null
+     */
+    public T putPrefix(String prefix, T value) {
+        if (prefix == null) {
+            throw new NullPointerException("prefix must not be null");
+        }
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+        final Node<T> node = getOrCreateNode(prefix);
+        final T old = node.prefix;
+        node.prefix = value;
+        if (old == null) {
+            prefixCount++;
+        }
+        return old;
+    }
+
+    private Node<T> getOrCreateNode(String key) {
+        Node<T> node = this.root;
+        int index = 0;
+        while (index < key.length()) {
+            final char ch = key.charAt(index);
+            final Node<T> child = node.getChild(ch);
+            if (child == null) {
+                nodeCount++;
+                return node.putChild(new Node<T>(key.substring(index)));
+            }
+
+            final String label = child.label;
+            final int common = commonPrefixLength(label, key, index);
+            if (common == label.length()) {
+                node = child;
+                index += common;
+                continue;
+            }
+            // split the edge
+            final Node<T> middle = new Node<T>(label.substring(0, common));
+            child.label = label.substring(common);
+            middle.putChild(child);
+            node.putChild(middle);
+            nodeCount++;
+
+            node = middle;
+            index += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int keyOffset) {
+        final int max = Math.min(label.length(), key.length() - keyOffset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(keyOffset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    public T find(String classInternalName) {
+        if (classInternalName == null) {
+            return null;
+        }
+        Node<T> node = this.root;
+        T prefixMatched = node.prefix;
+        final int length = classInternalName.length();
+        int index = 0;
+        while (index < length) {
+            node = node.getChild(classInternalName.charAt(index));
+            if (node == null) {
+                return prefixMatched;
+            }
+            final String label = node.label;
+            if (!classInternalName.regionMatches(index, label, 0, label.length())) {
+                return prefixMatched;
+            }
+            index += label.length();
+            if (node.prefix != null) {
+                prefixMatched = node.prefix;
+            }
+        }
+        if (node.exact != null) {
+            return node.exact;
+        }
+        return prefixMatched;
+    }
+
+    public boolean isEmpty() {
+        return exactCount == 0 && prefixCount == 0;
+    }
+
+    public int getExactCount() {
+        return exactCount;
+    }
+
+    public int getPrefixCount() {
+        return prefixCount;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    private static class Node<T> {
+        // edge label from the parent. never empty except the root
+        private String label;
+        // sorted by the first character of the child label
+        private char[] keys = EMPTY_KEYS;
+        private Node<T>[] children;
+
+        private T exact;
+        private T prefix;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node<T> getChild(char ch) {
+            final char[] keys = this.keys;
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char midKey = keys[mid];
+                if (midKey < ch) {
+                    low = mid + 1;
+                } else if (midKey > ch) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        // add or replace the child of the same first character
+        @SuppressWarnings("unchecked")
+        private Node<T> putChild(Node<T> child) {
+            final char ch = child.label.charAt(0);
+            final int length = keys.length;
+            int index = 0;
+            while (index < length && keys[index] < ch) {
+                index++;
+            }
+            if (index < length && keys[index] == ch) {
+                children[index] = child;
+                return child;
+            }
+
+            final char[] newKeys = new char[length + 1];
+            final Node<T>[] newChildren = new Node[length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = ch;
+            System.arraycopy(keys, index, newKeys, index + 1, length - index);
+            if (children != null) {
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(children, index, newChildren, index + 1, length - index);
+            }
+            newChildren[index] = child;
+
+            this.keys = newKeys;
+            this.children = newChildren;
+            return child;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ClassNameTrie{");
+        sb.append("exactCount=").append(exactCount);
+        sb.append(", prefixCount=").append(prefixCount);
+        sb.append(", nodeCount=").append(nodeCount);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.bootstrap.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassNameTrieTest {
+
+    @Test
+    public void exact() {
+        ClassNameTrie<String> trie = new ClassNameTrie<String>();
+        Assert.assertNull(trie.putExact("org/apache/catalina/core/StandardHostValve", "valve"));
+        Assert.assertNull(trie.putExact("org/apache/catalina/connector/Request", "request"));
+        Assert.assertNull(trie.putExact("org/apache/catalina/connector/Response", "response"));
+
+        Assert.assertEquals("valve", trie.find("org/apache/catalina/core/StandardHostValve"));
+        Assert.assertEquals("request", trie.find("org/apache/catalina/connector/Request"));
+        Assert.assertEquals("response", trie.find("org/apache/catalina/connector/Response"));
+
+        Assert.assertNull(trie.find("org/apache/catalina/connector/Req"));
+        Assert.assertNull(trie.find("org/apache/catalina/connector/RequestFacade"));
+        Assert.assertNull(trie.find("org/apache/catalina/core/StandardHost"));
+        Assert.assertNull(trie.find("java/lang/String"));
+        Assert.assertNull(trie.find(""));
+        Assert.assertNull(trie.find(null));
+
+        Assert.assertEquals(3, trie.getExactCount());
+        Assert.assertEquals(0, trie.getPrefixCount());
+    }
+
+    @Test
+    public void putExact_duplicate() {
+        ClassNameTrie<String> trie = new ClassNameTrie<String>();
+        Assert.assertNull(trie.putExact("com/mysql/jdbc/ConnectionImpl", "first"));
+        Assert.assertEquals("first", trie.putExact("com/mysql/jdbc/ConnectionImpl", "second"));
+        Assert.assertEquals("second", trie.find("com/mysql/jdbc/ConnectionImpl"));
+        Assert.assertEquals(1, trie.getExactCount());
+    }
+
+    @Test
+    public void splitEdge() {
+        ClassNameTrie<String> trie = new ClassNameTrie<String>();
+        trie.putExact("com/mysql/jdbc/ConnectionImpl", "connection");
+        // ends in the middle of an existing edge
+        trie.putExact("com/mysql/jdbc/Connection", "interface");
+        // diverges in the middle of an existing edge
+        trie.putExact("com/mysql/jdbc/StatementImpl", "statement");
+
+        Assert.assertEquals("connection", trie.find("com/mysql/jdbc/ConnectionImpl"));
+        Assert.assertEquals("interface", trie.find("com/mysql/jdbc/Connection"));
+        Assert.assertEquals("statement", trie.find("com/mysql/jdbc/StatementImpl"));
+        Assert.assertNull(trie.find("com/mysql/jdbc/"));
+        Assert.assertNull(trie.find("com/mysql/jdbc/ConnectionIm"));
+    }
+
+    @Test
+    public void prefix() {
+        ClassNameTrie<String> trie = new ClassNameTrie<String>();
+        trie.putPrefix("com/navercorp/", "naver");
+        trie.putPrefix("com/navercorp/pinpoint/testweb/", "testweb");
+        trie.putExact("com/navercorp/pinpoint/testweb/MyClass", "myClass");
+
+        Assert.assertEquals("naver", trie.find("com/navercorp/MyClass"));
+        Assert.assertEquals("naver", trie.find("com/navercorp/pinpoint/MyClass"));
+        // longest prefix
+        Assert.assertEquals("testweb", trie.find("com/navercorp/pinpoint/testweb/controller/MyController"));
+        // exact first
+        Assert.assertEquals("myClass", trie.find("com/navercorp/pinpoint/testweb/MyClass"));
+
+        Assert.assertNull(trie.find("com/navercorp"));
+        Assert.assertNull(trie.find("com/naver/MyClass"));
+        Assert.assertEquals(2, trie.getPrefixCount());
+        Assert.assertEquals(1, trie.getExactCount());
+    }
+
+    @Test
+    public void emptyPrefix() {
+        ClassNameTrie<String> trie = new ClassNameTrie<String>();
+        Assert.assertTrue(trie.isEmpty());
+        trie.putPrefix("", "all");
+        Assert.assertFalse(trie.isEmpty());
+        Assert.assertEquals("all", trie.find("java/lang/String"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void putExact_nullValue() {
+        new ClassNameTrie<String>().putExact("java/lang/String", null);
+    }
+}
@@ -57,6 +57,7 @@ public class CollectorConfiguration implements InitializingBean {
     private int tcpWorkerThread;
     private int tcpWorkerQueueSize;
     private boolean tcpWorkerMonitor;
+    private String tcpWorkerType;
 
     private String udpStatListenIp = DEFAULT_LISTEN_IP;
     private int udpStatListenPort;
@@ -64,7 +65,10 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpStatWorkerThread;
     private int udpStatWorkerQueueSize;
     private boolean udpStatWorkerMonitor;
+    private String udpStatWorkerType;
     private int udpStatSocketReceiveBufferSize;
+    private int udpStatSocketCount;
+    private boolean udpStatNioReceiver;
 
     private String udpSpanListenIp = DEFAULT_LISTEN_IP;
     private int udpSpanListenPort;
@@ -72,8 +76,14 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpSpanWorkerThread;
     private int udpSpanWorkerQueueSize;
     private boolean udpSpanWorkerMonitor;
+    private String udpSpanWorkerType;
     private int udpSpanSocketReceiveBufferSize;
+    private int udpSpanSocketCount;
+    private boolean udpSpanNioReceiver;
     
+    private String workerWaitStrategy;
+    private int workerDeserializeThread;
+
     private int agentEventWorkerThreadSize;
     private int agentEventWorkerQueueSize;
     
@@ -126,6 +136,14 @@ public class CollectorConfiguration implements InitializingBean {
         this.tcpWorkerMonitor = tcpWorkerMonitor;
     }
 
+    public String getTcpWorkerType() {
+        return tcpWorkerType;
+    }
+
+    public void setTcpWorkerType(String tcpWorkerType) {
+        this.tcpWorkerType = tcpWorkerType;
+    }
+
     public String getUdpStatListenIp() {
         return udpStatListenIp;
     }
@@ -166,6 +184,14 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatWorkerMonitor = udpStatWorkerMonitor;
     }
 
+    public String getUdpStatWorkerType() {
+        return udpStatWorkerType;
+    }
+
+    public void setUdpStatWorkerType(String udpStatWorkerType) {
+        this.udpStatWorkerType = udpStatWorkerType;
+    }
+
     public int getUdpStatSocketReceiveBufferSize() {
         return udpStatSocketReceiveBufferSize;
     }
@@ -174,6 +200,22 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatSocketReceiveBufferSize = udpStatSocketReceiveBufferSize;
     }
 
+    public int getUdpStatSocketCount() {
+        return udpStatSocketCount;
+    }
+
+    public void setUdpStatSocketCount(int udpStatSocketCount) {
+        this.udpStatSocketCount = udpStatSocketCount;
+    }
+
+    public boolean isUdpStatNioReceiver() {
+        return udpStatNioReceiver;
+    }
+
+    public void setUdpStatNioReceiver(boolean udpStatNioReceiver) {
+        this.udpStatNioReceiver = udpStatNioReceiver;
+    }
+
     public String getUdpSpanListenIp() {
         return udpSpanListenIp;
     }
@@ -214,6 +256,30 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanWorkerMonitor = udpSpanWorkerMonitor;
     }
 
+    public String getUdpSpanWorkerType() {
+        return udpSpanWorkerType;
+    }
+
+    public void setUdpSpanWorkerType(String udpSpanWorkerType) {
+        this.udpSpanWorkerType = udpSpanWorkerType;
+    }
+
+    public String getWorkerWaitStrategy() {
+        return workerWaitStrategy;
+    }
+
+    public void setWorkerWaitStrategy(String workerWaitStrategy) {
+        this.workerWaitStrategy = workerWaitStrategy;
+    }
+
+    public int getWorkerDeserializeThread() {
+        return workerDeserializeThread;
+    }
+
+    public void setWorkerDeserializeThread(int workerDeserializeThread) {
+        this.workerDeserializeThread = workerDeserializeThread;
+    }
+
     public int getUdpSpanSocketReceiveBufferSize() {
         return udpSpanSocketReceiveBufferSize;
     }
@@ -222,6 +288,22 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanSocketReceiveBufferSize = udpSpanSocketReceiveBufferSize;
     }
 
+    public int getUdpSpanSocketCount() {
+        return udpSpanSocketCount;
+    }
+
+    public void setUdpSpanSocketCount(int udpSpanSocketCount) {
+        this.udpSpanSocketCount = udpSpanSocketCount;
+    }
+
+    public boolean isUdpSpanNioReceiver() {
+        return udpSpanNioReceiver;
+    }
+
+    public void setUdpSpanNioReceiver(boolean udpSpanNioReceiver) {
+        this.udpSpanNioReceiver = udpSpanNioReceiver;
+    }
+
     public int getAgentEventWorkerThreadSize() {
         return this.agentEventWorkerThreadSize;
     }
@@ -320,6 +402,7 @@ public class CollectorConfiguration implements InitializingBean {
         this.tcpWorkerThread = readInt(properties, "collector.tcpWorkerThread", 128);
         this.tcpWorkerQueueSize = readInt(properties, "collector.tcpWorkerQueueSize", 1024 * 5);
         this.tcpWorkerMonitor = readBoolean(properties, "collector.tcpWorker.monitor");
+        this.tcpWorkerType = readString(properties, "collector.tcpWorkerType", "DEFAULT_EXECUTOR");
 
         this.udpStatListenIp = readString(properties, "collector.udpStatListenIp", DEFAULT_LISTEN_IP);
         this.udpStatListenPort = readInt(properties, "collector.udpStatListenPort", 9995);
@@ -327,7 +410,10 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatWorkerThread = readInt(properties, "collector.udpStatWorkerThread", 128);
         this.udpStatWorkerQueueSize = readInt(properties, "collector.udpStatWorkerQueueSize", 1024);
         this.udpStatWorkerMonitor = readBoolean(properties, "collector.udpStatWorker.monitor");
+        this.udpStatWorkerType = readString(properties, "collector.udpStatWorkerType", "DEFAULT_EXECUTOR");
         this.udpStatSocketReceiveBufferSize = readInt(properties, "collector.udpStatSocketReceiveBufferSize", 1024 * 4096);
+        this.udpStatSocketCount = readInt(properties, "collector.udpStatSocketCount", 1);
+        this.udpStatNioReceiver = readBoolean(properties, "collector.udpStatReceiver.nio");
 
         this.udpSpanListenIp = readString(properties, "collector.udpSpanListenIp", DEFAULT_LISTEN_IP);
         this.udpSpanListenPort = readInt(properties, "collector.udpSpanListenPort", udpSpanListenPort);
@@ -335,8 +421,14 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanWorkerThread = readInt(properties, "collector.udpSpanWorkerThread", 256);
         this.udpSpanWorkerQueueSize = readInt(properties, "collector.udpSpanWorkerQueueSize", 1024 * 5);
         this.udpSpanWorkerMonitor = readBoolean(properties, "collector.udpSpanWorker.monitor");
+        this.udpSpanWorkerType = readString(properties, "collector.udpSpanWorkerType", "DEFAULT_EXECUTOR");
         this.udpSpanSocketReceiveBufferSize = readInt(properties, "collector.udpSpanSocketReceiveBufferSize", 1024 * 4096);
+        this.udpSpanSocketCount = readInt(properties, "collector.udpSpanSocketCount", 1);
+        this.udpSpanNioReceiver = readBoolean(properties, "collector.udpSpanReceiver.nio");
         
+        this.workerWaitStrategy = readString(properties, "collector.worker.waitStrategy", "BLOCKING");
+        this.workerDeserializeThread = readInt(properties, "collector.worker.deserializeThread", 2);
+
         this.agentEventWorkerThreadSize = readInt(properties, "collector.agentEventWorker.threadSize", 32);
         this.agentEventWorkerQueueSize = readInt(properties, "collector.agentEventWorker.queueSize", 1024 * 5);
         
@@ -408,18 +500,27 @@ public class CollectorConfiguration implements InitializingBean {
         sb.append(", tcpWorkerThread=").append(tcpWorkerThread);
         sb.append(", tcpWorkerQueueSize=").append(tcpWorkerQueueSize);
         sb.append(", tcpWorkerMonitor=").append(tcpWorkerMonitor);
+        sb.append(", tcpWorkerType=").append(tcpWorkerType);
         sb.append(", udpStatListenIp='").append(udpStatListenIp).append('\'');
         sb.append(", udpStatListenPort=").append(udpStatListenPort);
         sb.append(", udpStatWorkerThread=").append(udpStatWorkerThread);
         sb.append(", udpStatWorkerQueueSize=").append(udpStatWorkerQueueSize);
         sb.append(", udpStatWorkerMonitor=").append(udpStatWorkerMonitor);
+        sb.append(", udpStatWorkerType=").append(udpStatWorkerType);
         sb.append(", udpStatSocketReceiveBufferSize=").append(udpStatSocketReceiveBufferSize);
+        sb.append(", udpStatSocketCount=").append(udpStatSocketCount);
+        sb.append(", udpStatNioReceiver=").append(udpStatNioReceiver);
         sb.append(", udpSpanListenIp='").append(udpSpanListenIp).append('\'');
         sb.append(", udpSpanListenPort=").append(udpSpanListenPort);
         sb.append(", udpSpanWorkerThread=").append(udpSpanWorkerThread);
         sb.append(", udpSpanWorkerQueueSize=").append(udpSpanWorkerQueueSize);
         sb.append(", udpSpanWorkerMonitor=").append(udpSpanWorkerMonitor);
+        sb.append(", udpSpanWorkerType=").append(udpSpanWorkerType);
         sb.append(", udpSpanSocketReceiveBufferSize=").append(udpSpanSocketReceiveBufferSize);
+        sb.append(", udpSpanSocketCount=").append(udpSpanSocketCount);
+        sb.append(", udpSpanNioReceiver=").append(udpSpanNioReceiver);
+        sb.append(", workerWaitStrategy=").append(workerWaitStrategy);
+        sb.append(", workerDeserializeThread=").append(workerDeserializeThread);
         sb.append(", agentEventWorkerThreadSize=").append(agentEventWorkerThreadSize);
         sb.append(", agentEventWorkerQueueSize=").append(agentEventWorkerQueueSize);
         sb.append(", l4IpList=").append(l4IpList);
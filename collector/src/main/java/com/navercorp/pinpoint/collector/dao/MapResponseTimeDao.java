@@ -23,4 +23,15 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  */
 public interface MapResponseTimeDao extends CachedStatisticsDao {
     void received(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError);
+
+    /**
+     * adds count to an already resolved histogram slot of the serviceType
+     */
+    void receivedSlotCount(String applicationName, ServiceType serviceType, String agentId, short slotNumber, long count);
+
+    /**
+     * @param cpuTime microseconds. negative if not measured
+     * @param allocatedBytes negative if not measured
+     */
+    void receivedResourceUsage(String applicationName, ServiceType serviceType, String agentId, long cpuTime, long allocatedBytes);
 }
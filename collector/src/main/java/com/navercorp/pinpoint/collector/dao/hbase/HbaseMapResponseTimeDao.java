@@ -19,8 +19,8 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 import com.navercorp.pinpoint.collector.dao.MapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.*;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
-import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.common.util.TimeSlot;
@@ -31,10 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Map;
 
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 
@@ -63,13 +63,22 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
     @Qualifier("selfMerge")
     private RowKeyMerge rowKeyMerge;
 
+    private final RowKeyMerge resourceRowKeyMerge = new RowKeyMerge(MAP_STATISTICS_SELF_VER2_CF_RESOURCE);
+
     @Autowired
     @Qualifier("statisticsSelfRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
 
     private final boolean useBulk;
 
-    private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<>();
+    // also write the 10 minute and 1 hour rollup tables on flush
+    @Value("#{pinpoint_collector_properties['collector.statistics.rollup.enable'] ?: false}")
+    private boolean rollUpEnable;
+
+    private final AtomicCounterTable counter = new AtomicCounterTable();
+    private final AtomicCounterTable resourceCounter = new AtomicCounterTable();
+
+    private final StatisticsKeyCache keyCache = new StatisticsKeyCache();
 
     public HbaseMapResponseTimeDao() {
         this(true);
@@ -92,32 +101,100 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
             logger.debug("[Received] {} ({})[{}]", applicationName, applicationServiceType, agentId);
         }
 
+        final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(applicationServiceType, elapsed, isError);
+        receivedSlotCount0(applicationName, applicationServiceType, agentId, slotNumber, 1L);
+    }
+
+    @Override
+    public void receivedSlotCount(String applicationName, ServiceType applicationServiceType, String agentId, short slotNumber, long count) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("[Received] {} ({})[{}] slot:{} count:{}", applicationName, applicationServiceType, agentId, slotNumber, count);
+        }
+        receivedSlotCount0(applicationName, applicationServiceType, agentId, slotNumber, count);
+    }
+
+    private void receivedSlotCount0(String applicationName, ServiceType applicationServiceType, String agentId, short slotNumber, long count) {
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey selfRowKey = new CallRowKey(applicationName, applicationServiceType.getCode(), rowTimeSlot);
+        final RowKey selfRowKey = keyCache.getCallRowKey(applicationName, applicationServiceType.getCode(), rowTimeSlot);
 
-        final short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(applicationServiceType, elapsed, isError);
-        final ColumnName selfColumnName = new ResponseColumnName(agentId, slotNumber);
+        final ColumnName selfColumnName = keyCache.getResponseColumnName(agentId, slotNumber);
+        if (useBulk) {
+            this.counter.increment(selfRowKey, selfColumnName, count);
+        } else {
+            final byte[] rowKey = getDistributedKey(selfRowKey.getRowKey());
+            final byte[] columnName = selfColumnName.getColumnName();
+            increment(rowKey, MAP_STATISTICS_SELF_VER2_CF_COUNTER, columnName, count);
+            if (rollUpEnable) {
+                incrementRollUp(selfRowKey, MAP_STATISTICS_SELF_VER2_CF_COUNTER, columnName, count);
+            }
+        }
+    }
+
+    @Override
+    public void receivedResourceUsage(String applicationName, ServiceType applicationServiceType, String agentId, long cpuTime, long allocatedBytes) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
+        final RowKey selfRowKey = keyCache.getCallRowKey(applicationName, applicationServiceType.getCode(), rowTimeSlot);
+
+        // same row as the response time histogram, resource usage column family
+        if (cpuTime >= 0) {
+            incrementResource(selfRowKey, agentId, ApplicationMapStatisticsUtils.CPU_TIME_COUNT, 1L);
+            incrementResource(selfRowKey, agentId, ApplicationMapStatisticsUtils.CPU_TIME_SUM, cpuTime);
+        }
+        if (allocatedBytes >= 0) {
+            incrementResource(selfRowKey, agentId, ApplicationMapStatisticsUtils.ALLOCATED_BYTES_COUNT, 1L);
+            incrementResource(selfRowKey, agentId, ApplicationMapStatisticsUtils.ALLOCATED_BYTES_SUM, allocatedBytes);
+        }
+    }
+
+    private void incrementResource(RowKey selfRowKey, String agentId, short resourceCode, long increment) {
+        final ColumnName resourceColumnName = keyCache.getResponseColumnName(agentId, resourceCode);
         if (useBulk) {
-            RowInfo rowInfo = new DefaultRowInfo(selfRowKey, selfColumnName);
-            this.counter.increment(rowInfo, 1L);
+            this.resourceCounter.increment(selfRowKey, resourceColumnName, increment);
         } else {
             final byte[] rowKey = getDistributedKey(selfRowKey.getRowKey());
-            // column name is the name of caller app.
-            byte[] columnName = selfColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            final byte[] columnName = resourceColumnName.getColumnName();
+            increment(rowKey, MAP_STATISTICS_SELF_VER2_CF_RESOURCE, columnName, increment);
+            if (rollUpEnable) {
+                incrementRollUp(selfRowKey, MAP_STATISTICS_SELF_VER2_CF_RESOURCE, columnName, increment);
+            }
         }
     }
 
-    private void increment(byte[] rowKey, byte[] columnName, long increment) {
+    private void increment(byte[] rowKey, byte[] family, byte[] columnName, long increment) {
         if (rowKey == null) {
             throw new NullPointerException("rowKey must not be null");
         }
         if (columnName == null) {
             throw new NullPointerException("columnName must not be null");
         }
-        hbaseTemplate.incrementColumnValue(MAP_STATISTICS_SELF_VER2, rowKey, MAP_STATISTICS_SELF_VER2_CF_COUNTER, columnName, increment);
+        hbaseTemplate.incrementColumnValue(MAP_STATISTICS_SELF_VER2, rowKey, family, columnName, increment);
+    }
+
+    private void incrementRollUp(RowKey rowKey, byte[] family, byte[] columnName, long increment) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            final byte[] rollUpRowKey = getDistributedKey(rowKey.rollUp(resolution).getRowKey());
+            hbaseTemplate.incrementColumnValue(resolution.getMapStatisticsSelfTable(), rollUpRowKey, family, columnName, increment);
+        }
     }
 
 
@@ -128,7 +205,11 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
         }
 
         // update statistics by rowkey and column for now. need to update it by rowkey later.
-        Map<RowInfo,ConcurrentCounterMap.LongAdder> remove = this.counter.remove();
+        flush(this.counter.remove(), rowKeyMerge);
+        flush(this.resourceCounter.remove(), resourceRowKeyMerge);
+    }
+
+    private void flush(AtomicCounterTable.Snapshot remove, RowKeyMerge rowKeyMerge) {
         List<Increment> merge = rowKeyMerge.createBulkIncrement(remove, rowKeyDistributorByHashPrefix);
         if (!merge.isEmpty()) {
             if (logger.isDebugEnabled()) {
@@ -136,6 +217,21 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
             }
             hbaseTemplate.increment(MAP_STATISTICS_SELF_VER2, merge);
         }
+        if (rollUpEnable) {
+            flushRollUp(remove, rowKeyMerge);
+        }
+    }
+
+    private void flushRollUp(AtomicCounterTable.Snapshot snapshot, RowKeyMerge rowKeyMerge) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            List<Increment> rollUp = rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributorByHashPrefix, resolution);
+            if (!rollUp.isEmpty()) {
+                hbaseTemplate.increment(resolution.getMapStatisticsSelfTable(), rollUp);
+            }
+        }
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
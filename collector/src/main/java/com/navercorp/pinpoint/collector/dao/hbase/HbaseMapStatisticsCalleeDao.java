@@ -21,8 +21,8 @@ import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.*;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
-import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.common.util.TimeSlot;
@@ -34,10 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Update statistics of callee node
@@ -69,7 +69,13 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
 
     private final boolean useBulk;
 
-    private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<>();
+    // also write the 10 minute and 1 hour rollup tables on flush
+    @Value("#{pinpoint_collector_properties['collector.statistics.rollup.enable'] ?: false}")
+    private boolean rollUpEnable;
+
+    private final AtomicCounterTable counter = new AtomicCounterTable();
+
+    private final StatisticsKeyCache keyCache = new StatisticsKeyCache();
 
     public HbaseMapStatisticsCalleeDao() {
         this(true);
@@ -94,26 +100,48 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
                     calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost);
         }
 
+        final short callerSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        updateSlotCount0(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, callerSlotNumber, 1L);
+    }
+
+    @Override
+    public void updateSlotCount(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short slotNumber, long count) {
+        if (callerApplicationName == null) {
+            throw new NullPointerException("callerApplicationName must not be null");
+        }
+        if (calleeApplicationName == null) {
+            throw new NullPointerException("calleeApplicationName must not be null");
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("[Callee] {} ({}) <- {} ({})[{}] slot:{} count:{}",
+                    calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, slotNumber, count);
+        }
+        updateSlotCount0(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, slotNumber, count);
+    }
+
+    private void updateSlotCount0(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short callerSlotNumber, long count) {
         // there may be no endpoint in case of httpclient
         callerHost = StringUtils.defaultString(callerHost);
 
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey calleeRowKey = new CallRowKey(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
+        final RowKey calleeRowKey = keyCache.getCallRowKey(calleeApplicationName, calleeServiceType.getCode(), rowTimeSlot);
 
-        final short callerSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-        final ColumnName callerColumnName = new CallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, callerSlotNumber);
+        final ColumnName callerColumnName = keyCache.getCallerColumnName(callerServiceType.getCode(), callerApplicationName, callerHost, callerSlotNumber);
 
         if (useBulk) {
-            RowInfo rowInfo = new DefaultRowInfo(calleeRowKey, callerColumnName);
-            counter.increment(rowInfo, 1L);
+            counter.increment(calleeRowKey, callerColumnName, count);
         } else {
             final byte[] rowKey = getDistributedKey(calleeRowKey.getRowKey());
 
             // column name is the name of caller app.
             byte[] columnName = callerColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            increment(rowKey, columnName, count);
+            if (rollUpEnable) {
+                incrementRollUp(calleeRowKey, columnName, count);
+            }
         }
     }
 
@@ -127,13 +155,23 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         hbaseTemplate.incrementColumnValue(MAP_STATISTICS_CALLER_VER2, rowKey, MAP_STATISTICS_CALLER_VER2_CF_COUNTER, columnName, increment);
     }
 
+    private void incrementRollUp(RowKey rowKey, byte[] columnName, long increment) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            final byte[] rollUpRowKey = getDistributedKey(rowKey.rollUp(resolution).getRowKey());
+            hbaseTemplate.incrementColumnValue(resolution.getMapStatisticsCallerTable(), rollUpRowKey, MAP_STATISTICS_CALLER_VER2_CF_COUNTER, columnName, increment);
+        }
+    }
+
     @Override
     public void flushAll() {
         if (!useBulk) {
             throw new IllegalStateException();
         }
 
-        Map<RowInfo, ConcurrentCounterMap.LongAdder> remove = this.counter.remove();
+        AtomicCounterTable.Snapshot remove = this.counter.remove();
         List<Increment> merge = rowKeyMerge.createBulkIncrement(remove, rowKeyDistributorByHashPrefix);
         if (!merge.isEmpty()) {
             if (logger.isDebugEnabled()) {
@@ -141,7 +179,22 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
             }
             hbaseTemplate.increment(MAP_STATISTICS_CALLER_VER2, merge);
         }
+        if (rollUpEnable) {
+            flushRollUp(remove);
+        }
+
+    }
 
+    private void flushRollUp(AtomicCounterTable.Snapshot snapshot) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            List<Increment> rollUp = rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributorByHashPrefix, resolution);
+            if (!rollUp.isEmpty()) {
+                hbaseTemplate.increment(resolution.getMapStatisticsCallerTable(), rollUp);
+            }
+        }
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
@@ -21,8 +21,8 @@ import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.*;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
-import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
 import com.navercorp.pinpoint.common.util.TimeSlot;
@@ -34,10 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Update statistics of caller node
@@ -69,7 +69,13 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     private final boolean useBulk;
 
-    private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<>();
+    // also write the 10 minute and 1 hour rollup tables on flush
+    @Value("#{pinpoint_collector_properties['collector.statistics.rollup.enable'] ?: false}")
+    private boolean rollUpEnable;
+
+    private final AtomicCounterTable counter = new AtomicCounterTable();
+
+    private final StatisticsKeyCache keyCache = new StatisticsKeyCache();
 
     public HbaseMapStatisticsCallerDao() {
         this(true);
@@ -93,24 +99,46 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
                     calleeApplicationName, calleeServiceType, calleeHost);
         }
 
+        final short calleeSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
+        updateSlotCount0(callerApplicationName, callerServiceType, callerAgentid, calleeApplicationName, calleeServiceType, calleeHost, calleeSlotNumber, 1L);
+    }
+
+    @Override
+    public void updateSlotCount(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short slotNumber, long count) {
+        if (callerApplicationName == null) {
+            throw new NullPointerException("callerApplicationName must not be null");
+        }
+        if (calleeApplicationName == null) {
+            throw new NullPointerException("calleeApplicationName must not be null");
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("[Caller] {} ({}) {} -> {} ({})[{}] slot:{} count:{}", callerApplicationName, callerServiceType, callerAgentId,
+                    calleeApplicationName, calleeServiceType, calleeHost, slotNumber, count);
+        }
+        updateSlotCount0(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, slotNumber, count);
+    }
+
+    private void updateSlotCount0(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short calleeSlotNumber, long count) {
         // there may be no endpoint in case of httpclient
         calleeHost = StringUtils.defaultString(calleeHost);
 
         // make row key. rowkey is me
         final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
-        final RowKey callerRowKey = new CallRowKey(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
+        final RowKey callerRowKey = keyCache.getCallRowKey(callerApplicationName, callerServiceType.getCode(), rowTimeSlot);
 
-        final short calleeSlotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, isError);
-        final ColumnName calleeColumnName = new CalleeColumnName(callerAgentid, calleeServiceType.getCode(), calleeApplicationName, calleeHost, calleeSlotNumber);
+        final ColumnName calleeColumnName = keyCache.getCalleeColumnName(callerAgentId, calleeServiceType.getCode(), calleeApplicationName, calleeHost, calleeSlotNumber);
         if (useBulk) {
-            RowInfo rowInfo = new DefaultRowInfo(callerRowKey, calleeColumnName);
-            this.counter.increment(rowInfo, 1L);
+            this.counter.increment(callerRowKey, calleeColumnName, count);
         } else {
             final byte[] rowKey = getDistributedKey(callerRowKey.getRowKey());
             // column name is the name of caller app.
             byte[] columnName = calleeColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            increment(rowKey, columnName, count);
+            if (rollUpEnable) {
+                incrementRollUp(callerRowKey, columnName, count);
+            }
         }
     }
 
@@ -124,13 +152,23 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         hbaseTemplate.incrementColumnValue(MAP_STATISTICS_CALLEE_VER2, rowKey, MAP_STATISTICS_CALLEE_VER2_CF_COUNTER, columnName, increment);
     }
 
+    private void incrementRollUp(RowKey rowKey, byte[] columnName, long increment) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            final byte[] rollUpRowKey = getDistributedKey(rowKey.rollUp(resolution).getRowKey());
+            hbaseTemplate.incrementColumnValue(resolution.getMapStatisticsCalleeTable(), rollUpRowKey, MAP_STATISTICS_CALLEE_VER2_CF_COUNTER, columnName, increment);
+        }
+    }
+
     @Override
     public void flushAll() {
         if (!useBulk) {
             throw new IllegalStateException();
         }
         // update statistics by rowkey and column for now. need to update it by rowkey later.
-        Map<RowInfo,ConcurrentCounterMap.LongAdder> remove = this.counter.remove();
+        AtomicCounterTable.Snapshot remove = this.counter.remove();
         List<Increment> merge = rowKeyMerge.createBulkIncrement(remove, rowKeyDistributorByHashPrefix);
         if (!merge.isEmpty()) {
             if (logger.isDebugEnabled()) {
@@ -138,6 +176,21 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
             }
             hbaseTemplate.increment(MAP_STATISTICS_CALLEE_VER2, merge);
         }
+        if (rollUpEnable) {
+            flushRollUp(remove);
+        }
+    }
+
+    private void flushRollUp(AtomicCounterTable.Snapshot snapshot) {
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            if (!resolution.isRollup()) {
+                continue;
+            }
+            List<Increment> rollUp = rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributorByHashPrefix, resolution);
+            if (!rollUp.isEmpty()) {
+                hbaseTemplate.increment(resolution.getMapStatisticsCalleeTable(), rollUp);
+            }
+        }
     }
 
     private byte[] getDistributedKey(byte[] rowKey) {
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free counter of (rowKey, columnName) pairs for bulk increments.
+ * <p>
+ * Counts live in an open addressing table with an atomic add per slot. a slot is claimed by CAS
+ * the first time a pair is seen in a flush interval, later updates do not allocate or lock.
+ * Pairs that find no free slot within {@link #MAX_PROBE} probes go to an overflow map.
+ * <p>
+ * {@link #remove()} swaps in an empty table and waits for the updates still running on the old one.
+ * The returned snapshot is read by {@link RowKeyMerge} directly.
+ */
+public class AtomicCounterTable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 13;
+
+    static final int MAX_PROBE = 32;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // one counter per cache line
+    private static final int WRITER_STRIPE = 16;
+    private static final int WRITER_STRIPE_PADDING = 16;
+
+    private final int capacity;
+
+    private volatile Table current;
+
+    public AtomicCounterTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AtomicCounterTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity too large. capacity:" + capacity);
+        }
+        this.capacity = roundUpToPowerOfTwo(capacity);
+        this.current = new Table(this.capacity);
+    }
+
+    static int roundUpToPowerOfTwo(int value) {
+        int result = Integer.highestOneBit(value);
+        if (result != value) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void increment(RowKey rowKey, ColumnName columnName, long count) {
+        if (rowKey == null) {
+            throw new NullPointerException("rowKey must not be null");
+        }
+        if (columnName == null) {
+            throw new NullPointerException("columnName must not be null");
+        }
+        final int writerStripe = writerStripe();
+        while (true) {
+            final Table table = this.current;
+            table.enterWriter(writerStripe);
+            try {
+                if (table != this.current) {
+                    // swapped by remove(). retry on the new table
+                    continue;
+                }
+                table.increment(rowKey, columnName, count);
+                return;
+            } finally {
+                table.exitWriter(writerStripe);
+            }
+        }
+    }
+
+    private static int writerStripe() {
+        final long threadId = Thread.currentThread().getId();
+        return (int) (threadId & (WRITER_STRIPE - 1));
+    }
+
+    /**
+     * @return counts accumulated since the last call
+     */
+    public Snapshot remove() {
+        final Table old = this.current;
+        this.current = new Table(capacity);
+        old.awaitWriters();
+        return new Snapshot(old);
+    }
+
+    public interface CounterVisitor {
+        void visit(RowKey rowKey, ColumnName columnName, long count);
+    }
+
+    public static class Snapshot {
+        private final Table table;
+
+        private Snapshot(Table table) {
+            this.table = table;
+        }
+
+        public boolean isEmpty() {
+            return table.isEmpty();
+        }
+
+        public int getOverflowCount() {
+            return table.overflow.size();
+        }
+
+        public void accept(CounterVisitor visitor) {
+            if (visitor == null) {
+                throw new NullPointerException("visitor must not be null");
+            }
+            table.accept(visitor);
+        }
+    }
+
+    private static final class Slot {
+        private final int hash;
+        private final RowKey rowKey;
+        private final ColumnName columnName;
+
+        private Slot(int hash, RowKey rowKey, ColumnName columnName) {
+            this.hash = hash;
+            this.rowKey = rowKey;
+            this.columnName = columnName;
+        }
+
+        private boolean matches(int hash, RowKey rowKey, ColumnName columnName) {
+            return this.hash == hash && this.rowKey.equals(rowKey) && this.columnName.equals(columnName);
+        }
+    }
+
+    private static final class Table {
+        private final int mask;
+        private final AtomicReferenceArray<Slot> slots;
+        private final AtomicLongArray counts;
+        private final ConcurrentMap<DefaultRowInfo, AtomicLong> overflow = new ConcurrentHashMap<>();
+
+        private final AtomicIntegerArray writers = new AtomicIntegerArray(WRITER_STRIPE * WRITER_STRIPE_PADDING);
+
+        private Table(int capacity) {
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.counts = new AtomicLongArray(capacity);
+        }
+
+        private void enterWriter(int stripe) {
+            writers.incrementAndGet(stripe * WRITER_STRIPE_PADDING);
+        }
+
+        private void exitWriter(int stripe) {
+            writers.decrementAndGet(stripe * WRITER_STRIPE_PADDING);
+        }
+
+        private void awaitWriters() {
+            // writers that passed the check in increment() finish in a few probes
+            for (int i = 0; i < WRITER_STRIPE; i++) {
+                while (writers.get(i * WRITER_STRIPE_PADDING) != 0) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private void increment(RowKey rowKey, ColumnName columnName, long count) {
+            final int hash = spread(31 * rowKey.hashCode() + columnName.hashCode());
+            int index = hash & mask;
+            Slot newSlot = null;
+            for (int probe = 0; probe < MAX_PROBE; probe++) {
+                Slot slot = slots.get(index);
+                if (slot == null) {
+                    if (newSlot == null) {
+                        newSlot = new Slot(hash, rowKey, columnName);
+                    }
+                    if (slots.compareAndSet(index, null, newSlot)) {
+                        counts.addAndGet(index, count);
+                        return;
+                    }
+                    // claimed by another writer. it may be the same pair
+                    slot = slots.get(index);
+                }
+                if (slot.matches(hash, rowKey, columnName)) {
+                    counts.addAndGet(index, count);
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            incrementOverflow(rowKey, columnName, count);
+        }
+
+        private void incrementOverflow(RowKey rowKey, ColumnName columnName, long count) {
+            final DefaultRowInfo rowInfo = new DefaultRowInfo(rowKey, columnName);
+            AtomicLong counter = overflow.get(rowInfo);
+            if (counter == null) {
+                counter = new AtomicLong();
+                final AtomicLong before = overflow.putIfAbsent(rowInfo, counter);
+                if (before != null) {
+                    counter = before;
+                }
+            }
+            counter.addAndGet(count);
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private boolean isEmpty() {
+            if (!overflow.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void accept(CounterVisitor visitor) {
+            for (int i = 0; i < slots.length(); i++) {
+                final Slot slot = slots.get(i);
+                if (slot == null) {
+                    continue;
+                }
+                visitor.visit(slot.rowKey, slot.columnName, counts.get(i));
+            }
+            for (Map.Entry<DefaultRowInfo, AtomicLong> entry : overflow.entrySet()) {
+                final DefaultRowInfo rowInfo = entry.getKey();
+                visitor.visit(rowInfo.getRowKey(), rowInfo.getColumnName(), entry.getValue().get());
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
 
 /**
@@ -29,6 +30,8 @@ public class CallRowKey implements RowKey {
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
 
+    private volatile byte[] rowKey;
+
     public CallRowKey(String callApplicationName, short callServiceType, long rowTimeSlot) {
         if (callApplicationName == null) {
             throw new NullPointerException("callApplicationName must not be null");
@@ -38,7 +41,28 @@ public class CallRowKey implements RowKey {
         this.rowTimeSlot = rowTimeSlot;
     }
     public byte[] getRowKey() {
-        return ApplicationMapStatisticsUtils.makeRowKey(callApplicationName, callServiceType, rowTimeSlot);
+        byte[] rowKey = this.rowKey;
+        if (rowKey == null) {
+            rowKey = ApplicationMapStatisticsUtils.makeRowKey(callApplicationName, callServiceType, rowTimeSlot);
+            this.rowKey = rowKey;
+        }
+        return rowKey;
+    }
+
+    boolean matches(String callApplicationName, short callServiceType, long rowTimeSlot) {
+        return this.rowTimeSlot == rowTimeSlot && this.callServiceType == callServiceType && this.callApplicationName.equals(callApplicationName);
+    }
+
+    @Override
+    public RowKey rollUp(MapStatisticsResolution resolution) {
+        if (resolution == null) {
+            throw new NullPointerException("resolution must not be null");
+        }
+        final long rollUpTimeSlot = resolution.getTimeSlot(rowTimeSlot);
+        if (rollUpTimeSlot == rowTimeSlot) {
+            return this;
+        }
+        return new CallRowKey(callApplicationName, callServiceType, rollUpTimeSlot);
     }
 
     @Override
@@ -61,10 +85,15 @@ public class CallRowKey implements RowKey {
         if (hash != 0) {
             return hash;
         }
-        int result = callApplicationName != null ? callApplicationName.hashCode() : 0;
+        final int result = hashCode(callApplicationName, callServiceType, rowTimeSlot);
+        hash = result;
+        return result;
+    }
+
+    static int hashCode(String callApplicationName, short callServiceType, long rowTimeSlot) {
+        int result = callApplicationName.hashCode();
         result = 31 * result + (int) callServiceType;
         result = 31 * result + (int) (rowTimeSlot ^ (rowTimeSlot >>> 32));
-        hash = result;
         return result;
     }
 
@@ -70,6 +70,12 @@ public class CalleeColumnName implements ColumnName {
         return buffer.getBuffer();
     }
 
+    boolean matches(String callerAgentId, short calleeServiceType, String calleeApplicationName, String callHost, short columnSlotNumber) {
+        return this.calleeServiceType == calleeServiceType && this.columnSlotNumber == columnSlotNumber
+                && this.calleeApplicationName.equals(calleeApplicationName) && this.callHost.equals(callHost)
+                && this.callerAgentId.equals(callerAgentId);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -77,7 +83,6 @@ public class CalleeColumnName implements ColumnName {
 
         CalleeColumnName that = (CalleeColumnName) o;
 
-        if (callCount != that.callCount) return false;
         if (calleeServiceType != that.calleeServiceType) return false;
         if (columnSlotNumber != that.columnSlotNumber) return false;
         if (!callHost.equals(that.callHost)) return false;
@@ -93,14 +98,17 @@ public class CalleeColumnName implements ColumnName {
         if (hash != 0) {
             return hash;
         }
+        final int result = hashCode(callerAgentId, calleeServiceType, calleeApplicationName, callHost, columnSlotNumber);
+        this.hash = result;
+        return result;
+    }
+
+    static int hashCode(String callerAgentId, short calleeServiceType, String calleeApplicationName, String callHost, short columnSlotNumber) {
         int result = callerAgentId.hashCode();
         result = 31 * result + (int) calleeServiceType;
         result = 31 * result + calleeApplicationName.hashCode();
         result = 31 * result + callHost.hashCode();
         result = 31 * result + (int) columnSlotNumber;
-        result = 31 * result + hash;
-        result = 31 * result + (int) (callCount ^ (callCount >>> 32));
-        this.hash = result;
         return result;
     }
 
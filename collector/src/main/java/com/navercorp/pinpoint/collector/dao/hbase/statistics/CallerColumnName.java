@@ -22,11 +22,11 @@ import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
  * @author emeroad
  */
 public class CallerColumnName implements ColumnName {
-    private short callerServiceType;
-    private String callerApplicationName;
+    private final short callerServiceType;
+    private final String callerApplicationName;
     // called or calling host
-    private String callHost;
-    private short columnSlotNumber;
+    private final String callHost;
+    private final short columnSlotNumber;
 
     // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
@@ -58,6 +58,11 @@ public class CallerColumnName implements ColumnName {
         return ApplicationMapStatisticsUtils.makeColumnName(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
     }
 
+    boolean matches(short callerServiceType, String callerApplicationName, String callHost, short columnSlotNumber) {
+        return this.callerServiceType == callerServiceType && this.columnSlotNumber == columnSlotNumber
+                && this.callerApplicationName.equals(callerApplicationName) && this.callHost.equals(callHost);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -79,11 +84,16 @@ public class CallerColumnName implements ColumnName {
         if (hash != 0) {
             return hash;
         }
+        final int result = hashCode(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
+        hash = result;
+        return result;
+    }
+
+    static int hashCode(short callerServiceType, String callerApplicationName, String callHost, short columnSlotNumber) {
         int result = (int) callerServiceType;
-        result = 31 * result + (callerApplicationName != null ? callerApplicationName.hashCode() : 0);
-        result = 31 * result + (callHost != null ? callHost.hashCode() : 0);
+        result = 31 * result + callerApplicationName.hashCode();
+        result = 31 * result + callHost.hashCode();
         result = 31 * result + (int) columnSlotNumber;
-        hash = result;
         return result;
     }
 
@@ -23,8 +23,8 @@ import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
  */
 public class ResponseColumnName implements ColumnName {
 
-    private String agentId;
-    private short columnSlotNumber;
+    private final String agentId;
+    private final short columnSlotNumber;
 
  // WARNING - cached hash value should not be included for equals/hashCode
     private int hash;
@@ -51,6 +51,10 @@ public class ResponseColumnName implements ColumnName {
         return ApplicationMapStatisticsUtils.makeColumnName(agentId, columnSlotNumber);
     }
 
+    boolean matches(String agentId, short columnSlotNumber) {
+        return this.columnSlotNumber == columnSlotNumber && this.agentId.equals(agentId);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -70,12 +74,15 @@ public class ResponseColumnName implements ColumnName {
         if (hash != 0) {
             return hash;
         }
-        int result = agentId.hashCode();
-        result = 31 * result + (int) columnSlotNumber;
+        final int result = hashCode(agentId, columnSlotNumber);
         hash = result;
         return result;
     }
 
+    static int hashCode(String agentId, short columnSlotNumber) {
+        return 31 * agentId.hashCode() + (int) columnSlotNumber;
+    }
+
     @Override
     public String toString() {
         return "ResponseColumnName{" +
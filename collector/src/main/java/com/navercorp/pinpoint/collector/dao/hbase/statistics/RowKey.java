@@ -16,9 +16,16 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
+
 /**
  * @author emeroad
  */
 public interface RowKey {
     byte[] getRowKey();
+
+    /**
+     * @return row key of the time slot containing this row at the given resolution
+     */
+    RowKey rollUp(MapStatisticsResolution resolution);
 }
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
 import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.client.Increment;
@@ -54,6 +55,90 @@ public class RowKeyMerge {
         return incrementList;
     }
 
+    public List<Increment> createBulkIncrement(AtomicCounterTable.Snapshot snapshot, final RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+        if (snapshot.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (snapshot.getOverflowCount() > 0) {
+            logger.info("counter table overflow. count:{}", snapshot.getOverflowCount());
+        }
+
+        // one Increment per row. columns are added while walking the table
+        final Map<RowKey, Increment> rowKeyMerge = new HashMap<>();
+        snapshot.accept(new AtomicCounterTable.CounterVisitor() {
+            @Override
+            public void visit(RowKey rowKey, ColumnName columnName, long count) {
+                if (count == 0) {
+                    return;
+                }
+                Increment increment = rowKeyMerge.get(rowKey);
+                if (increment == null) {
+                    increment = new Increment(getDistributedKey(rowKey, rowKeyDistributorByHashPrefix));
+                    rowKeyMerge.put(rowKey, increment);
+                }
+                increment.addColumn(family, columnName.getColumnName(), count);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("add increment row:{}, column:{}, count:{}", rowKey, columnName, count);
+                }
+            }
+        });
+        return new ArrayList<>(rowKeyMerge.values());
+    }
+
+    /**
+     * Increments of the rollup table. rows of the same rollup time slot are summed up.
+     */
+    public List<Increment> createBulkIncrement(AtomicCounterTable.Snapshot snapshot, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix, final MapStatisticsResolution resolution) {
+        if (resolution == null) {
+            throw new NullPointerException("resolution must not be null");
+        }
+        if (!resolution.isRollup()) {
+            return createBulkIncrement(snapshot, rowKeyDistributorByHashPrefix);
+        }
+        if (snapshot.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Map<RowKey, Map<ColumnName, Long>> rollUpMerge = new HashMap<>();
+        snapshot.accept(new AtomicCounterTable.CounterVisitor() {
+            @Override
+            public void visit(RowKey rowKey, ColumnName columnName, long count) {
+                if (count == 0) {
+                    return;
+                }
+                final RowKey rollUpRowKey = rowKey.rollUp(resolution);
+                Map<ColumnName, Long> columnMap = rollUpMerge.get(rollUpRowKey);
+                if (columnMap == null) {
+                    columnMap = new HashMap<>();
+                    rollUpMerge.put(rollUpRowKey, columnMap);
+                }
+                final Long before = columnMap.get(columnName);
+                if (before == null) {
+                    columnMap.put(columnName, count);
+                } else {
+                    columnMap.put(columnName, before + count);
+                }
+            }
+        });
+
+        final List<Increment> incrementList = new ArrayList<>(rollUpMerge.size());
+        for (Map.Entry<RowKey, Map<ColumnName, Long>> rowKeyEntry : rollUpMerge.entrySet()) {
+            final Increment increment = new Increment(getDistributedKey(rowKeyEntry.getKey(), rowKeyDistributorByHashPrefix));
+            for (Map.Entry<ColumnName, Long> columnEntry : rowKeyEntry.getValue().entrySet()) {
+                increment.addColumn(family, columnEntry.getKey().getColumnName(), columnEntry.getValue());
+            }
+            incrementList.add(increment);
+        }
+        return incrementList;
+    }
+
+    private byte[] getDistributedKey(RowKey rowKey, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
+        if (rowKeyDistributorByHashPrefix == null) {
+            return rowKey.getRowKey();
+        }
+        return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey.getRowKey());
+    }
+
     private Increment createIncrement(Map.Entry<RowKey, List<ColumnName>> rowKeyEntry, RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix) {
         RowKey rowKey = rowKeyEntry.getKey();
         byte[] key = null;
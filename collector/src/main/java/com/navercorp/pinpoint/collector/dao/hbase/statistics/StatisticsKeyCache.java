@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interns the row keys and column names of the map statistics DAOs.
+ * <p>
+ * Each key is looked up by a hash computed from its components, so a hit does not allocate.
+ * The cache is direct mapped: a miss replaces the slot, which keeps it bounded and lets the row keys
+ * of past time slots age out on their own. Cached keys are shared between threads, their counts are kept
+ * by {@link AtomicCounterTable} and not by {@link ColumnName#setCallCount(long)}.
+ */
+public class StatisticsKeyCache {
+
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final int MAX_CAPACITY = 1 << 20;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<CallRowKey> rowKeys;
+    private final AtomicReferenceArray<ColumnName> columnNames;
+
+    public StatisticsKeyCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StatisticsKeyCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity too large. capacity:" + capacity);
+        }
+        final int size = AtomicCounterTable.roundUpToPowerOfTwo(capacity);
+        this.mask = size - 1;
+        this.rowKeys = new AtomicReferenceArray<>(size);
+        this.columnNames = new AtomicReferenceArray<>(size);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public CallRowKey getCallRowKey(String callApplicationName, short callServiceType, long rowTimeSlot) {
+        if (callApplicationName == null) {
+            throw new NullPointerException("callApplicationName must not be null");
+        }
+        final int hash = CallRowKey.hashCode(callApplicationName, callServiceType, rowTimeSlot);
+        final int index = indexOf(hash);
+        final CallRowKey cached = rowKeys.get(index);
+        if (cached != null && cached.hashCode() == hash && cached.matches(callApplicationName, callServiceType, rowTimeSlot)) {
+            return cached;
+        }
+        final CallRowKey rowKey = new CallRowKey(callApplicationName, callServiceType, rowTimeSlot);
+        rowKeys.lazySet(index, rowKey);
+        return rowKey;
+    }
+
+    public ResponseColumnName getResponseColumnName(String agentId, short columnSlotNumber) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        final int hash = ResponseColumnName.hashCode(agentId, columnSlotNumber);
+        final int index = indexOf(hash);
+        final ColumnName cached = columnNames.get(index);
+        if (cached instanceof ResponseColumnName && cached.hashCode() == hash) {
+            final ResponseColumnName columnName = (ResponseColumnName) cached;
+            if (columnName.matches(agentId, columnSlotNumber)) {
+                return columnName;
+            }
+        }
+        final ResponseColumnName columnName = new ResponseColumnName(agentId, columnSlotNumber);
+        columnNames.lazySet(index, columnName);
+        return columnName;
+    }
+
+    public CallerColumnName getCallerColumnName(short callerServiceType, String callerApplicationName, String callHost, short columnSlotNumber) {
+        if (callerApplicationName == null) {
+            throw new NullPointerException("callerApplicationName must not be null");
+        }
+        if (callHost == null) {
+            throw new NullPointerException("callHost must not be null");
+        }
+        final int hash = CallerColumnName.hashCode(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
+        final int index = indexOf(hash);
+        final ColumnName cached = columnNames.get(index);
+        if (cached instanceof CallerColumnName && cached.hashCode() == hash) {
+            final CallerColumnName columnName = (CallerColumnName) cached;
+            if (columnName.matches(callerServiceType, callerApplicationName, callHost, columnSlotNumber)) {
+                return columnName;
+            }
+        }
+        final CallerColumnName columnName = new CallerColumnName(callerServiceType, callerApplicationName, callHost, columnSlotNumber);
+        columnNames.lazySet(index, columnName);
+        return columnName;
+    }
+
+    public CalleeColumnName getCalleeColumnName(String callerAgentId, short calleeServiceType, String calleeApplicationName, String callHost, short columnSlotNumber) {
+        if (callerAgentId == null) {
+            throw new NullPointerException("callerAgentId must not be null");
+        }
+        if (calleeApplicationName == null) {
+            throw new NullPointerException("calleeApplicationName must not be null");
+        }
+        if (callHost == null) {
+            throw new NullPointerException("callHost must not be null");
+        }
+        final int hash = CalleeColumnName.hashCode(callerAgentId, calleeServiceType, calleeApplicationName, callHost, columnSlotNumber);
+        final int index = indexOf(hash);
+        final ColumnName cached = columnNames.get(index);
+        if (cached instanceof CalleeColumnName && cached.hashCode() == hash) {
+            final CalleeColumnName columnName = (CalleeColumnName) cached;
+            if (columnName.matches(callerAgentId, calleeServiceType, calleeApplicationName, callHost, columnSlotNumber)) {
+                return columnName;
+            }
+        }
+        final CalleeColumnName columnName = new CalleeColumnName(callerAgentId, calleeServiceType, calleeApplicationName, callHost, columnSlotNumber);
+        columnNames.lazySet(index, columnName);
+        return columnName;
+    }
+
+    private int indexOf(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -23,8 +23,11 @@ import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import org.apache.thrift.TBase;
 import org.slf4j.Logger;
@@ -69,6 +72,15 @@ public class AgentStatHandlerV2 implements Handler {
     @Autowired
     private AgentStatDaoV2<DataSourceListBo> dataSourceListDao;
 
+    @Autowired
+    private AgentStatDaoV2<SpanSenderQueueBo> spanSenderQueueDao;
+
+    @Autowired
+    private AgentStatDaoV2<SamplingThrottleBo> samplingThrottleDao;
+
+    @Autowired
+    private AgentStatDaoV2<DeferredSamplingBo> deferredSamplingDao;
+
     @Autowired(required = false)
     private AgentStatService agentStatService;
 
@@ -119,6 +131,9 @@ public class AgentStatHandlerV2 implements Handler {
             this.transactionDao.insert(agentId, agentStatBo.getTransactionBos());
             this.activeTraceDao.insert(agentId, agentStatBo.getActiveTraceBos());
             this.dataSourceListDao.insert(agentId, agentStatBo.getDataSourceListBos());
+            this.spanSenderQueueDao.insert(agentId, agentStatBo.getSpanSenderQueueBos());
+            this.samplingThrottleDao.insert(agentId, agentStatBo.getSamplingThrottleBos());
+            this.deferredSamplingDao.insert(agentId, agentStatBo.getDeferredSamplingBos());
         } catch (Exception e) {
             logger.warn("Error inserting AgentStatBo. Caused:{}", e.getMessage(), e);
         }
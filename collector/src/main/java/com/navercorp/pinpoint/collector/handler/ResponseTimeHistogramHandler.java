@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeHistogram;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Merges the response time histogram of unsampled transactions into the server map statistics.
+ * <p>
+ * The agent counts only the transactions that are never sent as a span, so these counts are added to the span based statistics as they are.
+ * A root transaction is recorded the same way as a root span (USER -> application and self).
+ * <p>
+ * The counts carry no caller or destination, so edges other than USER -> application are not scaled.
+ * A continued transaction is skipped: its caller was not sampled either and did not record the call,
+ * so counting it on the node only would make the node exceed the sum of its incoming edges.
+ * <p>
+ * Over UDP the histogram is read from the undecoded message. the counts are visited one by one and the histogram is never built.
+ */
+@Service
+public class ResponseTimeHistogramHandler implements SimpleHandler, LazyHandler {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private StatisticsHandler statisticsHandler;
+
+    @Autowired
+    private ServiceTypeRegistryService registry;
+
+    @Override
+    public void handleSimple(TBase<?, ?> tbase) {
+        if (!(tbase instanceof TResponseTimeHistogram)) {
+            throw new IllegalArgumentException("unexpected tbase:" + tbase + " expected:" + this.getClass().getName());
+        }
+
+        try {
+            final TResponseTimeHistogram histogram = (TResponseTimeHistogram) tbase;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Received ResponseTimeHistogram={}", histogram);
+            }
+
+            final List<TResponseTimeCount> responseTimeCounts = histogram.getResponseTimeCounts();
+            if (CollectionUtils.isEmpty(responseTimeCounts)) {
+                return;
+            }
+            final String applicationName = histogram.getApplicationName();
+            final String agentId = histogram.getAgentId();
+            final ServiceType applicationServiceType = registry.findServiceType(histogram.getApplicationServiceType());
+
+            for (TResponseTimeCount responseTimeCount : responseTimeCounts) {
+                updateSlotCount(applicationName, applicationServiceType, agentId, responseTimeCount);
+            }
+        } catch (Exception e) {
+            logger.warn("ResponseTimeHistogram handle error. Caused:{}. ResponseTimeHistogram:{}", e.getMessage(), tbase, e);
+        }
+    }
+
+    @Override
+    public void handleLazy(LazyTBase lazyTBase) {
+        if (!lazyTBase.isTypeOf(TResponseTimeHistogram.class)) {
+            throw new IllegalArgumentException("unexpected lazyTBase:" + lazyTBase + " expected:" + this.getClass().getName());
+        }
+
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Received ResponseTimeHistogram={}", lazyTBase);
+            }
+
+            final String applicationName = lazyTBase.getString(TResponseTimeHistogram._Fields.APPLICATION_NAME.getThriftFieldId());
+            final String agentId = lazyTBase.getString(TResponseTimeHistogram._Fields.AGENT_ID.getThriftFieldId());
+            final short serviceTypeCode = lazyTBase.getI16(TResponseTimeHistogram._Fields.APPLICATION_SERVICE_TYPE.getThriftFieldId(), (short) 0);
+            final ServiceType applicationServiceType = registry.findServiceType(serviceTypeCode);
+
+            final short responseTimeCounts = TResponseTimeHistogram._Fields.RESPONSE_TIME_COUNTS.getThriftFieldId();
+            lazyTBase.readStructList(responseTimeCounts, new TResponseTimeCount(), new LazyTBase.StructHandler<TResponseTimeCount>() {
+                @Override
+                public void handle(TResponseTimeCount responseTimeCount) {
+                    updateSlotCount(applicationName, applicationServiceType, agentId, responseTimeCount);
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("ResponseTimeHistogram handle error. Caused:{}. ResponseTimeHistogram:{}", e.getMessage(), lazyTBase, e);
+        }
+    }
+
+    private void updateSlotCount(String applicationName, ServiceType applicationServiceType, String agentId, TResponseTimeCount responseTimeCount) {
+        final short slotNumber = responseTimeCount.getSlot();
+        final long count = responseTimeCount.getCount();
+        if (count <= 0) {
+            return;
+        }
+        if (!responseTimeCount.isRoot()) {
+            return;
+        }
+        // create virtual user
+        statisticsHandler.updateCallerSlotCount(applicationName, ServiceType.USER, agentId, applicationName, applicationServiceType, agentId, slotNumber, count);
+        statisticsHandler.updateCalleeSlotCount(applicationName, applicationServiceType, applicationName, ServiceType.USER, agentId, slotNumber, count);
+        statisticsHandler.updateResponseTimeSlotCount(applicationName, applicationServiceType, agentId, slotNumber, count);
+    }
+}
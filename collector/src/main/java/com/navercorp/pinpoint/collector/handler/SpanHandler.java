@@ -149,6 +149,9 @@ public class SpanHandler implements SimpleHandler {
         // the data may be different due to timeout or network error.
         
         statisticsHandler.updateResponseTime(span.getApplicationId(), applicationServiceType, span.getAgentId(), span.getElapsed(), isError);
+        if (span.hasResourceUsage()) {
+            statisticsHandler.updateResourceUsage(span.getApplicationId(), applicationServiceType, span.getAgentId(), span.getCpuTime(), span.getAllocatedBytes());
+        }
 
         if (bugCheck != 1) {
             logger.warn("ambiguous span found(bug). span:{}", span);
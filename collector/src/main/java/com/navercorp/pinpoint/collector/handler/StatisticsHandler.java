@@ -80,4 +80,20 @@ public class StatisticsHandler {
     public void updateResponseTime(String applicationName, ServiceType serviceType, String agentId, int elapsed, boolean isError) {
         mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
     }
+
+    public void updateCallerSlotCount(String callerApplicationName, ServiceType callerServiceType, String callerAgentId, String calleeApplicationName, ServiceType calleeServiceType, String calleeHost, short slotNumber, long count) {
+        mapStatisticsCallerDao.updateSlotCount(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, slotNumber, count);
+    }
+
+    public void updateCalleeSlotCount(String calleeApplicationName, ServiceType calleeServiceType, String callerApplicationName, ServiceType callerServiceType, String callerHost, short slotNumber, long count) {
+        mapStatisticsCalleeDao.updateSlotCount(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, slotNumber, count);
+    }
+
+    public void updateResponseTimeSlotCount(String applicationName, ServiceType serviceType, String agentId, short slotNumber, long count) {
+        mapResponseTimeDao.receivedSlotCount(applicationName, serviceType, agentId, slotNumber, count);
+    }
+
+    public void updateResourceUsage(String applicationName, ServiceType serviceType, String agentId, long cpuTime, long allocatedBytes) {
+        mapResponseTimeDao.receivedResourceUsage(applicationName, serviceType, agentId, cpuTime, allocatedBytes);
+    }
 }
@@ -23,8 +23,11 @@ import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
@@ -60,6 +63,15 @@ public class AgentStatBatchMapper implements ThriftBoMapper<AgentStatBo, TAgentS
     @Autowired
     private DataSourceBoMapper dataSourceBoMapper;
 
+    @Autowired
+    private SpanSenderQueueBoMapper spanSenderQueueBoMapper;
+
+    @Autowired
+    private SamplingThrottleBoMapper samplingThrottleBoMapper;
+
+    @Autowired
+    private DeferredSamplingBoMapper deferredSamplingBoMapper;
+
     @Override
     public AgentStatBo map(TAgentStatBatch tAgentStatBatch) {
         if (!tAgentStatBatch.isSetAgentStats()) {
@@ -75,6 +87,9 @@ public class AgentStatBatchMapper implements ThriftBoMapper<AgentStatBo, TAgentS
         List<TransactionBo> transactionBos = new ArrayList<>(tAgentStatBatch.getAgentStatsSize());
         List<ActiveTraceBo> activeTraceBos = new ArrayList<>(tAgentStatBatch.getAgentStatsSize());
         List<DataSourceListBo> dataSourceListBos = new ArrayList<DataSourceListBo>(tAgentStatBatch.getAgentStatsSize());
+        List<SpanSenderQueueBo> spanSenderQueueBos = new ArrayList<>(tAgentStatBatch.getAgentStatsSize());
+        List<SamplingThrottleBo> samplingThrottleBos = new ArrayList<>(tAgentStatBatch.getAgentStatsSize());
+        List<DeferredSamplingBo> deferredSamplingBos = new ArrayList<>(tAgentStatBatch.getAgentStatsSize());
         for (TAgentStat tAgentStat : tAgentStatBatch.getAgentStats()) {
             final long timestamp = tAgentStat.getTimestamp();
             // jvmGc
@@ -126,6 +141,27 @@ public class AgentStatBatchMapper implements ThriftBoMapper<AgentStatBo, TAgentS
                 }
                 dataSourceListBos.add(dataSourceListBo);
             }
+
+            // spanSenderQueue
+            if (tAgentStat.isSetSpanSenderQueue()) {
+                SpanSenderQueueBo spanSenderQueueBo = this.spanSenderQueueBoMapper.map(tAgentStat.getSpanSenderQueue());
+                setBaseData(spanSenderQueueBo, agentId, startTimestamp, timestamp);
+                spanSenderQueueBos.add(spanSenderQueueBo);
+            }
+
+            // samplingThrottle
+            if (tAgentStat.isSetSamplingThrottle()) {
+                SamplingThrottleBo samplingThrottleBo = this.samplingThrottleBoMapper.map(tAgentStat.getSamplingThrottle());
+                setBaseData(samplingThrottleBo, agentId, startTimestamp, timestamp);
+                samplingThrottleBos.add(samplingThrottleBo);
+            }
+
+            // deferredSampling
+            if (tAgentStat.isSetDeferredSampling()) {
+                DeferredSamplingBo deferredSamplingBo = this.deferredSamplingBoMapper.map(tAgentStat.getDeferredSampling());
+                setBaseData(deferredSamplingBo, agentId, startTimestamp, timestamp);
+                deferredSamplingBos.add(deferredSamplingBo);
+            }
         }
         agentStatBo.setJvmGcBos(jvmGcBos);
         agentStatBo.setJvmGcDetailedBos(jvmGcDetailedBos);
@@ -133,6 +169,9 @@ public class AgentStatBatchMapper implements ThriftBoMapper<AgentStatBo, TAgentS
         agentStatBo.setTransactionBos(transactionBos);
         agentStatBo.setActiveTraceBos(activeTraceBos);
         agentStatBo.setDataSourceListBos(dataSourceListBos);
+        agentStatBo.setSpanSenderQueueBos(spanSenderQueueBos);
+        agentStatBo.setSamplingThrottleBos(samplingThrottleBos);
+        agentStatBo.setDeferredSamplingBos(deferredSamplingBos);
         return agentStatBo;
     }
 
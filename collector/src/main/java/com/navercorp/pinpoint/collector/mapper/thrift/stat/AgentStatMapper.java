@@ -23,8 +23,11 @@ import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TDataSource;
@@ -58,6 +61,15 @@ public class AgentStatMapper implements ThriftBoMapper<AgentStatBo, TAgentStat>
     @Autowired
     private DataSourceBoMapper dataSourceBoMapper;
 
+    @Autowired
+    private SpanSenderQueueBoMapper spanSenderQueueBoMapper;
+
+    @Autowired
+    private SamplingThrottleBoMapper samplingThrottleBoMapper;
+
+    @Autowired
+    private DeferredSamplingBoMapper deferredSamplingBoMapper;
+
     @Override
     public AgentStatBo map(TAgentStat tAgentStat) {
         if (tAgentStat == null) {
@@ -116,6 +128,27 @@ public class AgentStatMapper implements ThriftBoMapper<AgentStatBo, TAgentStat>
             agentStatBo.setDataSourceListBos(Arrays.asList(dataSourceListBo));
         }
 
+        // spanSenderQueue
+        if (tAgentStat.isSetSpanSenderQueue()) {
+            SpanSenderQueueBo spanSenderQueueBo = this.spanSenderQueueBoMapper.map(tAgentStat.getSpanSenderQueue());
+            setBaseData(spanSenderQueueBo, agentId, startTimestamp, timestamp);
+            agentStatBo.setSpanSenderQueueBos(Arrays.asList(spanSenderQueueBo));
+        }
+
+        // samplingThrottle
+        if (tAgentStat.isSetSamplingThrottle()) {
+            SamplingThrottleBo samplingThrottleBo = this.samplingThrottleBoMapper.map(tAgentStat.getSamplingThrottle());
+            setBaseData(samplingThrottleBo, agentId, startTimestamp, timestamp);
+            agentStatBo.setSamplingThrottleBos(Arrays.asList(samplingThrottleBo));
+        }
+
+        // deferredSampling
+        if (tAgentStat.isSetDeferredSampling()) {
+            DeferredSamplingBo deferredSamplingBo = this.deferredSamplingBoMapper.map(tAgentStat.getDeferredSampling());
+            setBaseData(deferredSamplingBo, agentId, startTimestamp, timestamp);
+            agentStatBo.setDeferredSamplingBos(Arrays.asList(deferredSamplingBo));
+        }
+
         return agentStatBo;
     }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.collector.mapper.thrift.ThriftBoMapper;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
+import com.navercorp.pinpoint.thrift.dto.TDeferredSampling;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DeferredSamplingBoMapper implements ThriftBoMapper<DeferredSamplingBo, TDeferredSampling> {
+
+    @Override
+    public DeferredSamplingBo map(TDeferredSampling tDeferredSampling) {
+        DeferredSamplingBo deferredSampling = new DeferredSamplingBo();
+        deferredSampling.setActiveTraceCount(tDeferredSampling.getActiveTraceCount());
+        deferredSampling.setPromotedCount(tDeferredSampling.getPromotedCount());
+        deferredSampling.setDiscardedCount(tDeferredSampling.getDiscardedCount());
+        deferredSampling.setRejectedCount(tDeferredSampling.getRejectedCount());
+        deferredSampling.setExpiredCount(tDeferredSampling.getExpiredCount());
+        return deferredSampling;
+    }
+}
@@ -34,6 +34,9 @@ public class TransactionBoMapper implements ThriftBoMapper<TransactionBo, TTrans
         transaction.setSampledContinuationCount(tTransaction.getSampledContinuationCount());
         transaction.setUnsampledNewCount(tTransaction.getUnsampledNewCount());
         transaction.setUnsampledContinuationCount(tTransaction.getUnsampledContinuationCount());
+        if (tTransaction.isSetSamplingRate()) {
+            transaction.setSamplingRate(tTransaction.getSamplingRate());
+        }
         return transaction;
     }
 }
@@ -17,14 +17,20 @@
 package com.navercorp.pinpoint.collector.receiver;
 
 import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.navercorp.pinpoint.collector.handler.Handler;
+import com.navercorp.pinpoint.collector.handler.LazyHandler;
 import com.navercorp.pinpoint.collector.handler.RequestResponseHandler;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author emeroad
@@ -37,6 +43,9 @@ public abstract class AbstractDispatchHandler implements DispatchHandler {
     @Autowired
     private AcceptedTimeService acceptedTimeService;
 
+    // empty instance per header type. handlers are looked up by type only
+    private final ConcurrentMap<Short, TBase<?, ?>> prototypeCache = new ConcurrentHashMap<>();
+
     public AbstractDispatchHandler() {
     }
 
@@ -69,6 +78,71 @@ public abstract class AbstractDispatchHandler implements DispatchHandler {
         throw new UnsupportedOperationException("Handler not found. Unknown type of data received. tBase=" + tBase);
     }
     
+    @Override
+    public void dispatchSendMessage(LazyTBase lazyTBase) {
+
+        // mark accepted time
+        acceptedTimeService.accept();
+
+        final TBase<?, ?> prototype = getPrototype(lazyTBase);
+        LazyHandler lazyHandler = getLazyHandler(prototype);
+        if (lazyHandler != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("lazyHandler name:{}", lazyHandler.getClass().getName());
+            }
+            // reads the fields it needs. the body is never decoded as a whole
+            lazyHandler.handleLazy(lazyTBase);
+            return;
+        }
+
+        SimpleHandler simpleHandler = getSimpleHandler(prototype);
+        if (simpleHandler != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("simpleHandler name:{}", simpleHandler.getClass().getName());
+            }
+            simpleHandler.handleSimple(materialize(lazyTBase));
+            return;
+        }
+
+        Handler handler = getHandler(prototype);
+        if (handler != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("handler name:{}", handler.getClass().getName());
+            }
+            handler.handle(materialize(lazyTBase));
+            return;
+        }
+
+        // the body is never decoded
+        throw new UnsupportedOperationException("Handler not found. Unknown type of data received. lazyTBase=" + lazyTBase);
+    }
+
+    private TBase<?, ?> getPrototype(LazyTBase lazyTBase) {
+        final Short type = lazyTBase.getType();
+        TBase<?, ?> prototype = prototypeCache.get(type);
+        if (prototype != null) {
+            return prototype;
+        }
+        try {
+            prototype = lazyTBase.newInstance();
+        } catch (TException e) {
+            throw new UnsupportedOperationException("Unknown type of data received. lazyTBase=" + lazyTBase, e);
+        }
+        final TBase<?, ?> before = prototypeCache.putIfAbsent(type, prototype);
+        if (before != null) {
+            return before;
+        }
+        return prototype;
+    }
+
+    private TBase<?, ?> materialize(LazyTBase lazyTBase) {
+        try {
+            return lazyTBase.materialize();
+        } catch (TException e) {
+            throw new IllegalStateException("deserialize fail. lazyTBase=" + lazyTBase + " Cause:" + e.getMessage(), e);
+        }
+    }
+
     public TBase dispatchRequestMessage(TBase<?,?> tBase) {
         // mark accepted time
         acceptedTimeService.accept();
@@ -97,4 +171,9 @@ public abstract class AbstractDispatchHandler implements DispatchHandler {
     SimpleHandler getSimpleHandler(TBase<?, ?> tBase) {
         return null;
     }
+
+    // only for dispatchSendMessage(LazyTBase). messages decoded elsewhere go to getSimpleHandler() or getHandler()
+    LazyHandler getLazyHandler(TBase<?, ?> tBase) {
+        return null;
+    }
 }
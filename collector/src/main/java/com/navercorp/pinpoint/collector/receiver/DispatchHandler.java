@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver;
 
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import org.apache.thrift.TBase;
 
 /**
@@ -28,6 +29,11 @@ public interface DispatchHandler {
 
     void dispatchSendMessage(TBase<?, ?> tBase);
 
+    /**
+     * routes by header. the body is decoded only when a handler accepts the message
+     */
+    void dispatchSendMessage(LazyTBase lazyTBase);
+
     TBase dispatchRequestMessage(TBase<?, ?> tBase);
 
 }
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
 import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 
 /**
  * @author Taejin Koo
@@ -54,6 +55,18 @@ public class DispatchHandlerWrapper implements DispatchHandler {
         return;
     }
 
+    @Override
+    public void dispatchSendMessage(LazyTBase lazyTBase) {
+        if (checkAvaiable()) {
+            this.delegate.dispatchSendMessage(lazyTBase);
+            return;
+        }
+
+        // dropped without decoding the body
+        logger.debug("Handler is disabled. Skipping send message {}.", lazyTBase);
+        return;
+    }
+
     @Override
     public TBase dispatchRequestMessage(TBase<?, ?> tBase) {
         if (checkAvaiable()) {
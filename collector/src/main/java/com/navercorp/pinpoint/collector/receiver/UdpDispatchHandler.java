@@ -17,6 +17,9 @@
 package com.navercorp.pinpoint.collector.receiver;
 
 import com.navercorp.pinpoint.collector.handler.Handler;
+import com.navercorp.pinpoint.collector.handler.LazyHandler;
+import com.navercorp.pinpoint.collector.handler.ResponseTimeHistogramHandler;
+import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.thrift.dto.*;
 
 import org.apache.thrift.TBase;
@@ -34,6 +37,9 @@ public class UdpDispatchHandler extends AbstractDispatchHandler {
     @Qualifier("agentStatHandlerFactory")
     private Handler agentStatHandler;
 
+    @Autowired
+    @Qualifier("responseTimeHistogramHandler")
+    private ResponseTimeHistogramHandler responseTimeHistogramHandler;
 
     public UdpDispatchHandler() {
         this.logger = LoggerFactory.getLogger(this.getClass());
@@ -50,4 +56,20 @@ public class UdpDispatchHandler extends AbstractDispatchHandler {
         return null;
     }
 
+    @Override
+    SimpleHandler getSimpleHandler(TBase<?, ?> tBase) {
+        if (tBase instanceof TResponseTimeHistogram) {
+            return responseTimeHistogramHandler;
+        }
+        return null;
+    }
+
+    @Override
+    LazyHandler getLazyHandler(TBase<?, ?> tBase) {
+        if (tBase instanceof TResponseTimeHistogram) {
+            return responseTimeHistogramHandler;
+        }
+        return null;
+    }
+
 }
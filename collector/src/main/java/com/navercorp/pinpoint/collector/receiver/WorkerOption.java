@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.collector.receiver;
 
+import com.navercorp.pinpoint.collector.receiver.pipeline.WaitStrategyType;
+
 /**
  * @author Taejin Koo
  */
@@ -26,11 +28,12 @@ public final class WorkerOption {
 
     private final boolean enableCollectMetric;
 
-    public WorkerOption(int workerThreadSize, int workerThreadQueueSize) {
-        this(workerThreadSize, workerThreadQueueSize, false);
-    }
+    private final WorkerType workerType;
+    private final WaitStrategyType waitStrategyType;
+    // WorkerType.RING_BUFFER only. 0 deserializes in the worker threads
+    private final int deserializeThreadSize;
 
-    public WorkerOption(int workerThreadSize, int workerThreadQueueSize, boolean enableCollectMetric) {
+    public WorkerOption(int workerThreadSize, int workerThreadQueueSize, boolean enableCollectMetric, WorkerType workerType, WaitStrategyType waitStrategyType, int deserializeThreadSize) {
         if (workerThreadSize <= 0) {
             throw new IllegalArgumentException("workerThreadSize must be greater than 0");
         }
@@ -39,9 +42,16 @@ public final class WorkerOption {
             throw new IllegalArgumentException("workerThreadQueueSize must be greater than 0");
         }
 
+        if (deserializeThreadSize < 0) {
+            throw new IllegalArgumentException("deserializeThreadSize must not be negative");
+        }
+
         this.workerThreadSize = workerThreadSize;
         this.workerThreadQueueSize = workerThreadQueueSize;
         this.enableCollectMetric = enableCollectMetric;
+        this.workerType = workerType == null ? WorkerType.DEFAULT_EXECUTOR : workerType;
+        this.waitStrategyType = waitStrategyType == null ? WaitStrategyType.BLOCKING : waitStrategyType;
+        this.deserializeThreadSize = deserializeThreadSize;
     }
 
     public int getWorkerThreadSize() {
@@ -56,12 +66,27 @@ public final class WorkerOption {
         return enableCollectMetric;
     }
 
+    public WorkerType getWorkerType() {
+        return workerType;
+    }
+
+    public WaitStrategyType getWaitStrategyType() {
+        return waitStrategyType;
+    }
+
+    public int getDeserializeThreadSize() {
+        return deserializeThreadSize;
+    }
+
     @Override
     public String toString() {
         return "WorkerOption{" +
                 "workerThreadSize=" + workerThreadSize +
                 ", workerThreadQueueSize=" + workerThreadQueueSize +
                 ", enableCollectMetric=" + enableCollectMetric +
+                ", workerType=" + workerType +
+                ", waitStrategyType=" + waitStrategyType +
+                ", deserializeThreadSize=" + deserializeThreadSize +
                 '}';
     }
 
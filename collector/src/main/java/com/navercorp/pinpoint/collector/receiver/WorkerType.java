@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+/**
+ * How a receiver hands received messages over to its worker threads.
+ */
+public enum WorkerType {
+    /**
+     * a fixed thread pool. one task per message.
+     */
+    DEFAULT_EXECUTOR,
+    /**
+     * preallocated ring buffers. see {@link com.navercorp.pinpoint.collector.receiver.pipeline.Stage}
+     */
+    RING_BUFFER;
+
+    public static WorkerType getValue(String name, WorkerType defaultType) {
+        if (name == null) {
+            return defaultType;
+        }
+        for (WorkerType workerType : values()) {
+            if (workerType.name().equalsIgnoreCase(name.trim())) {
+                return workerType;
+            }
+        }
+        return defaultType;
+    }
+}
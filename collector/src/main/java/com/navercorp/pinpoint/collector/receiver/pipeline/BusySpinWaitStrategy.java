@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+import com.navercorp.pinpoint.common.util.RingBuffer;
+
+/**
+ * Never gives up the cpu. Lowest latency. Needs a dedicated core per consumer thread.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public boolean waitFor(RingBuffer<?> ringBuffer, long sequence, long timeoutNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        while (!ringBuffer.isPublished(sequence)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void signal() {
+    }
+
+    @Override
+    public String toString() {
+        return "BusySpinWaitStrategy";
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+/**
+ * Consumes the events of a {@link Stage}. Called by a single consumer thread per ring buffer.
+ * The slot is reused as soon as onEvent() returns. do not keep a reference to the event.
+ */
+public interface EventHandler<E> {
+
+    /**
+     * @param endOfBatch true if this is the last event published so far. a good point to flush buffered work.
+     */
+    void onEvent(E event, boolean endOfBatch) throws Exception;
+
+}
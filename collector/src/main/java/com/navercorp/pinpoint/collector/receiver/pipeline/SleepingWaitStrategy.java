@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+import com.navercorp.pinpoint.common.util.RingBuffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins, then yields, then sleeps for short periods. Producers never signal.
+ * Trades a little idle cpu and up to {@link #SLEEP_NANOS} of latency for a signal free publish.
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    static final long SLEEP_NANOS = 100 * 1000;
+
+    @Override
+    public boolean waitFor(RingBuffer<?> ringBuffer, long sequence, long timeoutNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        int counter = 0;
+        while (!ringBuffer.isPublished(sequence)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (counter < SPIN_TRIES) {
+                counter++;
+                continue;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            if (counter < SPIN_TRIES + YIELD_TRIES) {
+                counter++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(SLEEP_NANOS);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void signal() {
+    }
+
+    @Override
+    public String toString() {
+        return "SleepingWaitStrategy";
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One step of the receive pipeline. Replaces the executor queue of a receiver.
+ * <p>
+ * Each consumer thread owns a {@link RingBuffer} of preallocated events, so every ring has a single consumer.
+ * {@link #publish(EventTranslatorTwoArg, Object, Object)} picks a random ring and tries the others if it is full.
+ * If every ring is full the message is shed and counted as rejected. the producer never blocks.
+ * A consumer handles everything published so far as one batch. see {@link EventHandler#onEvent(Object, boolean)}
+ * <p>
+ * Stages are chained by publishing to the next stage from an {@link EventHandler}.
+ * <p>
+ * metrics. name.published, name.rejected (meter), name.queueDepth (gauge),
+ * name.latency (timer. publish to end of handling), name.batch (histogram)
+ */
+public class Stage<E> {
+
+    private static final long WAIT_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int REJECTED_LOG_INTERVAL = 100;
+
+    @SuppressWarnings("rawtypes")
+    private static final EventTranslatorTwoArg<Object, EventTranslator, Object> ONE_ARG = new EventTranslatorTwoArg<Object, EventTranslator, Object>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void translateTo(Object event, EventTranslator translator, Object arg) {
+            translator.translateTo(event, arg);
+        }
+    };
+
+    private final Logger logger;
+
+    private final String name;
+    private final Lane<E>[] lanes;
+    private final EventHandler<E> eventHandler;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> consumerThreads;
+
+    private final Meter published;
+    private final Meter rejected;
+    private final Timer latency;
+    private final Histogram batch;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private volatile boolean running = false;
+
+    /**
+     * @param queueSize total capacity. split evenly among the consumer threads
+     * @param metricRegistry nullable. metrics are not reported if null
+     */
+    @SuppressWarnings("unchecked")
+    public Stage(String name, int consumerCount, int queueSize, RingBuffer.EventFactory<E> eventFactory, EventHandler<E> eventHandler, WaitStrategyType waitStrategyType, MetricRegistry metricRegistry) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (consumerCount <= 0) {
+            throw new IllegalArgumentException("consumerCount must be greater than 0");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be greater than 0");
+        }
+        if (eventFactory == null) {
+            throw new NullPointerException("eventFactory must not be null");
+        }
+        if (eventHandler == null) {
+            throw new NullPointerException("eventHandler must not be null");
+        }
+        if (waitStrategyType == null) {
+            throw new NullPointerException("waitStrategyType must not be null");
+        }
+        this.logger = LoggerFactory.getLogger(name);
+        this.name = name;
+        this.eventHandler = eventHandler;
+
+        final int ringBufferCapacity = (queueSize + consumerCount - 1) / consumerCount;
+        this.lanes = new Lane[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            this.lanes[i] = new Lane<>(new RingBuffer<>(ringBufferCapacity, eventFactory), waitStrategyType.newWaitStrategy());
+        }
+        this.threadFactory = new PinpointThreadFactory(name, true);
+        this.consumerThreads = new ArrayList<>(consumerCount);
+
+        final MetricRegistry registry = metricRegistry != null ? metricRegistry : new MetricRegistry();
+        this.published = registry.meter(MetricRegistry.name(name, "published"));
+        this.rejected = registry.meter(MetricRegistry.name(name, "rejected"));
+        this.latency = registry.timer(MetricRegistry.name(name, "latency"));
+        this.batch = registry.histogram(MetricRegistry.name(name, "batch"));
+        registry.register(MetricRegistry.name(name, "queueDepth"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return getQueueSize();
+            }
+        });
+    }
+
+    public void start() {
+        if (running) {
+            throw new IllegalStateException("already started. " + name);
+        }
+        running = true;
+        for (Lane<E> lane : lanes) {
+            final Thread thread = threadFactory.newThread(new Consumer(lane));
+            consumerThreads.add(thread);
+            thread.start();
+        }
+        logger.info("{} started. consumer:{}, ringBuffer:{}", name, lanes.length, lanes[0].ringBuffer);
+    }
+
+    /**
+     * @return false if the message has been shed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <A> boolean publish(EventTranslator<E, A> translator, A arg) {
+        if (translator == null) {
+            throw new NullPointerException("translator must not be null");
+        }
+        return publish((EventTranslatorTwoArg) ONE_ARG, translator, arg);
+    }
+
+    /**
+     * @return false if the message has been shed
+     */
+    public <A, B> boolean publish(EventTranslatorTwoArg<E, A, B> translator, A arg0, B arg1) {
+        if (!running) {
+            reject();
+            return false;
+        }
+        final int laneCount = lanes.length;
+        final int start = laneCount == 1 ? 0 : ThreadLocalRandom.current().nextInt(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            final Lane<E> lane = lanes[(start + i) % laneCount];
+            final long sequence = lane.ringBuffer.tryNext();
+            if (sequence == -1) {
+                continue;
+            }
+            try {
+                translator.translateTo(lane.ringBuffer.get(sequence), arg0, arg1);
+            } finally {
+                lane.publish(sequence);
+            }
+            published.mark();
+            return true;
+        }
+        reject();
+        return false;
+    }
+
+    private void reject() {
+        rejected.mark();
+        final long count = rejectedCount.incrementAndGet();
+        if ((count % REJECTED_LOG_INTERVAL) == 1) {
+            logger.warn("{} is full. rejectedCount={}", name, count);
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public int getQueueSize() {
+        int size = 0;
+        for (Lane<E> lane : lanes) {
+            size += lane.ringBuffer.size();
+        }
+        return size;
+    }
+
+    public int getQueueCapacity() {
+        int capacity = 0;
+        for (Lane<E> lane : lanes) {
+            capacity += lane.ringBuffer.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * Stops accepting messages and waits until the consumers have handled the published ones.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        logger.info("{} shutdown.", name);
+        running = false;
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread thread : consumerThreads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (thread.isAlive()) {
+                logger.warn("{} not terminated in time. remaining:{}", thread.getName(), getQueueSize());
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * A ring buffer with its wait strategy and the publish time of each slot.
+     */
+    private static final class Lane<E> {
+
+        private final RingBuffer<E> ringBuffer;
+        private final WaitStrategy waitStrategy;
+        // written before the slot is published. read after
+        private final long[] publishTimes;
+
+        private Lane(RingBuffer<E> ringBuffer, WaitStrategy waitStrategy) {
+            this.ringBuffer = ringBuffer;
+            this.waitStrategy = waitStrategy;
+            this.publishTimes = new long[ringBuffer.ringSize()];
+        }
+
+        private void publish(long sequence) {
+            publishTimes[ringBuffer.indexOf(sequence)] = System.nanoTime();
+            ringBuffer.publish(sequence);
+            waitStrategy.signal();
+        }
+
+        /**
+         * @return System.nanoTime() of the publish. valid until the slot is released
+         */
+        private long getPublishTime(long sequence) {
+            return publishTimes[ringBuffer.indexOf(sequence)];
+        }
+    }
+
+    private class Consumer implements Runnable {
+
+        private final Lane<E> lane;
+        private final RingBuffer<E> ringBuffer;
+
+        private Consumer(Lane<E> lane) {
+            this.lane = lane;
+            this.ringBuffer = lane.ringBuffer;
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (true) {
+                try {
+                    if (!lane.waitStrategy.waitFor(ringBuffer, next, WAIT_TIMEOUT_NANOS)) {
+                        if (!running) {
+                            // drained
+                            return;
+                        }
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long end = next;
+                while (ringBuffer.isPublished(end + 1) && end + 1 - next < ringBuffer.capacity()) {
+                    end++;
+                }
+                batch.update(end - next + 1);
+                for (long sequence = next; sequence <= end; sequence++) {
+                    handle(sequence, sequence == end);
+                }
+                next = end + 1;
+            }
+        }
+
+        private void handle(long sequence, boolean endOfBatch) {
+            try {
+                eventHandler.onEvent(ringBuffer.get(sequence), endOfBatch);
+            } catch (Exception e) {
+                logger.warn("{} handle error. Caused:{}", name, e.getMessage(), e);
+            } finally {
+                latency.update(System.nanoTime() - lane.getPublishTime(sequence), TimeUnit.NANOSECONDS);
+                ringBuffer.release(sequence);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Stage{" +
+                "name='" + name + '\'' +
+                ", consumerCount=" + lanes.length +
+                ", queueCapacity=" + getQueueCapacity() +
+                '}';
+    }
+}
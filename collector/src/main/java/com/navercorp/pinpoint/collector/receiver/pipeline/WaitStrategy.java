@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+import com.navercorp.pinpoint.common.util.RingBuffer;
+
+/**
+ * How the consumer of a {@link RingBuffer} waits for the next event.
+ * An instance belongs to one ring buffer.
+ */
+public interface WaitStrategy {
+
+    /**
+     * @return true if {@code sequence} has been published. false on timeout
+     */
+    boolean waitFor(RingBuffer<?> ringBuffer, long sequence, long timeoutNanos) throws InterruptedException;
+
+    /**
+     * Called by producers after every publish.
+     */
+    void signal();
+
+}
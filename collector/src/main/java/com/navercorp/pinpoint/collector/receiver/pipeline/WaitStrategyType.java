@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+/**
+ * @see WaitStrategy
+ */
+public enum WaitStrategyType {
+    BLOCKING {
+        @Override
+        public WaitStrategy newWaitStrategy() {
+            return new BlockingWaitStrategy();
+        }
+    },
+    SLEEPING {
+        @Override
+        public WaitStrategy newWaitStrategy() {
+            return new SleepingWaitStrategy();
+        }
+    },
+    YIELDING {
+        @Override
+        public WaitStrategy newWaitStrategy() {
+            return new YieldingWaitStrategy();
+        }
+    },
+    BUSY_SPIN {
+        @Override
+        public WaitStrategy newWaitStrategy() {
+            return new BusySpinWaitStrategy();
+        }
+    };
+
+    public abstract WaitStrategy newWaitStrategy();
+
+    public static WaitStrategyType getValue(String name, WaitStrategyType defaultType) {
+        if (name == null) {
+            return defaultType;
+        }
+        for (WaitStrategyType waitStrategyType : values()) {
+            if (waitStrategyType.name().equalsIgnoreCase(name.trim())) {
+                return waitStrategyType;
+            }
+        }
+        return defaultType;
+    }
+}
@@ -21,6 +21,11 @@ import com.navercorp.pinpoint.collector.cluster.zookeeper.ZookeeperClusterServic
 import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
 import com.navercorp.pinpoint.collector.monitor.MonitoredExecutorService;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.collector.receiver.WorkerType;
+import com.navercorp.pinpoint.collector.receiver.pipeline.EventHandler;
+import com.navercorp.pinpoint.collector.receiver.pipeline.EventTranslatorTwoArg;
+import com.navercorp.pinpoint.collector.receiver.pipeline.Stage;
+import com.navercorp.pinpoint.collector.receiver.pipeline.WaitStrategyType;
 import com.navercorp.pinpoint.collector.rpc.handler.AgentEventHandler;
 import com.navercorp.pinpoint.collector.rpc.handler.AgentLifeCycleHandler;
 import com.navercorp.pinpoint.collector.util.PacketUtils;
@@ -28,6 +33,7 @@ import com.navercorp.pinpoint.common.server.util.AgentEventType;
 import com.navercorp.pinpoint.common.server.util.AgentLifeCycleState;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.RingBuffer;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
@@ -88,6 +94,10 @@ public class TCPReceiver {
     private final ZookeeperClusterService clusterService;
 
     private ExecutorService worker;
+    // replaces worker if WorkerType.RING_BUFFER. receives the packets
+    private Stage<TcpEvent> stage;
+    // handles the messages decoded by stage. null if stage decodes and handles
+    private Stage<TcpEvent> handleStage;
 
     private final SerializerFactory<HeaderTBaseSerializer> serializerFactory = new ThreadLocalHeaderTBaseSerializerFactory<>(new HeaderTBaseSerializerFactory(true, HeaderTBaseSerializerFactory.DEFAULT_UDP_STREAM_MAX_SIZE));
     private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<>(new HeaderTBaseDeserializerFactory());
@@ -126,16 +136,16 @@ public class TCPReceiver {
     }
 
     public void afterPropertiesSet() {
-        ExecutorService worker = ExecutorFactory.newFixedThreadPool(configuration.getTcpWorkerThread(), configuration.getTcpWorkerQueueSize(), tcpWorkerThreadFactory);
-        if (configuration.isTcpWorkerMonitor()) {
-            if (metricRegistry == null) {
-                logger.warn("metricRegistry not autowired. Can't enable monitoring.");
-                this.worker = worker;
+        final WorkerType workerType = WorkerType.getValue(configuration.getTcpWorkerType(), WorkerType.DEFAULT_EXECUTOR);
+        if (workerType == WorkerType.RING_BUFFER) {
+            if (configuration.getWorkerDeserializeThread() > 0) {
+                this.handleStage = createHandleStage();
+                this.stage = createDeserializeStage(handleStage);
             } else {
-                this.worker = new MonitoredExecutorService(worker, metricRegistry, this.getClass().getSimpleName() + "-Worker");
+                this.stage = createStage();
             }
         } else {
-            this.worker = worker;
+            this.worker = createWorker();
         }
 
         if (clusterService != null && clusterService.isEnable()) {
@@ -148,6 +158,78 @@ public class TCPReceiver {
 
         setL4TcpChannel(serverAcceptor, configuration.getL4IpList());
     }
+
+    private ExecutorService createWorker() {
+        ExecutorService worker = ExecutorFactory.newFixedThreadPool(configuration.getTcpWorkerThread(), configuration.getTcpWorkerQueueSize(), tcpWorkerThreadFactory);
+        if (configuration.isTcpWorkerMonitor()) {
+            if (metricRegistry == null) {
+                logger.warn("metricRegistry not autowired. Can't enable monitoring.");
+                return worker;
+            }
+            return new MonitoredExecutorService(worker, metricRegistry, this.getClass().getSimpleName() + "-Worker");
+        }
+        return worker;
+    }
+
+    private Stage<TcpEvent> createStage() {
+        final EventHandler<TcpEvent> eventHandler = new EventHandler<TcpEvent>() {
+            @Override
+            public void onEvent(TcpEvent event, boolean endOfBatch) {
+                try {
+                    if (event.requestPacket != null) {
+                        dispatchRequest(event.requestPacket, event.pinpointSocket);
+                    } else {
+                        dispatchSend(event.payload, event.pinpointSocket.getRemoteAddress());
+                    }
+                } finally {
+                    event.clear();
+                }
+            }
+        };
+        return newStage(this.getClass().getSimpleName() + "-Worker", configuration.getTcpWorkerThread(), eventHandler);
+    }
+
+    private Stage<TcpEvent> createDeserializeStage(final Stage<TcpEvent> handleStage) {
+        final EventHandler<TcpEvent> eventHandler = new EventHandler<TcpEvent>() {
+            @Override
+            public void onEvent(TcpEvent event, boolean endOfBatch) {
+                try {
+                    final byte[] payload = event.requestPacket != null ? event.requestPacket.getPayload() : event.payload;
+                    final TBase<?, ?> tBase = deserialize(payload, event.pinpointSocket.getRemoteAddress());
+                    if (tBase != null) {
+                        handleStage.publish(TcpEvent.MESSAGE_TRANSLATOR, tBase, event);
+                    }
+                } finally {
+                    event.clear();
+                }
+            }
+        };
+        return newStage(this.getClass().getSimpleName() + "-Deserializer", configuration.getWorkerDeserializeThread(), eventHandler);
+    }
+
+    private Stage<TcpEvent> createHandleStage() {
+        final EventHandler<TcpEvent> eventHandler = new EventHandler<TcpEvent>() {
+            @Override
+            public void onEvent(TcpEvent event, boolean endOfBatch) {
+                try {
+                    if (event.requestPacket != null) {
+                        dispatchRequest(event.tBase, event.requestPacket, event.pinpointSocket);
+                    } else {
+                        dispatchSend(event.tBase, event.pinpointSocket.getRemoteAddress());
+                    }
+                } finally {
+                    event.clear();
+                }
+            }
+        };
+        return newStage(this.getClass().getSimpleName() + "-Worker", configuration.getTcpWorkerThread(), eventHandler);
+    }
+
+    private Stage<TcpEvent> newStage(String name, int consumerCount, EventHandler<TcpEvent> eventHandler) {
+        final WaitStrategyType waitStrategyType = WaitStrategyType.getValue(configuration.getWorkerWaitStrategy(), WaitStrategyType.BLOCKING);
+        final MetricRegistry stageMetricRegistry = configuration.isTcpWorkerMonitor() ? metricRegistry : null;
+        return new Stage<>(name, consumerCount, configuration.getTcpWorkerQueueSize(), TcpEvent.FACTORY, eventHandler, waitStrategyType, stageMetricRegistry);
+    }
     
     private void setL4TcpChannel(PinpointServerAcceptor serverFactory, List<String> l4ipList) {
         if (l4ipList == null) {
@@ -177,6 +259,12 @@ public class TCPReceiver {
     @PostConstruct
     public void start() {
         afterPropertiesSet();
+        if (handleStage != null) {
+            handleStage.start();
+        }
+        if (stage != null) {
+            stage.start();
+        }
         // take care when attaching message handlers as events are generated from the IO thread.
         // pass them to a separate queue and handle them in a different thread.
         this.serverAcceptor.setMessageListener(new ServerMessageListener() {
@@ -219,6 +307,11 @@ public class TCPReceiver {
     }
 
     private void receive(SendPacket sendPacket, PinpointSocket pinpointSocket) {
+        if (stage != null) {
+            // shed silently. Stage logs and counts rejections
+            stage.publish(TcpEvent.SEND_TRANSLATOR, sendPacket.getPayload(), pinpointSocket);
+            return;
+        }
         try {
             worker.execute(new Dispatch(sendPacket.getPayload(), pinpointSocket.getRemoteAddress()));
         } catch (RejectedExecutionException e) {
@@ -228,6 +321,10 @@ public class TCPReceiver {
     }
 
     private void requestResponse(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+        if (stage != null) {
+            stage.publish(TcpEvent.REQUEST_TRANSLATOR, requestPacket, pinpointSocket);
+            return;
+        }
         try {
             worker.execute(new RequestResponseDispatch(requestPacket, pinpointSocket));
         } catch (RejectedExecutionException e) {
@@ -249,6 +346,69 @@ public class TCPReceiver {
         }
     }
 
+    private void dispatchSend(byte[] bytes, SocketAddress remoteAddress) {
+        final TBase<?, ?> tBase = deserialize(bytes, remoteAddress);
+        if (tBase != null) {
+            dispatchSend(tBase, remoteAddress);
+        }
+    }
+
+    private void dispatchSend(TBase<?, ?> tBase, SocketAddress remoteAddress) {
+        try {
+            dispatchHandler.dispatchSendMessage(tBase);
+        } catch (Exception e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void dispatchRequest(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+        final TBase<?, ?> tBase = deserialize(requestPacket.getPayload(), pinpointSocket.getRemoteAddress());
+        if (tBase != null) {
+            dispatchRequest(tBase, requestPacket, pinpointSocket);
+        }
+    }
+
+    private void dispatchRequest(TBase<?, ?> tBase, RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+        try {
+            TBase result = dispatchHandler.dispatchRequestMessage(tBase);
+            if (result != null) {
+                byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
+                pinpointSocket.response(requestPacket, resultBytes);
+            }
+        } catch (Exception e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", pinpointSocket.getRemoteAddress(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return null if the packet can not be decoded
+     */
+    private TBase<?, ?> deserialize(byte[] bytes, SocketAddress remoteAddress) {
+        try {
+            return SerializationUtils.deserialize(bytes, deserializerFactory);
+        } catch (TException e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+            }
+        } catch (Exception e) {
+            // there are cases where invalid headers are received
+            if (logger.isWarnEnabled()) {
+                logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+            }
+        }
+        return null;
+    }
+
     private class Dispatch implements Runnable {
         private final byte[] bytes;
         private final SocketAddress remoteAddress;
@@ -263,25 +423,61 @@ public class TCPReceiver {
 
         @Override
         public void run() {
-            try {
-                TBase<?, ?> tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
-                dispatchHandler.dispatchSendMessage(tBase);
-            } catch (TException e) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
-                }
-            } catch (Exception e) {
-                // there are cases where invalid headers are received
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
-                }
+            dispatchSend(bytes, remoteAddress);
+        }
+    }
+
+    private static class TcpEvent {
+
+        private static final RingBuffer.EventFactory<TcpEvent> FACTORY = new RingBuffer.EventFactory<TcpEvent>() {
+            @Override
+            public TcpEvent newInstance() {
+                return new TcpEvent();
+            }
+        };
+
+        private static final EventTranslatorTwoArg<TcpEvent, byte[], PinpointSocket> SEND_TRANSLATOR = new EventTranslatorTwoArg<TcpEvent, byte[], PinpointSocket>() {
+            @Override
+            public void translateTo(TcpEvent event, byte[] payload, PinpointSocket pinpointSocket) {
+                event.payload = payload;
+                event.requestPacket = null;
+                event.pinpointSocket = pinpointSocket;
+            }
+        };
+
+        private static final EventTranslatorTwoArg<TcpEvent, RequestPacket, PinpointSocket> REQUEST_TRANSLATOR = new EventTranslatorTwoArg<TcpEvent, RequestPacket, PinpointSocket>() {
+            @Override
+            public void translateTo(TcpEvent event, RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+                event.payload = null;
+                event.requestPacket = requestPacket;
+                event.pinpointSocket = pinpointSocket;
+            }
+        };
+
+        // copies the packet of the deserialize stage event with its decoded message
+        private static final EventTranslatorTwoArg<TcpEvent, TBase<?, ?>, TcpEvent> MESSAGE_TRANSLATOR = new EventTranslatorTwoArg<TcpEvent, TBase<?, ?>, TcpEvent>() {
+            @Override
+            public void translateTo(TcpEvent event, TBase<?, ?> tBase, TcpEvent received) {
+                event.payload = null;
+                event.tBase = tBase;
+                event.requestPacket = received.requestPacket;
+                event.pinpointSocket = received.pinpointSocket;
             }
+        };
+
+        // received. decoded by the deserialize stage
+        private byte[] payload;
+        // decoded. handled by the handle stage
+        private TBase<?, ?> tBase;
+        private RequestPacket requestPacket;
+        private PinpointSocket pinpointSocket;
+
+        // do not hold the payload until the next lap
+        private void clear() {
+            this.payload = null;
+            this.tBase = null;
+            this.requestPacket = null;
+            this.pinpointSocket = null;
         }
     }
 
@@ -300,32 +496,7 @@ public class TCPReceiver {
 
         @Override
         public void run() {
-
-            byte[] bytes = requestPacket.getPayload();
-            SocketAddress remoteAddress = pinpointSocket.getRemoteAddress();
-            try {
-                TBase<?, ?> tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
-                TBase result = dispatchHandler.dispatchRequestMessage(tBase);
-                if (result != null) {
-                    byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
-                    pinpointSocket.response(requestPacket, resultBytes);
-                }
-            } catch (TException e) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
-                }
-            } catch (Exception e) {
-                // there are cases where invalid headers are received
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
-                }
-            }
+            dispatchRequest(requestPacket, pinpointSocket);
         }
     }
 
@@ -333,6 +504,13 @@ public class TCPReceiver {
     public void stop() {
         logger.info("Pinpoint-TCP-Server stop");
         serverAcceptor.close();
+        if (stage != null) {
+            stage.shutdown(10, TimeUnit.SECONDS);
+        }
+        // after stage. it publishes until drained
+        if (handleStage != null) {
+            handleStage.shutdown(10, TimeUnit.SECONDS);
+        }
         shutdownExecutor(worker);
         shutdownExecutor(agentEventWorker);
     }
@@ -32,6 +32,7 @@ import java.net.InetAddress;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,11 +40,14 @@ import java.util.List;
  * @author netspider
  * @author minwoo.jung
  */
-public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHandlerFactory<T> {
+public class BaseUDPHandlerFactory<T extends DatagramPacket> implements StagedPacketHandlerFactory<T> {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<>(new HeaderTBaseDeserializerFactory());
+    // reads a single message and the chunked datagram of CoalescingUdpDataSender
+    // only the headers are parsed here. the body is decoded by DispatchHandler when a handler accepts it,
+    // or by deserialize() for the deserialize stage, which can not keep a reference to the packet buffer
+    private final DeserializerFactory<ChunkHeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<>(new ChunkHeaderTBaseDeserializerFactory());
 
     private final DispatchHandler dispatchHandler;
 
@@ -97,6 +101,71 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
         return this.dispatchPacket;
     }
 
+    @Override
+    public List<TBase<?, ?>> deserialize(DatagramSocket localSocket, T packet) {
+        if (isIgnoreAddress(packet.getAddress())) {
+            return Collections.emptyList();
+        }
+
+        final ChunkHeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
+        SocketAddress socketAddress = packet.getSocketAddress();
+        LazyTBase tBase = null;
+
+        try {
+            final List<LazyTBase> tBaseList = deserializer.deserializeLazy(packet.getData(), packet.getOffset(), packet.getLength());
+            final List<TBase<?, ?>> messageList = new ArrayList<>(tBaseList.size());
+            for (int i = 0; i < tBaseList.size(); i++) {
+                tBase = tBaseList.get(i);
+                if (filter.filter(localSocket, tBase, socketAddress) == TBaseFilter.BREAK) {
+                    break;
+                }
+                // the body refers to the packet buffer. decode it before the packet is reused
+                messageList.add(tBase.materialize());
+            }
+            return messageList;
+        } catch (TException e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", socketAddress, e.getMessage(), e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
+            }
+        } catch (Exception e) {
+            // there are cases where invalid headers are received
+            if (logger.isWarnEnabled()) {
+                logger.warn("Unexpected error. SendSocketAddress:{} Cause:{} tBase:{}", socketAddress, e.getMessage(), tBase, e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void dispatch(TBase<?, ?> message) {
+        // dispatch signifies business logic execution
+        dispatchHandler.dispatchSendMessage(message);
+    }
+
+    private boolean isIgnoreAddress(InetAddress remoteAddress) {
+        if (ignoreAddresses == null) {
+            return false;
+        }
+        if (remoteAddress == null) {
+            return false;
+        }
+        for (InetAddress ignore : ignoreAddresses) {
+            if (ignore.equals(remoteAddress)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("UDP Connected ignore address. IP : " + remoteAddress.getHostAddress());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     // stateless
     private class DispatchPacket implements PacketHandler<T> {
 
@@ -109,17 +178,20 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
                 return;
             }
             
-            final HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
+            final ChunkHeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
             SocketAddress socketAddress = packet.getSocketAddress();
-            TBase<?, ?> tBase = null;
+            LazyTBase tBase = null;
             
             try {
-                tBase = deserializer.deserialize(packet.getData());
-                if (filter.filter(localSocket, tBase, socketAddress) == TBaseFilter.BREAK) {
-                    return;
+                final List<LazyTBase> tBaseList = deserializer.deserializeLazy(packet.getData(), packet.getOffset(), packet.getLength());
+                for (int i = 0; i < tBaseList.size(); i++) {
+                    tBase = tBaseList.get(i);
+                    if (filter.filter(localSocket, tBase, socketAddress) == TBaseFilter.BREAK) {
+                        return;
+                    }
+                    // dispatch signifies business logic execution
+                    dispatchHandler.dispatchSendMessage(tBase);
                 }
-                // dispatch signifies business logic execution
-                dispatchHandler.dispatchSendMessage(tBase);
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", socketAddress, e.getMessage(), e);
@@ -137,24 +209,7 @@ public class BaseUDPHandlerFactory<T extends DatagramPacket> implements PacketHa
                 }
             }
         }
-        
-        private boolean isIgnoreAddress(InetAddress remoteAddress) {
-            if (ignoreAddresses == null) {
-                return false;
-            }
-            if (remoteAddress == null) {
-                return false;
-            }
-            for (InetAddress ignore : ignoreAddresses) {
-                if (ignore.equals(remoteAddress)) {
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("UDP Connected ignore address. IP : " + remoteAddress.getHostAddress());
-                    }
-                    return true;
-                }
-            }
-            return false;
-        }
+
     }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import com.navercorp.pinpoint.collector.receiver.pipeline.EventTranslator;
+import com.navercorp.pinpoint.common.util.RingBuffer;
+import org.apache.thrift.TBase;
+
+/**
+ * Ring buffer slot of the handle stage of {@link UDPReceiver}. holds a decoded message.
+ */
+final class MessageEvent {
+
+    static final RingBuffer.EventFactory<MessageEvent> FACTORY = new RingBuffer.EventFactory<MessageEvent>() {
+        @Override
+        public MessageEvent newInstance() {
+            return new MessageEvent();
+        }
+    };
+
+    static final EventTranslator<MessageEvent, TBase<?, ?>> TRANSLATOR = new EventTranslator<MessageEvent, TBase<?, ?>>() {
+        @Override
+        public void translateTo(MessageEvent event, TBase<?, ?> message) {
+            event.message = message;
+        }
+    };
+
+    private TBase<?, ?> message;
+
+    TBase<?, ?> getMessage() {
+        return message;
+    }
+
+    // do not hold the message until the next lap
+    void clear() {
+        this.message = null;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.udp;
 
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import com.navercorp.pinpoint.thrift.io.NetworkAvailabilityCheckPacket;
 import org.apache.thrift.TBase;
 import org.slf4j.Logger;
@@ -24,6 +25,8 @@ import org.springframework.beans.factory.DisposableBean;
 
 import java.io.IOException;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 
 /**
  * @author emeroad
@@ -47,9 +50,27 @@ public class NetworkAvailabilityCheckPacketFilter<T extends SocketAddress> imple
         return CONTINUE;
     }
 
+    @Override
+    public boolean filter(DatagramSocket localSocket, LazyTBase lazyTBase, T remoteHostAddress) {
+        if (lazyTBase.isTypeOf(NetworkAvailabilityCheckPacket.class)) {
+            if (logger.isInfoEnabled()) {
+                logger.info("received udp network availability check packet. remoteAddress:{}", remoteHostAddress);
+            }
+            responseOK(localSocket, remoteHostAddress);
+            return BREAK;
+        }
+        return CONTINUE;
+    }
+
     private void responseOK(DatagramSocket socket, T remoteHostAddress) {
         try {
             byte[] okBytes = NetworkAvailabilityCheckPacket.DATA_OK;
+            final DatagramChannel channel = socket.getChannel();
+            if (channel != null) {
+                // NioUDPReceiver. the socket adaptor of a non-blocking channel can not send
+                channel.send(ByteBuffer.wrap(okBytes), remoteHostAddress);
+                return;
+            }
             DatagramPacket pongPacket = new DatagramPacket(okBytes, okBytes.length, remoteHostAddress);
             socket.send(pongPacket);
         } catch (IOException e) {
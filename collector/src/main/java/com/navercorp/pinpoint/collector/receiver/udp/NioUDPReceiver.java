@@ -0,0 +1,441 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.monitor.MonitoredExecutorService;
+import com.navercorp.pinpoint.collector.receiver.DataReceiver;
+import com.navercorp.pinpoint.collector.receiver.WorkerOption;
+import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
+import com.navercorp.pinpoint.collector.util.DefaultObjectPool;
+import com.navercorp.pinpoint.collector.util.ObjectPool;
+import com.navercorp.pinpoint.collector.util.ObjectPoolFactory;
+import com.navercorp.pinpoint.collector.util.PooledObject;
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.Assert;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DatagramChannel} based alternative of {@link UDPReceiver}.
+ * <p>
+ * Each io thread owns a non-blocking channel and drains it into a {@link PacketBatch} with a reusable direct buffer.
+ * A batch is handed over to the worker as one task, so there is no task per packet.
+ * With socketCount &gt; 1, the channels are bound to the same port with SO_REUSEPORT and the kernel spreads the datagrams over them.
+ * SO_REUSEPORT requires JDK 9+ and an OS supporting it (e.g. linux 3.9+). Otherwise a single channel is used and a warning is logged.
+ * Binding the extra channels to other ports is not an option: agents send to a single port.
+ * <p>
+ * Enabled with collector.udpSpanReceiver.nio / collector.udpStatReceiver.nio. see {@link UDPReceiverFactory}
+ * <p>
+ * Received, dropped packets and batch sizes are registered to the {@link MetricRegistry} and reported by CollectorMetric.
+ */
+public class NioUDPReceiver implements DataReceiver {
+
+    private static final int MAX_BATCH_PACKET_COUNT = 64;
+    private static final long SELECT_TIMEOUT = 1000 * 5;
+
+    private static final SocketOption<Boolean> SO_REUSEPORT = findReusePortOption();
+
+    private final Logger logger;
+
+    private final String bindAddress;
+    private final int port;
+
+    private final String receiverName;
+
+    private MetricRegistry metricRegistry;
+
+    private final WorkerOption workerOption;
+    private ExecutorService worker;
+    private ExecutorService io;
+
+    // a batch buffer can hold the largest datagram, so the memory in flight is the same as UDPReceiver
+    private ObjectPool<PacketBatch> packetBatchPool;
+
+    private final List<DatagramChannel> channels;
+    private final List<Selector> selectors = new ArrayList<>();
+
+    private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
+
+    private Meter receivedPacketMeter;
+    private Counter droppedPacketCounter;
+    private Histogram batchSizeHistogram;
+
+    private final AtomicInteger rejectedExecutionCount = new AtomicInteger(0);
+
+    private final AtomicBoolean state = new AtomicBoolean(true);
+
+    public NioUDPReceiver(String receiverName, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, String bindAddress, int port, int receiverBufferSize, WorkerOption workerOption, int socketCount) {
+        if (receiverName != null) {
+            this.logger = LoggerFactory.getLogger(receiverName);
+        } else {
+            this.logger = LoggerFactory.getLogger(this.getClass());
+        }
+        if (packetHandlerFactory == null) {
+            throw new NullPointerException("packetHandlerFactory must not be null");
+        }
+        if (bindAddress == null) {
+            throw new NullPointerException("bindAddress must not be null");
+        }
+        if (workerOption == null) {
+            throw new NullPointerException("workerOption must not be null");
+        }
+        if (socketCount <= 0) {
+            throw new IllegalArgumentException("socketCount must be positive. socketCount:" + socketCount);
+        }
+
+        this.receiverName = receiverName;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.channels = createChannels(getAvailableSocketCount(socketCount), receiverBufferSize);
+
+        this.packetHandlerFactory = packetHandlerFactory;
+
+        this.workerOption = workerOption;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> findReusePortOption() {
+        try {
+            // JDK 9+
+            final Field field = StandardSocketOptions.class.getField("SO_REUSEPORT");
+            return (SocketOption<Boolean>) field.get(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private int getAvailableSocketCount(int socketCount) {
+        if (socketCount == 1) {
+            return 1;
+        }
+        if (SO_REUSEPORT == null) {
+            logger.warn("SO_REUSEPORT requires JDK 9+. java.version:{}, socketCount:{} -> 1", System.getProperty("java.version"), socketCount);
+            return 1;
+        }
+        if (!isReusePortSupported()) {
+            logger.warn("SO_REUSEPORT not supported by the OS. os.name:{}, socketCount:{} -> 1", System.getProperty("os.name"), socketCount);
+            return 1;
+        }
+        return socketCount;
+    }
+
+    private boolean isReusePortSupported() {
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            return channel.supportedOptions().contains(SO_REUSEPORT);
+        } catch (IOException e) {
+            logger.warn("DatagramChannel.open() fail. Caused:{}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Autowired
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public void afterPropertiesSet() {
+        Assert.notNull(metricRegistry, "metricRegistry must not be null");
+        Assert.notNull(packetHandlerFactory, "packetHandlerFactory must not be null");
+
+        this.worker = createWorker(workerOption, receiverName + "-Worker");
+        if (workerOption.isEnableCollectMetric()) {
+            this.worker = new MonitoredExecutorService(worker, metricRegistry, receiverName + "-Worker");
+        }
+
+        final int packetBatchPoolSize = getPacketBatchPoolSize(workerOption);
+        this.packetBatchPool = new DefaultObjectPool<>(new PacketBatchFactory(), packetBatchPoolSize);
+
+        this.receivedPacketMeter = metricRegistry.meter(MetricRegistry.name(receiverName, "received"));
+        this.droppedPacketCounter = metricRegistry.counter(MetricRegistry.name(receiverName, "dropped"));
+        this.batchSizeHistogram = metricRegistry.histogram(MetricRegistry.name(receiverName, "batch"));
+
+        this.io = Executors.newFixedThreadPool(channels.size(), new PinpointThreadFactory(receiverName + "-Io", true));
+    }
+
+    private ExecutorService createWorker(WorkerOption workerOption, String receiverName) {
+        int workerThreadSize = workerOption.getWorkerThreadSize();
+        int workerThreadQueueSize = workerOption.getWorkerThreadQueueSize();
+
+        return ExecutorFactory.newFixedThreadPool(workerThreadSize, workerThreadQueueSize, receiverName, true);
+    }
+
+    private int getPacketBatchPoolSize(WorkerOption workerOption) {
+        int workerThreadQueueSize = workerOption.getWorkerThreadQueueSize();
+        return workerOption.getWorkerThreadSize() + workerThreadQueueSize + channels.size();
+    }
+
+    private void receive(final DatagramChannel channel, final Selector selector) {
+        final DatagramSocket localSocket = channel.socket();
+        final SocketAddress localSocketAddress = localSocket.getLocalSocketAddress();
+        if (logger.isInfoEnabled()) {
+            logger.info("start ioThread localAddress:{}, IoThread:{}", localSocketAddress, Thread.currentThread().getName());
+        }
+        // reused by this io thread. avoids the temporary direct buffer of a heap buffer read
+        final ByteBuffer readBuffer = ByteBuffer.allocateDirect(DatagramPacketFactory.UDP_MAX_PACKET_LENGTH);
+
+        PooledObject<PacketBatch> pooledBatch = packetBatchPool.getObject();
+        while (state.get()) {
+            try {
+                if (selector.select(SELECT_TIMEOUT) == 0) {
+                    continue;
+                }
+                selector.selectedKeys().clear();
+
+                // drain the socket receive buffer
+                while (true) {
+                    readBuffer.clear();
+                    final SocketAddress remoteAddress = channel.receive(readBuffer);
+                    if (remoteAddress == null) {
+                        break;
+                    }
+                    readBuffer.flip();
+                    if (!readBuffer.hasRemaining()) {
+                        continue;
+                    }
+                    if (!pooledBatch.getObject().add(readBuffer, remoteAddress)) {
+                        dispatch(localSocket, pooledBatch);
+                        pooledBatch = packetBatchPool.getObject();
+                        // an empty batch holds the largest datagram
+                        pooledBatch.getObject().add(readBuffer, remoteAddress);
+                    }
+                }
+                if (!pooledBatch.getObject().isEmpty()) {
+                    dispatch(localSocket, pooledBatch);
+                    pooledBatch = packetBatchPool.getObject();
+                }
+            } catch (ClosedChannelException e) {
+                // shutdown
+                break;
+            } catch (IOException e) {
+                if (state.get()) {
+                    logger.error("IoError, Caused:{}", e.getMessage(), e);
+                }
+            }
+        }
+        pooledBatch.returnObject();
+        if (logger.isInfoEnabled()) {
+            logger.info("stop ioThread localAddress:{}, IoThread:{}", localSocketAddress, Thread.currentThread().getName());
+        }
+    }
+
+    private void dispatch(DatagramSocket localSocket, PooledObject<PacketBatch> pooledBatch) {
+        final int batchSize = pooledBatch.getObject().size();
+        receivedPacketMeter.mark(batchSize);
+        batchSizeHistogram.update(batchSize);
+        try {
+            worker.execute(new PacketBatchTask(localSocket, pooledBatch));
+        } catch (RejectedExecutionException ree) {
+            droppedPacketCounter.inc(batchSize);
+            pooledBatch.returnObject();
+            handleRejectedExecutionException(ree);
+        }
+    }
+
+    private void handleRejectedExecutionException(RejectedExecutionException ree) {
+        final int error = rejectedExecutionCount.incrementAndGet();
+        final int mod = 100;
+        if ((error % mod) == 0) {
+            logger.warn("RejectedExecutionCount={}, droppedPacketCount={}", error, droppedPacketCounter.getCount());
+        }
+    }
+
+    private List<DatagramChannel> createChannels(int socketCount, int receiveBufferSize) {
+        final List<DatagramChannel> channels = new ArrayList<>(socketCount);
+        try {
+            for (int i = 0; i < socketCount; i++) {
+                channels.add(createChannel(socketCount > 1, receiveBufferSize));
+            }
+            return channels;
+        } catch (IOException ex) {
+            closeChannels(channels);
+            throw new RuntimeException("DatagramChannel create Fail. Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private DatagramChannel createChannel(boolean reusePort, int receiveBufferSize) throws IOException {
+        final DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+            if (logger.isWarnEnabled()) {
+                final int checkReceiveBufferSize = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+                if (receiveBufferSize != checkReceiveBufferSize) {
+                    logger.warn("DatagramChannel.setOption(SO_RCVBUF) error. {}!={}", receiveBufferSize, checkReceiveBufferSize);
+                }
+            }
+            if (reusePort) {
+                channel.setOption(SO_REUSEPORT, Boolean.TRUE);
+            }
+            channel.configureBlocking(false);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void bindChannel(DatagramChannel channel, String bindAddress, int port) {
+        try {
+            logger.info("DatagramChannel.bind() {}/{}", bindAddress, port);
+            channel.bind(new InetSocketAddress(bindAddress, port));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Socket bind Fail. port:" + port + " Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private Selector registerSelector(DatagramChannel channel) {
+        try {
+            final Selector selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+            return selector;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Selector create Fail. Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public void start() {
+        logger.info("{} start.", receiverName);
+        afterPropertiesSet();
+        for (DatagramChannel channel : channels) {
+            bindChannel(channel, bindAddress, port);
+        }
+
+        logger.info("UDP Packet reader:{} started. reusePort:{}", channels.size(), channels.size() > 1);
+        for (final DatagramChannel channel : channels) {
+            final Selector selector = registerSelector(channel);
+            selectors.add(selector);
+            io.execute(new Runnable() {
+                @Override
+                public void run() {
+                    receive(channel, selector);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void shutdown() {
+        logger.info("{} shutdown.", this.receiverName);
+        state.set(false);
+        for (Selector selector : selectors) {
+            selector.wakeup();
+        }
+        closeChannels(channels);
+        shutdownExecutor(io, "IoExecutor");
+        // the channels are released when they are deregistered from the selectors
+        for (Selector selector : selectors) {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.warn("Selector.close() fail. Caused:{}", e.getMessage(), e);
+            }
+        }
+        shutdownExecutor(worker, "WorkerExecutor");
+    }
+
+    private void closeChannels(List<DatagramChannel> channels) {
+        for (DatagramChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("DatagramChannel.close() fail. Caused:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void shutdownExecutor(ExecutorService executor, String executorName) {
+        if (executor == null) {
+            return;
+        }
+        logger.info("{} shutdown.", executorName);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1000 * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.info("{}.shutdown() Interrupted", executorName, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class PacketBatchTask implements Runnable {
+        private final DatagramSocket localSocket;
+        private final PooledObject<PacketBatch> pooledBatch;
+
+        private PacketBatchTask(DatagramSocket localSocket, PooledObject<PacketBatch> pooledBatch) {
+            this.localSocket = localSocket;
+            this.pooledBatch = pooledBatch;
+        }
+
+        @Override
+        public void run() {
+            final PacketBatch packetBatch = pooledBatch.getObject();
+            try {
+                final PacketHandler<DatagramPacket> packetHandler = packetHandlerFactory.createPacketHandler();
+                for (int i = 0; i < packetBatch.size(); i++) {
+                    packetHandler.receive(localSocket, packetBatch.get(i));
+                }
+            } finally {
+                pooledBatch.returnObject();
+            }
+        }
+    }
+
+    private static class PacketBatchFactory implements ObjectPoolFactory<PacketBatch> {
+
+        @Override
+        public PacketBatch create() {
+            return new PacketBatch(DatagramPacketFactory.UDP_MAX_PACKET_LENGTH, MAX_BATCH_PACKET_COUNT);
+        }
+
+        @Override
+        public void beforeReturn(PacketBatch packetBatch) {
+            packetBatch.clear();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import java.net.DatagramPacket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Datagrams received at once by an io thread of {@link NioUDPReceiver}.
+ * The datagrams are copied back to back into one buffer. each {@link DatagramPacket} is a view of its part of the buffer.
+ * <p>
+ * Caution. not thread safe. filled by an io thread, then handed over to a worker thread.
+ */
+public class PacketBatch {
+
+    private final byte[] buffer;
+    private int bufferIndex = 0;
+
+    private final DatagramPacket[] packets;
+    private int size = 0;
+
+    public PacketBatch(int bufferSize, int maxPacketCount) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive. bufferSize:" + bufferSize);
+        }
+        if (maxPacketCount <= 0) {
+            throw new IllegalArgumentException("maxPacketCount must be positive. maxPacketCount:" + maxPacketCount);
+        }
+        this.buffer = new byte[bufferSize];
+        this.packets = new DatagramPacket[maxPacketCount];
+        for (int i = 0; i < maxPacketCount; i++) {
+            this.packets[i] = new DatagramPacket(buffer, 0, 0);
+        }
+    }
+
+    /**
+     * @return false if the batch has no room for the datagram. the source is not consumed
+     */
+    public boolean add(ByteBuffer source, SocketAddress remoteAddress) {
+        if (source == null) {
+            throw new NullPointerException("source must not be null");
+        }
+        if (remoteAddress == null) {
+            throw new NullPointerException("remoteAddress must not be null");
+        }
+        final int length = source.remaining();
+        if (size == packets.length || bufferIndex + length > buffer.length) {
+            return false;
+        }
+        source.get(buffer, bufferIndex, length);
+
+        final DatagramPacket packet = packets[size];
+        packet.setData(buffer, bufferIndex, length);
+        packet.setSocketAddress(remoteAddress);
+
+        bufferIndex += length;
+        size++;
+        return true;
+    }
+
+    public DatagramPacket get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index:" + index + ", size:" + size);
+        }
+        return packets[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        this.bufferIndex = 0;
+        this.size = 0;
+    }
+}
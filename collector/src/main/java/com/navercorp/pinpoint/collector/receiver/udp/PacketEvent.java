@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import com.navercorp.pinpoint.collector.receiver.pipeline.EventTranslator;
+import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
+import com.navercorp.pinpoint.common.util.RingBuffer;
+
+import java.net.DatagramPacket;
+
+/**
+ * Ring buffer slot of {@link UDPReceiver}.
+ * The io thread does not copy the datagram. it exchanges its received packet with the free packet of the slot.
+ */
+final class PacketEvent {
+
+    static final RingBuffer.EventFactory<PacketEvent> FACTORY = new RingBuffer.EventFactory<PacketEvent>() {
+        @Override
+        public PacketEvent newInstance() {
+            return new PacketEvent();
+        }
+    };
+
+    private DatagramPacket packet = newPacket();
+
+    static DatagramPacket newPacket() {
+        final byte[] buffer = new byte[DatagramPacketFactory.UDP_MAX_PACKET_LENGTH];
+        return new DatagramPacket(buffer, 0, buffer.length);
+    }
+
+    DatagramPacket getPacket() {
+        return packet;
+    }
+
+    private DatagramPacket exchange(DatagramPacket received) {
+        final DatagramPacket free = this.packet;
+        this.packet = received;
+        return free;
+    }
+
+    /**
+     * Caution. not thread safe. one per io thread
+     */
+    static final class Exchanger implements EventTranslator<PacketEvent, DatagramPacket> {
+
+        private DatagramPacket free;
+
+        @Override
+        public void translateTo(PacketEvent event, DatagramPacket received) {
+            this.free = event.exchange(received);
+        }
+
+        /**
+         * @return the packet taken from the slot by the last publish. ready to receive
+         */
+        DatagramPacket takeFreePacket() {
+            final DatagramPacket free = this.free;
+            this.free = null;
+            free.setLength(free.getData().length);
+            return free;
+        }
+    }
+}
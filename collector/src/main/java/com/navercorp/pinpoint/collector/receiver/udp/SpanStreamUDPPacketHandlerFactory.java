@@ -74,7 +74,7 @@ public class SpanStreamUDPPacketHandlerFactory<T extends DatagramPacket> impleme
         public void receive(DatagramSocket localSocket, DatagramPacket packet) {
             final HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
 
-            ByteBuffer requestBuffer = ByteBuffer.wrap(packet.getData());
+            ByteBuffer requestBuffer = ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
             if (requestBuffer.remaining() < SpanStreamConstants.START_PROTOCOL_BUFFER_SIZE) {
                 return;
             }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import org.apache.thrift.TBase;
+
+import java.net.DatagramSocket;
+import java.util.List;
+
+/**
+ * {@link PacketHandlerFactory} that decodes and dispatches in separate steps.
+ * The RING_BUFFER worker of {@link UDPReceiver} runs them as separate stages, receive -> deserialize -> handle,
+ * so the packet is returned to the io thread as soon as it is decoded.
+ */
+public interface StagedPacketHandlerFactory<T> extends PacketHandlerFactory<T> {
+
+    /**
+     * The messages do not refer to the packet buffer. it is reused once this returns.
+     *
+     * @return the messages that passed the filter. empty if the packet can not be decoded
+     */
+    List<TBase<?, ?>> deserialize(DatagramSocket localSocket, T packet);
+
+    void dispatch(TBase<?, ?> message);
+
+}
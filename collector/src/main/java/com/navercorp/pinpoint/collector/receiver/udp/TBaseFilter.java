@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.udp;
 
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import org.apache.thrift.TBase;
 
 import java.net.DatagramSocket;
@@ -30,6 +31,11 @@ public interface TBaseFilter<T> {
 
     boolean filter(DatagramSocket localSocket, TBase<?, ?> tBase, T remoteHostAddress);
 
+    /**
+     * filter by header before the body is decoded
+     */
+    boolean filter(DatagramSocket localSocket, LazyTBase lazyTBase, T remoteHostAddress);
+
     // TODO fix generic type
     TBaseFilter CONTINUE_FILTER = new TBaseFilter<SocketAddress>() {
 
@@ -38,5 +44,10 @@ public interface TBaseFilter<T> {
             return CONTINUE;
         }
 
+        @Override
+        public boolean filter(DatagramSocket localSocket, LazyTBase lazyTBase, SocketAddress remoteHostAddress) {
+            return CONTINUE;
+        }
+
     };
 }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.udp;
 
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import org.apache.thrift.TBase;
 
 import java.net.DatagramSocket;
@@ -47,4 +48,14 @@ public class TBaseFilterChain<T extends SocketAddress> implements TBaseFilter<T>
         return TBaseFilter.CONTINUE;
     }
 
+    @Override
+    public boolean filter(DatagramSocket localSocket, LazyTBase lazyTBase, T remoteHostAddress) {
+        for (TBaseFilter<T> tBaseFilter : filterChain) {
+            if (tBaseFilter.filter(localSocket, lazyTBase, remoteHostAddress) == TBaseFilter.BREAK) {
+                return BREAK;
+            }
+        }
+        return TBaseFilter.CONTINUE;
+    }
+
 }
@@ -20,6 +20,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.collector.monitor.MonitoredExecutorService;
 import com.navercorp.pinpoint.collector.receiver.DataReceiver;
 import com.navercorp.pinpoint.collector.receiver.WorkerOption;
+import com.navercorp.pinpoint.collector.receiver.WorkerType;
+import com.navercorp.pinpoint.collector.receiver.pipeline.EventHandler;
+import com.navercorp.pinpoint.collector.receiver.pipeline.Stage;
 import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
 import com.navercorp.pinpoint.collector.util.DefaultObjectPool;
 import com.navercorp.pinpoint.collector.util.ObjectPool;
@@ -28,6 +31,7 @@ import com.navercorp.pinpoint.collector.util.PooledObject;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.rpc.util.CpuUtils;
+import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +46,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
@@ -64,7 +69,6 @@ public class UDPReceiver implements DataReceiver {
 
     private final String receiverName;
 
-    @Autowired
     private MetricRegistry metricRegistry;
 
     // increasing ioThread size wasn't very effective
@@ -74,6 +78,10 @@ public class UDPReceiver implements DataReceiver {
     private final WorkerOption workerOption;
     // modify thread pool size appropriately when modifying queue capacity
     private ExecutorService worker;
+    // replaces worker and datagramPacketPool if WorkerType.RING_BUFFER
+    private Stage<PacketEvent> stage;
+    // handles the messages decoded by stage. null if stage decodes and handles
+    private Stage<MessageEvent> handleStage;
 
     // can't really allocate memory as max udp packet sizes are unknown.
     // not allocating memory in advance as I am unsure of the max udp packet size.
@@ -114,10 +122,29 @@ public class UDPReceiver implements DataReceiver {
         this.workerOption = workerOption;
     }
 
+    @Autowired
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
     public void afterPropertiesSet() {
         Assert.notNull(metricRegistry, "metricRegistry must not be null");
         Assert.notNull(packetHandlerFactory, "packetHandlerFactory must not be null");
 
+        this.io = (ThreadPoolExecutor) Executors.newCachedThreadPool(new PinpointThreadFactory(receiverName + "-Io", true));
+
+        if (workerOption.getWorkerType() == WorkerType.RING_BUFFER) {
+            if (workerOption.getDeserializeThreadSize() > 0 && packetHandlerFactory instanceof StagedPacketHandlerFactory) {
+                final StagedPacketHandlerFactory<DatagramPacket> stagedPacketHandlerFactory = (StagedPacketHandlerFactory<DatagramPacket>) packetHandlerFactory;
+                this.handleStage = createHandleStage(workerOption, receiverName + "-Worker", stagedPacketHandlerFactory);
+                this.stage = createDeserializeStage(workerOption, receiverName + "-Deserializer", stagedPacketHandlerFactory, handleStage);
+            } else {
+                this.stage = createStage(workerOption, receiverName + "-Worker");
+            }
+            return;
+        }
+
         this.worker = createWorker(workerOption, receiverName + "-Worker");
         if (workerOption.isEnableCollectMetric()) {
             this.worker = new MonitoredExecutorService(worker, metricRegistry, receiverName + "-Worker");
@@ -125,8 +152,52 @@ public class UDPReceiver implements DataReceiver {
 
         final int packetPoolSize = getPacketPoolSize(workerOption);
         this.datagramPacketPool = new DefaultObjectPool<>(new DatagramPacketFactory(), packetPoolSize);
+    }
 
-        this.io = (ThreadPoolExecutor) Executors.newCachedThreadPool(new PinpointThreadFactory(receiverName + "-Io", true));
+    private Stage<PacketEvent> createStage(WorkerOption workerOption, String stageName) {
+        final EventHandler<PacketEvent> eventHandler = new EventHandler<PacketEvent>() {
+            @Override
+            public void onEvent(PacketEvent event, boolean endOfBatch) {
+                PacketHandler<DatagramPacket> packetHandler = packetHandlerFactory.createPacketHandler();
+                packetHandler.receive(socket, event.getPacket());
+            }
+        };
+        final MetricRegistry stageMetricRegistry = workerOption.isEnableCollectMetric() ? metricRegistry : null;
+        return new Stage<>(stageName, workerOption.getWorkerThreadSize(), workerOption.getWorkerThreadQueueSize(),
+                PacketEvent.FACTORY, eventHandler, workerOption.getWaitStrategyType(), stageMetricRegistry);
+    }
+
+    private Stage<PacketEvent> createDeserializeStage(WorkerOption workerOption, String stageName,
+                                                      final StagedPacketHandlerFactory<DatagramPacket> stagedPacketHandlerFactory, final Stage<MessageEvent> handleStage) {
+        final EventHandler<PacketEvent> eventHandler = new EventHandler<PacketEvent>() {
+            @Override
+            public void onEvent(PacketEvent event, boolean endOfBatch) {
+                final List<TBase<?, ?>> messageList = stagedPacketHandlerFactory.deserialize(socket, event.getPacket());
+                for (TBase<?, ?> message : messageList) {
+                    // shed silently. Stage logs and counts rejections
+                    handleStage.publish(MessageEvent.TRANSLATOR, message);
+                }
+            }
+        };
+        final MetricRegistry stageMetricRegistry = workerOption.isEnableCollectMetric() ? metricRegistry : null;
+        return new Stage<>(stageName, workerOption.getDeserializeThreadSize(), workerOption.getWorkerThreadQueueSize(),
+                PacketEvent.FACTORY, eventHandler, workerOption.getWaitStrategyType(), stageMetricRegistry);
+    }
+
+    private Stage<MessageEvent> createHandleStage(WorkerOption workerOption, String stageName, final StagedPacketHandlerFactory<DatagramPacket> stagedPacketHandlerFactory) {
+        final EventHandler<MessageEvent> eventHandler = new EventHandler<MessageEvent>() {
+            @Override
+            public void onEvent(MessageEvent event, boolean endOfBatch) {
+                try {
+                    stagedPacketHandlerFactory.dispatch(event.getMessage());
+                } finally {
+                    event.clear();
+                }
+            }
+        };
+        final MetricRegistry stageMetricRegistry = workerOption.isEnableCollectMetric() ? metricRegistry : null;
+        return new Stage<>(stageName, workerOption.getWorkerThreadSize(), workerOption.getWorkerThreadQueueSize(),
+                MessageEvent.FACTORY, eventHandler, workerOption.getWaitStrategyType(), stageMetricRegistry);
     }
 
     private ExecutorService createWorker(WorkerOption workerOption, String receiverName) {
@@ -168,6 +239,35 @@ public class UDPReceiver implements DataReceiver {
         }
     }
 
+    private void receiveToStage(final DatagramSocket socket) {
+        if (logger.isInfoEnabled()) {
+            logger.info("start ioThread localAddress:{}, IoThread:{}", socket.getLocalAddress(), Thread.currentThread().getName());
+        }
+        final SocketAddress localSocketAddress = socket.getLocalSocketAddress();
+        final PacketEvent.Exchanger exchanger = new PacketEvent.Exchanger();
+        DatagramPacket packet = PacketEvent.newPacket();
+        while (state.get()) {
+            if (!receivePacket(socket, packet)) {
+                continue;
+            }
+            if (packet.getLength() == 0) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("length is 0 ip:{}, port:{}", packet.getAddress(), packet.getPort());
+                }
+                continue;
+            }
+            if (stage.publish(exchanger, packet)) {
+                packet = exchanger.takeFreePacket();
+            } else {
+                // shed. receive into the same packet again
+                packet.setLength(packet.getData().length);
+            }
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("stop ioThread localAddress:{}, IoThread:{}", localSocketAddress, Thread.currentThread().getName());
+        }
+    }
+
     private void handleRejectedExecutionException(RejectedExecutionException ree) {
         final int error = rejectedExecutionCount.incrementAndGet();
         final int mod = 100;
@@ -177,32 +277,29 @@ public class UDPReceiver implements DataReceiver {
     }
 
     private Runnable wrapDispatchTask(final PooledObject<DatagramPacket> pooledPacket) {
-        final Runnable lazyExecution = new Runnable() {
-            @Override
-            public void run() {
-                PacketHandler<DatagramPacket> dispatchPacket = packetHandlerFactory.createPacketHandler();
-                PooledPacketWrap pooledPacketWrap = new PooledPacketWrap(socket, dispatchPacket, pooledPacket);
-                Runnable execution = pooledPacketWrap;
-                execution.run();
-            }
-        };
-        return lazyExecution;
+        PacketHandler<DatagramPacket> dispatchPacket = packetHandlerFactory.createPacketHandler();
+        return new PooledPacketWrap(socket, dispatchPacket, pooledPacket);
     }
 
     private PooledObject<DatagramPacket> read0(final DatagramSocket socket) {
-        boolean success = false;
         PooledObject<DatagramPacket> pooledObject = datagramPacketPool.getObject();
         if (pooledObject == null) {
             logger.error("datagramPacketPool is empty");
             return null;
         }
-        DatagramPacket packet = pooledObject.getObject();
+        if (!receivePacket(socket, pooledObject.getObject())) {
+            pooledObject.returnObject();
+            return null;
+        }
+        return pooledObject;
+    }
+
+    private boolean receivePacket(final DatagramSocket socket, DatagramPacket packet) {
         try {
             try {
                 socket.receive(packet);
-                success = true;
             } catch (SocketTimeoutException e) {
-                return null;
+                return false;
             }
             if (logger.isDebugEnabled()) {
                 logger.debug("DatagramPacket SocketAddress:{} read size:{}", packet.getSocketAddress(), packet.getLength());
@@ -211,19 +308,15 @@ public class UDPReceiver implements DataReceiver {
                     logger.trace("dump packet:{}", PacketUtils.dumpDatagramPacket(packet));
                 }
             }
+            return true;
         } catch (IOException e) {
             if (!state.get()) {
                 // shutdown
             } else {
                 logger.error("IoError, Caused:", e.getMessage(), e);
             }
-            return null;
-        } finally {
-            if (!success) {
-                pooledObject.returnObject();
-            }
+            return false;
         }
-        return pooledObject;
     }
 
     private DatagramSocket createSocket(int receiveBufferSize) {
@@ -271,12 +364,22 @@ public class UDPReceiver implements DataReceiver {
         }
         bindSocket(socket, bindAddress, port);
 
+        if (handleStage != null) {
+            handleStage.start();
+        }
+        if (stage != null) {
+            stage.start();
+        }
         logger.info("UDP Packet reader:{} started.", ioThreadSize);
         for (int i = 0; i < ioThreadSize; i++) {
             io.execute(new Runnable() {
                 @Override
                 public void run() {
-                    receive(socket);
+                    if (stage != null) {
+                        receiveToStage(socket);
+                    } else {
+                        receive(socket);
+                    }
                 }
             });
         }
@@ -293,7 +396,15 @@ public class UDPReceiver implements DataReceiver {
             socket.close();
         }
         shutdownExecutor(io, "IoExecutor");
-        shutdownExecutor(worker, "WorkerExecutor");
+        if (stage != null) {
+            stage.shutdown(1000 * 10, TimeUnit.MILLISECONDS);
+            // after stage. it publishes until drained
+            if (handleStage != null) {
+                handleStage.shutdown(1000 * 10, TimeUnit.MILLISECONDS);
+            }
+        } else {
+            shutdownExecutor(worker, "WorkerExecutor");
+        }
     }
 
     private void shutdownExecutor(ExecutorService executor, String executorName) {
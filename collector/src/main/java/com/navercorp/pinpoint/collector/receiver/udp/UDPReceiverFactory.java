@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import com.navercorp.pinpoint.collector.receiver.DataReceiver;
+import com.navercorp.pinpoint.collector.receiver.WorkerOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.DatagramPacket;
+
+/**
+ * Creates the udp receiver selected by collector.udpSpanReceiver.nio / collector.udpStatReceiver.nio.
+ * used as a factory-method in applicationContext-collector.xml
+ */
+public final class UDPReceiverFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(UDPReceiverFactory.class);
+
+    private UDPReceiverFactory() {
+    }
+
+    public static DataReceiver newReceiver(boolean nio, String receiverName, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, String bindAddress, int port,
+                                           int receiverBufferSize, WorkerOption workerOption, int socketCount) {
+        if (nio) {
+            return new NioUDPReceiver(receiverName, packetHandlerFactory, bindAddress, port, receiverBufferSize, workerOption, socketCount);
+        }
+        if (socketCount != 1) {
+            logger.warn("{} socketCount:{} is only used by NioUDPReceiver", receiverName, socketCount);
+        }
+        return new UDPReceiver(receiverName, packetHandlerFactory, bindAddress, port, receiverBufferSize, workerOption);
+    }
+}
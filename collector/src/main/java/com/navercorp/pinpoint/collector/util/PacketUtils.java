@@ -31,7 +31,7 @@ public final class PacketUtils {
         if (datagramPacket == null) {
             return "null";
         }
-        return Bytes.toStringBinary(datagramPacket.getData(), 0, datagramPacket.getLength());
+        return Bytes.toStringBinary(datagramPacket.getData(), datagramPacket.getOffset(), datagramPacket.getLength());
     }
 
     public static String dumpByteArray(byte[] bytes) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AtomicCounterTableTest {
+
+    private static final byte[] FAMILY = {'C'};
+
+    @Test
+    public void capacity() {
+        Assert.assertEquals(16, new AtomicCounterTable(16).capacity());
+        Assert.assertEquals(32, new AtomicCounterTable(17).capacity());
+    }
+
+    @Test
+    public void increment() {
+        AtomicCounterTable table = new AtomicCounterTable(16);
+        RowKey rowKey = new CallRowKey("app", (short) 1000, 60000);
+        table.increment(rowKey, new ResponseColumnName("agent1", (short) 1), 1);
+        table.increment(new CallRowKey("app", (short) 1000, 60000), new ResponseColumnName("agent1", (short) 1), 2);
+        table.increment(rowKey, new ResponseColumnName("agent2", (short) 1), 5);
+
+        Map<ColumnName, Long> result = collect(table.remove());
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(Long.valueOf(3), result.get(column("agent1")));
+        Assert.assertEquals(Long.valueOf(5), result.get(column("agent2")));
+
+        Assert.assertTrue(table.remove().isEmpty());
+    }
+
+    @Test
+    public void overflow() {
+        AtomicCounterTable table = new AtomicCounterTable(4);
+        RowKey rowKey = new CallRowKey("app", (short) 1000, 60000);
+        for (int i = 0; i < 10; i++) {
+            table.increment(rowKey, new ResponseColumnName("agent" + i, (short) 1), i);
+            table.increment(rowKey, new ResponseColumnName("agent" + i, (short) 1), 1);
+        }
+        AtomicCounterTable.Snapshot snapshot = table.remove();
+        Assert.assertEquals(6, snapshot.getOverflowCount());
+
+        Map<ColumnName, Long> result = collect(snapshot);
+        Assert.assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(Long.valueOf(i + 1), result.get(column("agent" + i)));
+        }
+    }
+
+    @Test
+    public void createBulkIncrement() {
+        AtomicCounterTable table = new AtomicCounterTable();
+        RowKey rowKey1 = new CallRowKey("app1", (short) 1000, 60000);
+        RowKey rowKey2 = new CallRowKey("app2", (short) 1000, 60000);
+        table.increment(rowKey1, new ResponseColumnName("agent1", (short) 1), 1);
+        table.increment(rowKey1, new ResponseColumnName("agent1", (short) 2), 1);
+        table.increment(rowKey2, new ResponseColumnName("agent1", (short) 1), 1);
+
+        RowKeyMerge rowKeyMerge = new RowKeyMerge(FAMILY);
+        List<Increment> incrementList = rowKeyMerge.createBulkIncrement(table.remove(), null);
+        Assert.assertEquals(2, incrementList.size());
+        int columnCount = 0;
+        for (Increment increment : incrementList) {
+            columnCount += increment.getFamilyCellMap().get(FAMILY).size();
+        }
+        Assert.assertEquals(3, columnCount);
+
+        Assert.assertTrue(rowKeyMerge.createBulkIncrement(table.remove(), null).isEmpty());
+    }
+
+    @Test
+    public void createRollUpBulkIncrement() {
+        AtomicCounterTable table = new AtomicCounterTable();
+        // 00:01, 00:02 -> 00:00 , 00:11 -> 00:10
+        table.increment(new CallRowKey("app", (short) 1000, 60000), new ResponseColumnName("agent1", (short) 1), 1);
+        table.increment(new CallRowKey("app", (short) 1000, 120000), new ResponseColumnName("agent1", (short) 1), 2);
+        table.increment(new CallRowKey("app", (short) 1000, 660000), new ResponseColumnName("agent1", (short) 1), 4);
+
+        RowKeyMerge rowKeyMerge = new RowKeyMerge(FAMILY);
+        List<Increment> incrementList = rowKeyMerge.createBulkIncrement(table.remove(), null, MapStatisticsResolution.TEN_MINUTES);
+        Assert.assertEquals(2, incrementList.size());
+
+        Map<String, Long> result = new HashMap<>();
+        for (Increment increment : incrementList) {
+            List<Cell> cells = increment.getFamilyCellMap().get(FAMILY);
+            Assert.assertEquals(1, cells.size());
+            result.put(Bytes.toStringBinary(increment.getRow()), Bytes.toLong(CellUtil.cloneValue(cells.get(0))));
+        }
+        Assert.assertEquals(Long.valueOf(3), result.get(Bytes.toStringBinary(new CallRowKey("app", (short) 1000, 0).getRowKey())));
+        Assert.assertEquals(Long.valueOf(4), result.get(Bytes.toStringBinary(new CallRowKey("app", (short) 1000, 600000).getRowKey())));
+    }
+
+    @Test
+    public void concurrentIncrementAndRemove() throws InterruptedException {
+        final AtomicCounterTable table = new AtomicCounterTable(64);
+        final int threadCount = 4;
+        final int perThread = 100000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch endLatch = new CountDownLatch(threadCount);
+        final RowKey rowKey = new CallRowKey("app", (short) 1000, 60000);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < perThread; j++) {
+                        table.increment(rowKey, new ResponseColumnName("agent" + (j % 8), (short) 1), 1);
+                    }
+                    endLatch.countDown();
+                }
+            });
+            thread.start();
+        }
+        startLatch.countDown();
+
+        long total = 0;
+        while (endLatch.getCount() > 0) {
+            total += sum(table.remove());
+        }
+        total += sum(table.remove());
+        Assert.assertEquals(threadCount * perThread, total);
+    }
+
+    private Map<ColumnName, Long> collect(AtomicCounterTable.Snapshot snapshot) {
+        final Map<ColumnName, Long> result = new HashMap<>();
+        snapshot.accept(new AtomicCounterTable.CounterVisitor() {
+            @Override
+            public void visit(RowKey rowKey, ColumnName columnName, long count) {
+                result.put(columnName, count);
+            }
+        });
+        return result;
+    }
+
+    private ColumnName column(String agentId) {
+        return new ResponseColumnName(agentId, (short) 1);
+    }
+
+    private long sum(AtomicCounterTable.Snapshot snapshot) {
+        final AtomicLong sum = new AtomicLong();
+        snapshot.accept(new AtomicCounterTable.CounterVisitor() {
+            @Override
+            public void visit(RowKey rowKey, ColumnName columnName, long count) {
+                sum.addAndGet(count);
+            }
+        });
+        return sum.get();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatisticsKeyCacheTest {
+
+    @Test
+    public void capacity() {
+        Assert.assertEquals(16, new StatisticsKeyCache(16).capacity());
+        Assert.assertEquals(32, new StatisticsKeyCache(17).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        new StatisticsKeyCache(0);
+    }
+
+    @Test
+    public void callRowKey() {
+        StatisticsKeyCache cache = new StatisticsKeyCache(16);
+        CallRowKey rowKey = cache.getCallRowKey("app", (short) 1000, 60000);
+        Assert.assertSame(rowKey, cache.getCallRowKey(new String("app"), (short) 1000, 60000));
+        Assert.assertEquals(new CallRowKey("app", (short) 1000, 60000), rowKey);
+        Assert.assertEquals(new CallRowKey("app", (short) 1000, 60000).hashCode(), rowKey.hashCode());
+
+        CallRowKey nextTimeSlot = cache.getCallRowKey("app", (short) 1000, 120000);
+        Assert.assertEquals(new CallRowKey("app", (short) 1000, 120000), nextTimeSlot);
+        Assert.assertNotEquals(rowKey, nextTimeSlot);
+    }
+
+    @Test
+    public void responseColumnName() {
+        StatisticsKeyCache cache = new StatisticsKeyCache(16);
+        ResponseColumnName columnName = cache.getResponseColumnName("agent1", (short) 1);
+        Assert.assertSame(columnName, cache.getResponseColumnName(new String("agent1"), (short) 1));
+        Assert.assertEquals(new ResponseColumnName("agent1", (short) 1), columnName);
+        Assert.assertEquals(new ResponseColumnName("agent1", (short) 2), cache.getResponseColumnName("agent1", (short) 2));
+    }
+
+    @Test
+    public void callerColumnName() {
+        StatisticsKeyCache cache = new StatisticsKeyCache(16);
+        CallerColumnName columnName = cache.getCallerColumnName((short) 1000, "caller", "host", (short) 1);
+        Assert.assertSame(columnName, cache.getCallerColumnName((short) 1000, "caller", "host", (short) 1));
+        Assert.assertEquals(new CallerColumnName((short) 1000, "caller", "host", (short) 1), columnName);
+        Assert.assertEquals(new CallerColumnName((short) 1000, "caller", "host", (short) 1).hashCode(), columnName.hashCode());
+    }
+
+    @Test
+    public void calleeColumnName() {
+        StatisticsKeyCache cache = new StatisticsKeyCache(16);
+        CalleeColumnName columnName = cache.getCalleeColumnName("agent1", (short) 1000, "callee", "host", (short) 1);
+        Assert.assertSame(columnName, cache.getCalleeColumnName("agent1", (short) 1000, "callee", "host", (short) 1));
+        Assert.assertEquals(new CalleeColumnName("agent1", (short) 1000, "callee", "host", (short) 1), columnName);
+        Assert.assertEquals(new CalleeColumnName("agent1", (short) 1000, "callee", "host", (short) 1).hashCode(), columnName.hashCode());
+    }
+
+    @Test
+    public void cachedKeysCountTogether() {
+        StatisticsKeyCache cache = new StatisticsKeyCache(16);
+        AtomicCounterTable table = new AtomicCounterTable(16);
+        table.increment(cache.getCallRowKey("app", (short) 1000, 60000), cache.getResponseColumnName("agent1", (short) 1), 1);
+        table.increment(new CallRowKey("app", (short) 1000, 60000), new ResponseColumnName("agent1", (short) 1), 2);
+
+        final long[] sum = new long[1];
+        final int[] visitCount = new int[1];
+        table.remove().accept(new AtomicCounterTable.CounterVisitor() {
+            @Override
+            public void visit(RowKey rowKey, ColumnName columnName, long count) {
+                sum[0] += count;
+                visitCount[0]++;
+            }
+        });
+        Assert.assertEquals(1, visitCount[0]);
+        Assert.assertEquals(3, sum[0]);
+    }
+}
@@ -23,8 +23,11 @@ import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -73,6 +76,15 @@ public class AgentStatHandlerV2Test {
     @Mock
     private AgentStatDaoV2<DataSourceListBo> dataSourceDao;
 
+    @Mock
+    private AgentStatDaoV2<SpanSenderQueueBo> spanSenderQueueDao;
+
+    @Mock
+    private AgentStatDaoV2<SamplingThrottleBo> samplingThrottleDao;
+
+    @Mock
+    private AgentStatDaoV2<DeferredSamplingBo> deferredSamplingDao;
+
     @InjectMocks
     private AgentStatHandlerV2 agentStatHandler = new AgentStatHandlerV2();
 
@@ -98,6 +110,9 @@ public class AgentStatHandlerV2Test {
         verify(transactionDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getTransactionBos());
         verify(activeTraceDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getActiveTraceBos());
         verify(dataSourceDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDataSourceListBos());
+        verify(spanSenderQueueDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSpanSenderQueueBos());
+        verify(samplingThrottleDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSamplingThrottleBos());
+        verify(deferredSamplingDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeferredSamplingBos());
     }
 
     @Test
@@ -118,6 +133,9 @@ public class AgentStatHandlerV2Test {
         verify(transactionDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getTransactionBos());
         verify(activeTraceDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getActiveTraceBos());
         verify(dataSourceDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDataSourceListBos());
+        verify(spanSenderQueueDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSpanSenderQueueBos());
+        verify(samplingThrottleDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSamplingThrottleBos());
+        verify(deferredSamplingDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeferredSamplingBos());
     }
 
     @Test
@@ -137,6 +155,9 @@ public class AgentStatHandlerV2Test {
         verifyZeroInteractions(transactionDao);
         verifyZeroInteractions(activeTraceDao);
         verifyZeroInteractions(dataSourceDao);
+        verifyZeroInteractions(spanSenderQueueDao);
+        verifyZeroInteractions(samplingThrottleDao);
+        verifyZeroInteractions(deferredSamplingDao);
     }
 
     @Test
@@ -157,6 +178,9 @@ public class AgentStatHandlerV2Test {
         verifyZeroInteractions(transactionDao);
         verifyZeroInteractions(activeTraceDao);
         verifyZeroInteractions(dataSourceDao);
+        verifyZeroInteractions(spanSenderQueueDao);
+        verifyZeroInteractions(samplingThrottleDao);
+        verifyZeroInteractions(deferredSamplingDao);
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeHistogram;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyShort;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResponseTimeHistogramHandlerTest {
+
+    private static final short SERVICE_TYPE_CODE = 1010;
+
+    private final ServiceType serviceType = mock(ServiceType.class);
+
+    @Mock
+    private StatisticsHandler statisticsHandler;
+
+    @Mock
+    private ServiceTypeRegistryService registry;
+
+    @InjectMocks
+    private ResponseTimeHistogramHandler handler = new ResponseTimeHistogramHandler();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(registry.findServiceType(SERVICE_TYPE_CODE)).thenReturn(serviceType);
+    }
+
+    @Test
+    public void handleSimple() {
+        handler.handleSimple(createHistogram());
+
+        verifyRootCountOnly();
+    }
+
+    @Test
+    public void handleLazy() throws Exception {
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024 * 64, false).createSerializer();
+        byte[] bytes = serializer.serialize(createHistogram());
+
+        ChunkHeaderTBaseDeserializer deserializer = ChunkHeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+        List<LazyTBase> list = deserializer.deserializeLazy(bytes, 0, serializer.getInterBufferSize());
+        LazyTBase lazyTBase = list.get(0);
+
+        handler.handleLazy(lazyTBase);
+
+        verifyRootCountOnly();
+        Assert.assertFalse(lazyTBase.isMaterialized());
+    }
+
+    private TResponseTimeHistogram createHistogram() {
+        TResponseTimeHistogram histogram = new TResponseTimeHistogram();
+        histogram.setAgentId("agent");
+        histogram.setApplicationName("application");
+        histogram.setApplicationServiceType(SERVICE_TYPE_CODE);
+        histogram.addToResponseTimeCounts(new TResponseTimeCount(true, (short) 1, 10L));
+        // continued transaction. skipped
+        histogram.addToResponseTimeCounts(new TResponseTimeCount(false, (short) 2, 20L));
+        // empty slot. skipped
+        histogram.addToResponseTimeCounts(new TResponseTimeCount(true, (short) 3, 0L));
+        return histogram;
+    }
+
+    private void verifyRootCountOnly() {
+        verify(statisticsHandler).updateCallerSlotCount("application", ServiceType.USER, "agent", "application", serviceType, "agent", (short) 1, 10L);
+        verify(statisticsHandler).updateCalleeSlotCount("application", serviceType, "application", ServiceType.USER, "agent", (short) 1, 10L);
+        verify(statisticsHandler).updateResponseTimeSlotCount("application", serviceType, "agent", (short) 1, 10L);
+        verify(statisticsHandler, times(1)).updateResponseTimeSlotCount(anyString(), any(ServiceType.class), anyString(), anyShort(), anyLong());
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver;
 
+import com.navercorp.pinpoint.collector.receiver.pipeline.WaitStrategyType;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,12 +32,14 @@ public class WorkerOptionTest {
         int workerThreadSize = 1;
         int workerThreadQueueSize = 10;
 
-        WorkerOption workerOption = new WorkerOption(workerThreadSize, workerThreadQueueSize);
+        WorkerOption workerOption = new WorkerOption(workerThreadSize, workerThreadQueueSize, false, null, null, 0);
 
         Assert.assertEquals(workerThreadSize, workerOption.getWorkerThreadSize());
         Assert.assertEquals(workerThreadQueueSize, workerOption.getWorkerThreadQueueSize());
 
         Assert.assertEquals(DEFAULT_COLLECT_METRIC_ENABLE, workerOption.isEnableCollectMetric());
+        Assert.assertEquals(WorkerType.DEFAULT_EXECUTOR, workerOption.getWorkerType());
+        Assert.assertEquals(WaitStrategyType.BLOCKING, workerOption.getWaitStrategyType());
     }
 
     @Test
@@ -45,7 +48,7 @@ public class WorkerOptionTest {
         int workerThreadQueueSize = 10;
         boolean collectMetric = true;
 
-        WorkerOption workerOption = new WorkerOption(workerThreadSize, workerThreadQueueSize, collectMetric);
+        WorkerOption workerOption = new WorkerOption(workerThreadSize, workerThreadQueueSize, collectMetric, WorkerType.DEFAULT_EXECUTOR, WaitStrategyType.BLOCKING, 0);
 
         Assert.assertEquals(workerThreadSize, workerOption.getWorkerThreadSize());
         Assert.assertEquals(workerThreadQueueSize, workerOption.getWorkerThreadQueueSize());
@@ -53,14 +56,32 @@ public class WorkerOptionTest {
         Assert.assertEquals(collectMetric, workerOption.isEnableCollectMetric());
     }
 
+    @Test
+    public void workerTypeTest() {
+        WorkerOption workerOption = new WorkerOption(1, 10, false, WorkerType.RING_BUFFER, WaitStrategyType.SLEEPING, 2);
+
+        Assert.assertEquals(WorkerType.RING_BUFFER, workerOption.getWorkerType());
+        Assert.assertEquals(WaitStrategyType.SLEEPING, workerOption.getWaitStrategyType());
+        Assert.assertEquals(2, workerOption.getDeserializeThreadSize());
+
+        Assert.assertEquals(WorkerType.RING_BUFFER, WorkerType.getValue(" ring_buffer", WorkerType.DEFAULT_EXECUTOR));
+        Assert.assertEquals(WorkerType.DEFAULT_EXECUTOR, WorkerType.getValue("unknown", WorkerType.DEFAULT_EXECUTOR));
+        Assert.assertEquals(WaitStrategyType.BUSY_SPIN, WaitStrategyType.getValue("busy_spin", WaitStrategyType.BLOCKING));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void throwExceptionTest1() {
-        WorkerOption workerOption = new WorkerOption(0, 100);
+        WorkerOption workerOption = new WorkerOption(0, 100, false, null, null, 0);
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void throwExceptionTest2() {
-        WorkerOption workerOption = new WorkerOption(100, 0);
+        WorkerOption workerOption = new WorkerOption(100, 0, false, null, null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwExceptionTest3() {
+        WorkerOption workerOption = new WorkerOption(100, 100, false, null, null, -1);
     }
 
 }
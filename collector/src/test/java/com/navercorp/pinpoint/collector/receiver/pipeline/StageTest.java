@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.pipeline;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.common.util.RingBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StageTest {
+
+    private static final RingBuffer.EventFactory<LongEvent> FACTORY = new RingBuffer.EventFactory<LongEvent>() {
+        @Override
+        public LongEvent newInstance() {
+            return new LongEvent();
+        }
+    };
+
+    private static final EventTranslator<LongEvent, Long> TRANSLATOR = new EventTranslator<LongEvent, Long>() {
+        @Override
+        public void translateTo(LongEvent event, Long value) {
+            event.value = value;
+        }
+    };
+
+    @Test
+    public void publishAndHandle() throws InterruptedException {
+        for (WaitStrategyType waitStrategyType : WaitStrategyType.values()) {
+            publishAndHandle(waitStrategyType);
+        }
+    }
+
+    private void publishAndHandle(WaitStrategyType waitStrategyType) throws InterruptedException {
+        final int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<Long> handled = Collections.synchronizedList(new ArrayList<Long>());
+        MetricRegistry metricRegistry = new MetricRegistry();
+        Stage<LongEvent> stage = new Stage<>("test-" + waitStrategyType, 2, 1024, FACTORY, new EventHandler<LongEvent>() {
+            @Override
+            public void onEvent(LongEvent event, boolean endOfBatch) {
+                handled.add(event.value);
+                latch.countDown();
+            }
+        }, waitStrategyType, metricRegistry);
+        stage.start();
+        try {
+            int published = 0;
+            for (long i = 0; i < count; i++) {
+                while (!stage.publish(TRANSLATOR, i)) {
+                    Thread.yield();
+                }
+                published++;
+            }
+            Assert.assertEquals(count, published);
+            Assert.assertTrue(waitStrategyType.toString(), latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            stage.shutdown(1, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(count, handled.size());
+        Assert.assertEquals(count, metricRegistry.meter("test-" + waitStrategyType + ".published").getCount());
+        Assert.assertEquals(count, metricRegistry.timer("test-" + waitStrategyType + ".latency").getCount());
+        Assert.assertEquals(0, stage.getQueueSize());
+    }
+
+    @Test
+    public void shedWhenFull() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger handled = new AtomicInteger();
+        MetricRegistry metricRegistry = new MetricRegistry();
+        Stage<LongEvent> stage = new Stage<>("shed", 1, 4, FACTORY, new EventHandler<LongEvent>() {
+            @Override
+            public void onEvent(LongEvent event, boolean endOfBatch) throws InterruptedException {
+                blocked.countDown();
+                release.await();
+                handled.incrementAndGet();
+            }
+        }, WaitStrategyType.BLOCKING, metricRegistry);
+        stage.start();
+        try {
+            Assert.assertTrue(stage.publish(TRANSLATOR, 0L));
+            Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // the slot in progress is not released yet
+            Assert.assertTrue(stage.publish(TRANSLATOR, 1L));
+            Assert.assertTrue(stage.publish(TRANSLATOR, 2L));
+            Assert.assertTrue(stage.publish(TRANSLATOR, 3L));
+            Assert.assertFalse(stage.publish(TRANSLATOR, 4L));
+            Assert.assertFalse(stage.publish(TRANSLATOR, 5L));
+            Assert.assertEquals(2, stage.getRejectedCount());
+            Assert.assertEquals(2, metricRegistry.meter("shed.rejected").getCount());
+            Assert.assertEquals(4, stage.getQueueSize());
+        } finally {
+            release.countDown();
+            stage.shutdown(5, TimeUnit.SECONDS);
+        }
+        // published messages are handled on shutdown
+        Assert.assertEquals(4, handled.get());
+        Assert.assertFalse(stage.publish(TRANSLATOR, 6L));
+    }
+
+    @Test
+    public void endOfBatch() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Boolean> endOfBatchList = Collections.synchronizedList(new ArrayList<Boolean>());
+        final CountDownLatch done = new CountDownLatch(4);
+        Stage<LongEvent> stage = new Stage<>("batch", 1, 8, FACTORY, new EventHandler<LongEvent>() {
+            @Override
+            public void onEvent(LongEvent event, boolean endOfBatch) throws InterruptedException {
+                if (event.value == 0) {
+                    blocked.countDown();
+                    release.await();
+                }
+                endOfBatchList.add(endOfBatch);
+                done.countDown();
+            }
+        }, WaitStrategyType.SLEEPING, null);
+        stage.start();
+        try {
+            stage.publish(TRANSLATOR, 0L);
+            Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            stage.publish(TRANSLATOR, 1L);
+            stage.publish(TRANSLATOR, 2L);
+            stage.publish(TRANSLATOR, 3L);
+            release.countDown();
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            stage.shutdown(1, TimeUnit.SECONDS);
+        }
+        // 0 alone, then 1,2,3 as one batch
+        Assert.assertEquals(4, endOfBatchList.size());
+        Assert.assertTrue(endOfBatchList.get(0));
+        Assert.assertFalse(endOfBatchList.get(1));
+        Assert.assertFalse(endOfBatchList.get(2));
+        Assert.assertTrue(endOfBatchList.get(3));
+    }
+
+    @Test
+    public void queueCapacity() {
+        Stage<LongEvent> stage = new Stage<>("capacity", 3, 10, FACTORY, new EventHandler<LongEvent>() {
+            @Override
+            public void onEvent(LongEvent event, boolean endOfBatch) {
+            }
+        }, WaitStrategyType.BLOCKING, null);
+        // split evenly. rounded up
+        Assert.assertEquals(12, stage.getQueueCapacity());
+    }
+
+    private static class LongEvent {
+        private long value;
+    }
+}
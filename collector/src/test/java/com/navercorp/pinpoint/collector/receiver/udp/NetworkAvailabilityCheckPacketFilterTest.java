@@ -17,7 +17,12 @@
 package com.navercorp.pinpoint.collector.receiver.udp;
 
 import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import com.navercorp.pinpoint.thrift.io.NetworkAvailabilityCheckPacket;
+import org.apache.thrift.TBase;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -30,6 +35,7 @@ import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author emeroad
@@ -93,4 +99,28 @@ public class NetworkAvailabilityCheckPacketFilterTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLazyFilter() throws Exception {
+        LazyTBase packet = toLazyTBase(new NetworkAvailabilityCheckPacket());
+        boolean skipResult = filter.filter(receiverSocket, packet, new InetSocketAddress("localhost", senderSocket.getLocalPort()));
+
+        Assert.assertEquals(skipResult, TBaseFilter.BREAK);
+
+        DatagramPacket receivePacket = new DatagramPacket(new byte[100], 100);
+        senderSocket.receive(receivePacket);
+        Assert.assertEquals(receivePacket.getLength(), NetworkAvailabilityCheckPacket.DATA_OK.length);
+
+        LazyTBase skip = toLazyTBase(new TSpan());
+        Assert.assertEquals(filter.filter(receiverSocket, skip, null), TBaseFilter.CONTINUE);
+        Assert.assertFalse(skip.isMaterialized());
+    }
+
+    private LazyTBase toLazyTBase(TBase<?, ?> tBase) throws Exception {
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024, false).createSerializer();
+        byte[] bytes = serializer.serialize(tBase);
+        List<LazyTBase> list = ChunkHeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer().deserializeLazy(bytes, 0, serializer.getInterBufferSize());
+        Assert.assertEquals(1, list.size());
+        return list.get(0);
+    }
+}
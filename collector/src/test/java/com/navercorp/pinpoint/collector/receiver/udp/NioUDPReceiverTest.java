@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.receiver.WorkerOption;
+import com.navercorp.pinpoint.collector.receiver.WorkerType;
+import com.navercorp.pinpoint.collector.receiver.pipeline.WaitStrategyType;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.SocketUtils;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class NioUDPReceiverTest {
+
+    private final int PORT = SocketUtils.findAvailableUdpPort(11999);
+
+    @Test
+    public void receive() throws Exception {
+        receive(1);
+    }
+
+    @Test
+    public void receiveReusePort() throws Exception {
+        // falls back to a single socket when SO_REUSEPORT is not supported
+        receive(2);
+    }
+
+    private void receive(int socketCount) throws Exception {
+        final int packetCount = 100;
+        final CountDownLatch latch = new CountDownLatch(packetCount);
+        final Set<String> received = Collections.synchronizedSet(new HashSet<String>());
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new PacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                return new PacketHandler<DatagramPacket>() {
+                    @Override
+                    public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                        received.add(new String(packet.getData(), packet.getOffset(), packet.getLength()));
+                        latch.countDown();
+                    }
+                };
+            }
+        };
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        NioUDPReceiver receiver = new NioUDPReceiver("test", packetHandlerFactory, "127.0.0.1", PORT, 1024 * 64, new WorkerOption(2, 1024, false, WorkerType.DEFAULT_EXECUTOR, WaitStrategyType.BLOCKING, 0), socketCount);
+        receiver.setMetricRegistry(metricRegistry);
+        receiver.start();
+
+        DatagramSocket socket = new DatagramSocket();
+        try {
+            socket.connect(new InetSocketAddress("127.0.0.1", PORT));
+            for (int i = 0; i < packetCount; i++) {
+                byte[] data = ("packet-" + i).getBytes();
+                socket.send(new DatagramPacket(data, data.length));
+            }
+            Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        } finally {
+            socket.close();
+            receiver.shutdown();
+        }
+
+        Assert.assertEquals(packetCount, received.size());
+        Assert.assertTrue(received.contains("packet-0"));
+        Assert.assertTrue(received.contains("packet-" + (packetCount - 1)));
+        Assert.assertEquals(packetCount, metricRegistry.meter("test.received").getCount());
+        Assert.assertEquals(0, metricRegistry.counter("test.dropped").getCount());
+    }
+
+    @Test
+    public void pong() throws Exception {
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new PacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                return new PacketHandler<DatagramPacket>() {
+                    @Override
+                    public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                        try {
+                            // echo through the socket adaptor of the non-blocking channel
+                            localSocket.getChannel().send(ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength()), packet.getSocketAddress());
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                };
+            }
+        };
+        NioUDPReceiver receiver = new NioUDPReceiver("test", packetHandlerFactory, "127.0.0.1", PORT, 1024 * 64, new WorkerOption(1, 16, false, WorkerType.DEFAULT_EXECUTOR, WaitStrategyType.BLOCKING, 0), 1);
+        receiver.setMetricRegistry(new MetricRegistry());
+        receiver.start();
+
+        DatagramSocket socket = new DatagramSocket();
+        try {
+            socket.setSoTimeout(5000);
+            socket.connect(new InetSocketAddress("127.0.0.1", PORT));
+            byte[] ping = "ping".getBytes();
+            socket.send(new DatagramPacket(ping, ping.length));
+
+            DatagramPacket pong = new DatagramPacket(new byte[16], 16);
+            socket.receive(pong);
+            Assert.assertArrayEquals(ping, Arrays.copyOf(pong.getData(), pong.getLength()));
+        } finally {
+            socket.close();
+            receiver.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+public class PacketBatchTest {
+
+    private final InetSocketAddress remoteAddress = new InetSocketAddress("127.0.0.1", 10000);
+
+    @Test
+    public void add() {
+        PacketBatch packetBatch = new PacketBatch(16, 4);
+        Assert.assertTrue(packetBatch.isEmpty());
+
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[]{1, 2, 3}), remoteAddress));
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[]{4, 5}), remoteAddress));
+        Assert.assertEquals(2, packetBatch.size());
+
+        DatagramPacket second = packetBatch.get(1);
+        Assert.assertEquals(3, second.getOffset());
+        Assert.assertEquals(2, second.getLength());
+        Assert.assertEquals(4, second.getData()[second.getOffset()]);
+        Assert.assertEquals(remoteAddress, second.getSocketAddress());
+    }
+
+    @Test
+    public void bufferFull() {
+        PacketBatch packetBatch = new PacketBatch(4, 4);
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[3]), remoteAddress));
+
+        ByteBuffer source = ByteBuffer.wrap(new byte[2]);
+        Assert.assertFalse(packetBatch.add(source, remoteAddress));
+        // not consumed
+        Assert.assertEquals(2, source.remaining());
+        Assert.assertEquals(1, packetBatch.size());
+    }
+
+    @Test
+    public void packetCountFull() {
+        PacketBatch packetBatch = new PacketBatch(16, 2);
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[1]), remoteAddress));
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[1]), remoteAddress));
+        Assert.assertFalse(packetBatch.add(ByteBuffer.wrap(new byte[1]), remoteAddress));
+
+        packetBatch.clear();
+        Assert.assertTrue(packetBatch.isEmpty());
+        Assert.assertTrue(packetBatch.add(ByteBuffer.wrap(new byte[16]), remoteAddress));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        PacketBatch packetBatch = new PacketBatch(16, 2);
+        packetBatch.get(0);
+    }
+}
@@ -31,6 +31,7 @@ import com.navercorp.pinpoint.thrift.dto.TResult;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.LazyTBase;
 import org.apache.thrift.TBase;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -233,6 +234,12 @@ public class SpanStreamUDPSenderTest {
             return false;
         }
 
+        @Override
+        public boolean filter(DatagramSocket localSocket, LazyTBase lazyTBase, T remoteHostAddress) {
+            logger.debug("filter");
+            return false;
+        }
+
     }
 
     static class MessageHolderDispatchHandler extends AbstractDispatchHandler {
@@ -22,7 +22,14 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.thrift.TBase;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -30,8 +37,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.SocketUtils;
 
+import com.codahale.metrics.MetricRegistry;
 import com.navercorp.pinpoint.collector.receiver.DataReceiver;
 import com.navercorp.pinpoint.collector.receiver.WorkerOption;
+import com.navercorp.pinpoint.collector.receiver.WorkerType;
+import com.navercorp.pinpoint.collector.receiver.pipeline.WaitStrategyType;
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 
 /**
  * @author emeroad
@@ -45,7 +56,7 @@ public class UDPReceiverTest {
     public void startStop() {
         DataReceiver receiver = null;
 
-        WorkerOption workerOption = new WorkerOption(1, 10, true);
+        WorkerOption workerOption = new WorkerOption(1, 10, true, WorkerType.DEFAULT_EXECUTOR, WaitStrategyType.BLOCKING, 0);
         try {
             receiver = new UDPReceiver("test", new PacketHandlerFactory() {
                 @Override
@@ -63,6 +74,95 @@ public class UDPReceiverTest {
         }
     }
 
+    @Test
+    public void ringBufferWorker() throws Exception {
+        final int packetCount = 100;
+        final CountDownLatch latch = new CountDownLatch(packetCount);
+        final Set<String> received = Collections.synchronizedSet(new HashSet<String>());
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new PacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                return new PacketHandler<DatagramPacket>() {
+                    @Override
+                    public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                        received.add(new String(packet.getData(), packet.getOffset(), packet.getLength()));
+                        latch.countDown();
+                    }
+                };
+            }
+        };
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        WorkerOption workerOption = new WorkerOption(2, 1024, true, WorkerType.RING_BUFFER, WaitStrategyType.BLOCKING, 0);
+        UDPReceiver receiver = new UDPReceiver("test", packetHandlerFactory, "127.0.0.1", PORT, 1024 * 64, workerOption);
+        receiver.setMetricRegistry(metricRegistry);
+        receiver.start();
+
+        DatagramSocket socket = new DatagramSocket();
+        try {
+            socket.connect(new InetSocketAddress("127.0.0.1", PORT));
+            for (int i = 0; i < packetCount; i++) {
+                byte[] data = ("packet-" + i).getBytes();
+                socket.send(new DatagramPacket(data, data.length));
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            socket.close();
+            receiver.shutdown();
+        }
+        // every packet is handed over without being overwritten by the next receive
+        Assert.assertEquals(packetCount, received.size());
+        Assert.assertEquals(packetCount, metricRegistry.meter("test-Worker.published").getCount());
+    }
+
+    @Test
+    public void deserializeStage() throws Exception {
+        final int packetCount = 100;
+        final CountDownLatch latch = new CountDownLatch(packetCount);
+        final Set<String> received = Collections.synchronizedSet(new HashSet<String>());
+        StagedPacketHandlerFactory<DatagramPacket> packetHandlerFactory = new StagedPacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public List<TBase<?, ?>> deserialize(DatagramSocket localSocket, DatagramPacket packet) {
+                TAgentInfo agentInfo = new TAgentInfo();
+                agentInfo.setAgentId(new String(packet.getData(), packet.getOffset(), packet.getLength()));
+                return Collections.<TBase<?, ?>>singletonList(agentInfo);
+            }
+
+            @Override
+            public void dispatch(TBase<?, ?> message) {
+                received.add(((TAgentInfo) message).getAgentId());
+                latch.countDown();
+            }
+
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        WorkerOption workerOption = new WorkerOption(2, 1024, true, WorkerType.RING_BUFFER, WaitStrategyType.BLOCKING, 1);
+        UDPReceiver receiver = new UDPReceiver("test", packetHandlerFactory, "127.0.0.1", PORT, 1024 * 64, workerOption);
+        receiver.setMetricRegistry(metricRegistry);
+        receiver.start();
+
+        DatagramSocket socket = new DatagramSocket();
+        try {
+            socket.connect(new InetSocketAddress("127.0.0.1", PORT));
+            for (int i = 0; i < packetCount; i++) {
+                byte[] data = ("agent-" + i).getBytes();
+                socket.send(new DatagramPacket(data, data.length));
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            socket.close();
+            receiver.shutdown();
+        }
+        Assert.assertEquals(packetCount, received.size());
+        Assert.assertEquals(packetCount, metricRegistry.meter("test-Deserializer.published").getCount());
+        Assert.assertEquals(packetCount, metricRegistry.meter("test-Worker.published").getCount());
+    }
+
     @Test
     public void hostNullCheck() {
         InetSocketAddress address = new InetSocketAddress((InetAddress) null, 90);
@@ -116,6 +116,16 @@ public final class HBaseTables {
 
     public static final TableName MAP_STATISTICS_SELF_VER2 = TableName.valueOf("ApplicationMapStatisticsSelf_Ver2");
     public static final byte[] MAP_STATISTICS_SELF_VER2_CF_COUNTER = Bytes.toBytes("C");
+    public static final byte[] MAP_STATISTICS_SELF_VER2_CF_RESOURCE = Bytes.toBytes("R");
+
+    // rollup of the map statistics tables. see MapStatisticsResolution
+    public static final TableName MAP_STATISTICS_CALLER_VER2_10M = TableName.valueOf("ApplicationMapStatisticsCaller_Ver2_10m");
+    public static final TableName MAP_STATISTICS_CALLEE_VER2_10M = TableName.valueOf("ApplicationMapStatisticsCallee_Ver2_10m");
+    public static final TableName MAP_STATISTICS_SELF_VER2_10M = TableName.valueOf("ApplicationMapStatisticsSelf_Ver2_10m");
+
+    public static final TableName MAP_STATISTICS_CALLER_VER2_1H = TableName.valueOf("ApplicationMapStatisticsCaller_Ver2_1h");
+    public static final TableName MAP_STATISTICS_CALLEE_VER2_1H = TableName.valueOf("ApplicationMapStatisticsCallee_Ver2_1h");
+    public static final TableName MAP_STATISTICS_SELF_VER2_1H = TableName.valueOf("ApplicationMapStatisticsSelf_Ver2_1h");
 
     public static final TableName HOST_APPLICATION_MAP_VER2 = TableName.valueOf("HostApplicationMap_Ver2");
     public static final byte[] HOST_APPLICATION_MAP_VER2_CF_MAP = Bytes.toBytes("M");
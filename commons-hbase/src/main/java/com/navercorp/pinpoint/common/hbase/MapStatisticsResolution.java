@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time slot size of the map statistics tables.
+ * <p>
+ * The collector writes every count to the one minute tables and to the rollup tables.
+ * The row key and the column family are the same at every resolution. only the time slot differs.
+ */
+public enum MapStatisticsResolution {
+
+    ONE_MINUTE(TimeUnit.MINUTES.toMillis(1),
+            HBaseTables.MAP_STATISTICS_CALLER_VER2, HBaseTables.MAP_STATISTICS_CALLEE_VER2, HBaseTables.MAP_STATISTICS_SELF_VER2),
+    TEN_MINUTES(TimeUnit.MINUTES.toMillis(10),
+            HBaseTables.MAP_STATISTICS_CALLER_VER2_10M, HBaseTables.MAP_STATISTICS_CALLEE_VER2_10M, HBaseTables.MAP_STATISTICS_SELF_VER2_10M),
+    ONE_HOUR(TimeUnit.HOURS.toMillis(1),
+            HBaseTables.MAP_STATISTICS_CALLER_VER2_1H, HBaseTables.MAP_STATISTICS_CALLEE_VER2_1H, HBaseTables.MAP_STATISTICS_SELF_VER2_1H);
+
+    private final long slotSize;
+    private final TableName mapStatisticsCallerTable;
+    private final TableName mapStatisticsCalleeTable;
+    private final TableName mapStatisticsSelfTable;
+
+    MapStatisticsResolution(long slotSize, TableName mapStatisticsCallerTable, TableName mapStatisticsCalleeTable, TableName mapStatisticsSelfTable) {
+        this.slotSize = slotSize;
+        this.mapStatisticsCallerTable = mapStatisticsCallerTable;
+        this.mapStatisticsCalleeTable = mapStatisticsCalleeTable;
+        this.mapStatisticsSelfTable = mapStatisticsSelfTable;
+    }
+
+    public long getSlotSize() {
+        return slotSize;
+    }
+
+    public long getTimeSlot(long time) {
+        return (time / slotSize) * slotSize;
+    }
+
+    public boolean isRollup() {
+        return this != ONE_MINUTE;
+    }
+
+    public boolean isAligned(long time) {
+        return time % slotSize == 0;
+    }
+
+    /**
+     * @return resolution of {@link HBaseTables#MAP_STATISTICS_CALLER_VER2}
+     */
+    public TableName getMapStatisticsCallerTable() {
+        return mapStatisticsCallerTable;
+    }
+
+    /**
+     * @return resolution of {@link HBaseTables#MAP_STATISTICS_CALLEE_VER2}
+     */
+    public TableName getMapStatisticsCalleeTable() {
+        return mapStatisticsCalleeTable;
+    }
+
+    /**
+     * @return resolution of {@link HBaseTables#MAP_STATISTICS_SELF_VER2}
+     */
+    public TableName getMapStatisticsSelfTable() {
+        return mapStatisticsSelfTable;
+    }
+}
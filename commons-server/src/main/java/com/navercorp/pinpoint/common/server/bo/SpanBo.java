@@ -70,9 +70,14 @@ public class SpanBo implements Event, BasicSpan {
 
     private byte loggingTransactionInfo; //optional
 
+    // optional. NOT_MEASURED if the agent did not record it
+    private long cpuTime = NOT_MEASURED;
+    private long allocatedBytes = NOT_MEASURED;
 
 
 
+    public static final long NOT_MEASURED = -1;
+
     public SpanBo() {
     }
 
@@ -339,6 +344,32 @@ public class SpanBo implements Event, BasicSpan {
         this.loggingTransactionInfo = loggingTransactionInfo;
     }
 
+    /**
+     * @return thread cpu time in microseconds or {@link #NOT_MEASURED}
+     */
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    public void setCpuTime(long cpuTime) {
+        this.cpuTime = cpuTime;
+    }
+
+    /**
+     * @return thread allocated bytes or {@link #NOT_MEASURED}
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public boolean hasResourceUsage() {
+        return cpuTime != NOT_MEASURED || allocatedBytes != NOT_MEASURED;
+    }
+
 
     @Override
     public String toString() {
@@ -371,6 +402,8 @@ public class SpanBo implements Event, BasicSpan {
                 ", acceptorHost='" + acceptorHost + '\'' +
                 ", remoteAddr='" + remoteAddr + '\'' +
                 ", loggingTransactionInfo=" + loggingTransactionInfo +
+                ", cpuTime=" + cpuTime +
+                ", allocatedBytes=" + allocatedBytes +
                 '}';
     }
 }
@@ -92,6 +92,13 @@ public class SpanFactory {
 
         spanBo.setLoggingTransactionInfo(tSpan.getLoggingTransactionInfo());
 
+        if (tSpan.isSetCpuTime()) {
+            spanBo.setCpuTime(tSpan.getCpuTime());
+        }
+        if (tSpan.isSetAllocatedBytes()) {
+            spanBo.setAllocatedBytes(tSpan.getAllocatedBytes());
+        }
+
         // FIXME (2015.03) Legacy - applicationServiceType added in v1.1.0
         // applicationServiceType is not saved for older versions where applicationServiceType does not exist.
         if (tSpan.isSetApplicationServiceType()) {
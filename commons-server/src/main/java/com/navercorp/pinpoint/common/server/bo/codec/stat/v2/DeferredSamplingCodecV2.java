@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedIntegerEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component("deferredSamplingCodecV2")
+public class DeferredSamplingCodecV2 implements AgentStatCodec<DeferredSamplingBo> {
+
+    private static final byte VERSION = 2;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public DeferredSamplingCodecV2(AgentStatDataPointCodec codec) {
+        Assert.notNull(codec, "agentStatDataPointCodec must not be null");
+        this.codec = codec;
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<DeferredSamplingBo> deferredSamplingBos) {
+        if (CollectionUtils.isEmpty(deferredSamplingBos)) {
+            throw new IllegalArgumentException("deferredSamplingBos must not be empty");
+        }
+        final int numValues = deferredSamplingBos.size();
+        valueBuffer.putVInt(numValues);
+
+        List<Long> startTimestamps = new ArrayList<Long>(numValues);
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+        UnsignedIntegerEncodingStrategy.Analyzer.Builder activeTraceCountAnalyzerBuilder = new UnsignedIntegerEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder promotedCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder discardedCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder rejectedCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder expiredCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        for (DeferredSamplingBo deferredSamplingBo : deferredSamplingBos) {
+            startTimestamps.add(deferredSamplingBo.getStartTimestamp());
+            timestamps.add(deferredSamplingBo.getTimestamp());
+            activeTraceCountAnalyzerBuilder.addValue(deferredSamplingBo.getActiveTraceCount());
+            promotedCountAnalyzerBuilder.addValue(deferredSamplingBo.getPromotedCount());
+            discardedCountAnalyzerBuilder.addValue(deferredSamplingBo.getDiscardedCount());
+            rejectedCountAnalyzerBuilder.addValue(deferredSamplingBo.getRejectedCount());
+            expiredCountAnalyzerBuilder.addValue(deferredSamplingBo.getExpiredCount());
+        }
+        this.codec.encodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps);
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+        this.encodeDataPoints(
+                valueBuffer,
+                activeTraceCountAnalyzerBuilder.build(),
+                promotedCountAnalyzerBuilder.build(),
+                discardedCountAnalyzerBuilder.build(),
+                rejectedCountAnalyzerBuilder.build(),
+                expiredCountAnalyzerBuilder.build());
+    }
+
+    private void encodeDataPoints(
+            Buffer valueBuffer,
+            StrategyAnalyzer<Integer> activeTraceCountStrategyAnalyzer,
+            StrategyAnalyzer<Long> promotedCountStrategyAnalyzer,
+            StrategyAnalyzer<Long> discardedCountStrategyAnalyzer,
+            StrategyAnalyzer<Long> rejectedCountStrategyAnalyzer,
+            StrategyAnalyzer<Long> expiredCountStrategyAnalyzer) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        headerEncoder.addCode(activeTraceCountStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(promotedCountStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(discardedCountStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(rejectedCountStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(expiredCountStrategyAnalyzer.getBestStrategy().getCode());
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+        // encode values
+        this.codec.encodeValues(valueBuffer, activeTraceCountStrategyAnalyzer.getBestStrategy(), activeTraceCountStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, promotedCountStrategyAnalyzer.getBestStrategy(), promotedCountStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, discardedCountStrategyAnalyzer.getBestStrategy(), discardedCountStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, rejectedCountStrategyAnalyzer.getBestStrategy(), rejectedCountStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, expiredCountStrategyAnalyzer.getBestStrategy(), expiredCountStrategyAnalyzer.getValues());
+    }
+
+    @Override
+    public List<DeferredSamplingBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String agentId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        int numValues = valueBuffer.readVInt();
+        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
+        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+        EncodingStrategy<Integer> activeTraceCountEncodingStrategy = UnsignedIntegerEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> promotedCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> discardedCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> rejectedCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> expiredCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        // decode values
+        List<Integer> activeTraceCounts = this.codec.decodeValues(valueBuffer, activeTraceCountEncodingStrategy, numValues);
+        List<Long> promotedCounts = this.codec.decodeValues(valueBuffer, promotedCountEncodingStrategy, numValues);
+        List<Long> discardedCounts = this.codec.decodeValues(valueBuffer, discardedCountEncodingStrategy, numValues);
+        List<Long> rejectedCounts = this.codec.decodeValues(valueBuffer, rejectedCountEncodingStrategy, numValues);
+        List<Long> expiredCounts = this.codec.decodeValues(valueBuffer, expiredCountEncodingStrategy, numValues);
+
+        List<DeferredSamplingBo> deferredSamplingBos = new ArrayList<DeferredSamplingBo>(numValues);
+        for (int i = 0; i < numValues; ++i) {
+            DeferredSamplingBo deferredSamplingBo = new DeferredSamplingBo();
+            deferredSamplingBo.setAgentId(agentId);
+            deferredSamplingBo.setStartTimestamp(startTimestamps.get(i));
+            deferredSamplingBo.setTimestamp(timestamps.get(i));
+            deferredSamplingBo.setActiveTraceCount(activeTraceCounts.get(i));
+            deferredSamplingBo.setPromotedCount(promotedCounts.get(i));
+            deferredSamplingBo.setDiscardedCount(discardedCounts.get(i));
+            deferredSamplingBo.setRejectedCount(rejectedCounts.get(i));
+            deferredSamplingBo.setExpiredCount(expiredCounts.get(i));
+            deferredSamplingBos.add(deferredSamplingBo);
+        }
+        return deferredSamplingBos;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedIntegerEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component("samplingThrottleCodecV2")
+public class SamplingThrottleCodecV2 implements AgentStatCodec<SamplingThrottleBo> {
+
+    private static final byte VERSION = 2;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public SamplingThrottleCodecV2(AgentStatDataPointCodec codec) {
+        Assert.notNull(codec, "agentStatDataPointCodec must not be null");
+        this.codec = codec;
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<SamplingThrottleBo> samplingThrottleBos) {
+        if (CollectionUtils.isEmpty(samplingThrottleBos)) {
+            throw new IllegalArgumentException("samplingThrottleBos must not be empty");
+        }
+        final int numValues = samplingThrottleBos.size();
+        valueBuffer.putVInt(numValues);
+
+        List<Long> startTimestamps = new ArrayList<Long>(numValues);
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+        UnsignedIntegerEncodingStrategy.Analyzer.Builder throttleLevelAnalyzerBuilder = new UnsignedIntegerEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder throttledCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        for (SamplingThrottleBo samplingThrottleBo : samplingThrottleBos) {
+            startTimestamps.add(samplingThrottleBo.getStartTimestamp());
+            timestamps.add(samplingThrottleBo.getTimestamp());
+            throttleLevelAnalyzerBuilder.addValue(samplingThrottleBo.getThrottleLevel());
+            throttledCountAnalyzerBuilder.addValue(samplingThrottleBo.getThrottledCount());
+        }
+        this.codec.encodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps);
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+        this.encodeDataPoints(
+                valueBuffer,
+                throttleLevelAnalyzerBuilder.build(),
+                throttledCountAnalyzerBuilder.build());
+    }
+
+    private void encodeDataPoints(
+            Buffer valueBuffer,
+            StrategyAnalyzer<Integer> throttleLevelStrategyAnalyzer,
+            StrategyAnalyzer<Long> throttledCountStrategyAnalyzer) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        headerEncoder.addCode(throttleLevelStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(throttledCountStrategyAnalyzer.getBestStrategy().getCode());
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+        // encode values
+        this.codec.encodeValues(valueBuffer, throttleLevelStrategyAnalyzer.getBestStrategy(), throttleLevelStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, throttledCountStrategyAnalyzer.getBestStrategy(), throttledCountStrategyAnalyzer.getValues());
+    }
+
+    @Override
+    public List<SamplingThrottleBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String agentId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        int numValues = valueBuffer.readVInt();
+        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
+        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+        EncodingStrategy<Integer> throttleLevelEncodingStrategy = UnsignedIntegerEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> throttledCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        // decode values
+        List<Integer> throttleLevels = this.codec.decodeValues(valueBuffer, throttleLevelEncodingStrategy, numValues);
+        List<Long> throttledCounts = this.codec.decodeValues(valueBuffer, throttledCountEncodingStrategy, numValues);
+
+        List<SamplingThrottleBo> samplingThrottleBos = new ArrayList<SamplingThrottleBo>(numValues);
+        for (int i = 0; i < numValues; ++i) {
+            SamplingThrottleBo samplingThrottleBo = new SamplingThrottleBo();
+            samplingThrottleBo.setAgentId(agentId);
+            samplingThrottleBo.setStartTimestamp(startTimestamps.get(i));
+            samplingThrottleBo.setTimestamp(timestamps.get(i));
+            samplingThrottleBo.setThrottleLevel(throttleLevels.get(i));
+            samplingThrottleBo.setThrottledCount(throttledCounts.get(i));
+            samplingThrottleBos.add(samplingThrottleBo);
+        }
+        return samplingThrottleBos;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedIntegerEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component("spanSenderQueueCodecV2")
+public class SpanSenderQueueCodecV2 implements AgentStatCodec<SpanSenderQueueBo> {
+
+    private static final byte VERSION = 2;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public SpanSenderQueueCodecV2(AgentStatDataPointCodec codec) {
+        Assert.notNull(codec, "agentStatDataPointCodec must not be null");
+        this.codec = codec;
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<SpanSenderQueueBo> spanSenderQueueBos) {
+        if (CollectionUtils.isEmpty(spanSenderQueueBos)) {
+            throw new IllegalArgumentException("spanSenderQueueBos must not be empty");
+        }
+        final int numValues = spanSenderQueueBos.size();
+        valueBuffer.putVInt(numValues);
+
+        List<Long> startTimestamps = new ArrayList<Long>(numValues);
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+        UnsignedIntegerEncodingStrategy.Analyzer.Builder queueSizeAnalyzerBuilder = new UnsignedIntegerEncodingStrategy.Analyzer.Builder();
+        UnsignedIntegerEncodingStrategy.Analyzer.Builder queueCapacityAnalyzerBuilder = new UnsignedIntegerEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder dropCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        for (SpanSenderQueueBo spanSenderQueueBo : spanSenderQueueBos) {
+            startTimestamps.add(spanSenderQueueBo.getStartTimestamp());
+            timestamps.add(spanSenderQueueBo.getTimestamp());
+            queueSizeAnalyzerBuilder.addValue(spanSenderQueueBo.getQueueSize());
+            queueCapacityAnalyzerBuilder.addValue(spanSenderQueueBo.getQueueCapacity());
+            dropCountAnalyzerBuilder.addValue(spanSenderQueueBo.getDropCount());
+        }
+        this.codec.encodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps);
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+        this.encodeDataPoints(
+                valueBuffer,
+                queueSizeAnalyzerBuilder.build(),
+                queueCapacityAnalyzerBuilder.build(),
+                dropCountAnalyzerBuilder.build());
+    }
+
+    private void encodeDataPoints(
+            Buffer valueBuffer,
+            StrategyAnalyzer<Integer> queueSizeStrategyAnalyzer,
+            StrategyAnalyzer<Integer> queueCapacityStrategyAnalyzer,
+            StrategyAnalyzer<Long> dropCountStrategyAnalyzer) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        headerEncoder.addCode(queueSizeStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(queueCapacityStrategyAnalyzer.getBestStrategy().getCode());
+        headerEncoder.addCode(dropCountStrategyAnalyzer.getBestStrategy().getCode());
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+        // encode values
+        this.codec.encodeValues(valueBuffer, queueSizeStrategyAnalyzer.getBestStrategy(), queueSizeStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, queueCapacityStrategyAnalyzer.getBestStrategy(), queueCapacityStrategyAnalyzer.getValues());
+        this.codec.encodeValues(valueBuffer, dropCountStrategyAnalyzer.getBestStrategy(), dropCountStrategyAnalyzer.getValues());
+    }
+
+    @Override
+    public List<SpanSenderQueueBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String agentId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        int numValues = valueBuffer.readVInt();
+        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
+        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+        EncodingStrategy<Integer> queueSizeEncodingStrategy = UnsignedIntegerEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Integer> queueCapacityEncodingStrategy = UnsignedIntegerEncodingStrategy.getFromCode(headerDecoder.getCode());
+        EncodingStrategy<Long> dropCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        // decode values
+        List<Integer> queueSizes = this.codec.decodeValues(valueBuffer, queueSizeEncodingStrategy, numValues);
+        List<Integer> queueCapacities = this.codec.decodeValues(valueBuffer, queueCapacityEncodingStrategy, numValues);
+        List<Long> dropCounts = this.codec.decodeValues(valueBuffer, dropCountEncodingStrategy, numValues);
+
+        List<SpanSenderQueueBo> spanSenderQueueBos = new ArrayList<SpanSenderQueueBo>(numValues);
+        for (int i = 0; i < numValues; ++i) {
+            SpanSenderQueueBo spanSenderQueueBo = new SpanSenderQueueBo();
+            spanSenderQueueBo.setAgentId(agentId);
+            spanSenderQueueBo.setStartTimestamp(startTimestamps.get(i));
+            spanSenderQueueBo.setTimestamp(timestamps.get(i));
+            spanSenderQueueBo.setQueueSize(queueSizes.get(i));
+            spanSenderQueueBo.setQueueCapacity(queueCapacities.get(i));
+            spanSenderQueueBo.setDropCount(dropCounts.get(i));
+            spanSenderQueueBos.add(spanSenderQueueBo);
+        }
+        return spanSenderQueueBos;
+    }
+}
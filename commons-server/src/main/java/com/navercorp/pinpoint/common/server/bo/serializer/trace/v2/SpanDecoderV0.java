@@ -1,6 +1,7 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
@@ -9,6 +10,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanExtendedBitField;
 import com.navercorp.pinpoint.common.util.AnnotationTranscoder;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import org.slf4j.Logger;
@@ -158,7 +160,20 @@ public class SpanDecoderV0 implements SpanDecoder {
         List<SpanEventBo> spanEventBoList = readSpanEvent(buffer, firstSpanEvent, decodingContext);
         span.addSpanEventBoList(spanEventBoList);
 
+        if (bitFiled.isSetExtendedField()) {
+            readExtendedField(buffer, span);
+        }
+
+    }
 
+    private void readExtendedField(Buffer buffer, SpanBo span) {
+        // fields unknown to this version are left unread
+        final Buffer extendedBuffer = new FixedBuffer(buffer.readPrefixedBytes());
+        final SpanExtendedBitField extendedBitField = new SpanExtendedBitField(extendedBuffer.readVInt());
+        if (extendedBitField.isSetResourceUsage()) {
+            span.setCpuTime(extendedBuffer.readSVLong());
+            span.setAllocatedBytes(extendedBuffer.readSVLong());
+        }
     }
 
     private List<SpanEventBo> readSpanEvent(Buffer buffer, SpanEventBo firstSpanEvent, SpanDecodingContext decodingContext) {
@@ -9,6 +9,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanExtendedBitField;
 import com.navercorp.pinpoint.common.util.AnnotationTranscoder;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Component;
@@ -194,9 +195,26 @@ public class SpanEncoderV0 implements SpanEncoder {
         final List<SpanEventBo> spanEventBoList = span.getSpanEventBoList();
         writeSpanEventList(buffer, spanEventBoList, encodingContext);
 
+        if (bitField.isSetExtendedField()) {
+            writeExtendedField(buffer, span);
+        }
+
         return buffer.wrapByteBuffer();
     }
 
+    private void writeExtendedField(Buffer buffer, SpanBo span) {
+        final SpanExtendedBitField extendedBitField = SpanExtendedBitField.build(span);
+
+        final Buffer extendedBuffer = new AutomaticBuffer(32);
+        extendedBuffer.putVInt(extendedBitField.getBitField());
+        if (extendedBitField.isSetResourceUsage()) {
+            extendedBuffer.putSVLong(span.getCpuTime());
+            extendedBuffer.putSVLong(span.getAllocatedBytes());
+        }
+        // length prefixed, so that a reader can skip unknown fields
+        buffer.putPrefixedBytes(extendedBuffer.copyBuffer());
+    }
+
     public void writeFirstSpanEvent(Buffer buffer, SpanEventBo spanEventBo, SpanEncodingContext<?> encodingContext) {
 
         final SpanEventBitField bitField = SpanEventBitField.buildFirst(spanEventBo);
@@ -18,11 +18,12 @@ public class SpanBitFiled {
     public static final int SET_FLAG = 4;
     public static final int SET_LOGGING_TRANSACTION_INFO = 5;
     public static final int SET_ANNOTATION = 6;
+    // the fields of SpanExtendedBitField follow the span events
+    public static final int SET_EXTENDED_FIELD = 7;
 
 
     private static final long ROOT_PARENT_SPAN_ID = -1;
-    // used : 7bit
-    // reserved : 1 bit
+    // used : 8bit
     private byte bitField = 0;
 
     public static SpanBitFiled build(SpanBo spanBo) {
@@ -59,6 +60,9 @@ public class SpanBitFiled {
         if (CollectionUtils.isNotEmpty(spanBo.getAnnotationBoList())) {
             spanBitFiled.setAnnotation(true);
         }
+        if (!SpanExtendedBitField.build(spanBo).isEmpty()) {
+            spanBitFiled.setExtendedField(true);
+        }
 
         return spanBitFiled;
     }
@@ -175,4 +179,13 @@ public class SpanBitFiled {
     public void setAnnotation(boolean annotation) {
         setBit(SET_ANNOTATION, annotation);
     }
+
+    public boolean isSetExtendedField() {
+        return testBit(SET_EXTENDED_FIELD);
+    }
+
+    // for test
+    void setExtendedField(boolean extendedField) {
+        setBit(SET_EXTENDED_FIELD, extendedField);
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.util.BitFieldUtils;
+
+/**
+ * Optional span fields added after all bits of {@link SpanBitFiled} were taken.
+ * Written as a length prefixed block after the span events, only if {@link SpanBitFiled#isSetExtendedField()} is set,
+ * so a reader skips the fields it does not know.
+ */
+public class SpanExtendedBitField {
+
+    public static final int SET_RESOURCE_USAGE = 0;
+
+    private int bitField = 0;
+
+    public static SpanExtendedBitField build(SpanBo spanBo) {
+        if (spanBo == null) {
+            throw new NullPointerException("spanBo must not be null");
+        }
+        final SpanExtendedBitField extendedBitField = new SpanExtendedBitField();
+        if (spanBo.hasResourceUsage()) {
+            extendedBitField.setResourceUsage(true);
+        }
+        return extendedBitField;
+    }
+
+    public SpanExtendedBitField() {
+    }
+
+    public SpanExtendedBitField(int bitField) {
+        this.bitField = bitField;
+    }
+
+    public int getBitField() {
+        return bitField;
+    }
+
+    public boolean isEmpty() {
+        return bitField == 0;
+    }
+
+    // for test
+    void maskAll() {
+        bitField = -1;
+    }
+
+    public boolean isSetResourceUsage() {
+        return BitFieldUtils.testBit(bitField, SET_RESOURCE_USAGE);
+    }
+
+    // for test
+    void setResourceUsage(boolean resourceUsage) {
+        this.bitField = BitFieldUtils.setBit(bitField, SET_RESOURCE_USAGE, resourceUsage);
+    }
+}
@@ -30,6 +30,9 @@ public class AgentStatBo {
     private List<TransactionBo> transactionBos;
     private List<ActiveTraceBo> activeTraceBos;
     private List<DataSourceListBo> dataSourceListBos;
+    private List<SpanSenderQueueBo> spanSenderQueueBos;
+    private List<DeferredSamplingBo> deferredSamplingBos;
+    private List<SamplingThrottleBo> samplingThrottleBos;
 
     public String getAgentId() {
         return agentId;
@@ -87,6 +90,30 @@ public class AgentStatBo {
         this.dataSourceListBos = dataSourceListBos;
     }
 
+    public List<SpanSenderQueueBo> getSpanSenderQueueBos() {
+        return spanSenderQueueBos;
+    }
+
+    public void setSpanSenderQueueBos(List<SpanSenderQueueBo> spanSenderQueueBos) {
+        this.spanSenderQueueBos = spanSenderQueueBos;
+    }
+
+    public List<DeferredSamplingBo> getDeferredSamplingBos() {
+        return deferredSamplingBos;
+    }
+
+    public void setDeferredSamplingBos(List<DeferredSamplingBo> deferredSamplingBos) {
+        this.deferredSamplingBos = deferredSamplingBos;
+    }
+
+    public List<SamplingThrottleBo> getSamplingThrottleBos() {
+        return samplingThrottleBos;
+    }
+
+    public void setSamplingThrottleBos(List<SamplingThrottleBo> samplingThrottleBos) {
+        this.samplingThrottleBos = samplingThrottleBos;
+    }
+
     @Override
     public String toString() {
         return "AgentStatBatchBo{" +
@@ -97,6 +124,9 @@ public class AgentStatBo {
                 ", transactionBos=" + transactionBos +
                 ", activeTraceBos=" + activeTraceBos +
                 ", dataSourceListBos=" + dataSourceListBos +
+                ", spanSenderQueueBos=" + spanSenderQueueBos +
+                ", deferredSamplingBos=" + deferredSamplingBos +
+                ", samplingThrottleBos=" + samplingThrottleBos +
                 '}';
     }
 
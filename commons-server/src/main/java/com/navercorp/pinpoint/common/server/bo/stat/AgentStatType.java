@@ -26,7 +26,10 @@ public enum AgentStatType {
     CPU_LOAD(3, "Cpu Usage"),
     TRANSACTION((byte) 4, "Transaction"),
     ACTIVE_TRACE((byte) 5, "Active Trace"),
-    DATASOURCE((byte) 6, "DataSource");
+    DATASOURCE((byte) 6, "DataSource"),
+    SPAN_SENDER_QUEUE((byte) 7, "Span Sender Queue"),
+    DEFERRED_SAMPLING((byte) 8, "Deferred Sampling"),
+    SAMPLING_THROTTLE((byte) 9, "Sampling Throttle");
 
     public static final int TYPE_CODE_BYTE_LENGTH = 1;
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+/**
+ * deferred traces buffered by the agent and the decisions made on them during the collect interval
+ */
+public class DeferredSamplingBo implements AgentStatDataPoint {
+
+    public static final int UNCOLLECTED_INT_VALUE = -1;
+    public static final long UNCOLLECTED_VALUE = -1;
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+    private int activeTraceCount = UNCOLLECTED_INT_VALUE;
+    private long promotedCount = UNCOLLECTED_VALUE;
+    private long discardedCount = UNCOLLECTED_VALUE;
+    private long rejectedCount = UNCOLLECTED_VALUE;
+    private long expiredCount = UNCOLLECTED_VALUE;
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return AgentStatType.DEFERRED_SAMPLING;
+    }
+
+    public int getActiveTraceCount() {
+        return activeTraceCount;
+    }
+
+    public void setActiveTraceCount(int activeTraceCount) {
+        this.activeTraceCount = activeTraceCount;
+    }
+
+    public long getPromotedCount() {
+        return promotedCount;
+    }
+
+    public void setPromotedCount(long promotedCount) {
+        this.promotedCount = promotedCount;
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount;
+    }
+
+    public void setDiscardedCount(long discardedCount) {
+        this.discardedCount = discardedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public void setExpiredCount(long expiredCount) {
+        this.expiredCount = expiredCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DeferredSamplingBo that = (DeferredSamplingBo) o;
+
+        if (startTimestamp != that.startTimestamp) return false;
+        if (timestamp != that.timestamp) return false;
+        if (activeTraceCount != that.activeTraceCount) return false;
+        if (promotedCount != that.promotedCount) return false;
+        if (discardedCount != that.discardedCount) return false;
+        if (rejectedCount != that.rejectedCount) return false;
+        if (expiredCount != that.expiredCount) return false;
+        return agentId != null ? agentId.equals(that.agentId) : that.agentId == null;
+
+    }
+
+    @Override
+    public int hashCode() {
+        int result = agentId != null ? agentId.hashCode() : 0;
+        result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        result = 31 * result + activeTraceCount;
+        result = 31 * result + (int) (promotedCount ^ (promotedCount >>> 32));
+        result = 31 * result + (int) (discardedCount ^ (discardedCount >>> 32));
+        result = 31 * result + (int) (rejectedCount ^ (rejectedCount >>> 32));
+        result = 31 * result + (int) (expiredCount ^ (expiredCount >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredSamplingBo{" +
+                "agentId='" + agentId + '\'' +
+                ", startTimestamp=" + startTimestamp +
+                ", timestamp=" + timestamp +
+                ", activeTraceCount=" + activeTraceCount +
+                ", promotedCount=" + promotedCount +
+                ", discardedCount=" + discardedCount +
+                ", rejectedCount=" + rejectedCount +
+                ", expiredCount=" + expiredCount +
+                '}';
+    }
+}
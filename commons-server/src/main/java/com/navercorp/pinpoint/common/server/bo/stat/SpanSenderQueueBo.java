@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+/**
+ * write queue of the agent's span data sender
+ */
+public class SpanSenderQueueBo implements AgentStatDataPoint {
+
+    public static final int UNCOLLECTED_INT_VALUE = -1;
+    public static final long UNCOLLECTED_VALUE = -1;
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+    private int queueSize = UNCOLLECTED_INT_VALUE;
+    private int queueCapacity = UNCOLLECTED_INT_VALUE;
+    private long dropCount = UNCOLLECTED_VALUE;
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return AgentStatType.SPAN_SENDER_QUEUE;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getDropCount() {
+        return dropCount;
+    }
+
+    public void setDropCount(long dropCount) {
+        this.dropCount = dropCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SpanSenderQueueBo that = (SpanSenderQueueBo) o;
+
+        if (startTimestamp != that.startTimestamp) return false;
+        if (timestamp != that.timestamp) return false;
+        if (queueSize != that.queueSize) return false;
+        if (queueCapacity != that.queueCapacity) return false;
+        if (dropCount != that.dropCount) return false;
+        return agentId != null ? agentId.equals(that.agentId) : that.agentId == null;
+
+    }
+
+    @Override
+    public int hashCode() {
+        int result = agentId != null ? agentId.hashCode() : 0;
+        result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        result = 31 * result + queueSize;
+        result = 31 * result + queueCapacity;
+        result = 31 * result + (int) (dropCount ^ (dropCount >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanSenderQueueBo{" +
+                "agentId='" + agentId + '\'' +
+                ", startTimestamp=" + startTimestamp +
+                ", timestamp=" + timestamp +
+                ", queueSize=" + queueSize +
+                ", queueCapacity=" + queueCapacity +
+                ", dropCount=" + dropCount +
+                '}';
+    }
+}
@@ -31,6 +31,7 @@ public class TransactionBo implements AgentStatDataPoint {
     private long sampledContinuationCount = UNCOLLECTED_VALUE;
     private long unsampledNewCount = UNCOLLECTED_VALUE;
     private long unsampledContinuationCount = UNCOLLECTED_VALUE;
+    private double samplingRate = UNCOLLECTED_VALUE;
 
     @Override
     public String getAgentId() {
@@ -107,6 +108,14 @@ public class TransactionBo implements AgentStatDataPoint {
         this.unsampledContinuationCount = unsampledContinuationCount;
     }
 
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public void setSamplingRate(double samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -121,13 +130,16 @@ public class TransactionBo implements AgentStatDataPoint {
         if (sampledContinuationCount != that.sampledContinuationCount) return false;
         if (unsampledNewCount != that.unsampledNewCount) return false;
         if (unsampledContinuationCount != that.unsampledContinuationCount) return false;
+        if (Double.compare(that.samplingRate, samplingRate) != 0) return false;
         return agentId != null ? agentId.equals(that.agentId) : that.agentId == null;
 
     }
 
     @Override
     public int hashCode() {
-        int result = agentId != null ? agentId.hashCode() : 0;
+        int result;
+        long temp;
+        result = agentId != null ? agentId.hashCode() : 0;
         result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
         result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
         result = 31 * result + (int) (collectInterval ^ (collectInterval >>> 32));
@@ -135,6 +147,8 @@ public class TransactionBo implements AgentStatDataPoint {
         result = 31 * result + (int) (sampledContinuationCount ^ (sampledContinuationCount >>> 32));
         result = 31 * result + (int) (unsampledNewCount ^ (unsampledNewCount >>> 32));
         result = 31 * result + (int) (unsampledContinuationCount ^ (unsampledContinuationCount >>> 32));
+        temp = Double.doubleToLongBits(samplingRate);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
         return result;
     }
 
@@ -149,6 +163,7 @@ public class TransactionBo implements AgentStatDataPoint {
                 ", sampledContinuationCount=" + sampledContinuationCount +
                 ", unsampledNewCount=" + unsampledNewCount +
                 ", unsampledContinuationCount=" + unsampledContinuationCount +
+                ", samplingRate=" + samplingRate +
                 '}';
     }
 }
@@ -62,6 +62,10 @@ public class RandomTSpan {
             tSpan.setExceptionInfo(exceptionInfo);
         }
         tSpan.setLoggingTransactionInfo((byte) RandomUtils.nextInt(0, 256));
+        if (random.nextBoolean()) {
+            tSpan.setCpuTime(RandomUtils.nextLong(0, 2000000));
+            tSpan.setAllocatedBytes(RandomUtils.nextLong(0, 1024 * 1024 * 64));
+        }
         return tSpan;
     }
 
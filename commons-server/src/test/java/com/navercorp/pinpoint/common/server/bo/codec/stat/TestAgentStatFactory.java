@@ -21,8 +21,11 @@ import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.DataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.DeferredSamplingBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SamplingThrottleBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpanSenderQueueBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.trace.SlotType;
@@ -210,6 +213,7 @@ public class TestAgentStatFactory {
                 10L,
                 100L,
                 numValues);
+        List<Double> samplingRates = createRandomPercentageValues(numValues);
         for (int i = 0; i < numValues; ++i) {
             TransactionBo transactionBo = new TransactionBo();
             transactionBo.setAgentId(agentId);
@@ -220,11 +224,125 @@ public class TestAgentStatFactory {
             transactionBo.setSampledContinuationCount(sampledContinuationCounts.get(i));
             transactionBo.setUnsampledNewCount(unsampledNewCount.get(i));
             transactionBo.setUnsampledContinuationCount(unsampledContinuationCount.get(i));
+            transactionBo.setSamplingRate(samplingRates.get(i));
             transactionBos.add(transactionBo);
         }
         return transactionBos;
     }
 
+    public static List<DeferredSamplingBo> createDeferredSamplingBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RANDOM.nextInt(MAX_NUM_TEST_VALUES) + 1;
+        return createDeferredSamplingBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<DeferredSamplingBo> createDeferredSamplingBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<DeferredSamplingBo> deferredSamplingBos = new ArrayList<DeferredSamplingBo>(numValues);
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+        List<Integer> activeTraceCounts = TestAgentStatDataPointFactory.INTEGER.createFluctuatingValues(
+                0,
+                256,
+                10,
+                100,
+                numValues);
+        List<Long> promotedCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                100L,
+                numValues);
+        List<Long> discardedCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                10000L,
+                numValues);
+        List<Long> rejectedCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                1000L,
+                numValues);
+        List<Long> expiredCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                10L,
+                numValues);
+        for (int i = 0; i < numValues; ++i) {
+            DeferredSamplingBo deferredSamplingBo = new DeferredSamplingBo();
+            deferredSamplingBo.setAgentId(agentId);
+            deferredSamplingBo.setStartTimestamp(startTimestamps.get(i));
+            deferredSamplingBo.setTimestamp(timestamps.get(i));
+            deferredSamplingBo.setActiveTraceCount(activeTraceCounts.get(i));
+            deferredSamplingBo.setPromotedCount(promotedCounts.get(i));
+            deferredSamplingBo.setDiscardedCount(discardedCounts.get(i));
+            deferredSamplingBo.setRejectedCount(rejectedCounts.get(i));
+            deferredSamplingBo.setExpiredCount(expiredCounts.get(i));
+            deferredSamplingBos.add(deferredSamplingBo);
+        }
+        return deferredSamplingBos;
+    }
+
+    public static List<SamplingThrottleBo> createSamplingThrottleBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RANDOM.nextInt(MAX_NUM_TEST_VALUES) + 1;
+        return createSamplingThrottleBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<SamplingThrottleBo> createSamplingThrottleBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<SamplingThrottleBo> samplingThrottleBos = new ArrayList<SamplingThrottleBo>(numValues);
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+        List<Integer> throttleLevels = TestAgentStatDataPointFactory.INTEGER.createFluctuatingValues(
+                0,
+                100,
+                10,
+                100,
+                numValues);
+        List<Long> throttledCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                10000L,
+                numValues);
+        for (int i = 0; i < numValues; ++i) {
+            SamplingThrottleBo samplingThrottleBo = new SamplingThrottleBo();
+            samplingThrottleBo.setAgentId(agentId);
+            samplingThrottleBo.setStartTimestamp(startTimestamps.get(i));
+            samplingThrottleBo.setTimestamp(timestamps.get(i));
+            samplingThrottleBo.setThrottleLevel(throttleLevels.get(i));
+            samplingThrottleBo.setThrottledCount(throttledCounts.get(i));
+            samplingThrottleBos.add(samplingThrottleBo);
+        }
+        return samplingThrottleBos;
+    }
+
+    public static List<SpanSenderQueueBo> createSpanSenderQueueBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RANDOM.nextInt(MAX_NUM_TEST_VALUES) + 1;
+        return createSpanSenderQueueBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<SpanSenderQueueBo> createSpanSenderQueueBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<SpanSenderQueueBo> spanSenderQueueBos = new ArrayList<SpanSenderQueueBo>(numValues);
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+        List<Integer> queueSizes = TestAgentStatDataPointFactory.INTEGER.createFluctuatingValues(
+                0,
+                5120,
+                10,
+                1000,
+                numValues);
+        List<Integer> queueCapacities = TestAgentStatDataPointFactory.INTEGER.createConstantValues(
+                5120,
+                5120,
+                numValues);
+        List<Long> dropCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(
+                0L,
+                1000L,
+                numValues);
+        for (int i = 0; i < numValues; ++i) {
+            SpanSenderQueueBo spanSenderQueueBo = new SpanSenderQueueBo();
+            spanSenderQueueBo.setAgentId(agentId);
+            spanSenderQueueBo.setStartTimestamp(startTimestamps.get(i));
+            spanSenderQueueBo.setTimestamp(timestamps.get(i));
+            spanSenderQueueBo.setQueueSize(queueSizes.get(i));
+            spanSenderQueueBo.setQueueCapacity(queueCapacities.get(i));
+            spanSenderQueueBo.setDropCount(dropCounts.get(i));
+            spanSenderQueueBos.add(spanSenderQueueBo);
+        }
+        return spanSenderQueueBos;
+    }
+
     public static List<ActiveTraceBo> createActiveTraceBos(String agentId, long startTimestamp, long initialTimestamp) {
         final int numValues = RANDOM.nextInt(MAX_NUM_TEST_VALUES) + 1;
         return createActiveTraceBos(agentId, startTimestamp, initialTimestamp, numValues);
@@ -229,4 +229,22 @@ public class SpanEncoderTest {
 
         assertSpan(spanBo);
     }
+
+    @Test
+    public void testEncodeSpanColumnValue_extendedField() {
+        SpanBo spanBo = randomComplexSpan();
+        spanBo.setCpuTime(1000);
+        spanBo.setAllocatedBytes(2048);
+
+        assertSpan(spanBo);
+    }
+
+    @Test
+    public void testEncodeSpanColumnValue_noExtendedField() {
+        SpanBo spanBo = randomComplexSpan();
+        spanBo.setCpuTime(SpanBo.NOT_MEASURED);
+        spanBo.setAllocatedBytes(SpanBo.NOT_MEASURED);
+
+        assertSpan(spanBo);
+    }
 }
\ No newline at end of file
@@ -146,4 +146,31 @@ public class SpanBitFiledTest {
         Assert.assertFalse(spanBitFiled.isSetLoggingTransactionInfo());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testExtendedField_1() {
+        SpanBo spanBo = new SpanBo();
+        spanBo.setCpuTime(100);
+
+        SpanBitFiled spanBitFiled = SpanBitFiled.build(spanBo);
+
+        Assert.assertTrue(spanBitFiled.isSetExtendedField());
+
+        spanBitFiled.setExtendedField(false);
+        Assert.assertFalse(spanBitFiled.isSetExtendedField());
+    }
+
+    @Test
+    public void testExtendedField_2() {
+        SpanBo spanBo = new SpanBo();
+
+        SpanBitFiled spanBitFiled = SpanBitFiled.build(spanBo);
+
+        Assert.assertFalse(spanBitFiled.isSetExtendedField());
+
+        spanBitFiled.maskAll();
+        Assert.assertTrue(spanBitFiled.isSetExtendedField());
+        spanBitFiled.setExtendedField(false);
+        Assert.assertFalse(spanBitFiled.isSetExtendedField());
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpanExtendedBitFieldTest {
+
+    @Test
+    public void testResourceUsage_1() {
+        SpanBo spanBo = new SpanBo();
+        spanBo.setAllocatedBytes(1024);
+
+        SpanExtendedBitField extendedBitField = SpanExtendedBitField.build(spanBo);
+
+        Assert.assertTrue(extendedBitField.isSetResourceUsage());
+        Assert.assertFalse(extendedBitField.isEmpty());
+
+        extendedBitField.setResourceUsage(false);
+        Assert.assertFalse(extendedBitField.isSetResourceUsage());
+        Assert.assertTrue(extendedBitField.isEmpty());
+    }
+
+    @Test
+    public void testResourceUsage_2() {
+        SpanBo spanBo = new SpanBo();
+
+        SpanExtendedBitField extendedBitField = SpanExtendedBitField.build(spanBo);
+
+        Assert.assertFalse(extendedBitField.isSetResourceUsage());
+        Assert.assertTrue(extendedBitField.isEmpty());
+
+        extendedBitField.maskAll();
+        Assert.assertTrue(extendedBitField.isSetResourceUsage());
+        extendedBitField.setResourceUsage(false);
+        Assert.assertFalse(extendedBitField.isSetResourceUsage());
+    }
+}
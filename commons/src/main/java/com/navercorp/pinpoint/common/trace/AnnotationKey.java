@@ -192,4 +192,11 @@ public interface AnnotationKey {
 
     AnnotationKey ASYNC = AnnotationKeyFactory.of(-100, "Asynchronous Invocation", VIEW_IN_RECORD_SET);
 
+    // consecutive identical calls folded into one span event
+    AnnotationKey COLLAPSED_CALL = AnnotationKeyFactory.of(-101, "Collapsed Calls", VIEW_IN_RECORD_SET);
+    // span events not recorded. beyond profiler.callstack.max.spanevent.count
+    AnnotationKey DROPPED_SPAN_EVENT = AnnotationKeyFactory.of(-102, "Dropped Span Events", VIEW_IN_RECORD_SET);
+    // commands sent in one network round trip. e.g. redis pipeline, arcus bulk operation
+    AnnotationKey BATCH_COMMAND = AnnotationKeyFactory.of(-103, "Batch Commands", VIEW_IN_RECORD_SET);
+
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 
@@ -48,6 +49,7 @@ public class AnnotationTranscoder {
     // multivalue
     static final byte CODE_INT_STRING = 20;
     static final byte CODE_INT_STRING_STRING = 21;
+    static final byte CODE_COLLAPSED_CALL = 22;
 
     private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
@@ -94,6 +96,8 @@ public class AnnotationTranscoder {
                 return decodeIntStringValue(data);
             case CODE_INT_STRING_STRING:
                 return decodeIntStringStringValue(data);
+            case CODE_COLLAPSED_CALL:
+                return decodeCollapsedCallValue(data);
         }
         throw new IllegalArgumentException("unsupported DataType:" + dataType);
     }
@@ -128,6 +132,8 @@ public class AnnotationTranscoder {
             return CODE_INT_STRING;
         } else if(o instanceof TIntStringStringValue) {
             return CODE_INT_STRING_STRING;
+        } else if(o instanceof TCollapsedCallValue) {
+            return CODE_COLLAPSED_CALL;
         }
         return CODE_TOSTRING;
     }
@@ -177,6 +183,8 @@ public class AnnotationTranscoder {
                 return encodeIntStringValue(o);
             case CODE_INT_STRING_STRING:
                 return encodeIntStringStringValue(o);
+            case CODE_COLLAPSED_CALL:
+                return encodeCollapsedCallValue(o);
         }
         throw new IllegalArgumentException("unsupported DataType:" + typeCode + " data:" + o);
     }
@@ -243,6 +251,27 @@ public class AnnotationTranscoder {
         return length + reserve;
     }
 
+    private Object decodeCollapsedCallValue(byte[] data) {
+        final Buffer buffer = new FixedBuffer(data);
+        final int count = buffer.readVInt();
+        final long totalElapsed = buffer.readVLong();
+        final int minElapsed = buffer.readVInt();
+        final int maxElapsed = buffer.readVInt();
+        final int errorCount = buffer.readVInt();
+        return new CollapsedCallValue(count, totalElapsed, minElapsed, maxElapsed, errorCount);
+    }
+
+    private byte[] encodeCollapsedCallValue(Object o) {
+        final TCollapsedCallValue tCollapsedCallValue = (TCollapsedCallValue) o;
+        final Buffer buffer = new AutomaticBuffer(4 * BytesUtils.VINT_MAX_SIZE + BytesUtils.VLONG_MAX_SIZE);
+        buffer.putVInt(tCollapsedCallValue.getCount());
+        buffer.putVLong(tCollapsedCallValue.getTotalElapsed());
+        buffer.putVInt(tCollapsedCallValue.getMinElapsed());
+        buffer.putVInt(tCollapsedCallValue.getMaxElapsed());
+        buffer.putVInt(tCollapsedCallValue.getErrorCount());
+        return buffer.getBuffer();
+    }
+
 
     /**
      * Decode the string with the current character set.
@@ -32,6 +32,14 @@ import com.navercorp.pinpoint.common.trace.ServiceType;
  * @author emeroad
  */
 public class ApplicationMapStatisticsUtils {
+
+    // qualifier codes of the resource usage column family of the self statistics table. see HBaseTables.MAP_STATISTICS_SELF_VER2_CF_RESOURCE
+    // counters of the spans that recorded the resource usage and the sum of the resource usage
+    public static final short CPU_TIME_COUNT = 0;
+    public static final short CPU_TIME_SUM = 1;
+    public static final short ALLOCATED_BYTES_COUNT = 2;
+    public static final short ALLOCATED_BYTES_SUM = 3;
+
     private ApplicationMapStatisticsUtils() {
     }
 
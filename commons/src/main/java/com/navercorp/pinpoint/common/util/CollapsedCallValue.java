@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.util;
+
+/**
+ * Consecutive identical calls folded into one span event by the agent.
+ */
+public class CollapsedCallValue {
+    private final int count;
+    private final long totalElapsed;
+    private final int minElapsed;
+    private final int maxElapsed;
+    private final int errorCount;
+
+    public CollapsedCallValue(int count, long totalElapsed, int minElapsed, int maxElapsed, int errorCount) {
+        this.count = count;
+        this.totalElapsed = totalElapsed;
+        this.minElapsed = minElapsed;
+        this.maxElapsed = maxElapsed;
+        this.errorCount = errorCount;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalElapsed() {
+        return totalElapsed;
+    }
+
+    public int getMinElapsed() {
+        return minElapsed;
+    }
+
+    public int getMaxElapsed() {
+        return maxElapsed;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CollapsedCallValue{" +
+                "count=" + count +
+                ", totalElapsed=" + totalElapsed +
+                ", minElapsed=" + minElapsed +
+                ", maxElapsed=" + maxElapsed +
+                ", errorCount=" + errorCount +
+                '}';
+    }
+}
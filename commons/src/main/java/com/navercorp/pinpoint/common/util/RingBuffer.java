@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer/single-consumer ring.
+ * <p>
+ * Each slot carries a sequence number. a producer claims a slot by CAS on the tail with {@link #tryNext()},
+ * fills it and publishes it with {@link #publish(long)}. The consumer checks {@link #isPublished(long)},
+ * takes the slot and returns it to producers with {@link #release(long)}.
+ * Slots either hold preallocated events that are filled in place, see {@link EventFactory},
+ * or start empty and hold the element set by the producer.
+ * <p>
+ * The ring is rounded up to a power of two, but no more than the configured capacity is claimed at once.
+ * <p>
+ * Caution. {@link #release(long)} must be called by a single consumer thread, in sequence order.
+ * Waiting and signalling are left to the caller.
+ */
+public final class RingBuffer<E> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int ringSize;
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong(0);
+    // written by consumer thread only
+    private volatile long head = 0;
+
+    /**
+     * Slots start empty. producers store the element with {@link #set(long, Object)}.
+     */
+    public RingBuffer(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Slots hold events created by {@code eventFactory}. producers fill them in place.
+     */
+    public RingBuffer(int capacity, EventFactory<E> eventFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity too large. capacity:" + capacity);
+        }
+        this.capacity = capacity;
+        this.ringSize = roundUpToPowerOfTwo(capacity);
+        this.mask = this.ringSize - 1;
+        this.slots = new Object[this.ringSize];
+        this.sequences = new AtomicLongArray(this.ringSize);
+        for (int i = 0; i < this.ringSize; i++) {
+            if (eventFactory != null) {
+                this.slots[i] = eventFactory.newInstance();
+            }
+            this.sequences.set(i, i);
+        }
+    }
+
+    static int roundUpToPowerOfTwo(int value) {
+        int result = Integer.highestOneBit(value);
+        if (result != value) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    /**
+     * @return slot index of {@code sequence}. in the range of 0 to {@link #ringSize()} - 1
+     */
+    public int indexOf(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * Claims the next slot. The claimed slot must be published with {@link #publish(long)}, even if filling it fails.
+     *
+     * @return the claimed sequence. -1 if the ring is full
+     */
+    public long tryNext() {
+        long position = tail.get();
+        while (true) {
+            final long sequence = sequences.get(indexOf(position));
+            final long diff = sequence - position;
+            if (diff == 0) {
+                if (position - this.head >= capacity) {
+                    // the ring has room, but the configured capacity is reached
+                    return -1;
+                }
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // full
+                return -1;
+            } else {
+                // another producer claimed this slot
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) slots[indexOf(sequence)];
+    }
+
+    public void set(long sequence, E element) {
+        slots[indexOf(sequence)] = element;
+    }
+
+    public void publish(long sequence) {
+        // volatile write publishes the slot to the consumer
+        sequences.set(indexOf(sequence), sequence + 1);
+    }
+
+    public boolean isPublished(long sequence) {
+        return sequences.get(indexOf(sequence)) == sequence + 1;
+    }
+
+    /**
+     * Returns the slot to producers for the next lap.
+     */
+    public void release(long sequence) {
+        sequences.set(indexOf(sequence), sequence + ringSize);
+        this.head = sequence + 1;
+    }
+
+    public int size() {
+        final long size = tail.get() - head;
+        if (size < 0) {
+            return 0;
+        }
+        if (size > capacity) {
+            return capacity;
+        }
+        return (int) size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int ringSize() {
+        return ringSize;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBuffer{" +
+                "capacity=" + capacity +
+                ", ringSize=" + ringSize +
+                '}';
+    }
+
+    public interface EventFactory<E> {
+
+        E newInstance();
+
+    }
+}
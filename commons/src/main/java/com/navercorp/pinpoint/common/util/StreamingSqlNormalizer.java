@@ -0,0 +1,482 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.util;
+
+import java.util.List;
+
+/**
+ * Single pass sql normalizer producing the same normalized sql as {@link DefaultSqlParser}.
+ * Optionally, an IN list made of literals and bind variables only is collapsed into one output parameter.
+ * The normalized sql then differs from {@link DefaultSqlParser} for such IN lists. e.g. "id in (1, 2, ?)" is normalized to "id in (0#)" with the output parameter "1, 2, ?",
+ * so IN lists of any length share one normalized sql. {@link #combineOutputParams(String, List)} restores the list.
+ * <p>
+ * {@link #normalize(String, StringBuilder)} writes the output parameters only and returns a 64bit FNV-1a hash
+ * of the normalized sql, which is computed while scanning. The normalized sql is built only by {@link #normalizedSql(String)}.
+ */
+public class StreamingSqlNormalizer implements SqlParser {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final int NEXT_TOKEN_NOT_EXIST = -1;
+    private static final int NORMALIZED_SQL_BUFFER = 32;
+
+    private static final NormalizedSql NULL_OBJECT = new DefaultNormalizedSql("", "");
+
+    private final boolean collapseInList;
+    // normalized sql is compatible
+    private final DefaultSqlParser sqlParser = new DefaultSqlParser();
+
+    public StreamingSqlNormalizer() {
+        this(false);
+    }
+
+    public StreamingSqlNormalizer(boolean collapseInList) {
+        this.collapseInList = collapseInList;
+    }
+
+    /**
+     * @param output output parameters are appended
+     * @return hash of the normalized sql
+     */
+    public long normalize(String sql, StringBuilder output) {
+        if (sql == null) {
+            throw new NullPointerException("sql must not be null");
+        }
+        if (output == null) {
+            throw new NullPointerException("output must not be null");
+        }
+        final Scanner scanner = new Scanner(sql, null, output, collapseInList);
+        scanner.scan();
+        return scanner.hash;
+    }
+
+    @Override
+    public NormalizedSql normalizedSql(String sql) {
+        if (sql == null) {
+            return NULL_OBJECT;
+        }
+        final StringBuilder normalized = new StringBuilder(sql.length() + NORMALIZED_SQL_BUFFER);
+        final StringBuilder output = new StringBuilder(32);
+        final Scanner scanner = new Scanner(sql, normalized, output, collapseInList);
+        scanner.scan();
+        if (!scanner.change) {
+            // Reuse if not modified.
+            return new DefaultNormalizedSql(sql, "");
+        }
+        return new DefaultNormalizedSql(normalized.toString(), output.toString());
+    }
+
+    static long hash(String normalizedSql) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalizedSql.length(); i++) {
+            hash = (hash ^ normalizedSql.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    @Override
+    public String combineOutputParams(String sql, List<String> outputParams) {
+        return sqlParser.combineOutputParams(sql, outputParams);
+    }
+
+    @Override
+    public String combineBindValues(String sql, List<String> bindValues) {
+        return sqlParser.combineBindValues(sql, bindValues);
+    }
+
+    private static final class Scanner {
+
+        private final String sql;
+        private final int length;
+        // null if only the hash is needed
+        private final StringBuilder normalized;
+        private final StringBuilder output;
+        private final boolean collapseInList;
+
+        private long hash = FNV_OFFSET_BASIS;
+        private boolean change = false;
+        // a character was dropped after ''. DefaultSqlParser returns the sql as is if nothing else changed
+        private boolean skipped = false;
+        private int replaceIndex = 0;
+        private boolean numberTokenStartEnable = true;
+
+        private Scanner(String sql, StringBuilder normalized, StringBuilder output, boolean collapseInList) {
+            this.sql = sql;
+            this.length = sql.length();
+            this.normalized = normalized;
+            this.output = output;
+            this.collapseInList = collapseInList;
+        }
+
+        private void scan() {
+            for (int i = 0; i < length; i++) {
+                final char ch = sql.charAt(i);
+                switch (ch) {
+                    // COMMENT start check
+                    case '/':
+                        final int lookAhead1Char = lookAhead1(i);
+                        // multi line comment and oracle hint /*+ */
+                        if (lookAhead1Char == '*') {
+                            append('/');
+                            append('*');
+                            i = readComment(i + 2);
+                        } else if (lookAhead1Char == '/') {
+                            append('/');
+                            append('/');
+                            i = readLine(i + 2);
+                        } else {
+                            // unary operator
+                            numberTokenStartEnable = true;
+                            append(ch);
+                        }
+                        break;
+                    case '-':
+                        // single line comment state
+                        if (lookAhead1(i) == '-') {
+                            append('-');
+                            append('-');
+                            i = readLine(i + 2);
+                        } else {
+                            // unary operator
+                            numberTokenStartEnable = true;
+                            append(ch);
+                        }
+                        break;
+
+                    // SYMBOL start check
+                    case '\'':
+                        if (lookAhead1(i) == '\'') {
+                            // empty symbol
+                            append('\'');
+                            append('\'');
+                            // same as DefaultSqlParser. the character after '' is dropped
+                            i += 2;
+                            if (i < length) {
+                                skipped = true;
+                            }
+                        } else {
+                            i = readSymbol(i + 1);
+                        }
+                        break;
+
+                    // number start check
+                    case '0':
+                    case '1':
+                    case '2':
+                    case '3':
+                    case '4':
+                    case '5':
+                    case '6':
+                    case '7':
+                    case '8':
+                    case '9':
+                        if (numberTokenStartEnable) {
+                            i = readNumber(i);
+                        } else {
+                            append(ch);
+                        }
+                        break;
+
+                    // empty space
+                    case ' ':
+                    case '\t':
+                    case '\n':
+                    case '\r':
+                    // operator
+                    case '*':
+                    case '+':
+                    case '%':
+                    case '=':
+                    case '<':
+                    case '>':
+                    case '&':
+                    case '|':
+                    case '^':
+                    case '~':
+                    case '!':
+                    case ')':
+                    case ',':
+                    case ';':
+                        numberTokenStartEnable = true;
+                        append(ch);
+                        break;
+
+                    case '(':
+                        numberTokenStartEnable = true;
+                        append(ch);
+                        if (collapseInList && isInList(i)) {
+                            final int listEnd = findLiteralListEnd(i + 1);
+                            if (listEnd != -1) {
+                                collapse(i + 1, listEnd);
+                                // ')' is the next token
+                                i = listEnd - 1;
+                            }
+                        }
+                        break;
+
+                    case '.':
+                    case '_':
+                    case '@': // Assignment Operator
+                    case ':': // Oracle's bind variable is possible with :bindvalue
+                        numberTokenStartEnable = false;
+                        append(ch);
+                        break;
+
+                    default:
+                        numberTokenStartEnable = !isAlphabet(ch);
+                        append(ch);
+                        break;
+                }
+            }
+            if (skipped && !change) {
+                hash = StreamingSqlNormalizer.hash(sql);
+            }
+        }
+
+        private int readComment(int index) {
+            for (; index < length; index++) {
+                final char ch = sql.charAt(index);
+                if (ch == '*' && lookAhead1(index) == '/') {
+                    append('*');
+                    append('/');
+                    return index + 1;
+                }
+                append(ch);
+            }
+            return index;
+        }
+
+        private int readLine(int index) {
+            for (; index < length; index++) {
+                final char ch = sql.charAt(index);
+                append(ch);
+                if (ch == '\n') {
+                    return index;
+                }
+            }
+            return index;
+        }
+
+        private int readSymbol(int index) {
+            change = true;
+            append('\'');
+            appendOutputSeparator();
+            for (; index < length; index++) {
+                final char ch = sql.charAt(index);
+                if (ch == '\'') {
+                    // a consecutive ' is the same as \'
+                    if (lookAhead1(index) == '\'') {
+                        index++;
+                        output.append("''");
+                        continue;
+                    }
+                    appendIndex(replaceIndex++);
+                    append(DefaultSqlParser.SYMBOL_REPLACE);
+                    append('\'');
+                    return index;
+                }
+                appendOutputParam(ch);
+            }
+            return index;
+        }
+
+        private int readNumber(int index) {
+            change = true;
+            appendIndex(replaceIndex++);
+            append(DefaultSqlParser.NUMBER_REPLACE);
+            appendOutputSeparator();
+            output.append(sql.charAt(index));
+            index++;
+            for (; index < length; index++) {
+                final char ch = sql.charAt(index);
+                if (isDigit(ch) || ch == '.' || ch == 'E' || ch == 'e') {
+                    output.append(ch);
+                } else {
+                    // look at the token outside the loop
+                    return index - 1;
+                }
+            }
+            return index;
+        }
+
+        /**
+         * @param index index of '('
+         */
+        private boolean isInList(int index) {
+            int keywordEnd = index - 1;
+            while (keywordEnd >= 0 && isWhitespace(sql.charAt(keywordEnd))) {
+                keywordEnd--;
+            }
+            if (keywordEnd < 1) {
+                return false;
+            }
+            final char n = sql.charAt(keywordEnd);
+            final char i = sql.charAt(keywordEnd - 1);
+            if ((n != 'n' && n != 'N') || (i != 'i' && i != 'I')) {
+                return false;
+            }
+            if (keywordEnd >= 2) {
+                return !isIdentifierPart(sql.charAt(keywordEnd - 2));
+            }
+            return true;
+        }
+
+        /**
+         * @return index of the closing ')', or -1 if the list is not made of literals and bind variables only
+         */
+        private int findLiteralListEnd(int index) {
+            while (true) {
+                index = skipWhitespace(index);
+                if (index >= length) {
+                    return -1;
+                }
+                final char ch = sql.charAt(index);
+                if (ch == '?') {
+                    index++;
+                } else if (ch == '\'') {
+                    index = skipSymbol(index + 1);
+                } else if (isDigit(ch) || ch == '-' || ch == '+') {
+                    index = skipNumber(index);
+                } else {
+                    return -1;
+                }
+                if (index == -1) {
+                    return -1;
+                }
+                index = skipWhitespace(index);
+                if (index >= length) {
+                    return -1;
+                }
+                final char separator = sql.charAt(index);
+                if (separator == ')') {
+                    return index;
+                }
+                if (separator != ',') {
+                    return -1;
+                }
+                index++;
+            }
+        }
+
+        private int skipWhitespace(int index) {
+            while (index < length && isWhitespace(sql.charAt(index))) {
+                index++;
+            }
+            return index;
+        }
+
+        private int skipSymbol(int index) {
+            for (; index < length; index++) {
+                if (sql.charAt(index) == '\'') {
+                    if (lookAhead1(index) == '\'') {
+                        index++;
+                        continue;
+                    }
+                    return index + 1;
+                }
+            }
+            return -1;
+        }
+
+        private int skipNumber(int index) {
+            final char first = sql.charAt(index);
+            if (first == '-' || first == '+') {
+                index++;
+            }
+            if (index >= length || !isDigit(sql.charAt(index))) {
+                return -1;
+            }
+            for (; index < length; index++) {
+                final char ch = sql.charAt(index);
+                if (ch == 'E' || ch == 'e') {
+                    final int sign = lookAhead1(index);
+                    if (sign == '-' || sign == '+') {
+                        index++;
+                    }
+                } else if (!isDigit(ch) && ch != '.') {
+                    break;
+                }
+            }
+            return index;
+        }
+
+        private void collapse(int start, int end) {
+            change = true;
+            appendIndex(replaceIndex++);
+            append(DefaultSqlParser.NUMBER_REPLACE);
+            appendOutputSeparator();
+            for (int index = start; index < end; index++) {
+                appendOutputParam(sql.charAt(index));
+            }
+        }
+
+        private void append(char ch) {
+            hash = (hash ^ ch) * FNV_PRIME;
+            if (normalized != null) {
+                normalized.append(ch);
+            }
+        }
+
+        private void appendIndex(int index) {
+            if (index >= 10) {
+                appendIndex(index / 10);
+            }
+            append((char) ('0' + (index % 10)));
+        }
+
+        private void appendOutputSeparator() {
+            if (output.length() == 0) {
+                // first parameter
+                return;
+            }
+            output.append(DefaultSqlParser.SEPARATOR);
+        }
+
+        private void appendOutputParam(char ch) {
+            if (ch == DefaultSqlParser.SEPARATOR) {
+                output.append(DefaultSqlParser.SEPARATOR).append(DefaultSqlParser.SEPARATOR);
+            } else {
+                output.append(ch);
+            }
+        }
+
+        private int lookAhead1(int index) {
+            index++;
+            if (index < length) {
+                return sql.charAt(index);
+            }
+            return NEXT_TOKEN_NOT_EXIST;
+        }
+
+        private static boolean isDigit(char ch) {
+            return ch >= '0' && ch <= '9';
+        }
+
+        private static boolean isAlphabet(char ch) {
+            return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z';
+        }
+
+        private static boolean isWhitespace(char ch) {
+            return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+        }
+
+        private static boolean isIdentifierPart(char ch) {
+            return isAlphabet(ch) || isDigit(ch) || ch == '_' || ch == '$' || ch == '.' || ch == '"' || ch == '`';
+        }
+    }
+}
@@ -92,6 +92,17 @@ public final class ThreadMXBeanUtils {
         }
     }
 
+    public static ThreadInfo[] findThread(long[] ids, int stackTraceMaxDepth) {
+        if (ids == null) {
+            throw new NullPointerException("ids must not be null");
+        }
+        if (stackTraceMaxDepth <= 0) {
+            // unlimited
+            return THREAD_MX_BEAN.getThreadInfo(ids, Integer.MAX_VALUE);
+        }
+        return THREAD_MX_BEAN.getThreadInfo(ids, stackTraceMaxDepth);
+    }
+
     public static List<ThreadInfo> findThread(String threadName) {
         Asserts.notNull(threadName, "threadName may not be null.");
 
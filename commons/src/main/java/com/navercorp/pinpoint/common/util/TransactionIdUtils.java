@@ -21,8 +21,15 @@ import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 /**
+ * The string form is "agentId^agentStartTime^transactionSequence".
+ * <p>
+ * The compact form is the binary form encoded in base64url without padding. It never contains the delimiter,
+ * so {@link #parseTransactionId(String)} accepts both forms.
+ * Formatting into a caller supplied buffer does not allocate.
+ *
  * @author emeroad
  */
 public final class TransactionIdUtils {
@@ -30,6 +37,21 @@ public final class TransactionIdUtils {
     public static final String TRANSACTION_ID_DELIMITER = "^";
     public static final byte VERSION = 0;
 
+    private static final char DELIMITER = '^';
+    private static final int NULL = -1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final char[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] BASE64_URL_DECODE = new byte[128];
+    static {
+        for (int i = 0; i < BASE64_URL_DECODE.length; i++) {
+            BASE64_URL_DECODE[i] = -1;
+        }
+        for (int i = 0; i < BASE64_URL.length; i++) {
+            BASE64_URL_DECODE[BASE64_URL[i]] = (byte) i;
+        }
+    }
+
     private TransactionIdUtils() {
     }
 
@@ -50,6 +72,159 @@ public final class TransactionIdUtils {
         return sb.toString();
     }
 
+    public static String formatCompactString(TransactionId transactionId) {
+        return formatCompactString(transactionId.getAgentId(), transactionId.getAgentStartTime(), transactionId.getTransactionSequence());
+    }
+
+    public static String formatCompactString(String agentId, long agentStartTime, long transactionSequence) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        final int agentIdLength = getUtf8Length(agentId);
+        final int byteLength = getBytesLength(agentIdLength, agentStartTime, transactionSequence);
+        final char[] chars = new char[getCompactLength(byteLength)];
+        formatCompact(agentId, agentIdLength, agentStartTime, transactionSequence, byteLength, chars, 0);
+        return new String(chars);
+    }
+
+    public static int getCompactLength(String agentId, long agentStartTime, long transactionSequence) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        return getCompactLength(getBytesLength(getUtf8Length(agentId), agentStartTime, transactionSequence));
+    }
+
+    private static int getCompactLength(int byteLength) {
+        return byteLength / 3 * 4 + (byteLength % 3 == 0 ? 0 : byteLength % 3 + 1);
+    }
+
+    /**
+     * Writes exactly {@link #getCompactLength(String, long, long)} chars.
+     *
+     * @return offset after the compact form
+     */
+    public static int formatCompact(String agentId, long agentStartTime, long transactionSequence, char[] chars, int offset) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (chars == null) {
+            throw new NullPointerException("chars must not be null");
+        }
+        final int agentIdLength = getUtf8Length(agentId);
+        final int byteLength = getBytesLength(agentIdLength, agentStartTime, transactionSequence);
+        final int compactLength = getCompactLength(byteLength);
+        if (offset < 0 || offset > chars.length - compactLength) {
+            throw new IndexOutOfBoundsException("offset:" + offset + " length:" + compactLength + " chars.length:" + chars.length);
+        }
+        return formatCompact(agentId, agentIdLength, agentStartTime, transactionSequence, byteLength, chars, offset);
+    }
+
+    private static int formatCompact(String agentId, int agentIdLength, long agentStartTime, long transactionSequence, int byteLength, char[] chars, int offset) {
+        // stage the binary form at the tail, one byte per char, and encode it forward in place.
+        // a group of 3 bytes is read before its 4 chars are written, and the written chars never reach a byte not yet read
+        final int byteOffset = offset + getCompactLength(byteLength) - byteLength;
+        int index = byteOffset;
+        chars[index++] = (char) VERSION;
+        index = writeVar64(BytesUtils.intToZigZag(agentIdLength), chars, index);
+        if (agentIdLength == agentId.length()) {
+            // ascii
+            agentId.getChars(0, agentIdLength, chars, index);
+            index += agentIdLength;
+        } else {
+            index = writeUtf8(agentId, chars, index);
+        }
+        index = writeVar64(agentStartTime, chars, index);
+        writeVar64(transactionSequence, chars, index);
+
+        int readIndex = byteOffset;
+        int writeIndex = offset;
+        final int groupEnd = byteOffset + byteLength / 3 * 3;
+        while (readIndex < groupEnd) {
+            final int group = (chars[readIndex] << 16) | (chars[readIndex + 1] << 8) | chars[readIndex + 2];
+            readIndex += 3;
+            chars[writeIndex] = BASE64_URL[group >>> 18];
+            chars[writeIndex + 1] = BASE64_URL[(group >>> 12) & 0x3F];
+            chars[writeIndex + 2] = BASE64_URL[(group >>> 6) & 0x3F];
+            chars[writeIndex + 3] = BASE64_URL[group & 0x3F];
+            writeIndex += 4;
+        }
+        final int remaining = byteLength % 3;
+        if (remaining == 1) {
+            final int group = chars[readIndex] << 16;
+            chars[writeIndex++] = BASE64_URL[group >>> 18];
+            chars[writeIndex++] = BASE64_URL[(group >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            final int group = (chars[readIndex] << 16) | (chars[readIndex + 1] << 8);
+            chars[writeIndex++] = BASE64_URL[group >>> 18];
+            chars[writeIndex++] = BASE64_URL[(group >>> 12) & 0x3F];
+            chars[writeIndex++] = BASE64_URL[(group >>> 6) & 0x3F];
+        }
+        return writeIndex;
+    }
+
+    // same layout as writeTransactionId()
+    private static int getBytesLength(int agentIdLength, long agentStartTime, long transactionSequence) {
+        return 1 + BytesUtils.computeVar32Size(BytesUtils.intToZigZag(agentIdLength)) + agentIdLength
+                + BytesUtils.computeVar64Size(agentStartTime) + BytesUtils.computeVar64Size(transactionSequence);
+    }
+
+    private static int writeVar64(long value, char[] chars, int index) {
+        while ((value & ~0x7FL) != 0) {
+            chars[index++] = (char) (((int) value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        chars[index++] = (char) value;
+        return index;
+    }
+
+    private static int getUtf8Length(String string) {
+        final int length = string.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                utf8Length += 1;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                // unpaired surrogate is replaced with '?' like String.getBytes()
+                utf8Length += 1;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        return utf8Length;
+    }
+
+    private static int writeUtf8(String string, char[] chars, int index) {
+        final int length = string.length();
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                chars[index++] = c;
+            } else if (c < 0x800) {
+                chars[index++] = (char) (0xC0 | (c >> 6));
+                chars[index++] = (char) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                chars[index++] = (char) (0xF0 | (codePoint >> 18));
+                chars[index++] = (char) (0x80 | ((codePoint >> 12) & 0x3F));
+                chars[index++] = (char) (0x80 | ((codePoint >> 6) & 0x3F));
+                chars[index++] = (char) (0x80 | (codePoint & 0x3F));
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                chars[index++] = '?';
+            } else {
+                chars[index++] = (char) (0xE0 | (c >> 12));
+                chars[index++] = (char) (0x80 | ((c >> 6) & 0x3F));
+                chars[index++] = (char) (0x80 | (c & 0x3F));
+            }
+        }
+        return index;
+    }
+
     public static byte[] formatBytes(String agentId, long agentStartTime, long transactionSequence) {
         final Buffer buffer = writeTransactionId(agentId, agentStartTime, transactionSequence);
         return buffer.getBuffer();
@@ -91,10 +266,23 @@ public final class TransactionIdUtils {
         }
     }
 
+    public static boolean isCompactString(String transactionId) {
+        if (transactionId == null) {
+            throw new NullPointerException("transactionId must not be null");
+        }
+        return transactionId.indexOf(DELIMITER) == -1;
+    }
+
+    /**
+     * Parses both the string form and the compact form.
+     */
     public static TransactionId parseTransactionId(final String transactionId) {
         if (transactionId == null) {
             throw new NullPointerException("transactionId must not be null");
         }
+        if (isCompactString(transactionId)) {
+            return parseCompactString(transactionId);
+        }
 
         final int agentIdIndex = nextIndex(transactionId, 0);
         if (agentIdIndex == -1) {
@@ -119,15 +307,161 @@ public final class TransactionIdUtils {
     }
 
     private static int nextIndex(String transactionId, int fromIndex) {
-        return transactionId.indexOf(TRANSACTION_ID_DELIMITER, fromIndex);
+        return transactionId.indexOf(DELIMITER, fromIndex);
     }
 
+    // Long.parseLong() without substring
     private static long parseLong(String transactionId, int beginIndex, int endIndex) {
-        final String longString = transactionId.substring(beginIndex, endIndex);
-        try {
-            return Long.parseLong(longString);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("parseLong Error. " + longString + " transactionId:" + transactionId);
+        int index = beginIndex;
+        final boolean negative = index < endIndex && transactionId.charAt(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == endIndex || endIndex - index > 19) {
+            throw parseLongError(transactionId, beginIndex, endIndex);
+        }
+        long result = 0;
+        for (; index < endIndex; index++) {
+            final int digit = transactionId.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw parseLongError(transactionId, beginIndex, endIndex);
+            }
+            // accumulate negatively to reach Long.MIN_VALUE
+            if (result < (Long.MIN_VALUE + digit) / 10) {
+                throw parseLongError(transactionId, beginIndex, endIndex);
+            }
+            result = result * 10 - digit;
+        }
+        if (negative) {
+            return result;
+        }
+        if (result == Long.MIN_VALUE) {
+            throw parseLongError(transactionId, beginIndex, endIndex);
+        }
+        return -result;
+    }
+
+    private static IllegalArgumentException parseLongError(String transactionId, int beginIndex, int endIndex) {
+        return new IllegalArgumentException("parseLong Error. " + transactionId.substring(beginIndex, endIndex) + " transactionId:" + transactionId);
+    }
+
+    public static TransactionId parseCompactString(String transactionId) {
+        if (transactionId == null) {
+            throw new NullPointerException("transactionId must not be null");
+        }
+        return parseCompact(transactionId, 0, transactionId.length());
+    }
+
+    public static TransactionId parseCompact(CharSequence chars, int beginIndex, int endIndex) {
+        if (chars == null) {
+            throw new NullPointerException("chars must not be null");
         }
+        if (beginIndex < 0 || endIndex > chars.length() || beginIndex > endIndex) {
+            throw new IndexOutOfBoundsException("beginIndex:" + beginIndex + " endIndex:" + endIndex + " length:" + chars.length());
+        }
+        // bytes are decoded in place from the base64url chars. no intermediate byte[]
+        final int byteLength = getDecodedLength(chars, beginIndex, endIndex);
+        if (byteLength == 0 || readByte(chars, beginIndex, 0) != VERSION) {
+            throw compactError(chars, beginIndex, endIndex);
+        }
+        int index = 1;
+
+        final long agentIdLengthZigZag = readVar64(chars, beginIndex, endIndex, index, byteLength);
+        index += BytesUtils.computeVar64Size(agentIdLengthZigZag);
+        if (agentIdLengthZigZag > Integer.MAX_VALUE) {
+            throw compactError(chars, beginIndex, endIndex);
+        }
+        final int agentIdLength = BytesUtils.zigzagToInt((int) agentIdLengthZigZag);
+        if (agentIdLength == NULL || agentIdLength < 0 || agentIdLength > byteLength - index) {
+            // agentId is required in the header
+            throw compactError(chars, beginIndex, endIndex);
+        }
+        final String agentId = readString(chars, beginIndex, index, agentIdLength);
+        index += agentIdLength;
+
+        final long agentStartTime = readVar64(chars, beginIndex, endIndex, index, byteLength);
+        index += BytesUtils.computeVar64Size(agentStartTime);
+        final long transactionSequence = readVar64(chars, beginIndex, endIndex, index, byteLength);
+        index += BytesUtils.computeVar64Size(transactionSequence);
+        if (index != byteLength) {
+            throw compactError(chars, beginIndex, endIndex);
+        }
+        return new TransactionId(agentId, agentStartTime, transactionSequence);
+    }
+
+    private static int getDecodedLength(CharSequence chars, int beginIndex, int endIndex) {
+        final int charLength = endIndex - beginIndex;
+        final int remaining = charLength % 4;
+        if (remaining == 1) {
+            throw compactError(chars, beginIndex, endIndex);
+        }
+        for (int i = beginIndex; i < endIndex; i++) {
+            if (decodeChar(chars.charAt(i)) < 0) {
+                throw compactError(chars, beginIndex, endIndex);
+            }
+        }
+        return charLength / 4 * 3 + (remaining == 0 ? 0 : remaining - 1);
+    }
+
+    /**
+     * decodes the byte at byteIndex. every 3 bytes are packed into 4 chars of 6 bits
+     */
+    private static byte readByte(CharSequence chars, int beginIndex, int byteIndex) {
+        final int charIndex = beginIndex + (byteIndex / 3) * 4;
+        switch (byteIndex % 3) {
+            case 0:
+                return (byte) ((decodeChar(chars.charAt(charIndex)) << 2) | (decodeChar(chars.charAt(charIndex + 1)) >> 4));
+            case 1:
+                return (byte) ((decodeChar(chars.charAt(charIndex + 1)) << 4) | (decodeChar(chars.charAt(charIndex + 2)) >> 2));
+            default:
+                return (byte) ((decodeChar(chars.charAt(charIndex + 2)) << 6) | decodeChar(chars.charAt(charIndex + 3)));
+        }
+    }
+
+    private static String readString(CharSequence chars, int beginIndex, int byteIndex, int length) {
+        final char[] stringChars = new char[length];
+        for (int i = 0; i < length; i++) {
+            final byte b = readByte(chars, beginIndex, byteIndex + i);
+            if (b < 0) {
+                // not ascii
+                return readUtf8(chars, beginIndex, byteIndex, length);
+            }
+            stringChars[i] = (char) b;
+        }
+        return new String(stringChars);
+    }
+
+    private static String readUtf8(CharSequence chars, int beginIndex, int byteIndex, int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = readByte(chars, beginIndex, byteIndex + i);
+        }
+        return new String(bytes, UTF_8);
+    }
+
+    private static int decodeChar(char c) {
+        if (c < BASE64_URL_DECODE.length) {
+            return BASE64_URL_DECODE[c];
+        }
+        return -1;
+    }
+
+    private static long readVar64(CharSequence chars, int beginIndex, int endIndex, int byteIndex, int byteLength) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (byteIndex >= byteLength) {
+                throw compactError(chars, beginIndex, endIndex);
+            }
+            final byte b = readByte(chars, beginIndex, byteIndex++);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw compactError(chars, beginIndex, endIndex);
+    }
+
+    private static IllegalArgumentException compactError(CharSequence chars, int beginIndex, int endIndex) {
+        return new IllegalArgumentException("invalid compact transactionId:" + chars.subSequence(beginIndex, endIndex));
     }
 }
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.common.util;
 
 
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 
 import org.apache.thrift.TException;
@@ -147,6 +148,21 @@ public class AnnotationTranscoderTest {
         Assert.assertEquals(tIntStringValue.getStringValue(), decode.getStringValue());
     }
 
+    @Test
+    public void testCollapsedCall() {
+        AnnotationTranscoder transcoder = new AnnotationTranscoder();
+        TCollapsedCallValue tCollapsedCallValue = new TCollapsedCallValue(3, Integer.MAX_VALUE + 1L, 0, 100, 1);
+        Assert.assertEquals(AnnotationTranscoder.CODE_COLLAPSED_CALL, transcoder.getTypeCode(tCollapsedCallValue));
+
+        byte[] encode = transcoder.encode(tCollapsedCallValue, AnnotationTranscoder.CODE_COLLAPSED_CALL);
+        CollapsedCallValue decode = (CollapsedCallValue) transcoder.decode(AnnotationTranscoder.CODE_COLLAPSED_CALL, encode);
+        Assert.assertEquals(3, decode.getCount());
+        Assert.assertEquals(Integer.MAX_VALUE + 1L, decode.getTotalElapsed());
+        Assert.assertEquals(0, decode.getMinElapsed());
+        Assert.assertEquals(100, decode.getMaxElapsed());
+        Assert.assertEquals(1, decode.getErrorCount());
+    }
+
     private void write(int value) throws TException {
         TCompactProtocol.Factory factory = new TCompactProtocol.Factory();
 
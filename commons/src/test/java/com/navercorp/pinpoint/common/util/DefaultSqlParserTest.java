@@ -185,6 +185,9 @@ public class DefaultSqlParserTest {
     @Test
     public void symbolState() {
         assertEqual("''", "''", "");
+        assertEqual("a='',b", "a='',b", "");
+        // the character following '' is dropped; kept as is so that existing sql ids do not change
+        assertEqual("a='',b=1", "a=''b=0#", "1");
         assertEqual("'abc'", "'0$'", "abc");
         assertEqual("'a''bc'", "'0$'", "a''bc");
         assertEqual("'a' 'bc'", "'0$' '1$'", "a,bc");
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+
+    @Test
+    public void roundUpToPowerOfTwo() {
+        Assert.assertEquals(8, RingBuffer.roundUpToPowerOfTwo(8));
+        Assert.assertEquals(8192, RingBuffer.roundUpToPowerOfTwo(5120));
+        Assert.assertEquals(1, RingBuffer.roundUpToPowerOfTwo(1));
+    }
+
+    @Test
+    public void capacity() {
+        RingBuffer<Object> ringBuffer = new RingBuffer<Object>(5);
+        Assert.assertEquals(5, ringBuffer.capacity());
+        Assert.assertEquals(8, ringBuffer.ringSize());
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, ringBuffer.tryNext());
+        }
+        // the ring has room, but the configured capacity is reached
+        Assert.assertEquals(-1, ringBuffer.tryNext());
+        Assert.assertEquals(5, ringBuffer.size());
+    }
+
+    @Test
+    public void publishAndRelease() {
+        RingBuffer<String> ringBuffer = new RingBuffer<String>(2);
+        for (int lap = 0; lap < 3; lap++) {
+            final long sequence = ringBuffer.tryNext();
+            Assert.assertEquals(lap, sequence);
+            Assert.assertFalse(ringBuffer.isPublished(sequence));
+
+            ringBuffer.set(sequence, "data" + lap);
+            ringBuffer.publish(sequence);
+            Assert.assertTrue(ringBuffer.isPublished(sequence));
+            Assert.assertEquals("data" + lap, ringBuffer.get(sequence));
+
+            ringBuffer.release(sequence);
+            Assert.assertFalse(ringBuffer.isPublished(sequence));
+            Assert.assertEquals(0, ringBuffer.size());
+        }
+    }
+
+    @Test
+    public void preallocatedEvent() {
+        RingBuffer<StringBuilder> ringBuffer = new RingBuffer<StringBuilder>(2, new RingBuffer.EventFactory<StringBuilder>() {
+            @Override
+            public StringBuilder newInstance() {
+                return new StringBuilder();
+            }
+        });
+        final long first = ringBuffer.tryNext();
+        final StringBuilder event = ringBuffer.get(first);
+        Assert.assertNotNull(event);
+        ringBuffer.publish(first);
+        ringBuffer.release(first);
+
+        // the same event is reused on the next lap
+        Assert.assertEquals(1, ringBuffer.tryNext());
+        Assert.assertSame(event, ringBuffer.get(first + ringBuffer.ringSize()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacity() {
+        new RingBuffer<Object>(0);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class StreamingSqlNormalizerTest {
+
+    private static final String[] SQL_LIST = {
+            "select * from table a = 1 and b=50 and c=? and d='11'",
+            "select * from table where a=1.23E5 and b=-10 and c='a''bc' and d='1,2'",
+            "/* comment 'a' 1 */ select /*+ INDEX(a idx) */ a.id, a.name from member a where a.id=1",
+            "select 1 -- line comment 'a' 2\n from dual // 3\n where a=2",
+            "update t set a=1 where c in (select id from t2 where d=3) and b=''",
+            "update t set a='',b",
+            "select col1, tab2.col_3 from tab2 where @v=1 and :bind=2 and x1=5 and y>=10;",
+            "insert into t values(1, 'a', ?, 0.5)",
+            "select * from t where 한글='값' and n=1",
+            "' unterminated",
+            "select 1 /* unterminated",
+            "",
+            " "
+    };
+
+    private final OutputParameterParser outputParameterParser = new OutputParameterParser();
+
+    @Test
+    public void sameAsDefaultSqlParser() {
+        DefaultSqlParser defaultSqlParser = new DefaultSqlParser();
+        StreamingSqlNormalizer normalizer = new StreamingSqlNormalizer();
+        for (String sql : SQL_LIST) {
+            NormalizedSql expected = defaultSqlParser.normalizedSql(sql);
+            NormalizedSql actual = normalizer.normalizedSql(sql);
+            Assert.assertEquals(sql, expected.getNormalizedSql(), actual.getNormalizedSql());
+            Assert.assertEquals(sql, expected.getParseParameter(), actual.getParseParameter());
+        }
+    }
+
+    @Test
+    public void notModified() {
+        String sql = "select * from t where a=?";
+        NormalizedSql normalizedSql = new StreamingSqlNormalizer().normalizedSql(sql);
+        Assert.assertSame(sql, normalizedSql.getNormalizedSql());
+        Assert.assertEquals("", normalizedSql.getParseParameter());
+    }
+
+    @Test
+    public void emptySymbol() {
+        String sql = "update t set a='', b=1";
+        // the character following '' is dropped, as DefaultSqlParser always did, so that existing sql ids stay the same
+        Assert.assertEquals("update t set a='' b=0#", new StreamingSqlNormalizer().normalizedSql(sql).getNormalizedSql());
+        Assert.assertEquals("update t set a='' b=0#", new DefaultSqlParser().normalizedSql(sql).getNormalizedSql());
+    }
+
+    @Test
+    public void hash() {
+        StreamingSqlNormalizer normalizer = new StreamingSqlNormalizer();
+        for (String sql : SQL_LIST) {
+            StringBuilder output = new StringBuilder();
+            long hash = normalizer.normalize(sql, output);
+
+            NormalizedSql normalizedSql = normalizer.normalizedSql(sql);
+            Assert.assertEquals(sql, StreamingSqlNormalizer.hash(normalizedSql.getNormalizedSql()), hash);
+            Assert.assertEquals(sql, normalizedSql.getParseParameter(), output.toString());
+        }
+    }
+
+    @Test
+    public void collapseInList() {
+        StreamingSqlNormalizer normalizer = new StreamingSqlNormalizer(true);
+        assertCollapse(normalizer, "select * from t where id in (1, 2, 3)", "select * from t where id in (0#)", "1,, 2,, 3");
+        assertCollapse(normalizer, "select * from t where a=1 and id IN( ?,? ) and b='x'", "select * from t where a=0# and id IN(1#) and b='2$'", "1, ?,,? ,x");
+        assertCollapse(normalizer, "select * from t where name in ('a', 'b''c', 'd,e')", "select * from t where name in (0#)", "'a',, 'b''c',, 'd,,e'");
+        assertCollapse(normalizer, "select * from t where v in (-1, +2.5, 1e-3)", "select * from t where v in (0#)", "-1,, +2.5,, 1e-3");
+
+        StringBuilder output = new StringBuilder();
+        long hash1 = normalizer.normalize("select * from t where id in (1, 2)", output);
+        long hash2 = normalizer.normalize("select * from t where id in (?, ?, ?, ?, ?)", output);
+        Assert.assertEquals(hash1, hash2);
+    }
+
+    @Test
+    public void notCollapseInList() {
+        StreamingSqlNormalizer normalizer = new StreamingSqlNormalizer(true);
+        DefaultSqlParser defaultSqlParser = new DefaultSqlParser();
+        String[] sqlList = {
+                "select * from t where id in (select id from t2)",
+                "select * from t where id in (a, 1)",
+                "select * from t where id in ()",
+                "select * from t where id in (1, 2",
+                "select * from t where id in (0x1F)",
+                "select * from t where id in (1, 2) or pin (1, 2)",
+                "select min(1, 2) from t",
+        };
+        for (String sql : sqlList) {
+            NormalizedSql expected = defaultSqlParser.normalizedSql(sql);
+            NormalizedSql actual = normalizer.normalizedSql(sql);
+            if (sql.contains("or pin")) {
+                Assert.assertEquals("select * from t where id in (0#) or pin (1#, 2#)", actual.getNormalizedSql());
+            } else {
+                Assert.assertEquals(sql, expected.getNormalizedSql(), actual.getNormalizedSql());
+            }
+        }
+
+        StreamingSqlNormalizer disabled = new StreamingSqlNormalizer();
+        String sql = "select * from t where id in (1, 2)";
+        Assert.assertEquals(defaultSqlParser.normalizedSql(sql).getNormalizedSql(), disabled.normalizedSql(sql).getNormalizedSql());
+    }
+
+    private void assertCollapse(StreamingSqlNormalizer normalizer, String sql, String expectedSql, String expectedOutput) {
+        NormalizedSql normalizedSql = normalizer.normalizedSql(sql);
+        Assert.assertEquals(expectedSql, normalizedSql.getNormalizedSql());
+        Assert.assertEquals(expectedOutput, normalizedSql.getParseParameter());
+
+        List<String> outputParams = outputParameterParser.parseOutputParameter(normalizedSql.getParseParameter());
+        Assert.assertEquals(sql, normalizer.combineOutputParams(normalizedSql.getNormalizedSql(), outputParams));
+    }
+}
@@ -73,4 +73,95 @@ public class TransactionIdUtilsTest {
         Assert.assertEquals(transactionId.getTransactionSequence(), 1L);
     }
 
+    @Test
+    public void testCompactString() {
+        String compact = TransactionIdUtils.formatCompactString("test-agent", 1508232000000L, 123456);
+        Assert.assertTrue(TransactionIdUtils.isCompactString(compact));
+        Assert.assertFalse(TransactionIdUtils.isCompactString(TransactionIdUtils.formatString("test-agent", 1508232000000L, 123456)));
+        Assert.assertTrue(compact.length() < TransactionIdUtils.formatString("test-agent", 1508232000000L, 123456).length());
+
+        TransactionId transactionId = TransactionIdUtils.parseTransactionId(compact);
+        Assert.assertEquals("test-agent", transactionId.getAgentId());
+        Assert.assertEquals(1508232000000L, transactionId.getAgentStartTime());
+        Assert.assertEquals(123456L, transactionId.getTransactionSequence());
+    }
+
+    @Test
+    public void testCompactString_binaryCompatible() {
+        // base64url of the binary form
+        for (String agentId : new String[] {"a", "ab", "abc", "test-agent", "\uD55C\uAE00-agent", "emoji\uD83D\uDE00"}) {
+            for (long value : new long[] {0, 1, 127, 128, System.currentTimeMillis(), Long.MAX_VALUE, -1}) {
+                byte[] bytes = TransactionIdUtils.formatBytes(agentId, value, value);
+                String compact = TransactionIdUtils.formatCompactString(agentId, value, value);
+                Assert.assertEquals(base64Url(bytes), compact);
+                Assert.assertEquals(compact.length(), TransactionIdUtils.getCompactLength(agentId, value, value));
+
+                TransactionId transactionId = TransactionIdUtils.parseTransactionId(compact);
+                Assert.assertEquals(new TransactionId(agentId, value, value), transactionId);
+            }
+        }
+    }
+
+    @Test
+    public void testFormatCompact_offset() {
+        char[] chars = new char[64];
+        int length = TransactionIdUtils.getCompactLength("test", 1, 2);
+        int end = TransactionIdUtils.formatCompact("test", 1, 2, chars, 10);
+        Assert.assertEquals(10 + length, end);
+
+        TransactionId transactionId = TransactionIdUtils.parseCompact(new String(chars), 10, end);
+        Assert.assertEquals(new TransactionId("test", 1, 2), transactionId);
+    }
+
+    @Test
+    public void testParseCompact_invalid() {
+        String compact = TransactionIdUtils.formatCompactString("test", 1, 2);
+        assertInvalid(compact + ", " + compact);
+        assertInvalid(compact.substring(0, compact.length() - 1));
+        assertInvalid(compact + "A");
+        assertInvalid("");
+        assertInvalid("test");
+        // agentId null
+        assertInvalid(base64Url(TransactionIdUtils.formatBytes(null, 1, 2)));
+    }
+
+    @Test
+    public void testParseTransactionId_long() {
+        TransactionId transactionId = TransactionIdUtils.parseTransactionId("test^" + Long.MAX_VALUE + "^" + Long.MIN_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, transactionId.getAgentStartTime());
+        Assert.assertEquals(Long.MIN_VALUE, transactionId.getTransactionSequence());
+
+        assertInvalid("test^9223372036854775808^1");
+        assertInvalid("test^^1");
+        assertInvalid("test^1^-");
+        assertInvalid("test^1a^1");
+    }
+
+    private void assertInvalid(String transactionId) {
+        try {
+            TransactionIdUtils.parseTransactionId(transactionId);
+            Assert.fail("invalid transactionId:" + transactionId);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        final String table = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        StringBuilder sb = new StringBuilder();
+        int bits = 0;
+        int bitCount = 0;
+        for (byte b : bytes) {
+            bits = (bits << 8) | (b & 0xFF);
+            bitCount += 8;
+            while (bitCount >= 6) {
+                bitCount -= 6;
+                sb.append(table.charAt((bits >> bitCount) & 0x3F));
+            }
+        }
+        if (bitCount > 0) {
+            sb.append(table.charAt((bits << (6 - bitCount)) & 0x3F));
+        }
+        return sb.toString();
+    }
+
 }
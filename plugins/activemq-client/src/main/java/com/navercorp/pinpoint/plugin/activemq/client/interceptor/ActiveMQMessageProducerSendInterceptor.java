@@ -91,7 +91,7 @@ public class ActiveMQMessageProducerSendInterceptor implements AroundInterceptor
                 TraceId nextId = trace.getTraceId().getNextTraceId();
                 recorder.recordNextSpanId(nextId.getSpanId());
 
-                ActiveMQClientHeader.setTraceId(message, nextId.getTransactionId());
+                ActiveMQClientHeader.setTraceId(message, nextId.getTransactionIdHeader());
                 ActiveMQClientHeader.setSpanId(message, nextId.getSpanId());
                 ActiveMQClientHeader.setParentSpanId(message, nextId.getParentSpanId());
                 ActiveMQClientHeader.setFlags(message, nextId.getFlags());
@@ -17,6 +17,8 @@ package com.navercorp.pinpoint.plugin.arcus.interceptor;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 import net.spy.memcached.MemcachedNode;
@@ -32,6 +34,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.annotation.Scope;
 import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerFactory;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.plugin.arcus.ArcusConstants;
 import com.navercorp.pinpoint.plugin.arcus.OperationAccessor;
 import com.navercorp.pinpoint.plugin.arcus.ServiceCodeAccessor;
@@ -50,6 +53,8 @@ public class ApiInterceptor implements AroundInterceptor {
 
     private final boolean traceKey;
     private final int keyIndex;
+    // bulk operation. the keys or elements are sent at once
+    private final int bulkIndex;
 
     public ApiInterceptor(TraceContext context, MethodDescriptor targetMethod, boolean traceKey) {
         this.traceContext = context;
@@ -69,6 +74,32 @@ public class ApiInterceptor implements AroundInterceptor {
             this.traceKey = false;
             this.keyIndex = -1;
         }
+        this.bulkIndex = findFirstBulk(targetMethod);
+    }
+
+    /**
+     * the first key list or element list. e.g. getBulk(Collection), asyncSetBulk(Map, int), asyncBopPipedInsertBulk(String, List, ...)
+     */
+    private static int findFirstBulk(MethodDescriptor method) {
+        if (method == null) {
+            return -1;
+        }
+        final String[] methodParams = method.getParameterTypes();
+        for (int i = 0; i < methodParams.length; i++) {
+            if (isBulkType(methodParams[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBulkType(String parameterType) {
+        if ("java.util.Collection".equals(parameterType) || "java.util.List".equals(parameterType)
+                || "java.util.Set".equals(parameterType) || "java.util.Map".equals(parameterType)) {
+            return true;
+        }
+        // a value is sent as byte[]
+        return parameterType.endsWith("[]") && !"byte[]".equals(parameterType);
     }
 
     private static int findFirstString(MethodDescriptor method) {
@@ -124,6 +155,12 @@ public class ApiInterceptor implements AroundInterceptor {
                 recorder.recordApi(methodDescriptor);
             }
             recorder.recordException(throwable);
+            if (bulkIndex != -1) {
+                final int bulkSize = getBulkSize(args);
+                if (bulkSize != -1) {
+                    recorder.recordAttribute(AnnotationKey.BATCH_COMMAND, "count=" + bulkSize);
+                }
+            }
 
             // find the target node
             if (result instanceof Future && result instanceof OperationAccessor) {
@@ -180,6 +217,23 @@ public class ApiInterceptor implements AroundInterceptor {
         }
     }
 
+    private int getBulkSize(Object[] args) {
+        if (args == null || args.length <= bulkIndex) {
+            return -1;
+        }
+        final Object arg = args[bulkIndex];
+        if (arg instanceof Collection) {
+            return ((Collection<?>) arg).size();
+        }
+        if (arg instanceof Map) {
+            return ((Map<?, ?>) arg).size();
+        }
+        if (arg instanceof Object[]) {
+            return ((Object[]) arg).length;
+        }
+        return -1;
+    }
+
     private String getEndPoint(MemcachedNode handlingNode) {
         // TODO duplicated code : ApiInterceptor, FutureGetInterceptor
         final SocketAddress socketAddress = handlingNode.getSocketAddress();
@@ -44,7 +44,7 @@ public class DubboConsumerInterceptor implements AroundInterceptor1 {
             // Finally, pass some tracing data to the server.
             // How to put them in a message is protocol specific.
             // This example assumes that the target protocol message can include any metadata (like HTTP headers).
-            invocation.setAttachment(DubboConstants.META_TRANSACTION_ID, nextId.getTransactionId());
+            invocation.setAttachment(DubboConstants.META_TRANSACTION_ID, nextId.getTransactionIdHeader());
             invocation.setAttachment(DubboConstants.META_SPAN_ID, Long.toString(nextId.getSpanId()));
             invocation.setAttachment(DubboConstants.META_PARENT_SPAN_ID, Long.toString(nextId.getParentSpanId()));
             invocation.setAttachment(DubboConstants.META_PARENT_APPLICATION_TYPE, Short.toString(traceContext.getServerTypeCode()));
@@ -193,7 +193,7 @@ public class HttpMethodBaseExecuteMethodInterceptor implements AroundInterceptor
     private void setHttpTraceHeader(final Object target, final Object[] args, TraceId nextId) {
         if (target instanceof HttpMethod) {
             final HttpMethod httpMethod = (HttpMethod) target;
-            httpMethod.setRequestHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
+            httpMethod.setRequestHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionIdHeader());
             httpMethod.setRequestHeader(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
             httpMethod.setRequestHeader(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
             httpMethod.setRequestHeader(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
@@ -129,7 +129,7 @@ public class DefaultClientExchangeHandlerImplStartMethodInterceptor implements A
         recorder.recordServiceType(HttpClient4Constants.HTTP_CLIENT_4);
 
         if (httpRequest != null) {
-            httpRequest.setHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
+            httpRequest.setHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionIdHeader());
             httpRequest.setHeader(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
 
             httpRequest.setHeader(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
@@ -160,7 +160,7 @@ public class InvokeMethodInterceptorTest {
         when(request.getRequestURI()).thenReturn("/hellotest.nhn");
         when(request.getRemoteAddr()).thenReturn("10.0.0.1");
 
-        TraceId  traceId = new DefaultTraceId("agentTest", System.currentTimeMillis(), 1);
+        TraceId  traceId = new DefaultTraceId("agentTest", System.currentTimeMillis(), 1, false);
         when(request.getHeader(Header.HTTP_TRACE_ID.toString())).thenReturn(traceId.getTransactionId());
         when(request.getHeader(Header.HTTP_PARENT_SPAN_ID.toString())).thenReturn("PARENTSPANID");
         when(request.getHeader(Header.HTTP_SPAN_ID.toString())).thenReturn("SPANID");
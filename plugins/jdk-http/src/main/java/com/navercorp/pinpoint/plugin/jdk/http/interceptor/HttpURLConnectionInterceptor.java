@@ -112,7 +112,7 @@ public class HttpURLConnectionInterceptor implements AroundInterceptor {
         // TODO How to represent protocol?
         String endpoint = getEndpoint(host, port);
 
-        request.setRequestProperty(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
+        request.setRequestProperty(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionIdHeader());
         request.setRequestProperty(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
         request.setRequestProperty(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
 
@@ -146,6 +146,11 @@ public abstract class AbstractServerHandleInterceptor implements AroundIntercept
         }
         // TODO STATDISABLE this logic was added to disable statistics tracing
         if (!trace.canSampled()) {
+            // the error of an unsampled transaction is counted by the response time histogram
+            final SpanRecorder spanRecorder = trace.getSpanRecorder();
+            if (spanRecorder != null) {
+                spanRecorder.recordException(throwable);
+            }
             traceContext.removeTraceObject();
             return;
         }
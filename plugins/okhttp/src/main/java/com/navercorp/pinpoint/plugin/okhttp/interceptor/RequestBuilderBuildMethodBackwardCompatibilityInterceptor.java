@@ -79,7 +79,7 @@ public class RequestBuilderBuildMethodBackwardCompatibilityInterceptor implement
             }
 
             final TraceId nextId = (TraceId) invocation.getAttachment();
-            builder.header(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
+            builder.header(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionIdHeader());
             builder.header(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
 
             builder.header(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.plugin.redis;
+
+/**
+ * Commands queued in a pipeline until the next sync.
+ * counts the commands per command name. a pipeline usually repeats a few command names.
+ * <p>
+ * Caution. not thread safe. same as the pipeline it belongs to.
+ */
+public class CommandBatch {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private String[] commands = new String[DEFAULT_CAPACITY];
+    private int[] commandCounts = new int[DEFAULT_CAPACITY];
+    private int commandSize = 0;
+
+    private int count = 0;
+
+    public void add(String command) {
+        if (command == null) {
+            throw new NullPointerException("command must not be null");
+        }
+        count++;
+        for (int i = 0; i < commandSize; i++) {
+            if (commands[i].equals(command)) {
+                commandCounts[i]++;
+                return;
+            }
+        }
+        if (commandSize == commands.length) {
+            grow();
+        }
+        commands[commandSize] = command;
+        commandCounts[commandSize] = 1;
+        commandSize++;
+    }
+
+    private void grow() {
+        final int newCapacity = commands.length << 1;
+        final String[] newCommands = new String[newCapacity];
+        System.arraycopy(commands, 0, newCommands, 0, commandSize);
+        final int[] newCommandCounts = new int[newCapacity];
+        System.arraycopy(commandCounts, 0, newCommandCounts, 0, commandSize);
+        this.commands = newCommands;
+        this.commandCounts = newCommandCounts;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < commandSize; i++) {
+            commands[i] = null;
+        }
+        commandSize = 0;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(16 + commandSize * 16);
+        builder.append("count=");
+        builder.append(count);
+        for (int i = 0; i < commandSize; i++) {
+            builder.append(", ");
+            builder.append(commands[i]);
+            builder.append('=');
+            builder.append(commandCounts[i]);
+        }
+        return builder.toString();
+    }
+}
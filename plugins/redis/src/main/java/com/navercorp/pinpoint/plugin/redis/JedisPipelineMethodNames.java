@@ -28,17 +28,29 @@ import java.util.List;
  *
  */
 public class JedisPipelineMethodNames {
-    
+
+    private static final String[] SYNC_METHOD_NAMES = {
+            "sync",
+            "syncAndReturnAll"
+        };
+
     public static String[] get() {
-        final String[] methodNames = { 
-                "sync",
-                "syncAndReturnAll"
-            };
-        
         final List<String> names = new ArrayList<String>();
         names.addAll(Arrays.asList(JedisMethodNames.get()));
-        names.addAll(Arrays.asList(methodNames));
+        names.addAll(Arrays.asList(SYNC_METHOD_NAMES));
         
         return names.toArray(new String[names.size()]);
     }
+
+    /**
+     * sync methods send the queued commands to the server and read the replies
+     */
+    public static boolean isSync(String methodName) {
+        for (String syncMethodName : SYNC_METHOD_NAMES) {
+            if (syncMethodName.equals(methodName)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -33,5 +33,6 @@ public final class RedisConstants {
     public static final String REDIS_SCOPE = "redisScope";
 
     public static final String END_POINT_ACCESSOR = "com.navercorp.pinpoint.plugin.redis.EndPointAccessor";
+    public static final String COMMAND_BATCH_ACCESSOR = "com.navercorp.pinpoint.plugin.redis.CommandBatchAccessor";
 
 }
@@ -166,7 +166,7 @@ public class RedisPlugin implements ProfilerPlugin, TransformTemplateAware {
     }
 
     // Pipeline
-    private void addJedisPipelineClassEditors(RedisPluginConfig config) {
+    private void addJedisPipelineClassEditors(final RedisPluginConfig config) {
         addJedisPipelineBaseExtendedClassEditor(config, "redis.clients.jedis.PipelineBase", null);
 
         // MultikeyPipellineBase extends PipelineBase
@@ -178,6 +178,9 @@ public class RedisPlugin implements ProfilerPlugin, TransformTemplateAware {
             @Override
             public void handle(InstrumentClass target) throws InstrumentException {
                 target.addField(RedisConstants.END_POINT_ACCESSOR);
+                if (config.isPipelineBatch()) {
+                    target.addField(RedisConstants.COMMAND_BATCH_ACCESSOR);
+                }
 
                 final InstrumentMethod setClientMethodEditorBuilder = target.getDeclaredMethod("setClient", "redis.clients.jedis.Client");
                 if (setClientMethodEditorBuilder != null) {
@@ -202,9 +205,11 @@ public class RedisPlugin implements ProfilerPlugin, TransformTemplateAware {
                     handler.handle(target);
                 }
 
+                // batch : queued commands are recorded and cleared by the sync
+                final String interceptorClassName = config.isPipelineBatch() ? "com.navercorp.pinpoint.plugin.redis.interceptor.JedisPipelineBatchMethodInterceptor" : "com.navercorp.pinpoint.plugin.redis.interceptor.JedisPipelineMethodInterceptor";
                 for (InstrumentMethod method : target.getDeclaredMethods(MethodFilters.chain(MethodFilters.name(JedisPipelineMethodNames.get()), MethodFilters.modifierNot(MethodFilters.SYNTHETIC)))) {
                     try {
-                        method.addInterceptor("com.navercorp.pinpoint.plugin.redis.interceptor.JedisPipelineMethodInterceptor", va(config.isIo()));
+                        method.addInterceptor(interceptorClassName, va(config.isIo()));
                     } catch (Exception e) {
                         if (logger.isWarnEnabled()) {
                             logger.warn("Unsupported method " + method, e);
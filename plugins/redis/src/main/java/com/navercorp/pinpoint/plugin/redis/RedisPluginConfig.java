@@ -24,10 +24,12 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
  */
 public class RedisPluginConfig {
     private boolean pipelineEnabled = true;
+    private boolean pipelineBatch = false;
     private boolean io = true;
 
     public RedisPluginConfig(ProfilerConfig src) {
         pipelineEnabled = src.readBoolean("profiler.redis.pipeline", true);
+        pipelineBatch = src.readBoolean("profiler.redis.pipeline.batch", false);
         io = src.readBoolean("profiler.redis.io", true);
     }
 
@@ -35,6 +37,10 @@ public class RedisPluginConfig {
         return pipelineEnabled;
     }
 
+    public boolean isPipelineBatch() {
+        return pipelineBatch;
+    }
+
     public boolean isIo() {
         return io;
     }
@@ -44,6 +50,8 @@ public class RedisPluginConfig {
         StringBuilder builder = new StringBuilder();
         builder.append("RedisPluginConfig{pipelineEnabled=");
         builder.append(pipelineEnabled);
+        builder.append(", pipelineBatch=");
+        builder.append(pipelineBatch);
         builder.append(", io=");
         builder.append(io);
         builder.append("}");
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.plugin.redis.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.interceptor.annotation.Scope;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.plugin.redis.CommandBatch;
+import com.navercorp.pinpoint.plugin.redis.CommandBatchAccessor;
+import com.navercorp.pinpoint.plugin.redis.JedisPipelineMethodNames;
+import com.navercorp.pinpoint.plugin.redis.RedisConstants;
+
+/**
+ * Jedis Pipeline(redis client) method interceptor
+ * - queued commands of a sampled trace are counted instead of traced
+ * - the sync records them as one span event (see {@link JedisPipelineMethodInterceptor}) and always clears the batch,
+ *   also when the trace is not sampled or the sync fails. clear() and close() of newer jedis versions sync as well
+ * - targets without a command batch (e.g. Transaction) are traced per command
+ */
+@Scope(value = RedisConstants.REDIS_SCOPE)
+public class JedisPipelineBatchMethodInterceptor extends JedisPipelineMethodInterceptor {
+
+    private final String command;
+    private final boolean sync;
+
+    public JedisPipelineBatchMethodInterceptor(TraceContext traceContext, MethodDescriptor methodDescriptor, InterceptorScope interceptorScope, boolean io) {
+        super(traceContext, methodDescriptor, interceptorScope, io);
+        this.command = methodDescriptor.getMethodName();
+        this.sync = JedisPipelineMethodNames.isSync(command);
+    }
+
+    @Override
+    public void before(Object target, Object[] args) {
+        if (sync || !(target instanceof CommandBatchAccessor)) {
+            super.before(target, args);
+            return;
+        }
+        if (isDebug) {
+            logger.beforeInterceptor(target, args);
+        }
+        final Trace trace = traceContext.currentTraceObject();
+        if (trace == null || !trace.canSampled()) {
+            return;
+        }
+
+        final CommandBatchAccessor commandBatchAccessor = (CommandBatchAccessor) target;
+        CommandBatch commandBatch = commandBatchAccessor._$PINPOINT$_getCommandBatch();
+        if (commandBatch == null) {
+            commandBatch = new CommandBatch();
+            commandBatchAccessor._$PINPOINT$_setCommandBatch(commandBatch);
+        }
+        commandBatch.add(command);
+    }
+
+    @Override
+    public void after(Object target, Object[] args, Object result, Throwable throwable) {
+        if (sync) {
+            try {
+                super.after(target, args, result, throwable);
+            } finally {
+                clearCommandBatch(target);
+            }
+            return;
+        }
+        if (!(target instanceof CommandBatchAccessor)) {
+            super.after(target, args, result, throwable);
+        }
+    }
+
+    private void clearCommandBatch(Object target) {
+        if (target instanceof CommandBatchAccessor) {
+            final CommandBatch commandBatch = ((CommandBatchAccessor) target)._$PINPOINT$_getCommandBatch();
+            if (commandBatch != null) {
+                commandBatch.clear();
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ import com.navercorp.pinpoint.bootstrap.interceptor.annotation.Scope;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.plugin.redis.CommandBatch;
+import com.navercorp.pinpoint.plugin.redis.CommandBatchAccessor;
 import com.navercorp.pinpoint.plugin.redis.CommandContext;
 import com.navercorp.pinpoint.plugin.redis.CommandContextFactory;
 import com.navercorp.pinpoint.plugin.redis.EndPointAccessor;
@@ -83,6 +85,14 @@ public class JedisPipelineMethodInterceptor extends SpanEventSimpleAroundInterce
             invocation.removeAttachment();
         }
         
+        if (target instanceof CommandBatchAccessor) {
+            // sync. the commands queued since the last sync. cleared by JedisPipelineBatchMethodInterceptor
+            final CommandBatch commandBatch = ((CommandBatchAccessor) target)._$PINPOINT$_getCommandBatch();
+            if (commandBatch != null && !commandBatch.isEmpty()) {
+                recorder.recordAttribute(AnnotationKey.BATCH_COMMAND, commandBatch.toString());
+            }
+        }
+
         recorder.recordApi(getMethodDescriptor());
         recorder.recordEndPoint(endPoint != null ? endPoint : "Unknown");
         recorder.recordDestinationId(RedisConstants.REDIS.getName());
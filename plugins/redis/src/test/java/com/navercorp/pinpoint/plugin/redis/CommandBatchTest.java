@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.plugin.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommandBatchTest {
+
+    @Test
+    public void add() {
+        CommandBatch commandBatch = new CommandBatch();
+        Assert.assertTrue(commandBatch.isEmpty());
+
+        for (int i = 0; i < 3; i++) {
+            commandBatch.add("set");
+            commandBatch.add("expire");
+        }
+        commandBatch.add("get");
+
+        Assert.assertFalse(commandBatch.isEmpty());
+        Assert.assertEquals(7, commandBatch.getCount());
+        Assert.assertEquals("count=7, set=3, expire=3, get=1", commandBatch.toString());
+    }
+
+    @Test
+    public void grow() {
+        CommandBatch commandBatch = new CommandBatch();
+        for (int i = 0; i < 10; i++) {
+            commandBatch.add("command" + i);
+        }
+        commandBatch.add("command0");
+
+        Assert.assertEquals(11, commandBatch.getCount());
+        Assert.assertTrue(commandBatch.toString().startsWith("count=11, command0=2, command1=1"));
+        Assert.assertTrue(commandBatch.toString().endsWith("command9=1"));
+    }
+
+    @Test
+    public void clear() {
+        CommandBatch commandBatch = new CommandBatch();
+        commandBatch.add("set");
+        commandBatch.clear();
+
+        Assert.assertTrue(commandBatch.isEmpty());
+        Assert.assertEquals("count=0", commandBatch.toString());
+
+        commandBatch.add("get");
+        Assert.assertEquals("count=1, get=1", commandBatch.toString());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.plugin.redis.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.plugin.redis.CommandBatch;
+import com.navercorp.pinpoint.plugin.redis.CommandBatchAccessor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JedisPipelineBatchMethodInterceptorTest {
+
+    private final TraceContext traceContext = mock(TraceContext.class);
+    private final InterceptorScope interceptorScope = mock(InterceptorScope.class);
+    private final Trace trace = mock(Trace.class);
+    private final SpanEventRecorder recorder = mock(SpanEventRecorder.class);
+
+    private JedisPipelineBatchMethodInterceptor set;
+    private JedisPipelineBatchMethodInterceptor sync;
+
+    @Before
+    public void setUp() {
+        when(trace.traceBlockBegin()).thenReturn(recorder);
+        when(trace.currentSpanEventRecorder()).thenReturn(recorder);
+        this.set = new JedisPipelineBatchMethodInterceptor(traceContext, newMethodDescriptor("set"), interceptorScope, false);
+        this.sync = new JedisPipelineBatchMethodInterceptor(traceContext, newMethodDescriptor("sync"), interceptorScope, false);
+    }
+
+    @Test
+    public void recordBySync() {
+        when(trace.canSampled()).thenReturn(true);
+        when(traceContext.currentTraceObject()).thenReturn(trace);
+
+        TestPipeline pipeline = new TestPipeline();
+        invoke(set, pipeline);
+        invoke(set, pipeline);
+        Assert.assertEquals(2, pipeline._$PINPOINT$_getCommandBatch().getCount());
+
+        invoke(sync, pipeline);
+        verify(recorder).recordAttribute(AnnotationKey.BATCH_COMMAND, "count=2, set=2");
+        Assert.assertTrue(pipeline._$PINPOINT$_getCommandBatch().isEmpty());
+    }
+
+    @Test
+    public void notSampled() {
+        when(trace.canSampled()).thenReturn(false);
+        when(traceContext.currentTraceObject()).thenReturn(trace);
+
+        TestPipeline pipeline = new TestPipeline();
+        invoke(set, pipeline);
+        Assert.assertNull(pipeline._$PINPOINT$_getCommandBatch());
+    }
+
+    @Test
+    public void clearBySyncWithoutTrace() {
+        when(trace.canSampled()).thenReturn(true);
+        when(traceContext.currentTraceObject()).thenReturn(trace);
+        TestPipeline pipeline = new TestPipeline();
+        invoke(set, pipeline);
+
+        // synced after the trace ended
+        when(traceContext.currentTraceObject()).thenReturn(null);
+        sync.before(pipeline, null);
+        sync.after(pipeline, null, null, new RuntimeException("sync fail"));
+        Assert.assertTrue(pipeline._$PINPOINT$_getCommandBatch().isEmpty());
+    }
+
+    private void invoke(JedisPipelineBatchMethodInterceptor interceptor, Object target) {
+        interceptor.before(target, null);
+        interceptor.after(target, null, null, null);
+    }
+
+    private MethodDescriptor newMethodDescriptor(String methodName) {
+        MethodDescriptor methodDescriptor = mock(MethodDescriptor.class);
+        when(methodDescriptor.getMethodName()).thenReturn(methodName);
+        return methodDescriptor;
+    }
+
+    public static class TestPipeline implements CommandBatchAccessor {
+        private CommandBatch commandBatch;
+
+        @Override
+        public void _$PINPOINT$_setCommandBatch(CommandBatch commandBatch) {
+            this.commandBatch = commandBatch;
+        }
+
+        @Override
+        public CommandBatch _$PINPOINT$_getCommandBatch() {
+            return commandBatch;
+        }
+    }
+}
@@ -128,7 +128,7 @@ public class TServiceClientSendBaseInterceptor implements AroundInterceptor {
                 TraceId nextId = trace.getTraceId().getNextTraceId();
                 recorder.recordNextSpanId(nextId.getSpanId());
 
-                parentTraceInfo.setTraceId(nextId.getTransactionId());
+                parentTraceInfo.setTraceId(nextId.getTransactionIdHeader());
                 parentTraceInfo.setSpanId(nextId.getSpanId());
                 parentTraceInfo.setParentSpanId(nextId.getParentSpanId());
 
@@ -98,7 +98,7 @@ public class TAsyncClientManagerCallInterceptor implements AroundInterceptor {
                 final long nextSpanId = nextId.getSpanId();
                 parentTraceInfo.setSpanId(nextSpanId);
 
-                parentTraceInfo.setTraceId(nextId.getTransactionId());
+                parentTraceInfo.setTraceId(nextId.getTransactionIdHeader());
                 parentTraceInfo.setParentSpanId(nextId.getParentSpanId());
 
                 parentTraceInfo.setFlags(nextId.getFlags());
@@ -93,7 +93,7 @@ public class HttpClientStreamInterceptor implements AroundInterceptor {
             final TraceId nextId = trace.getTraceId().getNextTraceId();
             recorder.recordNextSpanId(nextId.getSpanId());
 
-            headers.add(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
+            headers.add(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionIdHeader());
             headers.add(Header.HTTP_SPAN_ID.toString(), String.valueOf(nextId.getSpanId()));
             headers.add(Header.HTTP_PARENT_SPAN_ID.toString(), String.valueOf(nextId.getParentSpanId()));
             headers.add(Header.HTTP_FLAGS.toString(), String.valueOf(nextId.getFlags()));
@@ -82,7 +82,7 @@ public class JavassistClassTest {
         String testObjectName = "com.navercorp.pinpoint.test.javasssit.mock.TestObject";
 
         byte[] testObjectByteCode = readByteCode(testObjectName);
-        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, testObjectByteCode);
+        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, null, testObjectByteCode);
 
         Assert.assertEquals(testObject.getName(), testObjectName);
 
@@ -94,7 +94,7 @@ public class JavassistClassTest {
 
         final String classHierarchyTestMockName = "com.navercorp.pinpoint.test.javasssit.mock.ClassHierarchyTestMock";
         byte[] classHierarchyTestMockByteCode = readByteCode(classHierarchyTestMockName);
-        InstrumentClass classHierarchyObject = engine.getClass(instrumentContext, null, classHierarchyTestMockName, classHierarchyTestMockByteCode);
+        InstrumentClass classHierarchyObject = engine.getClass(instrumentContext, null, classHierarchyTestMockName, null, classHierarchyTestMockByteCode);
         String hierarchySuperClass = classHierarchyObject.getSuperClass();
         Assert.assertEquals("java.util.HashMap", hierarchySuperClass);
 
@@ -120,7 +120,7 @@ public class JavassistClassTest {
         InstrumentContext instrumentContext = mock(InstrumentContext.class);
         String testObjectName = "com.navercorp.pinpoint.test.javasssit.mock.TestObject";
         byte[] testObjectByteCode = readByteCode(testObjectName);
-        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, testObjectByteCode);
+        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, null, testObjectByteCode);
 
         Assert.assertEquals(testObject.getName(), testObjectName);
 
@@ -136,7 +136,7 @@ public class JavassistClassTest {
         InstrumentContext instrumentContext = mock(InstrumentContext.class);
         String testObjectName = "com.navercorp.pinpoint.test.javasssit.mock.TestObject";
         byte[] testObjectByteCode = readByteCode(testObjectName);
-        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, testObjectByteCode);
+        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, null, testObjectByteCode);
         Assert.assertEquals(testObject.getName(), testObjectName);
 
         int findMethodCount = 0;
@@ -304,7 +304,7 @@ public class JavassistClassTest {
         String testObjectName = "com.navercorp.pinpoint.test.javasssit.mock.TestObjectNestedClass";
 
         byte[] testObjectByteCode = readByteCode(testObjectName);
-        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, testObjectByteCode);
+        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, null, testObjectByteCode);
         Assert.assertEquals(testObject.getName(), testObjectName);
 
         // find class name condition.
@@ -332,7 +332,7 @@ public class JavassistClassTest {
         String testObjectName = "com.navercorp.pinpoint.test.javasssit.mock.TestObjectNestedClass";
 
         byte[] testObjectByteCode = readByteCode(testObjectName);
-        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, testObjectByteCode);
+        InstrumentClass testObject = engine.getClass(instrumentContext, null, testObjectName, null, testObjectByteCode);
         Assert.assertEquals(testObject.getName(), testObjectName);
 
         assertEquals(1, testObject.getNestedClasses(ClassFilters.enclosingMethod("enclosingMethod", "java.lang.String", "int")).size());
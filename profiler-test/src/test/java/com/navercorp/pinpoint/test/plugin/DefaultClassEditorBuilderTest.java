@@ -52,7 +52,7 @@ public class DefaultClassEditorBuilderTest {
         
         when(applicationContext.getInstrumentEngine()).thenReturn(instrumentEngine);
         when(applicationContext.getTraceContext()).thenReturn(traceContext);
-        when(instrumentEngine.getClass(context, classLoader, className, classFileBuffer)).thenReturn(aClass);
+        when(instrumentEngine.getClass(context, classLoader, className, null, classFileBuffer)).thenReturn(aClass);
         when(aClass.getDeclaredMethod(methodName, parameterTypeNames)).thenReturn(aMethod);
         when(aMethod.getName()).thenReturn(methodName);
         when(aMethod.getParameterTypes()).thenReturn(parameterTypeNames);
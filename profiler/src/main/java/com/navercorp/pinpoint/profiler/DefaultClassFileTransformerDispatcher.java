@@ -161,6 +161,7 @@ public class DefaultClassFileTransformerDispatcher implements ClassFileTransform
                 logger.warn("Ignore class file transformer {}", transformer);
             }
         }
+        logger.info("Transformer matcher statistics {}", registry);
 
         return registry;
     }
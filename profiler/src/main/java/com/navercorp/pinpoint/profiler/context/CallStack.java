@@ -31,18 +31,31 @@ public class CallStack {
 
     private final Span span;
     private final int maxDepth;
+    private final int maxSpanEventCount;
+    private final boolean collapse;
     private int index = DEFAULT_INDEX;
     private int overflowIndex = 0;
     private short sequence;
     private int latestStackIndex = 0;
+    private int droppedSpanEventCount = 0;
 
     public CallStack(Span span) {
         this(span, -1);
     }
     
     public CallStack(Span span, int maxDepth) {
+        this(span, maxDepth, -1, false);
+    }
+
+    /**
+     * @param maxSpanEventCount span event budget of the trace. -1 is unlimited
+     * @param collapse fold consecutive identical calls. see {@link SpanEventCollapser}
+     */
+    public CallStack(Span span, int maxDepth, int maxSpanEventCount, boolean collapse) {
         this.span = span;
         this.maxDepth = maxDepth;
+        this.maxSpanEventCount = maxSpanEventCount;
+        this.collapse = collapse;
     }
     
     public Span getSpan() {
@@ -64,6 +77,12 @@ public class CallStack {
         }
 
         checkExtend(index + 1);
+        if (isSpanEventBudgetExceeded()) {
+            // keeps the stack balanced only. no sequence, never stored
+            droppedSpanEventCount++;
+            stack[index++] = spanEvent;
+            return index;
+        }
         spanEvent.setSequence(sequence++);
         stack[index++] = spanEvent;
         if(latestStackIndex != index) {
@@ -127,6 +146,36 @@ public class CallStack {
         return maxDepth;
     }
 
+    public int getMaxSpanEventCount() {
+        return maxSpanEventCount;
+    }
+
+    public boolean isCollapse() {
+        return collapse;
+    }
+
+    boolean isSpanEventBudgetExceeded() {
+        return maxSpanEventCount != -1 && sequence >= maxSpanEventCount;
+    }
+
+    int getDroppedSpanEventCount() {
+        return droppedSpanEventCount;
+    }
+
+    /**
+     * @return true if no span event was pushed after the given one. i.e. it has no child
+     */
+    boolean isLastSequence(SpanEvent spanEvent) {
+        return spanEvent.isSetSequence() && spanEvent.getSequence() == (short) (sequence - 1);
+    }
+
+    /**
+     * Gives back the sequence of the last span event. it was folded into its previous sibling and will not be stored.
+     */
+    void releaseLastSequence() {
+        sequence--;
+    }
+
     boolean isOverflow() {
         return maxDepth != -1 && maxDepth < index;
     }
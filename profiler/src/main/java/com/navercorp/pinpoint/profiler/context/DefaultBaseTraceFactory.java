@@ -24,13 +24,18 @@ import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.common.annotations.InterfaceAudience;
 import com.navercorp.pinpoint.profiler.context.id.AsyncIdGenerator;
 import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DeferredTraceId;
 import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
 import com.navercorp.pinpoint.profiler.context.id.ListenableAsyncState;
 import com.navercorp.pinpoint.profiler.context.id.TraceIdFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.storage.AsyncStorage;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorage;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DisabledResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
 
 
 /**
@@ -43,6 +48,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
 
     private final StorageFactory storageFactory;
     private final Sampler sampler;
+    private final DeferredStorageFactory deferredStorageFactory;
 
     private final IdGenerator idGenerator;
     private final AsyncIdGenerator asyncIdGenerator;
@@ -50,10 +56,13 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     private final TraceIdFactory traceIdFactory;
     private final SpanFactory spanFactory;
     private final RecorderFactory recorderFactory;
+    // counts unsampled transactions
+    private final ResponseTimeHistogramRecorder responseTimeHistogramRecorder;
 
 
-    public DefaultBaseTraceFactory(CallStackFactory callStackFactory, StorageFactory storageFactory, Sampler sampler, TraceIdFactory traceIdFactory, IdGenerator idGenerator, AsyncIdGenerator asyncIdGenerator,
-                                   SpanFactory spanFactory, RecorderFactory recorderFactory) {
+    public DefaultBaseTraceFactory(CallStackFactory callStackFactory, StorageFactory storageFactory, Sampler sampler, DeferredStorageFactory deferredStorageFactory,
+                                   TraceIdFactory traceIdFactory, IdGenerator idGenerator, AsyncIdGenerator asyncIdGenerator,
+                                   SpanFactory spanFactory, RecorderFactory recorderFactory, ResponseTimeHistogramRecorder responseTimeHistogramRecorder) {
         if (callStackFactory == null) {
             throw new NullPointerException("callStackFactory must not be null");
         }
@@ -78,17 +87,22 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         if (recorderFactory == null) {
             throw new NullPointerException("recorderFactory must not be null");
         }
+        if (responseTimeHistogramRecorder == null) {
+            throw new NullPointerException("responseTimeHistogramRecorder must not be null");
+        }
 
 
         this.callStackFactory = callStackFactory;
         this.storageFactory = storageFactory;
         this.sampler = sampler;
+        this.deferredStorageFactory = deferredStorageFactory;
         this.traceIdFactory = traceIdFactory;
         this.idGenerator = idGenerator;
         this.asyncIdGenerator = asyncIdGenerator;
 
         this.spanFactory = spanFactory;
         this.recorderFactory = recorderFactory;
+        this.responseTimeHistogramRecorder = responseTimeHistogramRecorder;
     }
 
 
@@ -98,6 +112,10 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         // TODO need to modify how to bind a datasender
         // always set true because the decision of sampling has been  made on previous nodes
         // TODO need to consider as a target to sample in case Trace object has a sampling flag (true) marked on previous node.
+        if (DeferredTraceId.isDeferred(traceId)) {
+            // not sampled by the previous node yet. the decision of this node is deferred as well
+            return continueDeferredTraceObject(traceId);
+        }
         final Storage storage = storageFactory.createStorage();
         final long localTransactionId = this.idGenerator.nextContinuedTransactionId();
 
@@ -126,10 +144,40 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
 
             return trace;
         } else {
-            return newDisableTrace();
+            final Trace deferredTrace = newDeferredTrace();
+            if (deferredTrace != null) {
+                return deferredTrace;
+            }
+            final long nextDisabledId = this.idGenerator.nextDisabledId();
+            return new DisableTrace(nextDisabledId, true, responseTimeHistogramRecorder);
         }
     }
 
+    // unsampled transaction recorded into a bounded buffer. sent only if it turns out to be slow or failed.
+    private Trace newDeferredTrace() {
+        final DeferredStorage storage = deferredStorageFactory.createStorage();
+        if (storage == null) {
+            return null;
+        }
+        // a promoted trace needs a real transaction sequence, and it is propagated to the next node before the decision is made.
+        // still counted as an unsampled transaction so that the sampling rate is not skewed by deferred traces
+        final long localTransactionId = this.idGenerator.nextDeferredTransactionId();
+        // propagated with the deferred flag, not as sampled
+        final TraceId traceId = new DeferredTraceId(traceIdFactory.newDeferredTraceId(localTransactionId), storage);
+
+        return new DefaultTrace(callStackFactory, storage, traceId, localTransactionId, asyncIdGenerator, true, spanFactory, recorderFactory);
+    }
+
+    private Trace continueDeferredTraceObject(TraceId traceId) {
+        final DeferredStorage storage = deferredStorageFactory.createStorage();
+        if (storage == null) {
+            return disableSampling();
+        }
+        final long localTransactionId = this.idGenerator.nextContinuedDisabledId();
+        final TraceId deferredTraceId = new DeferredTraceId(traceId, storage);
+
+        return new DefaultTrace(callStackFactory, storage, deferredTraceId, localTransactionId, asyncIdGenerator, true, spanFactory, recorderFactory);
+    }
 
 
     // internal async trace.
@@ -137,7 +185,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     public Trace continueAsyncTraceObject(AsyncTraceId traceId, int asyncId, long startTime) {
 
         final TraceId parentTraceId = traceId.getParentTraceId();
-        final Storage storage = storageFactory.createStorage();
+        final Storage storage = newAsyncStorage(parentTraceId);
         final Storage asyncStorage = new AsyncStorage(storage);
         final Trace trace = new DefaultTrace(callStackFactory, asyncStorage, parentTraceId, AtomicIdGenerator.UNTRACKED_ID, asyncIdGenerator, true,
                 spanFactory, recorderFactory);
@@ -147,10 +195,22 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         return asyncTrace;
     }
 
+    private Storage newAsyncStorage(TraceId parentTraceId) {
+        if (parentTraceId instanceof DeferredTraceId) {
+            // sent or dropped along with the transaction
+            return ((DeferredTraceId) parentTraceId).getDeferredStorage().newAsyncStorage();
+        }
+        return storageFactory.createStorage();
+    }
+
     // entry point async trace.
     @InterfaceAudience.LimitedPrivate("vert.x")
     @Override
     public Trace continueAsyncTraceObject(final TraceId traceId) {
+        if (DeferredTraceId.isDeferred(traceId)) {
+            // deferred sampling does not support async entry points
+            return disableSampling();
+        }
 
         final Storage storage = storageFactory.createStorage();
         final long localTransactionId = this.idGenerator.nextContinuedTransactionId();
@@ -185,20 +245,21 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
 
             return asyncTrace;
         } else {
+            // not counted by the responseTimeHistogramRecorder. the end of an async transaction is not known here
             return newDisableTrace();
         }
     }
 
     private Trace newDisableTrace() {
         final long nextDisabledId = this.idGenerator.nextDisabledId();
-        final Trace disableTrace = new DisableTrace(nextDisabledId);
+        final Trace disableTrace = new DisableTrace(nextDisabledId, true, DisabledResponseTimeHistogramRecorder.INSTANCE);
         return disableTrace;
     }
 
     @Override
     public Trace disableSampling() {
         final long nextContinuedDisabledId = this.idGenerator.nextContinuedDisabledId();
-        final Trace trace = new DisableTrace(nextContinuedDisabledId);
+        final Trace trace = new DisableTrace(nextContinuedDisabledId, false, responseTimeHistogramRecorder);
         return trace;
     }
 
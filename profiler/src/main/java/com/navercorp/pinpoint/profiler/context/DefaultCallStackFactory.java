@@ -25,18 +25,29 @@ import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 public class DefaultCallStackFactory implements CallStackFactory {
 
     private final int maxDepth;
+    private final int maxSpanEventCount;
+    private final boolean collapse;
 
     @Inject
     public DefaultCallStackFactory(ProfilerConfig profilerConfig) {
-        this(profilerConfig.getCallStackMaxDepth());
+        this(profilerConfig.getCallStackMaxDepth(), profilerConfig.getCallStackMaxSpanEventCount(), profilerConfig.isCallStackCollapseEnable());
     }
 
     public DefaultCallStackFactory(int maxDepth) {
+        this(maxDepth, -1, false);
+    }
+
+    public DefaultCallStackFactory(int maxDepth, int maxSpanEventCount, boolean collapse) {
+        if (maxSpanEventCount < -1 || maxSpanEventCount == 0) {
+            throw new IllegalArgumentException("invalid maxSpanEventCount:" + maxSpanEventCount);
+        }
         this.maxDepth = maxDepth;
+        this.maxSpanEventCount = maxSpanEventCount;
+        this.collapse = collapse;
     }
 
     @Override
     public CallStack newCallStack(Span span) {
-        return new CallStack(span, maxDepth);
+        return new CallStack(span, maxDepth, maxSpanEventCount, collapse);
     }
 }
@@ -88,6 +88,7 @@ public class DefaultSpanChunkFactory implements SpanChunkFactory {
         spanChunk.setSpanId(parentSpan.getSpanId());
 
         spanChunk.setEndPoint(parentSpan.getEndPoint());
+        spanChunk.setSpanRecycler(parentSpan.getSpanRecycler());
         return spanChunk;
     }
 }
@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
 import com.navercorp.pinpoint.profiler.context.module.ApplicationName;
 import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
+import com.navercorp.pinpoint.profiler.context.resource.DisabledThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -32,10 +34,20 @@ public class DefaultSpanFactory implements SpanFactory {
     private final String agentId;
     private final long agentStartTime;
     private final ServiceType applicationServiceType;
+    private final SpanRecycler spanRecycler;
+    private final ThreadResourceMeter threadResourceMeter;
+
+    public DefaultSpanFactory(String applicationName, String agentId, long agentStartTime, ServiceType applicationServiceType) {
+        this(applicationName, agentId, agentStartTime, applicationServiceType, DisabledSpanRecycler.INSTANCE);
+    }
+
+    public DefaultSpanFactory(String applicationName, String agentId, long agentStartTime, ServiceType applicationServiceType, SpanRecycler spanRecycler) {
+        this(applicationName, agentId, agentStartTime, applicationServiceType, spanRecycler, DisabledThreadResourceMeter.INSTANCE);
+    }
 
     @Inject
     public DefaultSpanFactory(@ApplicationName String applicationName, @AgentId String agentId, @AgentStartTime long agentStartTime,
-                                   @ApplicationServerType ServiceType applicationServiceType) {
+                                   @ApplicationServerType ServiceType applicationServiceType, SpanRecycler spanRecycler, ThreadResourceMeter threadResourceMeter) {
 
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
@@ -46,11 +58,19 @@ public class DefaultSpanFactory implements SpanFactory {
         if (applicationServiceType == null) {
             throw new NullPointerException("applicationServiceType must not be null");
         }
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
+        if (threadResourceMeter == null) {
+            throw new NullPointerException("threadResourceMeter must not be null");
+        }
 
         this.applicationName = applicationName;
         this.agentId = agentId;
         this.agentStartTime = agentStartTime;
         this.applicationServiceType = applicationServiceType;
+        this.spanRecycler = spanRecycler;
+        this.threadResourceMeter = threadResourceMeter;
     }
 
     @Override
@@ -60,7 +80,10 @@ public class DefaultSpanFactory implements SpanFactory {
         span.setApplicationName(applicationName);
         span.setAgentStartTime(agentStartTime);
         span.setApplicationServiceType(applicationServiceType.getCode());
+        span.setSpanRecycler(spanRecycler);
+        span.setThreadResourceMeter(threadResourceMeter);
         span.markBeforeTime();
+        span.markBeforeResourceUsage();
         return span;
     }
 
@@ -18,11 +18,13 @@ package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.context.*;
 import com.navercorp.pinpoint.bootstrap.context.scope.TraceScope;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.profiler.context.id.AsyncIdGenerator;
 import com.navercorp.pinpoint.profiler.context.id.DefaultAsyncTraceId;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.WrappedSpanEventRecorder;
 import com.navercorp.pinpoint.profiler.context.scope.DefaultTraceScopePool;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,8 +49,13 @@ public final class DefaultTrace implements Trace {
     private final CallStack callStack;
 
     private final Storage storage;
+    // null if disabled
+    private final SpanEventCollapser spanEventCollapser;
 
     private final Span span;
+    private final SpanRecycler spanRecycler;
+    // stored span events go back to the pool. the recorder must not keep them
+    private final boolean pooledSpanEvent;
     private final SpanRecorder spanRecorder;
     private final WrappedSpanEventRecorder spanEventRecorder;
 
@@ -83,10 +90,13 @@ public final class DefaultTrace implements Trace {
         this.sampling = sampling;
         this.span = spanFactory.newSpan();
         this.span.recordTraceId(traceId);
+        this.spanRecycler = span.getSpanRecycler();
+        this.pooledSpanEvent = !(spanRecycler instanceof DisabledSpanRecycler);
         this.spanRecorder = recorderFactory.newSpanRecorder(span, traceId.isRoot(), sampling);
 
         this.spanEventRecorder = recorderFactory.newWrappedSpanEventRecorder();
         this.callStack = callStackFactory.newCallStack(span);
+        this.spanEventCollapser = callStack.isCollapse() ? new SpanEventCollapser(callStack, storage) : null;
 
         this.asyncIdGenerator = asyncIdGenerator;
         setCurrentThread();
@@ -110,18 +120,24 @@ public final class DefaultTrace implements Trace {
     @Override
     public SpanEventRecorder traceBlockBegin(final int stackId) {
         // Set properties for the case when stackFrame is not used as part of Span.
-        final SpanEvent spanEvent = new SpanEvent(span);
-        spanEvent.markStartTime();
-        spanEvent.setStackId(stackId);
-
+        final SpanEvent spanEvent;
         if (this.closed) {
             if (isWarn) {
                 PinpointException exception = new PinpointException("already closed trace.");
                 logger.warn("[DefaultTrace] Corrupted call stack found.", exception);
             }
+            // never stored. do not borrow from spanRecycler
+            spanEvent = new SpanEvent(span);
+        } else if (callStack.isOverflow() || callStack.isSpanEventBudgetExceeded()) {
+            // dropped by the call stack
+            spanEvent = new SpanEvent(span);
+            callStack.push(spanEvent);
         } else {
+            spanEvent = spanRecycler.newSpanEvent(span);
             callStack.push(spanEvent);
         }
+        spanEvent.markStartTime();
+        spanEvent.setStackId(stackId);
 
         return wrappedSpanEventRecorder(spanEvent);
     }
@@ -150,6 +166,11 @@ public final class DefaultTrace implements Trace {
             return;
         }
 
+        if (!spanEvent.isSetSequence() && callStack.isSpanEventBudgetExceeded()) {
+            // beyond the span event budget
+            return;
+        }
+
         if (spanEvent.getStackId() != stackId) {
             // stack dump will make debugging easy.
             if (isWarn) {
@@ -161,6 +182,9 @@ public final class DefaultTrace implements Trace {
         if (spanEvent.isTimeRecording()) {
             spanEvent.markAfterTime();
         }
+        if (pooledSpanEvent) {
+            spanEventRecorder.detach(spanEvent);
+        }
         logSpan(spanEvent);
     }
 
@@ -172,6 +196,9 @@ public final class DefaultTrace implements Trace {
         }
         closed = true;
 
+        if (spanEventCollapser != null) {
+            spanEventCollapser.flush();
+        }
         if (!callStack.empty()) {
             if (isWarn) {
                 PinpointException exception = new PinpointException("not empty call stack.");
@@ -181,6 +208,13 @@ public final class DefaultTrace implements Trace {
         } else {
             if (span.isTimeRecording()) {
                 span.markAfterTime();
+                span.markAfterResourceUsage();
+            }
+            final int droppedSpanEventCount = callStack.getDroppedSpanEventCount();
+            if (droppedSpanEventCount > 0) {
+                final Annotation annotation = spanRecycler.newAnnotation(AnnotationKey.DROPPED_SPAN_EVENT.getCode());
+                annotation.setValue(TAnnotationValue.intValue(droppedSpanEventCount));
+                span.addAnnotation(annotation);
             }
             logSpan(span);
         }
@@ -191,6 +225,9 @@ public final class DefaultTrace implements Trace {
 
     @Override
     public void flush() {
+        if (spanEventCollapser != null) {
+            spanEventCollapser.flush();
+        }
         this.storage.flush();
     }
 
@@ -241,7 +278,11 @@ public final class DefaultTrace implements Trace {
             final Thread th = Thread.currentThread();
             logger.trace("[DefaultTrace] Write {} thread{id={}, name={}}", spanEvent, th.getId(), th.getName());
         }
-        storage.store(spanEvent);
+        if (spanEventCollapser != null) {
+            spanEventCollapser.store(spanEvent);
+        } else {
+            storage.store(spanEvent);
+        }
     }
 
     private void logSpan(Span span) {
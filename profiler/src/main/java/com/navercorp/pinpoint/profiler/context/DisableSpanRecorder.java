@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.LoggingInfo;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+
+/**
+ * {@link SpanRecorder} of a {@link DisableTrace}. Nothing is recorded except whether the transaction failed,
+ * which the response time histogram of unsampled transactions needs.
+ */
+class DisableSpanRecorder implements SpanRecorder {
+
+    private boolean error = false;
+
+    boolean isError() {
+        return error;
+    }
+
+    @Override
+    public boolean canSampled() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot() {
+        return false;
+    }
+
+    @Override
+    public void recordStartTime(long startTime) {
+    }
+
+    @Override
+    public void recordTime(boolean time) {
+    }
+
+    @Override
+    public void recordException(Throwable throwable) {
+        recordException(true, throwable);
+    }
+
+    @Override
+    public void recordException(boolean markError, Throwable throwable) {
+        if (throwable == null) {
+            return;
+        }
+        if (markError) {
+            this.error = true;
+        }
+    }
+
+    @Override
+    public void recordApiId(int apiId) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object[] args) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object args, int index) {
+    }
+
+    @Override
+    public void recordApi(MethodDescriptor methodDescriptor, Object[] args, int start, int end) {
+    }
+
+    @Override
+    public void recordApiCachedString(MethodDescriptor methodDescriptor, String args, int index) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, String value) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, int value) {
+    }
+
+    @Override
+    public void recordAttribute(AnnotationKey key, Object value) {
+    }
+
+    @Override
+    public void recordServiceType(ServiceType serviceType) {
+    }
+
+    @Override
+    public void recordRpcName(String rpc) {
+    }
+
+    @Override
+    public void recordRemoteAddress(String remoteAddress) {
+    }
+
+    @Override
+    public void recordEndPoint(String endPoint) {
+    }
+
+    @Override
+    public void recordParentApplication(String parentApplicationName, short parentApplicationType) {
+    }
+
+    @Override
+    public void recordAcceptorHost(String host) {
+    }
+
+    @Override
+    public void recordLogging(LoggingInfo loggingInfo) {
+    }
+
+    @Override
+    public Object attachFrameObject(Object frameObject) {
+        return null;
+    }
+
+    @Override
+    public Object getFrameObject() {
+        return null;
+    }
+
+    @Override
+    public Object detachFrameObject() {
+        return null;
+    }
+}
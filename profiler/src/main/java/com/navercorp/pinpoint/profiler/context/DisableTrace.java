@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.profiler.context;
 import com.navercorp.pinpoint.bootstrap.context.*;
 import com.navercorp.pinpoint.bootstrap.context.scope.TraceScope;
 import com.navercorp.pinpoint.profiler.context.scope.DefaultTraceScopePool;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
 
 
 /**
@@ -34,11 +35,22 @@ public class DisableTrace implements Trace {
     private final long startTime;
     private final Thread bindThread;
     private final DefaultTraceScopePool scopePool = new DefaultTraceScopePool();
-    
-    public DisableTrace(long id) {
+
+    private final boolean root;
+    private final ResponseTimeHistogramRecorder responseTimeHistogramRecorder;
+    // keeps the error state for the response time histogram
+    private final DisableSpanRecorder spanRecorder = new DisableSpanRecorder();
+    private boolean closed = false;
+
+    public DisableTrace(long id, boolean root, ResponseTimeHistogramRecorder responseTimeHistogramRecorder) {
+        if (responseTimeHistogramRecorder == null) {
+            throw new NullPointerException("responseTimeHistogramRecorder must not be null");
+        }
         this.id = id;
         this.startTime = System.currentTimeMillis();
         this.bindThread = Thread.currentThread();
+        this.root = root;
+        this.responseTimeHistogramRecorder = responseTimeHistogramRecorder;
     }
 
     @Override
@@ -114,6 +126,12 @@ public class DisableTrace implements Trace {
 
     @Override
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final int elapsed = (int) (System.currentTimeMillis() - startTime);
+        responseTimeHistogramRecorder.record(root, elapsed, spanRecorder.isError());
     }
 
     @Override
@@ -127,7 +145,7 @@ public class DisableTrace implements Trace {
 
     @Override
     public SpanRecorder getSpanRecorder() {
-        return null;
+        return spanRecorder;
     }
 
     @Override
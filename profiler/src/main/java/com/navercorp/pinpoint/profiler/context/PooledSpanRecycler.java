@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.ObjectLeakDetector;
+import com.navercorp.pinpoint.profiler.util.ObjectPoolFactory;
+import com.navercorp.pinpoint.profiler.util.RecyclingObjectPool;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reuses span events, span event annotations and span event lists once the data sender has serialized them.
+ * <p>
+ * Objects are borrowed on the traced thread and returned on the data sender thread. see {@link RecyclingObjectPool}
+ * Annotations of the span itself are not pooled because the span is not recycled.
+ */
+public class PooledSpanRecycler implements SpanRecycler {
+
+    public static final int DEFAULT_THREAD_CACHE_SIZE = 64;
+
+    private final RecyclingObjectPool<SpanEvent> spanEventPool;
+    private final RecyclingObjectPool<Annotation> annotationPool;
+    private final RecyclingObjectPool<ArrayList<SpanEvent>> spanEventListPool;
+
+    public PooledSpanRecycler(int maxPoolSize) {
+        this(maxPoolSize, DEFAULT_THREAD_CACHE_SIZE, 0);
+    }
+
+    /**
+     * @param leakThresholdMillis leak detection is disabled if 0
+     */
+    public PooledSpanRecycler(int maxPoolSize, int threadCacheSize, long leakThresholdMillis) {
+        if (leakThresholdMillis < 0) {
+            throw new IllegalArgumentException("negative leakThresholdMillis:" + leakThresholdMillis);
+        }
+        final boolean leakDetection = leakThresholdMillis > 0;
+        this.spanEventPool = new RecyclingObjectPool<SpanEvent>(new SpanEventFactory(), maxPoolSize, threadCacheSize,
+                newLeakDetector(leakDetection, "SpanEvent", leakThresholdMillis));
+        this.annotationPool = new RecyclingObjectPool<Annotation>(new AnnotationFactory(), maxPoolSize, threadCacheSize,
+                newLeakDetector(leakDetection, "Annotation", leakThresholdMillis));
+        // a list holds up to io buffering size span events. fewer lists are needed
+        final int listPoolSize = Math.max(maxPoolSize / 16, 1);
+        final int listThreadCacheSize = Math.max(threadCacheSize / 16, 1);
+        this.spanEventListPool = new RecyclingObjectPool<ArrayList<SpanEvent>>(new SpanEventListFactory(), listPoolSize, listThreadCacheSize,
+                newLeakDetector(leakDetection, "SpanEventList", leakThresholdMillis));
+    }
+
+    private static ObjectLeakDetector newLeakDetector(boolean leakDetection, String name, long leakThresholdMillis) {
+        if (!leakDetection) {
+            return null;
+        }
+        return new ObjectLeakDetector(name, leakThresholdMillis);
+    }
+
+    @Override
+    public SpanEvent newSpanEvent(Span span) {
+        if (span == null) {
+            throw new NullPointerException("span must not be null");
+        }
+        final SpanEvent spanEvent = spanEventPool.getObject();
+        spanEvent.setSpan(span);
+        return spanEvent;
+    }
+
+    @Override
+    public Annotation newAnnotation(int key) {
+        final Annotation annotation = annotationPool.getObject();
+        annotation.setKey(key);
+        return annotation;
+    }
+
+    @Override
+    public List<SpanEvent> newSpanEventList(int capacity) {
+        final ArrayList<SpanEvent> spanEventList = spanEventListPool.getObject();
+        spanEventList.ensureCapacity(capacity);
+        return spanEventList;
+    }
+
+    @Override
+    public void recycle(Span span) {
+        if (span == null) {
+            return;
+        }
+        final List<TSpanEvent> spanEventList = span.getSpanEventList();
+        span.setSpanEventList(null);
+        recycleSpanEventList(spanEventList);
+    }
+
+    @Override
+    public void recycle(SpanChunk spanChunk) {
+        if (spanChunk == null) {
+            return;
+        }
+        final List<TSpanEvent> spanEventList = spanChunk.getSpanEventList();
+        spanChunk.setSpanEventList(null);
+        recycleSpanEventList(spanEventList);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recycleSpanEventList(List<TSpanEvent> spanEventList) {
+        if (spanEventList == null) {
+            return;
+        }
+        for (TSpanEvent spanEvent : spanEventList) {
+            if (spanEvent instanceof SpanEvent) {
+                recycle((SpanEvent) spanEvent);
+            }
+        }
+        if (spanEventList instanceof ArrayList) {
+            spanEventListPool.returnObject((ArrayList) spanEventList);
+        }
+    }
+
+    @Override
+    public void recycle(SpanEvent spanEvent) {
+        if (spanEvent == null) {
+            return;
+        }
+        final List<TAnnotation> annotationList = spanEvent.getAnnotations();
+        if (annotationList != null) {
+            for (TAnnotation annotation : annotationList) {
+                if (annotation instanceof Annotation) {
+                    annotationPool.returnObject((Annotation) annotation);
+                }
+            }
+        }
+        spanEventPool.returnObject(spanEvent);
+    }
+
+    public long getSpanEventCreateCount() {
+        return spanEventPool.getCreateCount();
+    }
+
+    public long getAnnotationCreateCount() {
+        return annotationPool.getCreateCount();
+    }
+
+    public long getSpanEventListCreateCount() {
+        return spanEventListPool.getCreateCount();
+    }
+
+    private static class SpanEventFactory implements ObjectPoolFactory<SpanEvent> {
+        @Override
+        public SpanEvent create() {
+            return new SpanEvent();
+        }
+
+        @Override
+        public void beforeReturn(SpanEvent spanEvent) {
+            spanEvent.reset();
+        }
+    }
+
+    private static class AnnotationFactory implements ObjectPoolFactory<Annotation> {
+        @Override
+        public Annotation create() {
+            return new Annotation(0);
+        }
+
+        @Override
+        public void beforeReturn(Annotation annotation) {
+            annotation.clear();
+        }
+    }
+
+    private static class SpanEventListFactory implements ObjectPoolFactory<ArrayList<SpanEvent>> {
+        @Override
+        public ArrayList<SpanEvent> create() {
+            return new ArrayList<SpanEvent>();
+        }
+
+        @Override
+        public void beforeReturn(ArrayList<SpanEvent> spanEventList) {
+            spanEventList.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PooledSpanRecycler{" +
+                "spanEventPool=" + spanEventPool +
+                ", annotationPool=" + annotationPool +
+                ", spanEventListPool=" + spanEventListPool +
+                '}';
+    }
+}
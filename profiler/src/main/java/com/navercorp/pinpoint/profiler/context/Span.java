@@ -20,6 +20,8 @@ import com.navercorp.pinpoint.bootstrap.context.FrameAttachment;
 import com.navercorp.pinpoint.bootstrap.context.SpanId;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import com.navercorp.pinpoint.profiler.context.resource.DisabledThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 
@@ -32,7 +34,13 @@ import com.navercorp.pinpoint.thrift.dto.TSpan;
 public class Span extends TSpan implements FrameAttachment {
     private boolean timeRecording = true;
     private Object frameObject;
-    
+    private SpanRecycler spanRecycler = DisabledSpanRecycler.INSTANCE;
+
+    private ThreadResourceMeter threadResourceMeter = DisabledThreadResourceMeter.INSTANCE;
+    private long resourceThreadId = -1;
+    private long beforeCpuTime = ThreadResourceMeter.UNSUPPORTED;
+    private long beforeAllocatedBytes = ThreadResourceMeter.UNSUPPORTED;
+
     public Span() {
     }
 
@@ -73,6 +81,51 @@ public class Span extends TSpan implements FrameAttachment {
         }
     }
 
+    public void markBeforeResourceUsage() {
+        final ThreadResourceMeter threadResourceMeter = this.threadResourceMeter;
+        this.beforeCpuTime = threadResourceMeter.currentThreadCpuTime();
+        this.beforeAllocatedBytes = threadResourceMeter.currentThreadAllocatedBytes();
+        if (isResourceUsageMarked()) {
+            this.resourceThreadId = Thread.currentThread().getId();
+        }
+    }
+
+    public void markAfterResourceUsage() {
+        if (!isResourceUsageMarked()) {
+            return;
+        }
+        // closed by another thread. thread counters are not comparable
+        if (this.resourceThreadId != Thread.currentThread().getId()) {
+            return;
+        }
+        final ThreadResourceMeter threadResourceMeter = this.threadResourceMeter;
+        if (beforeCpuTime != ThreadResourceMeter.UNSUPPORTED) {
+            final long afterCpuTime = threadResourceMeter.currentThreadCpuTime();
+            if (afterCpuTime >= beforeCpuTime) {
+                // nanoseconds -> microseconds
+                this.setCpuTime((afterCpuTime - beforeCpuTime) / 1000);
+            }
+        }
+        if (beforeAllocatedBytes != ThreadResourceMeter.UNSUPPORTED) {
+            final long afterAllocatedBytes = threadResourceMeter.currentThreadAllocatedBytes();
+            if (afterAllocatedBytes >= beforeAllocatedBytes) {
+                this.setAllocatedBytes(afterAllocatedBytes - beforeAllocatedBytes);
+            }
+        }
+    }
+
+    public void clearResourceUsage() {
+        this.resourceThreadId = -1;
+        this.beforeCpuTime = ThreadResourceMeter.UNSUPPORTED;
+        this.beforeAllocatedBytes = ThreadResourceMeter.UNSUPPORTED;
+        this.unsetCpuTime();
+        this.unsetAllocatedBytes();
+    }
+
+    private boolean isResourceUsageMarked() {
+        return beforeCpuTime != ThreadResourceMeter.UNSUPPORTED || beforeAllocatedBytes != ThreadResourceMeter.UNSUPPORTED;
+    }
+
     public long getAfterTime() {
         return this.getStartTime() + this.getElapsed();
     }
@@ -102,6 +155,24 @@ public class Span extends TSpan implements FrameAttachment {
         super.setErr(exception);
     }
 
+    public SpanRecycler getSpanRecycler() {
+        return spanRecycler;
+    }
+
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
+        this.spanRecycler = spanRecycler;
+    }
+
+    public void setThreadResourceMeter(ThreadResourceMeter threadResourceMeter) {
+        if (threadResourceMeter == null) {
+            throw new NullPointerException("threadResourceMeter must not be null");
+        }
+        this.threadResourceMeter = threadResourceMeter;
+    }
+
     public boolean isTimeRecording() {
         return timeRecording;
     }
@@ -26,10 +26,23 @@ import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
  */
 public class SpanChunk extends TSpanChunk {
 
+    private SpanRecycler spanRecycler = DisabledSpanRecycler.INSTANCE;
+
     public SpanChunk(List<SpanEvent> spanEventList) {
         if (spanEventList == null) {
             throw new NullPointerException("spanEventList must not be null");
         }
         setSpanEventList((List) spanEventList);
     }
+
+    public SpanRecycler getSpanRecycler() {
+        return spanRecycler;
+    }
+
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
+        this.spanRecycler = spanRecycler;
+    }
 }
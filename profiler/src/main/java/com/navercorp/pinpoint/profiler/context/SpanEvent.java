@@ -17,9 +17,12 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.context.FrameAttachment;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 
+import java.util.List;
+
 /**
  * Span represent RPC
  *
@@ -28,10 +31,12 @@ import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
  */
 public class SpanEvent extends TSpanEvent implements FrameAttachment {
 
-    private final Span span;
+    private Span span;
     private int stackId;
     private boolean timeRecording = true;
     private Object frameObject;
+    // annotation list kept across reset() so a recycled SpanEvent does not allocate it again
+    private List<TAnnotation> recycledAnnotations;
 
     public SpanEvent(Span span) {
         if (span == null) {
@@ -40,11 +45,24 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
         this.span = span;
     }
 
+    // for PooledSpanRecycler
+    SpanEvent() {
+    }
+
     public Span getSpan() {
         return span;
     }
 
+    void setSpan(Span span) {
+        this.span = span;
+    }
+
     public void addAnnotation(Annotation annotation) {
+        final List<TAnnotation> recycledAnnotations = this.recycledAnnotations;
+        if (recycledAnnotations != null && !this.isSetAnnotations()) {
+            this.recycledAnnotations = null;
+            this.setAnnotations(recycledAnnotations);
+        }
         this.addToAnnotations(annotation);
     }
 
@@ -115,4 +133,17 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
         this.frameObject = null;
         return delete;
     }
+
+    void reset() {
+        final List<TAnnotation> annotations = this.getAnnotations();
+        this.clear();
+        if (annotations != null) {
+            annotations.clear();
+            this.recycledAnnotations = annotations;
+        }
+        this.span = null;
+        this.stackId = 0;
+        this.timeRecording = true;
+        this.frameObject = null;
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
+
+import java.util.List;
+
+/**
+ * Folds consecutive sibling span events of the same call into the first of them. e.g. JDBC or Redis calls in a loop (N+1)
+ * <p>
+ * Span events are stored when they end. A span event without child is held back until the next one ends.
+ * The next one is folded if it is the following sibling, has no child and has the same apiId, serviceType and SQL id.
+ * Its sequence is given back to the {@link CallStack}, so the stored sequences stay contiguous.
+ * The held span event then covers the whole run and carries the count, the total/min/max elapsed time
+ * and the error count as {@link AnnotationKey#COLLAPSED_CALL}.
+ * <p>
+ * Span events linked to a remote span or an async trace are never folded.
+ * Caution. not thread safe. owned by a trace.
+ */
+public class SpanEventCollapser {
+
+    private static final int NO_SQL_ID = -1;
+
+    private final CallStack callStack;
+    private final Storage storage;
+
+    private SpanEvent pending;
+    private int count;
+    private long totalElapsed;
+    private int minElapsed;
+    private int maxElapsed;
+    private int errorCount;
+    private long afterTime;
+
+    public SpanEventCollapser(CallStack callStack, Storage storage) {
+        if (callStack == null) {
+            throw new NullPointerException("callStack must not be null");
+        }
+        if (storage == null) {
+            throw new NullPointerException("storage must not be null");
+        }
+        this.callStack = callStack;
+        this.storage = storage;
+    }
+
+    public void store(SpanEvent spanEvent) {
+        final boolean leaf = callStack.isLastSequence(spanEvent);
+        final SpanEvent pending = this.pending;
+        if (pending != null) {
+            if (leaf && spanEvent.getSequence() == (short) (pending.getSequence() + 1) && isSameCall(pending, spanEvent)) {
+                fold(spanEvent);
+                return;
+            }
+            flush();
+        }
+
+        if (leaf && isCollapsible(spanEvent)) {
+            hold(spanEvent);
+        } else {
+            storage.store(spanEvent);
+        }
+    }
+
+    private void hold(SpanEvent spanEvent) {
+        final int elapsed = spanEvent.getEndElapsed();
+        this.pending = spanEvent;
+        this.count = 1;
+        this.totalElapsed = elapsed;
+        this.minElapsed = elapsed;
+        this.maxElapsed = elapsed;
+        this.errorCount = spanEvent.isSetExceptionInfo() ? 1 : 0;
+        this.afterTime = spanEvent.getAfterTime();
+    }
+
+    private void fold(SpanEvent spanEvent) {
+        final int elapsed = spanEvent.getEndElapsed();
+        this.count++;
+        this.totalElapsed += elapsed;
+        this.minElapsed = Math.min(minElapsed, elapsed);
+        this.maxElapsed = Math.max(maxElapsed, elapsed);
+        if (spanEvent.isSetExceptionInfo()) {
+            this.errorCount++;
+            if (!pending.isSetExceptionInfo()) {
+                pending.setExceptionInfo(spanEvent.getExceptionInfo());
+            }
+        }
+        this.afterTime = spanEvent.getAfterTime();
+
+        callStack.releaseLastSequence();
+        spanEvent.getSpan().getSpanRecycler().recycle(spanEvent);
+    }
+
+    /**
+     * Stores the held span event.
+     */
+    public void flush() {
+        final SpanEvent pending = this.pending;
+        if (pending == null) {
+            return;
+        }
+        this.pending = null;
+
+        if (count > 1) {
+            pending.setEndElapsed((int) (afterTime - pending.getStartTime()));
+
+            final Annotation annotation = pending.getSpan().getSpanRecycler().newAnnotation(AnnotationKey.COLLAPSED_CALL.getCode());
+            final TCollapsedCallValue collapsedCallValue = new TCollapsedCallValue(count, totalElapsed, minElapsed, maxElapsed, errorCount);
+            annotation.setValue(TAnnotationValue.collapsedCallValue(collapsedCallValue));
+            pending.addAnnotation(annotation);
+        }
+        storage.store(pending);
+    }
+
+    private static boolean isCollapsible(SpanEvent spanEvent) {
+        return spanEvent.isSetApiId() && !spanEvent.isSetNextSpanId() && !spanEvent.isSetNextAsyncId();
+    }
+
+    private static boolean isSameCall(SpanEvent pending, SpanEvent spanEvent) {
+        if (!isCollapsible(spanEvent)) {
+            return false;
+        }
+        if (pending.getApiId() != spanEvent.getApiId()) {
+            return false;
+        }
+        if (pending.getServiceType() != spanEvent.getServiceType()) {
+            return false;
+        }
+        if (pending.getAsyncId() != spanEvent.getAsyncId() || pending.getAsyncSequence() != spanEvent.getAsyncSequence()) {
+            return false;
+        }
+        return getSqlId(pending) == getSqlId(spanEvent);
+    }
+
+    private static int getSqlId(SpanEvent spanEvent) {
+        final List<TAnnotation> annotations = spanEvent.getAnnotations();
+        if (annotations == null) {
+            return NO_SQL_ID;
+        }
+        for (int i = 0; i < annotations.size(); i++) {
+            final TAnnotation annotation = annotations.get(i);
+            if (annotation.getKey() == AnnotationKey.SQL_ID.getCode()) {
+                final TAnnotationValue value = annotation.getValue();
+                if (value != null && value.isSetIntStringStringValue()) {
+                    return value.getIntStringStringValue().getIntValue();
+                }
+            }
+        }
+        return NO_SQL_ID;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanEventCollapser{" +
+                "pending=" + pending +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.List;
+
+/**
+ * Creates and reclaims the short-lived objects of a trace.
+ * <p>
+ * Span events, their annotations and span event lists are owned by the trace until they are stored,
+ * then by the data sender until they are serialized. The data sender gives them back with recycle().
+ * Nothing may touch them after that.
+ *
+ * @see PooledSpanRecycler
+ */
+public interface SpanRecycler {
+
+    SpanEvent newSpanEvent(Span span);
+
+    Annotation newAnnotation(int key);
+
+    List<SpanEvent> newSpanEventList(int capacity);
+
+    void recycle(Span span);
+
+    void recycle(SpanChunk spanChunk);
+
+    void recycle(SpanEvent spanEvent);
+
+}
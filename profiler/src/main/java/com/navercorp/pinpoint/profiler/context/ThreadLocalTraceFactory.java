@@ -156,7 +156,12 @@ public class ThreadLocalTraceFactory implements TraceFactory {
 
     @Override
     public Trace removeTraceObject() {
-        return this.threadLocalBinder.remove();
+        final Trace trace = this.threadLocalBinder.remove();
+        if (trace instanceof DisableTrace) {
+            // an unsampled transaction ends when it is unbound. counted by the response time histogram
+            trace.close();
+        }
+        return trace;
     }
 
     // internal async trace.
@@ -31,6 +31,8 @@ public class ActiveTraceFactory implements TraceFactory, TraceFactoryWrapper {
 
     private final TraceFactory delegate;
     private final ActiveTraceRepository activeTraceRepository;
+    // the repository holds its traces weakly. keeps the ActiveTrace as long as its trace is bound to the thread
+    private final ThreadLocal<ActiveTrace> boundActiveTrace = new ThreadLocal<ActiveTrace>();
 
     private ActiveTraceFactory(TraceFactory delegate, ActiveTraceRepository activeTraceRepository) {
         if (delegate == null) {
@@ -132,7 +134,9 @@ public class ActiveTraceFactory implements TraceFactory, TraceFactoryWrapper {
         if (trace == null) {
             return;
         }
-        this.activeTraceRepository.put(new ActiveTrace(trace));
+        final ActiveTrace activeTrace = new ActiveTrace(trace);
+        this.boundActiveTrace.set(activeTrace);
+        this.activeTraceRepository.put(activeTrace);
     }
 
     private void detachTrace(Trace trace) {
@@ -141,6 +145,7 @@ public class ActiveTraceFactory implements TraceFactory, TraceFactoryWrapper {
         }
         final long id = trace.getId();
         this.activeTraceRepository.remove(id);
+        this.boundActiveTrace.remove();
     }
 
 }
@@ -55,18 +55,21 @@ public class ActiveTraceHistogramFactory {
     }
 
     public ActiveTraceHistogram createHistogram() {
-        Map<SlotType, IntAdder> mappedSlot = new LinkedHashMap<SlotType, IntAdder>(activeTraceSlotsCount);
+        final Map<SlotType, IntAdder> mappedSlot = new LinkedHashMap<SlotType, IntAdder>(activeTraceSlotsCount);
         for (SlotType slotType : ACTIVE_TRACE_SLOTS_ORDER) {
             mappedSlot.put(slotType, new IntAdder(0));
         }
 
-        long currentTime = System.currentTimeMillis();
+        final long currentTime = System.currentTimeMillis();
 
-        List<ActiveTraceInfo> collectedActiveTraceInfo = activeTraceRepository.collect();
-        for (ActiveTraceInfo activeTraceInfo : collectedActiveTraceInfo) {
-            HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - activeTraceInfo.getStartTime()), false);
-            mappedSlot.get(slot.getSlotType()).incrementAndGet();
-        }
+        // scan start times only. ActiveTraceInfo is not needed for counting
+        activeTraceRepository.visitStartTime(new StartTimeVisitor() {
+            @Override
+            public void visit(long startTime) {
+                HistogramSlot slot = histogramSchema.findHistogramSlot((int) (currentTime - startTime), false);
+                mappedSlot.get(slot.getSlotType()).incrementAndGet();
+            }
+        });
 
         List<Integer> activeTraceCount = new ArrayList<Integer>(activeTraceSlotsCount);
         for (IntAdder statusCount : mappedSlot.values()) {
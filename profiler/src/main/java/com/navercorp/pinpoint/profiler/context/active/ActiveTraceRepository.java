@@ -25,8 +25,12 @@ public interface ActiveTraceRepository {
 
     void put(ActiveTrace activeTrace);
 
-    ActiveTrace remove(Long key);
+    ActiveTrace remove(long key);
 
     List<ActiveTraceInfo> collect();
 
+    void visitStartTime(StartTimeVisitor visitor);
+
+    void visitActiveTrace(ActiveTraceVisitor visitor);
+
 }
@@ -60,7 +60,7 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
     }
 
     @Override
-    public ActiveTrace remove(Long key) {
+    public ActiveTrace remove(long key) {
         return this.activeTraceInfoMap.remove(key);
     }
 
@@ -86,4 +86,30 @@ public class DefaultActiveTraceRepository implements ActiveTraceRepository {
         return collectData;
     }
 
+    // @ThreadSafe
+    @Override
+    public void visitStartTime(StartTimeVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor must not be null");
+        }
+        for (ActiveTrace trace : this.activeTraceInfoMap.values()) {
+            final long startTime = trace.getStartTime();
+            // not started
+            if (startTime > 0) {
+                visitor.visit(startTime);
+            }
+        }
+    }
+
+    // @ThreadSafe
+    @Override
+    public void visitActiveTrace(ActiveTraceVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor must not be null");
+        }
+        for (ActiveTrace trace : this.activeTraceInfoMap.values()) {
+            visitor.visit(trace);
+        }
+    }
+
 }
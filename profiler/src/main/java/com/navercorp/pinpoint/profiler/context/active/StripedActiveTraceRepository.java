@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size slot array based {@link ActiveTraceRepository}.
+ * <p>
+ * Slots are grouped in stripes of {@link #STRIPE_SIZE}. A trace is placed in the first free slot of the stripe selected by its local transaction id,
+ * so a slot is recycled as soon as its trace ends. put() and remove() only probe a single stripe.
+ * The start time of each slot is kept in a primitive array so that the active thread histogram can be built without touching the traces.
+ * <p>
+ * Slots hold their traces weakly, like the overflow map. A slot whose trace was collected without being removed is stale;
+ * it is released when put(), remove() or a visit comes across it.
+ * <p>
+ * If the stripe is full, the trace goes to an overflow map, so a live trace is never evicted by another one.
+ * The overflow map is bounded by the capacity and holds its traces weakly. This bounds the memory held by traces that are never removed.
+ */
+public class StripedActiveTraceRepository implements ActiveTraceRepository {
+
+    // memory leak defense threshold
+    private static final int DEFAULT_MAX_ACTIVE_TRACE_SIZE = 1024 * 8;
+
+    static final int STRIPE_SIZE = 64;
+    private static final int STRIPE_SHIFT = 6;
+    private static final int EMPTY_START_TIME = 0;
+
+    private final int capacity;
+    private final int stripeMask;
+    private final int stripeBits;
+
+    private final AtomicReferenceArray<WeakReference<ActiveTrace>> traces;
+    private final AtomicLongArray ids;
+    private final AtomicLongArray startTimes;
+    // traces that did not fit in their stripe. OOM safe
+    private final ConcurrentMap<Long, ActiveTrace> overflow;
+
+    public StripedActiveTraceRepository() {
+        this(DEFAULT_MAX_ACTIVE_TRACE_SIZE);
+    }
+
+    public StripedActiveTraceRepository(int maxActiveTraceSize) {
+        if (maxActiveTraceSize <= 0) {
+            throw new IllegalArgumentException("maxActiveTraceSize must be positive");
+        }
+        final int stripeCount = roundUpToPowerOfTwo((maxActiveTraceSize + STRIPE_SIZE - 1) / STRIPE_SIZE);
+        this.capacity = stripeCount * STRIPE_SIZE;
+        this.stripeMask = stripeCount - 1;
+        this.stripeBits = Integer.numberOfTrailingZeros(stripeCount);
+
+        this.traces = new AtomicReferenceArray<WeakReference<ActiveTrace>>(capacity);
+        this.ids = new AtomicLongArray(capacity);
+        this.startTimes = new AtomicLongArray(capacity);
+        this.overflow = createOverflow(capacity);
+    }
+
+    private ConcurrentMap<Long, ActiveTrace> createOverflow(int maxSize) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        cacheBuilder.concurrencyLevel(64);
+        cacheBuilder.maximumSize(maxSize);
+        // OOM defense
+        cacheBuilder.weakValues();
+        return cacheBuilder.<Long, ActiveTrace>build().asMap();
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        final int result = Integer.highestOneBit(value);
+        if (result != value) {
+            return result << 1;
+        }
+        return result;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // consecutive ids are spread over the stripes first, then over the slots of each stripe
+    private int stripeOffset(long id) {
+        return ((int) id & stripeMask) << STRIPE_SHIFT;
+    }
+
+    private int homeIndex(long id) {
+        return (int) (id >>> stripeBits) & (STRIPE_SIZE - 1);
+    }
+
+    @Override
+    public void put(ActiveTrace activeTrace) {
+        if (activeTrace == null) {
+            throw new NullPointerException("activeTrace must not be null");
+        }
+        final long id = activeTrace.getId();
+        final int stripeOffset = stripeOffset(id);
+        final int home = homeIndex(id);
+
+        WeakReference<ActiveTrace> reference = null;
+        for (int i = 0; i < STRIPE_SIZE; i++) {
+            final int slot = stripeOffset + ((home + i) & (STRIPE_SIZE - 1));
+            WeakReference<ActiveTrace> current = traces.get(slot);
+            if (current != null && current.get() == null) {
+                release(slot, current);
+                current = null;
+            }
+            if (current != null) {
+                continue;
+            }
+            if (reference == null) {
+                reference = new WeakReference<ActiveTrace>(activeTrace);
+            }
+            if (traces.compareAndSet(slot, null, reference)) {
+                publish(slot, id, activeTrace);
+                return;
+            }
+        }
+        // stripe is full
+        overflow.put(id, activeTrace);
+    }
+
+    private void publish(int slot, long id, ActiveTrace activeTrace) {
+        this.ids.set(slot, id);
+        final long startTime = activeTrace.getStartTime();
+        // the previous owner clears its start time right after releasing the slot
+        while (!this.startTimes.compareAndSet(slot, EMPTY_START_TIME, startTime)) {
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public ActiveTrace remove(long key) {
+        final int stripeOffset = stripeOffset(key);
+        final int home = homeIndex(key);
+        for (int i = 0; i < STRIPE_SIZE; i++) {
+            final int slot = stripeOffset + ((home + i) & (STRIPE_SIZE - 1));
+            if (ids.get(slot) != key) {
+                continue;
+            }
+            final WeakReference<ActiveTrace> reference = traces.get(slot);
+            if (reference == null) {
+                continue;
+            }
+            final ActiveTrace current = reference.get();
+            if (current == null) {
+                release(slot, reference);
+                continue;
+            }
+            if (current.getId() != key) {
+                continue;
+            }
+            if (release(slot, reference)) {
+                return current;
+            }
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        return overflow.remove(key);
+    }
+
+    private boolean release(int slot, WeakReference<ActiveTrace> reference) {
+        if (traces.compareAndSet(slot, reference, null)) {
+            // the next owner waits for this before publishing its start time
+            startTimes.set(slot, EMPTY_START_TIME);
+            return true;
+        }
+        return false;
+    }
+
+    private ActiveTrace get(int slot) {
+        final WeakReference<ActiveTrace> reference = traces.get(slot);
+        if (reference == null) {
+            return null;
+        }
+        final ActiveTrace trace = reference.get();
+        if (trace == null) {
+            // stale slot
+            release(slot, reference);
+        }
+        return trace;
+    }
+
+    // @ThreadSafe
+    @Override
+    public List<ActiveTraceInfo> collect() {
+        final List<ActiveTraceInfo> collectData = new ArrayList<ActiveTraceInfo>();
+        for (int slot = 0; slot < capacity; slot++) {
+            final ActiveTrace trace = get(slot);
+            if (trace != null) {
+                collect(collectData, trace);
+            }
+        }
+        for (ActiveTrace trace : overflow.values()) {
+            collect(collectData, trace);
+        }
+        return collectData;
+    }
+
+    private void collect(List<ActiveTraceInfo> collectData, ActiveTrace trace) {
+        final long startTime = trace.getStartTime();
+        // not started
+        if (startTime > 0) {
+            if (trace.isSampled()) {
+                ActiveTraceInfo activeTraceInfo = new ActiveTraceInfo(trace.getId(), startTime, trace.getBindThread(), true, trace.getTransactionId(), trace.getEntryPoint());
+                collectData.add(activeTraceInfo);
+            } else {
+                // clear Trace reference
+                ActiveTraceInfo activeTraceInfo = new ActiveTraceInfo(trace.getId(), startTime, trace.getBindThread());
+                collectData.add(activeTraceInfo);
+            }
+        }
+    }
+
+    // @ThreadSafe
+    @Override
+    public void visitStartTime(StartTimeVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor must not be null");
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            final long startTime = startTimes.get(slot);
+            // empty or not started
+            if (startTime > 0 && get(slot) != null) {
+                visitor.visit(startTime);
+            }
+        }
+        if (overflow.isEmpty()) {
+            return;
+        }
+        for (ActiveTrace trace : overflow.values()) {
+            final long startTime = trace.getStartTime();
+            // not started
+            if (startTime > 0) {
+                visitor.visit(startTime);
+            }
+        }
+    }
+
+    // @ThreadSafe
+    @Override
+    public void visitActiveTrace(ActiveTraceVisitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor must not be null");
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            final ActiveTrace trace = get(slot);
+            if (trace != null) {
+                visitor.visit(trace);
+            }
+        }
+        if (overflow.isEmpty()) {
+            return;
+        }
+        for (ActiveTrace trace : overflow.values()) {
+            visitor.visit(trace);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StripedActiveTraceRepository{" +
+                "capacity=" + capacity +
+                '}';
+    }
+}
@@ -46,6 +46,8 @@ public class AtomicIdGenerator implements IdGenerator {
     // moved here in order to make codes simpler for now
     // id generator for sampled new traces
     private final AtomicLong transactionId = new AtomicLong(INITIAL_TRANSACTION_ID);
+    // number of sampled new transaction ids taken by deferred traces
+    private final AtomicLong deferredTransactionCount = new AtomicLong(0);
     // id generator for sampled continued traces
     private final AtomicLong continuedTransactionId = new AtomicLong(INITIAL_CONTINUED_TRANSACTION_ID);
     // id generator for unsampled new traces
@@ -62,6 +64,14 @@ public class AtomicIdGenerator implements IdGenerator {
         return this.transactionId.getAndIncrement();
     }
 
+    @Override
+    public long nextDeferredTransactionId() {
+        final long nextTransactionId = this.transactionId.getAndIncrement();
+        // counted after the id is taken so that the sampled new count never goes negative
+        this.deferredTransactionCount.incrementAndGet();
+        return nextTransactionId;
+    }
+
     @Override
     public long nextContinuedTransactionId() {
         return this.continuedTransactionId.getAndAdd(NEGATIVE_DECREMENT_CYCLE);
@@ -96,4 +106,9 @@ public class AtomicIdGenerator implements IdGenerator {
     public long currentContinuedDisabledId() {
         return this.continuedDisabledId.get();
     }
+
+    @Override
+    public long currentDeferredTransactionCount() {
+        return this.deferredTransactionCount.get();
+    }
 }
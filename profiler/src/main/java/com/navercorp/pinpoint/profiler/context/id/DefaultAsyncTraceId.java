@@ -69,6 +69,11 @@ public class DefaultAsyncTraceId implements AsyncTraceId {
         return traceId.getTransactionId();
     }
 
+    @Override
+    public String getTransactionIdHeader() {
+        return traceId.getTransactionIdHeader();
+    }
+
     @Override
     public String getAgentId() {
         return traceId.getAgentId();
@@ -33,15 +33,23 @@ public class DefaultTraceId implements TraceId {
     private final long spanId;
     private final short flags;
 
-    public DefaultTraceId(String agentId, long agentStartTime, long transactionId) {
-        this(agentId, agentStartTime, transactionId, SpanId.NULL, SpanId.newSpanId(), (short) 0);
+    private final boolean compactHeader;
+    // formatted once per transaction and shared with the next traceIds
+    private String transactionIdHeader;
+
+    public DefaultTraceId(String agentId, long agentStartTime, long transactionId, boolean compactHeader) {
+        this(agentId, agentStartTime, transactionId, SpanId.NULL, SpanId.newSpanId(), (short) 0, compactHeader, null);
     }
 
     public TraceId getNextTraceId() {
-        return new DefaultTraceId(this.agentId, this.agentStartTime, transactionSequence, spanId, SpanId.nextSpanID(spanId, parentSpanId), flags);
+        final String transactionIdHeader = getTransactionIdHeader();
+        return new DefaultTraceId(this.agentId, this.agentStartTime, transactionSequence, spanId, SpanId.nextSpanID(spanId, parentSpanId), flags, compactHeader, transactionIdHeader);
     }
 
-    public DefaultTraceId(String agentId, long agentStartTime, long transactionId, long parentSpanId, long spanId, short flags) {
+    /**
+     * @param transactionIdHeader already formatted header of this transaction. formatted lazily if null
+     */
+    public DefaultTraceId(String agentId, long agentStartTime, long transactionId, long parentSpanId, long spanId, short flags, boolean compactHeader, String transactionIdHeader) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
@@ -52,12 +60,30 @@ public class DefaultTraceId implements TraceId {
         this.parentSpanId = parentSpanId;
         this.spanId = spanId;
         this.flags = flags;
+
+        this.compactHeader = compactHeader;
+        this.transactionIdHeader = transactionIdHeader;
     }
 
     public String getTransactionId() {
         return TransactionIdUtils.formatString(agentId, agentStartTime, transactionSequence);
     }
 
+    @Override
+    public String getTransactionIdHeader() {
+        // benign race. String is immutable
+        String transactionIdHeader = this.transactionIdHeader;
+        if (transactionIdHeader == null) {
+            if (compactHeader) {
+                transactionIdHeader = TransactionIdUtils.formatCompactString(agentId, agentStartTime, transactionSequence);
+            } else {
+                transactionIdHeader = TransactionIdUtils.formatString(agentId, agentStartTime, transactionSequence);
+            }
+            this.transactionIdHeader = transactionIdHeader;
+        }
+        return transactionIdHeader;
+    }
+
     public String getAgentId() {
         return agentId;
     }
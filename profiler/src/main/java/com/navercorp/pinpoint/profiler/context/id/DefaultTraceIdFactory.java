@@ -17,6 +17,8 @@
 package com.navercorp.pinpoint.profiler.context.id;
 
 import com.google.inject.Inject;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.context.SpanId;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.common.util.TransactionIdUtils;
@@ -31,9 +33,14 @@ public class DefaultTraceIdFactory implements TraceIdFactory {
     private final String agentId;
     private final long agentStartTime;
     private final IdGenerator idGenerator;
+    private final boolean compactHeader;
 
     @Inject
-    public DefaultTraceIdFactory(@AgentId String agentId, @AgentStartTime long agentStartTime, IdGenerator idGenerator) {
+    public DefaultTraceIdFactory(@AgentId String agentId, @AgentStartTime long agentStartTime, IdGenerator idGenerator, ProfilerConfig profilerConfig) {
+        this(agentId, agentStartTime, idGenerator, getCompactHeader(profilerConfig));
+    }
+
+    public DefaultTraceIdFactory(String agentId, long agentStartTime, IdGenerator idGenerator, boolean compactHeader) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
@@ -43,20 +50,35 @@ public class DefaultTraceIdFactory implements TraceIdFactory {
         this.agentId = agentId;
         this.agentStartTime = agentStartTime;
         this.idGenerator = idGenerator;
+        this.compactHeader = compactHeader;
+    }
+
+    private static boolean getCompactHeader(ProfilerConfig profilerConfig) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        return profilerConfig.isCompactTransactionIdHeader();
     }
 
     @Override
     public TraceId newTraceId() {
         final long localTransactionId = idGenerator.nextTransactionId();
-        final TraceId traceId = new DefaultTraceId(agentId, agentStartTime, localTransactionId);
+        final TraceId traceId = new DefaultTraceId(agentId, agentStartTime, localTransactionId, compactHeader);
         return traceId;
     }
 
+    @Override
+    public TraceId newDeferredTraceId(long localTransactionId) {
+        return new DefaultTraceId(agentId, agentStartTime, localTransactionId, SpanId.NULL, SpanId.newSpanId(), DeferredTraceId.DEFERRED_FLAG, compactHeader, null);
+    }
+
     public TraceId parse(String transactionId, long parentSpanId, long spanId, short flags) {
         if (transactionId == null) {
             throw new NullPointerException("transactionId must not be null");
         }
         final TransactionId parseId = TransactionIdUtils.parseTransactionId(transactionId);
-        return new DefaultTraceId(parseId.getAgentId(), parseId.getAgentStartTime(), parseId.getTransactionSequence(), parentSpanId, spanId, flags);
+        // propagate the received compact header as is
+        final String transactionIdHeader = compactHeader && TransactionIdUtils.isCompactString(transactionId) ? transactionId : null;
+        return new DefaultTraceId(parseId.getAgentId(), parseId.getAgentStartTime(), parseId.getTransactionSequence(), parentSpanId, spanId, flags, compactHeader, transactionIdHeader);
     }
 }
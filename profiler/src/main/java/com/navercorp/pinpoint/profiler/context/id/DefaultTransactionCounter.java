@@ -35,7 +35,9 @@ public class DefaultTransactionCounter implements TransactionCounter {
     
     @Override
     public long getSampledNewCount() {
-        return idGenerator.currentTransactionId() - AtomicIdGenerator.INITIAL_TRANSACTION_ID;
+        // deferred traces take sampled transaction ids but were not picked by the sampler
+        final long deferredCount = idGenerator.currentDeferredTransactionCount();
+        return idGenerator.currentTransactionId() - AtomicIdGenerator.INITIAL_TRANSACTION_ID - deferredCount;
     }
 
     @Override
@@ -45,7 +47,8 @@ public class DefaultTransactionCounter implements TransactionCounter {
 
     @Override
     public long getUnSampledNewCount() {
-        return Math.abs(idGenerator.currentDisabledId() - AtomicIdGenerator.INITIAL_DISABLED_ID) / AtomicIdGenerator.DECREMENT_CYCLE;
+        final long disabledCount = Math.abs(idGenerator.currentDisabledId() - AtomicIdGenerator.INITIAL_DISABLED_ID) / AtomicIdGenerator.DECREMENT_CYCLE;
+        return disabledCount + idGenerator.currentDeferredTransactionCount();
     }
 
     @Override
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.id;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorage;
+
+/**
+ * TraceId of a transaction whose sampling decision is deferred until it ends.
+ * <p>
+ * {@link #DEFERRED_FLAG} is propagated to the next nodes with the flags so that they do not trace it as sampled.
+ * Async traces of the transaction share the {@link DeferredStorage} and its decision.
+ */
+public class DeferredTraceId implements TraceId {
+
+    public static final short DEFERRED_FLAG = 0x01;
+
+    private final TraceId traceId;
+    private final DeferredStorage deferredStorage;
+
+    public DeferredTraceId(TraceId traceId, DeferredStorage deferredStorage) {
+        if (traceId == null) {
+            throw new NullPointerException("traceId must not be null");
+        }
+        if (deferredStorage == null) {
+            throw new NullPointerException("deferredStorage must not be null");
+        }
+        this.traceId = traceId;
+        this.deferredStorage = deferredStorage;
+    }
+
+    public static boolean isDeferred(TraceId traceId) {
+        return (traceId.getFlags() & DEFERRED_FLAG) != 0;
+    }
+
+    public DeferredStorage getDeferredStorage() {
+        return deferredStorage;
+    }
+
+    @Override
+    public TraceId getNextTraceId() {
+        return traceId.getNextTraceId();
+    }
+
+    @Override
+    public long getSpanId() {
+        return traceId.getSpanId();
+    }
+
+    @Override
+    public String getTransactionId() {
+        return traceId.getTransactionId();
+    }
+
+    @Override
+    public String getTransactionIdHeader() {
+        return traceId.getTransactionIdHeader();
+    }
+
+    @Override
+    public String getAgentId() {
+        return traceId.getAgentId();
+    }
+
+    @Override
+    public long getAgentStartTime() {
+        return traceId.getAgentStartTime();
+    }
+
+    @Override
+    public long getTransactionSequence() {
+        return traceId.getTransactionSequence();
+    }
+
+    @Override
+    public long getParentSpanId() {
+        return traceId.getParentSpanId();
+    }
+
+    @Override
+    public short getFlags() {
+        return traceId.getFlags();
+    }
+
+    @Override
+    public boolean isRoot() {
+        return traceId.isRoot();
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredTraceId{" + "traceId=" + traceId + '}';
+    }
+}
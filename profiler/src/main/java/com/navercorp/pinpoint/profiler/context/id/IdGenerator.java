@@ -24,6 +24,12 @@ public interface IdGenerator {
 
     long nextTransactionId();
 
+    /**
+     * sampled transaction id for an unsampled new trace recorded by deferred sampling.
+     * counted as an unsampled new transaction.
+     */
+    long nextDeferredTransactionId();
+
     long nextContinuedTransactionId();
 
     long nextDisabledId();
@@ -37,4 +43,6 @@ public interface IdGenerator {
     long currentDisabledId();
 
     long currentContinuedDisabledId();
+
+    long currentDeferredTransactionCount();
 }
@@ -65,6 +65,11 @@ public class StatefulAsyncTraceId implements AsyncTraceId, AsyncStateSupport {
         return traceId.getTransactionId();
     }
 
+    @Override
+    public String getTransactionIdHeader() {
+        return traceId.getTransactionIdHeader();
+    }
+
     @Override
     public String getAgentId() {
         return traceId.getAgentId();
@@ -25,6 +25,8 @@ public interface TraceIdFactory {
 
     TraceId newTraceId();
 
+    TraceId newDeferredTraceId(long localTransactionId);
+
     TraceId parse(String transactionId, long parentSpanId, long spanId, short flags);
 
 }
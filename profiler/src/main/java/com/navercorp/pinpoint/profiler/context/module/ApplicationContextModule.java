@@ -48,6 +48,7 @@ import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
 import com.navercorp.pinpoint.profiler.context.DefaultSpanFactory;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
 import com.navercorp.pinpoint.profiler.context.SpanFactory;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
 import com.navercorp.pinpoint.profiler.context.TraceFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.id.AsyncIdGenerator;
@@ -67,7 +68,10 @@ import com.navercorp.pinpoint.profiler.context.provider.ApplicationServerTypePro
 import com.navercorp.pinpoint.profiler.context.provider.ClassFileTransformerDispatcherProvider;
 import com.navercorp.pinpoint.profiler.context.provider.CommandDispatcherProvider;
 import com.navercorp.pinpoint.profiler.context.provider.DataSourceMonitorRegistryServiceProvider;
+import com.navercorp.pinpoint.profiler.context.provider.DeferredStorageFactoryProvider;
+import com.navercorp.pinpoint.profiler.context.provider.DiskSpillQueueFactoryProvider;
 import com.navercorp.pinpoint.profiler.context.provider.DynamicTransformTriggerProvider;
+import com.navercorp.pinpoint.profiler.context.provider.FoldedStackAggregatorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.InstrumentEngineProvider;
 import com.navercorp.pinpoint.profiler.context.provider.JdbcUrlParsingServiceProvider;
 import com.navercorp.pinpoint.profiler.context.provider.JvmInformationProvider;
@@ -76,7 +80,13 @@ import com.navercorp.pinpoint.profiler.context.provider.PinpointClientFactoryPro
 import com.navercorp.pinpoint.profiler.context.provider.PinpointClientProvider;
 import com.navercorp.pinpoint.profiler.context.provider.PluginContextLoadResultProvider;
 import com.navercorp.pinpoint.profiler.context.provider.SamplerProvider;
+import com.navercorp.pinpoint.profiler.context.provider.SamplingThrottleProvider;
 import com.navercorp.pinpoint.profiler.context.provider.ServerMetaDataHolderProvider;
+import com.navercorp.pinpoint.profiler.context.provider.SpanRecyclerProvider;
+import com.navercorp.pinpoint.profiler.context.provider.ThreadResourceMeterProvider;
+import com.navercorp.pinpoint.profiler.context.provider.ResponseTimeHistogramMonitorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.ResponseTimeHistogramRecorderProvider;
+import com.navercorp.pinpoint.profiler.context.provider.StackSamplingProfilerProvider;
 import com.navercorp.pinpoint.profiler.context.provider.StorageFactoryProvider;
 import com.navercorp.pinpoint.profiler.context.provider.TcpDataSenderProvider;
 import com.navercorp.pinpoint.profiler.context.provider.TraceContextProvider;
@@ -92,9 +102,14 @@ import com.navercorp.pinpoint.profiler.context.provider.stat.datasource.DataSour
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.GarbageCollectorMetricProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.JvmGcMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.jvmgc.MemoryMetricProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.datasender.DataSenderQueueMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.deferred.DeferredSamplingMetricCollectorProvider;
+import com.navercorp.pinpoint.profiler.context.provider.stat.throttle.SamplingThrottleMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.transaction.TransactionMetricCollectorProvider;
 import com.navercorp.pinpoint.profiler.context.provider.stat.transaction.TransactionMetricProvider;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
@@ -106,10 +121,17 @@ import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
 import com.navercorp.pinpoint.profiler.monitor.DefaultAgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.stack.FoldedStackAggregator;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramMonitor;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.monitor.stack.StackSamplingProfiler;
 import com.navercorp.pinpoint.profiler.monitor.collector.activethread.ActiveTraceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.cpu.CpuLoadMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.datasource.DataSourceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.datasender.DataSenderQueueMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.deferred.DeferredSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.throttle.SamplingThrottleMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.TransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.metric.activethread.ActiveTraceMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetric;
@@ -120,8 +142,10 @@ import com.navercorp.pinpoint.profiler.monitor.metric.memory.MemoryMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetric;
 import com.navercorp.pinpoint.profiler.plugin.PluginContextLoadResult;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueueFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -174,6 +198,7 @@ public class ApplicationContextModule extends AbstractModule {
 
         bind(ServerMetaDataHolder.class).toProvider(ServerMetaDataHolderProvider.class).in(Scopes.SINGLETON);
         bind(StorageFactory.class).toProvider(StorageFactoryProvider.class).in(Scopes.SINGLETON);
+        bind(DeferredStorageFactory.class).toProvider(DeferredStorageFactoryProvider.class).in(Scopes.SINGLETON);
 
         bindServiceComponent();
 
@@ -183,6 +208,7 @@ public class ApplicationContextModule extends AbstractModule {
         bind(AsyncIdGenerator.class).to(DefaultAsyncIdGenerator.class).in(Scopes.SINGLETON);
         bind(TransactionCounter.class).to(DefaultTransactionCounter.class).in(Scopes.SINGLETON);
 
+        bind(SamplingThrottle.class).toProvider(SamplingThrottleProvider.class).in(Scopes.SINGLETON);
         bind(Sampler.class).toProvider(SamplerProvider.class).in(Scopes.SINGLETON);
 
         bind(TraceContext.class).toProvider(TraceContextProvider.class).in(Scopes.SINGLETON);
@@ -210,16 +236,23 @@ public class ApplicationContextModule extends AbstractModule {
         bind(JvmInformation.class).toProvider(JvmInformationProvider.class).in(Scopes.SINGLETON);
         bind(AgentInfoSender.class).toProvider(AgentInfoSenderProvider.class).in(Scopes.SINGLETON);
         bind(AgentStatMonitor.class).to(DefaultAgentStatMonitor.class).in(Scopes.SINGLETON);
+
+        bind(FoldedStackAggregator.class).toProvider(FoldedStackAggregatorProvider.class).in(Scopes.SINGLETON);
+        bind(StackSamplingProfiler.class).toProvider(StackSamplingProfilerProvider.class).in(Scopes.SINGLETON);
+        bind(ResponseTimeHistogramMonitor.class).toProvider(ResponseTimeHistogramMonitorProvider.class).in(Scopes.SINGLETON);
     }
 
     private void bindTraceComponent() {
         bind(TraceIdFactory.class).to(DefaultTraceIdFactory.class).in(Scopes.SINGLETON);
         bind(CallStackFactory.class).to(DefaultCallStackFactory.class).in(Scopes.SINGLETON);
 
+        bind(SpanRecycler.class).toProvider(SpanRecyclerProvider.class).in(Scopes.SINGLETON);
+        bind(ThreadResourceMeter.class).toProvider(ThreadResourceMeterProvider.class).in(Scopes.SINGLETON);
         bind(SpanFactory.class).to(DefaultSpanFactory.class).in(Scopes.SINGLETON);
         bind(SpanChunkFactory.class).to(DefaultSpanChunkFactory.class).in(Scopes.SINGLETON);
 
         bind(RecorderFactory.class).to(DefaultRecorderFactory.class).in(Scopes.SINGLETON);
+        bind(ResponseTimeHistogramRecorder.class).toProvider(ResponseTimeHistogramRecorderProvider.class).in(Scopes.SINGLETON);
 
         bind(TraceFactory.class).toProvider(TraceFactoryProvider.class).in(Scopes.SINGLETON);
     }
@@ -228,6 +261,7 @@ public class ApplicationContextModule extends AbstractModule {
         // create tcp channel
 
         bind(PinpointClientFactory.class).toProvider(PinpointClientFactoryProvider.class).in(Scopes.SINGLETON);
+        bind(DiskSpillQueueFactory.class).toProvider(DiskSpillQueueFactoryProvider.class).in(Scopes.SINGLETON);
         bind(EnhancedDataSender.class).toProvider(TcpDataSenderProvider.class).in(Scopes.SINGLETON);
         bind(PinpointClient.class).toProvider(PinpointClientProvider.class).in(Scopes.SINGLETON);
 
@@ -271,6 +305,10 @@ public class ApplicationContextModule extends AbstractModule {
         bind(DataSourceMetric.class).toProvider(DataSourceMetricProvider.class).in(Scopes.SINGLETON);
         bind(DataSourceMetricCollector.class).toProvider(DataSourceMetricCollectorProvider.class).in(Scopes.SINGLETON);
 
+        bind(DataSenderQueueMetricCollector.class).toProvider(DataSenderQueueMetricCollectorProvider.class).in(Scopes.SINGLETON);
+        bind(DeferredSamplingMetricCollector.class).toProvider(DeferredSamplingMetricCollectorProvider.class).in(Scopes.SINGLETON);
+        bind(SamplingThrottleMetricCollector.class).toProvider(SamplingThrottleMetricCollectorProvider.class).in(Scopes.SINGLETON);
+
         bind(new TypeLiteral<AgentStatMetricCollector<TAgentStat>>() {})
                 .annotatedWith(Names.named("AgentStatCollector"))
                 .to(AgentStatCollector.class).in(Scopes.SINGLETON);
@@ -34,6 +34,8 @@ import com.navercorp.pinpoint.profiler.instrument.ASMBytecodeDumpService;
 import com.navercorp.pinpoint.profiler.instrument.BytecodeDumpTransformer;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramMonitor;
+import com.navercorp.pinpoint.profiler.monitor.stack.StackSamplingProfiler;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
@@ -55,6 +57,8 @@ public class DefaultApplicationContext implements ApplicationContext {
 
     private final AgentInfoSender agentInfoSender;
     private final AgentStatMonitor agentStatMonitor;
+    private final StackSamplingProfiler stackSamplingProfiler;
+    private final ResponseTimeHistogramMonitor responseTimeHistogramMonitor;
 
     private final TraceContext traceContext;
 
@@ -129,6 +133,8 @@ public class DefaultApplicationContext implements ApplicationContext {
 
         this.agentInfoSender = injector.getInstance(AgentInfoSender.class);
         this.agentStatMonitor = injector.getInstance(AgentStatMonitor.class);
+        this.stackSamplingProfiler = injector.getInstance(StackSamplingProfiler.class);
+        this.responseTimeHistogramMonitor = injector.getInstance(ResponseTimeHistogramMonitor.class);
     }
 
     public ClassFileTransformer wrap(ClassFileTransformerDispatcher classFileTransformerDispatcher) {
@@ -201,12 +207,16 @@ public class DefaultApplicationContext implements ApplicationContext {
     public void start() {
         this.agentInfoSender.start();
         this.agentStatMonitor.start();
+        this.stackSamplingProfiler.start();
+        this.responseTimeHistogramMonitor.start();
     }
 
     @Override
     public void close() {
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
+        this.stackSamplingProfiler.stop();
+        this.responseTimeHistogramMonitor.stop();
 
         // Need to process stop
         this.spanDataSender.stop();
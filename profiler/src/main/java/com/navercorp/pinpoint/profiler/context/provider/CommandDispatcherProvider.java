@@ -20,11 +20,13 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.stack.FoldedStackAggregator;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
 import com.navercorp.pinpoint.profiler.receiver.ProfilerCommandLocatorBuilder;
 import com.navercorp.pinpoint.profiler.receiver.ProfilerCommandServiceLocator;
 import com.navercorp.pinpoint.profiler.receiver.service.ActiveThreadService;
 import com.navercorp.pinpoint.profiler.receiver.service.EchoService;
+import com.navercorp.pinpoint.profiler.receiver.service.StackProfileService;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -33,18 +35,23 @@ public class CommandDispatcherProvider implements Provider<CommandDispatcher> {
 
     private final ProfilerConfig profilerConfig;
     private final ActiveTraceRepository activeTraceRepository;
+    private final FoldedStackAggregator foldedStackAggregator;
 
     @Inject
-    public CommandDispatcherProvider(ProfilerConfig profilerConfig, Provider<ActiveTraceRepository> activeTraceRepositoryProvider) {
+    public CommandDispatcherProvider(ProfilerConfig profilerConfig, Provider<ActiveTraceRepository> activeTraceRepositoryProvider, FoldedStackAggregator foldedStackAggregator) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
         if (activeTraceRepositoryProvider == null) {
             throw new NullPointerException("activeTraceRepositoryProvider must not be null");
         }
+        if (foldedStackAggregator == null) {
+            throw new NullPointerException("foldedStackAggregator must not be null");
+        }
 
         this.profilerConfig = profilerConfig;
         this.activeTraceRepository = activeTraceRepositoryProvider.get();
+        this.foldedStackAggregator = foldedStackAggregator;
     }
 
     @Override
@@ -54,6 +61,10 @@ public class CommandDispatcherProvider implements Provider<CommandDispatcher> {
         if (activeTraceRepository != null) {
             ActiveThreadService activeThreadService = new ActiveThreadService(profilerConfig, activeTraceRepository);
             builder.addService(activeThreadService);
+
+            if (profilerConfig.isStackSamplingEnable()) {
+                builder.addService(new StackProfileService(foldedStackAggregator, profilerConfig.getStackSamplingInterval()));
+            }
         }
 
         ProfilerCommandServiceLocator commandServiceLocator = builder.build();
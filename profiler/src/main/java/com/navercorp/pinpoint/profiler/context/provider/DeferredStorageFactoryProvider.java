@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.storage.DefaultDeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.DisabledDeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.sampler.EntryPointSampleFloor;
+
+/**
+ * Returns {@link DisabledDeferredStorageFactory} if deferred sampling is disabled.
+ */
+public class DeferredStorageFactoryProvider implements Provider<DeferredStorageFactory> {
+
+    private final ProfilerConfig profilerConfig;
+    private final StorageFactory storageFactory;
+    private final ResponseTimeHistogramRecorder responseTimeHistogramRecorder;
+
+    @Inject
+    public DeferredStorageFactoryProvider(ProfilerConfig profilerConfig, StorageFactory storageFactory, ResponseTimeHistogramRecorder responseTimeHistogramRecorder) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (storageFactory == null) {
+            throw new NullPointerException("storageFactory must not be null");
+        }
+        if (responseTimeHistogramRecorder == null) {
+            throw new NullPointerException("responseTimeHistogramRecorder must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.storageFactory = storageFactory;
+        this.responseTimeHistogramRecorder = responseTimeHistogramRecorder;
+    }
+
+    @Override
+    public DeferredStorageFactory get() {
+        if (!profilerConfig.isDeferredSamplingEnable()) {
+            return DisabledDeferredStorageFactory.INSTANCE;
+        }
+        final long latencyThreshold = profilerConfig.getDeferredSamplingLatencyThreshold();
+        final int maxSpanEventCount = profilerConfig.getDeferredSamplingMaxSpanEventCount();
+        final int maxTraceCount = profilerConfig.getDeferredSamplingMaxTraceCount();
+        final long maxAge = profilerConfig.getDeferredSamplingMaxAge();
+        final EntryPointSampleFloor entryPointSampleFloor = newEntryPointSampleFloor(profilerConfig.getDeferredSamplingEntryPointInterval());
+        return new DefaultDeferredStorageFactory(storageFactory, latencyThreshold, maxSpanEventCount, maxTraceCount, maxAge, responseTimeHistogramRecorder,
+                entryPointSampleFloor);
+    }
+
+    private EntryPointSampleFloor newEntryPointSampleFloor(long entryPointInterval) {
+        if (entryPointInterval <= 0) {
+            return null;
+        }
+        return new EntryPointSampleFloor(entryPointInterval, EntryPointSampleFloor.DEFAULT_MAX_ENTRY_POINT_COUNT);
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredStorageFactoryProvider{" +
+                "profilerConfig=" + profilerConfig +
+                ", storageFactory=" + storageFactory +
+                '}';
+    }
+}
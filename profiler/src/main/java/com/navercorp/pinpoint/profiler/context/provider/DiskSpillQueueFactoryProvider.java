@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueueFactory;
+
+import java.io.File;
+
+public class DiskSpillQueueFactoryProvider implements Provider<DiskSpillQueueFactory> {
+
+    private static final String DEFAULT_SPILL_DIR_NAME = "pinpoint-spill";
+
+    private final ProfilerConfig profilerConfig;
+    private final String agentId;
+
+    @Inject
+    public DiskSpillQueueFactoryProvider(ProfilerConfig profilerConfig, @AgentId String agentId) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.agentId = agentId;
+    }
+
+    @Override
+    public DiskSpillQueueFactory get() {
+        if (!profilerConfig.isSpillEnable()) {
+            return new DiskSpillQueueFactory();
+        }
+        // agents on the same host must not share segments
+        final File baseDirectory = new File(getSpillDir(), agentId);
+        return new DiskSpillQueueFactory(baseDirectory, profilerConfig.getSpillSegmentSize(),
+                profilerConfig.getSpillSegmentCount(), profilerConfig.getSpillReplayRate());
+    }
+
+    private File getSpillDir() {
+        final String spillDir = profilerConfig.getSpillDir();
+        if (spillDir == null || spillDir.trim().isEmpty()) {
+            return new File(System.getProperty("java.io.tmpdir"), DEFAULT_SPILL_DIR_NAME);
+        }
+        return new File(spillDir.trim());
+    }
+
+    @Override
+    public String toString() {
+        return "DiskSpillQueueFactoryProvider{" +
+                "agentId='" + agentId + '\'' +
+                '}';
+    }
+}
@@ -21,6 +21,10 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.AgentOption;
 import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.common.util.JvmUtils;
+import com.navercorp.pinpoint.common.util.SystemPropertyKey;
+import com.navercorp.pinpoint.profiler.instrument.BytecodeCache;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 
 import com.navercorp.pinpoint.profiler.instrument.ASMEngine;
@@ -31,6 +35,8 @@ import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.instrument.Instrumentation;
 
 /**
@@ -38,6 +44,8 @@ import java.lang.instrument.Instrumentation;
  */
 public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
 
+    private static final String DEFAULT_BYTECODE_CACHE_DIR_NAME = "pinpoint-bytecode-cache";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ProfilerConfig profilerConfig;
@@ -80,7 +88,12 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
         final String instrumentEngine = profilerConfig.getProfileInstrumentEngine().toUpperCase();
         if (DefaultProfilerConfig.INSTRUMENT_ENGINE_ASM.equals(instrumentEngine)) {
             logger.info("ASM InstrumentEngine.");
-            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, agentOption.getBootstrapJarPaths());
+            final boolean interceptorStaticBinding = profilerConfig.isInterceptorStaticBinding();
+            if (interceptorStaticBinding) {
+                logger.info("ASM interceptor static binding enabled.");
+            }
+            final BytecodeCache bytecodeCache = createBytecodeCache();
+            return new ASMEngine(instrumentation, objectBinderFactory, interceptorRegistryBinder, apiMetaDataServiceProvider, agentOption.getBootstrapJarPaths(), interceptorStaticBinding, bytecodeCache);
 
         } else if (DefaultProfilerConfig.INSTRUMENT_ENGINE_JAVASSIST.equals(instrumentEngine)) {
             logger.info("JAVASSIST InstrumentEngine.");
@@ -91,4 +104,29 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
             throw new IllegalArgumentException("Unknown InstrumentEngine:" + instrumentEngine);
         }
     }
+
+    private BytecodeCache createBytecodeCache() {
+        if (!profilerConfig.isBytecodeCacheEnable()) {
+            return null;
+        }
+        final File directory = getBytecodeCacheDir();
+        try {
+            final String jvmVersion = JvmUtils.getSystemProperty(SystemPropertyKey.JAVA_RUNTIME_NAME) + " " + JvmUtils.getSystemProperty(SystemPropertyKey.JAVA_RUNTIME_VERSION);
+            final String fingerprint = BytecodeCache.createFingerprint(Version.VERSION, jvmVersion, agentOption.getPluginJars());
+            final BytecodeCache bytecodeCache = new BytecodeCache(directory, profilerConfig.getBytecodeCacheMaxSize(), fingerprint);
+            logger.info("ASM bytecode cache enabled. {}", bytecodeCache);
+            return bytecodeCache;
+        } catch (IOException e) {
+            logger.warn("bytecode cache create fail. bytecode cache disabled. directory:{}, Caused:{}", directory, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private File getBytecodeCacheDir() {
+        final String bytecodeCacheDir = profilerConfig.getBytecodeCacheDir();
+        if (bytecodeCacheDir == null || bytecodeCacheDir.trim().isEmpty()) {
+            return new File(System.getProperty("java.io.tmpdir"), DEFAULT_BYTECODE_CACHE_DIR_NAME);
+        }
+        return new File(bytecodeCacheDir.trim());
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
+import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
+import com.navercorp.pinpoint.profiler.context.module.ApplicationName;
+import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
+import com.navercorp.pinpoint.profiler.context.module.StatDataSender;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DefaultResponseTimeHistogramMonitor;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DefaultResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DisabledResponseTimeHistogramMonitor;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramMonitor;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+
+public class ResponseTimeHistogramMonitorProvider implements Provider<ResponseTimeHistogramMonitor> {
+
+    private final ProfilerConfig profilerConfig;
+    private final DataSender dataSender;
+    private final String agentId;
+    private final long agentStartTimestamp;
+    private final String applicationName;
+    private final ServiceType applicationServerType;
+    private final ResponseTimeHistogramRecorder recorder;
+
+    @Inject
+    public ResponseTimeHistogramMonitorProvider(ProfilerConfig profilerConfig, @StatDataSender DataSender dataSender,
+                                                @AgentId String agentId, @AgentStartTime long agentStartTimestamp,
+                                                @ApplicationName String applicationName, @ApplicationServerType ServiceType applicationServerType,
+                                                ResponseTimeHistogramRecorder recorder) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (dataSender == null) {
+            throw new NullPointerException("dataSender must not be null");
+        }
+        if (recorder == null) {
+            throw new NullPointerException("recorder must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.dataSender = dataSender;
+        this.agentId = agentId;
+        this.agentStartTimestamp = agentStartTimestamp;
+        this.applicationName = applicationName;
+        this.applicationServerType = applicationServerType;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ResponseTimeHistogramMonitor get() {
+        if (!(recorder instanceof DefaultResponseTimeHistogramRecorder)) {
+            return new DisabledResponseTimeHistogramMonitor();
+        }
+        return new DefaultResponseTimeHistogramMonitor(dataSender, agentId, agentStartTimestamp, applicationName, applicationServerType,
+                (DefaultResponseTimeHistogramRecorder) recorder, profilerConfig.getResponseTimeHistogramFlushInterval());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DefaultResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DisabledResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
+
+public class ResponseTimeHistogramRecorderProvider implements Provider<ResponseTimeHistogramRecorder> {
+
+    private final ProfilerConfig profilerConfig;
+    private final Provider<ServiceType> applicationServerTypeProvider;
+
+    @Inject
+    public ResponseTimeHistogramRecorderProvider(ProfilerConfig profilerConfig, @ApplicationServerType Provider<ServiceType> applicationServerTypeProvider) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (applicationServerTypeProvider == null) {
+            throw new NullPointerException("applicationServerTypeProvider must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.applicationServerTypeProvider = applicationServerTypeProvider;
+    }
+
+    @Override
+    public ResponseTimeHistogramRecorder get() {
+        if (!profilerConfig.isResponseTimeHistogramEnable()) {
+            return DisabledResponseTimeHistogramRecorder.INSTANCE;
+        }
+        return new DefaultResponseTimeHistogramRecorder(applicationServerTypeProvider.get());
+    }
+}
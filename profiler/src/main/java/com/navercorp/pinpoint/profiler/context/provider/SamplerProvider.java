@@ -20,7 +20,11 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.sampler.DisabledSamplingThrottle;
 import com.navercorp.pinpoint.profiler.sampler.SamplerFactory;
+import com.navercorp.pinpoint.profiler.sampler.SamplerType;
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
+import com.navercorp.pinpoint.profiler.sampler.ThrottledSampler;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -28,18 +32,29 @@ import com.navercorp.pinpoint.profiler.sampler.SamplerFactory;
 public class SamplerProvider implements Provider<Sampler> {
 
     private final ProfilerConfig profilerConfig;
+    private final SamplingThrottle samplingThrottle;
 
     @Inject
-    public SamplerProvider(ProfilerConfig profilerConfig) {
+    public SamplerProvider(ProfilerConfig profilerConfig, SamplingThrottle samplingThrottle) {
+        if (samplingThrottle == null) {
+            throw new NullPointerException("samplingThrottle must not be null");
+        }
         this.profilerConfig = profilerConfig;
+        this.samplingThrottle = samplingThrottle;
     }
 
     @Override
     public Sampler get() {
         boolean samplingEnable = profilerConfig.isSamplingEnable();
+        SamplerType samplerType = SamplerType.getType(profilerConfig.getSamplingType(), SamplerType.RATE);
         int samplingRate = profilerConfig.getSamplingRate();
+        int samplingThroughput = profilerConfig.getSamplingThroughput();
 
         SamplerFactory samplerFactory = new SamplerFactory();
-        return samplerFactory.createSampler(samplingEnable, samplingRate);
+        Sampler sampler = samplerFactory.createSampler(samplingEnable, samplerType, samplingRate, samplingThroughput);
+        if (samplingThrottle != DisabledSamplingThrottle.INSTANCE) {
+            sampler = new ThrottledSampler(sampler, samplingThrottle);
+        }
+        return sampler;
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
+import com.navercorp.pinpoint.profiler.sampler.DisabledSamplingThrottle;
+import com.navercorp.pinpoint.profiler.sampler.QueueBackpressureSamplingThrottle;
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SamplingThrottleProvider implements Provider<SamplingThrottle> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+    private final Provider<DataSender> spanDataSenderProvider;
+
+    @Inject
+    public SamplingThrottleProvider(ProfilerConfig profilerConfig, @SpanDataSender Provider<DataSender> spanDataSenderProvider) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (spanDataSenderProvider == null) {
+            throw new NullPointerException("spanDataSenderProvider must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.spanDataSenderProvider = spanDataSenderProvider;
+    }
+
+    @Override
+    public SamplingThrottle get() {
+        if (!profilerConfig.isSamplingBackpressureEnable()) {
+            return DisabledSamplingThrottle.INSTANCE;
+        }
+        final DataSender spanDataSender = spanDataSenderProvider.get();
+        if (!(spanDataSender instanceof QueueStatus)) {
+            logger.warn("sampling backpressure not supported. spanDataSender:{}", spanDataSender);
+            return DisabledSamplingThrottle.INSTANCE;
+        }
+        final int lowWatermark = profilerConfig.getSamplingBackpressureLowWatermark();
+        final int highWatermark = profilerConfig.getSamplingBackpressureHighWatermark();
+        return new QueueBackpressureSamplingThrottle((QueueStatus) spanDataSender, lowWatermark, highWatermark);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.DisabledSpanRecycler;
+import com.navercorp.pinpoint.profiler.context.PooledSpanRecycler;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SpanRecyclerProvider implements Provider<SpanRecycler> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+
+    @Inject
+    public SpanRecyclerProvider(ProfilerConfig profilerConfig) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+    }
+
+    @Override
+    public SpanRecycler get() {
+        if (!profilerConfig.isSpanRecycleEnable()) {
+            return DisabledSpanRecycler.INSTANCE;
+        }
+        final int poolSize = profilerConfig.getSpanRecyclePoolSize();
+        long leakThreshold = 0;
+        if (profilerConfig.isSpanRecycleLeakDetectionEnable()) {
+            leakThreshold = profilerConfig.getSpanRecycleLeakThreshold();
+            logger.warn("span recycle leak detection enabled. leakThreshold:{}ms. do not use in production", leakThreshold);
+        }
+        return new PooledSpanRecycler(poolSize, PooledSpanRecycler.DEFAULT_THREAD_CACHE_SIZE, leakThreshold);
+    }
+
+    @Override
+    public String toString() {
+        return "SpanRecyclerProvider{" +
+                "profilerConfig=" + profilerConfig +
+                '}';
+    }
+}
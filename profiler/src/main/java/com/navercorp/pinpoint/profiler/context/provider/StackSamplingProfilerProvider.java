@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.monitor.stack.DefaultStackSamplingProfiler;
+import com.navercorp.pinpoint.profiler.monitor.stack.DisabledStackSamplingProfiler;
+import com.navercorp.pinpoint.profiler.monitor.stack.FoldedStackAggregator;
+import com.navercorp.pinpoint.profiler.monitor.stack.StackSamplingProfiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StackSamplingProfilerProvider implements Provider<StackSamplingProfiler> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+    private final ActiveTraceRepository activeTraceRepository;
+    private final FoldedStackAggregator foldedStackAggregator;
+
+    @Inject
+    public StackSamplingProfilerProvider(ProfilerConfig profilerConfig, Provider<ActiveTraceRepository> activeTraceRepositoryProvider, FoldedStackAggregator foldedStackAggregator) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        if (activeTraceRepositoryProvider == null) {
+            throw new NullPointerException("activeTraceRepositoryProvider must not be null");
+        }
+        if (foldedStackAggregator == null) {
+            throw new NullPointerException("foldedStackAggregator must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+        this.activeTraceRepository = activeTraceRepositoryProvider.get();
+        this.foldedStackAggregator = foldedStackAggregator;
+    }
+
+    @Override
+    public StackSamplingProfiler get() {
+        if (!profilerConfig.isStackSamplingEnable()) {
+            return new DisabledStackSamplingProfiler();
+        }
+        if (activeTraceRepository == null) {
+            logger.warn("StackSamplingProfiler requires profiler.pinpoint.activethread=true");
+            return new DisabledStackSamplingProfiler();
+        }
+        return new DefaultStackSamplingProfiler(activeTraceRepository, foldedStackAggregator, profilerConfig.getStackSamplingInterval(),
+                profilerConfig.getStackSamplingThreshold(), profilerConfig.getStackSamplingMaxDepth());
+    }
+}
@@ -20,6 +20,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorageFactory;
@@ -34,9 +35,11 @@ public class StorageFactoryProvider implements Provider<StorageFactory> {
     private final ProfilerConfig profilerConfig;
     private final DataSender spanDataSender;
     private final SpanChunkFactory spanChunkFactory;
+    private final SpanRecycler spanRecycler;
 
     @Inject
-    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender, SpanChunkFactory spanChunkFactory) {
+    public StorageFactoryProvider(ProfilerConfig profilerConfig, @SpanDataSender DataSender spanDataSender, SpanChunkFactory spanChunkFactory,
+                                  SpanRecycler spanRecycler) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
@@ -46,17 +49,21 @@ public class StorageFactoryProvider implements Provider<StorageFactory> {
         if (spanChunkFactory == null) {
             throw new NullPointerException("spanChunkFactory must not be null");
         }
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
 
         this.profilerConfig = profilerConfig;
         this.spanDataSender = spanDataSender;
         this.spanChunkFactory = spanChunkFactory;
+        this.spanRecycler = spanRecycler;
     }
 
     @Override
     public StorageFactory get() {
         if (profilerConfig.isIoBufferingEnable()) {
             int ioBufferingBufferSize = this.profilerConfig.getIoBufferingBufferSize();
-            return new BufferedStorageFactory(ioBufferingBufferSize, this.spanDataSender, this.spanChunkFactory);
+            return new BufferedStorageFactory(ioBufferingBufferSize, this.spanDataSender, this.spanChunkFactory, this.spanRecycler);
         } else {
             return new SpanStorageFactory(spanDataSender);
         }
@@ -68,6 +75,7 @@ public class StorageFactoryProvider implements Provider<StorageFactory> {
                 "profilerConfig=" + profilerConfig +
                 ", spanDataSender=" + spanDataSender +
                 ", spanChunkFactory=" + spanChunkFactory +
+                ", spanRecycler=" + spanRecycler +
                 '}';
     }
 }
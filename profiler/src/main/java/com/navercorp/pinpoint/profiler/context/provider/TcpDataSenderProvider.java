@@ -18,8 +18,12 @@ package com.navercorp.pinpoint.profiler.context.provider;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueType;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueueFactory;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 
 /**
@@ -27,19 +31,34 @@ import com.navercorp.pinpoint.rpc.client.PinpointClient;
  */
 public class TcpDataSenderProvider implements Provider<EnhancedDataSender> {
     private final Provider<PinpointClient> client;
+    private final AsyncQueueType writeQueueType;
+    private final DiskSpillQueueFactory spillQueueFactory;
 
     @Inject
-    public TcpDataSenderProvider(Provider<PinpointClient> client) {
+    public TcpDataSenderProvider(ProfilerConfig profilerConfig, Provider<PinpointClient> client, DiskSpillQueueFactory spillQueueFactory) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
         if (client == null) {
             throw new NullPointerException("client must not be null");
         }
+        if (spillQueueFactory == null) {
+            throw new NullPointerException("spillQueueFactory must not be null");
+        }
 
         this.client = client;
+        this.writeQueueType = AsyncQueueType.getType(profilerConfig.getTcpDataSenderWriteQueueType(), AsyncQueueType.LINKED);
+        this.spillQueueFactory = spillQueueFactory;
     }
 
     @Override
     public EnhancedDataSender get() {
         PinpointClient pinpointClient = client.get();
-        return new TcpDataSender(pinpointClient);
+        TcpDataSender tcpDataSender = new TcpDataSender(pinpointClient, writeQueueType);
+        DiskSpillQueue spillQueue = spillQueueFactory.create("tcp");
+        if (spillQueue != null) {
+            tcpDataSender.setSpillQueue(spillQueue, spillQueueFactory.getReplayRate());
+        }
+        return tcpDataSender;
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.context.resource.DefaultThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.DisabledThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThreadResourceMeterProvider implements Provider<ThreadResourceMeter> {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+
+    @Inject
+    public ThreadResourceMeterProvider(ProfilerConfig profilerConfig) {
+        if (profilerConfig == null) {
+            throw new NullPointerException("profilerConfig must not be null");
+        }
+        this.profilerConfig = profilerConfig;
+    }
+
+    @Override
+    public ThreadResourceMeter get() {
+        final boolean cpuTime = profilerConfig.isSpanCpuTimeEnable();
+        final boolean allocatedBytes = profilerConfig.isSpanAllocatedBytesEnable();
+        if (!cpuTime && !allocatedBytes) {
+            return DisabledThreadResourceMeter.INSTANCE;
+        }
+        final DefaultThreadResourceMeter threadResourceMeter = new DefaultThreadResourceMeter(cpuTime, allocatedBytes);
+        if (!threadResourceMeter.isCpuTimeSupported() && !threadResourceMeter.isAllocatedBytesSupported()) {
+            logger.warn("span resource usage not supported by the JVM. disabled");
+            return DisabledThreadResourceMeter.INSTANCE;
+        }
+        logger.info("span resource usage enabled. {}", threadResourceMeter);
+        return threadResourceMeter;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadResourceMeterProvider{" +
+                "profilerConfig=" + profilerConfig +
+                '}';
+    }
+}
@@ -32,7 +32,9 @@ import com.navercorp.pinpoint.profiler.context.TraceFactory;
 import com.navercorp.pinpoint.profiler.context.id.TraceIdFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +47,7 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
 
     private final StorageFactory storageFactory;
     private final Sampler sampler;
+    private final DeferredStorageFactory deferredStorageFactory;
     private final IdGenerator idGenerator;
     private final TraceIdFactory traceIdFactory;
     private final AsyncIdGenerator asyncIdGenerator;
@@ -55,11 +58,13 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
 
     private final SpanFactory spanFactory;
     private final RecorderFactory recorderFactory;
-
+    private final ResponseTimeHistogramRecorder responseTimeHistogramRecorder;
 
     @Inject
-    public TraceFactoryProvider(CallStackFactory callStackFactory, StorageFactory storageFactory, Sampler sampler, IdGenerator idGenerator, TraceIdFactory traceIdFactory, AsyncIdGenerator asyncIdGenerator,
-                                Provider<ActiveTraceRepository> activeTraceRepositoryProvider, SpanFactory spanFactory, RecorderFactory recorderFactory) {
+    public TraceFactoryProvider(CallStackFactory callStackFactory, StorageFactory storageFactory, Sampler sampler, Provider<DeferredStorageFactory> deferredStorageFactoryProvider,
+                                IdGenerator idGenerator, TraceIdFactory traceIdFactory, AsyncIdGenerator asyncIdGenerator,
+                                Provider<ActiveTraceRepository> activeTraceRepositoryProvider, SpanFactory spanFactory, RecorderFactory recorderFactory,
+                                ResponseTimeHistogramRecorder responseTimeHistogramRecorder) {
         if (callStackFactory == null) {
             throw new NullPointerException("callStackFactory must not be null");
         }
@@ -69,6 +74,9 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
         if (sampler == null) {
             throw new NullPointerException("sampler must not be null");
         }
+        if (deferredStorageFactoryProvider == null) {
+            throw new NullPointerException("deferredStorageFactoryProvider must not be null");
+        }
         if (idGenerator == null) {
             throw new NullPointerException("idGenerator must not be null");
         }
@@ -88,10 +96,14 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
         if (recorderFactory == null) {
             throw new NullPointerException("recorderFactory must not be null");
         }
+        if (responseTimeHistogramRecorder == null) {
+            throw new NullPointerException("responseTimeHistogramRecorder must not be null");
+        }
 
         this.callStackFactory = callStackFactory;
         this.storageFactory = storageFactory;
         this.sampler = sampler;
+        this.deferredStorageFactory = deferredStorageFactoryProvider.get();
         this.idGenerator = idGenerator;
         this.traceIdFactory = traceIdFactory;
         this.asyncIdGenerator = asyncIdGenerator;
@@ -99,14 +111,14 @@ public class TraceFactoryProvider implements Provider<TraceFactory> {
 
         this.spanFactory = spanFactory;
         this.recorderFactory = recorderFactory;
-
+        this.responseTimeHistogramRecorder = responseTimeHistogramRecorder;
     }
 
     @Override
     public TraceFactory get() {
 
-        BaseTraceFactory baseTraceFactory = new DefaultBaseTraceFactory(callStackFactory, storageFactory, sampler, traceIdFactory, idGenerator,
-                asyncIdGenerator, spanFactory, recorderFactory);
+        BaseTraceFactory baseTraceFactory = new DefaultBaseTraceFactory(callStackFactory, storageFactory, sampler, deferredStorageFactory, traceIdFactory, idGenerator,
+                asyncIdGenerator, spanFactory, recorderFactory, responseTimeHistogramRecorder);
         if (isDebugEnabled()) {
             baseTraceFactory = LoggingBaseTraceFactory.wrap(baseTraceFactory);
         }
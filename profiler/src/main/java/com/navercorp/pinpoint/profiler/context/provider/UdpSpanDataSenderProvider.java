@@ -19,8 +19,13 @@ package com.navercorp.pinpoint.profiler.context.provider;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueType;
+import com.navercorp.pinpoint.profiler.sender.CoalescingUdpDataSender;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.Spillable;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSenderFactory;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueueFactory;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -35,18 +40,29 @@ public class UdpSpanDataSenderProvider implements Provider<DataSender> {
     private final int timeout;
     private final int sendBufferSize;
     private final String senderType;
+    private final AsyncQueueType writeQueueType;
+    private final int coalescingPacketSize;
+    private final long coalescingFlushInterval;
+    private final DiskSpillQueueFactory spillQueueFactory;
 
     @Inject
-    public UdpSpanDataSenderProvider(ProfilerConfig profilerConfig) {
+    public UdpSpanDataSenderProvider(ProfilerConfig profilerConfig, DiskSpillQueueFactory spillQueueFactory) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
+        if (spillQueueFactory == null) {
+            throw new NullPointerException("spillQueueFactory must not be null");
+        }
         this.ip = profilerConfig.getCollectorSpanServerIp();
         this.port = profilerConfig.getCollectorSpanServerPort();
         this.writeQueueSize = profilerConfig.getSpanDataSenderWriteQueueSize();
         this.timeout = profilerConfig.getSpanDataSenderSocketTimeout();
         this.sendBufferSize = profilerConfig.getSpanDataSenderSocketSendBufferSize();
         this.senderType = profilerConfig.getSpanDataSenderSocketType();
+        this.writeQueueType = AsyncQueueType.getType(profilerConfig.getSpanDataSenderWriteQueueType(), AsyncQueueType.LINKED);
+        this.coalescingPacketSize = profilerConfig.getUdpDataSenderCoalescingPacketSize();
+        this.coalescingFlushInterval = profilerConfig.getUdpDataSenderCoalescingFlushInterval();
+        this.spillQueueFactory = spillQueueFactory;
     }
 
     public UdpSpanDataSenderProvider(String ip, int port, int writeQueueSize, int timeout, int sendBufferSize, String senderType) {
@@ -56,13 +72,25 @@ public class UdpSpanDataSenderProvider implements Provider<DataSender> {
         this.timeout = timeout;
         this.sendBufferSize = sendBufferSize;
         this.senderType = senderType;
+        this.writeQueueType = AsyncQueueType.LINKED;
+        this.coalescingPacketSize = CoalescingUdpDataSender.DEFAULT_PACKET_SIZE;
+        this.coalescingFlushInterval = CoalescingUdpDataSender.DEFAULT_FLUSH_INTERVAL;
+        this.spillQueueFactory = new DiskSpillQueueFactory();
     }
 
 
     @Override
     public DataSender get() {
-        UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, threadName, writeQueueSize, timeout, sendBufferSize);
-        return factory.create(senderType);
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, threadName, writeQueueSize, timeout, sendBufferSize, writeQueueType,
+                coalescingPacketSize, coalescingFlushInterval);
+        DataSender dataSender = factory.create(senderType);
+        if (dataSender instanceof Spillable) {
+            DiskSpillQueue spillQueue = spillQueueFactory.create("span");
+            if (spillQueue != null) {
+                ((Spillable) dataSender).setSpillQueue(spillQueue, spillQueueFactory.getReplayRate());
+            }
+        }
+        return dataSender;
     }
 
 
@@ -72,9 +100,13 @@ public class UdpSpanDataSenderProvider implements Provider<DataSender> {
                 "ip='" + ip + '\'' +
                 ", port=" + port +
                 ", writeQueueSize=" + writeQueueSize +
+                ", writeQueueType=" + writeQueueType +
                 ", timeout=" + timeout +
                 ", sendBufferSize=" + sendBufferSize +
                 ", senderType='" + senderType + '\'' +
+                ", coalescingPacketSize=" + coalescingPacketSize +
+                ", coalescingFlushInterval=" + coalescingFlushInterval +
+                ", spillQueueFactory=" + spillQueueFactory +
                 '}';
     }
 
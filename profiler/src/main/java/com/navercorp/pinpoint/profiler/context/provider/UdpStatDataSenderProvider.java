@@ -19,8 +19,12 @@ package com.navercorp.pinpoint.profiler.context.provider;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueType;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.Spillable;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSenderFactory;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueueFactory;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -35,26 +39,45 @@ public class UdpStatDataSenderProvider implements Provider<DataSender> {
     private final int timeout;
     private final int sendBufferSize;
     private final String senderType;
+    private final AsyncQueueType writeQueueType;
+    private final int coalescingPacketSize;
+    private final long coalescingFlushInterval;
+    private final DiskSpillQueueFactory spillQueueFactory;
 
     @Inject
-    public UdpStatDataSenderProvider(ProfilerConfig profilerConfig) {
+    public UdpStatDataSenderProvider(ProfilerConfig profilerConfig, DiskSpillQueueFactory spillQueueFactory) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
+        if (spillQueueFactory == null) {
+            throw new NullPointerException("spillQueueFactory must not be null");
+        }
         this.ip = profilerConfig.getCollectorStatServerIp();
         this.port = profilerConfig.getCollectorStatServerPort();
         this.writeQueueSize = profilerConfig.getStatDataSenderWriteQueueSize();
         this.timeout = profilerConfig.getStatDataSenderSocketTimeout();
         this.sendBufferSize = profilerConfig.getStatDataSenderSocketSendBufferSize();
         this.senderType = profilerConfig.getStatDataSenderSocketType();
+        this.writeQueueType = AsyncQueueType.getType(profilerConfig.getStatDataSenderWriteQueueType(), AsyncQueueType.LINKED);
+        this.coalescingPacketSize = profilerConfig.getUdpDataSenderCoalescingPacketSize();
+        this.coalescingFlushInterval = profilerConfig.getUdpDataSenderCoalescingFlushInterval();
+        this.spillQueueFactory = spillQueueFactory;
     }
 
 
 
     @Override
     public DataSender get() {
-        UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, threadName, writeQueueSize, timeout, sendBufferSize);
-        return factory.create(senderType);
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, threadName, writeQueueSize, timeout, sendBufferSize, writeQueueType,
+                coalescingPacketSize, coalescingFlushInterval);
+        DataSender dataSender = factory.create(senderType);
+        if (dataSender instanceof Spillable) {
+            DiskSpillQueue spillQueue = spillQueueFactory.create("stat");
+            if (spillQueue != null) {
+                ((Spillable) dataSender).setSpillQueue(spillQueue, spillQueueFactory.getReplayRate());
+            }
+        }
+        return dataSender;
     }
 
     @Override
@@ -63,9 +86,13 @@ public class UdpStatDataSenderProvider implements Provider<DataSender> {
                 "ip='" + ip + '\'' +
                 ", port=" + port +
                 ", writeQueueSize=" + writeQueueSize +
+                ", writeQueueType=" + writeQueueType +
                 ", timeout=" + timeout +
                 ", sendBufferSize=" + sendBufferSize +
                 ", senderType='" + senderType + '\'' +
+                ", coalescingPacketSize=" + coalescingPacketSize +
+                ", coalescingFlushInterval=" + coalescingFlushInterval +
+                ", spillQueueFactory=" + spillQueueFactory +
                 '}';
     }
 }
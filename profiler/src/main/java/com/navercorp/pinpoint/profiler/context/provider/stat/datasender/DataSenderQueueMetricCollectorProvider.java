@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.datasender;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
+import com.navercorp.pinpoint.profiler.monitor.collector.datasender.DataSenderQueueMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.datasender.DefaultDataSenderQueueMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.datasender.UnsupportedDataSenderQueueMetricCollector;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+
+/**
+ * queue metric of the span {@link DataSender}
+ */
+public class DataSenderQueueMetricCollectorProvider implements Provider<DataSenderQueueMetricCollector> {
+
+    private final Provider<DataSender> spanDataSenderProvider;
+
+    @Inject
+    public DataSenderQueueMetricCollectorProvider(@SpanDataSender Provider<DataSender> spanDataSenderProvider) {
+        if (spanDataSenderProvider == null) {
+            throw new NullPointerException("spanDataSenderProvider must not be null");
+        }
+        this.spanDataSenderProvider = spanDataSenderProvider;
+    }
+
+    @Override
+    public DataSenderQueueMetricCollector get() {
+        final DataSender spanDataSender = spanDataSenderProvider.get();
+        if (spanDataSender instanceof QueueStatus) {
+            return new DefaultDataSenderQueueMetricCollector((QueueStatus) spanDataSender);
+        }
+        return new UnsupportedDataSenderQueueMetricCollector();
+    }
+}
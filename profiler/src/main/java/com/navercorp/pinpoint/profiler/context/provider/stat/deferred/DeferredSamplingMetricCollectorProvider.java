@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.deferred;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.DisabledDeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.collector.deferred.DefaultDeferredSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.deferred.DeferredSamplingMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.deferred.UnsupportedDeferredSamplingMetricCollector;
+
+public class DeferredSamplingMetricCollectorProvider implements Provider<DeferredSamplingMetricCollector> {
+
+    private final DeferredStorageFactory deferredStorageFactory;
+
+    @Inject
+    public DeferredSamplingMetricCollectorProvider(DeferredStorageFactory deferredStorageFactory) {
+        if (deferredStorageFactory == null) {
+            throw new NullPointerException("deferredStorageFactory must not be null");
+        }
+        this.deferredStorageFactory = deferredStorageFactory;
+    }
+
+    @Override
+    public DeferredSamplingMetricCollector get() {
+        if (deferredStorageFactory instanceof DisabledDeferredStorageFactory) {
+            return new UnsupportedDeferredSamplingMetricCollector();
+        }
+        return new DefaultDeferredSamplingMetricCollector(deferredStorageFactory);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.stat.throttle;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.monitor.collector.throttle.DefaultSamplingThrottleMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.throttle.SamplingThrottleMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.throttle.UnsupportedSamplingThrottleMetricCollector;
+import com.navercorp.pinpoint.profiler.sampler.DisabledSamplingThrottle;
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
+
+public class SamplingThrottleMetricCollectorProvider implements Provider<SamplingThrottleMetricCollector> {
+
+    private final SamplingThrottle samplingThrottle;
+
+    @Inject
+    public SamplingThrottleMetricCollectorProvider(SamplingThrottle samplingThrottle) {
+        if (samplingThrottle == null) {
+            throw new NullPointerException("samplingThrottle must not be null");
+        }
+        this.samplingThrottle = samplingThrottle;
+    }
+
+    @Override
+    public SamplingThrottleMetricCollector get() {
+        if (samplingThrottle instanceof DisabledSamplingThrottle) {
+            return new UnsupportedSamplingThrottleMetricCollector();
+        }
+        return new DefaultSamplingThrottleMetricCollector(samplingThrottle);
+    }
+}
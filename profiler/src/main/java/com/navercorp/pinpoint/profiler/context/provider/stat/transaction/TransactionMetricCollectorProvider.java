@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context.provider.stat.transaction;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.DefaultTransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.TransactionMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.UnsupportedTransactionMetricCollector;
@@ -29,13 +30,18 @@ import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMet
 public class TransactionMetricCollectorProvider implements Provider<TransactionMetricCollector> {
 
     private final TransactionMetric transactionMetric;
+    private final DeferredStorageFactory deferredStorageFactory;
 
     @Inject
-    public TransactionMetricCollectorProvider(TransactionMetric transactionMetric) {
+    public TransactionMetricCollectorProvider(TransactionMetric transactionMetric, DeferredStorageFactory deferredStorageFactory) {
         if (transactionMetric == null) {
             throw new NullPointerException("transactionMetric must not be null");
         }
+        if (deferredStorageFactory == null) {
+            throw new NullPointerException("deferredStorageFactory must not be null");
+        }
         this.transactionMetric = transactionMetric;
+        this.deferredStorageFactory = deferredStorageFactory;
     }
 
     @Override
@@ -43,6 +49,6 @@ public class TransactionMetricCollectorProvider implements Provider<TransactionM
         if (transactionMetric == TransactionMetric.UNSUPPORTED_TRANSACTION_METRIC) {
             return new UnsupportedTransactionMetricCollector();
         }
-        return new DefaultTransactionMetricCollector(transactionMetric);
+        return new DefaultTransactionMetricCollector(transactionMetric, deferredStorageFactory);
     }
 }
@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.common.util.AnnotationKeyUtils;
 import com.navercorp.pinpoint.profiler.context.Annotation;
 import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
 import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.profiler.util.AnnotationValueMapper;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 
 /**
  * 
@@ -129,15 +131,25 @@ public abstract class AbstractRecorder {
     }
     
     public void recordAttribute(AnnotationKey key, String value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = newAnnotation(key.getCode());
+        annotation.setValue(TAnnotationValue.stringValue(value));
+        addAnnotation(annotation);
     }
 
     public void recordAttribute(AnnotationKey key, int value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = newAnnotation(key.getCode());
+        annotation.setValue(TAnnotationValue.intValue(value));
+        addAnnotation(annotation);
     }
 
     public void recordAttribute(AnnotationKey key, Object value) {
-        addAnnotation(new Annotation(key.getCode(), value));
+        final Annotation annotation = newAnnotation(key.getCode());
+        AnnotationValueMapper.mappingValue(annotation, value);
+        addAnnotation(annotation);
+    }
+
+    Annotation newAnnotation(int key) {
+        return new Annotation(key);
     }
 
     abstract void addAnnotation(Annotation annotation);
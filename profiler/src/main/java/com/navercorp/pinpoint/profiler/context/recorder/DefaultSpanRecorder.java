@@ -145,12 +145,14 @@ public class DefaultSpanRecorder extends AbstractRecorder implements SpanRecorde
         if (time) {
             if(!span.isSetStartTime()) {
                 span.markBeforeTime();
+                span.markBeforeResourceUsage();
             }
         } else {
             span.setElapsed(0);
             span.setElapsedIsSet(false);
             span.setStartTime(0);
             span.setStartTimeIsSet(false);
+            span.clearResourceUsage();
         }
     }
 
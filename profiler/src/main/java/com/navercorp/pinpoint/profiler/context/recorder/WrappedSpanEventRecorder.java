@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
 
 /**
@@ -41,6 +42,8 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
     private final boolean isDebug = logger.isDebugEnabled();
 
     private SpanEvent spanEvent;
+    // never stored. receives the records made after the wrapped span event was stored
+    private SpanEvent detachedSpanEvent;
 
     public WrappedSpanEventRecorder(final StringMetaDataService stringMetaDataService, final SqlMetaDataService sqlMetaCacheService) {
         super(stringMetaDataService, sqlMetaCacheService);
@@ -50,6 +53,22 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
         this.spanEvent = spanEvent;
     }
 
+    /**
+     * Releases the span event before it is stored.
+     * A pooled span event is recycled by the data sender while an interceptor may still hold this recorder.
+     */
+    public void detach(final SpanEvent spanEvent) {
+        if (this.spanEvent != spanEvent) {
+            return;
+        }
+        SpanEvent detachedSpanEvent = this.detachedSpanEvent;
+        if (detachedSpanEvent == null) {
+            detachedSpanEvent = new SpanEvent(spanEvent.getSpan());
+            this.detachedSpanEvent = detachedSpanEvent;
+        }
+        this.spanEvent = detachedSpanEvent;
+    }
+
     @Override
     public ParsingResult recordSqlInfo(String sql) {
         if (sql == null) {
@@ -95,7 +114,9 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
     }
 
     private void recordSqlParam(TIntStringStringValue tIntStringStringValue) {
-        spanEvent.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), tIntStringStringValue));
+        final Annotation annotation = newAnnotation(AnnotationKey.SQL_ID.getCode());
+        annotation.setValue(TAnnotationValue.intStringStringValue(tIntStringStringValue));
+        spanEvent.addAnnotation(annotation);
     }
 
     @Override
@@ -151,6 +172,10 @@ public class WrappedSpanEventRecorder extends AbstractRecorder implements SpanEv
         spanEvent.setApiId(apiId);
     }
 
+    Annotation newAnnotation(int key) {
+        return spanEvent.getSpan().getSpanRecycler().newAnnotation(key);
+    }
+
     void addAnnotation(Annotation annotation) {
         spanEvent.addAnnotation(annotation);
     }
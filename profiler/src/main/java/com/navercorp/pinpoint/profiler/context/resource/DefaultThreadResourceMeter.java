@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.resource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * {@link ThreadMXBean} based meter. the capability of the running JVM is detected once on creation.
+ * A resource the JVM does not support is reported as {@link #UNSUPPORTED}.
+ */
+public class DefaultThreadResourceMeter implements ThreadResourceMeter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultThreadResourceMeter.class);
+
+    private final ThreadMXBean threadMXBean;
+    private final boolean cpuTime;
+    private final boolean allocatedBytes;
+
+    public DefaultThreadResourceMeter(boolean cpuTime, boolean allocatedBytes) {
+        this(ManagementFactory.getThreadMXBean(), cpuTime, allocatedBytes);
+    }
+
+    DefaultThreadResourceMeter(ThreadMXBean threadMXBean, boolean cpuTime, boolean allocatedBytes) {
+        if (threadMXBean == null) {
+            throw new NullPointerException("threadMXBean must not be null");
+        }
+        this.threadMXBean = threadMXBean;
+        this.cpuTime = cpuTime && isCpuTimeSupported(threadMXBean);
+        this.allocatedBytes = allocatedBytes && isAllocatedBytesSupported(threadMXBean);
+    }
+
+    private static boolean isCpuTimeSupported(ThreadMXBean threadMXBean) {
+        try {
+            if (threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()) {
+                return true;
+            }
+            logger.info("thread cpu time not supported or disabled by the JVM");
+        } catch (UnsupportedOperationException e) {
+            logger.info("thread cpu time not supported. Caused:{}", e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean isAllocatedBytesSupported(ThreadMXBean threadMXBean) {
+        if (!HotSpotThreadAllocation.isAvailable()) {
+            logger.info("thread allocated bytes not supported. com.sun.management.ThreadMXBean not found");
+            return false;
+        }
+        try {
+            if (HotSpotThreadAllocation.isSupported(threadMXBean)) {
+                return true;
+            }
+            logger.info("thread allocated bytes not supported or disabled by the JVM");
+        } catch (UnsupportedOperationException e) {
+            logger.info("thread allocated bytes not supported. Caused:{}", e.getMessage());
+        }
+        return false;
+    }
+
+    public boolean isCpuTimeSupported() {
+        return cpuTime;
+    }
+
+    public boolean isAllocatedBytesSupported() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public long currentThreadCpuTime() {
+        if (!cpuTime) {
+            return UNSUPPORTED;
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    @Override
+    public long currentThreadAllocatedBytes() {
+        if (!allocatedBytes) {
+            return UNSUPPORTED;
+        }
+        return HotSpotThreadAllocation.getThreadAllocatedBytes(threadMXBean, Thread.currentThread().getId());
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultThreadResourceMeter{" +
+                "cpuTime=" + cpuTime +
+                ", allocatedBytes=" + allocatedBytes +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.resource;
+
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Isolates the HotSpot specific {@code com.sun.management.ThreadMXBean}.
+ * Caution. do not touch this class before {@link #isAvailable()} returns true.
+ */
+final class HotSpotThreadAllocation {
+
+    private static final String HOTSPOT_THREAD_MXBEAN = "com.sun.management.ThreadMXBean";
+
+    private HotSpotThreadAllocation() {
+    }
+
+    static boolean isAvailable() {
+        try {
+            Class.forName(HOTSPOT_THREAD_MXBEAN, false, HotSpotThreadAllocation.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    static boolean isSupported(ThreadMXBean threadMXBean) {
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        final com.sun.management.ThreadMXBean hotSpotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        return hotSpotThreadMXBean.isThreadAllocatedMemorySupported() && hotSpotThreadMXBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    static long getThreadAllocatedBytes(ThreadMXBean threadMXBean, long threadId) {
+        return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(threadId);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.resource;
+
+/**
+ * Reads resource usage of the current thread.
+ * Values are cumulative for the thread lifetime. only the difference between two readings is meaningful.
+ */
+public interface ThreadResourceMeter {
+
+    long UNSUPPORTED = -1L;
+
+    /**
+     * @return cpu time of the current thread in nanoseconds or {@link #UNSUPPORTED}
+     */
+    long currentThreadCpuTime();
+
+    /**
+     * @return bytes allocated by the current thread or {@link #UNSUPPORTED}
+     */
+    long currentThreadAllocatedBytes();
+}
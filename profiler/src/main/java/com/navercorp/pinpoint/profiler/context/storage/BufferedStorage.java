@@ -22,7 +22,6 @@ import com.navercorp.pinpoint.profiler.sender.DataSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -37,35 +36,47 @@ public class BufferedStorage implements Storage {
 
     private final int bufferSize;
 
+    // borrowed on the first span event. never empty if not null
     private List<SpanEvent> storage;
     private final DataSender dataSender;
     private final SpanChunkFactory spanChunkFactory;
+    private final SpanRecycler spanRecycler;
 
     public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory) {
         this(dataSender, spanChunkFactory, DEFAULT_BUFFER_SIZE);
     }
 
     public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory, int bufferSize) {
+        this(dataSender, spanChunkFactory, bufferSize, DisabledSpanRecycler.INSTANCE);
+    }
+
+    public BufferedStorage(DataSender dataSender, SpanChunkFactory spanChunkFactory, int bufferSize, SpanRecycler spanRecycler) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
         if (spanChunkFactory == null) {
             throw new NullPointerException("spanChunkFactory must not be null");
         }
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
         this.dataSender = dataSender;
         this.spanChunkFactory = spanChunkFactory;
         this.bufferSize = bufferSize;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.spanRecycler = spanRecycler;
     }
 
     @Override
     public void store(SpanEvent spanEvent) {
         List<SpanEvent> flushData = null;
+        if (storage == null) {
+            storage = spanRecycler.newSpanEventList(bufferSize);
+        }
         storage.add(spanEvent);
         if (storage.size() >= bufferSize) {
             // data copy
             flushData = storage;
-            storage = new ArrayList<SpanEvent>(bufferSize);
+            storage = null;
         }
 
         if (flushData != null) {
@@ -81,7 +92,7 @@ public class BufferedStorage implements Storage {
     public void store(Span span) {
         List<SpanEvent> spanEventList;
         spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             span.setSpanEventList((List) spanEventList);
@@ -96,7 +107,7 @@ public class BufferedStorage implements Storage {
     public void flush() {
         List<SpanEvent> spanEventList;
         spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             final SpanChunk spanChunk = spanChunkFactory.create(spanEventList);
@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.profiler.context.storage;
 
+import com.navercorp.pinpoint.profiler.context.DisabledSpanRecycler;
 import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 
 /**
@@ -27,25 +29,34 @@ public class BufferedStorageFactory implements StorageFactory {
     private final DataSender dataSender;
     private final int ioBufferingBufferSize;
     private final SpanChunkFactory spanChunkFactory;
+    private final SpanRecycler spanRecycler;
 
     public BufferedStorageFactory(int ioBufferingBufferSize, DataSender dataSender, SpanChunkFactory spanChunkFactory) {
+        this(ioBufferingBufferSize, dataSender, spanChunkFactory, DisabledSpanRecycler.INSTANCE);
+    }
+
+    public BufferedStorageFactory(int ioBufferingBufferSize, DataSender dataSender, SpanChunkFactory spanChunkFactory, SpanRecycler spanRecycler) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
         if (spanChunkFactory == null) {
             throw new NullPointerException("spanChunkFactory must not be null");
         }
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
         this.dataSender = dataSender;
 
         this.ioBufferingBufferSize = ioBufferingBufferSize;
 
         this.spanChunkFactory = spanChunkFactory;
+        this.spanRecycler = spanRecycler;
     }
 
 
     @Override
     public Storage createStorage() {
-        BufferedStorage bufferedStorage = new BufferedStorage(this.dataSender, spanChunkFactory, this.ioBufferingBufferSize);
+        BufferedStorage bufferedStorage = new BufferedStorage(this.dataSender, spanChunkFactory, this.ioBufferingBufferSize, spanRecycler);
         return bufferedStorage;
     }
 
@@ -55,6 +66,7 @@ public class BufferedStorageFactory implements StorageFactory {
                 "dataSender=" + dataSender +
                 ", ioBufferingBufferSize=" + ioBufferingBufferSize +
                 ", spanChunkFactory=" + spanChunkFactory +
+                ", spanRecycler=" + spanRecycler +
                 '}';
     }
 }
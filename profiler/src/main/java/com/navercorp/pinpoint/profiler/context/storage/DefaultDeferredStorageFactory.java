@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.monitor.histogram.ResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.sampler.EntryPointSampleFloor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates {@link DeferredStorage} for transactions that were not picked by the head sampler.
+ * <p>
+ * Memory is strictly capped. at most maxTraceCount deferred traces are buffered at the same time
+ * and each of them keeps at most maxSpanEventCount span events.
+ * Buffers are recycled per thread, so a discarded trace does not leave garbage behind.
+ * The response time of a discarded trace is still counted by the {@link ResponseTimeHistogramRecorder}.
+ * <p>
+ * Besides failed and slow traces, a trace is promoted if its entry point got no sample within the interval
+ * of the {@link EntryPointSampleFloor}.
+ * <p>
+ * A trace that is never closed would hold its slot forever.
+ * When all slots are taken, traces older than maxAge are expired to free their slots.
+ */
+public class DefaultDeferredStorageFactory implements DeferredStorageFactory {
+
+    private final StorageFactory storageFactory;
+
+    private final long latencyThreshold;
+    private final int maxSpanEventCount;
+    private final int maxTraceCount;
+    private final long maxAge;
+    private final ResponseTimeHistogramRecorder responseTimeHistogramRecorder;
+    // null if disabled
+    private final EntryPointSampleFloor entryPointSampleFloor;
+
+    private final AtomicInteger activeTraceCount = new AtomicInteger(0);
+    private final Set<DeferredStorage> activeStorages = Collections.newSetFromMap(new ConcurrentHashMap<DeferredStorage, Boolean>());
+
+    private final AtomicLong promotedCount = new AtomicLong(0);
+    private final AtomicLong discardedCount = new AtomicLong(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+    private final AtomicLong expiredCount = new AtomicLong(0);
+
+    private final ThreadLocal<List<SpanEvent>> bufferCache = new ThreadLocal<List<SpanEvent>>();
+
+    public DefaultDeferredStorageFactory(StorageFactory storageFactory, long latencyThreshold, int maxSpanEventCount, int maxTraceCount, long maxAge,
+                                         ResponseTimeHistogramRecorder responseTimeHistogramRecorder, EntryPointSampleFloor entryPointSampleFloor) {
+        if (storageFactory == null) {
+            throw new NullPointerException("storageFactory must not be null");
+        }
+        if (latencyThreshold < 0) {
+            throw new IllegalArgumentException("negative latencyThreshold:" + latencyThreshold);
+        }
+        if (maxSpanEventCount <= 0) {
+            throw new IllegalArgumentException("maxSpanEventCount must be greater than 0. maxSpanEventCount:" + maxSpanEventCount);
+        }
+        if (maxTraceCount <= 0) {
+            throw new IllegalArgumentException("maxTraceCount must be greater than 0. maxTraceCount:" + maxTraceCount);
+        }
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("negative maxAge:" + maxAge);
+        }
+        if (responseTimeHistogramRecorder == null) {
+            throw new NullPointerException("responseTimeHistogramRecorder must not be null");
+        }
+        this.storageFactory = storageFactory;
+        this.latencyThreshold = latencyThreshold;
+        this.maxSpanEventCount = maxSpanEventCount;
+        this.maxTraceCount = maxTraceCount;
+        this.maxAge = maxAge;
+        this.responseTimeHistogramRecorder = responseTimeHistogramRecorder;
+        this.entryPointSampleFloor = entryPointSampleFloor;
+    }
+
+    @Override
+    public DeferredStorage createStorage() {
+        if (!acquire()) {
+            if (expire(System.currentTimeMillis()) == 0 || !acquire()) {
+                rejectedCount.incrementAndGet();
+                return null;
+            }
+        }
+        final DeferredStorage storage = new DeferredStorage(this, borrowBuffer(), maxSpanEventCount, System.currentTimeMillis());
+        activeStorages.add(storage);
+        return storage;
+    }
+
+    private boolean acquire() {
+        while (true) {
+            final int current = activeTraceCount.get();
+            if (current >= maxTraceCount) {
+                return false;
+            }
+            if (activeTraceCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    int expire(long currentTimeMillis) {
+        final long deadline = currentTimeMillis - maxAge;
+        int expired = 0;
+        for (DeferredStorage storage : activeStorages) {
+            if (storage.getCreateTime() <= deadline && storage.expire()) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    private List<SpanEvent> borrowBuffer() {
+        final List<SpanEvent> buffer = bufferCache.get();
+        if (buffer != null) {
+            bufferCache.set(null);
+            return buffer;
+        }
+        return new ArrayList<SpanEvent>();
+    }
+
+    void release(DeferredStorage storage, List<SpanEvent> buffer) {
+        activeStorages.remove(storage);
+        buffer.clear();
+        if (bufferCache.get() == null) {
+            bufferCache.set(buffer);
+        }
+        activeTraceCount.decrementAndGet();
+    }
+
+    // called by another thread. the buffer still belongs to the owner of the trace and is left to the GC.
+    // span events stored after the expiration are recycled by the owner
+    void expired(DeferredStorage storage) {
+        activeStorages.remove(storage);
+        expiredCount.incrementAndGet();
+        activeTraceCount.decrementAndGet();
+    }
+
+    boolean isPromotable(Span span) {
+        if (span.isSetErrCode() && span.getErrCode() != 0) {
+            return true;
+        }
+        if (span.getElapsed() >= latencyThreshold) {
+            return true;
+        }
+        return entryPointSampleFloor != null && entryPointSampleFloor.tryAcquire(span.getRpc(), System.currentTimeMillis());
+    }
+
+    void promote(Span span, List<SpanEvent> spanEventList) {
+        promotedCount.incrementAndGet();
+        final Storage storage = storageFactory.createStorage();
+        for (SpanEvent spanEvent : spanEventList) {
+            storage.store(spanEvent);
+        }
+        storage.store(span);
+        storage.close();
+    }
+
+    // span events of an async trace of a promoted transaction
+    void promoteAsync(List<SpanEvent> spanEventList) {
+        final Storage storage = storageFactory.createStorage();
+        for (SpanEvent spanEvent : spanEventList) {
+            storage.store(spanEvent);
+        }
+        storage.flush();
+        storage.close();
+    }
+
+    void discard(Span span, List<SpanEvent> spanEventList) {
+        final boolean error = span.isSetErrCode() && span.getErrCode() != 0;
+        responseTimeHistogramRecorder.record(true, span.getElapsed(), error);
+        discard(spanEventList);
+    }
+
+    void discard(List<SpanEvent> spanEventList) {
+        discardedCount.incrementAndGet();
+        recycle(spanEventList);
+    }
+
+    void recycle(SpanEvent spanEvent) {
+        spanEvent.getSpan().getSpanRecycler().recycle(spanEvent);
+    }
+
+    void recycle(List<SpanEvent> spanEventList) {
+        for (SpanEvent spanEvent : spanEventList) {
+            recycle(spanEvent);
+        }
+    }
+
+    @Override
+    public int getActiveTraceCount() {
+        return activeTraceCount.get();
+    }
+
+    @Override
+    public long getPromotedCount() {
+        return promotedCount.get();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultDeferredStorageFactory{" +
+                "storageFactory=" + storageFactory +
+                ", latencyThreshold=" + latencyThreshold +
+                ", maxSpanEventCount=" + maxSpanEventCount +
+                ", maxTraceCount=" + maxTraceCount +
+                ", maxAge=" + maxAge +
+                ", entryPointSampleFloor=" + entryPointSampleFloor +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span events of an async trace whose transaction is deferred.
+ * Handed over to the {@link DeferredStorage} of the transaction on flush, which applies its decision to them.
+ */
+class DeferredAsyncStorage implements Storage {
+
+    private final DeferredStorage deferredStorage;
+    private final int maxSpanEventCount;
+
+    private List<SpanEvent> storage;
+
+    DeferredAsyncStorage(DeferredStorage deferredStorage, int maxSpanEventCount) {
+        if (deferredStorage == null) {
+            throw new NullPointerException("deferredStorage must not be null");
+        }
+        this.deferredStorage = deferredStorage;
+        this.maxSpanEventCount = maxSpanEventCount;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        if (storage == null) {
+            storage = new ArrayList<SpanEvent>();
+        }
+        if (storage.size() < maxSpanEventCount) {
+            storage.add(spanEvent);
+        } else {
+            spanEvent.getSpan().getSpanRecycler().recycle(spanEvent);
+        }
+    }
+
+    @Override
+    public void store(Span span) {
+        // the span belongs to the transaction
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        final List<SpanEvent> storage = this.storage;
+        if (storage == null) {
+            return;
+        }
+        this.storage = null;
+        deferredStorage.storeAsync(storage);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredAsyncStorage{" + "maxSpanEventCount=" + maxSpanEventCount + '}';
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps span events of an unsampled transaction until its span is closed.
+ * The transaction is sent only if it failed or took longer than the latency threshold.
+ * Otherwise the buffer is dropped without reaching the data sender.
+ * <p>
+ * Span events beyond maxSpanEventCount are dropped.
+ * A storage can be expired by the factory from another thread. the transaction is then dropped as a whole.
+ * <p>
+ * Async traces of the transaction write to {@link #newAsyncStorage()}. Their span events wait for the decision
+ * of the transaction and are sent or dropped with it.
+ */
+public class DeferredStorage implements Storage {
+    private static final Logger logger = LoggerFactory.getLogger(DeferredStorage.class);
+    private static final boolean isDebug = logger.isDebugEnabled();
+
+    private static final int UNDECIDED = 0;
+    private static final int PROMOTED = 1;
+    private static final int DISCARDED = 2;
+
+    private final DefaultDeferredStorageFactory storageFactory;
+    private final int maxSpanEventCount;
+    private final long createTime;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // nulled by the expiring thread
+    private volatile List<SpanEvent> storage;
+
+    // guarded by this
+    private int decision = UNDECIDED;
+    private List<List<SpanEvent>> pendingAsyncSpanEvents;
+    private int pendingAsyncSpanEventCount;
+
+    DeferredStorage(DefaultDeferredStorageFactory storageFactory, List<SpanEvent> buffer, int maxSpanEventCount, long createTime) {
+        if (storageFactory == null) {
+            throw new NullPointerException("storageFactory must not be null");
+        }
+        if (buffer == null) {
+            throw new NullPointerException("buffer must not be null");
+        }
+        this.storageFactory = storageFactory;
+        this.storage = buffer;
+        this.maxSpanEventCount = maxSpanEventCount;
+        this.createTime = createTime;
+    }
+
+    long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        final List<SpanEvent> storage = this.storage;
+        if (storage != null && storage.size() < maxSpanEventCount) {
+            storage.add(spanEvent);
+        } else {
+            // full, decided or expired
+            storageFactory.recycle(spanEvent);
+        }
+    }
+
+    @Override
+    public void store(Span span) {
+        final List<SpanEvent> storage = this.storage;
+        if (storage == null) {
+            return;
+        }
+        this.storage = null;
+        if (!closed.compareAndSet(false, true)) {
+            // expired
+            return;
+        }
+        try {
+            if (storageFactory.isPromotable(span)) {
+                if (isDebug) {
+                    logger.debug("[DeferredStorage] promote span {}", span);
+                }
+                storageFactory.promote(span, storage);
+                decide(PROMOTED);
+            } else {
+                storageFactory.discard(span, storage);
+                decide(DISCARDED);
+            }
+        } finally {
+            storageFactory.release(this, storage);
+        }
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush until the decision is made
+    }
+
+    @Override
+    public void close() {
+        final List<SpanEvent> storage = this.storage;
+        if (storage == null) {
+            return;
+        }
+        // closed without span. (corrupted call stack)
+        this.storage = null;
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        decide(DISCARDED);
+        storageFactory.discard(storage);
+        storageFactory.release(this, storage);
+    }
+
+    boolean expire() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        // span events stored from now on are recycled by the owner thread
+        this.storage = null;
+        decide(DISCARDED);
+        storageFactory.expired(this);
+        return true;
+    }
+
+    /**
+     * @return storage for an async trace of this transaction
+     */
+    public Storage newAsyncStorage() {
+        return new DeferredAsyncStorage(this, maxSpanEventCount);
+    }
+
+    // called by async traces on their own thread
+    void storeAsync(List<SpanEvent> spanEventList) {
+        final int decision;
+        synchronized (this) {
+            decision = this.decision;
+            if (decision == UNDECIDED) {
+                if (pendingAsyncSpanEventCount + spanEventList.size() <= maxSpanEventCount) {
+                    if (pendingAsyncSpanEvents == null) {
+                        pendingAsyncSpanEvents = new ArrayList<List<SpanEvent>>();
+                    }
+                    pendingAsyncSpanEvents.add(spanEventList);
+                    pendingAsyncSpanEventCount += spanEventList.size();
+                    return;
+                }
+            }
+        }
+        if (decision == PROMOTED) {
+            storageFactory.promoteAsync(spanEventList);
+        } else {
+            // discarded, expired or too many pending span events
+            storageFactory.recycle(spanEventList);
+        }
+    }
+
+    private void decide(int decision) {
+        final List<List<SpanEvent>> pendingAsyncSpanEvents;
+        synchronized (this) {
+            this.decision = decision;
+            pendingAsyncSpanEvents = this.pendingAsyncSpanEvents;
+            this.pendingAsyncSpanEvents = null;
+            this.pendingAsyncSpanEventCount = 0;
+        }
+        if (pendingAsyncSpanEvents == null) {
+            return;
+        }
+        for (List<SpanEvent> spanEventList : pendingAsyncSpanEvents) {
+            if (decision == PROMOTED) {
+                storageFactory.promoteAsync(spanEventList);
+            } else {
+                storageFactory.recycle(spanEventList);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredStorage{" + "maxSpanEventCount=" + maxSpanEventCount + '}';
+    }
+}
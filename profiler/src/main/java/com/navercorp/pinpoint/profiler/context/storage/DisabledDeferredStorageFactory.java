@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+/**
+ * Deferred sampling is disabled. Unsampled transactions are not traced at all.
+ */
+public class DisabledDeferredStorageFactory implements DeferredStorageFactory {
+
+    public static final DeferredStorageFactory INSTANCE = new DisabledDeferredStorageFactory();
+
+    @Override
+    public DeferredStorage createStorage() {
+        return null;
+    }
+
+    @Override
+    public int getActiveTraceCount() {
+        return 0;
+    }
+
+    @Override
+    public long getPromotedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DisabledDeferredStorageFactory";
+    }
+}
@@ -40,7 +40,6 @@ import com.navercorp.pinpoint.profiler.objectfactory.InterceptorArgumentProvider
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,14 +62,17 @@ public class ASMClass implements InstrumentClass {
     private final ClassLoader classLoader;
 
     private final ASMClassNodeAdapter classNode;
+    private final boolean interceptorStaticBinding;
+    // nullable
+    private final BytecodeCache bytecodeCache;
     private boolean modified = false;
     private String name;
 
-    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ClassNode classNode) {
-        this(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService, classLoader, new ASMClassNodeAdapter(pluginContext, classLoader, classNode));
-    }
-
-    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode) {
+    /**
+     * @param interceptorStaticBinding false if the class is being redefined, a loaded class can not get new fields
+     * @param bytecodeCache null if disabled
+     */
+    public ASMClass(ObjectBinderFactory objectBinderFactory, final InstrumentContext pluginContext, final InterceptorRegistryBinder interceptorRegistryBinder, ApiMetaDataService apiMetaDataService, final ClassLoader classLoader, final ASMClassNodeAdapter classNode, final boolean interceptorStaticBinding, final BytecodeCache bytecodeCache) {
         if (objectBinderFactory == null) {
             throw new NullPointerException("objectBinderFactory must not be null");
         }
@@ -88,6 +90,8 @@ public class ASMClass implements InstrumentClass {
         this.apiMetaDataService = apiMetaDataService;
         this.classLoader = classLoader;
         this.classNode = classNode;
+        this.interceptorStaticBinding = interceptorStaticBinding;
+        this.bytecodeCache = bytecodeCache;
         // for performance.
         this.name = classNode.getName();
     }
@@ -583,6 +587,14 @@ public class ASMClass implements InstrumentClass {
         return nestedClasses;
     }
 
+    // bind the interceptor to a static final field of this class. returns the field name or null if not applicable.
+    String bindInterceptorField(final int interceptorId) {
+        if (!this.interceptorStaticBinding) {
+            return null;
+        }
+        return this.classNode.addInterceptorField(interceptorId);
+    }
+
     public boolean isModified() {
         return modified;
     }
@@ -593,6 +605,22 @@ public class ASMClass implements InstrumentClass {
 
     @Override
     public byte[] toBytecode() {
-        return classNode.toByteArray();
+        if (bytecodeCache == null || !classNode.isComputeFrames()) {
+            // without frames the write is cheaper than the cache key.
+            return classNode.toByteArray();
+        }
+        // the frameless bytecode covers the original class and every change of this run, including interceptor ids.
+        final String key = bytecodeCache.createKey(classNode.toByteArrayWithoutFrames());
+        final byte[] cached = bytecodeCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final ASMClassWriter classWriter = classNode.toClassWriter();
+        final byte[] bytecode = classWriter.toByteArray();
+        // frames merged from application types go stale when those types change, and the key can not see them.
+        if (classWriter.isJdkHierarchyOnly()) {
+            bytecodeCache.put(key, bytecode);
+        }
+        return bytecode;
     }
 }
\ No newline at end of file
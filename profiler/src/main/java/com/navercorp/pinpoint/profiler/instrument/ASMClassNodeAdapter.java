@@ -16,6 +16,9 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InvokeCodeGenerator;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
@@ -28,6 +31,8 @@ import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.InnerClassNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
@@ -278,6 +283,56 @@ public class ASMClassNodeAdapter {
         return new ASMFieldNodeAdapter(fieldNode);
     }
 
+    // static final field initialized from the InterceptorRegistry in <clinit>. returns null if the class is an interface.
+    public String addInterceptorField(final int interceptorId) {
+        if (isInterface()) {
+            return null;
+        }
+
+        final String fieldName = InvokeCodeGenerator.getInterceptorVar(interceptorId);
+        final String fieldDesc = Type.getDescriptor(Interceptor.class);
+        if (this.classNode.fields == null) {
+            this.classNode.fields = new ArrayList<FieldNode>();
+        }
+        // declared fields only. the same interceptor may be bound to several methods of this class.
+        for (FieldNode fieldNode : this.classNode.fields) {
+            if (fieldName.equals(fieldNode.name)) {
+                return fieldName;
+            }
+        }
+
+        final FieldNode fieldNode = new FieldNode(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, fieldName, fieldDesc, null, null);
+        this.classNode.fields.add(fieldNode);
+
+        final InsnList instructions = new InsnList();
+        instructions.add(new LdcInsnNode(interceptorId));
+        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + fieldDesc, false));
+        instructions.add(new FieldInsnNode(Opcodes.PUTSTATIC, classNode.name, fieldName, fieldDesc));
+        // before the original static initializer. the field is set before any method of this class can run.
+        getStaticInitializer().instructions.insert(instructions);
+
+        return fieldName;
+    }
+
+    private MethodNode getStaticInitializer() {
+        if (this.classNode.methods == null) {
+            this.classNode.methods = new ArrayList<MethodNode>();
+        }
+        for (MethodNode methodNode : this.classNode.methods) {
+            if ("<clinit>".equals(methodNode.name)) {
+                return methodNode;
+            }
+        }
+
+        final MethodNode methodNode = new MethodNode(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        if (methodNode.instructions == null) {
+            methodNode.instructions = new InsnList();
+        }
+        methodNode.instructions.add(new InsnNode(Opcodes.RETURN));
+        this.classNode.methods.add(methodNode);
+        return methodNode;
+    }
+
     public ASMMethodNodeAdapter addDelegatorMethod(final ASMMethodNodeAdapter superMethodNode) {
         if (superMethodNode == null) {
             throw new IllegalArgumentException("super method annotation must not be null.");
@@ -456,14 +511,31 @@ public class ASMClassNodeAdapter {
     }
 
     public byte[] toByteArray() {
-        final int majorVersion = this.classNode.version & 0xFFFF;
+        return toClassWriter().toByteArray();
+    }
+
+    public ASMClassWriter toClassWriter() {
         int flags = ClassWriter.COMPUTE_FRAMES;
-        if (majorVersion <= 49) {
+        if (!isComputeFrames()) {
             // java 1.5 and less.
             flags = ClassWriter.COMPUTE_MAXS;
         }
 
-        final ClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classNode.name, this.classNode.superName, flags, this.classLoader);
+        final ASMClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classNode.name, this.classNode.superName, flags, this.classLoader);
+        this.classNode.accept(classWriter);
+        return classWriter;
+    }
+
+    public boolean isComputeFrames() {
+        final int majorVersion = this.classNode.version & 0xFFFF;
+        return majorVersion > 49;
+    }
+
+    /**
+     * Writes the class without recomputing frames and max stack. much cheaper than {@link #toByteArray()}. for cache keys only.
+     */
+    public byte[] toByteArrayWithoutFrames() {
+        final ClassWriter classWriter = new ClassWriter(0);
         this.classNode.accept(classWriter);
         return classWriter.toByteArray();
     }
@@ -39,6 +39,8 @@ public final class ASMClassWriter extends ClassWriter {
     private ClassLoader classLoader;
     private String classInternalName;
     private String superClassInternalName;
+    // false once a frame merged types outside of the JDK, whose hierarchy may change between runs.
+    private boolean jdkHierarchyOnly = true;
 
     public ASMClassWriter(final InstrumentContext pluginContext, final String classInternalName, final String superClassInternalName, final int flags, final ClassLoader classLoader) {
         super(flags);
@@ -199,7 +201,14 @@ public final class ASMClassWriter extends ClassWriter {
         return classReader.getSuperName();
     }
 
+    public boolean isJdkHierarchyOnly() {
+        return jdkHierarchyOnly;
+    }
+
     private ClassReader getClassReader(final String classInternalName) {
+        if (!classInternalName.startsWith("java/")) {
+            this.jdkHierarchyOnly = false;
+        }
         InputStream in = null;
         try {
             in = pluginContext.getResourceAsStream(this.classLoader, classInternalName + ".class");
@@ -217,6 +226,7 @@ public final class ASMClassWriter extends ClassWriter {
             }
         }
 
+        this.jdkHierarchyOnly = false;
         return null;
     }
 }
\ No newline at end of file
@@ -43,9 +43,15 @@ public class ASMEngine implements InstrumentEngine {
     private final ObjectBinderFactory objectBinderFactory;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
     private final Provider<ApiMetaDataService> apiMetaDataService;
+    private final boolean interceptorStaticBinding;
+    // nullable
+    private final BytecodeCache bytecodeCache;
 
 
-    public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, final List<String> bootStrapJars) {
+    /**
+     * @param bytecodeCache null if disabled
+     */
+    public ASMEngine(Instrumentation instrumentation, ObjectBinderFactory objectBinderFactory, final InterceptorRegistryBinder interceptorRegistryBinder, Provider<ApiMetaDataService> apiMetaDataService, final List<String> bootStrapJars, boolean interceptorStaticBinding, BytecodeCache bytecodeCache) {
         if (instrumentation == null) {
             throw new NullPointerException("instrumentation must not be null");
         }
@@ -63,11 +69,12 @@ public class ASMEngine implements InstrumentEngine {
         this.objectBinderFactory = objectBinderFactory;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
         this.apiMetaDataService = apiMetaDataService;
-
+        this.interceptorStaticBinding = interceptorStaticBinding;
+        this.bytecodeCache = bytecodeCache;
     }
 
     @Override
-    public InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String className, byte[] classFileBuffer) throws NotFoundInstrumentException {
+    public InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String className, Class<?> classBeingRedefined, byte[] classFileBuffer) throws NotFoundInstrumentException {
         if (className == null) {
             throw new NullPointerException("class name must not be null.");
         }
@@ -79,7 +86,7 @@ public class ASMEngine implements InstrumentEngine {
                     return null;
                 }
                 ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-                return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+                return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode, false, null);
             }
 
             // Use ASM tree api.
@@ -87,8 +94,10 @@ public class ASMEngine implements InstrumentEngine {
             final ClassNode classNode = new ClassNode();
             classReader.accept(classNode, 0);
 
+            // a class being redefined can not get new fields or a static initializer, so its interceptors are looked up in the registry.
+            final boolean staticBinding = interceptorStaticBinding && classBeingRedefined == null;
             ApiMetaDataService apiMetaDataService = this.apiMetaDataService.get();
-            return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, classNode);
+            return new ASMClass(objectBinderFactory, instrumentContext, interceptorRegistryBinder, apiMetaDataService, classLoader, new ASMClassNodeAdapter(instrumentContext, classLoader, classNode), staticBinding, bytecodeCache);
         } catch (Exception e) {
             throw new NotFoundInstrumentException(e);
         }
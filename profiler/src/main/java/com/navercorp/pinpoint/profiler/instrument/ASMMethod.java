@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 public class ASMMethod implements InstrumentMethod {
     // TODO fix inject InterceptorDefinitionFactory
     private static final InterceptorDefinitionFactory interceptorDefinitionFactory = new InterceptorDefinitionFactory();
+    private static final String STATIC_INITIALIZER_NAME = "<clinit>";
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
@@ -299,9 +300,11 @@ public class ASMMethod implements InstrumentMethod {
             apiId = this.apiMetaDataService.cacheApi(this.descriptor);
         }
 
+        final String interceptorFieldName = bindInterceptorField(captureType, interceptorDefinition, interceptorId);
+
         // add before interceptor.
         if (isBeforeInterceptor(captureType) && interceptorDefinition.getBeforeMethod() != null) {
-            this.methodNode.addBeforeInterceptor(interceptorId, interceptorDefinition, apiId);
+            this.methodNode.addBeforeInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, apiId);
             this.declaringClass.setModified(true);
         } else {
             if (isDebug) {
@@ -311,7 +314,7 @@ public class ASMMethod implements InstrumentMethod {
 
         // add after interface.
         if (isAfterInterceptor(captureType) && interceptorDefinition.getAfterMethod() != null) {
-            this.methodNode.addAfterInterceptor(interceptorId, interceptorDefinition, apiId);
+            this.methodNode.addAfterInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, apiId);
             this.declaringClass.setModified(true);
         } else {
             if (isDebug) {
@@ -320,6 +323,19 @@ public class ASMMethod implements InstrumentMethod {
         }
     }
 
+    private String bindInterceptorField(CaptureType captureType, InterceptorDefinition interceptorDefinition, int interceptorId) {
+        final boolean before = isBeforeInterceptor(captureType) && interceptorDefinition.getBeforeMethod() != null;
+        final boolean after = isAfterInterceptor(captureType) && interceptorDefinition.getAfterMethod() != null;
+        if (!before && !after) {
+            return null;
+        }
+        // the field itself is initialized in the static initializer.
+        if (STATIC_INITIALIZER_NAME.equals(this.methodNode.getName())) {
+            return null;
+        }
+        return this.declaringClass.bindInterceptorField(interceptorId);
+    }
+
     private boolean isBeforeInterceptor(CaptureType captureType) {
         return CaptureType.BEFORE == captureType || CaptureType.AROUND == captureType;
     }
@@ -242,16 +242,17 @@ public class ASMMethodNodeAdapter {
         }
     }
 
-    private void initInterceptorLocalVariables(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
+    private void initInterceptorLocalVariables(final int interceptorId, final String interceptorFieldName, final InterceptorDefinition interceptorDefinition, final int apiId) {
         final InsnList instructions = new InsnList();
-        if (this.methodVariables.initInterceptorLocalVariables(instructions, interceptorId, interceptorDefinition, apiId)) {
+        if (this.methodVariables.initInterceptorLocalVariables(instructions, interceptorId, interceptorFieldName, interceptorDefinition, apiId)) {
             // if first time.
             this.methodNode.instructions.insertBefore(this.methodVariables.getEnterInsnNode(), instructions);
         }
     }
 
-    public void addBeforeInterceptor(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
-        initInterceptorLocalVariables(interceptorId, interceptorDefinition, apiId);
+    // interceptorFieldName: static field holding the interceptor. null to look up the InterceptorRegistry.
+    public void addBeforeInterceptor(final int interceptorId, final String interceptorFieldName, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        initInterceptorLocalVariables(interceptorId, interceptorFieldName, interceptorDefinition, apiId);
 
         final InsnList instructions = new InsnList();
         this.methodVariables.loadInterceptorLocalVariables(instructions, interceptorDefinition, false);
@@ -261,8 +262,8 @@ public class ASMMethodNodeAdapter {
         this.methodNode.instructions.insertBefore(this.methodVariables.getEnterInsnNode(), instructions);
     }
 
-    public void addAfterInterceptor(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
-        initInterceptorLocalVariables(interceptorId, interceptorDefinition, apiId);
+    public void addAfterInterceptor(final int interceptorId, final String interceptorFieldName, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        initInterceptorLocalVariables(interceptorId, interceptorFieldName, interceptorDefinition, apiId);
 
         // add try catch block.
         final ASMTryCatch tryCatch = new ASMTryCatch(this.methodNode);
@@ -24,6 +24,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
 import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.IntInsnNode;
@@ -207,7 +208,7 @@ public class ASMMethodVariables {
         }
     }
 
-    public boolean initInterceptorLocalVariables(final InsnList instructions, final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
+    public boolean initInterceptorLocalVariables(final InsnList instructions, final int interceptorId, final String interceptorFieldName, final InterceptorDefinition interceptorDefinition, final int apiId) {
         if (this.initializedInterceptorLocalVariables) {
             return false;
         }
@@ -231,7 +232,7 @@ public class ASMMethodVariables {
         this.methodNode.instructions.insert(this.exitInsnNode, this.interceptorVariableEndLabelNode);
 
         // initialize interceptor variable.
-        initInterceptorVar(instructions, interceptorId);
+        initInterceptorVar(instructions, interceptorId, interceptorFieldName);
 
         // initialize argument variable.
         final InterceptorType interceptorType = interceptorDefinition.getInterceptorType();
@@ -294,11 +295,16 @@ public class ASMMethodVariables {
     }
 
 
-    private void initInterceptorVar(final InsnList instructions, final int interceptorId) {
+    private void initInterceptorVar(final InsnList instructions, final int interceptorId, final String interceptorFieldName) {
         assertInitializedInterceptorLocalVariables();
         this.interceptorVarIndex = addInterceptorLocalVariable("_$PINPOINT$_interceptor", "Lcom/navercorp/pinpoint/bootstrap/interceptor/Interceptor;");
-        push(instructions, interceptorId);
-        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        if (interceptorFieldName != null) {
+            // static final field of the declaring class. constant to the JIT, no registry lookup.
+            instructions.add(new FieldInsnNode(Opcodes.GETSTATIC, this.declaringClassInternalName, interceptorFieldName, Type.getDescriptor(Interceptor.class)));
+        } else {
+            push(instructions, interceptorId);
+            instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        }
         storeVar(instructions, this.interceptorVarIndex);
         this.resultVarIndex = addInterceptorLocalVariable("_$PINPOINT$_result", "Ljava/lang/Object;");
         loadNull(instructions);
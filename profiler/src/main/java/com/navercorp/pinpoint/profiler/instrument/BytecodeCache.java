@@ -0,0 +1,398 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Size bounded on-disk cache of transformed bytecode.
+ * <p>
+ * The key is a SHA-1 digest of the agent fingerprint and the transformed class written without stack map frames.
+ * The value is the same class with frames computed, which is the most expensive step of a transform.
+ * Frames depend on the hierarchy of the types they merge, so callers only put classes whose frames were computed from JDK types.
+ * An entry is a magic number, the payload length and the CRC32 of the payload followed by the payload.
+ * Corrupted entries are deleted on read. The least recently used entries are evicted when the size limit is reached.
+ */
+public class BytecodeCache {
+
+    static final String ENTRY_SUFFIX = ".class";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x50504244;
+    static final int HEADER_SIZE = 4 + 4 + 4;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File directory;
+    private final long maxSize;
+    private final byte[] fingerprint;
+
+    // guarded by this. key -> entry file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(256, 0.75f, true);
+    private long size = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong tempSequence = new AtomicLong();
+
+    public BytecodeCache(File directory, long maxSize, String fingerprint) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("directory must not be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        if (fingerprint == null) {
+            throw new NullPointerException("fingerprint must not be null");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("bytecode cache directory create fail. directory:" + directory);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.fingerprint = fingerprint.getBytes(UTF_8);
+
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(ENTRY_SUFFIX) || name.endsWith(TEMP_SUFFIX);
+            }
+        });
+        if (files == null) {
+            throw new IOException("bytecode cache directory list fail. directory:" + directory);
+        }
+        // least recently used first
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                final long lastModified1 = o1.lastModified();
+                final long lastModified2 = o2.lastModified();
+                return lastModified1 < lastModified2 ? -1 : (lastModified1 == lastModified2 ? 0 : 1);
+            }
+        });
+        synchronized (this) {
+            for (File file : files) {
+                final String fileName = file.getName();
+                if (fileName.endsWith(TEMP_SUFFIX)) {
+                    // incomplete write of the previous run
+                    delete(file);
+                    continue;
+                }
+                final String key = fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length());
+                final long length = file.length();
+                entries.put(key, length);
+                size += length;
+            }
+            evict();
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("bytecode cache recovered. directory:{}, entries:{}, size:{}", directory, getEntryCount(), getSize());
+        }
+    }
+
+    /**
+     * @param bytecode transformed class written without stack map frames
+     */
+    public String createKey(byte[] bytecode) {
+        if (bytecode == null) {
+            throw new NullPointerException("bytecode must not be null");
+        }
+        final MessageDigest digest = newDigest();
+        digest.update(fingerprint);
+        digest.update(bytecode);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return null if not cached or the entry is corrupted
+     */
+    public byte[] get(String key) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+        }
+        final File file = entryFile(key);
+        try {
+            final byte[] bytecode = read(file);
+            if (bytecode != null) {
+                // keep the recency across restarts
+                file.setLastModified(System.currentTimeMillis());
+                hitCount.incrementAndGet();
+                return bytecode;
+            }
+            logger.warn("corrupted bytecode cache entry. file:{}", file);
+        } catch (FileNotFoundException e) {
+            // evicted concurrently
+        } catch (IOException e) {
+            logger.warn("bytecode cache read fail. file:{}, Caused:{}", file, e.getMessage(), e);
+        }
+        remove(key);
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    private byte[] read(File file) throws IOException {
+        final DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            final int length = in.readInt();
+            if (length < 0 || HEADER_SIZE + (long) length != file.length()) {
+                return null;
+            }
+            final int expectedChecksum = in.readInt();
+            final byte[] bytecode = new byte[length];
+            in.readFully(bytecode);
+            if (expectedChecksum != checksum(bytecode)) {
+                return null;
+            }
+            return bytecode;
+        } finally {
+            close(in);
+        }
+    }
+
+    public void put(String key, byte[] bytecode) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        if (bytecode == null) {
+            throw new NullPointerException("bytecode must not be null");
+        }
+        final long entrySize = HEADER_SIZE + (long) bytecode.length;
+        if (entrySize > maxSize) {
+            return;
+        }
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+
+        // write to a temp file first. a reader never sees a partial entry
+        final File tempFile = new File(directory, key + "-" + tempSequence.incrementAndGet() + TEMP_SUFFIX);
+        final File file = entryFile(key);
+        try {
+            write(tempFile, bytecode);
+            if (!tempFile.renameTo(file)) {
+                delete(tempFile);
+                return;
+            }
+        } catch (IOException e) {
+            logger.warn("bytecode cache write fail. file:{}, Caused:{}", file, e.getMessage(), e);
+            delete(tempFile);
+            return;
+        }
+
+        synchronized (this) {
+            final Long previous = entries.put(key, entrySize);
+            if (previous != null) {
+                size -= previous;
+            }
+            size += entrySize;
+            evict();
+        }
+    }
+
+    private void write(File file, byte[] bytecode) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new FileOutputStream(file));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(bytecode.length);
+            out.writeInt(checksum(bytecode));
+            out.write(bytecode);
+            out.flush();
+        } finally {
+            close(out);
+        }
+    }
+
+    // guarded by this
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            final Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue();
+            delete(entryFile(eldest.getKey()));
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (this) {
+            final Long entrySize = entries.remove(key);
+            if (entrySize == null) {
+                return;
+            }
+            size -= entrySize;
+            delete(entryFile(key));
+        }
+    }
+
+    private File entryFile(String key) {
+        return new File(directory, key + ENTRY_SUFFIX);
+    }
+
+    private void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            logger.debug("bytecode cache file delete fail. file:{}", file);
+        }
+    }
+
+    private void close(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignore) {
+            // skip
+        }
+    }
+
+    private void close(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignore) {
+            // skip
+        }
+    }
+
+    // detects torn or corrupted entries only. the key digest already identifies the content
+    private static int checksum(byte[] bytecode) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytecode, 0, bytecode.length);
+        return (int) crc32.getValue();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Identifies the code that produced the cached bytecode and the JDK whose class hierarchy the frames were computed from.
+     * plugin jars are identified by their content.
+     */
+    public static String createFingerprint(String agentVersion, String jvmVersion, URL[] pluginJars) throws IOException {
+        if (agentVersion == null) {
+            throw new NullPointerException("agentVersion must not be null");
+        }
+        if (jvmVersion == null) {
+            throw new NullPointerException("jvmVersion must not be null");
+        }
+        if (pluginJars == null) {
+            throw new NullPointerException("pluginJars must not be null");
+        }
+        final StringBuilder builder = new StringBuilder(64 + pluginJars.length * 48);
+        builder.append(agentVersion);
+        builder.append('|').append(jvmVersion);
+        final byte[] buffer = new byte[8192];
+        for (URL pluginJar : pluginJars) {
+            builder.append('|');
+            builder.append(toHex(digest(pluginJar, buffer)));
+        }
+        return builder.toString();
+    }
+
+    private static byte[] digest(URL url, byte[] buffer) throws IOException {
+        final MessageDigest digest = newDigest();
+        final InputStream in = url.openStream();
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return digest.digest();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "BytecodeCache{" +
+                "directory=" + directory +
+                ", maxSize=" + maxSize +
+                ", entries=" + getEntryCount() +
+                ", size=" + getSize() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                '}';
+    }
+}
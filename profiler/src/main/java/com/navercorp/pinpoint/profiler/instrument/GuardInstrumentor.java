@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.Instrumentor;
 import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.profiler.plugin.PluginInstrumentContext;
 
 /**
  * @author emeroad
@@ -30,9 +31,11 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
 public class GuardInstrumentor implements Instrumentor {
     private final ProfilerConfig profilerConfig;
     private final InstrumentContext instrumentContext;
+    // nullable
+    private final Class<?> classBeingRedefined;
     private boolean closed = false;
 
-    public GuardInstrumentor(ProfilerConfig profilerConfig, InstrumentContext instrumentContext) {
+    public GuardInstrumentor(ProfilerConfig profilerConfig, InstrumentContext instrumentContext, Class<?> classBeingRedefined) {
         if (profilerConfig == null) {
             throw new NullPointerException("profilerConfig must not be null");
         }
@@ -41,6 +44,7 @@ public class GuardInstrumentor implements Instrumentor {
         }
         this.profilerConfig = profilerConfig;
         this.instrumentContext = instrumentContext;
+        this.classBeingRedefined = classBeingRedefined;
     }
 
     @Override
@@ -51,6 +55,9 @@ public class GuardInstrumentor implements Instrumentor {
     @Override
     public InstrumentClass getInstrumentClass(ClassLoader classLoader, String className, byte[] classfileBuffer) {
         checkOpen();
+        if (classBeingRedefined != null && instrumentContext instanceof PluginInstrumentContext) {
+            return ((PluginInstrumentContext) instrumentContext).getInstrumentClass(classLoader, className, classBeingRedefined, classfileBuffer);
+        }
         return instrumentContext.getInstrumentClass(classLoader, className, classfileBuffer);
     }
 
@@ -28,7 +28,10 @@ import java.util.jar.JarFile;
  */
 public interface InstrumentEngine {
 
-    InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String classInternalName, byte[] classFileBuffer) throws NotFoundInstrumentException;
+    /**
+     * @param classBeingRedefined null unless the class is retransformed, in which case its shape can not change
+     */
+    InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String classInternalName, Class<?> classBeingRedefined, byte[] classFileBuffer) throws NotFoundInstrumentException;
 
     boolean hasClass(ClassLoader classLoader, String classBinaryName);
 
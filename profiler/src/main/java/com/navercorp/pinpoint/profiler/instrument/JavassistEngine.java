@@ -122,7 +122,7 @@ public class JavassistEngine implements InstrumentEngine {
 
 
     @Override
-    public InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String jvmInternalClassName, byte[] classFileBuffer) throws NotFoundInstrumentException {
+    public InstrumentClass getClass(InstrumentContext instrumentContext, ClassLoader classLoader, String jvmInternalClassName, Class<?> classBeingRedefined, byte[] classFileBuffer) throws NotFoundInstrumentException {
         if (jvmInternalClassName == null) {
             throw new NullPointerException("jvmInternalClassName must not be null");
         }
@@ -17,13 +17,12 @@
 package com.navercorp.pinpoint.profiler.instrument.transformer;
 
 import java.lang.instrument.ClassFileTransformer;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.MultiClassNameMatcher;
+import com.navercorp.pinpoint.bootstrap.util.ClassNameTrie;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 
 /**
@@ -35,38 +34,57 @@ import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
  */
 public class DefaultTransformerRegistry implements TransformerRegistry {
 
-    // No concurrent issue because only one thread put entries to the map and get operations are started AFTER the map is completely build.
-    // Set the map size big intentionally to keep hash collision low.
-    private final Map<String, ClassFileTransformer> registry = new HashMap<String, ClassFileTransformer>(512);
+    // No concurrent issue because only one thread put entries to the trie and get operations are started AFTER the trie is completely build.
+    // Every class load of the JVM looks up this trie. unrelated classes are rejected without allocation.
+    private final ClassNameTrie<ClassFileTransformer> registry = new ClassNameTrie<ClassFileTransformer>();
+
+    private int transformerCount = 0;
+    private int classNameMatcherCount = 0;
+    private int multiClassNameMatcherCount = 0;
 
     @Override
     public ClassFileTransformer findTransformer(String className) {
-        return registry.get(className);
+        return registry.find(className);
     }
-    
+
     public void addTransformer(Matcher matcher, ClassFileTransformer transformer) {
         // TODO extract matcher process
         if (matcher instanceof ClassNameMatcher) {
             final ClassNameMatcher classNameMatcher = (ClassNameMatcher)matcher;
             String className = classNameMatcher.getClassName();
             addModifier0(transformer, className);
+            classNameMatcherCount++;
         } else if (matcher instanceof MultiClassNameMatcher) {
             final MultiClassNameMatcher classNameMatcher = (MultiClassNameMatcher)matcher;
             List<String> classNameList = classNameMatcher.getClassNames();
             for (String className : classNameList) {
                 addModifier0(transformer, className);
             }
+            multiClassNameMatcherCount++;
         } else {
             throw new IllegalArgumentException("unsupported matcher :" + matcher);
         }
+        transformerCount++;
     }
 
     private void addModifier0(ClassFileTransformer transformer, String className) {
         final String classInternalName = JavaAssistUtils.javaNameToJvmName(className);
-        ClassFileTransformer old = registry.put(classInternalName, transformer);
+        ClassFileTransformer old = registry.putExact(classInternalName, transformer);
         
         if (old != null) {
             throw new IllegalStateException("Transformer already exist. className:" + classInternalName + " new:" + transformer.getClass() + " old:" + old.getClass());
         }
     }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultTransformerRegistry{");
+        sb.append("transformerCount=").append(transformerCount);
+        sb.append(", classNameMatcherCount=").append(classNameMatcherCount);
+        sb.append(", multiClassNameMatcherCount=").append(multiClassNameMatcherCount);
+        sb.append(", classNameCount=").append(registry.getExactCount());
+        sb.append(", trieNodeCount=").append(registry.getNodeCount());
+        sb.append('}');
+        return sb.toString();
+    }
 }
@@ -43,20 +43,35 @@ public class DefaultSqlMetaDataService implements SqlMetaDataService {
     @Inject
     public DefaultSqlMetaDataService(ProfilerConfig profilerConfig, @AgentId String agentId,
                                      @AgentStartTime long agentStartTime, EnhancedDataSender enhancedDataSender) {
-        this(agentId, agentStartTime, enhancedDataSender, profilerConfig.getJdbcSqlCacheSize());
+        this(agentId, agentStartTime, enhancedDataSender, newCachingSqlNormalizer(profilerConfig));
     }
 
     public DefaultSqlMetaDataService(String agentId, long agentStartTime, EnhancedDataSender enhancedDataSender, int jdbcSqlCacheSize) {
+        this(agentId, agentStartTime, enhancedDataSender, new DefaultCachingSqlNormalizer(jdbcSqlCacheSize));
+    }
+
+    public DefaultSqlMetaDataService(String agentId, long agentStartTime, EnhancedDataSender enhancedDataSender, CachingSqlNormalizer cachingSqlNormalizer) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
         if (enhancedDataSender == null) {
             throw new NullPointerException("enhancedDataSender must not be null");
         }
+        if (cachingSqlNormalizer == null) {
+            throw new NullPointerException("cachingSqlNormalizer must not be null");
+        }
         this.agentId = agentId;
         this.agentStartTime = agentStartTime;
         this.enhancedDataSender = enhancedDataSender;
-        this.cachingSqlNormalizer = new DefaultCachingSqlNormalizer(jdbcSqlCacheSize);
+        this.cachingSqlNormalizer = cachingSqlNormalizer;
+    }
+
+    private static CachingSqlNormalizer newCachingSqlNormalizer(ProfilerConfig profilerConfig) {
+        final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
+        if ("DEFAULT".equalsIgnoreCase(profilerConfig.getJdbcSqlNormalizerType())) {
+            return new DefaultCachingSqlNormalizer(jdbcSqlCacheSize);
+        }
+        return new StreamingCachingSqlNormalizer(jdbcSqlCacheSize, profilerConfig.isJdbcSqlNormalizerInListCollapse());
     }
 
     @Override
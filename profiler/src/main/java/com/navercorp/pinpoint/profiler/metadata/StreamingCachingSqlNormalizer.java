@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.StreamingSqlNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caches by the hash of the normalized sql, which {@link StreamingSqlNormalizer} computes while scanning.
+ * The normalized sql is built only when it is newly cached and is kept with the sql id,
+ * so a cache hit does not build it again.
+ * <p>
+ * Two different sqls with the same 64bit hash would share one sql id. that risk is accepted.
+ */
+public class StreamingCachingSqlNormalizer implements CachingSqlNormalizer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final DefaultParsingResult EMPTY_OBJECT = new DefaultParsingResult("");
+
+    private static final int OUTPUT_BUFFER_SIZE = 64;
+    // large buffers are not kept by the application threads
+    private static final int MAX_OUTPUT_BUFFER_SIZE = 1024 * 4;
+
+    private static final ThreadLocal<StringBuilder> OUTPUT_BUFFER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(OUTPUT_BUFFER_SIZE);
+        }
+    };
+
+    // zero means not exist.
+    private final AtomicInteger idGen = new AtomicInteger(1);
+    private final ConcurrentMap<Long, CachedSql> sqlCache;
+    private final StreamingSqlNormalizer sqlNormalizer;
+
+    public StreamingCachingSqlNormalizer(int cacheSize) {
+        this(cacheSize, false);
+    }
+
+    public StreamingCachingSqlNormalizer(int cacheSize, boolean collapseInList) {
+        this.sqlCache = createCache(cacheSize);
+        this.sqlNormalizer = new StreamingSqlNormalizer(collapseInList);
+    }
+
+    private ConcurrentMap<Long, CachedSql> createCache(int maxCacheSize) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        cacheBuilder.concurrencyLevel(64);
+        cacheBuilder.initialCapacity(maxCacheSize);
+        cacheBuilder.maximumSize(maxCacheSize);
+        return cacheBuilder.<Long, CachedSql>build().asMap();
+    }
+
+    @Override
+    public ParsingResult wrapSql(String sql) {
+        if (sql == null) {
+            return EMPTY_OBJECT;
+        }
+        return new DefaultParsingResult(sql);
+    }
+
+    @Override
+    public boolean normalizedSql(ParsingResult parsingResult) {
+        if (parsingResult == null) {
+            return false;
+        }
+        if (parsingResult == EMPTY_OBJECT) {
+            return false;
+        }
+        if (parsingResult.getId() != ParsingResult.ID_NOT_EXIST) {
+            // already cached
+            return false;
+        }
+
+        if (!(parsingResult instanceof ParsingResultInternal)) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("unsupported ParsingResult Type type {}", parsingResult);
+            }
+            throw new IllegalArgumentException("unsupported ParsingResult Type");
+        }
+
+        final ParsingResultInternal parsingResultInternal = (ParsingResultInternal) parsingResult;
+
+        final String originalSql = parsingResultInternal.getOriginalSql();
+        final StringBuilder output = getOutputBuffer();
+        final long hash = this.sqlNormalizer.normalize(originalSql, output);
+
+        boolean newValue = false;
+        CachedSql cachedSql = this.sqlCache.get(hash);
+        if (cachedSql == null) {
+            final String normalizedSql = this.sqlNormalizer.normalizedSql(originalSql).getNormalizedSql();
+            // Use negative values too to reduce data size
+            final CachedSql newCachedSql = new CachedSql(BytesUtils.zigzagToInt(idGen.getAndIncrement()), normalizedSql);
+            final CachedSql before = this.sqlCache.putIfAbsent(hash, newCachedSql);
+            if (before == null) {
+                cachedSql = newCachedSql;
+                newValue = true;
+            } else {
+                cachedSql = before;
+            }
+        }
+
+        final boolean success = parsingResultInternal.setId(cachedSql.id);
+        if (!success) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("invalid state. setSqlId fail setId:{}, ParsingResultInternal:{}", cachedSql.id, parsingResultInternal);
+            }
+        }
+        parsingResultInternal.setSql(cachedSql.normalizedSql);
+        if (output.length() > 0) {
+            parsingResultInternal.setOutput(output.toString());
+        }
+
+        return newValue;
+    }
+
+    private StringBuilder getOutputBuffer() {
+        StringBuilder output = OUTPUT_BUFFER.get();
+        if (output.capacity() > MAX_OUTPUT_BUFFER_SIZE) {
+            output = new StringBuilder(OUTPUT_BUFFER_SIZE);
+            OUTPUT_BUFFER.set(output);
+        } else {
+            output.setLength(0);
+        }
+        return output;
+    }
+
+    private static class CachedSql {
+        private final int id;
+        private final String normalizedSql;
+
+        private CachedSql(int id, String normalizedSql) {
+            this.id = id;
+            this.normalizedSql = normalizedSql;
+        }
+    }
+
+}
@@ -21,8 +21,11 @@ import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
 import com.navercorp.pinpoint.profiler.monitor.collector.activethread.ActiveTraceMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.cpu.CpuLoadMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.datasender.DataSenderQueueMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.datasource.DataSourceMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.deferred.DeferredSamplingMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.jvmgc.JvmGcMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.throttle.SamplingThrottleMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.collector.transaction.TransactionMetricCollector;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 
@@ -38,6 +41,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
     private final TransactionMetricCollector transactionMetricCollector;
     private final ActiveTraceMetricCollector activeTraceMetricCollector;
     private final DataSourceMetricCollector dataSourceMetricCollector;
+    private final SamplingThrottleMetricCollector samplingThrottleMetricCollector;
+    private final DataSenderQueueMetricCollector spanSenderQueueMetricCollector;
+    private final DeferredSamplingMetricCollector deferredSamplingMetricCollector;
 
     @Inject
     public AgentStatCollector(
@@ -47,7 +53,10 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
             CpuLoadMetricCollector cpuLoadMetricCollector,
             TransactionMetricCollector transactionMetricCollector,
             ActiveTraceMetricCollector activeTraceMetricCollector,
-            DataSourceMetricCollector dataSourceMetricCollector) {
+            DataSourceMetricCollector dataSourceMetricCollector,
+            SamplingThrottleMetricCollector samplingThrottleMetricCollector,
+            DataSenderQueueMetricCollector spanSenderQueueMetricCollector,
+            DeferredSamplingMetricCollector deferredSamplingMetricCollector) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
         }
@@ -66,6 +75,15 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         if (dataSourceMetricCollector == null) {
             throw new NullPointerException("dataSourceMetricCollector must not be null");
         }
+        if (samplingThrottleMetricCollector == null) {
+            throw new NullPointerException("samplingThrottleMetricCollector must not be null");
+        }
+        if (spanSenderQueueMetricCollector == null) {
+            throw new NullPointerException("spanSenderQueueMetricCollector must not be null");
+        }
+        if (deferredSamplingMetricCollector == null) {
+            throw new NullPointerException("deferredSamplingMetricCollector must not be null");
+        }
         this.agentId = agentId;
         this.agentStartTimestamp = agentStartTimestamp;
         this.jvmGcMetricCollector = jvmGcMetricCollector;
@@ -73,6 +91,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         this.transactionMetricCollector = transactionMetricCollector;
         this.activeTraceMetricCollector = activeTraceMetricCollector;
         this.dataSourceMetricCollector = dataSourceMetricCollector;
+        this.samplingThrottleMetricCollector = samplingThrottleMetricCollector;
+        this.spanSenderQueueMetricCollector = spanSenderQueueMetricCollector;
+        this.deferredSamplingMetricCollector = deferredSamplingMetricCollector;
     }
 
     @Override
@@ -85,6 +106,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         agentStat.setTransaction(transactionMetricCollector.collect());
         agentStat.setActiveTrace(activeTraceMetricCollector.collect());
         agentStat.setDataSourceList(dataSourceMetricCollector.collect());
+        agentStat.setSpanSenderQueue(spanSenderQueueMetricCollector.collect());
+        agentStat.setDeferredSampling(deferredSamplingMetricCollector.collect());
+        agentStat.setSamplingThrottle(samplingThrottleMetricCollector.collect());
         return agentStat;
     }
 
@@ -98,6 +122,9 @@ public class AgentStatCollector implements AgentStatMetricCollector<TAgentStat>
         sb.append(", transactionMetricCollector=").append(transactionMetricCollector);
         sb.append(", activeTraceMetricCollector=").append(activeTraceMetricCollector);
         sb.append(", dataSourceMetricCollector=").append(dataSourceMetricCollector);
+        sb.append(", samplingThrottleMetricCollector=").append(samplingThrottleMetricCollector);
+        sb.append(", spanSenderQueueMetricCollector=").append(spanSenderQueueMetricCollector);
+        sb.append(", deferredSamplingMetricCollector=").append(deferredSamplingMetricCollector);
         sb.append('}');
         return sb.toString();
     }
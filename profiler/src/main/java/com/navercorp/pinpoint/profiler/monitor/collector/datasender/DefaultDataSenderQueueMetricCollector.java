@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.datasender;
+
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+import com.navercorp.pinpoint.thrift.dto.TDataSenderQueue;
+
+/**
+ * Queue depth of the data sender and the number of data dropped since the last collection.
+ */
+public class DefaultDataSenderQueueMetricCollector implements DataSenderQueueMetricCollector {
+
+    private final QueueStatus queueStatus;
+
+    // Caution. collected by the agent stat thread only
+    private long prevDropCount = 0;
+
+    public DefaultDataSenderQueueMetricCollector(QueueStatus queueStatus) {
+        if (queueStatus == null) {
+            throw new NullPointerException("queueStatus must not be null");
+        }
+        this.queueStatus = queueStatus;
+    }
+
+    @Override
+    public TDataSenderQueue collect() {
+        final long dropCount = queueStatus.getDropCount();
+        final long dropCountDelta = dropCount - prevDropCount;
+        this.prevDropCount = dropCount;
+
+        TDataSenderQueue dataSenderQueue = new TDataSenderQueue();
+        dataSenderQueue.setQueueSize(queueStatus.getQueueSize());
+        dataSenderQueue.setQueueCapacity(queueStatus.getQueueCapacity());
+        dataSenderQueue.setDropCount(dropCountDelta);
+        return dataSenderQueue;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultDataSenderQueueMetricCollector{");
+        sb.append("queueStatus=").append(queueStatus);
+        sb.append('}');
+        return sb.toString();
+    }
+}
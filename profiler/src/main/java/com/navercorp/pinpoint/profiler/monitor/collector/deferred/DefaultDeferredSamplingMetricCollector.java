@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.deferred;
+
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
+import com.navercorp.pinpoint.thrift.dto.TDeferredSampling;
+
+/**
+ * Deferred traces buffered at the time of the collection and the decisions made since the last collection.
+ */
+public class DefaultDeferredSamplingMetricCollector implements DeferredSamplingMetricCollector {
+
+    private final DeferredStorageFactory deferredStorageFactory;
+
+    // Caution. collected by the agent stat thread only
+    private long prevPromotedCount = 0;
+    private long prevDiscardedCount = 0;
+    private long prevRejectedCount = 0;
+    private long prevExpiredCount = 0;
+
+    public DefaultDeferredSamplingMetricCollector(DeferredStorageFactory deferredStorageFactory) {
+        if (deferredStorageFactory == null) {
+            throw new NullPointerException("deferredStorageFactory must not be null");
+        }
+        this.deferredStorageFactory = deferredStorageFactory;
+    }
+
+    @Override
+    public TDeferredSampling collect() {
+        final long promotedCount = deferredStorageFactory.getPromotedCount();
+        final long discardedCount = deferredStorageFactory.getDiscardedCount();
+        final long rejectedCount = deferredStorageFactory.getRejectedCount();
+        final long expiredCount = deferredStorageFactory.getExpiredCount();
+
+        TDeferredSampling deferredSampling = new TDeferredSampling();
+        deferredSampling.setActiveTraceCount(deferredStorageFactory.getActiveTraceCount());
+        deferredSampling.setPromotedCount(promotedCount - prevPromotedCount);
+        deferredSampling.setDiscardedCount(discardedCount - prevDiscardedCount);
+        deferredSampling.setRejectedCount(rejectedCount - prevRejectedCount);
+        deferredSampling.setExpiredCount(expiredCount - prevExpiredCount);
+
+        this.prevPromotedCount = promotedCount;
+        this.prevDiscardedCount = discardedCount;
+        this.prevRejectedCount = rejectedCount;
+        this.prevExpiredCount = expiredCount;
+        return deferredSampling;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultDeferredSamplingMetricCollector{");
+        sb.append("deferredStorageFactory=").append(deferredStorageFactory);
+        sb.append('}');
+        return sb.toString();
+    }
+}
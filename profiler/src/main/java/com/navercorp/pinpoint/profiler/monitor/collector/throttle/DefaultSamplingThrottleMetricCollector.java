@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.throttle;
+
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
+import com.navercorp.pinpoint.thrift.dto.TSamplingThrottle;
+
+/**
+ * Throttle level at the time of the collection and the transactions dropped since the last collection.
+ */
+public class DefaultSamplingThrottleMetricCollector implements SamplingThrottleMetricCollector {
+
+    private final SamplingThrottle samplingThrottle;
+
+    // Caution. collected by the agent stat thread only
+    private long prevThrottledCount = 0;
+
+    public DefaultSamplingThrottleMetricCollector(SamplingThrottle samplingThrottle) {
+        if (samplingThrottle == null) {
+            throw new NullPointerException("samplingThrottle must not be null");
+        }
+        this.samplingThrottle = samplingThrottle;
+    }
+
+    @Override
+    public TSamplingThrottle collect() {
+        final long throttledCount = samplingThrottle.getThrottledCount();
+
+        TSamplingThrottle throttle = new TSamplingThrottle();
+        throttle.setThrottleLevel(samplingThrottle.getThrottleLevel());
+        throttle.setThrottledCount(throttledCount - prevThrottledCount);
+
+        this.prevThrottledCount = throttledCount;
+        return throttle;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultSamplingThrottleMetricCollector{");
+        sb.append("samplingThrottle=").append(samplingThrottle);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -16,7 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.monitor.collector.transaction;
 
-import com.google.inject.Inject;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetric;
 import com.navercorp.pinpoint.thrift.dto.TTransaction;
 
@@ -26,19 +26,42 @@ import com.navercorp.pinpoint.thrift.dto.TTransaction;
 public class DefaultTransactionMetricCollector implements TransactionMetricCollector {
 
     private final TransactionMetric transactionMetric;
+    private final DeferredStorageFactory deferredStorageFactory;
 
-    @Inject
-    public DefaultTransactionMetricCollector(TransactionMetric transactionMetric) {
+    // Caution. collected by the agent stat thread only
+    private long prevPromotedCount = 0;
+
+    public DefaultTransactionMetricCollector(TransactionMetric transactionMetric, DeferredStorageFactory deferredStorageFactory) {
+        if (transactionMetric == null) {
+            throw new NullPointerException("transactionMetric must not be null");
+        }
+        if (deferredStorageFactory == null) {
+            throw new NullPointerException("deferredStorageFactory must not be null");
+        }
         this.transactionMetric = transactionMetric;
+        this.deferredStorageFactory = deferredStorageFactory;
     }
 
     @Override
     public TTransaction collect() {
+        // gauges return the delta since the last call, read each of them once
+        final long sampledNew = transactionMetric.sampledNew();
+        final long unsampledNew = transactionMetric.unsampledNew();
+        final long promotedCount = deferredStorageFactory.getPromotedCount();
+        final long promotedNew = promotedCount - prevPromotedCount;
+        this.prevPromotedCount = promotedCount;
+
         TTransaction transaction = new TTransaction();
-        transaction.setSampledNewCount(transactionMetric.sampledNew());
+        transaction.setSampledNewCount(sampledNew);
         transaction.setSampledContinuationCount(transactionMetric.sampledContinuation());
-        transaction.setUnsampledNewCount(transactionMetric.unsampledNew());
+        transaction.setUnsampledNewCount(unsampledNew);
         transaction.setUnsampledContinuationCount(transactionMetric.unsampledContinuation());
+        final long newCount = sampledNew + unsampledNew;
+        if (newCount > 0) {
+            // promoted deferred transactions are counted as unsampled but are sent to the collector
+            final long sentNew = Math.min(sampledNew + promotedNew, newCount);
+            transaction.setSamplingRate(sentNew * 100.0 / newCount);
+        }
         return transaction;
     }
 
@@ -46,6 +69,7 @@ public class DefaultTransactionMetricCollector implements TransactionMetricColle
     public String toString() {
         final StringBuilder sb = new StringBuilder("DefaultTransactionMetricCollector{");
         sb.append("transactionMetric=").append(transactionMetric);
+        sb.append(", deferredStorageFactory=").append(deferredStorageFactory);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.histogram;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@link DefaultResponseTimeHistogramRecorder} every flushInterval and sends the counters as one {@link TResponseTimeHistogram}.
+ * Nothing is sent for an interval without unsampled transactions.
+ */
+public class DefaultResponseTimeHistogramMonitor implements ResponseTimeHistogramMonitor {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-responsetime-histogram", true));
+
+    private final long flushInterval;
+    private final FlushJob flushJob;
+
+    public DefaultResponseTimeHistogramMonitor(DataSender dataSender, String agentId, long agentStartTimestamp, String applicationName,
+                                               ServiceType applicationServiceType, DefaultResponseTimeHistogramRecorder recorder, long flushInterval) {
+        if (dataSender == null) {
+            throw new NullPointerException("dataSender must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (applicationServiceType == null) {
+            throw new NullPointerException("applicationServiceType must not be null");
+        }
+        if (recorder == null) {
+            throw new NullPointerException("recorder must not be null");
+        }
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval must be greater than 0. flushInterval:" + flushInterval);
+        }
+        this.flushInterval = flushInterval;
+        this.flushJob = new FlushJob(dataSender, agentId, agentStartTimestamp, applicationName, applicationServiceType.getCode(), recorder);
+    }
+
+    @Override
+    public void start() {
+        executor.scheduleAtFixedRate(flushJob, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        logger.info("ResponseTimeHistogram monitor started. flushInterval:{}ms", flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // last interval
+        flushJob.run();
+        logger.info("ResponseTimeHistogram monitor stopped");
+    }
+
+    // for test
+    void flush() {
+        flushJob.run();
+    }
+
+    private static class FlushJob implements Runnable {
+
+        private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+        private final DataSender dataSender;
+        private final String agentId;
+        private final long agentStartTimestamp;
+        private final String applicationName;
+        private final short applicationServiceType;
+        private final DefaultResponseTimeHistogramRecorder recorder;
+
+        private long prevFlushTimestamp = System.currentTimeMillis();
+
+        private FlushJob(DataSender dataSender, String agentId, long agentStartTimestamp, String applicationName, short applicationServiceType,
+                         DefaultResponseTimeHistogramRecorder recorder) {
+            this.dataSender = dataSender;
+            this.agentId = agentId;
+            this.agentStartTimestamp = agentStartTimestamp;
+            this.applicationName = applicationName;
+            this.applicationServiceType = applicationServiceType;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public synchronized void run() {
+            final long currentTimestamp = System.currentTimeMillis();
+            try {
+                final List<TResponseTimeCount> responseTimeCounts = recorder.drain();
+                if (responseTimeCounts.isEmpty()) {
+                    return;
+                }
+                final TResponseTimeHistogram histogram = new TResponseTimeHistogram();
+                histogram.setAgentId(agentId);
+                histogram.setApplicationName(applicationName);
+                histogram.setApplicationServiceType(applicationServiceType);
+                histogram.setStartTimestamp(agentStartTimestamp);
+                histogram.setTimestamp(currentTimestamp);
+                histogram.setCollectInterval(currentTimestamp - prevFlushTimestamp);
+                histogram.setResponseTimeCounts(responseTimeCounts);
+                logger.trace("flush responseTimeHistogram:{}", histogram);
+                dataSender.send(histogram);
+            } catch (Exception ex) {
+                logger.warn("ResponseTimeHistogram flush failed. Caused:{}", ex.getMessage(), ex);
+            } finally {
+                this.prevFlushTimestamp = currentTimestamp;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.histogram;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.SlotType;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free response time counters per (root or continued, histogram slot).
+ * Slots are the ones of the application service type, the same as the collector uses for the server map.
+ * <p>
+ * Counters are striped by thread id to keep concurrent requests off the same cache line.
+ * {@link #drain()} sums and resets the stripes.
+ */
+public class DefaultResponseTimeHistogramRecorder implements ResponseTimeHistogramRecorder {
+
+    private static final int MAX_STRIPE = 16;
+
+    private static final int SLOT_TYPE_COUNT = SlotType.values().length;
+    private static final int CONTINUED_OFFSET = SLOT_TYPE_COUNT;
+    // root + continued counters of a stripe. padded to 256 bytes
+    private static final int STRIPE_STRIDE = 32;
+
+    private final HistogramSchema histogramSchema;
+    private final short[] slotNumbers = new short[SLOT_TYPE_COUNT];
+
+    private final int stripeMask;
+    private final AtomicLongArray counters;
+
+    public DefaultResponseTimeHistogramRecorder(ServiceType applicationServiceType) {
+        this(applicationServiceType, Runtime.getRuntime().availableProcessors());
+    }
+
+    DefaultResponseTimeHistogramRecorder(ServiceType applicationServiceType, int concurrencyLevel) {
+        if (applicationServiceType == null) {
+            throw new NullPointerException("applicationServiceType must not be null");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be greater than 0. concurrencyLevel:" + concurrencyLevel);
+        }
+        this.histogramSchema = applicationServiceType.getHistogramSchema();
+        mapSlot(histogramSchema.getFastSlot());
+        mapSlot(histogramSchema.getNormalSlot());
+        mapSlot(histogramSchema.getSlowSlot());
+        mapSlot(histogramSchema.getVerySlowSlot());
+        mapSlot(histogramSchema.getErrorSlot());
+        mapSlot(histogramSchema.getFastErrorSlot());
+        mapSlot(histogramSchema.getNormalErrorSlot());
+        mapSlot(histogramSchema.getSlowErrorSlot());
+        mapSlot(histogramSchema.getVerySlowErrorSlot());
+
+        final int stripeCount = stripeCount(concurrencyLevel);
+        this.stripeMask = stripeCount - 1;
+        this.counters = new AtomicLongArray(stripeCount * STRIPE_STRIDE);
+    }
+
+    private void mapSlot(HistogramSlot histogramSlot) {
+        slotNumbers[histogramSlot.getSlotType().ordinal()] = histogramSlot.getSlotTime();
+    }
+
+    private static int stripeCount(int concurrencyLevel) {
+        final int level = Math.min(concurrencyLevel, MAX_STRIPE);
+        int stripeCount = Integer.highestOneBit(level);
+        if (stripeCount != level) {
+            stripeCount <<= 1;
+        }
+        return stripeCount;
+    }
+
+    @Override
+    public void record(boolean root, int elapsed, boolean error) {
+        final HistogramSlot histogramSlot = histogramSchema.findHistogramSlot(elapsed, error);
+        int index = histogramSlot.getSlotType().ordinal();
+        if (!root) {
+            index += CONTINUED_OFFSET;
+        }
+        final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counters.incrementAndGet(stripe * STRIPE_STRIDE + index);
+    }
+
+    /**
+     * @return non zero counters recorded since the last drain
+     */
+    public List<TResponseTimeCount> drain() {
+        final List<TResponseTimeCount> responseTimeCounts = new ArrayList<TResponseTimeCount>();
+        for (int index = 0; index < SLOT_TYPE_COUNT * 2; index++) {
+            long count = 0;
+            for (int stripe = 0; stripe <= stripeMask; stripe++) {
+                count += counters.getAndSet(stripe * STRIPE_STRIDE + index, 0);
+            }
+            if (count == 0) {
+                continue;
+            }
+            final boolean root = index < CONTINUED_OFFSET;
+            final short slotNumber = slotNumbers[index % SLOT_TYPE_COUNT];
+            responseTimeCounts.add(new TResponseTimeCount(root, slotNumber, count));
+        }
+        return responseTimeCounts;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultResponseTimeHistogramRecorder{" +
+                "histogramSchema=" + histogramSchema +
+                ", stripeCount=" + (stripeMask + 1) +
+                '}';
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stack;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.ThreadMXBeanUtils;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTrace;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ThreadInfo;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the threads of transactions active longer than a threshold at a fixed interval.
+ * <p>
+ * All the slow threads are dumped with a single ThreadMXBean call per interval, and only up to the given max depth.
+ * Fast transactions are never touched, so the cost stays proportional to the number of slow transactions.
+ * The active traces are visited in place, without copying them into a list on every tick.
+ */
+public class DefaultStackSamplingProfiler implements StackSamplingProfiler {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-stack-sampler", true));
+
+    private final ActiveTraceRepository activeTraceRepository;
+    private final FoldedStackAggregator aggregator;
+    private final long samplingInterval;
+    private final long threshold;
+    private final int maxDepth;
+
+    // sampler thread only
+    private final SlowTraceCollector slowTraceCollector = new SlowTraceCollector();
+
+    public DefaultStackSamplingProfiler(ActiveTraceRepository activeTraceRepository, FoldedStackAggregator aggregator, long samplingInterval, long threshold, int maxDepth) {
+        if (activeTraceRepository == null) {
+            throw new NullPointerException("activeTraceRepository must not be null");
+        }
+        if (aggregator == null) {
+            throw new NullPointerException("aggregator must not be null");
+        }
+        if (samplingInterval <= 0) {
+            throw new IllegalArgumentException("samplingInterval must be positive");
+        }
+        this.activeTraceRepository = activeTraceRepository;
+        this.aggregator = aggregator;
+        this.samplingInterval = samplingInterval;
+        this.threshold = threshold;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public void start() {
+        executor.scheduleAtFixedRate(new SamplingJob(), samplingInterval, samplingInterval, TimeUnit.MILLISECONDS);
+        logger.info("StackSamplingProfiler started. interval:{}ms, threshold:{}ms", samplingInterval, threshold);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("StackSamplingProfiler stopped");
+    }
+
+    // for test
+    int sample() {
+        final SlowTraceCollector collector = this.slowTraceCollector;
+        collector.reset(System.currentTimeMillis());
+        activeTraceRepository.visitActiveTrace(collector);
+        final int count = collector.count;
+        if (count == 0) {
+            return 0;
+        }
+
+        final long[] targetThreadIds = Arrays.copyOf(collector.threadIds, count);
+        final ThreadInfo[] threadInfos = ThreadMXBeanUtils.findThread(targetThreadIds, maxDepth);
+        int sampled = 0;
+        for (int i = 0; i < threadInfos.length; i++) {
+            final ThreadInfo threadInfo = threadInfos[i];
+            // terminated
+            if (threadInfo == null) {
+                continue;
+            }
+            final StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+            if (stackTrace == null || stackTrace.length == 0) {
+                continue;
+            }
+            aggregator.add(collector.entryPoints[i], FoldedStackAggregator.fold(stackTrace));
+            sampled++;
+        }
+        collector.clearEntryPoints();
+        return sampled;
+    }
+
+    private class SlowTraceCollector implements ActiveTraceVisitor {
+
+        private long[] threadIds = new long[16];
+        private String[] entryPoints = new String[16];
+        private int count;
+        private long currentTime;
+
+        private void reset(long currentTime) {
+            this.currentTime = currentTime;
+            this.count = 0;
+        }
+
+        @Override
+        public void visit(ActiveTrace activeTrace) {
+            final long startTime = activeTrace.getStartTime();
+            // not started
+            if (startTime <= 0 || currentTime - startTime < threshold) {
+                return;
+            }
+            final Thread thread = activeTrace.getBindThread();
+            if (thread == null) {
+                return;
+            }
+            if (count == threadIds.length) {
+                threadIds = Arrays.copyOf(threadIds, count << 1);
+                entryPoints = Arrays.copyOf(entryPoints, count << 1);
+            }
+            threadIds[count] = thread.getId();
+            entryPoints[count] = activeTrace.getEntryPoint();
+            count++;
+        }
+
+        // do not keep the entry points until the next tick
+        private void clearEntryPoints() {
+            Arrays.fill(entryPoints, 0, count, null);
+        }
+    }
+
+    private class SamplingJob implements Runnable {
+        @Override
+        public void run() {
+            try {
+                sample();
+            } catch (Throwable th) {
+                logger.warn("stack sampling failed. Caused:{}", th.getMessage(), th);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultStackSamplingProfiler{" +
+                "samplingInterval=" + samplingInterval +
+                ", threshold=" + threshold +
+                ", maxDepth=" + maxDepth +
+                ", aggregator=" + aggregator +
+                '}';
+    }
+}
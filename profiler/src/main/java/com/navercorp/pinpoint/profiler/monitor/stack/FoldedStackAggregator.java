@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stack;
+
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
+import com.navercorp.pinpoint.thrift.dto.command.TFoldedStack;
+import com.navercorp.pinpoint.thrift.dto.command.TStackProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aggregates sampled stacks into folded stacks ("root;...;leaf" and a count) per entry point.
+ * <p>
+ * Memory is bounded by the number of entry points and the number of distinct stacks over all entry points.
+ * A sample beyond these limits is only counted as dropped.
+ * <p>
+ * Thread safe. {@link #add(String, String)} does not lock.
+ * {@link #createStackProfile()} drains the aggregation by swapping in a new empty one, so each profile covers the samples since the previous one
+ * and the limits apply per profile. A sample racing with the swap may be lost.
+ */
+public class FoldedStackAggregator {
+
+    static final String UNKNOWN_ENTRY_POINT = "UNKNOWN";
+
+    private final int maxEntryPointCount;
+    private final int maxStackCount;
+
+    private volatile Aggregation aggregation;
+
+    public FoldedStackAggregator(int maxEntryPointCount, int maxStackCount) {
+        if (maxEntryPointCount <= 0) {
+            throw new IllegalArgumentException("maxEntryPointCount must be positive");
+        }
+        if (maxStackCount <= 0) {
+            throw new IllegalArgumentException("maxStackCount must be positive");
+        }
+        this.maxEntryPointCount = maxEntryPointCount;
+        this.maxStackCount = maxStackCount;
+        this.aggregation = new Aggregation(System.currentTimeMillis());
+    }
+
+    public static String fold(StackTraceElement[] stackTrace) {
+        if (stackTrace == null) {
+            throw new NullPointerException("stackTrace must not be null");
+        }
+        final StringBuilder builder = new StringBuilder(stackTrace.length * 48);
+        // root first
+        for (int i = stackTrace.length - 1; i >= 0; i--) {
+            final StackTraceElement element = stackTrace[i];
+            builder.append(element.getClassName());
+            builder.append('.');
+            builder.append(element.getMethodName());
+            if (i != 0) {
+                builder.append(';');
+            }
+        }
+        return builder.toString();
+    }
+
+    public void add(String entryPoint, String foldedStack) {
+        if (foldedStack == null) {
+            throw new NullPointerException("foldedStack must not be null");
+        }
+        if (entryPoint == null) {
+            entryPoint = UNKNOWN_ENTRY_POINT;
+        }
+
+        final Aggregation aggregation = this.aggregation;
+        final EntryPointStack entryPointStack = aggregation.getEntryPointStack(entryPoint, maxEntryPointCount);
+        if (entryPointStack == null) {
+            aggregation.droppedCount.incrementAndGet();
+            return;
+        }
+        entryPointStack.sampleCount.incrementAndGet();
+
+        final AtomicInteger counter = entryPointStack.stackMap.get(foldedStack);
+        if (counter != null) {
+            counter.incrementAndGet();
+            return;
+        }
+        if (!tryIncrement(aggregation.stackCount, maxStackCount)) {
+            entryPointStack.droppedCount.incrementAndGet();
+            return;
+        }
+        final AtomicInteger before = entryPointStack.stackMap.putIfAbsent(foldedStack, new AtomicInteger(1));
+        if (before != null) {
+            // lost the race for a new stack
+            aggregation.stackCount.decrementAndGet();
+            before.incrementAndGet();
+        }
+    }
+
+    private static boolean tryIncrement(AtomicInteger count, int max) {
+        while (true) {
+            final int current = count.get();
+            if (current >= max) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public TCmdStackProfileRes createStackProfile() {
+        final long currentTime = System.currentTimeMillis();
+        final Aggregation aggregation;
+        synchronized (this) {
+            aggregation = this.aggregation;
+            this.aggregation = new Aggregation(currentTime);
+        }
+
+        final List<TStackProfile> stackProfileList = new ArrayList<TStackProfile>(aggregation.entryPointMap.size());
+        for (Map.Entry<String, EntryPointStack> entry : aggregation.entryPointMap.entrySet()) {
+            final EntryPointStack entryPointStack = entry.getValue();
+
+            final List<TFoldedStack> foldedStackList = new ArrayList<TFoldedStack>(entryPointStack.stackMap.size());
+            for (Map.Entry<String, AtomicInteger> stackEntry : entryPointStack.stackMap.entrySet()) {
+                foldedStackList.add(new TFoldedStack(stackEntry.getKey(), stackEntry.getValue().get()));
+            }
+
+            final TStackProfile stackProfile = new TStackProfile(entry.getKey(), entryPointStack.sampleCount.get(), foldedStackList);
+            final int droppedCount = entryPointStack.droppedCount.get();
+            if (droppedCount > 0) {
+                stackProfile.setDroppedCount(droppedCount);
+            }
+            stackProfileList.add(stackProfile);
+        }
+
+        final TCmdStackProfileRes stackProfile = new TCmdStackProfileRes();
+        stackProfile.setStartTime(aggregation.startTime);
+        stackProfile.setEndTime(currentTime);
+        stackProfile.setStackProfiles(stackProfileList);
+        final int droppedCount = aggregation.droppedCount.get();
+        if (droppedCount > 0) {
+            stackProfile.setDroppedCount(droppedCount);
+        }
+        return stackProfile;
+    }
+
+    private static class Aggregation {
+        private final long startTime;
+        private final ConcurrentMap<String, EntryPointStack> entryPointMap = new ConcurrentHashMap<String, EntryPointStack>();
+        private final AtomicInteger entryPointCount = new AtomicInteger();
+        private final AtomicInteger stackCount = new AtomicInteger();
+        private final AtomicInteger droppedCount = new AtomicInteger();
+
+        private Aggregation(long startTime) {
+            this.startTime = startTime;
+        }
+
+        private EntryPointStack getEntryPointStack(String entryPoint, int maxEntryPointCount) {
+            final EntryPointStack entryPointStack = entryPointMap.get(entryPoint);
+            if (entryPointStack != null) {
+                return entryPointStack;
+            }
+            if (!tryIncrement(entryPointCount, maxEntryPointCount)) {
+                return null;
+            }
+            final EntryPointStack newEntryPointStack = new EntryPointStack();
+            final EntryPointStack before = entryPointMap.putIfAbsent(entryPoint, newEntryPointStack);
+            if (before != null) {
+                entryPointCount.decrementAndGet();
+                return before;
+            }
+            return newEntryPointStack;
+        }
+    }
+
+    private static class EntryPointStack {
+        private final ConcurrentMap<String, AtomicInteger> stackMap = new ConcurrentHashMap<String, AtomicInteger>();
+        private final AtomicInteger sampleCount = new AtomicInteger();
+        private final AtomicInteger droppedCount = new AtomicInteger();
+    }
+
+    @Override
+    public String toString() {
+        return "FoldedStackAggregator{" +
+                "maxEntryPointCount=" + maxEntryPointCount +
+                ", maxStackCount=" + maxStackCount +
+                '}';
+    }
+}
@@ -57,7 +57,7 @@ public class ClassFileTransformerGuardDelegate implements ClassFileTransformer {
             throw new NullPointerException("className must not be null");
         }
 
-        final GuardInstrumentor guard = new GuardInstrumentor(this.profilerConfig, this.instrumentContext);
+        final GuardInstrumentor guard = new GuardInstrumentor(this.profilerConfig, this.instrumentContext, classBeingRedefined);
         try {
             // WARN external plugin api
             return transformCallback.doInTransform(guard, loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.MultiClassNameMatcher;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultTransformerRegistry;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerRegistry;
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sets up the plugin when the first of its trigger classes is loaded and dispatches to the transformers the plugin registers.
+ * <p>
+ * Transformers registered for other classes are never called. The trigger classes must cover every class the plugin instruments.
+ * Application type detectors and jdbc url parsers of the plugin are ignored. they are collected at agent startup.
+ */
+public class LazyPluginClassFileTransformer implements MatchableClassFileTransformer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PluginSetup pluginSetup;
+    private final ProfilerPlugin plugin;
+    private final ClassInjector classInjector;
+    private final Set<String> triggerClassInternalNames;
+    private final Matcher matcher;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private boolean setupInProgress = false;
+    private volatile TransformerRegistry transformerRegistry;
+
+    public LazyPluginClassFileTransformer(PluginSetup pluginSetup, ProfilerPlugin plugin, ClassInjector classInjector, List<String> triggerClassNames) {
+        if (pluginSetup == null) {
+            throw new NullPointerException("pluginSetup must not be null");
+        }
+        if (plugin == null) {
+            throw new NullPointerException("plugin must not be null");
+        }
+        if (classInjector == null) {
+            throw new NullPointerException("classInjector must not be null");
+        }
+        if (triggerClassNames == null) {
+            throw new NullPointerException("triggerClassNames must not be null");
+        }
+        if (triggerClassNames.isEmpty()) {
+            throw new IllegalArgumentException("triggerClassNames must not be empty");
+        }
+        this.pluginSetup = pluginSetup;
+        this.plugin = plugin;
+        this.classInjector = classInjector;
+        this.triggerClassInternalNames = new HashSet<String>(triggerClassNames.size());
+        for (String triggerClassName : triggerClassNames) {
+            this.triggerClassInternalNames.add(JavaAssistUtils.javaNameToJvmName(triggerClassName));
+        }
+        this.matcher = Matchers.newMultiClassNameMatcher(new ArrayList<String>(triggerClassNames));
+    }
+
+    @Override
+    public Matcher getMatcher() {
+        return matcher;
+    }
+
+    public boolean isSetup() {
+        return transformerRegistry != null;
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+        if (className == null) {
+            throw new NullPointerException("className must not be null");
+        }
+        final TransformerRegistry transformerRegistry = getTransformerRegistry(className);
+        if (transformerRegistry == null) {
+            return null;
+        }
+        final ClassFileTransformer transformer = transformerRegistry.findTransformer(className);
+        if (transformer == null) {
+            return null;
+        }
+        return transformer.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+    }
+
+    private TransformerRegistry getTransformerRegistry(String triggerClassName) {
+        final TransformerRegistry transformerRegistry = this.transformerRegistry;
+        if (transformerRegistry != null) {
+            return transformerRegistry;
+        }
+        synchronized (lock) {
+            if (this.transformerRegistry != null) {
+                return this.transformerRegistry;
+            }
+            if (setupInProgress) {
+                // trigger class loaded by the plugin setup itself
+                return null;
+            }
+            setupInProgress = true;
+            try {
+                this.transformerRegistry = setup(triggerClassName);
+            } finally {
+                setupInProgress = false;
+            }
+            return this.transformerRegistry;
+        }
+    }
+
+    private TransformerRegistry setup(String triggerClassName) {
+        final String pluginName = plugin.getClass().getName();
+        final long startTime = System.currentTimeMillis();
+        final DefaultTransformerRegistry transformerRegistry = new DefaultTransformerRegistry();
+        try {
+            final SetupResult setupResult = pluginSetup.setupPlugin(plugin, classInjector);
+            for (ClassFileTransformer transformer : setupResult.getClassTransformerList()) {
+                if (!(transformer instanceof MatchableClassFileTransformer)) {
+                    logger.warn("{} Plugin unsupported transformer ignored. transformer:{}", pluginName, transformer);
+                    continue;
+                }
+                final Matcher matcher = ((MatchableClassFileTransformer) transformer).getMatcher();
+                checkTriggerClass(pluginName, matcher);
+                transformerRegistry.addTransformer(matcher, transformer);
+            }
+            if (!setupResult.getApplicationTypeDetectors().isEmpty() || !setupResult.getJdbcUrlParserList().isEmpty()) {
+                logger.warn("{} Plugin application type detectors and jdbc url parsers are ignored on lazy setup", pluginName);
+            }
+        } catch (RuntimeException e) {
+            // do not retry on every trigger class
+            logger.warn("{} Plugin lazy setup fail. plugin disabled. Caused:{}", pluginName, e.getMessage(), e);
+            return new DefaultTransformerRegistry();
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("{} Plugin lazy setup completed. triggerClass:{}, time:{}ms", pluginName, triggerClassName, System.currentTimeMillis() - startTime);
+        }
+        return transformerRegistry;
+    }
+
+    private void checkTriggerClass(String pluginName, Matcher matcher) {
+        final List<String> classNames = new ArrayList<String>();
+        if (matcher instanceof ClassNameMatcher) {
+            classNames.add(((ClassNameMatcher) matcher).getClassName());
+        } else if (matcher instanceof MultiClassNameMatcher) {
+            classNames.addAll(((MultiClassNameMatcher) matcher).getClassNames());
+        }
+        for (String className : classNames) {
+            if (!triggerClassInternalNames.contains(JavaAssistUtils.javaNameToJvmName(className))) {
+                logger.warn("{} Plugin transformer never called. {} is not a trigger class", pluginName, className);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LazyPluginClassFileTransformer{" +
+                "plugin=" + plugin.getClass().getName() +
+                ", matcher=" + matcher +
+                ", setup=" + isSetup() +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.plugin.ApplicationTypeDetector;
+import com.navercorp.pinpoint.bootstrap.plugin.jdbc.JdbcUrlParserV2;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a plugin whose setup is deferred until one of its trigger classes is loaded.
+ */
+public class LazySetupResult extends SetupResult {
+
+    private final LazyPluginClassFileTransformer transformer;
+
+    public LazySetupResult(LazyPluginClassFileTransformer transformer) {
+        super(null, null);
+        if (transformer == null) {
+            throw new NullPointerException("transformer must not be null");
+        }
+        this.transformer = transformer;
+    }
+
+    @Override
+    public List<ApplicationTypeDetector> getApplicationTypeDetectors() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<JdbcUrlParserV2> getJdbcUrlParserList() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ClassFileTransformer> getClassTransformerList() {
+        return Collections.<ClassFileTransformer>singletonList(transformer);
+    }
+}
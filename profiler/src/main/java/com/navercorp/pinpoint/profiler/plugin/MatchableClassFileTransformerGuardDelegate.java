@@ -69,7 +69,7 @@ public class MatchableClassFileTransformerGuardDelegate implements MatchableClas
             throw new NullPointerException("className must not be null");
         }
 
-        final GuardInstrumentor guard = new GuardInstrumentor(this.profilerConfig, this.instrumentContext);
+        final GuardInstrumentor guard = new GuardInstrumentor(this.profilerConfig, this.instrumentContext, classBeingRedefined);
         try {
             // WARN external plugin api
             return transformCallback.doInTransform(guard, loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
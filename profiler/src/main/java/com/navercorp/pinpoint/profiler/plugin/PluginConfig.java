@@ -55,6 +55,19 @@ public class PluginConfig {
         this.pluginPackageFilter = pluginPackageFilter;
     }
 
+    public PluginConfig(URL pluginJar, JarFile pluginJarFile, ClassNameFilter pluginPackageFilter) {
+        if (pluginJar == null) {
+            throw new NullPointerException("pluginJar must not be null");
+        }
+        if (pluginJarFile == null) {
+            throw new NullPointerException("pluginJarFile must not be null");
+        }
+        this.pluginJar = pluginJar;
+        this.pluginJarFile = pluginJarFile;
+
+        this.pluginPackageFilter = pluginPackageFilter;
+    }
+
 
     public URL getPluginJar() {
         return pluginJar;
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Trigger classes of the plugins in the agent plugin directory, generated at build time by {@link PluginIndexGenerator}.
+ * <p>
+ * A plugin is listed only if it can be set up lazily. Plugins that are not listed are set up at agent startup.
+ */
+public class PluginIndex {
+
+    public static final String INDEX_FILE_NAME = "plugin-index.properties";
+
+    static final PluginIndex EMPTY = new PluginIndex(new Properties());
+
+    private final Properties properties;
+
+    PluginIndex(Properties properties) {
+        if (properties == null) {
+            throw new NullPointerException("properties must not be null");
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the index file next to the plugin jars.
+     */
+    public static PluginIndex read(URL[] pluginJars) throws IOException {
+        if (pluginJars == null) {
+            throw new NullPointerException("pluginJars must not be null");
+        }
+        final Set<File> pluginDirectories = new LinkedHashSet<File>();
+        for (URL pluginJar : pluginJars) {
+            pluginDirectories.add(toFile(pluginJar).getParentFile());
+        }
+
+        final Properties properties = new Properties();
+        for (File pluginDirectory : pluginDirectories) {
+            final File indexFile = new File(pluginDirectory, INDEX_FILE_NAME);
+            if (indexFile.isFile()) {
+                load(indexFile, properties);
+            }
+        }
+        if (properties.isEmpty()) {
+            return EMPTY;
+        }
+        return new PluginIndex(properties);
+    }
+
+    private static File toFile(URL pluginJar) throws IOException {
+        try {
+            return new File(pluginJar.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("invalid plugin jar url. " + pluginJar, e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid plugin jar url. " + pluginJar, e);
+        }
+    }
+
+    private static void load(File indexFile, Properties properties) throws IOException {
+        final InputStream in = new FileInputStream(indexFile);
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return empty if the plugin must be set up at agent startup
+     */
+    public List<String> getTriggerClassList(String pluginClassName) {
+        if (pluginClassName == null) {
+            throw new NullPointerException("pluginClassName must not be null");
+        }
+        final String triggerClass = properties.getProperty(pluginClassName);
+        if (triggerClass == null) {
+            return Collections.emptyList();
+        }
+        return StringUtils.splitAndTrim(triggerClass, ",");
+    }
+}
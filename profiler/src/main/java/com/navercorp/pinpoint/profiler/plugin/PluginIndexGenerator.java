@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplate;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplateAware;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.bootstrap.plugin.ApplicationTypeDetector;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginSetupContext;
+import com.navercorp.pinpoint.bootstrap.plugin.jdbc.JdbcUrlParserV2;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the {@link PluginIndex} of the plugins on the classpath at build time.
+ * <p>
+ * Each plugin is set up against a recording context, with every boolean option at its default, all enabled and all disabled.
+ * The union of the classes it registers in those runs becomes its trigger classes.
+ * Plugins that register application type detectors or jdbc url parsers, register no class or fail to set up are left out,
+ * so they are set up at agent startup.
+ * <pre>
+ * usage: PluginIndexGenerator &lt;index file&gt;
+ * </pre>
+ */
+public class PluginIndexGenerator {
+
+    private static final Boolean[] BOOLEAN_OPTIONS = {null, Boolean.TRUE, Boolean.FALSE};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: PluginIndexGenerator <index file>");
+        }
+        final File indexFile = new File(args[0]);
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        final List<ProfilerPlugin> plugins = new ArrayList<ProfilerPlugin>();
+        for (ProfilerPlugin plugin : ServiceLoader.load(ProfilerPlugin.class, classLoader)) {
+            plugins.add(plugin);
+        }
+
+        final PluginIndexGenerator generator = new PluginIndexGenerator();
+        final Map<String, String> index = generator.createIndex(plugins);
+        generator.write(index, indexFile);
+    }
+
+    /**
+     * @return plugin class name to comma separated trigger classes
+     */
+    Map<String, String> createIndex(List<ProfilerPlugin> plugins) {
+        if (plugins == null) {
+            throw new NullPointerException("plugins must not be null");
+        }
+        final Map<String, String> index = new TreeMap<String, String>();
+        for (ProfilerPlugin plugin : plugins) {
+            final Set<String> triggerClasses = getTriggerClasses(plugin.getClass());
+            if (triggerClasses == null || triggerClasses.isEmpty()) {
+                continue;
+            }
+            final StringBuilder builder = new StringBuilder();
+            for (String triggerClass : triggerClasses) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(triggerClass);
+            }
+            index.put(plugin.getClass().getName(), builder.toString());
+        }
+        return index;
+    }
+
+    // null if the plugin must be set up at agent startup
+    private Set<String> getTriggerClasses(Class<? extends ProfilerPlugin> pluginClass) {
+        final Set<String> triggerClasses = new TreeSet<String>();
+        for (Boolean booleanOption : BOOLEAN_OPTIONS) {
+            final RecordingInstrumentContext instrumentContext = new RecordingInstrumentContext();
+            final RecordingSetupContext setupContext = new RecordingSetupContext(new IndexProfilerConfig(booleanOption));
+            try {
+                final ProfilerPlugin plugin = pluginClass.newInstance();
+                if (plugin instanceof TransformTemplateAware) {
+                    ((TransformTemplateAware) plugin).setTransformTemplate(new TransformTemplate(instrumentContext));
+                }
+                plugin.setup(setupContext);
+            } catch (Exception e) {
+                return null;
+            }
+            if (setupContext.isStartupRequired()) {
+                return null;
+            }
+            triggerClasses.addAll(instrumentContext.getClassNames());
+        }
+        return triggerClasses;
+    }
+
+    void write(Map<String, String> index, File indexFile) throws IOException {
+        final File directory = indexFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("plugin index directory create fail. directory:" + directory);
+        }
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile), "ISO-8859-1");
+        try {
+            writer.write("# generated by " + PluginIndexGenerator.class.getName() + ". plugin class=trigger classes\n");
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('=');
+                writer.write(entry.getValue());
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static class IndexProfilerConfig extends DefaultProfilerConfig {
+        // null for the default value
+        private final Boolean booleanOption;
+
+        private IndexProfilerConfig(Boolean booleanOption) {
+            this.booleanOption = booleanOption;
+        }
+
+        @Override
+        public boolean readBoolean(String propertyName, boolean defaultValue) {
+            if (booleanOption == null) {
+                return defaultValue;
+            }
+            return booleanOption;
+        }
+    }
+
+    private static class RecordingSetupContext implements ProfilerPluginSetupContext {
+        private final ProfilerConfig profilerConfig;
+        private boolean startupRequired = false;
+
+        private RecordingSetupContext(ProfilerConfig profilerConfig) {
+            this.profilerConfig = profilerConfig;
+        }
+
+        @Override
+        public ProfilerConfig getConfig() {
+            return profilerConfig;
+        }
+
+        @Override
+        public void addApplicationTypeDetector(ApplicationTypeDetector... detectors) {
+            // collected at agent startup
+            this.startupRequired = true;
+        }
+
+        @Override
+        public void addJdbcUrlParser(JdbcUrlParserV2 jdbcUrlParserV2) {
+            // collected at agent startup
+            this.startupRequired = true;
+        }
+
+        private boolean isStartupRequired() {
+            return startupRequired;
+        }
+    }
+
+    private static class RecordingInstrumentContext implements InstrumentContext {
+        private final Set<String> classNames = new TreeSet<String>();
+
+        @Override
+        public void addClassFileTransformer(String targetClassName, TransformCallback transformCallback) {
+            classNames.add(targetClassName);
+        }
+
+        @Override
+        public void addClassFileTransformer(ClassLoader classLoader, String targetClassName, TransformCallback transformCallback) {
+            classNames.add(targetClassName);
+        }
+
+        @Override
+        public InstrumentClass getInstrumentClass(ClassLoader classLoader, String className, byte[] classfileBuffer) {
+            throw new UnsupportedOperationException("getInstrumentClass");
+        }
+
+        @Override
+        public boolean exist(ClassLoader classLoader, String className) {
+            throw new UnsupportedOperationException("exist");
+        }
+
+        @Override
+        public InterceptorScope getInterceptorScope(String name) {
+            throw new UnsupportedOperationException("getInterceptorScope");
+        }
+
+        @Override
+        public <T> Class<? extends T> injectClass(ClassLoader targetClassLoader, String className) {
+            throw new UnsupportedOperationException("injectClass");
+        }
+
+        @Override
+        public InputStream getResourceAsStream(ClassLoader targetClassLoader, String classPath) {
+            throw new UnsupportedOperationException("getResourceAsStream");
+        }
+
+        @Override
+        public void retransform(Class<?> target, TransformCallback transformCallback) {
+            throw new UnsupportedOperationException("retransform");
+        }
+
+        private Set<String> getClassNames() {
+            return classNames;
+        }
+    }
+}
@@ -82,12 +82,16 @@ public class PluginInstrumentContext implements InstrumentContext {
 
     @Override
     public InstrumentClass getInstrumentClass(ClassLoader classLoader, String className, byte[] classFileBuffer) {
+        return getInstrumentClass(classLoader, className, null, classFileBuffer);
+    }
+
+    public InstrumentClass getInstrumentClass(ClassLoader classLoader, String className, Class<?> classBeingRedefined, byte[] classFileBuffer) {
         if (className == null) {
             throw new NullPointerException("className must not be null");
         }
         try {
             final InstrumentEngine instrumentEngine = getInstrumentEngine();
-            return instrumentEngine.getClass(this, classLoader, className, classFileBuffer);
+            return instrumentEngine.getClass(this, classLoader, className, classBeingRedefined, classFileBuffer);
         } catch (NotFoundInstrumentException e) {
             return null;
         }
@@ -22,6 +22,11 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -34,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
 import com.navercorp.pinpoint.common.plugin.PluginLoader;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
 import com.navercorp.pinpoint.profiler.instrument.classloading.JarProfilerPluginClassInjector;
 
@@ -70,35 +76,107 @@ public class ProfilerPluginLoader {
     }
 
     public List<SetupResult> load(URL[] pluginJars) {
+        final long startTime = System.currentTimeMillis();
+        final PluginIndex pluginIndex = getPluginIndex(pluginJars);
+
+        final int threadCount = Math.min(profilerConfig.getPluginSetupThreadCount(), pluginJars.length);
+        final List<SetupResult> pluginContexts;
+        if (threadCount > 1) {
+            pluginContexts = loadParallel(pluginJars, pluginIndex, threadCount);
+        } else {
+            pluginContexts = new ArrayList<SetupResult>(pluginJars.length);
+            for (URL pluginJar : pluginJars) {
+                pluginContexts.addAll(loadPluginJar(pluginJar, pluginIndex));
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Plugin setup completed. pluginJars:{}, plugins:{}, threads:{}, time:{}ms", pluginJars.length, pluginContexts.size(), Math.max(threadCount, 1), System.currentTimeMillis() - startTime);
+        }
+        return pluginContexts;
+    }
 
-        List<SetupResult> pluginContexts = new ArrayList<SetupResult>(pluginJars.length);
+    private List<SetupResult> loadParallel(URL[] pluginJars, final PluginIndex pluginIndex, int threadCount) {
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new PinpointThreadFactory("Pinpoint-plugin-setup", true));
+        try {
+            final List<Future<List<SetupResult>>> futureList = new ArrayList<Future<List<SetupResult>>>(pluginJars.length);
+            for (final URL pluginJar : pluginJars) {
+                final Future<List<SetupResult>> future = executor.submit(new Callable<List<SetupResult>>() {
+                    @Override
+                    public List<SetupResult> call() throws Exception {
+                        return loadPluginJar(pluginJar, pluginIndex);
+                    }
+                });
+                futureList.add(future);
+            }
 
-        for (URL pluginJar : pluginJars) {
+            // keep the order of the plugin jars. the transformers are registered in the same order as the serial setup
+            final List<SetupResult> pluginContexts = new ArrayList<SetupResult>(pluginJars.length);
+            for (Future<List<SetupResult>> future : futureList) {
+                pluginContexts.addAll(getSetupResult(future));
+            }
+            return pluginContexts;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            final JarFile pluginJarFile = createJarFile(pluginJar);
-            final List<String> pluginPackageList = getPluginPackage(pluginJarFile);
+    private List<SetupResult> getSetupResult(Future<List<SetupResult>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("plugin setup interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("plugin setup fail. " + cause.getMessage(), cause);
+        }
+    }
 
-            final ClassNameFilter pluginFilterChain = createPluginFilterChain(pluginPackageList);
+    private List<SetupResult> loadPluginJar(URL pluginJar, PluginIndex pluginIndex) {
+        // opened once and shared by the plugins of this jar
+        final JarFile pluginJarFile = createJarFile(pluginJar);
+        final Manifest manifest = getManifest(pluginJarFile);
+        final List<String> pluginPackageList = getPluginPackage(manifest);
 
-            final List<ProfilerPlugin> original = PluginLoader.load(ProfilerPlugin.class, new URL[] { pluginJar });
+        final ClassNameFilter pluginFilterChain = createPluginFilterChain(pluginPackageList);
 
-            List<ProfilerPlugin> plugins = filterDisablePlugin(original);
+        final List<ProfilerPlugin> original = PluginLoader.load(ProfilerPlugin.class, new URL[] { pluginJar });
 
-            for (ProfilerPlugin plugin : plugins) {
-                 if (logger.isInfoEnabled()) {
-                    logger.info("{} Plugin {}:{}", plugin.getClass(), PluginConfig.PINPOINT_PLUGIN_PACKAGE, pluginPackageList);
-                }
-                
-                logger.info("Loading plugin:{} pluginPackage:{}", plugin.getClass().getName(), plugin);
+        List<ProfilerPlugin> plugins = filterDisablePlugin(original);
 
-                PluginConfig pluginConfig = new PluginConfig(pluginJar, pluginFilterChain);
-                final ClassInjector classInjector = new JarProfilerPluginClassInjector(pluginConfig, instrumentEngine);
-                final SetupResult result = pluginSetup.setupPlugin(plugin, classInjector);
-                pluginContexts.add(result);
+        final List<SetupResult> pluginContexts = new ArrayList<SetupResult>(plugins.size());
+        for (ProfilerPlugin plugin : plugins) {
+             if (logger.isInfoEnabled()) {
+                logger.info("{} Plugin {}:{}", plugin.getClass(), PluginConfig.PINPOINT_PLUGIN_PACKAGE, pluginPackageList);
             }
-        }
-        
 
+            logger.info("Loading plugin:{} pluginPackage:{}", plugin.getClass().getName(), plugin);
+
+            PluginConfig pluginConfig = new PluginConfig(pluginJar, pluginJarFile, pluginFilterChain);
+            final ClassInjector classInjector = new JarProfilerPluginClassInjector(pluginConfig, instrumentEngine);
+
+            final List<String> triggerClassList = pluginIndex.getTriggerClassList(plugin.getClass().getName());
+            if (profilerConfig.isPluginLazySetup() && !triggerClassList.isEmpty()) {
+                logger.info("{} Plugin setup deferred. triggerClass:{}", plugin.getClass().getName(), triggerClassList);
+                final LazyPluginClassFileTransformer transformer = new LazyPluginClassFileTransformer(pluginSetup, plugin, classInjector, triggerClassList);
+                pluginContexts.add(new LazySetupResult(transformer));
+                continue;
+            }
+
+            final long startTime = System.currentTimeMillis();
+            final SetupResult result = pluginSetup.setupPlugin(plugin, classInjector);
+            if (logger.isInfoEnabled()) {
+                logger.info("{} Plugin setup completed. time:{}ms", plugin.getClass().getName(), System.currentTimeMillis() - startTime);
+            }
+            pluginContexts.add(result);
+        }
         return pluginContexts;
     }
 
@@ -150,6 +228,10 @@ public class ProfilerPluginLoader {
     public List<String> getPluginPackage(JarFile pluginJarFile) {
 
         final Manifest manifest =  getManifest(pluginJarFile);
+        return getPluginPackage(manifest);
+    }
+
+    private List<String> getPluginPackage(Manifest manifest) {
         if (manifest == null) {
             return PluginConfig.DEFAULT_PINPOINT_PLUGIN_PACKAGE_NAME;
         }
@@ -162,5 +244,13 @@ public class ProfilerPluginLoader {
         return StringUtils.splitAndTrim(pluginPackage, ",");
     }
 
+    private PluginIndex getPluginIndex(URL[] pluginJars) {
+        try {
+            return PluginIndex.read(pluginJars);
+        } catch (IOException ex) {
+            logger.info("{} read fail. plugins are set up at startup. Caused:{}", PluginIndex.INDEX_FILE_NAME, ex.getMessage(), ex);
+            return PluginIndex.EMPTY;
+        }
+    }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.receiver.service;
+
+import com.navercorp.pinpoint.profiler.monitor.stack.FoldedStackAggregator;
+import com.navercorp.pinpoint.profiler.receiver.ProfilerRequestCommandService;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfile;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
+import org.apache.thrift.TBase;
+
+/**
+ * Returns the folded stacks sampled by the stack sampling profiler.
+ */
+public class StackProfileService implements ProfilerRequestCommandService {
+
+    private final FoldedStackAggregator foldedStackAggregator;
+    private final int samplingInterval;
+
+    public StackProfileService(FoldedStackAggregator foldedStackAggregator, int samplingInterval) {
+        if (foldedStackAggregator == null) {
+            throw new NullPointerException("foldedStackAggregator must not be null");
+        }
+        this.foldedStackAggregator = foldedStackAggregator;
+        this.samplingInterval = samplingInterval;
+    }
+
+    @Override
+    public TBase<?, ?> requestCommandService(TBase tBase) {
+        TCmdStackProfileRes response = foldedStackAggregator.createStackProfile();
+        response.setSamplingInterval(samplingInterval);
+        return response;
+    }
+
+    @Override
+    public Class<? extends TBase> getCommandClazz() {
+        return TCmdStackProfile.class;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+public class DisabledSamplingThrottle implements SamplingThrottle {
+
+    public static final SamplingThrottle INSTANCE = new DisabledSamplingThrottle();
+
+    @Override
+    public boolean isThrottled() {
+        return false;
+    }
+
+    @Override
+    public int getThrottleLevel() {
+        return 0;
+    }
+
+    @Override
+    public long getThrottledCount() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DisabledSamplingThrottle";
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grants one sample per entry point per interval.
+ * <p>
+ * The head sampler decides before the entry point is known, so this is consulted when an unsampled
+ * transaction ends. Rarely called entry points keep at least one sample per interval even when a busy
+ * entry point uses up the whole sampling budget.
+ * <p>
+ * At most maxEntryPointCount entry points are tracked. When the table is full, entry points that were
+ * not sampled within the interval are removed. If none can be removed, the new entry point is not granted.
+ */
+public class EntryPointSampleFloor {
+
+    public static final int DEFAULT_MAX_ENTRY_POINT_COUNT = 1024;
+
+    private final long interval;
+    private final int maxEntryPointCount;
+
+    private final ConcurrentMap<String, AtomicLong> lastSampleTimeMap = new ConcurrentHashMap<String, AtomicLong>();
+
+    public EntryPointSampleFloor(long interval, int maxEntryPointCount) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be greater than 0. interval:" + interval);
+        }
+        if (maxEntryPointCount <= 0) {
+            throw new IllegalArgumentException("maxEntryPointCount must be greater than 0. maxEntryPointCount:" + maxEntryPointCount);
+        }
+        this.interval = interval;
+        this.maxEntryPointCount = maxEntryPointCount;
+    }
+
+    /**
+     * @return true if the entry point was not sampled within the interval. the entry point is then marked as sampled
+     */
+    public boolean tryAcquire(String entryPoint, long currentTimeMillis) {
+        if (entryPoint == null) {
+            return false;
+        }
+        AtomicLong lastSampleTime = lastSampleTimeMap.get(entryPoint);
+        if (lastSampleTime == null) {
+            if (lastSampleTimeMap.size() >= maxEntryPointCount && removeExpired(currentTimeMillis) == 0) {
+                return false;
+            }
+            final AtomicLong newSampleTime = new AtomicLong(currentTimeMillis);
+            lastSampleTime = lastSampleTimeMap.putIfAbsent(entryPoint, newSampleTime);
+            if (lastSampleTime == null) {
+                return true;
+            }
+        }
+        final long last = lastSampleTime.get();
+        if (currentTimeMillis - last < interval) {
+            return false;
+        }
+        return lastSampleTime.compareAndSet(last, currentTimeMillis);
+    }
+
+    private int removeExpired(long currentTimeMillis) {
+        int removed = 0;
+        final Iterator<AtomicLong> iterator = lastSampleTimeMap.values().iterator();
+        while (iterator.hasNext()) {
+            if (currentTimeMillis - iterator.next().get() >= interval) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int getEntryPointCount() {
+        return lastSampleTimeMap.size();
+    }
+
+    @Override
+    public String toString() {
+        return "EntryPointSampleFloor{" +
+                "interval=" + interval +
+                ", maxEntryPointCount=" + maxEntryPointCount +
+                '}';
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.common.util.MathUtils;
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles sampling by the occupancy of the span sender queue.
+ * <p>
+ * Below lowWatermark nothing is dropped. Between the watermarks the throttle level rises linearly up to 100%.
+ * The level follows a rising occupancy immediately but is lowered by at most {@link #RECOVERY_STEP} per update,
+ * so sampling is restored gradually while the queue drains instead of flooding it again.
+ * <p>
+ * The level is re-evaluated lazily by the sampling threads, at most once per {@link #UPDATE_INTERVAL} ms.
+ */
+public class QueueBackpressureSamplingThrottle implements SamplingThrottle {
+
+    static final long UPDATE_INTERVAL = 100;
+    static final int RECOVERY_STEP = 10;
+    private static final int MAX_LEVEL = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final QueueStatus queueStatus;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final AtomicLong lastUpdateTime = new AtomicLong(0);
+    private volatile int throttleLevel = 0;
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+    private final AtomicLong throttledCount = new AtomicLong(0);
+
+    /**
+     * @param lowWatermark queue occupancy (%) where throttling starts
+     * @param highWatermark queue occupancy (%) where every sampled transaction is dropped
+     */
+    public QueueBackpressureSamplingThrottle(QueueStatus queueStatus, int lowWatermark, int highWatermark) {
+        if (queueStatus == null) {
+            throw new NullPointerException("queueStatus must not be null");
+        }
+        if (lowWatermark < 0 || lowWatermark >= highWatermark || highWatermark > 100) {
+            throw new IllegalArgumentException("invalid watermark. lowWatermark:" + lowWatermark + ", highWatermark:" + highWatermark);
+        }
+        this.queueStatus = queueStatus;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+    }
+
+    @Override
+    public boolean isThrottled() {
+        final int throttleLevel = updateThrottleLevel(currentTimeMillis());
+        if (throttleLevel == 0) {
+            return false;
+        }
+        if (throttleLevel < MAX_LEVEL) {
+            final int count = MathUtils.fastAbs(counter.getAndIncrement());
+            if (count % MAX_LEVEL >= throttleLevel) {
+                return false;
+            }
+        }
+        throttledCount.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public int getThrottleLevel() {
+        return throttleLevel;
+    }
+
+    @Override
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    // for test
+    int updateThrottleLevel(long currentTime) {
+        final long lastUpdateTime = this.lastUpdateTime.get();
+        if (currentTime - lastUpdateTime < UPDATE_INTERVAL) {
+            return this.throttleLevel;
+        }
+        if (!this.lastUpdateTime.compareAndSet(lastUpdateTime, currentTime)) {
+            // updated by another thread
+            return this.throttleLevel;
+        }
+
+        final int currentLevel = this.throttleLevel;
+        final int targetLevel = targetLevel(occupancy());
+        final int nextLevel;
+        if (targetLevel >= currentLevel) {
+            nextLevel = targetLevel;
+        } else {
+            nextLevel = Math.max(targetLevel, currentLevel - RECOVERY_STEP);
+        }
+        if (nextLevel != currentLevel) {
+            this.throttleLevel = nextLevel;
+            if (logger.isInfoEnabled()) {
+                logger.info("sampling throttle level changed. {}% -> {}%", currentLevel, nextLevel);
+            }
+        }
+        return nextLevel;
+    }
+
+    private int occupancy() {
+        final int capacity = queueStatus.getQueueCapacity();
+        if (capacity <= 0) {
+            return 0;
+        }
+        return (int) ((long) queueStatus.getQueueSize() * 100 / capacity);
+    }
+
+    int targetLevel(int occupancy) {
+        if (occupancy <= lowWatermark) {
+            return 0;
+        }
+        if (occupancy >= highWatermark) {
+            return MAX_LEVEL;
+        }
+        return (occupancy - lowWatermark) * MAX_LEVEL / (highWatermark - lowWatermark);
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "QueueBackpressureSamplingThrottle{" +
+                "lowWatermark=" + lowWatermark +
+                ", highWatermark=" + highWatermark +
+                ", throttleLevel=" + throttleLevel +
+                '}';
+    }
+}
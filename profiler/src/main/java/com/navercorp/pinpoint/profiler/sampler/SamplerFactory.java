@@ -31,4 +31,21 @@ public class SamplerFactory {
         }
         return new SamplingRateSampler(samplingRate);
     }
+
+    public Sampler createSampler(boolean sampling, SamplerType samplerType, int samplingRate, int samplingThroughput) {
+        if (samplerType == null) {
+            throw new NullPointerException("samplerType must not be null");
+        }
+        if (samplerType == SamplerType.THROUGHPUT) {
+            return createThroughputSampler(sampling, samplingThroughput);
+        }
+        return createSampler(sampling, samplingRate);
+    }
+
+    public Sampler createThroughputSampler(boolean sampling, int samplingThroughput) {
+        if (!sampling || samplingThroughput <= 0) {
+            return new FalseSampler();
+        }
+        return new ThroughputSampler(samplingThroughput);
+    }
 }
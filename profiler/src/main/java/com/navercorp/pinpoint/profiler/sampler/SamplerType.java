@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+/**
+ * Sampling strategy of new transactions.
+ */
+public enum SamplerType {
+
+    // samples 1 out of profiler.sampling.rate transactions
+    RATE,
+    // samples up to profiler.sampling.throughput transactions per second
+    THROUGHPUT;
+
+    public static SamplerType getType(String typeName, SamplerType defaultType) {
+        if (typeName == null) {
+            return defaultType;
+        }
+        for (SamplerType type : values()) {
+            if (type.name().equalsIgnoreCase(typeName.trim())) {
+                return type;
+            }
+        }
+        return defaultType;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+/**
+ * Sheds transactions that were already picked by the {@link com.navercorp.pinpoint.bootstrap.sampler.Sampler}.
+ */
+public interface SamplingThrottle {
+
+    /**
+     * @return true if the sampled transaction has to be dropped
+     */
+    boolean isThrottled();
+
+    /**
+     * @return percentage of the sampled transactions being dropped as of the last evaluation. 0 ~ 100
+     */
+    int getThrottleLevel();
+
+    /**
+     * @return number of the sampled transactions dropped so far
+     */
+    long getThrottledCount();
+
+}
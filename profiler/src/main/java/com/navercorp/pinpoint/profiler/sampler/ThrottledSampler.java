@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+
+/**
+ * Asks the {@link SamplingThrottle} only for the transactions picked by the sampler.
+ * A dropped transaction becomes an ordinary unsampled one, so load is shed before the trace starts, not in the middle of it.
+ */
+public class ThrottledSampler implements Sampler {
+
+    private final Sampler sampler;
+    private final SamplingThrottle samplingThrottle;
+
+    public ThrottledSampler(Sampler sampler, SamplingThrottle samplingThrottle) {
+        if (sampler == null) {
+            throw new NullPointerException("sampler must not be null");
+        }
+        if (samplingThrottle == null) {
+            throw new NullPointerException("samplingThrottle must not be null");
+        }
+        this.sampler = sampler;
+        this.samplingThrottle = samplingThrottle;
+    }
+
+    @Override
+    public boolean isSampling() {
+        if (!sampler.isSampling()) {
+            return false;
+        }
+        return !samplingThrottle.isThrottled();
+    }
+
+    @Override
+    public String toString() {
+        return "ThrottledSampler{" +
+                "sampler=" + sampler +
+                ", samplingThrottle=" + samplingThrottle +
+                '}';
+    }
+}
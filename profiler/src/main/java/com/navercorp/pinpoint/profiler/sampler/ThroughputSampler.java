@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples up to a fixed number of new transactions per second regardless of the incoming traffic.
+ * <p>
+ * Token bucket implemented as a generic cell rate algorithm. The whole bucket is a single theoretical
+ * arrival time. Each sampled transaction pushes it forward by one emission interval (1s / throughput) and
+ * a transaction is rejected when it would move more than one second ahead of the current time.
+ * The bucket refills simply by the passing of time, so no refill thread is needed.
+ * <p>
+ * Rejection only reads the arrival time, and at most {@code throughput} CAS per second succeed,
+ * so contention stays low even under a traffic spike.
+ * While the traffic is below the throughput every transaction is sampled,
+ * which keeps rarely called entry points visible unlike {@link SamplingRateSampler}.
+ */
+public class ThroughputSampler implements Sampler {
+
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int throughput;
+    private final long emissionIntervalNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public ThroughputSampler(int throughput) {
+        if (throughput <= 0) {
+            throw new IllegalArgumentException("Invalid throughput " + throughput);
+        }
+        this.throughput = throughput;
+        this.emissionIntervalNanos = Math.max(BURST_NANOS / throughput, 1);
+        this.theoreticalArrivalTime = new AtomicLong(nanoTime());
+    }
+
+    @Override
+    public boolean isSampling() {
+        final long now = nanoTime();
+        while (true) {
+            final long arrivalTime = theoreticalArrivalTime.get();
+            // arrivalTime may lag behind now when the bucket is full
+            final long nextArrivalTime = Math.max(arrivalTime - now, 0) + now + emissionIntervalNanos;
+            if (nextArrivalTime - now > BURST_NANOS) {
+                // bucket is empty
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(arrivalTime, nextArrivalTime)) {
+                return true;
+            }
+        }
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    public int getThroughput() {
+        return throughput;
+    }
+
+    @Override
+    public String toString() {
+        return "ThroughputSampler{" +
+                "throughput=" + throughput +
+                '}';
+    }
+}
@@ -16,16 +16,23 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
 import com.navercorp.pinpoint.rpc.FutureListener;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
+import com.navercorp.pinpoint.profiler.sender.spill.ReplayTarget;
+import com.navercorp.pinpoint.profiler.sender.spill.SpillReplayer;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 
 /**
@@ -36,6 +43,17 @@ public abstract class AbstractDataSender implements DataSender {
 
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    // optional. messages that can not be sent are written to disk and replayed later
+    private volatile DiskSpillQueue spillQueue;
+    private SpillReplayer spillReplayer;
+    // writes messages to the spill queue. keeps the serialization and the disk I/O off the application and sender threads
+    private AsyncQueueingExecutor<Object> spillWriter;
+    // Caution. used by the spill writer thread only
+    private final HeaderTBaseSerializer spillSerializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+
+    private static final long SEND_FAIL_HOLD_TIME = 1000 * 10;
+    private volatile long lastSendFailTime = 0;
+
     abstract protected void sendPacket(Object dto);
 
     protected void sendPacketN(Collection<Object> messageList) {
@@ -56,7 +74,11 @@ public abstract class AbstractDataSender implements DataSender {
     }
 
     protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName);
+        return createAsyncQueueingExecutor(queueSize, executorName, AsyncQueueType.LINKED);
+    }
+
+    protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueType queueType) {
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName, queueType);
         executor.setListener(new AsyncQueueingExecutorListener<Object>() {
             @Override
             public void execute(Collection<Object> messageList) {
@@ -71,6 +93,144 @@ public abstract class AbstractDataSender implements DataSender {
         return executor;
     }
 
+    /**
+     * Enables the disk spill. The sender thread handles replayed messages as serialized byte[].
+     */
+    protected void startSpill(String threadName, DiskSpillQueue spillQueue, int replayRate, final AsyncQueueingExecutor<Object> executor) {
+        if (spillQueue == null) {
+            throw new NullPointerException("spillQueue must not be null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor must not be null");
+        }
+        if (this.spillQueue != null) {
+            throw new IllegalStateException("spill already started");
+        }
+        this.spillWriter = createSpillWriter(threadName + "-Writer", spillQueue, executor.getQueueCapacity());
+        this.spillReplayer = new SpillReplayer(threadName, spillQueue, new ReplayTarget() {
+            @Override
+            public boolean isReplayable() {
+                // keep half of the queue for live data
+                return isConnected() && executor.getQueueSize() < (executor.getQueueCapacity() >> 1);
+            }
+
+            @Override
+            public boolean replay(byte[] data) {
+                return executor.execute(data);
+            }
+        }, replayRate);
+        this.spillQueue = spillQueue;
+        this.spillReplayer.start();
+        logger.info("spill started. {}", spillQueue);
+    }
+
+    private AsyncQueueingExecutor<Object> createSpillWriter(String threadName, final DiskSpillQueue spillQueue, int queueSize) {
+        final AsyncQueueingExecutor<Object> spillWriter = new AsyncQueueingExecutor<Object>(queueSize, threadName);
+        spillWriter.setListener(new AsyncQueueingExecutorListener<Object>() {
+            @Override
+            public void execute(Collection<Object> messageList) {
+                for (Object message : messageList) {
+                    writeSpill(spillQueue, message);
+                }
+            }
+
+            @Override
+            public void execute(Object message) {
+                writeSpill(spillQueue, message);
+            }
+        });
+        return spillWriter;
+    }
+
+    // spill writer thread
+    private void writeSpill(DiskSpillQueue spillQueue, Object message) {
+        if (message instanceof byte[]) {
+            spillQueue.offer((byte[]) message);
+            return;
+        }
+        if (message instanceof TBase<?, ?>) {
+            try {
+                final byte[] data = serialize(spillSerializer, (TBase<?, ?>) message);
+                if (data != null) {
+                    spillQueue.offer(data);
+                }
+            } finally {
+                recycle(message);
+            }
+        }
+    }
+
+    protected void stopSpill() {
+        final AsyncQueueingExecutor<Object> spillWriter = this.spillWriter;
+        if (spillWriter != null) {
+            // flushes the pending writes before the replayer closes the spill queue
+            spillWriter.stop();
+        }
+        final SpillReplayer spillReplayer = this.spillReplayer;
+        if (spillReplayer != null) {
+            spillReplayer.stop();
+        }
+    }
+
+    protected boolean isSpillEnable() {
+        return spillQueue != null;
+    }
+
+    /**
+     * @return false if the collector is known to be unreachable. by default, until a while after the last {@link #sendFail()}
+     */
+    protected boolean isConnected() {
+        return System.currentTimeMillis() - lastSendFailTime > SEND_FAIL_HOLD_TIME;
+    }
+
+    /**
+     * Marks the collector as unreachable. e.g. PortUnreachableException on a connected datagram socket while the collector is down
+     */
+    protected void sendFail() {
+        this.lastSendFailTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Called by the application thread when the send queue is full.
+     * The message is serialized and written to disk by the spill writer thread.
+     */
+    protected boolean spill(TBase<?, ?> message) {
+        final AsyncQueueingExecutor<Object> spillWriter = this.spillWriter;
+        if (spillQueue == null || spillWriter == null) {
+            return false;
+        }
+        if (!spillWriter.execute(message)) {
+            recycle(message);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Called by the sender thread with the serialized message. The data is copied, so the caller may reuse its buffer.
+     */
+    protected boolean spill(byte[] data, int offset, int length) {
+        final AsyncQueueingExecutor<Object> spillWriter = this.spillWriter;
+        if (spillQueue == null || spillWriter == null) {
+            return false;
+        }
+        return spillWriter.execute(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+    /**
+     * Gives the span events of a serialized Span or SpanChunk back to its {@link com.navercorp.pinpoint.profiler.context.SpanRecycler}.
+     * The message must not be used after this call.
+     */
+    protected void recycle(Object message) {
+        if (message instanceof Span) {
+            final Span span = (Span) message;
+            span.getSpanRecycler().recycle(span);
+        } else if (message instanceof SpanChunk) {
+            final SpanChunk spanChunk = (SpanChunk) message;
+            spanChunk.getSpanRecycler().recycle(spanChunk);
+        }
+    }
+
     protected byte[] serialize(HeaderTBaseSerializer serializer, TBase tBase) {
         return SerializationUtils.serialize(tBase, serializer, null);
     }
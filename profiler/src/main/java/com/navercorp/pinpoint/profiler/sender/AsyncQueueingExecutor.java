@@ -17,10 +17,10 @@
 package com.navercorp.pinpoint.profiler.sender;
 
 import java.util.Collection;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,18 +34,26 @@ public class AsyncQueueingExecutor<T> implements Runnable {
 
     private static final AsyncQueueingExecutorListener EMPTY_LISTENER = new EmptyAsyncQueueingExecutorListener();
 
+    private static final int DEFAULT_DRAIN_SIZE = 10;
+    private static final int MAX_ADAPTIVE_DRAIN_SIZE = 128;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isWarn = logger.isWarnEnabled();
 
-    private final LinkedBlockingQueue<T> queue;
+    private final AsyncQueue<T> queue;
     private final AtomicBoolean isRun = new AtomicBoolean(true);
     private final Thread executeThread;
     private final String executorName;
 
+    private final int minDrainSize;
     private final int maxDrainSize;
+    // Caution. single thread only. grows while the queue is backlogged and shrinks when it is not.
+    private int drainSize;
     // Caution. single thread only. this Collection is simpler than ArrayList.
     private final Collection<T> drain;
 
+    private final AtomicLong dropCount = new AtomicLong();
+
     private AsyncQueueingExecutorListener<T> listener = EMPTY_LISTENER;
 
 
@@ -54,18 +62,42 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     }
 
     public AsyncQueueingExecutor(int queueSize, String executorName) {
+        this(queueSize, executorName, AsyncQueueType.LINKED);
+    }
+
+    public AsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueType queueType) {
         if (executorName == null) {
             throw new NullPointerException("executorName must not be null");
         }
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
         // BEFORE executeThread start
-        this.maxDrainSize = 10;
+        this.queue = createQueue(queueType, queueSize);
+        this.minDrainSize = DEFAULT_DRAIN_SIZE;
+        if (queueType == AsyncQueueType.RING_BUFFER) {
+            this.maxDrainSize = MAX_ADAPTIVE_DRAIN_SIZE;
+        } else {
+            this.maxDrainSize = DEFAULT_DRAIN_SIZE;
+        }
+        this.drainSize = minDrainSize;
         this.drain = new UnsafeArrayCollection<T>(maxDrainSize);
-        this.queue = new LinkedBlockingQueue<T>(queueSize);
 
         this.executeThread = this.createExecuteThread(executorName);
         this.executorName = executeThread.getName();
     }
 
+    private AsyncQueue<T> createQueue(AsyncQueueType queueType, int queueSize) {
+        switch (queueType) {
+            case RING_BUFFER:
+                return new RingBufferAsyncQueue<T>(queueSize);
+            case LINKED:
+                return new LinkedAsyncQueue<T>(queueSize);
+            default:
+                throw new IllegalArgumentException("Unknown queueType:" + queueType);
+        }
+    }
+
     private Thread createExecuteThread(String executorName) {
         final ThreadFactory threadFactory = new PinpointThreadFactory(executorName, true);
         Thread thread = threadFactory.newThread(this);
@@ -84,7 +116,8 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         while (isRun()) {
             try {
                 Collection<T> dtoList = getDrainQueue();
-                int drainSize = takeN(dtoList, this.maxDrainSize);
+                int drainSize = takeN(dtoList, this.drainSize);
+                this.drainSize = nextDrainSize(drainSize);
                 if (drainSize > 0) {
                     doExecute(dtoList);
                     continue;
@@ -104,6 +137,18 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         flushQueue();
     }
 
+    // for test
+    int nextDrainSize(int lastDrainSize) {
+        final int currentDrainSize = this.drainSize;
+        if (lastDrainSize >= currentDrainSize) {
+            return Math.min(currentDrainSize << 1, maxDrainSize);
+        }
+        if (lastDrainSize < (currentDrainSize >> 1)) {
+            return Math.max(currentDrainSize >> 1, minDrainSize);
+        }
+        return currentDrainSize;
+    }
+
     private void flushQueue() {
         boolean debugEnabled = logger.isDebugEnabled();
         if (debugEnabled) {
@@ -111,7 +156,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         while(true) {
             Collection<T> dtoList = getDrainQueue();
-           int drainSize = takeN(dtoList, this.maxDrainSize);
+            int drainSize = takeN(dtoList, this.maxDrainSize);
             if (drainSize == 0) {
                 break;
             }
@@ -150,8 +195,9 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         boolean offer = queue.offer(data);
         if (!offer) {
+            final long dropCount = this.dropCount.incrementAndGet();
             if (isWarn) {
-                logger.warn("{} Drop data. queue is full. size:{}", executorName, queue.size());
+                logger.warn("{} Drop data. queue is full. size:{}, dropCount:{}", executorName, queue.size(), dropCount);
             }
         }
         return offer;
@@ -176,6 +222,18 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         return queue.isEmpty();
     }
 
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
     public boolean isRun() {
         return isRun.get();
     }
@@ -118,17 +118,22 @@ public class BufferedUdpDataSender extends UdpDataSender {
 
     @Override
     protected void sendPacket(Object message) {
-        if (message instanceof TBase) {
-            try {
-                final TBase<?, ?> packet = (TBase<?, ?>) message;
-                chunkHeaderBufferedSerializer.add(packet);
-                logger.debug("Send packet {}", packet);
-            } catch (TException e) {
-                logger.warn("sendPacket fail.", e);
+        try {
+            if (message instanceof TBase) {
+                try {
+                    final TBase<?, ?> packet = (TBase<?, ?>) message;
+                    chunkHeaderBufferedSerializer.add(packet);
+                    logger.debug("Send packet {}", packet);
+                } catch (TException e) {
+                    logger.warn("sendPacket fail.", e);
+                }
+            } else {
+                logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+                return;
             }
-        } else {
-            logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
-            return;
+        } finally {
+            // serialized into the chunk buffer. the span events are no longer needed
+            recycle(message);
         }
     }
 
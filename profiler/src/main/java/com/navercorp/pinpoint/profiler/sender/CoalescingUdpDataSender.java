@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactory;
+import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactoryLocator;
+import com.navercorp.pinpoint.rpc.buffer.ByteBufferType;
+import com.navercorp.pinpoint.thrift.io.BufferOverflowException;
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.SpanCompactSerializer;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packs small messages into one datagram.
+ * <p>
+ * A datagram is the chunk header followed by header+body of each message, the format read by ChunkHeaderTBaseDeserializer.
+ * A datagram holding a single message is sent without the chunk header.
+ * Pending messages are sent when the next one does not fit in packetSize or at the latest after flushInterval.
+ * A message larger than packetSize is sent alone.
+ */
+public class CoalescingUdpDataSender extends NioUDPDataSender {
+
+    // ethernet MTU 1500 - (ip header 20 + udp header 8) - ip options
+    public static final int DEFAULT_PACKET_SIZE = 1432;
+    public static final long DEFAULT_FLUSH_INTERVAL = 100;
+
+    private static final HeaderTBaseSerializerFactory SERIALIZER_FACTORY = new HeaderTBaseSerializerFactory(false, UDP_MAX_PACKET_LENGTH, false);
+
+    // Caution. not thread safe. sender thread only
+    private final HeaderTBaseSerializer serializer = SERIALIZER_FACTORY.createSerializer();
+    // Caution. not thread safe. sender thread only
+    private final SpanCompactSerializer spanSerializer = new SpanCompactSerializer(UDP_MAX_PACKET_LENGTH);
+
+    private final Object packetLock = new Object();
+    // guarded by packetLock
+    private final ByteBuffer packet;
+    // guarded by packetLock
+    private int packetMessageCount = 0;
+
+    private final ScheduledExecutorService flushScheduler;
+
+    public CoalescingUdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, queueType, DEFAULT_PACKET_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public CoalescingUdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType,
+                                   int packetSize, long flushInterval) {
+        super(host, port, threadName, queueSize, timeout, sendBufferSize, queueType);
+        if (packetSize <= Header.HEADER_SIZE || packetSize > UDP_MAX_PACKET_LENGTH) {
+            throw new IllegalArgumentException("invalid packetSize:" + packetSize);
+        }
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval");
+        }
+
+        ByteBufferFactory bufferFactory = ByteBufferFactoryLocator.getFactory(ByteBufferType.DIRECT);
+        this.packet = bufferFactory.getBuffer(packetSize);
+        writeChunkHeader(packet);
+
+        this.flushScheduler = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory(threadName + "-Flush", true));
+        this.flushScheduler.scheduleWithFixedDelay(new FlushJob(), flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        logger.info("CoalescingUdpDataSender initialized. packetSize={}, flushInterval={}", packetSize, flushInterval);
+    }
+
+    private void writeChunkHeader(ByteBuffer packet) {
+        final Header chunkHeader = SERIALIZER_FACTORY.getLocator().getChunkHeader();
+        packet.put(chunkHeader.getSignature());
+        packet.put(chunkHeader.getVersion());
+        // fixed size regardless protocol. big endian
+        packet.putShort(chunkHeader.getType());
+    }
+
+    @Override
+    public void stop() {
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // remaining messages in the queue are added by the sender thread
+        super.stop();
+        synchronized (packetLock) {
+            flushPacket();
+        }
+    }
+
+    @Override
+    protected void sendPacket(Object message) {
+        if (message instanceof byte[]) {
+            // replayed from the spill queue. already a complete datagram
+            super.sendPacket(message);
+            return;
+        }
+        try {
+            if (!(message instanceof TBase)) {
+                logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+                return;
+            }
+            final TBase<?, ?> dto = (TBase<?, ?>) message;
+            // do not copy bytes because it's single threaded
+            final byte[] data;
+            final int length;
+            if (SpanCompactSerializer.isSupport(dto)) {
+                data = serializeSpan(dto);
+                length = spanSerializer.getInterBufferSize();
+            } else {
+                data = serialize(serializer, dto);
+                length = serializer.getInterBufferSize();
+            }
+            if (data == null) {
+                return;
+            }
+            if (length > UDP_MAX_PACKET_LENGTH) {
+                logger.warn("discard packet. Caused:too large message. size:{}, {}", length, dto);
+                return;
+            }
+            addPacket(data, length);
+        } finally {
+            // serialized. the span events are no longer needed
+            recycle(message);
+        }
+    }
+
+    private byte[] serializeSpan(TBase<?, ?> dto) {
+        try {
+            return spanSerializer.serialize(dto);
+        } catch (BufferOverflowException e) {
+            logger.warn("discard packet. Caused:too large message. {}", dto);
+            return null;
+        } catch (TException e) {
+            logger.warn("Serialize {} failed. Error:{}", dto, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void addPacket(byte[] data, int length) {
+        synchronized (packetLock) {
+            if (Header.HEADER_SIZE + length > packet.capacity()) {
+                // keep the order of messages
+                flushPacket();
+                write(ByteBuffer.wrap(data, 0, length));
+                return;
+            }
+            if (length > packet.remaining()) {
+                flushPacket();
+            }
+            packet.put(data, 0, length);
+            packetMessageCount++;
+        }
+    }
+
+    // guarded by packetLock
+    private void flushPacket() {
+        if (packetMessageCount == 0) {
+            return;
+        }
+        packet.flip();
+        if (packetMessageCount == 1) {
+            // single message. skip chunk header
+            packet.position(Header.HEADER_SIZE);
+        }
+        try {
+            write(packet);
+        } finally {
+            packet.clear();
+            packet.position(Header.HEADER_SIZE);
+            packetMessageCount = 0;
+        }
+    }
+
+    private void write(ByteBuffer byteBuffer) {
+        final int position = byteBuffer.position();
+        final int bufferSize = byteBuffer.remaining();
+        try {
+            datagramChannel.write(byteBuffer);
+            if (isDebug) {
+                logger.debug("Data sent. size:{}", bufferSize);
+            }
+        } catch (IOException e) {
+            logger.info("packet send error. size:{}", bufferSize, e);
+            byteBuffer.position(position);
+            sendFail(byteBuffer);
+        }
+    }
+
+    // for test
+    int getPendingMessageCount() {
+        synchronized (packetLock) {
+            return packetMessageCount;
+        }
+    }
+
+    private class FlushJob implements Runnable {
+        @Override
+        public void run() {
+            synchronized (packetLock) {
+                flushPacket();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingUdpDataSender{" +
+                "packetSize=" + packet.capacity() +
+                '}';
+    }
+}
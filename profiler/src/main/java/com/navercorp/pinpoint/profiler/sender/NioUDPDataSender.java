@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactory;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferFactoryLocator;
 import com.navercorp.pinpoint.rpc.buffer.ByteBufferType;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
 import com.navercorp.pinpoint.thrift.io.ByteBufferOutputStream;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer2;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory2;
@@ -38,7 +39,7 @@ import java.nio.channels.DatagramChannel;
 /**
  * @Author Taejin Koo
  */
-public class NioUDPDataSender extends AbstractDataSender implements DataSender {
+public class NioUDPDataSender extends AbstractDataSender implements DataSender, QueueStatus, Spillable {
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected final boolean isDebug = logger.isDebugEnabled();
@@ -47,11 +48,12 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
     public static final int SEND_BUFFER_SIZE = 1024 * 64 * 16;
     public static final int UDP_MAX_PACKET_LENGTH = 65507;
 
-    private final DatagramChannel datagramChannel;
+    protected final DatagramChannel datagramChannel;
     private final HeaderTBaseSerializer2 serializer;
     private final ByteBufferOutputStream byteBufferOutputStream;
 
     private final AsyncQueueingExecutor<Object> executor;
+    private final String threadName;
 
     private volatile boolean closed = false;
 
@@ -60,6 +62,10 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
     }
 
     public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueType.LINKED);
+    }
+
+    public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -75,6 +81,9 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         if (sendBufferSize <= 0) {
             throw new IllegalArgumentException("sendBufferSize");
         }
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
 
         // TODO If fail to create socket, stop agent start
         logger.info("NioUDPDataSender initialized. host={}, port={}", host, port);
@@ -87,7 +96,13 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         ByteBuffer byteBuffer = bufferFactory.getBuffer(UDP_MAX_PACKET_LENGTH);
         this.byteBufferOutputStream = new ByteBufferOutputStream(byteBuffer);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.threadName = threadName;
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName, queueType);
+    }
+
+    @Override
+    public void setSpillQueue(DiskSpillQueue spillQueue, int replayRate) {
+        startSpill(threadName + "-SpillReplayer", spillQueue, replayRate, executor);
     }
 
     private DatagramChannel createChannel(String host, int port, int timeout, int sendBufferSize) {
@@ -128,7 +143,10 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
 
     @Override
     public boolean send(TBase<?, ?> data) {
-        return executor.execute(data);
+        if (executor.execute(data)) {
+            return true;
+        }
+        return spill(data);
     }
 
     @Override
@@ -136,6 +154,7 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         try {
             closed = true;
             executor.stop();
+            stopSpill();
         } finally {
             try {
                 byteBufferOutputStream.close();
@@ -145,39 +164,86 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    @Override
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return executor.getQueueCapacity();
+    }
+
+    @Override
+    public long getDropCount() {
+        return executor.getDropCount();
+    }
+
     protected void sendPacket(Object message) {
         if (closed) {
             throw new PinpointSocketException("NioUDPDataSender already closed.");
         }
 
-        if (message instanceof TBase) {
-            byteBufferOutputStream.clear();
+        try {
+            if (message instanceof TBase) {
+                byteBufferOutputStream.clear();
 
-            final TBase dto = (TBase) message;
-            // do not copy bytes because it's single threaded
+                final TBase dto = (TBase) message;
+                // do not copy bytes because it's single threaded
 
-            try {
-                serializer.serialize(dto,  byteBufferOutputStream);
-            } catch (TException e) {
-                throw new PinpointSocketException("Serialize " + dto + " failed. Error:" +  e.getMessage(), e);
-            }
-            ByteBuffer byteBuffer = byteBufferOutputStream.getByteBuffer();
-            int bufferSize = byteBuffer.remaining();
-            try {
-                datagramChannel.write(byteBuffer);
-            } catch (IOException e) {
-                final Thread currentThread = Thread.currentThread();
-                if (currentThread.isInterrupted()) {
-                    logger.warn("{} thread interrupted.", currentThread.getName());
-                    throw new PinpointSocketException(currentThread.getName() + " thread interrupted.", e);
-                } else {
-                    throw new PinpointSocketException("packet send error. size:" + bufferSize + ", " +  dto, e);
+                try {
+                    serializer.serialize(dto,  byteBufferOutputStream);
+                } catch (TException e) {
+                    throw new PinpointSocketException("Serialize " + dto + " failed. Error:" +  e.getMessage(), e);
+                }
+                ByteBuffer byteBuffer = byteBufferOutputStream.getByteBuffer();
+                write(byteBuffer, dto);
+            } else if (message instanceof byte[]) {
+                // replayed from the spill queue
+                final byte[] data = (byte[]) message;
+                if (data.length > UDP_MAX_PACKET_LENGTH) {
+                    logger.warn("discard replay packet. Caused:too large message. size:{}", data.length);
+                    return;
                 }
+                write(ByteBuffer.wrap(data), null);
+            } else {
+                logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+                return;
+            }
+        } finally {
+            // serialized. the span events are no longer needed
+            recycle(message);
+        }
+    }
+
+    private void write(ByteBuffer byteBuffer, TBase<?, ?> dto) {
+        final int position = byteBuffer.position();
+        final int bufferSize = byteBuffer.remaining();
+        try {
+            datagramChannel.write(byteBuffer);
+        } catch (IOException e) {
+            final Thread currentThread = Thread.currentThread();
+            if (currentThread.isInterrupted()) {
+                logger.warn("{} thread interrupted.", currentThread.getName());
+                throw new PinpointSocketException(currentThread.getName() + " thread interrupted.", e);
             }
-        } else {
-            logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+            logger.info("packet send error. size:{}, {}", bufferSize, dto, e);
+            byteBuffer.position(position);
+            sendFail(byteBuffer);
+        }
+    }
+
+    /**
+     * Marks the collector as unreachable and spills the remaining bytes of the datagram, if the spill is enabled.
+     */
+    protected void sendFail(ByteBuffer byteBuffer) {
+        sendFail();
+        if (!isSpillEnable()) {
             return;
         }
+        final byte[] data = new byte[byteBuffer.remaining()];
+        byteBuffer.get(data);
+        spill(data, 0, data.length);
     }
 
 }
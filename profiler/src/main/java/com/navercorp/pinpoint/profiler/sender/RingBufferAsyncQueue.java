@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.RingBuffer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link AsyncQueue} on a {@link RingBuffer} of references.
+ * <p>
+ * offer() never allocates and never blocks. it fails immediately when the queue is full.
+ * no more than the configured capacity is queued, so the drop threshold is the same as {@link LinkedAsyncQueue}.
+ * <p>
+ * Caution. poll() and drainTo() must be called by a single consumer thread.
+ * The consumer spins briefly and then parks. producers unpark it only if it is actually parked.
+ */
+public class RingBufferAsyncQueue<T> implements AsyncQueue<T> {
+
+    private static final int SPIN_TRIES = 64;
+
+    private final RingBuffer<T> ringBuffer;
+
+    // consumer thread only
+    private long next = 0;
+
+    private final AtomicBoolean consumerWaiting = new AtomicBoolean(false);
+    private volatile Thread consumerThread;
+
+    public RingBufferAsyncQueue(int capacity) {
+        this.ringBuffer = new RingBuffer<T>(capacity);
+    }
+
+    @Override
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        final long sequence = ringBuffer.tryNext();
+        if (sequence == -1) {
+            return false;
+        }
+        ringBuffer.set(sequence, data);
+        ringBuffer.publish(sequence);
+
+        signalConsumer();
+        return true;
+    }
+
+    private void signalConsumer() {
+        if (consumerWaiting.get() && consumerWaiting.compareAndSet(true, false)) {
+            final Thread waiter = this.consumerThread;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    private T pollNow() {
+        final long sequence = this.next;
+        if (!ringBuffer.isPublished(sequence)) {
+            // empty or not yet published
+            return null;
+        }
+        final T data = ringBuffer.get(sequence);
+        ringBuffer.set(sequence, null);
+        ringBuffer.release(sequence);
+        this.next = sequence + 1;
+        return data;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T data = pollNow();
+        if (data != null) {
+            return data;
+        }
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            data = pollNow();
+            if (data != null) {
+                return data;
+            }
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.consumerThread = Thread.currentThread();
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            consumerWaiting.set(true);
+            // recheck after announcing. avoid lost wake-up
+            data = pollNow();
+            if (data != null) {
+                consumerWaiting.set(false);
+                return data;
+            }
+            LockSupport.parkNanos(this, remaining);
+            consumerWaiting.set(false);
+
+            data = pollNow();
+            if (data != null) {
+                return data;
+            }
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> drain, int maxDrainSize) {
+        int count = 0;
+        while (count < maxDrainSize) {
+            final T data = pollNow();
+            if (data == null) {
+                break;
+            }
+            drain.add(data);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return ringBuffer.size();
+    }
+
+    @Override
+    public int capacity() {
+        return ringBuffer.capacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferAsyncQueue{" +
+                "ringBuffer=" + ringBuffer +
+                '}';
+    }
+}
@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunk;
 import com.navercorp.pinpoint.profiler.sender.planer.SendDataPlaner;
 import com.navercorp.pinpoint.profiler.sender.planer.SpanChunkStreamSendDataPlaner;
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
 import com.navercorp.pinpoint.profiler.util.ByteBufferUtils;
 import com.navercorp.pinpoint.profiler.util.ObjectPool;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
@@ -37,7 +38,7 @@ import java.util.Iterator;
 /**
  * @author Taejin Koo
  */
-public class SpanStreamUdpSender extends AbstractDataSender {
+public class SpanStreamUdpSender extends AbstractDataSender implements Spillable {
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -52,6 +53,7 @@ public class SpanStreamUdpSender extends AbstractDataSender {
 
     private final DatagramChannel udpChannel;
     private final AsyncQueueingExecutor<Object> executor;
+    private final String threadName;
 
     private final ObjectPool<HeaderTBaseSerializer> serializerPool;
 
@@ -98,9 +100,15 @@ public class SpanStreamUdpSender extends AbstractDataSender {
         this.standbySpanStreamDataSendWorker = new StandbySpanStreamDataSendWorker(new FlushHandler(), new StandbySpanStreamDataStorage());
         this.standbySpanStreamDataSendWorker.start();
 
+        this.threadName = threadName;
         this.executor = createAsyncQueueingExecutor(queueSize, threadName);
     }
 
+    @Override
+    public void setSpillQueue(DiskSpillQueue spillQueue, int replayRate) {
+        startSpill(threadName + "-SpillReplayer", spillQueue, replayRate, executor);
+    }
+
     private DatagramChannel createChannel(String host, int port, int timeout, int sendBufferSize) {
         DatagramChannel datagramChannel = null;
         DatagramSocket socket = null;
@@ -139,7 +147,10 @@ public class SpanStreamUdpSender extends AbstractDataSender {
 
     @Override
     public boolean send(TBase<?, ?> data) {
-        return executor.execute(data);
+        if (executor.execute(data)) {
+            return true;
+        }
+        return spill(data);
     }
 
     @Override
@@ -157,20 +168,28 @@ public class SpanStreamUdpSender extends AbstractDataSender {
         }
 
         executor.stop();
+        stopSpill();
     }
 
     @Override
     protected void sendPacket(Object message) {
-        if (logger.isDebugEnabled()) {
-            logger.debug("sendPacket message:{}", message);
-        }
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("sendPacket message:{}", message);
+            }
 
-        if (message instanceof Span) {
-            handleSpan((Span) message);
-        } else if (message instanceof SpanChunk) {
-            handleSpanChunk((SpanChunk) message);
-        } else {
-            logger.info("sendPacket fail. invalid type:{}", messageToString(message));
+            if (message instanceof Span) {
+                handleSpan((Span) message);
+            } else if (message instanceof SpanChunk) {
+                handleSpanChunk((SpanChunk) message);
+            } else if (message instanceof byte[]) {
+                handleReplay((byte[]) message);
+            } else {
+                logger.info("sendPacket fail. invalid type:{}", messageToString(message));
+            }
+        } finally {
+            // serialized. the span events are no longer needed
+            recycle(message);
         }
     }
 
@@ -196,6 +215,17 @@ public class SpanStreamUdpSender extends AbstractDataSender {
         doAddAndFlush(partitionedByteBufferLocator, serializer);
     }
 
+    // replayed from the spill queue. a datagram that could not be sent before
+    private void handleReplay(byte[] data) {
+        final ByteBuffer[] byteBuffers = {ByteBuffer.wrap(data)};
+        try {
+            udpChannel.write(byteBuffers);
+        } catch (IOException e) {
+            logger.info("replay packet send error. size:{}", data.length, e);
+            sendFail(byteBuffers);
+        }
+    }
+
     // streaming
     private void handleSpanChunk(SpanChunk spanChunk) {
         if (spanChunk == null) {
@@ -264,11 +294,37 @@ public class SpanStreamUdpSender extends AbstractDataSender {
                     logger.debug("Data sent. size:{}, {}", sentBufferSize);
                 }
             }
+        } catch (IOException e) {
+            sendFail(byteBuffers);
+            throw e;
         } finally {
             spanStreamSendData.done();
         }
     }
 
+    /**
+     * Marks the collector as unreachable and spills the datagram, if the spill is enabled.
+     * A failed datagram write leaves the buffers untouched.
+     */
+    private void sendFail(ByteBuffer[] byteBuffers) {
+        sendFail();
+        if (!isSpillEnable()) {
+            return;
+        }
+        final int remaining = ByteBufferUtils.getRemaining(byteBuffers);
+        if (remaining == 0) {
+            return;
+        }
+        final byte[] data = new byte[remaining];
+        int offset = 0;
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            final int length = byteBuffer.remaining();
+            byteBuffer.duplicate().get(data, offset, length);
+            offset += length;
+        }
+        spill(data, 0, data.length);
+    }
+
     class FlushHandler implements StandbySpanStreamDataFlushHandler {
 
         @Override
@@ -292,6 +348,7 @@ public class SpanStreamUdpSender extends AbstractDataSender {
                 }
             } catch (IOException e) {
                 logger.warn("Failed to flush span stream data.", e);
+                sendFail(spanStreamSendData.getSendBuffers());
             } finally {
                 spanStreamSendData.done();
             }
@@ -30,6 +30,7 @@ import org.jboss.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.FutureListener;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
@@ -47,7 +48,7 @@ import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
  * @author koo.taejin
  * @author netspider
  */
-public class TcpDataSender extends AbstractDataSender implements EnhancedDataSender {
+public class TcpDataSender extends AbstractDataSender implements EnhancedDataSender, Spillable {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     static {
@@ -70,12 +71,24 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     private AsyncQueueingExecutor<Object> executor;
 
     public TcpDataSender(PinpointClient client) {
+        this(client, AsyncQueueType.LINKED);
+    }
+
+    public TcpDataSender(PinpointClient client, AsyncQueueType queueType) {
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
         this.client = client;
         this.timer = createTimer();
         writeFailFutureListener = new WriteFailFutureListener(logger, "io write fail.", "host", -1);
-        this.executor = createAsyncQueueingExecutor(1024 * 5, "Pinpoint-TcpDataExecutor");
+        this.executor = createAsyncQueueingExecutor(1024 * 5, "Pinpoint-TcpDataExecutor", queueType);
     }
     
+    @Override
+    public void setSpillQueue(DiskSpillQueue spillQueue, int replayRate) {
+        startSpill("Pinpoint-TcpDataSpillReplayer", spillQueue, replayRate, executor);
+    }
+
     private Timer createTimer() {
         HashedWheelTimer timer = TimerFactory.createHashedWheelTimer("Pinpoint-DataSender-Timer", 100, TimeUnit.MILLISECONDS, 512);
         timer.start();
@@ -84,7 +97,10 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     
     @Override
     public boolean send(TBase<?, ?> data) {
-        return executor.execute(data);
+        if (executor.execute(data)) {
+            return true;
+        }
+        return spill(data);
     }
 
     @Override
@@ -117,6 +133,7 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     @Override
     public void stop() {
         executor.stop();
+        stopSpill();
 
         Set<Timeout> stop = timer.stop();
         if (!stop.isEmpty()) {
@@ -133,6 +150,9 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
                     return;
                 }
                 doSend(copy);
+            } else if (message instanceof byte[]) {
+                // replayed from the spill queue
+                doSend((byte[]) message);
             } else if (message instanceof RequestMarker) {
                 RequestMarker requestMarker = (RequestMarker) message;
 
@@ -159,10 +179,19 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     }
 
     private void doSend(byte[] copy) {
+        if (isSpillEnable() && !client.isConnected()) {
+            spill(copy, 0, copy.length);
+            return;
+        }
         Future write = this.client.sendAsync(copy);
         write.setListener(writeFailFutureListener);
     }
 
+    @Override
+    protected boolean isConnected() {
+        return client.isConnected();
+    }
+
     // Separate doRequest method to avoid creating unnecessary objects. (Generally, sending message is successed when firt attempt.)
     private void doRequest(final byte[] requestPacket, final int maxRetryCount, final Object targetClass) {
         FutureListener futureListener = (new FutureListener<ResponseMessage>() {
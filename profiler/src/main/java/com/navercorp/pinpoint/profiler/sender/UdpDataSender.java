@@ -16,9 +16,13 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
+import com.navercorp.pinpoint.thrift.io.BufferOverflowException;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.SpanCompactSerializer;
 import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,7 +37,7 @@ import java.net.SocketException;
  * @author emeroad
  * @author koo.taejin
  */
-public class UdpDataSender extends AbstractDataSender implements DataSender {
+public class UdpDataSender extends AbstractDataSender implements DataSender, QueueStatus, Spillable {
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
     protected final boolean isDebug = logger.isDebugEnabled();
@@ -49,14 +53,21 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
     // Caution. not thread safe
     private final HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, UDP_MAX_PACKET_LENGTH, false).createSerializer();
+    // Caution. not thread safe. TSpan, TSpanChunk only
+    private final SpanCompactSerializer spanSerializer = new SpanCompactSerializer(UDP_MAX_PACKET_LENGTH);
 
     private final AsyncQueueingExecutor<Object> executor;
+    private final String threadName;
 
     public UdpDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueType.LINKED);
+    }
+
+    public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -72,22 +83,50 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         if (sendBufferSize <= 0) {
             throw new IllegalArgumentException("sendBufferSize");
         }
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
 
         // TODO If fail to create socket, stop agent start
         logger.info("UdpDataSender initialized. host={}, port={}", host, port);
         this.udpSocket = createSocket(host, port, timeout, sendBufferSize);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.threadName = threadName;
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName, queueType);
+    }
+
+    @Override
+    public void setSpillQueue(DiskSpillQueue spillQueue, int replayRate) {
+        startSpill(threadName + "-SpillReplayer", spillQueue, replayRate, executor);
     }
 
     @Override
     public boolean send(TBase<?, ?> data) {
-        return executor.execute(data);
+        if (executor.execute(data)) {
+            return true;
+        }
+        return spill(data);
     }
 
     @Override
     public void stop() {
         executor.stop();
+        stopSpill();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return executor.getQueueCapacity();
+    }
+
+    @Override
+    public long getDropCount() {
+        return executor.getDropCount();
     }
 
     private DatagramSocket createSocket(String host, int port, int timeout, int sendBufferSize) {
@@ -112,38 +151,83 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
     }
 
     protected void sendPacket(Object message) {
-        if (message instanceof TBase) {
-            final TBase dto = (TBase) message;
-            // do not copy bytes because it's single threaded
-            final byte[] internalBufferData = serialize(this.serializer, dto);
-            if (internalBufferData == null) {
-                logger.warn("interBufferData is null");
-                return;
-            }
+        try {
+            if (message instanceof TBase) {
+                final TBase dto = (TBase) message;
+                // do not copy bytes because it's single threaded
+                final byte[] internalBufferData;
+                final int internalBufferSize;
+                if (SpanCompactSerializer.isSupport(dto)) {
+                    internalBufferData = serializeSpan(dto);
+                    internalBufferSize = this.spanSerializer.getInterBufferSize();
+                } else {
+                    internalBufferData = serialize(this.serializer, dto);
+                    internalBufferSize = this.serializer.getInterBufferSize();
+                }
+                if (internalBufferData == null) {
+                    logger.warn("interBufferData is null");
+                    return;
+                }
 
-            final int internalBufferSize = this.serializer.getInterBufferSize();
-            if (isLimit(internalBufferSize)) {
-                // When packet size is greater than UDP packet size limit, it's better to discard packet than let the socket API fails.
-                logger.warn("discard packet. Caused:too large message. size:{}, {}", internalBufferSize, dto);
+                if (isLimit(internalBufferSize)) {
+                    // When packet size is greater than UDP packet size limit, it's better to discard packet than let the socket API fails.
+                    logger.warn("discard packet. Caused:too large message. size:{}, {}", internalBufferSize, dto);
+                    return;
+                }
+                // it's safe to reuse because it's single threaded
+                reusePacket.setData(internalBufferData, 0, internalBufferSize);
+
+                try {
+                    udpSocket.send(reusePacket);
+                    if (isDebug) {
+                        logger.debug("Data sent. size:{}, {}", internalBufferSize, dto);
+                    }
+                } catch (IOException e) {
+                    logger.info("packet send error. size:{}, {}", internalBufferSize, dto, e);
+                    sendFail(internalBufferData, internalBufferSize);
+                }
+            } else if (message instanceof byte[]) {
+                // replayed from the spill queue
+                final byte[] data = (byte[]) message;
+                if (isLimit(data.length)) {
+                    logger.warn("discard replay packet. Caused:too large message. size:{}", data.length);
+                    return;
+                }
+                reusePacket.setData(data, 0, data.length);
+                try {
+                    udpSocket.send(reusePacket);
+                } catch (IOException e) {
+                    logger.info("replay packet send error. size:{}", data.length, e);
+                    sendFail(data, data.length);
+                }
+            } else {
+                logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
                 return;
             }
-            // it's safe to reuse because it's single threaded
-            reusePacket.setData(internalBufferData, 0, internalBufferSize);
+        } finally {
+            // serialized. the span events are no longer needed
+            recycle(message);
+        }
+    }
 
-            try {
-                udpSocket.send(reusePacket);
-                if (isDebug) {
-                    logger.debug("Data sent. size:{}, {}", internalBufferSize, dto);
-                }
-            } catch (IOException e) {
-                logger.info("packet send error. size:{}, {}", internalBufferSize, dto, e);
-            }
-        } else {
-            logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
-            return;
+    private byte[] serializeSpan(TBase<?, ?> dto) {
+        try {
+            return this.spanSerializer.serialize(dto);
+        } catch (BufferOverflowException e) {
+            // larger than UDP packet size limit
+            logger.warn("discard packet. Caused:too large message. {}", dto);
+            return null;
+        } catch (TException e) {
+            logger.warn("Serialize {} failed. Error:{}", dto, e.getMessage(), e);
+            return null;
         }
     }
 
+    private void sendFail(byte[] data, int length) {
+        sendFail();
+        spill(data, 0, length);
+    }
+
     // for test
     protected boolean isLimit(int interBufferSize) {
         if (interBufferSize > UDP_MAX_PACKET_LENGTH) {
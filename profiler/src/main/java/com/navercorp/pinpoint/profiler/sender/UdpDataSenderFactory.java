@@ -30,14 +30,30 @@ public final class UdpDataSenderFactory {
     private final int queueSize;
     private final int timeout;
     private final int sendBufferSize;
+    private final AsyncQueueType queueType;
+    private final int coalescingPacketSize;
+    private final long coalescingFlushInterval;
 
     public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueType.LINKED);
+    }
+
+    public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, queueType,
+                CoalescingUdpDataSender.DEFAULT_PACKET_SIZE, CoalescingUdpDataSender.DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType,
+                                int coalescingPacketSize, long coalescingFlushInterval) {
         this.host = host;
         this.port = port;
         this.threadName = threadName;
         this.queueSize = queueSize;
         this.timeout = timeout;
         this.sendBufferSize = sendBufferSize;
+        this.queueType = queueType;
+        this.coalescingPacketSize = coalescingPacketSize;
+        this.coalescingFlushInterval = coalescingFlushInterval;
     }
 
     public DataSender create(String typeName) {
@@ -46,9 +62,11 @@ public final class UdpDataSenderFactory {
 
     public DataSender create(UdpDataSenderType type) {
         if (type == UdpDataSenderType.NIO) {
-            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueType);
         } else if (type == UdpDataSenderType.OIO) {
-            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueType);
+        } else if (type == UdpDataSenderType.COALESCING) {
+            return new CoalescingUdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, queueType, coalescingPacketSize, coalescingFlushInterval);
         } else {
             throw new IllegalArgumentException("Unknown type.");
         }
@@ -23,6 +23,7 @@ package com.navercorp.pinpoint.profiler.sender;
 public enum UdpDataSenderType {
 
     OIO,
-    NIO
+    NIO,
+    COALESCING
 
 }
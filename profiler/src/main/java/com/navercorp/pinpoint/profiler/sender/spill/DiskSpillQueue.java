@@ -0,0 +1,386 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * Bounded on-disk FIFO of serialized messages, backed by memory-mapped segment files.
+ * <p>
+ * A record is a 4 byte length followed by the payload. The length is negated once the record is read,
+ * so unread records survive an agent restart and are replayed on the next start.
+ * A zero length marks the end of the written area of a segment.
+ * When the segment limit is reached, the oldest segment is evicted together with its unread records.
+ */
+public class DiskSpillQueue {
+
+    static final String SEGMENT_PREFIX = "spill-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int HEADER_SIZE = 4;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegmentCount;
+
+    // guarded by this. oldest first
+    private final LinkedList<Segment> segments = new LinkedList<Segment>();
+    private long nextSequence = 0;
+    private long size = 0;
+    private long evictedCount = 0;
+    private boolean closed = false;
+
+    public DiskSpillQueue(File directory, int segmentSize, int maxSegmentCount) throws IOException {
+        if (directory == null) {
+            throw new NullPointerException("directory must not be null");
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be >= " + MIN_SEGMENT_SIZE + ". segmentSize:" + segmentSize);
+        }
+        if (maxSegmentCount <= 0) {
+            throw new IllegalArgumentException("maxSegmentCount must be > 0");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("spill directory create fail. directory:" + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegmentCount = maxSegmentCount;
+
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return parseSequence(name) != -1;
+            }
+        });
+        if (files == null) {
+            throw new IOException("spill directory list fail. directory:" + directory);
+        }
+        final long[] sequences = new long[files.length];
+        for (int i = 0; i < files.length; i++) {
+            sequences[i] = parseSequence(files[i].getName());
+        }
+        Arrays.sort(sequences);
+
+        for (long sequence : sequences) {
+            final Segment segment = Segment.recover(segmentFile(sequence));
+            if (segment.unreadCount == 0) {
+                segment.delete();
+                continue;
+            }
+            // do not append to a segment of the previous run
+            segment.seal();
+            segment.release();
+            segments.addLast(segment);
+            size += segment.unreadCount;
+            nextSequence = sequence + 1;
+        }
+        while (segments.size() > maxSegmentCount) {
+            evict(segments.removeFirst());
+        }
+        if (size > 0) {
+            logger.info("spill queue recovered. directory:{}, segments:{}, records:{}", directory, segments.size(), size);
+        }
+    }
+
+    static long parseSequence(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        final String sequence = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private File segmentFile(long sequence) {
+        return new File(directory, SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+    }
+
+    public boolean offer(byte[] data) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        return offer(data, 0, data.length);
+    }
+
+    public synchronized boolean offer(byte[] data, int offset, int length) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be > 0");
+        }
+        if (closed) {
+            return false;
+        }
+        final int recordSize = HEADER_SIZE + length;
+        if (recordSize > segmentSize) {
+            logger.warn("discard spill data. Caused:too large message. size:{}, segmentSize:{}", length, segmentSize);
+            return false;
+        }
+        try {
+            final Segment segment = writableSegment(recordSize);
+            segment.append(data, offset, length);
+            size++;
+            return true;
+        } catch (IOException e) {
+            logger.warn("spill write fail. Caused:{}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private Segment writableSegment(int recordSize) throws IOException {
+        final Segment last = segments.peekLast();
+        if (last != null) {
+            if (last.remaining() >= recordSize) {
+                return last;
+            }
+            if (last.unreadCount == 0) {
+                // everything before it has been read and deleted already
+                segments.removeLast();
+                last.delete();
+            } else if (segments.size() > 1) {
+                // neither the read nor the write segment any more
+                last.release();
+            }
+        }
+        while (segments.size() >= maxSegmentCount) {
+            evict(segments.removeFirst());
+        }
+        final Segment segment = Segment.create(segmentFile(nextSequence++), segmentSize);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void evict(Segment segment) {
+        size -= segment.unreadCount;
+        evictedCount += segment.unreadCount;
+        logger.warn("spill queue is full. evict oldest segment:{}, records:{}", segment.file.getName(), segment.unreadCount);
+        segment.delete();
+    }
+
+    /**
+     * @return the oldest unread message, or null if the queue is empty
+     */
+    public synchronized byte[] poll() {
+        while (true) {
+            final Segment segment = segments.peekFirst();
+            // only the write segment can be left without unread records
+            if (segment == null || segment.unreadCount == 0) {
+                return null;
+            }
+            try {
+                final byte[] data = segment.read();
+                size--;
+                if (segment.unreadCount == 0 && segments.size() > 1) {
+                    segments.removeFirst();
+                    segment.delete();
+                }
+                return data;
+            } catch (IOException e) {
+                logger.warn("spill read fail. discard segment:{}, Caused:{}", segment.file.getName(), e.getMessage(), e);
+                segments.removeFirst();
+                size -= segment.unreadCount;
+                segment.delete();
+            }
+        }
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.force();
+            segment.release();
+        }
+        segments.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "DiskSpillQueue{" +
+                "directory=" + directory +
+                ", segmentSize=" + segmentSize +
+                ", maxSegmentCount=" + maxSegmentCount +
+                '}';
+    }
+
+    private static class Segment {
+
+        private final File file;
+        private final int capacity;
+        // null while the segment is neither read nor written
+        private MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        private int unreadCount;
+
+        private Segment(File file, int capacity) {
+            this.file = file;
+            this.capacity = capacity;
+        }
+
+        static Segment create(File file, int capacity) throws IOException {
+            final Segment segment = new Segment(file, capacity);
+            segment.map();
+            return segment;
+        }
+
+        static Segment recover(File file) throws IOException {
+            final long length = file.length();
+            final int capacity = length > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) length;
+            final Segment segment = new Segment(file, capacity);
+            final MappedByteBuffer buffer = segment.map();
+
+            int position = 0;
+            int readPosition = -1;
+            int unreadCount = 0;
+            while (position + HEADER_SIZE <= capacity) {
+                final int recordLength = buffer.getInt(position);
+                if (recordLength == 0) {
+                    break;
+                }
+                final int payloadLength = Math.abs(recordLength);
+                if (recordLength == Integer.MIN_VALUE || payloadLength > capacity - position - HEADER_SIZE) {
+                    // torn write. ignore the rest of the segment
+                    break;
+                }
+                if (recordLength > 0) {
+                    if (readPosition == -1) {
+                        readPosition = position;
+                    }
+                    unreadCount++;
+                }
+                position += HEADER_SIZE + payloadLength;
+            }
+            segment.writePosition = position;
+            segment.readPosition = readPosition == -1 ? position : readPosition;
+            segment.unreadCount = unreadCount;
+            return segment;
+        }
+
+        private MappedByteBuffer map() throws IOException {
+            if (buffer != null) {
+                return buffer;
+            }
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try {
+                this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                return buffer;
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+
+        int remaining() {
+            return capacity - writePosition;
+        }
+
+        void seal() {
+            this.writePosition = capacity;
+        }
+
+        void append(byte[] data, int offset, int length) throws IOException {
+            final MappedByteBuffer buffer = map();
+            buffer.position(writePosition + HEADER_SIZE);
+            buffer.put(data, offset, length);
+            // the length is written last. a torn record is never seen as complete
+            buffer.putInt(writePosition, length);
+            writePosition += HEADER_SIZE + length;
+            unreadCount++;
+        }
+
+        byte[] read() throws IOException {
+            final MappedByteBuffer buffer = map();
+            final int length = buffer.getInt(readPosition);
+            final byte[] data = new byte[length];
+            buffer.position(readPosition + HEADER_SIZE);
+            buffer.get(data);
+            // mark as read
+            buffer.putInt(readPosition, -length);
+            readPosition += HEADER_SIZE + length;
+            unreadCount--;
+            return data;
+        }
+
+        void force() {
+            if (buffer != null) {
+                buffer.force();
+            }
+        }
+
+        void release() {
+            final MappedByteBuffer buffer = this.buffer;
+            if (buffer == null) {
+                return;
+            }
+            this.buffer = null;
+            // every access is guarded by the queue lock, so nothing touches the buffer after this
+            MappedBufferCleaner.clean(buffer);
+        }
+
+        void delete() {
+            release();
+            if (!file.delete()) {
+                // a mapped file can not be deleted on some platforms if the unmap is not supported. read records are skipped on recovery anyway
+                file.deleteOnExit();
+            }
+        }
+    }
+}
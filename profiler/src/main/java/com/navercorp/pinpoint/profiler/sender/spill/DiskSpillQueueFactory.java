@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Creates a {@link DiskSpillQueue} per data sender, under baseDirectory/name.
+ */
+public class DiskSpillQueueFactory {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final File baseDirectory;
+    private final int segmentSize;
+    private final int segmentCount;
+    private final int replayRate;
+
+    public DiskSpillQueueFactory() {
+        this.enable = false;
+        this.baseDirectory = null;
+        this.segmentSize = 0;
+        this.segmentCount = 0;
+        this.replayRate = 0;
+    }
+
+    public DiskSpillQueueFactory(File baseDirectory, int segmentSize, int segmentCount, int replayRate) {
+        if (baseDirectory == null) {
+            throw new NullPointerException("baseDirectory must not be null");
+        }
+        if (replayRate <= 0) {
+            throw new IllegalArgumentException("replayRate must be > 0");
+        }
+        this.enable = true;
+        this.baseDirectory = baseDirectory;
+        this.segmentSize = segmentSize;
+        this.segmentCount = segmentCount;
+        this.replayRate = replayRate;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public int getReplayRate() {
+        return replayRate;
+    }
+
+    /**
+     * @return null if disabled or the spill directory is not usable
+     */
+    public DiskSpillQueue create(String name) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (!enable) {
+            return null;
+        }
+        final File directory = new File(baseDirectory, name);
+        try {
+            return new DiskSpillQueue(directory, segmentSize, segmentCount);
+        } catch (IOException e) {
+            logger.warn("spill queue create fail. spill disabled. directory:{}, Caused:{}", directory, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DiskSpillQueueFactory{" +
+                "enable=" + enable +
+                ", baseDirectory=" + baseDirectory +
+                ", segmentSize=" + segmentSize +
+                ", segmentCount=" + segmentCount +
+                ", replayRate=" + replayRate +
+                '}';
+    }
+}
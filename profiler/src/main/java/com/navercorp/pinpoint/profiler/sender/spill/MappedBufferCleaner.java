@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Unmaps a {@link MappedByteBuffer} without waiting for the GC, so the address space and the file handle are released at once.
+ * Uses sun.misc.Unsafe.invokeCleaner(ByteBuffer) on JDK 9 and later, DirectBuffer.cleaner().clean() before.
+ * Does nothing if neither is accessible. The mapping is then released by the GC.
+ * <p>
+ * Caution. the buffer must not be accessed after {@link #clean(MappedByteBuffer)}. the JVM crashes on access to an unmapped buffer.
+ */
+final class MappedBufferCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedBufferCleaner.class);
+
+    private static final Cleaner CLEANER = createCleaner();
+
+    private MappedBufferCleaner() {
+    }
+
+    static boolean isSupported() {
+        return CLEANER != null;
+    }
+
+    static void clean(MappedByteBuffer buffer) {
+        if (buffer == null || CLEANER == null) {
+            return;
+        }
+        try {
+            CLEANER.clean(buffer);
+        } catch (Throwable th) {
+            logger.debug("unmap fail. Caused:{}", th.getMessage(), th);
+        }
+    }
+
+    private static Cleaner createCleaner() {
+        try {
+            return new UnsafeCleaner();
+        } catch (Throwable ignore) {
+            // JDK 8 and before
+        }
+        try {
+            return new DirectBufferCleaner();
+        } catch (Throwable th) {
+            logger.info("MappedByteBuffer unmap not supported. Caused:{}", th.getMessage());
+            return null;
+        }
+    }
+
+    private interface Cleaner {
+        void clean(ByteBuffer buffer) throws Exception;
+    }
+
+    private static class UnsafeCleaner implements Cleaner {
+
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private UnsafeCleaner() throws Exception {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            this.invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            this.unsafe = theUnsafe.get(null);
+        }
+
+        @Override
+        public void clean(ByteBuffer buffer) throws Exception {
+            invokeCleaner.invoke(unsafe, buffer);
+        }
+    }
+
+    private static class DirectBufferCleaner implements Cleaner {
+
+        private final Method cleaner;
+        private final Method clean;
+
+        private DirectBufferCleaner() throws Exception {
+            this.cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            this.clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        }
+
+        @Override
+        public void clean(ByteBuffer buffer) throws Exception {
+            final Object cleaner = this.cleaner.invoke(buffer);
+            if (cleaner != null) {
+                clean.invoke(cleaner);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Moves spilled messages back to the sender, oldest first, at no more than replayRate messages per second.
+ * Nothing is replayed while the target is not replayable.
+ */
+public class SpillReplayer implements Runnable {
+
+    private static final long INTERVAL = 100;
+    private static final int INTERVALS_PER_SECOND = (int) (1000 / INTERVAL);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final DiskSpillQueue spillQueue;
+    private final ReplayTarget replayTarget;
+    private final int replayCountPerInterval;
+    private final Thread replayThread;
+
+    private volatile boolean run = true;
+
+    public SpillReplayer(String threadName, DiskSpillQueue spillQueue, ReplayTarget replayTarget, int replayRate) {
+        if (threadName == null) {
+            throw new NullPointerException("threadName must not be null");
+        }
+        if (spillQueue == null) {
+            throw new NullPointerException("spillQueue must not be null");
+        }
+        if (replayTarget == null) {
+            throw new NullPointerException("replayTarget must not be null");
+        }
+        if (replayRate <= 0) {
+            throw new IllegalArgumentException("replayRate must be > 0");
+        }
+        this.spillQueue = spillQueue;
+        this.replayTarget = replayTarget;
+        this.replayCountPerInterval = Math.max(1, replayRate / INTERVALS_PER_SECOND);
+
+        final ThreadFactory threadFactory = new PinpointThreadFactory(threadName, true);
+        this.replayThread = threadFactory.newThread(this);
+    }
+
+    public void start() {
+        replayThread.start();
+    }
+
+    @Override
+    public void run() {
+        while (run) {
+            try {
+                Thread.sleep(INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                replay();
+            } catch (Throwable th) {
+                logger.warn("replay fail. Caused:{}", th.getMessage(), th);
+            }
+        }
+    }
+
+    // for test
+    int replay() {
+        int replayCount = 0;
+        while (replayCount < replayCountPerInterval) {
+            if (!replayTarget.isReplayable()) {
+                break;
+            }
+            final byte[] data = spillQueue.poll();
+            if (data == null) {
+                break;
+            }
+            if (!replayTarget.replay(data)) {
+                // lost the race for the send queue. goes to the tail, so the order is not kept for this one
+                spillQueue.offer(data);
+                break;
+            }
+            replayCount++;
+        }
+        if (replayCount > 0 && logger.isDebugEnabled()) {
+            logger.debug("replayed:{}, remaining:{}", replayCount, spillQueue.size());
+        }
+        return replayCount;
+    }
+
+    public void stop() {
+        run = false;
+        replayThread.interrupt();
+        try {
+            replayThread.join(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spillQueue.close();
+    }
+
+}
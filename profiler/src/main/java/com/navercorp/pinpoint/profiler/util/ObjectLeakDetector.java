@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Debug aid for {@link RecyclingObjectPool}. Do not enable in production, every borrow captures a stack trace.
+ * <p>
+ * Reports objects that are still borrowed after leakThresholdMillis, with the stack trace of the borrower,
+ * and objects that are returned twice, with the stack trace of the second release.
+ * A reported leak is no longer tracked.
+ */
+public class ObjectLeakDetector {
+
+    private static final int SCAN_INTERVAL = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final String name;
+    private final long leakThresholdMillis;
+
+    private final Map<Object, Tracking> trackingMap = new IdentityHashMap<Object, Tracking>();
+    private int borrowCount = 0;
+
+    private long leakCount = 0;
+    private long doubleReleaseCount = 0;
+
+    public ObjectLeakDetector(String name, long leakThresholdMillis) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (leakThresholdMillis <= 0) {
+            throw new IllegalArgumentException("leakThresholdMillis must be greater than 0. leakThresholdMillis:" + leakThresholdMillis);
+        }
+        this.name = name;
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    public synchronized void borrowed(Object object) {
+        Tracking tracking = trackingMap.get(object);
+        if (tracking == null) {
+            tracking = new Tracking();
+            trackingMap.put(object, tracking);
+        }
+        final long currentTime = System.currentTimeMillis();
+        tracking.borrowTime = currentTime;
+        tracking.borrower = new Throwable(name + " borrowed by " + Thread.currentThread().getName());
+
+        borrowCount++;
+        if (borrowCount % SCAN_INTERVAL == 0) {
+            scan(currentTime);
+        }
+    }
+
+    /**
+     * @return false if the object was already returned and must not be pooled again
+     */
+    public synchronized boolean released(Object object) {
+        final Tracking tracking = trackingMap.get(object);
+        if (tracking == null) {
+            // not borrowed from the pool or already reported as leak
+            return true;
+        }
+        if (tracking.borrower == null) {
+            doubleReleaseCount++;
+            logger.warn("{} double release detected. object:{}", name, toIdentityString(object), new Throwable("released again here"));
+            return false;
+        }
+        tracking.borrower = null;
+        return true;
+    }
+
+    public synchronized void dropped(Object object) {
+        trackingMap.remove(object);
+    }
+
+    synchronized void scan(long currentTime) {
+        final Iterator<Map.Entry<Object, Tracking>> iterator = trackingMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Object, Tracking> entry = iterator.next();
+            final Tracking tracking = entry.getValue();
+            if (tracking.borrower == null) {
+                continue;
+            }
+            final long borrowedTime = currentTime - tracking.borrowTime;
+            if (borrowedTime >= leakThresholdMillis) {
+                leakCount++;
+                logger.warn("{} leak detected. object:{} was not returned for {}ms", name, toIdentityString(entry.getKey()), borrowedTime, tracking.borrower);
+                iterator.remove();
+            }
+        }
+    }
+
+    private String toIdentityString(Object object) {
+        return object.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(object));
+    }
+
+    public synchronized long getLeakCount() {
+        return leakCount;
+    }
+
+    public synchronized long getDoubleReleaseCount() {
+        return doubleReleaseCount;
+    }
+
+    public synchronized int getTrackingCount() {
+        return trackingMap.size();
+    }
+
+    private static class Tracking {
+        private long borrowTime;
+        // null if the object is in the pool
+        private Throwable borrower;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectLeakDetector{" +
+                "name='" + name + '\'' +
+                ", leakThresholdMillis=" + leakThresholdMillis +
+                '}';
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Object pool for objects that are borrowed on one thread and returned on another.
+ * <p>
+ * Each borrowing thread keeps a small cache and refills it in batch from a bounded shared queue.
+ * Objects returned by a thread that never borrows (e.g. the data sender thread) go to the shared queue.
+ * Objects are dropped when the shared queue is full and objects that are never returned are left to the GC,
+ * so the pool never holds more than maxPoolSize + (borrowing threads * threadCacheSize) objects.
+ *
+ * @see ObjectLeakDetector
+ */
+public class RecyclingObjectPool<T> {
+
+    private final ObjectPoolFactory<T> factory;
+    private final int threadCacheSize;
+    private final BlockingQueue<T> sharedQueue;
+    private final ThreadLocal<ArrayList<T>> threadCache = new ThreadLocal<ArrayList<T>>();
+
+    private final ObjectLeakDetector leakDetector;
+
+    private final AtomicLong createCount = new AtomicLong(0);
+    private final AtomicLong dropCount = new AtomicLong(0);
+
+    public RecyclingObjectPool(ObjectPoolFactory<T> factory, int maxPoolSize, int threadCacheSize) {
+        this(factory, maxPoolSize, threadCacheSize, null);
+    }
+
+    /**
+     * @param leakDetector nullable
+     */
+    public RecyclingObjectPool(ObjectPoolFactory<T> factory, int maxPoolSize, int threadCacheSize, ObjectLeakDetector leakDetector) {
+        if (factory == null) {
+            throw new NullPointerException("factory must not be null");
+        }
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("maxPoolSize must be greater than 0. maxPoolSize:" + maxPoolSize);
+        }
+        if (threadCacheSize <= 0) {
+            throw new IllegalArgumentException("threadCacheSize must be greater than 0. threadCacheSize:" + threadCacheSize);
+        }
+        this.factory = factory;
+        this.threadCacheSize = threadCacheSize;
+        this.sharedQueue = new ArrayBlockingQueue<T>(maxPoolSize);
+        this.leakDetector = leakDetector;
+    }
+
+    public T getObject() {
+        ArrayList<T> cache = threadCache.get();
+        if (cache == null) {
+            cache = new ArrayList<T>(threadCacheSize);
+            threadCache.set(cache);
+        }
+        if (cache.isEmpty()) {
+            sharedQueue.drainTo(cache, threadCacheSize);
+        }
+
+        final T object;
+        if (cache.isEmpty()) {
+            object = factory.create();
+            createCount.incrementAndGet();
+        } else {
+            object = cache.remove(cache.size() - 1);
+        }
+
+        if (leakDetector != null) {
+            leakDetector.borrowed(object);
+        }
+        return object;
+    }
+
+    public void returnObject(T t) {
+        if (t == null) {
+            return;
+        }
+        if (leakDetector != null && !leakDetector.released(t)) {
+            // double release. pooling it again would hand the same object to two owners
+            return;
+        }
+        factory.beforeReturn(t);
+
+        final ArrayList<T> cache = threadCache.get();
+        if (cache != null && cache.size() < threadCacheSize) {
+            cache.add(t);
+            return;
+        }
+        if (!sharedQueue.offer(t)) {
+            dropCount.incrementAndGet();
+            if (leakDetector != null) {
+                leakDetector.dropped(t);
+            }
+        }
+    }
+
+    public long getCreateCount() {
+        return createCount.get();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public int getPooledCount() {
+        return sharedQueue.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RecyclingObjectPool{" +
+                "threadCacheSize=" + threadCacheSize +
+                ", pooled=" + sharedQueue.size() +
+                ", createCount=" + createCount.get() +
+                ", dropCount=" + dropCount.get() +
+                '}';
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.context.SpanId;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
@@ -25,6 +26,7 @@ import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.common.util.TransactionIdUtils;
 import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
 import com.navercorp.pinpoint.profiler.context.id.DefaultTransactionCounter;
+import com.navercorp.pinpoint.profiler.context.id.DeferredTraceId;
 import com.navercorp.pinpoint.profiler.context.id.TransactionCounter;
 import org.junit.Assert;
 import org.junit.Test;
@@ -44,7 +46,7 @@ public class DefaultTraceContextTest {
         String agent= "test";
         long agentStartTime = System.currentTimeMillis();
         long agentTransactionCount = 10;
-        TraceId traceId = new DefaultTraceId(agent, agentStartTime, agentTransactionCount);
+        TraceId traceId = new DefaultTraceId(agent, agentStartTime, agentTransactionCount, false);
 
         String id = traceId.getTransactionId();
         logger.debug("id={}", id);
@@ -67,6 +69,19 @@ public class DefaultTraceContextTest {
         traceContext.removeTraceObject();
     }
 
+    @Test
+    public void continueDeferredTrace() {
+        // deferred sampling disabled on this node
+        ProfilerConfig profilerConfig = new DefaultProfilerConfig();
+        TraceContext traceContext = MockTraceContextFactory.newTestTraceContext(profilerConfig);
+        TraceId traceId = new DefaultTraceId("agentId", 0L, 1, SpanId.NULL, 10, DeferredTraceId.DEFERRED_FLAG, false, null);
+
+        Trace trace = traceContext.continueTraceObject(traceId);
+        Assert.assertFalse(trace.canSampled());
+
+        traceContext.removeTraceObject();
+    }
+
     @Test
     public void threadLocalBindTest() {
         ProfilerConfig profilerConfig = new DefaultProfilerConfig();
@@ -108,7 +123,7 @@ public class DefaultTraceContextTest {
         
         final long expectedSampledContinuationCount = 5L;
         for (int i = 0; i < expectedSampledContinuationCount; ++i) {
-            traceContext.continueTraceObject(new DefaultTraceId("agentId", 0L, i));
+            traceContext.continueTraceObject(new DefaultTraceId("agentId", 0L, i, false));
             traceContext.removeTraceObject();
         }
         
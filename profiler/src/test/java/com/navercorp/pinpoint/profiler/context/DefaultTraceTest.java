@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.context;
 
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.common.trace.ServiceType;
@@ -24,6 +25,7 @@ import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
 import com.navercorp.pinpoint.profiler.context.recorder.DefaultRecorderFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorage;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.logging.Slf4jLoggerBinderInitializer;
 import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
 import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
@@ -31,6 +33,9 @@ import com.navercorp.pinpoint.profiler.sender.LoggingDataSender;
 
 import org.junit.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.mockito.Mockito.mock;
 
 /**
@@ -62,7 +67,7 @@ public class DefaultTraceTest {
         AsyncIdGenerator asyncIdGenerator = mock(AsyncIdGenerator.class);
         SpanStorage storage = new SpanStorage(LoggingDataSender.DEFAULT_LOGGING_DATA_SENDER);
         long localTransactionId = 1;
-        TraceId traceId = new DefaultTraceId("agentId", System.currentTimeMillis(), localTransactionId);
+        TraceId traceId = new DefaultTraceId("agentId", System.currentTimeMillis(), localTransactionId, false);
         Trace trace = new DefaultTrace(callStackFactory, storage, traceId, localTransactionId, asyncIdGenerator, true,
                 spanFactory, recorderFactory);
         trace.traceBlockBegin();
@@ -71,4 +76,51 @@ public class DefaultTraceTest {
         trace.traceBlockEnd();
         trace.close();
     }
+
+    @Test
+    public void recordAfterTraceBlockEnd() {
+        CallStackFactory callStackFactory = new DefaultCallStackFactory(64);
+        SpanFactory spanFactory = new DefaultSpanFactory("appName", "agentId", 0, ServiceType.STAND_ALONE, new PooledSpanRecycler(16));
+
+        StringMetaDataService stringMetaDataService = mock(StringMetaDataService.class);
+        SqlMetaDataService sqlMetaDataService = mock(SqlMetaDataService.class);
+        RecorderFactory recorderFactory = new DefaultRecorderFactory(stringMetaDataService, sqlMetaDataService);
+
+        AsyncIdGenerator asyncIdGenerator = mock(AsyncIdGenerator.class);
+        final List<SpanEvent> storedSpanEvents = new ArrayList<SpanEvent>();
+        Storage storage = new Storage() {
+            @Override
+            public void store(SpanEvent spanEvent) {
+                storedSpanEvents.add(spanEvent);
+            }
+
+            @Override
+            public void store(Span span) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        long localTransactionId = 1;
+        TraceId traceId = new DefaultTraceId("agentId", System.currentTimeMillis(), localTransactionId, false);
+        Trace trace = new DefaultTrace(callStackFactory, storage, traceId, localTransactionId, asyncIdGenerator, true,
+                spanFactory, recorderFactory);
+        trace.traceBlockBegin();
+        SpanEventRecorder recorder = trace.traceBlockBegin();
+        recorder.recordDestinationId("before");
+        trace.traceBlockEnd();
+
+        // the stored span event may already be recycled by the data sender
+        recorder.recordDestinationId("after");
+
+        Assert.assertEquals(1, storedSpanEvents.size());
+        Assert.assertEquals("before", storedSpanEvents.get(0).getDestinationId());
+        trace.traceBlockEnd();
+        trace.close();
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PooledSpanRecyclerTest {
+
+    @Test
+    public void recycleSpan() {
+        PooledSpanRecycler spanRecycler = new PooledSpanRecycler(16, 4, 0);
+
+        Span span = new Span();
+        span.setSpanRecycler(spanRecycler);
+        SpanEvent spanEvent = spanRecycler.newSpanEvent(span);
+        spanEvent.setDepth(3);
+        spanEvent.setStackId(10);
+        spanEvent.attachFrameObject("frame");
+        Annotation annotation = spanRecycler.newAnnotation(AnnotationKey.API.getCode());
+        annotation.setValue(TAnnotationValue.stringValue("api"));
+        spanEvent.addAnnotation(annotation);
+
+        List<SpanEvent> spanEventList = spanRecycler.newSpanEventList(10);
+        spanEventList.add(spanEvent);
+        span.setSpanEventList((List) spanEventList);
+
+        spanRecycler.recycle(span);
+        Assert.assertNull(span.getSpanEventList());
+
+        Span nextSpan = new Span();
+        SpanEvent recycledSpanEvent = spanRecycler.newSpanEvent(nextSpan);
+        Assert.assertSame(spanEvent, recycledSpanEvent);
+        Assert.assertSame(nextSpan, recycledSpanEvent.getSpan());
+        Assert.assertEquals(-1, recycledSpanEvent.getDepth());
+        Assert.assertEquals(0, recycledSpanEvent.getStackId());
+        Assert.assertNull(recycledSpanEvent.getFrameObject());
+        Assert.assertFalse(recycledSpanEvent.isSetAnnotations());
+
+        Annotation recycledAnnotation = spanRecycler.newAnnotation(AnnotationKey.ARGS0.getCode());
+        Assert.assertSame(annotation, recycledAnnotation);
+        Assert.assertEquals(AnnotationKey.ARGS0.getCode(), recycledAnnotation.getKey());
+        Assert.assertNull(recycledAnnotation.getValue());
+
+        recycledSpanEvent.addAnnotation(recycledAnnotation);
+        Assert.assertEquals(1, recycledSpanEvent.getAnnotationsSize());
+
+        Assert.assertSame(spanEventList, spanRecycler.newSpanEventList(10));
+        Assert.assertEquals(1, spanRecycler.getSpanEventCreateCount());
+        Assert.assertEquals(1, spanRecycler.getAnnotationCreateCount());
+        Assert.assertEquals(1, spanRecycler.getSpanEventListCreateCount());
+    }
+
+    @Test
+    public void recycleOnSenderThread() throws InterruptedException {
+        final PooledSpanRecycler spanRecycler = new PooledSpanRecycler(16, 4, 0);
+
+        final Span span = new Span();
+        span.setSpanRecycler(spanRecycler);
+        final SpanEvent spanEvent = spanRecycler.newSpanEvent(span);
+        List<SpanEvent> spanEventList = spanRecycler.newSpanEventList(10);
+        spanEventList.add(spanEvent);
+        final SpanChunk spanChunk = new SpanChunk(spanEventList);
+        spanChunk.setSpanRecycler(spanRecycler);
+
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread sender = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    spanChunk.getSpanRecycler().recycle(spanChunk);
+                } catch (Throwable th) {
+                    error.set(th);
+                }
+            }
+        });
+        sender.start();
+        sender.join();
+        Assert.assertNull(error.get());
+        Assert.assertNull(spanChunk.getSpanEventList());
+
+        // borrowed back from the shared queue
+        Assert.assertSame(spanEvent, spanRecycler.newSpanEvent(span));
+        Assert.assertEquals(1, spanRecycler.getSpanEventCreateCount());
+    }
+
+    @Test
+    public void disabled() {
+        SpanRecycler spanRecycler = DisabledSpanRecycler.INSTANCE;
+
+        Span span = new Span();
+        SpanEvent spanEvent = spanRecycler.newSpanEvent(span);
+        span.addToSpanEventList(spanEvent);
+        spanRecycler.recycle(span);
+
+        Assert.assertSame(span, spanEvent.getSpan());
+        Assert.assertEquals(1, span.getSpanEventListSize());
+        Assert.assertNotSame(spanEvent, spanRecycler.newSpanEvent(span));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.id.AsyncIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultRecorderFactory;
+import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.StringMetaDataService;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpanEventCollapserTest {
+
+    private static final int QUERY_API_ID = 10;
+    private static final int OTHER_API_ID = 11;
+
+    private final ListStorage storage = new ListStorage();
+
+    @Before
+    public void setUp() {
+        storage.spanEvents.clear();
+        storage.span = null;
+    }
+
+    @Test
+    public void collapse() {
+        Trace trace = newTrace(-1, true);
+        trace.traceBlockBegin();
+        for (int i = 0; i < 5; i++) {
+            query(trace, QUERY_API_ID, 1, i == 3);
+        }
+        query(trace, OTHER_API_ID, 1, false);
+        trace.traceBlockEnd();
+        trace.close();
+
+        List<SpanEvent> spanEvents = storage.spanEvents;
+        Assert.assertEquals(3, spanEvents.size());
+        SpanEvent collapsed = findBySequence(spanEvents, 1);
+        Assert.assertEquals(QUERY_API_ID, collapsed.getApiId());
+        TCollapsedCallValue collapsedCall = getCollapsedCall(collapsed);
+        Assert.assertEquals(5, collapsedCall.getCount());
+        Assert.assertEquals(1, collapsedCall.getErrorCount());
+        Assert.assertTrue(collapsedCall.getMinElapsed() <= collapsedCall.getMaxElapsed());
+        Assert.assertTrue(collapsedCall.getMaxElapsed() <= collapsedCall.getTotalElapsed());
+        Assert.assertTrue(collapsed.isSetExceptionInfo());
+
+        // sequence of the folded span events is reused
+        SpanEvent other = findBySequence(spanEvents, 2);
+        Assert.assertEquals(OTHER_API_ID, other.getApiId());
+        Assert.assertNull(getCollapsedCall(other));
+    }
+
+    @Test
+    public void differentSql() {
+        Trace trace = newTrace(-1, true);
+        trace.traceBlockBegin();
+        query(trace, QUERY_API_ID, 1, false);
+        query(trace, QUERY_API_ID, 2, false);
+        query(trace, QUERY_API_ID, 2, false);
+        trace.traceBlockEnd();
+        trace.close();
+
+        Assert.assertEquals(3, storage.spanEvents.size());
+        Assert.assertNull(getCollapsedCall(findBySequence(storage.spanEvents, 1)));
+        Assert.assertEquals(2, getCollapsedCall(findBySequence(storage.spanEvents, 2)).getCount());
+    }
+
+    @Test
+    public void notCollapsedWithChild() {
+        Trace trace = newTrace(-1, true);
+        trace.traceBlockBegin();
+        for (int i = 0; i < 3; i++) {
+            SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordApiId(OTHER_API_ID);
+            query(trace, QUERY_API_ID, 1, false);
+            trace.traceBlockEnd();
+        }
+        trace.traceBlockEnd();
+        trace.close();
+
+        Assert.assertEquals(7, storage.spanEvents.size());
+        for (SpanEvent spanEvent : storage.spanEvents) {
+            Assert.assertNull(getCollapsedCall(spanEvent));
+        }
+    }
+
+    @Test
+    public void disabled() {
+        Trace trace = newTrace(-1, false);
+        trace.traceBlockBegin();
+        for (int i = 0; i < 5; i++) {
+            query(trace, QUERY_API_ID, 1, false);
+        }
+        trace.traceBlockEnd();
+        trace.close();
+
+        Assert.assertEquals(6, storage.spanEvents.size());
+    }
+
+    @Test
+    public void spanEventBudget() {
+        Trace trace = newTrace(3, false);
+        trace.traceBlockBegin();
+        for (int i = 0; i < 5; i++) {
+            query(trace, OTHER_API_ID + i, 1, false);
+        }
+        trace.traceBlockEnd();
+        trace.close();
+
+        Assert.assertEquals(3, storage.spanEvents.size());
+        Assert.assertEquals(3, getAnnotation(storage.span.getAnnotations(), AnnotationKey.DROPPED_SPAN_EVENT).getValue().getIntValue());
+    }
+
+    @Test
+    public void spanEventBudget_collapse() {
+        Trace trace = newTrace(3, true);
+        trace.traceBlockBegin();
+        for (int i = 0; i < 100; i++) {
+            query(trace, QUERY_API_ID, 1, false);
+        }
+        query(trace, OTHER_API_ID, 1, false);
+        trace.traceBlockEnd();
+        trace.close();
+
+        // folded span events do not use up the budget
+        Assert.assertEquals(3, storage.spanEvents.size());
+        Assert.assertNull(getAnnotation(storage.span.getAnnotations(), AnnotationKey.DROPPED_SPAN_EVENT));
+    }
+
+    private Trace newTrace(int maxSpanEventCount, boolean collapse) {
+        TraceId traceId = new DefaultTraceId("agentId", System.currentTimeMillis(), 1, false);
+        CallStackFactory callStackFactory = new DefaultCallStackFactory(64, maxSpanEventCount, collapse);
+        SpanFactory spanFactory = new DefaultSpanFactory("appName", "agentId", 0, ServiceType.STAND_ALONE);
+        RecorderFactory recorderFactory = new DefaultRecorderFactory(mock(StringMetaDataService.class), mock(SqlMetaDataService.class));
+        AsyncIdGenerator asyncIdGenerator = mock(AsyncIdGenerator.class);
+        return new DefaultTrace(callStackFactory, storage, traceId, 1, asyncIdGenerator, true, spanFactory, recorderFactory);
+    }
+
+    private void query(Trace trace, int apiId, int sqlId, boolean error) {
+        SpanEventRecorder recorder = trace.traceBlockBegin();
+        recorder.recordApiId(apiId);
+        recorder.recordServiceType(ServiceType.UNKNOWN_DB);
+        ParsingResult parsingResult = mock(ParsingResult.class);
+        when(parsingResult.getId()).thenReturn(sqlId);
+        recorder.recordSqlParsingResult(parsingResult, "bind" + apiId);
+        if (error) {
+            recorder.recordException(new RuntimeException("test"));
+        }
+        trace.traceBlockEnd();
+    }
+
+    private SpanEvent findBySequence(List<SpanEvent> spanEvents, int sequence) {
+        for (SpanEvent spanEvent : spanEvents) {
+            if (spanEvent.getSequence() == sequence) {
+                return spanEvent;
+            }
+        }
+        throw new AssertionError("sequence not found:" + sequence);
+    }
+
+    private TCollapsedCallValue getCollapsedCall(SpanEvent spanEvent) {
+        TAnnotation annotation = getAnnotation(spanEvent.getAnnotations(), AnnotationKey.COLLAPSED_CALL);
+        if (annotation == null) {
+            return null;
+        }
+        return annotation.getValue().getCollapsedCallValue();
+    }
+
+    private TAnnotation getAnnotation(List<TAnnotation> annotations, AnnotationKey annotationKey) {
+        if (annotations == null) {
+            return null;
+        }
+        for (TAnnotation annotation : annotations) {
+            if (annotation.getKey() == annotationKey.getCode()) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static class ListStorage implements Storage {
+        private final List<SpanEvent> spanEvents = new ArrayList<SpanEvent>();
+        private Span span;
+
+        @Override
+        public void store(SpanEvent spanEvent) {
+            spanEvents.add(spanEvent);
+        }
+
+        @Override
+        public void store(Span span) {
+            this.span = span;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -32,7 +32,7 @@ public class SpanEventTest {
 
     @Test
     public void testMarkStartTime() throws Exception {
-        final DefaultTraceId traceId = new DefaultTraceId("agentTime", 0, 0);
+        final DefaultTraceId traceId = new DefaultTraceId("agentTime", 0, 0, false);
         Span span = new Span();
         span.setAgentId("agentId");
         span.recordTraceId(traceId);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.resource.DisabledThreadResourceMeter;
+import com.navercorp.pinpoint.profiler.context.resource.ThreadResourceMeter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SpanResourceUsageTest {
+
+    @Test
+    public void markResourceUsage() {
+        final StubThreadResourceMeter meter = new StubThreadResourceMeter(5000, 100);
+        final Span span = newSpan(meter);
+
+        meter.cpuTime = 12000;
+        meter.allocatedBytes = 1124;
+        span.markAfterResourceUsage();
+
+        Assert.assertEquals(7, span.getCpuTime());
+        Assert.assertEquals(1024, span.getAllocatedBytes());
+    }
+
+    @Test
+    public void partiallySupported() {
+        final StubThreadResourceMeter meter = new StubThreadResourceMeter(ThreadResourceMeter.UNSUPPORTED, 100);
+        final Span span = newSpan(meter);
+
+        meter.allocatedBytes = 200;
+        span.markAfterResourceUsage();
+
+        Assert.assertFalse(span.isSetCpuTime());
+        Assert.assertEquals(100, span.getAllocatedBytes());
+    }
+
+    @Test
+    public void disabled() {
+        final Span span = newSpan(DisabledThreadResourceMeter.INSTANCE);
+        span.markAfterResourceUsage();
+
+        Assert.assertFalse(span.isSetCpuTime());
+        Assert.assertFalse(span.isSetAllocatedBytes());
+    }
+
+    @Test
+    public void closedByAnotherThread() throws InterruptedException {
+        final StubThreadResourceMeter meter = new StubThreadResourceMeter(5000, 100);
+        final Span span = newSpan(meter);
+        meter.cpuTime = 12000;
+        meter.allocatedBytes = 1124;
+
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    span.markAfterResourceUsage();
+                } catch (Throwable th) {
+                    error.set(th);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertNull(error.get());
+        Assert.assertFalse(span.isSetCpuTime());
+        Assert.assertFalse(span.isSetAllocatedBytes());
+    }
+
+    @Test
+    public void clearResourceUsage() {
+        final StubThreadResourceMeter meter = new StubThreadResourceMeter(5000, 100);
+        final Span span = newSpan(meter);
+        span.clearResourceUsage();
+
+        meter.cpuTime = 12000;
+        span.markAfterResourceUsage();
+
+        Assert.assertFalse(span.isSetCpuTime());
+        Assert.assertFalse(span.isSetAllocatedBytes());
+    }
+
+    private Span newSpan(ThreadResourceMeter meter) {
+        SpanFactory spanFactory = new DefaultSpanFactory("applicationName", "agentId", 0, ServiceType.STAND_ALONE, DisabledSpanRecycler.INSTANCE, meter);
+        return spanFactory.newSpan();
+    }
+
+    private static class StubThreadResourceMeter implements ThreadResourceMeter {
+        private long cpuTime;
+        private long allocatedBytes;
+
+        private StubThreadResourceMeter(long cpuTime, long allocatedBytes) {
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public long currentThreadCpuTime() {
+            return cpuTime;
+        }
+
+        @Override
+        public long currentThreadAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class TraceTest {
 
     @Test
     public void trace() {
-        TraceId traceId = new DefaultTraceId("agent", 0, 1);
+        TraceId traceId = new DefaultTraceId("agent", 0, 1, false);
 
         CallStackFactory callStackFactory = new DefaultCallStackFactory(64);
         SpanFactory spanFactory = new DefaultSpanFactory("appName", "agentId", 0, ServiceType.STAND_ALONE);
@@ -75,7 +75,7 @@ public class TraceTest {
 
     @Test
     public void popEventTest() {
-        TraceId traceId = new DefaultTraceId("agent", 0, 1);
+        TraceId traceId = new DefaultTraceId("agent", 0, 1, false);
 
         CallStackFactory callStackFactory = new DefaultCallStackFactory(64);
         SpanFactory spanFactory = new DefaultSpanFactory("appName", "agentId", 0, ServiceType.STAND_ALONE);
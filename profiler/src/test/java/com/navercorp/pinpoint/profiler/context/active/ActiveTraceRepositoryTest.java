@@ -87,6 +87,8 @@ public class ActiveTraceRepositoryTest {
         // When
         ListenableFuture<List<TraceThreadTuple>> futures = executeTransactions(awaitLatch, executeLatch, newTransactionCount, expectedSampledContinuationCount, expectedUnsampledContinuationCount);
         executeLatch.await();
+        // active traces are held weakly by the repository and must survive as long as they are bound
+        System.gc();
         List<ActiveTraceInfo> activeTraceInfos = this.activeTraceRepository.collect();
         awaitLatch.countDown();
         List<TraceThreadTuple> executedTraces = futures.get();
@@ -101,6 +103,7 @@ public class ActiveTraceRepositoryTest {
         assertEquals(expectedSampledContinuationCount, transactionCounter.getSampledContinuationCount());
         assertEquals(expectedUnsampledContinuationCount, transactionCounter.getUnSampledContinuationCount());
         assertEquals(expectedTotalTransactionCount, transactionCounter.getTotalTransactionCount());
+        assertEquals(expectedTotalTransactionCount, activeTraceInfos.size());
         
         for (ActiveTraceInfo activeTraceInfo : activeTraceInfos) {
             TraceThreadTuple executedTrace = executedTraceMap.get(activeTraceInfo.getLocalTraceId());
@@ -146,7 +149,7 @@ public class ActiveTraceRepositoryTest {
             @Override
             public TraceThreadTuple call() throws Exception {
                 try {
-                    return new TraceThreadTuple(traceContext.continueTraceObject(new DefaultTraceId("agentId", 0L, id)), Thread.currentThread());
+                    return new TraceThreadTuple(traceContext.continueTraceObject(new DefaultTraceId("agentId", 0L, id, false)), Thread.currentThread());
                 } finally {
                     executeLatch.countDown();
                     awaitLatch.await();
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StripedActiveTraceRepositoryTest {
+
+    // the repository holds its traces weakly
+    private final List<ActiveTrace> liveTraces = new ArrayList<ActiveTrace>();
+
+    @Test
+    public void capacity() {
+        Assert.assertEquals(64, new StripedActiveTraceRepository(1).capacity());
+        Assert.assertEquals(128, new StripedActiveTraceRepository(100).capacity());
+        Assert.assertEquals(1024 * 8, new StripedActiveTraceRepository().capacity());
+    }
+
+    @Test
+    public void putAndRemove() {
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(256);
+        ActiveTrace trace1 = newActiveTrace(1, 1000);
+        ActiveTrace trace2 = newActiveTrace(-1001, 2000);
+        repository.put(trace1);
+        repository.put(trace2);
+        Assert.assertEquals(2, repository.collect().size());
+
+        Assert.assertSame(trace1, repository.remove(1));
+        Assert.assertNull(repository.remove(1));
+        Assert.assertNull(repository.remove(0));
+
+        List<ActiveTraceInfo> collect = repository.collect();
+        Assert.assertEquals(1, collect.size());
+        Assert.assertEquals(-1001, collect.get(0).getLocalTraceId());
+        Assert.assertEquals(2000, collect.get(0).getStartTime());
+
+        Assert.assertSame(trace2, repository.remove(-1001));
+        Assert.assertTrue(repository.collect().isEmpty());
+    }
+
+    @Test
+    public void collide() {
+        // same stripe and home slot
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(64);
+        for (int i = 0; i < 10; i++) {
+            repository.put(newActiveTrace(i * 64, 1000 + i));
+        }
+        Assert.assertEquals(10, repository.collect().size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i * 64, repository.remove(i * 64).getId());
+        }
+        Assert.assertTrue(repository.collect().isEmpty());
+    }
+
+    @Test
+    public void overflow() {
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(64);
+        for (int i = 0; i < StripedActiveTraceRepository.STRIPE_SIZE; i++) {
+            repository.put(newActiveTrace(i, 1000 + i));
+        }
+        ActiveTrace overflowed = newActiveTrace(100, 5000);
+        repository.put(overflowed);
+
+        // no live trace is evicted
+        Assert.assertEquals(StripedActiveTraceRepository.STRIPE_SIZE + 1, repository.collect().size());
+        final long[] count = new long[1];
+        repository.visitStartTime(new StartTimeVisitor() {
+            @Override
+            public void visit(long startTime) {
+                count[0]++;
+            }
+        });
+        Assert.assertEquals(StripedActiveTraceRepository.STRIPE_SIZE + 1, count[0]);
+
+        Assert.assertEquals(0, repository.remove(0).getId());
+        Assert.assertSame(overflowed, repository.remove(100));
+        Assert.assertNull(repository.remove(100));
+        Assert.assertEquals(StripedActiveTraceRepository.STRIPE_SIZE - 1, repository.collect().size());
+    }
+
+    @Test
+    public void reuseSlot() {
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(64);
+        repository.put(newActiveTrace(0, 1000));
+        Assert.assertNotNull(repository.remove(0));
+        // same stripe and home slot
+        repository.put(newActiveTrace(64, 2000));
+
+        final long[] sum = new long[1];
+        repository.visitStartTime(new StartTimeVisitor() {
+            @Override
+            public void visit(long startTime) {
+                sum[0] += startTime;
+            }
+        });
+        Assert.assertEquals(2000, sum[0]);
+    }
+
+    @Test
+    public void visitStartTime() {
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(128);
+        repository.put(newActiveTrace(1, 1000));
+        repository.put(newActiveTrace(2, 2000));
+        // not started
+        repository.put(newActiveTrace(3, 0));
+        repository.put(newActiveTrace(4, 4000));
+        repository.remove(4);
+
+        final long[] sum = new long[2];
+        repository.visitStartTime(new StartTimeVisitor() {
+            @Override
+            public void visit(long startTime) {
+                sum[0]++;
+                sum[1] += startTime;
+            }
+        });
+        Assert.assertEquals(2, sum[0]);
+        Assert.assertEquals(3000, sum[1]);
+    }
+
+    @Test
+    public void releaseStaleSlot() throws InterruptedException {
+        StripedActiveTraceRepository repository = new StripedActiveTraceRepository(64);
+        Trace trace = Mockito.mock(Trace.class);
+        Mockito.when(trace.getId()).thenReturn(0L);
+        Mockito.when(trace.getStartTime()).thenReturn(1000L);
+        // never removed
+        repository.put(new ActiveTrace(trace));
+
+        for (int i = 0; i < 100 && countStartTime(repository) != 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, countStartTime(repository));
+        Assert.assertTrue(repository.collect().isEmpty());
+
+        // same stripe and home slot
+        repository.put(newActiveTrace(64, 2000));
+        Assert.assertEquals(1, countStartTime(repository));
+        Assert.assertEquals(64, repository.remove(64).getId());
+    }
+
+    private long countStartTime(StripedActiveTraceRepository repository) {
+        final long[] count = new long[1];
+        repository.visitStartTime(new StartTimeVisitor() {
+            @Override
+            public void visit(long startTime) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    private ActiveTrace newActiveTrace(long id, long startTime) {
+        ActiveTrace activeTrace = Mockito.mock(ActiveTrace.class);
+        Mockito.when(activeTrace.getId()).thenReturn(id);
+        Mockito.when(activeTrace.getStartTime()).thenReturn(startTime);
+        liveTraces.add(activeTrace);
+        return activeTrace;
+    }
+}
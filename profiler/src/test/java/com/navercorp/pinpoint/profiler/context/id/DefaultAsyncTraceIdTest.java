@@ -37,7 +37,7 @@ public class DefaultAsyncTraceIdTest {
 
         long agentStartTime = System.currentTimeMillis();
 
-        TraceId traceId = new DefaultTraceId("testAgentId", agentStartTime, 0);
+        TraceId traceId = new DefaultTraceId("testAgentId", agentStartTime, 0, false);
         AsyncTraceId asyncTraceId = new DefaultAsyncTraceId(traceId, 0, agentStartTime + 10);
 
         Assert.assertEquals(asyncTraceId.nextAsyncSequence(), 1);
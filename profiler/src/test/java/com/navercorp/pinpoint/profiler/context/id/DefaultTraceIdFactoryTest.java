@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.id;
+
+import com.navercorp.pinpoint.bootstrap.context.SpanId;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultTraceIdFactoryTest {
+
+    private static final long AGENT_START_TIME = 1508232000000L;
+
+    @Test
+    public void legacyHeader() {
+        TraceIdFactory traceIdFactory = new DefaultTraceIdFactory("testAgentId", AGENT_START_TIME, new AtomicIdGenerator(), false);
+        TraceId traceId = traceIdFactory.newTraceId();
+
+        TraceId nextId = traceId.getNextTraceId();
+        Assert.assertEquals(nextId.getTransactionId(), nextId.getTransactionIdHeader());
+        Assert.assertFalse(TransactionIdUtils.isCompactString(nextId.getTransactionIdHeader()));
+    }
+
+    @Test
+    public void compactHeader() {
+        TraceIdFactory traceIdFactory = new DefaultTraceIdFactory("testAgentId", AGENT_START_TIME, new AtomicIdGenerator(), true);
+        TraceId traceId = traceIdFactory.newTraceId();
+
+        TraceId nextId = traceId.getNextTraceId();
+        String header = nextId.getTransactionIdHeader();
+        Assert.assertTrue(TransactionIdUtils.isCompactString(header));
+        // formatted once per transaction
+        Assert.assertSame(header, traceId.getTransactionIdHeader());
+        Assert.assertSame(header, nextId.getNextTraceId().getTransactionIdHeader());
+
+        TraceId received = traceIdFactory.parse(header, nextId.getParentSpanId(), nextId.getSpanId(), nextId.getFlags());
+        Assert.assertEquals(traceId.getTransactionId(), received.getTransactionId());
+        Assert.assertSame(header, received.getTransactionIdHeader());
+    }
+
+    @Test
+    public void parseBothForms() {
+        TraceIdFactory traceIdFactory = new DefaultTraceIdFactory("testAgentId", AGENT_START_TIME, new AtomicIdGenerator(), true);
+
+        String legacy = TransactionIdUtils.formatString("remoteAgentId", AGENT_START_TIME, 10);
+        TraceId fromLegacy = traceIdFactory.parse(legacy, SpanId.NULL, 1, (short) 0);
+        String compact = TransactionIdUtils.formatCompactString("remoteAgentId", AGENT_START_TIME, 10);
+        TraceId fromCompact = traceIdFactory.parse(compact, SpanId.NULL, 1, (short) 0);
+
+        Assert.assertEquals(legacy, fromLegacy.getTransactionId());
+        Assert.assertEquals(legacy, fromCompact.getTransactionId());
+        // re-encoded in the configured form
+        Assert.assertEquals(compact, fromLegacy.getTransactionIdHeader());
+    }
+
+    @Test
+    public void propagateDeferredFlag() {
+        TraceIdFactory traceIdFactory = new DefaultTraceIdFactory("testAgentId", AGENT_START_TIME, new AtomicIdGenerator(), false);
+        Assert.assertFalse(DeferredTraceId.isDeferred(traceIdFactory.newTraceId()));
+
+        TraceId traceId = traceIdFactory.newDeferredTraceId(10);
+        Assert.assertEquals(10, traceId.getTransactionSequence());
+        TraceId nextId = traceId.getNextTraceId();
+        Assert.assertTrue(DeferredTraceId.isDeferred(nextId));
+
+        TraceId received = traceIdFactory.parse(nextId.getTransactionIdHeader(), nextId.getParentSpanId(), nextId.getSpanId(), nextId.getFlags());
+        Assert.assertTrue(DeferredTraceId.isDeferred(received));
+    }
+}
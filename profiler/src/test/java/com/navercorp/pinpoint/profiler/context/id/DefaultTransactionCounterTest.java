@@ -111,6 +111,23 @@ public class DefaultTransactionCounterTest {
         assertEquals(expectedTransactionCount, actualCount);
     }
 
+    @Test
+    public void testSingleTransaction_DEFERRED() {
+        // Given
+        final long expectedSampledNewCount = 1L;
+        final long expectedUnsampledNewCount = 1L;
+        // When
+        final long transactionId = this.idGenerator.nextTransactionId();
+        final long deferredTransactionId = this.idGenerator.nextDeferredTransactionId();
+        final long actualSampledNewCount = this.transactionCounter.getSampledNewCount();
+        final long actualUnsampledNewCount = this.transactionCounter.getUnSampledNewCount();
+        // Then
+        assertEquals(transactionId + 1, deferredTransactionId);
+        assertEquals(expectedSampledNewCount, actualSampledNewCount);
+        assertEquals(expectedUnsampledNewCount, actualUnsampledNewCount);
+        assertEquals(2L, this.transactionCounter.getTotalTransactionCount());
+    }
+
     @Test
     public void testSingleTransaction_UNSAMPLED_CONTINUATION() {
         // Given
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
+import com.navercorp.pinpoint.profiler.monitor.histogram.DisabledResponseTimeHistogramRecorder;
+import com.navercorp.pinpoint.profiler.sampler.EntryPointSampleFloor;
+import com.navercorp.pinpoint.profiler.sender.CountingDataSender;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DeferredStorageTest {
+
+    private final CountingDataSender countingDataSender = new CountingDataSender();
+    private final StorageFactory storageFactory = new SpanStorageFactory(countingDataSender);
+
+    @Before
+    public void before() {
+        countingDataSender.stop();
+    }
+
+    @Test
+    public void discardFastTrace() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 10);
+        Storage storage = deferredStorageFactory.createStorage();
+
+        Span span = newSpan(10);
+        storage.store(new SpanEvent(span));
+        storage.store(span);
+        storage.close();
+
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+        Assert.assertEquals(1, deferredStorageFactory.getDiscardedCount());
+        Assert.assertEquals(0, deferredStorageFactory.getPromotedCount());
+        Assert.assertEquals(0, deferredStorageFactory.getActiveTraceCount());
+    }
+
+    @Test
+    public void promoteFirstTraceOfEntryPoint() {
+        EntryPointSampleFloor entryPointSampleFloor = new EntryPointSampleFloor(60000, 16);
+        DefaultDeferredStorageFactory deferredStorageFactory = new DefaultDeferredStorageFactory(storageFactory, 1000, 10, 10, 60000,
+                DisabledResponseTimeHistogramRecorder.INSTANCE, entryPointSampleFloor);
+
+        storeFastTrace(deferredStorageFactory, "/rare");
+        storeFastTrace(deferredStorageFactory, "/busy");
+        storeFastTrace(deferredStorageFactory, "/busy");
+        storeFastTrace(deferredStorageFactory, "/busy");
+
+        Assert.assertEquals(2, countingDataSender.getSpanCounter());
+        Assert.assertEquals(2, deferredStorageFactory.getPromotedCount());
+        Assert.assertEquals(2, deferredStorageFactory.getDiscardedCount());
+    }
+
+    private void storeFastTrace(DefaultDeferredStorageFactory deferredStorageFactory, String rpc) {
+        Storage storage = deferredStorageFactory.createStorage();
+        Span span = newSpan(10);
+        span.setRpc(rpc);
+        storage.store(span);
+    }
+
+    @Test
+    public void promoteSlowTrace() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 10);
+        Storage storage = deferredStorageFactory.createStorage();
+
+        Span span = newSpan(1000);
+        storage.store(new SpanEvent(span));
+        storage.store(new SpanEvent(span));
+        storage.store(span);
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(2, span.getSpanEventList().size());
+        Assert.assertEquals(1, deferredStorageFactory.getPromotedCount());
+        Assert.assertEquals(0, deferredStorageFactory.getActiveTraceCount());
+    }
+
+    @Test
+    public void promoteErrorTrace() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 10);
+        Storage storage = deferredStorageFactory.createStorage();
+
+        Span span = newSpan(10);
+        span.setErrCode(1);
+        storage.store(span);
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(1, deferredStorageFactory.getPromotedCount());
+    }
+
+    @Test
+    public void maxSpanEventCount() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(0, 2, 10);
+        Storage storage = deferredStorageFactory.createStorage();
+
+        Span span = newSpan(10);
+        for (int i = 0; i < 5; i++) {
+            storage.store(new SpanEvent(span));
+        }
+        storage.store(span);
+
+        Assert.assertEquals(2, span.getSpanEventList().size());
+    }
+
+    @Test
+    public void maxTraceCount() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 2);
+        Storage storage1 = deferredStorageFactory.createStorage();
+        Storage storage2 = deferredStorageFactory.createStorage();
+        Assert.assertNotNull(storage1);
+        Assert.assertNotNull(storage2);
+        Assert.assertNull(deferredStorageFactory.createStorage());
+        Assert.assertEquals(1, deferredStorageFactory.getRejectedCount());
+
+        // released on close even if the span was never stored
+        storage1.close();
+        Assert.assertEquals(1, deferredStorageFactory.getActiveTraceCount());
+        Assert.assertNotNull(deferredStorageFactory.createStorage());
+    }
+
+    @Test
+    public void expireAbandonedTrace() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(0, 10, 2, 1000);
+        Storage abandoned = deferredStorageFactory.createStorage();
+        Storage storage = deferredStorageFactory.createStorage();
+
+        Assert.assertEquals(0, deferredStorageFactory.expire(System.currentTimeMillis()));
+        Assert.assertEquals(2, deferredStorageFactory.expire(System.currentTimeMillis() + 2000));
+        Assert.assertEquals(2, deferredStorageFactory.getExpiredCount());
+        Assert.assertEquals(0, deferredStorageFactory.getActiveTraceCount());
+
+        // an expired trace is dropped and does not release its slot twice
+        Span span = newSpan(10);
+        storage.store(new SpanEvent(span));
+        storage.store(span);
+        abandoned.close();
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+        Assert.assertEquals(0, deferredStorageFactory.getActiveTraceCount());
+        Assert.assertEquals(0, deferredStorageFactory.getPromotedCount());
+    }
+
+    @Test
+    public void recycleSpanEventStoredAfterExpiration() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(0, 10, 1, 1000);
+        Storage storage = deferredStorageFactory.createStorage();
+        Assert.assertEquals(1, deferredStorageFactory.expire(System.currentTimeMillis() + 2000));
+
+        SpanRecycler spanRecycler = mock(SpanRecycler.class);
+        Span span = newSpan(10);
+        span.setSpanRecycler(spanRecycler);
+        SpanEvent spanEvent = new SpanEvent(span);
+        storage.store(spanEvent);
+
+        verify(spanRecycler).recycle(spanEvent);
+    }
+
+    @Test
+    public void promoteAsyncSpanEvents() {
+        StorageFactory asyncStorageFactory = mock(StorageFactory.class);
+        Storage promotedStorage = mock(Storage.class);
+        when(asyncStorageFactory.createStorage()).thenReturn(promotedStorage);
+        DefaultDeferredStorageFactory deferredStorageFactory = new DefaultDeferredStorageFactory(asyncStorageFactory, 1000, 10, 10, 60000,
+                DisabledResponseTimeHistogramRecorder.INSTANCE, null);
+        DeferredStorage storage = deferredStorageFactory.createStorage();
+        Span span = newSpan(1000);
+
+        // flushed before the decision
+        Storage asyncStorage1 = storage.newAsyncStorage();
+        SpanEvent asyncSpanEvent1 = new SpanEvent(span);
+        asyncSpanEvent1.setSequence((short) 1);
+        asyncStorage1.store(asyncSpanEvent1);
+        asyncStorage1.close();
+        verify(promotedStorage, never()).store(asyncSpanEvent1);
+
+        storage.store(span);
+        verify(promotedStorage).store(asyncSpanEvent1);
+
+        // flushed after the decision
+        Storage asyncStorage2 = storage.newAsyncStorage();
+        SpanEvent asyncSpanEvent2 = new SpanEvent(span);
+        asyncSpanEvent2.setSequence((short) 2);
+        asyncStorage2.store(asyncSpanEvent2);
+        asyncStorage2.close();
+        verify(promotedStorage).store(asyncSpanEvent2);
+    }
+
+    @Test
+    public void discardAsyncSpanEvents() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 10);
+        DeferredStorage storage = deferredStorageFactory.createStorage();
+        SpanRecycler spanRecycler = mock(SpanRecycler.class);
+        Span span = newSpan(10);
+        span.setSpanRecycler(spanRecycler);
+
+        Storage asyncStorage1 = storage.newAsyncStorage();
+        SpanEvent asyncSpanEvent1 = new SpanEvent(span);
+        asyncSpanEvent1.setSequence((short) 1);
+        asyncStorage1.store(asyncSpanEvent1);
+        asyncStorage1.close();
+
+        storage.store(span);
+        verify(spanRecycler).recycle(asyncSpanEvent1);
+
+        Storage asyncStorage2 = storage.newAsyncStorage();
+        SpanEvent asyncSpanEvent2 = new SpanEvent(span);
+        asyncSpanEvent2.setSequence((short) 2);
+        asyncStorage2.store(asyncSpanEvent2);
+        asyncStorage2.close();
+        verify(spanRecycler).recycle(asyncSpanEvent2);
+
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+    }
+
+    @Test
+    public void expireOnlyWhenFull() {
+        DefaultDeferredStorageFactory deferredStorageFactory = newDeferredStorageFactory(1000, 10, 1, 0);
+        Assert.assertNotNull(deferredStorageFactory.createStorage());
+        // maxAge is 0. the abandoned trace is expired to make room for the new one
+        Assert.assertNotNull(deferredStorageFactory.createStorage());
+        Assert.assertEquals(1, deferredStorageFactory.getExpiredCount());
+        Assert.assertEquals(0, deferredStorageFactory.getRejectedCount());
+        Assert.assertEquals(1, deferredStorageFactory.getActiveTraceCount());
+    }
+
+    private DefaultDeferredStorageFactory newDeferredStorageFactory(long latencyThreshold, int maxSpanEventCount, int maxTraceCount) {
+        return newDeferredStorageFactory(latencyThreshold, maxSpanEventCount, maxTraceCount, 60000);
+    }
+
+    private DefaultDeferredStorageFactory newDeferredStorageFactory(long latencyThreshold, int maxSpanEventCount, int maxTraceCount, long maxAge) {
+        return new DefaultDeferredStorageFactory(storageFactory, latencyThreshold, maxSpanEventCount, maxTraceCount, maxAge, DisabledResponseTimeHistogramRecorder.INSTANCE, null);
+    }
+
+    private Span newSpan(int elapsed) {
+        Span span = new Span();
+        span.setStartTime(System.currentTimeMillis());
+        span.setElapsed(elapsed);
+        return span;
+    }
+}
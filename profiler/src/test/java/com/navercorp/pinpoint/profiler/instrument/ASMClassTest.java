@@ -20,24 +20,39 @@ import com.google.inject.util.Providers;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.instrument.ClassFilters;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
 import com.navercorp.pinpoint.bootstrap.instrument.MethodFilters;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
 import com.navercorp.pinpoint.profiler.context.monitor.DataSourceMonitorRegistryService;
+import com.navercorp.pinpoint.profiler.instrument.mock.BaseClass;
 import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 
 import com.navercorp.pinpoint.profiler.metadata.ApiMetaDataService;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
+import com.navercorp.pinpoint.profiler.util.BytecodeUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 
 import java.io.InputStream;
+import java.lang.instrument.Instrumentation;
+import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -61,6 +76,9 @@ public class ASMClassTest {
     private final InstrumentContext pluginContext = mock(InstrumentContext.class);
     private final ObjectBinderFactory objectBinderFactory = new ObjectBinderFactory(profilerConfig, traceContextProvider, dataSourceMonitorRegistryService, apiMetaDataService);
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setUp() {
 
@@ -559,6 +577,84 @@ public class ASMClassTest {
         clazz.addInterceptor("com.navercorp.pinpoint.profiler.instrument.mock.BaseAnnotationInterceptor");
     }
 
+    @Test
+    public void addInterceptorWithStaticBinding() throws Exception {
+        final String targetClassName = "com.navercorp.pinpoint.profiler.instrument.mock.BaseClass";
+        final ASMEngine engine = new ASMEngine(mock(Instrumentation.class), objectBinderFactory, interceptorRegistryBinder, apiMetaDataService, Collections.<String>emptyList(), true, null);
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final byte[] classFileBuffer = BytecodeUtils.getClassFile(classLoader, targetClassName);
+
+        // loading. the interceptor is bound to a static field.
+        InstrumentClass clazz = engine.getClass(pluginContext, classLoader, targetClassName, null, classFileBuffer);
+        clazz.addInterceptor("com.navercorp.pinpoint.profiler.instrument.mock.BaseAnnotationInterceptor");
+        ClassNode classNode = toClassNode(clazz.toBytecode());
+        assertTrue(hasInterceptorField(classNode));
+        assertTrue(hasInterceptorLookup(classNode, "<clinit>"));
+
+        // retransform. a loaded class can not get new fields, so the registry lookup is kept.
+        clazz = engine.getClass(pluginContext, classLoader, targetClassName, BaseClass.class, classFileBuffer);
+        clazz.addInterceptor("com.navercorp.pinpoint.profiler.instrument.mock.BaseAnnotationInterceptor");
+        classNode = toClassNode(clazz.toBytecode());
+        assertFalse(hasInterceptorField(classNode));
+        assertFalse(hasInterceptorLookup(classNode, "<clinit>"));
+        assertTrue(hasInterceptorLookup(classNode, "base"));
+    }
+
+    private ClassNode toClassNode(byte[] bytecode) {
+        final ClassNode classNode = new ClassNode();
+        new ClassReader(bytecode).accept(classNode, 0);
+        return classNode;
+    }
+
+    private boolean hasInterceptorField(ClassNode classNode) {
+        for (FieldNode fieldNode : classNode.fields) {
+            if (fieldNode.name.startsWith("_$PINPOINT$_interceptor")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasInterceptorLookup(ClassNode classNode, String methodName) {
+        for (MethodNode methodNode : classNode.methods) {
+            if (!methodNode.name.equals(methodName)) {
+                continue;
+            }
+            for (AbstractInsnNode insnNode : methodNode.instructions.toArray()) {
+                if (insnNode instanceof MethodInsnNode && ((MethodInsnNode) insnNode).owner.equals(Type.getInternalName(InterceptorRegistry.class))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void toBytecodeWithCache() throws Exception {
+        final String targetClassName = "com.navercorp.pinpoint.profiler.instrument.mock.ExtendedClass";
+        final byte[] expected = getClass(targetClassName).toBytecode();
+
+        BytecodeCache bytecodeCache = new BytecodeCache(temporaryFolder.newFolder("cache"), 1024 * 1024, "test");
+        assertArrayEquals(expected, getClass(targetClassName, bytecodeCache).toBytecode());
+        assertEquals(1, bytecodeCache.getMissCount());
+        assertEquals(1, bytecodeCache.getEntryCount());
+
+        assertArrayEquals(expected, getClass(targetClassName, bytecodeCache).toBytecode());
+        assertEquals(1, bytecodeCache.getHitCount());
+    }
+
+    @Test
+    public void toBytecodeWithCacheSkipsApplicationHierarchy() throws Exception {
+        BytecodeCache bytecodeCache = new BytecodeCache(temporaryFolder.newFolder("cache"), 1024 * 1024, "test");
+        final String targetClassName = "com.navercorp.pinpoint.profiler.instrument.mock.HierarchyMergeClass";
+        final byte[] expected = getClass(targetClassName).toBytecode();
+
+        // the frames depend on BaseClass and ExtendedClass, which the key does not cover.
+        assertArrayEquals(expected, getClass(targetClassName, bytecodeCache).toBytecode());
+        assertEquals(1, bytecodeCache.getMissCount());
+        assertEquals(0, bytecodeCache.getEntryCount());
+    }
+
     @Test
     public void getNestedClasses() throws Exception {
         ASMClass clazz = getClass("com.navercorp.pinpoint.profiler.instrument.mock.NestedClass");
@@ -592,6 +688,14 @@ public class ASMClassTest {
     private ASMClass getClass(final String targetClassName) throws Exception {
         ClassNode classNode = ASMClassNodeLoader.get(targetClassName);
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        return new ASMClass(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService.get(), classLoader, classNode);
+        ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, classLoader, classNode);
+        return new ASMClass(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService.get(), classLoader, classNodeAdapter, false, null);
+    }
+
+    private ASMClass getClass(final String targetClassName, BytecodeCache bytecodeCache) throws Exception {
+        ClassNode classNode = ASMClassNodeLoader.get(targetClassName);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(pluginContext, classLoader, classNode);
+        return new ASMClass(objectBinderFactory, pluginContext, interceptorRegistryBinder, apiMetaDataService.get(), classLoader, classNodeAdapter, false, bytecodeCache);
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 import com.navercorp.pinpoint.bootstrap.interceptor.ExceptionHandleAroundInterceptor;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InvokeCodeGenerator;
 import com.navercorp.pinpoint.profiler.instrument.mock.ApiIdAwareInterceptor;
 import com.navercorp.pinpoint.profiler.instrument.mock.ArgsArrayInterceptor;
 import com.navercorp.pinpoint.profiler.instrument.mock.BaseEnum;
@@ -45,6 +46,8 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ASMMethodNodeAdapterAddInterceptorTest {
@@ -98,6 +101,57 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
         addInterceptor(interceptorId, ExceptionHandleAroundInterceptor.class);
     }
 
+    @Test
+    public void addStaticBindingInterceptor() throws Exception {
+        final ArgsArrayInterceptor interceptor = new ArgsArrayInterceptor();
+        final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(interceptor);
+
+        // new static initializer
+        Class<?> clazz = addStaticBindingInterceptor(interceptorId, "com.navercorp.pinpoint.profiler.instrument.mock.MethodClass", ArgsArrayInterceptor.class);
+        assertInterceptorField(clazz, interceptorId, interceptor);
+        invokeMethod(clazz, "publicMethod", ArgsArrayInterceptor.class, new Class[0], new Object[0], null, false);
+        invokeMethod(clazz, "publicStaticMethod", ArgsArrayInterceptor.class, new Class[0], new Object[0], null, false);
+        invokeMethod(clazz, "publicStaticSynchronizedMethod", ArgsArrayInterceptor.class, new Class[0], new Object[0], null, false);
+
+        // existing static initializer
+        clazz = addStaticBindingInterceptor(interceptorId, "com.navercorp.pinpoint.profiler.instrument.mock.BaseClass", ArgsArrayInterceptor.class);
+        assertInterceptorField(clazz, interceptorId, interceptor);
+        assertNotNull(clazz.getField("o").get(null));
+        invokeMethod(clazz, "base", ArgsArrayInterceptor.class, new Class[0], new Object[0], null, false);
+    }
+
+    private void assertInterceptorField(Class<?> clazz, int interceptorId, Object interceptor) throws Exception {
+        final Field field = clazz.getDeclaredField(InvokeCodeGenerator.getInterceptorVar(interceptorId));
+        assertTrue(Modifier.isStatic(field.getModifiers()));
+        assertTrue(Modifier.isFinal(field.getModifiers()));
+        assertTrue(field.isSynthetic());
+        field.setAccessible(true);
+        assertSame(interceptor, field.get(null));
+    }
+
+    private Class addStaticBindingInterceptor(final int interceptorId, final String targetClassName, final Class<?> interceptorClass) throws Exception {
+        final InterceptorDefinition interceptorDefinition = new InterceptorDefinitionFactory().createInterceptorDefinition(interceptorClass);
+        classLoader.setTrace(false);
+        classLoader.setVerify(false);
+        classLoader.setTargetClassName(targetClassName);
+        classLoader.setCallbackHandler(new ASMClassNodeLoader.CallbackHandler() {
+            @Override
+            public void handle(ClassNode classNode) {
+                final ASMClassNodeAdapter classNodeAdapter = new ASMClassNodeAdapter(null, classLoader, classNode);
+                final List<ASMMethodNodeAdapter> methodNodeAdapters = classNodeAdapter.getDeclaredMethods();
+                final String interceptorFieldName = classNodeAdapter.addInterceptorField(interceptorId);
+                for (ASMMethodNodeAdapter methodNodeAdapter : methodNodeAdapters) {
+                    if (methodNodeAdapter.isAbstract() || methodNodeAdapter.isNative()) {
+                        continue;
+                    }
+                    methodNodeAdapter.addBeforeInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, 99);
+                    methodNodeAdapter.addAfterInterceptor(interceptorId, interceptorFieldName, interceptorDefinition, 99);
+                }
+            }
+        });
+        return classLoader.loadClass(targetClassName);
+    }
+
     private void addInterceptor(int interceptorId, Class interceptorClass) throws Exception {
         // method
         checkMethod(interceptorId, interceptorClass);
@@ -493,8 +547,8 @@ public class ASMMethodNodeAdapterAddInterceptorTest {
                         if (methodNodeAdapter.isAbstract() || methodNodeAdapter.isNative()) {
                             continue;
                         }
-                        methodNodeAdapter.addBeforeInterceptor(interceptorId, interceptorDefinition, 99);
-                        methodNodeAdapter.addAfterInterceptor(interceptorId, interceptorDefinition, 99);
+                        methodNodeAdapter.addBeforeInterceptor(interceptorId, null, interceptorDefinition, 99);
+                        methodNodeAdapter.addAfterInterceptor(interceptorId, null, interceptorDefinition, 99);
                     }
                 }
             });
@@ -42,7 +42,7 @@ public class ASMMethodNodeAdapterTest {
         ASMMethodNodeAdapter adapter = new ASMMethodNodeAdapter(JavaAssistUtils.javaNameToJvmName(targetClassName), methodNode);
         assertEquals(false, adapter.hasInterceptor());
 
-        adapter.addBeforeInterceptor(interceptorId, interceptorDefinition, -1);
+        adapter.addBeforeInterceptor(interceptorId, null, interceptorDefinition, -1);
         assertEquals(true, adapter.hasInterceptor());
     }
 
@@ -100,7 +100,7 @@ public class ASMMethodNodeAdapterTestMain {
                         ClassNode classNode = ASMClassNodeLoader.get(JavaAssistUtils.javaNameToJvmName(name));
                         ObjectBinderFactory objectBinderFactory = mock(ObjectBinderFactory.class);
                         ApiMetaDataService apiMetaDataService = mock(ApiMetaDataService.class);
-                        ASMClass asmClass = new ASMClass(objectBinderFactory, null, interceptorRegistryBinder, apiMetaDataService, null, classNode);
+                        ASMClass asmClass = new ASMClass(objectBinderFactory, null, interceptorRegistryBinder, apiMetaDataService, null, new ASMClassNodeAdapter(null, null, classNode), false, null);
                         if (asmClass.isInterceptable()) {
                             for (InstrumentMethod method : asmClass.getDeclaredMethods()) {
                                 try {
@@ -85,7 +85,7 @@ public class ASMMethodVariablesTest {
         for (MethodNode methodNode : methodNodes) {
             ASMMethodNodeAdapter methodNodeAdapter = new ASMMethodNodeAdapter(classNode.name, methodNode);
             assertEquals(false, methodNodeAdapter.hasInterceptor());
-            methodNodeAdapter.addBeforeInterceptor(interceptorId, interceptorDefinition, -1);
+            methodNodeAdapter.addBeforeInterceptor(interceptorId, null, interceptorDefinition, -1);
             assertEquals(true, methodNodeAdapter.hasInterceptor());
         }
     }
@@ -103,7 +103,7 @@ public class ASMMethodVariablesTest {
         final InterceptorDefinition interceptorDefinition = new InterceptorDefinitionFactory().createInterceptorDefinition(ArgsArrayInterceptor.class);
 
         InsnList instructions = new InsnList();
-        boolean first = variables.initInterceptorLocalVariables(instructions, interceptorId, interceptorDefinition, -1);
+        boolean first = variables.initInterceptorLocalVariables(instructions, interceptorId, null, interceptorDefinition, -1);
         assertEquals(true, first);
         assertNotNull(variables.getEnterInsnNode());
         assertNotNull(variables.getEnterInsnNode());
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+
+public class BytecodeCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void putAndGet() throws IOException {
+        final File directory = temporaryFolder.newFolder("cache");
+        BytecodeCache cache = new BytecodeCache(directory, 1024 * 1024, "1.0");
+
+        final byte[] bytecode = bytes(100, (byte) 1);
+        final String key = cache.createKey(bytes(10, (byte) 2));
+        Assert.assertNull(cache.get(key));
+
+        cache.put(key, bytecode);
+        Assert.assertArrayEquals(bytecode, cache.get(key));
+        Assert.assertEquals(1, cache.getEntryCount());
+        Assert.assertEquals(BytecodeCache.HEADER_SIZE + 100, cache.getSize());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        // next start
+        BytecodeCache recovered = new BytecodeCache(directory, 1024 * 1024, "1.0");
+        Assert.assertEquals(1, recovered.getEntryCount());
+        Assert.assertArrayEquals(bytecode, recovered.get(key));
+    }
+
+    @Test
+    public void fingerprint() throws IOException {
+        final File directory = temporaryFolder.newFolder("cache");
+        final byte[] frameless = bytes(10, (byte) 2);
+        final String key = new BytecodeCache(directory, 1024, "1.0").createKey(frameless);
+
+        Assert.assertEquals(key, new BytecodeCache(directory, 1024, "1.0").createKey(frameless));
+        Assert.assertFalse(key.equals(new BytecodeCache(directory, 1024, "1.1").createKey(frameless)));
+
+        final File pluginJar = temporaryFolder.newFile("plugin.jar");
+        write(pluginJar, bytes(10, (byte) 3));
+        final long lastModified = pluginJar.lastModified();
+        final URL[] pluginJars = {pluginJar.toURI().toURL()};
+        final String before = BytecodeCache.createFingerprint("1.0", "jvm-1", pluginJars);
+        Assert.assertEquals(before, BytecodeCache.createFingerprint("1.0", "jvm-1", pluginJars));
+        Assert.assertFalse(before.equals(BytecodeCache.createFingerprint("1.0", "jvm-2", pluginJars)));
+
+        // same length and modification time, different content
+        write(pluginJar, bytes(10, (byte) 4));
+        Assert.assertTrue(pluginJar.setLastModified(lastModified));
+        Assert.assertFalse(before.equals(BytecodeCache.createFingerprint("1.0", "jvm-1", pluginJars)));
+    }
+
+    private void write(File file, byte[] bytes) throws IOException {
+        final RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+
+    @Test
+    public void corruptedEntry() throws IOException {
+        final File directory = temporaryFolder.newFolder("cache");
+        BytecodeCache cache = new BytecodeCache(directory, 1024 * 1024, "1.0");
+        final String key = cache.createKey(bytes(10, (byte) 2));
+        cache.put(key, bytes(100, (byte) 1));
+
+        final File entry = new File(directory, key + BytecodeCache.ENTRY_SUFFIX);
+        final RandomAccessFile file = new RandomAccessFile(entry, "rw");
+        try {
+            file.seek(BytecodeCache.HEADER_SIZE + 50);
+            file.write(7);
+        } finally {
+            file.close();
+        }
+
+        Assert.assertNull(cache.get(key));
+        Assert.assertFalse(entry.exists());
+        Assert.assertEquals(0, cache.getEntryCount());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        final File directory = temporaryFolder.newFolder("cache");
+        final int entrySize = BytecodeCache.HEADER_SIZE + 100;
+        BytecodeCache cache = new BytecodeCache(directory, entrySize * 3, "1.0");
+
+        final String key1 = cache.createKey(bytes(1, (byte) 1));
+        final String key2 = cache.createKey(bytes(1, (byte) 2));
+        final String key3 = cache.createKey(bytes(1, (byte) 3));
+        final String key4 = cache.createKey(bytes(1, (byte) 4));
+        cache.put(key1, bytes(100, (byte) 1));
+        cache.put(key2, bytes(100, (byte) 2));
+        cache.put(key3, bytes(100, (byte) 3));
+        // key2 becomes the eldest
+        Assert.assertNotNull(cache.get(key1));
+
+        cache.put(key4, bytes(100, (byte) 4));
+        Assert.assertEquals(3, cache.getEntryCount());
+        Assert.assertEquals(entrySize * 3, cache.getSize());
+        Assert.assertNull(cache.get(key2));
+        Assert.assertFalse(new File(directory, key2 + BytecodeCache.ENTRY_SUFFIX).exists());
+        Assert.assertNotNull(cache.get(key1));
+        Assert.assertNotNull(cache.get(key3));
+        Assert.assertNotNull(cache.get(key4));
+
+        // larger than the cache
+        final String key5 = cache.createKey(bytes(1, (byte) 5));
+        cache.put(key5, bytes(entrySize * 3, (byte) 5));
+        Assert.assertNull(cache.get(key5));
+        Assert.assertEquals(3, cache.getEntryCount());
+    }
+
+    private static byte[] bytes(int length, byte value) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (value + i);
+        }
+        return bytes;
+    }
+}
@@ -56,7 +56,7 @@ public class JavassistEngineTest {
         InstrumentContext instrumentContext = mock(InstrumentContext.class);
 
         final byte[] originalByteCode = BytecodeUtils.getClassFile(null, mock);
-        final InstrumentClass transformClass = instrumentEngine.getClass(instrumentContext, null, mock, originalByteCode);
+        final InstrumentClass transformClass = instrumentEngine.getClass(instrumentContext, null, mock, null, originalByteCode);
 
         Assert.assertNotNull(transformClass.getDeclaredMethod("test"));
         Assert.assertNull("transform method", transformClass.getDeclaredMethod("transformMethod"));
@@ -70,7 +70,7 @@ public class JavassistEngineTest {
         InstrumentContext instrumentContext = mock(InstrumentContext.class);
 
         final byte[] transformByteCode = getTransformByteCode();
-        final InstrumentClass transformClass = instrumentEngine.getClass(instrumentContext, null, mock, transformByteCode);
+        final InstrumentClass transformClass = instrumentEngine.getClass(instrumentContext, null, mock, null, transformByteCode);
 
         Assert.assertNotNull(transformClass.getDeclaredMethod("test"));
         Assert.assertNotNull("transform method", transformClass.getDeclaredMethod("transformMethod"));
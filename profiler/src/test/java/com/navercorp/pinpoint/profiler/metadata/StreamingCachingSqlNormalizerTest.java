@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingCachingSqlNormalizerTest {
+
+    @Test
+    public void testNormalizedSql() {
+        CachingSqlNormalizer normalizer = new StreamingCachingSqlNormalizer(16, true);
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id in (1, 2) and name='a'");
+
+        Assert.assertTrue("newCacheState", normalizer.normalizedSql(parsingResult));
+        Assert.assertEquals("select * from member where id in (0#) and name='1$'", parsingResult.getSql());
+        Assert.assertEquals("1,, 2,a", parsingResult.getOutput());
+
+        Assert.assertFalse("alreadyCached", normalizer.normalizedSql(parsingResult));
+
+        // IN list of another length
+        ParsingResult cached = normalizer.wrapSql("select * from member where id in (3, 4, 5) and name='b'");
+        Assert.assertFalse("alreadyCached2", normalizer.normalizedSql(cached));
+        Assert.assertEquals(parsingResult.getId(), cached.getId());
+        Assert.assertEquals("select * from member where id in (0#) and name='1$'", cached.getSql());
+        Assert.assertEquals("3,, 4,, 5,b", cached.getOutput());
+    }
+
+    @Test
+    public void testNormalizedSql_inListNotCollapsed() {
+        CachingSqlNormalizer normalizer = new StreamingCachingSqlNormalizer(16);
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id in (1, 2)");
+        Assert.assertTrue(normalizer.normalizedSql(parsingResult));
+        Assert.assertEquals("select * from member where id in (0#, 1#)", parsingResult.getSql());
+
+        ParsingResult other = normalizer.wrapSql("select * from member where id in (1, 2, 3)");
+        Assert.assertTrue(normalizer.normalizedSql(other));
+        Assert.assertNotEquals(parsingResult.getId(), other.getId());
+    }
+
+    @Test
+    public void testNormalizedSql_noOutput() {
+        CachingSqlNormalizer normalizer = new StreamingCachingSqlNormalizer(16);
+        ParsingResult parsingResult = normalizer.wrapSql("select * from dual");
+
+        Assert.assertTrue(normalizer.normalizedSql(parsingResult));
+        Assert.assertEquals("select * from dual", parsingResult.getSql());
+        Assert.assertEquals("", parsingResult.getOutput());
+
+        ParsingResult other = normalizer.wrapSql("select * from dual2");
+        Assert.assertTrue(normalizer.normalizedSql(other));
+        Assert.assertNotEquals(parsingResult.getId(), other.getId());
+    }
+}
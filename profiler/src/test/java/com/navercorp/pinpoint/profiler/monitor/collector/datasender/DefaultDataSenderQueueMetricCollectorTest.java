@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.datasender;
+
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+import com.navercorp.pinpoint.thrift.dto.TDataSenderQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultDataSenderQueueMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        QueueStatus queueStatus = mock(QueueStatus.class);
+        when(queueStatus.getQueueCapacity()).thenReturn(100);
+        when(queueStatus.getQueueSize()).thenReturn(10, 20);
+        when(queueStatus.getDropCount()).thenReturn(5L, 12L);
+
+        DataSenderQueueMetricCollector collector = new DefaultDataSenderQueueMetricCollector(queueStatus);
+
+        TDataSenderQueue first = collector.collect();
+        Assert.assertEquals(10, first.getQueueSize());
+        Assert.assertEquals(100, first.getQueueCapacity());
+        Assert.assertEquals(5, first.getDropCount());
+
+        // dropped during the interval
+        TDataSenderQueue second = collector.collect();
+        Assert.assertEquals(20, second.getQueueSize());
+        Assert.assertEquals(7, second.getDropCount());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.deferred;
+
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
+import com.navercorp.pinpoint.thrift.dto.TDeferredSampling;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultDeferredSamplingMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        DeferredStorageFactory deferredStorageFactory = mock(DeferredStorageFactory.class);
+        when(deferredStorageFactory.getActiveTraceCount()).thenReturn(3, 1);
+        when(deferredStorageFactory.getPromotedCount()).thenReturn(2L, 5L);
+        when(deferredStorageFactory.getDiscardedCount()).thenReturn(10L, 30L);
+        when(deferredStorageFactory.getRejectedCount()).thenReturn(0L, 4L);
+        when(deferredStorageFactory.getExpiredCount()).thenReturn(1L, 1L);
+
+        DeferredSamplingMetricCollector collector = new DefaultDeferredSamplingMetricCollector(deferredStorageFactory);
+
+        TDeferredSampling first = collector.collect();
+        Assert.assertEquals(3, first.getActiveTraceCount());
+        Assert.assertEquals(2, first.getPromotedCount());
+        Assert.assertEquals(10, first.getDiscardedCount());
+        Assert.assertEquals(0, first.getRejectedCount());
+        Assert.assertEquals(1, first.getExpiredCount());
+
+        // counted during the interval
+        TDeferredSampling second = collector.collect();
+        Assert.assertEquals(1, second.getActiveTraceCount());
+        Assert.assertEquals(3, second.getPromotedCount());
+        Assert.assertEquals(20, second.getDiscardedCount());
+        Assert.assertEquals(4, second.getRejectedCount());
+        Assert.assertEquals(0, second.getExpiredCount());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.throttle;
+
+import com.navercorp.pinpoint.profiler.sampler.SamplingThrottle;
+import com.navercorp.pinpoint.thrift.dto.TSamplingThrottle;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultSamplingThrottleMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        SamplingThrottle samplingThrottle = mock(SamplingThrottle.class);
+        when(samplingThrottle.getThrottleLevel()).thenReturn(50, 0);
+        when(samplingThrottle.getThrottledCount()).thenReturn(10L, 15L);
+
+        SamplingThrottleMetricCollector collector = new DefaultSamplingThrottleMetricCollector(samplingThrottle);
+
+        TSamplingThrottle first = collector.collect();
+        Assert.assertEquals(50, first.getThrottleLevel());
+        Assert.assertEquals(10, first.getThrottledCount());
+
+        // dropped during the interval
+        TSamplingThrottle second = collector.collect();
+        Assert.assertEquals(0, second.getThrottleLevel());
+        Assert.assertEquals(5, second.getThrottledCount());
+    }
+}
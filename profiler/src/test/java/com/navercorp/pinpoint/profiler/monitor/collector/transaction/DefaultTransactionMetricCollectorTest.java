@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.collector.transaction;
+
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetric;
+import com.navercorp.pinpoint.thrift.dto.TTransaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultTransactionMetricCollectorTest {
+
+    @Test
+    public void samplingRate() {
+        TransactionMetric transactionMetric = mock(TransactionMetric.class);
+        when(transactionMetric.sampledNew()).thenReturn(10L, 0L);
+        when(transactionMetric.unsampledNew()).thenReturn(90L, 0L);
+        when(transactionMetric.sampledContinuation()).thenReturn(0L);
+        when(transactionMetric.unsampledContinuation()).thenReturn(0L);
+        DeferredStorageFactory deferredStorageFactory = mock(DeferredStorageFactory.class);
+        when(deferredStorageFactory.getPromotedCount()).thenReturn(5L, 5L);
+
+        TransactionMetricCollector collector = new DefaultTransactionMetricCollector(transactionMetric, deferredStorageFactory);
+
+        TTransaction first = collector.collect();
+        Assert.assertEquals(10, first.getSampledNewCount());
+        Assert.assertEquals(90, first.getUnsampledNewCount());
+        // 10 sampled + 5 promoted out of 100
+        Assert.assertEquals(15.0, first.getSamplingRate(), 0.001);
+
+        // no new transaction
+        TTransaction second = collector.collect();
+        Assert.assertFalse(second.isSetSamplingRate());
+    }
+}
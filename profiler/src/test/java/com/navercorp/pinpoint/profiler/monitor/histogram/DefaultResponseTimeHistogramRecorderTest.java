@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.histogram;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.profiler.context.BaseTraceFactory;
+import com.navercorp.pinpoint.profiler.context.DisableTrace;
+import com.navercorp.pinpoint.profiler.context.ThreadLocalTraceFactory;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class DefaultResponseTimeHistogramRecorderTest {
+
+    private final HistogramSchema schema = ServiceType.STAND_ALONE.getHistogramSchema();
+
+    @Test
+    public void drain() {
+        DefaultResponseTimeHistogramRecorder recorder = new DefaultResponseTimeHistogramRecorder(ServiceType.STAND_ALONE, 4);
+        recorder.record(true, 10, false);
+        recorder.record(true, 20, false);
+        recorder.record(true, 10, true);
+        recorder.record(false, 100000, false);
+
+        List<TResponseTimeCount> counts = recorder.drain();
+        Assert.assertEquals(3, counts.size());
+        Assert.assertEquals(2, find(counts, true, schema.getFastSlot().getSlotTime()).getCount());
+        Assert.assertEquals(1, find(counts, true, schema.getFastErrorSlot().getSlotTime()).getCount());
+        Assert.assertEquals(1, find(counts, false, schema.getVerySlowSlot().getSlotTime()).getCount());
+
+        Assert.assertTrue(recorder.drain().isEmpty());
+    }
+
+    @Test
+    public void concurrentRecord() throws InterruptedException {
+        final DefaultResponseTimeHistogramRecorder recorder = new DefaultResponseTimeHistogramRecorder(ServiceType.STAND_ALONE, 4);
+        final int threadCount = 8;
+        final int recordCount = 10000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < recordCount; j++) {
+                        recorder.record(true, 10, false);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<TResponseTimeCount> counts = recorder.drain();
+        Assert.assertEquals(1, counts.size());
+        Assert.assertEquals(threadCount * recordCount, counts.get(0).getCount());
+    }
+
+    @Test
+    public void disableTrace() {
+        DefaultResponseTimeHistogramRecorder recorder = new DefaultResponseTimeHistogramRecorder(ServiceType.STAND_ALONE, 4);
+        DisableTrace trace = new DisableTrace(1, true, recorder);
+        trace.close();
+        // closed once
+        trace.close();
+
+        List<TResponseTimeCount> counts = recorder.drain();
+        Assert.assertEquals(1, counts.size());
+        Assert.assertTrue(counts.get(0).isRoot());
+        Assert.assertEquals(1, counts.get(0).getCount());
+    }
+
+    @Test
+    public void disableTraceError() {
+        DefaultResponseTimeHistogramRecorder recorder = new DefaultResponseTimeHistogramRecorder(ServiceType.STAND_ALONE, 4);
+        DisableTrace trace = new DisableTrace(1, true, recorder);
+        trace.getSpanRecorder().recordException(new RuntimeException());
+        trace.close();
+
+        List<TResponseTimeCount> counts = recorder.drain();
+        Assert.assertEquals(1, counts.size());
+        short errorSlot = ServiceType.STAND_ALONE.getHistogramSchema().getFastErrorSlot().getSlotTime();
+        Assert.assertEquals(1, find(counts, true, errorSlot).getCount());
+    }
+
+    @Test
+    public void recordDisableTraceOnRemove() {
+        DefaultResponseTimeHistogramRecorder recorder = new DefaultResponseTimeHistogramRecorder(ServiceType.STAND_ALONE, 4);
+        BaseTraceFactory baseTraceFactory = Mockito.mock(BaseTraceFactory.class);
+        Mockito.when(baseTraceFactory.disableSampling()).thenReturn(new DisableTrace(1, false, recorder));
+        ThreadLocalTraceFactory traceFactory = new ThreadLocalTraceFactory(baseTraceFactory);
+
+        Trace trace = traceFactory.disableSampling();
+        Assert.assertTrue(recorder.drain().isEmpty());
+        Assert.assertSame(trace, traceFactory.removeTraceObject());
+        // closed by the interceptor as well
+        trace.close();
+
+        List<TResponseTimeCount> counts = recorder.drain();
+        Assert.assertEquals(1, counts.size());
+        Assert.assertFalse(counts.get(0).isRoot());
+        Assert.assertEquals(1, counts.get(0).getCount());
+    }
+
+    private TResponseTimeCount find(List<TResponseTimeCount> counts, boolean root, short slot) {
+        for (TResponseTimeCount count : counts) {
+            if (count.isRoot() == root && count.getSlot() == slot) {
+                return count;
+            }
+        }
+        Assert.fail("not found. root:" + root + ", slot:" + slot);
+        return null;
+    }
+}
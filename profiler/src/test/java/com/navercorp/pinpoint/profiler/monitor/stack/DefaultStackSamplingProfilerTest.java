@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stack;
+
+import com.navercorp.pinpoint.profiler.context.active.ActiveTrace;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.StripedActiveTraceRepository;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
+import com.navercorp.pinpoint.thrift.dto.command.TFoldedStack;
+import com.navercorp.pinpoint.thrift.dto.command.TStackProfile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+
+public class DefaultStackSamplingProfilerTest {
+
+    @Test
+    public void sampleSlowTransaction() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        Thread slowThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException ignore) {
+                }
+            }
+        });
+        slowThread.start();
+        started.await();
+
+        try {
+            long currentTime = System.currentTimeMillis();
+            ActiveTraceRepository activeTraceRepository = new StripedActiveTraceRepository(64);
+            activeTraceRepository.put(newActiveTrace(1, currentTime - 5000, slowThread, "/slow"));
+            activeTraceRepository.put(newActiveTrace(2, currentTime, Thread.currentThread(), "/fast"));
+
+            FoldedStackAggregator aggregator = new FoldedStackAggregator(10, 10);
+            DefaultStackSamplingProfiler profiler = new DefaultStackSamplingProfiler(activeTraceRepository, aggregator, 100, 1000, 64);
+
+            Assert.assertEquals(1, profiler.sample());
+            Assert.assertEquals(1, profiler.sample());
+
+            TCmdStackProfileRes stackProfile = aggregator.createStackProfile();
+            Assert.assertEquals(1, stackProfile.getStackProfilesSize());
+            TStackProfile profile = stackProfile.getStackProfiles().get(0);
+            Assert.assertEquals("/slow", profile.getEntryPoint());
+            Assert.assertEquals(2, profile.getSampleCount());
+
+            TFoldedStack foldedStack = profile.getFoldedStacks().get(0);
+            Assert.assertTrue(foldedStack.getStack(), foldedStack.getStack().startsWith("java.lang.Thread.run;"));
+        } finally {
+            finish.countDown();
+            slowThread.join();
+        }
+    }
+
+    private ActiveTrace newActiveTrace(long id, long startTime, Thread thread, String entryPoint) {
+        ActiveTrace activeTrace = Mockito.mock(ActiveTrace.class);
+        Mockito.when(activeTrace.getId()).thenReturn(id);
+        Mockito.when(activeTrace.getStartTime()).thenReturn(startTime);
+        Mockito.when(activeTrace.getBindThread()).thenReturn(thread);
+        Mockito.when(activeTrace.getEntryPoint()).thenReturn(entryPoint);
+        return activeTrace;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.stack;
+
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
+import com.navercorp.pinpoint.thrift.dto.command.TFoldedStack;
+import com.navercorp.pinpoint.thrift.dto.command.TStackProfile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+public class FoldedStackAggregatorTest {
+
+    @Test
+    public void fold() {
+        StackTraceElement[] stackTrace = new StackTraceElement[] {
+                new StackTraceElement("com.Leaf", "leaf", "Leaf.java", 1),
+                new StackTraceElement("com.Middle", "middle", "Middle.java", 2),
+                new StackTraceElement("com.Root", "root", "Root.java", 3)
+        };
+        Assert.assertEquals("com.Root.root;com.Middle.middle;com.Leaf.leaf", FoldedStackAggregator.fold(stackTrace));
+        Assert.assertEquals("", FoldedStackAggregator.fold(new StackTraceElement[0]));
+    }
+
+    @Test
+    public void aggregate() {
+        FoldedStackAggregator aggregator = new FoldedStackAggregator(10, 10);
+        aggregator.add("/a", "x;y");
+        aggregator.add("/a", "x;y");
+        aggregator.add("/a", "x;z");
+        aggregator.add(null, "x;y");
+
+        TCmdStackProfileRes stackProfile = aggregator.createStackProfile();
+        Assert.assertFalse(stackProfile.isSetDroppedCount());
+        Map<String, TStackProfile> profileMap = toMap(stackProfile);
+        Assert.assertEquals(2, profileMap.size());
+
+        TStackProfile profile = profileMap.get("/a");
+        Assert.assertEquals(3, profile.getSampleCount());
+        Assert.assertFalse(profile.isSetDroppedCount());
+        Map<String, Integer> stackMap = toStackMap(profile);
+        Assert.assertEquals(Integer.valueOf(2), stackMap.get("x;y"));
+        Assert.assertEquals(Integer.valueOf(1), stackMap.get("x;z"));
+
+        Assert.assertEquals(1, profileMap.get(FoldedStackAggregator.UNKNOWN_ENTRY_POINT).getSampleCount());
+    }
+
+    @Test
+    public void bounded() {
+        FoldedStackAggregator aggregator = new FoldedStackAggregator(2, 3);
+        aggregator.add("/a", "1");
+        aggregator.add("/a", "2");
+        aggregator.add("/b", "3");
+        // stack limit
+        aggregator.add("/b", "4");
+        aggregator.add("/b", "3");
+        // entry point limit
+        aggregator.add("/c", "1");
+
+        TCmdStackProfileRes stackProfile = aggregator.createStackProfile();
+        Assert.assertEquals(1, stackProfile.getDroppedCount());
+        Map<String, TStackProfile> profileMap = toMap(stackProfile);
+        Assert.assertEquals(2, profileMap.size());
+        TStackProfile profile = profileMap.get("/b");
+        Assert.assertEquals(3, profile.getSampleCount());
+        Assert.assertEquals(1, profile.getDroppedCount());
+        Assert.assertEquals(Integer.valueOf(2), toStackMap(profile).get("3"));
+    }
+
+    @Test
+    public void resetPerProfile() {
+        FoldedStackAggregator aggregator = new FoldedStackAggregator(1, 1);
+        aggregator.add("/a", "1");
+        // entry point limit
+        aggregator.add("/b", "1");
+
+        TCmdStackProfileRes stackProfile = aggregator.createStackProfile();
+        Assert.assertEquals(1, stackProfile.getDroppedCount());
+        Assert.assertEquals(1, stackProfile.getStackProfilesSize());
+        Assert.assertTrue(stackProfile.getStartTime() <= stackProfile.getEndTime());
+
+        // limits are released
+        aggregator.add("/b", "2");
+        TCmdStackProfileRes next = aggregator.createStackProfile();
+        Assert.assertEquals(stackProfile.getEndTime(), next.getStartTime());
+        Assert.assertEquals(1, next.getStackProfilesSize());
+        Assert.assertEquals("/b", next.getStackProfiles().get(0).getEntryPoint());
+        Assert.assertFalse(next.isSetDroppedCount());
+
+        // drained
+        Assert.assertEquals(0, aggregator.createStackProfile().getStackProfilesSize());
+    }
+
+    @Test
+    public void concurrentAdd() throws InterruptedException {
+        final FoldedStackAggregator aggregator = new FoldedStackAggregator(4, 8);
+        final int threadCount = 4;
+        final int perThread = 10000;
+        final CountDownLatch endLatch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < perThread; j++) {
+                        aggregator.add("/a", "stack" + (j % 4));
+                    }
+                    endLatch.countDown();
+                }
+            });
+            thread.start();
+        }
+        endLatch.await();
+
+        TStackProfile profile = toMap(aggregator.createStackProfile()).get("/a");
+        Assert.assertEquals(threadCount * perThread, profile.getSampleCount());
+        Map<String, Integer> stackMap = toStackMap(profile);
+        Assert.assertEquals(4, stackMap.size());
+        for (Integer count : stackMap.values()) {
+            Assert.assertEquals(Integer.valueOf(threadCount * perThread / 4), count);
+        }
+    }
+
+    private Map<String, TStackProfile> toMap(TCmdStackProfileRes stackProfile) {
+        Map<String, TStackProfile> map = new HashMap<String, TStackProfile>();
+        for (TStackProfile profile : stackProfile.getStackProfiles()) {
+            map.put(profile.getEntryPoint(), profile);
+        }
+        return map;
+    }
+
+    private Map<String, Integer> toStackMap(TStackProfile profile) {
+        Map<String, Integer> map = new HashMap<String, Integer>();
+        for (TFoldedStack foldedStack : profile.getFoldedStacks()) {
+            map.put(foldedStack.getStack(), foldedStack.getCount());
+        }
+        return map;
+    }
+}
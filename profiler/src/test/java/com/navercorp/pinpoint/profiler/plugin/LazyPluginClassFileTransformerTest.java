@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LazyPluginClassFileTransformerTest {
+
+    private final ProfilerPlugin plugin = mock(ProfilerPlugin.class);
+    private final ClassInjector classInjector = mock(ClassInjector.class);
+    private final byte[] classfileBuffer = new byte[0];
+    private final byte[] transformed = new byte[1];
+
+    @Test
+    public void setupOnFirstTriggerClass() throws Exception {
+        final MatchableClassFileTransformer fooTransformer = newTransformer("com.test.Foo");
+        final MatchableClassFileTransformer barTransformer = newTransformer("com.test.Bar");
+        final PluginSetup pluginSetup = newPluginSetup(fooTransformer, barTransformer);
+
+        LazyPluginClassFileTransformer transformer = new LazyPluginClassFileTransformer(pluginSetup, plugin, classInjector, Arrays.asList("com.test.Foo", "com.test.Bar"));
+        Assert.assertFalse(transformer.isSetup());
+        verify(pluginSetup, never()).setupPlugin(plugin, classInjector);
+
+        Assert.assertSame(transformed, transform(transformer, "com/test/Foo"));
+        Assert.assertTrue(transformer.isSetup());
+        Assert.assertSame(transformed, transform(transformer, "com/test/Bar"));
+        Assert.assertNull(transform(transformer, "com/test/Unknown"));
+
+        verify(pluginSetup, times(1)).setupPlugin(plugin, classInjector);
+        verify(fooTransformer).transform(any(ClassLoader.class), eq("com/test/Foo"), any(Class.class), any(ProtectionDomain.class), eq(classfileBuffer));
+        verify(barTransformer).transform(any(ClassLoader.class), eq("com/test/Bar"), any(Class.class), any(ProtectionDomain.class), eq(classfileBuffer));
+    }
+
+    @Test
+    public void setupFail() throws Exception {
+        final PluginSetup pluginSetup = mock(PluginSetup.class);
+        when(pluginSetup.setupPlugin(plugin, classInjector)).thenThrow(new IllegalStateException("setup fail"));
+
+        LazyPluginClassFileTransformer transformer = new LazyPluginClassFileTransformer(pluginSetup, plugin, classInjector, Collections.singletonList("com.test.Foo"));
+        Assert.assertNull(transform(transformer, "com/test/Foo"));
+        Assert.assertNull(transform(transformer, "com/test/Foo"));
+        // not retried
+        verify(pluginSetup, times(1)).setupPlugin(plugin, classInjector);
+    }
+
+    @Test
+    public void lazySetupResult() {
+        LazyPluginClassFileTransformer transformer = new LazyPluginClassFileTransformer(mock(PluginSetup.class), plugin, classInjector, Collections.singletonList("com.test.Foo"));
+        SetupResult setupResult = new LazySetupResult(transformer);
+
+        Assert.assertEquals(Collections.<ClassFileTransformer>singletonList(transformer), setupResult.getClassTransformerList());
+        Assert.assertTrue(setupResult.getApplicationTypeDetectors().isEmpty());
+        Assert.assertTrue(setupResult.getJdbcUrlParserList().isEmpty());
+    }
+
+    private byte[] transform(ClassFileTransformer transformer, String className) throws Exception {
+        return transformer.transform(null, className, null, null, classfileBuffer);
+    }
+
+    private MatchableClassFileTransformer newTransformer(String className) throws Exception {
+        final MatchableClassFileTransformer transformer = mock(MatchableClassFileTransformer.class);
+        when(transformer.getMatcher()).thenReturn(Matchers.newClassNameMatcher(className.replace('.', '/')));
+        when(transformer.transform(any(ClassLoader.class), anyString(), any(Class.class), any(ProtectionDomain.class), any(byte[].class))).thenReturn(transformed);
+        return transformer;
+    }
+
+    private PluginSetup newPluginSetup(ClassFileTransformer... transformers) {
+        final SetupResult setupResult = mock(SetupResult.class);
+        when(setupResult.getClassTransformerList()).thenReturn(Arrays.asList(transformers));
+        final PluginSetup pluginSetup = mock(PluginSetup.class);
+        when(pluginSetup.setupPlugin(plugin, classInjector)).thenReturn(setupResult);
+        return pluginSetup;
+    }
+}
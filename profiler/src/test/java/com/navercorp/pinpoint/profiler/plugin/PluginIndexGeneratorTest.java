@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplate;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplateAware;
+import com.navercorp.pinpoint.bootstrap.plugin.ApplicationTypeDetector;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginSetupContext;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+
+public class PluginIndexGeneratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void createIndex() {
+        final List<ProfilerPlugin> plugins = Arrays.<ProfilerPlugin>asList(new TestPlugin(), new DetectorPlugin(), new EmptyPlugin());
+        final Map<String, String> index = new PluginIndexGenerator().createIndex(plugins);
+
+        Assert.assertEquals(1, index.size());
+        // com.test.Optional is registered only if the option is enabled
+        Assert.assertEquals("com.test.Foo,com.test.Optional", index.get(TestPlugin.class.getName()));
+    }
+
+    @Test
+    public void readIndex() throws IOException {
+        final PluginIndexGenerator generator = new PluginIndexGenerator();
+        final File pluginDirectory = temporaryFolder.newFolder("plugin");
+        final File indexFile = new File(pluginDirectory, PluginIndex.INDEX_FILE_NAME);
+        generator.write(generator.createIndex(Arrays.<ProfilerPlugin>asList(new TestPlugin())), indexFile);
+
+        final URL pluginJar = new File(pluginDirectory, "plugin.jar").toURI().toURL();
+        final PluginIndex pluginIndex = PluginIndex.read(new URL[] {pluginJar});
+        Assert.assertEquals(Arrays.asList("com.test.Foo", "com.test.Optional"), pluginIndex.getTriggerClassList(TestPlugin.class.getName()));
+        Assert.assertTrue(pluginIndex.getTriggerClassList(DetectorPlugin.class.getName()).isEmpty());
+    }
+
+    @Test
+    public void readIndex_notGenerated() throws IOException {
+        final File pluginDirectory = temporaryFolder.newFolder("plugin");
+
+        final URL pluginJar = new File(pluginDirectory, "plugin.jar").toURI().toURL();
+        final PluginIndex pluginIndex = PluginIndex.read(new URL[] {pluginJar});
+        Assert.assertTrue(pluginIndex.getTriggerClassList(TestPlugin.class.getName()).isEmpty());
+    }
+
+    public static class TestPlugin implements ProfilerPlugin, TransformTemplateAware {
+        private TransformTemplate transformTemplate;
+
+        @Override
+        public void setup(ProfilerPluginSetupContext context) {
+            transformTemplate.transform("com.test.Foo", mock(TransformCallback.class));
+            if (context.getConfig().readBoolean("profiler.test.optional", false)) {
+                transformTemplate.transform("com.test.Optional", mock(TransformCallback.class));
+            }
+        }
+
+        @Override
+        public void setTransformTemplate(TransformTemplate transformTemplate) {
+            this.transformTemplate = transformTemplate;
+        }
+    }
+
+    public static class DetectorPlugin implements ProfilerPlugin, TransformTemplateAware {
+        private TransformTemplate transformTemplate;
+
+        @Override
+        public void setup(ProfilerPluginSetupContext context) {
+            context.addApplicationTypeDetector(mock(ApplicationTypeDetector.class));
+            transformTemplate.transform("com.test.Bar", mock(TransformCallback.class));
+        }
+
+        @Override
+        public void setTransformTemplate(TransformTemplate transformTemplate) {
+            this.transformTemplate = transformTemplate;
+        }
+    }
+
+    public static class EmptyPlugin implements ProfilerPlugin {
+        @Override
+        public void setup(ProfilerPluginSetupContext context) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EntryPointSampleFloorTest {
+
+    @Test
+    public void oneSamplePerInterval() {
+        EntryPointSampleFloor floor = new EntryPointSampleFloor(1000, 16);
+        Assert.assertTrue(floor.tryAcquire("/a", 0));
+        Assert.assertFalse(floor.tryAcquire("/a", 999));
+        Assert.assertTrue(floor.tryAcquire("/b", 999));
+        Assert.assertTrue(floor.tryAcquire("/a", 1000));
+        Assert.assertFalse(floor.tryAcquire("/a", 1500));
+    }
+
+    @Test
+    public void nullEntryPoint() {
+        EntryPointSampleFloor floor = new EntryPointSampleFloor(1000, 16);
+        Assert.assertFalse(floor.tryAcquire(null, 0));
+    }
+
+    @Test
+    public void maxEntryPointCount() {
+        EntryPointSampleFloor floor = new EntryPointSampleFloor(1000, 2);
+        Assert.assertTrue(floor.tryAcquire("/a", 0));
+        Assert.assertTrue(floor.tryAcquire("/b", 500));
+        // full and nothing expired
+        Assert.assertFalse(floor.tryAcquire("/c", 600));
+        Assert.assertEquals(2, floor.getEntryPointCount());
+
+        // "/a" expired
+        Assert.assertTrue(floor.tryAcquire("/c", 1000));
+        Assert.assertEquals(2, floor.getEntryPointCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidInterval() {
+        new EntryPointSampleFloor(0, 16);
+    }
+}
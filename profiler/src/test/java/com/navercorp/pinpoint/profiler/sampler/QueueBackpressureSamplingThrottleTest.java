@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.profiler.sender.QueueStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueueBackpressureSamplingThrottleTest {
+
+    @Test
+    public void targetLevel() {
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(new MockQueueStatus(100), 50, 90);
+        Assert.assertEquals(0, throttle.targetLevel(0));
+        Assert.assertEquals(0, throttle.targetLevel(50));
+        Assert.assertEquals(50, throttle.targetLevel(70));
+        Assert.assertEquals(100, throttle.targetLevel(90));
+        Assert.assertEquals(100, throttle.targetLevel(100));
+    }
+
+    @Test
+    public void riseImmediatelyAndRecoverGradually() {
+        MockQueueStatus queueStatus = new MockQueueStatus(100);
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(queueStatus, 50, 90);
+        long time = QueueBackpressureSamplingThrottle.UPDATE_INTERVAL;
+
+        queueStatus.size = 95;
+        Assert.assertEquals(100, throttle.updateThrottleLevel(time));
+
+        // drained
+        queueStatus.size = 0;
+        // not yet re-evaluated
+        Assert.assertEquals(100, throttle.updateThrottleLevel(time + 1));
+
+        int expected = 100;
+        while (expected > 0) {
+            time += QueueBackpressureSamplingThrottle.UPDATE_INTERVAL;
+            expected -= QueueBackpressureSamplingThrottle.RECOVERY_STEP;
+            Assert.assertEquals(expected, throttle.updateThrottleLevel(time));
+        }
+    }
+
+    @Test
+    public void dropRatio() {
+        MockQueueStatus queueStatus = new MockQueueStatus(100);
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(queueStatus, 50, 90);
+        Assert.assertEquals(0, throttledCount(throttle, 1000));
+
+        queueStatus.size = 70;
+        throttle.updateThrottleLevel(System.currentTimeMillis() + QueueBackpressureSamplingThrottle.UPDATE_INTERVAL);
+        Assert.assertEquals(500, throttledCount(throttle, 1000));
+
+        queueStatus.size = 100;
+        throttle.updateThrottleLevel(System.currentTimeMillis() + QueueBackpressureSamplingThrottle.UPDATE_INTERVAL * 2);
+        Assert.assertEquals(1000, throttledCount(throttle, 1000));
+    }
+
+    @Test
+    public void getterDoesNotEvaluate() {
+        MockQueueStatus queueStatus = new MockQueueStatus(100);
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(queueStatus, 50, 90);
+
+        queueStatus.size = 100;
+        Assert.assertEquals(0, throttle.getThrottleLevel());
+        Assert.assertEquals(0, throttle.getThrottleLevel());
+
+        throttle.updateThrottleLevel(System.currentTimeMillis() + QueueBackpressureSamplingThrottle.UPDATE_INTERVAL);
+        Assert.assertEquals(100, throttle.getThrottleLevel());
+    }
+
+    @Test
+    public void throttledCount() {
+        MockQueueStatus queueStatus = new MockQueueStatus(100);
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(queueStatus, 50, 90);
+        queueStatus.size = 70;
+        throttle.updateThrottleLevel(System.currentTimeMillis() + QueueBackpressureSamplingThrottle.UPDATE_INTERVAL);
+
+        int throttled = throttledCount(throttle, 1000);
+        Assert.assertEquals(throttled, throttle.getThrottledCount());
+    }
+
+    @Test
+    public void throttledSampler() {
+        MockQueueStatus queueStatus = new MockQueueStatus(100);
+        queueStatus.size = 100;
+        QueueBackpressureSamplingThrottle throttle = new QueueBackpressureSamplingThrottle(queueStatus, 50, 90);
+
+        Assert.assertFalse(new ThrottledSampler(new TrueSampler(), throttle).isSampling());
+        Assert.assertTrue(new ThrottledSampler(new TrueSampler(), DisabledSamplingThrottle.INSTANCE).isSampling());
+        Assert.assertFalse(new ThrottledSampler(new FalseSampler(), DisabledSamplingThrottle.INSTANCE).isSampling());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWatermark() {
+        new QueueBackpressureSamplingThrottle(new MockQueueStatus(100), 90, 50);
+    }
+
+    private int throttledCount(SamplingThrottle throttle, int count) {
+        int throttled = 0;
+        for (int i = 0; i < count; i++) {
+            if (throttle.isThrottled()) {
+                throttled++;
+            }
+        }
+        return throttled;
+    }
+
+    private static class MockQueueStatus implements QueueStatus {
+        private final int capacity;
+        private int size;
+
+        private MockQueueStatus(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public int getQueueSize() {
+            return size;
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public long getDropCount() {
+            return 0;
+        }
+    }
+}
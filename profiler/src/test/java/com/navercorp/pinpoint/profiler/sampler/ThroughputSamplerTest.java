@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class ThroughputSamplerTest {
+
+    @Test
+    public void limitThroughput() {
+        MockClockSampler sampler = new MockClockSampler(10);
+        Assert.assertEquals(10, sampleCount(sampler, 100));
+
+        // half a second later, half of the bucket is refilled
+        sampler.time += TimeUnit.MILLISECONDS.toNanos(500);
+        Assert.assertEquals(5, sampleCount(sampler, 100));
+
+        sampler.time += TimeUnit.SECONDS.toNanos(1);
+        Assert.assertEquals(10, sampleCount(sampler, 100));
+    }
+
+    @Test
+    public void bucketDoesNotGrowWhileIdle() {
+        MockClockSampler sampler = new MockClockSampler(10);
+        sampler.time += TimeUnit.MINUTES.toNanos(10);
+        Assert.assertEquals(10, sampleCount(sampler, 100));
+    }
+
+    @Test
+    public void sampleEveryTransactionUnderThroughput() {
+        MockClockSampler sampler = new MockClockSampler(10);
+        for (int i = 0; i < 100; i++) {
+            sampler.time += TimeUnit.MILLISECONDS.toNanos(200);
+            Assert.assertTrue(sampler.isSampling());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThroughput() {
+        new ThroughputSampler(0);
+    }
+
+    @Test
+    public void samplerFactory() {
+        SamplerFactory samplerFactory = new SamplerFactory();
+        Assert.assertTrue(samplerFactory.createSampler(true, SamplerType.THROUGHPUT, 1, 10) instanceof ThroughputSampler);
+        Assert.assertTrue(samplerFactory.createSampler(true, SamplerType.THROUGHPUT, 1, 0) instanceof FalseSampler);
+        Assert.assertTrue(samplerFactory.createSampler(false, SamplerType.THROUGHPUT, 1, 10) instanceof FalseSampler);
+        Assert.assertTrue(samplerFactory.createSampler(true, SamplerType.RATE, 1, 10) instanceof TrueSampler);
+    }
+
+    private int sampleCount(ThroughputSampler sampler, int tries) {
+        int count = 0;
+        for (int i = 0; i < tries; i++) {
+            if (sampler.isSampling()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class MockClockSampler extends ThroughputSampler {
+        // 0 while the super constructor runs
+        private long time;
+
+        MockClockSampler(int throughput) {
+            super(throughput);
+        }
+
+        @Override
+        long nanoTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.SocketUtils;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CoalescingUdpDataSenderTest {
+
+    private int PORT = SocketUtils.findAvailableUdpPort(61112);
+    private DatagramSocket receiver;
+
+    private final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializerFactory().createDeserializer();
+
+    @Before
+    public void setUp() throws SocketException {
+        receiver = new DatagramSocket(PORT);
+        receiver.setSoTimeout(3000);
+    }
+
+    @After
+    public void tearDown() {
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        final int messageCount = 100;
+        CoalescingUdpDataSender sender = new CoalescingUdpDataSender("localhost", PORT, "test", 1024, 1000, 1024 * 64 * 100, AsyncQueueType.LINKED,
+                CoalescingUdpDataSender.DEFAULT_PACKET_SIZE, 50);
+        try {
+            for (int i = 0; i < messageCount; i++) {
+                sender.send(newApiMetaData(i));
+            }
+
+            List<TBase<?, ?>> received = new ArrayList<TBase<?, ?>>();
+            int packetCount = 0;
+            while (received.size() < messageCount) {
+                DatagramPacket packet = receive();
+                Assert.assertTrue(packet.getLength() <= CoalescingUdpDataSender.DEFAULT_PACKET_SIZE);
+                received.addAll(deserialize(packet));
+                packetCount++;
+            }
+            Assert.assertEquals(messageCount, received.size());
+            Assert.assertTrue("packetCount:" + packetCount, packetCount < messageCount / 5);
+            // keep the order
+            for (int i = 0; i < messageCount; i++) {
+                Assert.assertEquals(i, ((TApiMetaData) received.get(i)).getApiId());
+            }
+        } finally {
+            sender.stop();
+        }
+    }
+
+    @Test
+    public void flushInterval() throws Exception {
+        CoalescingUdpDataSender sender = new CoalescingUdpDataSender("localhost", PORT, "test", 1024, 1000, 1024 * 64 * 100, AsyncQueueType.LINKED,
+                CoalescingUdpDataSender.DEFAULT_PACKET_SIZE, 50);
+        try {
+            sender.send(newApiMetaData(1));
+
+            DatagramPacket packet = receive();
+            // single message is sent without chunk header
+            List<TBase<?, ?>> list = deserialize(packet);
+            Assert.assertEquals(1, list.size());
+            Assert.assertEquals(1, ((TApiMetaData) list.get(0)).getApiId());
+            Assert.assertEquals(0, sender.getPendingMessageCount());
+        } finally {
+            sender.stop();
+        }
+    }
+
+    @Test
+    public void largeMessage() throws Exception {
+        CoalescingUdpDataSender sender = new CoalescingUdpDataSender("localhost", PORT, "test", 1024, 1000, 1024 * 64 * 100, AsyncQueueType.LINKED,
+                CoalescingUdpDataSender.DEFAULT_PACKET_SIZE, 1000 * 60);
+        try {
+            sender.send(newApiMetaData(1));
+            TSpan span = new TSpan();
+            span.setAgentId("agentId");
+            span.setRpc(RandomStringUtils.randomAlphabetic(CoalescingUdpDataSender.DEFAULT_PACKET_SIZE * 2));
+            sender.send(span);
+
+            // pending message first
+            List<TBase<?, ?>> first = deserialize(receive());
+            Assert.assertEquals(1, first.size());
+            Assert.assertTrue(first.get(0) instanceof TApiMetaData);
+
+            List<TBase<?, ?>> second = deserialize(receive());
+            Assert.assertEquals(1, second.size());
+            Assert.assertEquals(span.getRpc(), ((TSpan) second.get(0)).getRpc());
+        } finally {
+            sender.stop();
+        }
+    }
+
+    @Test
+    public void flushOnStop() throws Exception {
+        CoalescingUdpDataSender sender = new CoalescingUdpDataSender("localhost", PORT, "test", 1024, 1000, 1024 * 64 * 100, AsyncQueueType.LINKED,
+                CoalescingUdpDataSender.DEFAULT_PACKET_SIZE, 1000 * 60);
+        sender.send(newApiMetaData(1));
+        sender.send(newApiMetaData(2));
+        sender.stop();
+
+        List<TBase<?, ?>> list = deserialize(receive());
+        Assert.assertEquals(2, list.size());
+    }
+
+    private DatagramPacket receive() throws IOException {
+        byte[] receiveData = new byte[65535];
+        DatagramPacket datagramPacket = new DatagramPacket(receiveData, 0, receiveData.length);
+        receiver.receive(datagramPacket);
+        return datagramPacket;
+    }
+
+    private List<TBase<?, ?>> deserialize(DatagramPacket packet) throws TException {
+        return deserializer.deserialize(packet.getData(), packet.getOffset(), packet.getLength());
+    }
+
+    private TApiMetaData newApiMetaData(int apiId) {
+        TApiMetaData apiMetaData = new TApiMetaData();
+        apiMetaData.setAgentId("agentId");
+        apiMetaData.setAgentStartTime(1000);
+        apiMetaData.setApiId(apiId);
+        apiMetaData.setApiInfo("com.navercorp.pinpoint.Test.method(String arg)");
+        return apiMetaData;
+    }
+}
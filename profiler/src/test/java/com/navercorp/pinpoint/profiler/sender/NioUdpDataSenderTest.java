@@ -17,12 +17,17 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.profiler.sender.spill.DiskSpillQueue;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.thrift.TBase;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.SocketUtils;
@@ -48,6 +53,9 @@ public class NioUdpDataSenderTest {
     private int PORT = SocketUtils.findAvailableUdpPort(61112);
     private DatagramSocket receiver;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void setUp() throws SocketException {
         receiver = new DatagramSocket(PORT);
@@ -86,6 +94,27 @@ public class NioUdpDataSenderTest {
         }
     }
 
+    @Test
+    public void replaySpilledMessage() throws Exception {
+        DiskSpillQueue spillQueue = new DiskSpillQueue(temporaryFolder.getRoot(), 1024 * 64, 2);
+        TAgentInfo agentInfo = new TAgentInfo();
+        agentInfo.setAgentId("spilled");
+        byte[] data = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer().serialize(agentInfo);
+        Assert.assertTrue(spillQueue.offer(data));
+
+        NioUDPDataSender sender = new NioUDPDataSender("localhost", PORT, "test", 128, 1000, 1024 * 64 * 100);
+        sender.setSpillQueue(spillQueue, 100);
+        try {
+            byte[] receiveData = new byte[65535];
+            DatagramPacket datagramPacket = new DatagramPacket(receiveData, 0, receiveData.length);
+            receiver.receive(datagramPacket);
+            Assert.assertEquals(data.length, datagramPacket.getLength());
+            Assert.assertTrue(spillQueue.isEmpty());
+        } finally {
+            sender.stop();
+        }
+    }
+
     @Test(expected = IOException.class)
     public void exceedMessageSendTest() throws InterruptedException, IOException {
         String random = RandomStringUtils.randomAlphabetic(UdpDataSender.UDP_MAX_PACKET_LENGTH + 100);
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RingBufferAsyncQueueTest {
+
+    @Test
+    public void capacity() {
+        Assert.assertEquals(8, new RingBufferAsyncQueue<Object>(8).capacity());
+        Assert.assertEquals(10, new RingBufferAsyncQueue<Object>(10).capacity());
+        Assert.assertEquals(1, new RingBufferAsyncQueue<Object>(1).capacity());
+    }
+
+    @Test
+    public void dropOverConfiguredCapacity() throws InterruptedException {
+        // ring of 8 slots
+        RingBufferAsyncQueue<Integer> queue = new RingBufferAsyncQueue<Integer>(5);
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 5; i++) {
+                Assert.assertTrue(queue.offer(i));
+            }
+            Assert.assertFalse(queue.offer(5));
+            Assert.assertEquals(5, queue.size());
+
+            Assert.assertEquals(Integer.valueOf(0), queue.poll(10, TimeUnit.MILLISECONDS));
+            Assert.assertTrue(queue.offer(5));
+            Assert.assertFalse(queue.offer(6));
+            Assert.assertEquals(5, queue.drainTo(new ArrayList<Integer>(), 100));
+        }
+    }
+
+    @Test
+    public void offerAndPoll() throws InterruptedException {
+        RingBufferAsyncQueue<Integer> queue = new RingBufferAsyncQueue<Integer>(4);
+        Assert.assertTrue(queue.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        // drop on full
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(4, queue.size());
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll(10, TimeUnit.MILLISECONDS));
+        }
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(queue.isEmpty());
+
+        // next lap
+        Assert.assertTrue(queue.offer(5));
+        Assert.assertEquals(Integer.valueOf(5), queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void drainTo() {
+        RingBufferAsyncQueue<Integer> queue = new RingBufferAsyncQueue<Integer>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drain = new ArrayList<Integer>();
+        Assert.assertEquals(4, queue.drainTo(drain, 4));
+        Assert.assertEquals(6, queue.size());
+        Assert.assertEquals(6, queue.drainTo(drain, 100));
+        Assert.assertEquals(10, drain.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(Integer.valueOf(i), drain.get(i));
+        }
+    }
+
+    @Test
+    public void wakeUpParkedConsumer() throws InterruptedException {
+        final RingBufferAsyncQueue<Integer> queue = new RingBufferAsyncQueue<Integer>(4);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.offer(1);
+            }
+        });
+        producer.start();
+        latch.countDown();
+
+        long startTime = System.currentTimeMillis();
+        Integer data = queue.poll(5000, TimeUnit.MILLISECONDS);
+        long elapsed = System.currentTimeMillis() - startTime;
+        Assert.assertEquals(Integer.valueOf(1), data);
+        Assert.assertTrue("elapsed:" + elapsed, elapsed < 5000);
+        producer.join();
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        final int producerCount = 4;
+        final int perProducer = 10000;
+        final RingBufferAsyncQueue<Integer> queue = new RingBufferAsyncQueue<Integer>(128);
+        final AtomicInteger dropCount = new AtomicInteger();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int i = 0; i < producerCount; i++) {
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < perProducer; j++) {
+                        if (!queue.offer(j)) {
+                            dropCount.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        startLatch.countDown();
+
+        int received = 0;
+        while (received + dropCount.get() < producerCount * perProducer) {
+            Integer data = queue.poll(10, TimeUnit.MILLISECONDS);
+            if (data != null) {
+                received++;
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertEquals(producerCount * perProducer, received + dropCount.get());
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
@@ -119,7 +119,7 @@ public class SpanStreamSendDataSerializerTest {
     }
 
     private Span createSpan(List<SpanEvent> spanEventList) {
-        DefaultTraceId traceId = new DefaultTraceId("test", 0, 1);
+        DefaultTraceId traceId = new DefaultTraceId("test", 0, 1, false);
         Span span = new Span();
 
         for (SpanEvent spanEvent : spanEventList) {
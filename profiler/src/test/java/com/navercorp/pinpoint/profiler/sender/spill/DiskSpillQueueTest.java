@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+public class DiskSpillQueueTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void offerAndPoll() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 4);
+        Assert.assertNull(queue.poll());
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(queue.offer(message(i)));
+        }
+        Assert.assertEquals(100, queue.size());
+        // 100 records of 4 + 10 bytes
+        Assert.assertEquals(2, queue.getSegmentCount());
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertArrayEquals(message(i), queue.poll());
+        }
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(1, queue.getSegmentCount());
+        Assert.assertEquals(1, segmentFiles().length);
+        queue.close();
+    }
+
+    @Test
+    public void evictOldestSegment() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 2);
+        final byte[] data = new byte[500];
+        for (int i = 0; i < 8; i++) {
+            data[0] = (byte) i;
+            Assert.assertTrue(queue.offer(data));
+        }
+        // 2 records per segment. the first 2 segments are evicted
+        Assert.assertEquals(2, queue.getSegmentCount());
+        Assert.assertEquals(4, queue.size());
+        Assert.assertEquals(4, queue.getEvictedCount());
+        Assert.assertEquals(2, segmentFiles().length);
+
+        for (int i = 4; i < 8; i++) {
+            Assert.assertEquals(i, queue.poll()[0]);
+        }
+        Assert.assertNull(queue.poll());
+        queue.close();
+    }
+
+    @Test
+    public void tooLargeMessage() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 2);
+        Assert.assertFalse(queue.offer(new byte[SEGMENT_SIZE]));
+        Assert.assertTrue(queue.offer(new byte[SEGMENT_SIZE - 4]));
+        Assert.assertEquals(1, queue.size());
+        queue.close();
+    }
+
+    @Test
+    public void recover() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 4);
+        for (int i = 0; i < 100; i++) {
+            queue.offer(message(i));
+        }
+        for (int i = 0; i < 30; i++) {
+            queue.poll();
+        }
+        queue.close();
+        Assert.assertFalse(queue.offer(message(100)));
+
+        DiskSpillQueue recovered = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 4);
+        Assert.assertEquals(70, recovered.size());
+        // recovered segments are not appended to
+        Assert.assertTrue(recovered.offer(message(100)));
+        Assert.assertEquals(3, recovered.getSegmentCount());
+        for (int i = 30; i <= 100; i++) {
+            Assert.assertArrayEquals(message(i), recovered.poll());
+        }
+        Assert.assertNull(recovered.poll());
+        recovered.close();
+    }
+
+    @Test
+    public void unmapReleasedSegment() throws IOException {
+        Assume.assumeTrue(MappedBufferCleaner.isSupported());
+
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 4);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(queue.offer(message(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertArrayEquals(message(i), queue.poll());
+        }
+        // the drained segment is unmapped and deleted
+        Assert.assertEquals(1, segmentFiles().length);
+        queue.close();
+
+        DiskSpillQueue reopened = new DiskSpillQueue(temporaryFolder.getRoot(), SEGMENT_SIZE, 4);
+        Assert.assertTrue(reopened.isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    public void parseSequence() {
+        Assert.assertEquals(10, DiskSpillQueue.parseSequence("spill-10.seg"));
+        Assert.assertEquals(-1, DiskSpillQueue.parseSequence("spill-a.seg"));
+        Assert.assertEquals(-1, DiskSpillQueue.parseSequence("test.txt"));
+    }
+
+    private byte[] message(int i) {
+        final String message = String.format("message%03d", i);
+        return message.getBytes();
+    }
+
+    private File[] segmentFiles() {
+        return temporaryFolder.getRoot().listFiles();
+    }
+}
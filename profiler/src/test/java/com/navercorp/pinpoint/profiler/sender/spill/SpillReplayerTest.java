@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender.spill;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SpillReplayerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void replayRate() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), 1024 * 64, 2);
+        for (int i = 0; i < 100; i++) {
+            queue.offer(new byte[]{(byte) i});
+        }
+        TestReplayTarget target = new TestReplayTarget();
+        // 10 per interval
+        SpillReplayer replayer = new SpillReplayer("test", queue, target, 100);
+
+        target.replayable = false;
+        Assert.assertEquals(0, replayer.replay());
+
+        target.replayable = true;
+        Assert.assertEquals(10, replayer.replay());
+        Assert.assertEquals(10, replayer.replay());
+        Assert.assertEquals(80, queue.size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i, target.replayed.get(i)[0]);
+        }
+        replayer.stop();
+    }
+
+    @Test
+    public void rejected() throws IOException {
+        DiskSpillQueue queue = new DiskSpillQueue(temporaryFolder.getRoot(), 1024 * 64, 2);
+        queue.offer(new byte[]{1});
+        TestReplayTarget target = new TestReplayTarget();
+        target.accept = false;
+        SpillReplayer replayer = new SpillReplayer("test", queue, target, 100);
+
+        Assert.assertEquals(0, replayer.replay());
+        // not lost
+        Assert.assertEquals(1, queue.size());
+        replayer.stop();
+    }
+
+    private static class TestReplayTarget implements ReplayTarget {
+        private volatile boolean replayable = true;
+        private volatile boolean accept = true;
+        private final List<byte[]> replayed = new ArrayList<byte[]>();
+
+        @Override
+        public boolean isReplayable() {
+            return replayable;
+        }
+
+        @Override
+        public boolean replay(byte[] data) {
+            if (!accept) {
+                return false;
+            }
+            replayed.add(data);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObjectLeakDetectorTest {
+
+    @Test
+    public void leak() {
+        ObjectLeakDetector leakDetector = new ObjectLeakDetector("test", 1000);
+        RecyclingObjectPool<Object> pool = new RecyclingObjectPool<Object>(new TestObjectFactory(), 4, 2, leakDetector);
+
+        Object returned = pool.getObject();
+        Object leaked = pool.getObject();
+        pool.returnObject(returned);
+        Assert.assertEquals(2, leakDetector.getTrackingCount());
+
+        leakDetector.scan(System.currentTimeMillis() - 10000);
+        Assert.assertEquals(0, leakDetector.getLeakCount());
+
+        leakDetector.scan(System.currentTimeMillis() + 10000);
+        Assert.assertEquals(1, leakDetector.getLeakCount());
+        // reported once
+        leakDetector.scan(System.currentTimeMillis() + 10000);
+        Assert.assertEquals(1, leakDetector.getLeakCount());
+        Assert.assertEquals(1, leakDetector.getTrackingCount());
+
+        // late return of a reported object is accepted
+        pool.returnObject(leaked);
+        Assert.assertEquals(0, leakDetector.getDoubleReleaseCount());
+    }
+
+    @Test
+    public void doubleRelease() {
+        ObjectLeakDetector leakDetector = new ObjectLeakDetector("test", 1000);
+        RecyclingObjectPool<Object> pool = new RecyclingObjectPool<Object>(new TestObjectFactory(), 4, 2, leakDetector);
+
+        Object object = pool.getObject();
+        pool.returnObject(object);
+        pool.returnObject(object);
+        Assert.assertEquals(1, leakDetector.getDoubleReleaseCount());
+
+        // the object is pooled only once
+        Assert.assertSame(object, pool.getObject());
+        Assert.assertNotSame(object, pool.getObject());
+    }
+
+    private static class TestObjectFactory implements ObjectPoolFactory<Object> {
+        @Override
+        public Object create() {
+            return new Object();
+        }
+
+        @Override
+        public void beforeReturn(Object object) {
+        }
+    }
+}
@@ -37,6 +37,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField TRANSACTION_FIELD_DESC = new org.apache.thrift.protocol.TField("transaction", org.apache.thrift.protocol.TType.STRUCT, (short)30);
   private static final org.apache.thrift.protocol.TField ACTIVE_TRACE_FIELD_DESC = new org.apache.thrift.protocol.TField("activeTrace", org.apache.thrift.protocol.TType.STRUCT, (short)40);
   private static final org.apache.thrift.protocol.TField DATA_SOURCE_LIST_FIELD_DESC = new org.apache.thrift.protocol.TField("dataSourceList", org.apache.thrift.protocol.TType.STRUCT, (short)50);
+  private static final org.apache.thrift.protocol.TField SPAN_SENDER_QUEUE_FIELD_DESC = new org.apache.thrift.protocol.TField("spanSenderQueue", org.apache.thrift.protocol.TType.STRUCT, (short)70);
+  private static final org.apache.thrift.protocol.TField DEFERRED_SAMPLING_FIELD_DESC = new org.apache.thrift.protocol.TField("deferredSampling", org.apache.thrift.protocol.TType.STRUCT, (short)80);
+  private static final org.apache.thrift.protocol.TField SAMPLING_THROTTLE_FIELD_DESC = new org.apache.thrift.protocol.TField("samplingThrottle", org.apache.thrift.protocol.TType.STRUCT, (short)90);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
@@ -54,6 +57,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private TTransaction transaction; // optional
   private TActiveTrace activeTrace; // optional
   private TDataSourceList dataSourceList; // optional
+  private TDataSenderQueue spanSenderQueue; // optional
+  private TDeferredSampling deferredSampling; // optional
+  private TSamplingThrottle samplingThrottle; // optional
   private String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -67,6 +73,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     TRANSACTION((short)30, "transaction"),
     ACTIVE_TRACE((short)40, "activeTrace"),
     DATA_SOURCE_LIST((short)50, "dataSourceList"),
+    SPAN_SENDER_QUEUE((short)70, "spanSenderQueue"),
+    DEFERRED_SAMPLING((short)80, "deferredSampling"),
+    SAMPLING_THROTTLE((short)90, "samplingThrottle"),
     METADATA((short)200, "metadata");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
@@ -100,6 +109,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return ACTIVE_TRACE;
         case 50: // DATA_SOURCE_LIST
           return DATA_SOURCE_LIST;
+        case 70: // SPAN_SENDER_QUEUE
+          return SPAN_SENDER_QUEUE;
+        case 80: // DEFERRED_SAMPLING
+          return DEFERRED_SAMPLING;
+        case 90: // SAMPLING_THROTTLE
+          return SAMPLING_THROTTLE;
         case 200: // METADATA
           return METADATA;
         default:
@@ -146,7 +161,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private static final int __COLLECTINTERVAL_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.METADATA};
+  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.SPAN_SENDER_QUEUE,_Fields.DEFERRED_SAMPLING,_Fields.SAMPLING_THROTTLE,_Fields.METADATA};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -168,6 +183,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TActiveTrace.class)));
     tmpMap.put(_Fields.DATA_SOURCE_LIST, new org.apache.thrift.meta_data.FieldMetaData("dataSourceList", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TDataSourceList")));
+    tmpMap.put(_Fields.SPAN_SENDER_QUEUE, new org.apache.thrift.meta_data.FieldMetaData("spanSenderQueue", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TDataSenderQueue")));
+    tmpMap.put(_Fields.DEFERRED_SAMPLING, new org.apache.thrift.meta_data.FieldMetaData("deferredSampling", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TDeferredSampling")));
+    tmpMap.put(_Fields.SAMPLING_THROTTLE, new org.apache.thrift.meta_data.FieldMetaData("samplingThrottle", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TSamplingThrottle")));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
@@ -203,6 +224,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetDataSourceList()) {
       this.dataSourceList = other.dataSourceList;
     }
+    if (other.isSetSpanSenderQueue()) {
+      this.spanSenderQueue = other.spanSenderQueue;
+    }
+    if (other.isSetDeferredSampling()) {
+      this.deferredSampling = other.deferredSampling;
+    }
+    if (other.isSetSamplingThrottle()) {
+      this.samplingThrottle = other.samplingThrottle;
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -226,6 +256,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.transaction = null;
     this.activeTrace = null;
     this.dataSourceList = null;
+    this.spanSenderQueue = null;
+    this.deferredSampling = null;
+    this.samplingThrottle = null;
     this.metadata = null;
   }
 
@@ -433,6 +466,75 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TDataSenderQueue getSpanSenderQueue() {
+    return this.spanSenderQueue;
+  }
+
+  public void setSpanSenderQueue(TDataSenderQueue spanSenderQueue) {
+    this.spanSenderQueue = spanSenderQueue;
+  }
+
+  public void unsetSpanSenderQueue() {
+    this.spanSenderQueue = null;
+  }
+
+  /** Returns true if field spanSenderQueue is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpanSenderQueue() {
+    return this.spanSenderQueue != null;
+  }
+
+  public void setSpanSenderQueueIsSet(boolean value) {
+    if (!value) {
+      this.spanSenderQueue = null;
+    }
+  }
+
+  public TDeferredSampling getDeferredSampling() {
+    return this.deferredSampling;
+  }
+
+  public void setDeferredSampling(TDeferredSampling deferredSampling) {
+    this.deferredSampling = deferredSampling;
+  }
+
+  public void unsetDeferredSampling() {
+    this.deferredSampling = null;
+  }
+
+  /** Returns true if field deferredSampling is set (has been assigned a value) and false otherwise */
+  public boolean isSetDeferredSampling() {
+    return this.deferredSampling != null;
+  }
+
+  public void setDeferredSamplingIsSet(boolean value) {
+    if (!value) {
+      this.deferredSampling = null;
+    }
+  }
+
+  public TSamplingThrottle getSamplingThrottle() {
+    return this.samplingThrottle;
+  }
+
+  public void setSamplingThrottle(TSamplingThrottle samplingThrottle) {
+    this.samplingThrottle = samplingThrottle;
+  }
+
+  public void unsetSamplingThrottle() {
+    this.samplingThrottle = null;
+  }
+
+  /** Returns true if field samplingThrottle is set (has been assigned a value) and false otherwise */
+  public boolean isSetSamplingThrottle() {
+    return this.samplingThrottle != null;
+  }
+
+  public void setSamplingThrottleIsSet(boolean value) {
+    if (!value) {
+      this.samplingThrottle = null;
+    }
+  }
+
   public String getMetadata() {
     return this.metadata;
   }
@@ -530,6 +632,30 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case SPAN_SENDER_QUEUE:
+      if (value == null) {
+        unsetSpanSenderQueue();
+      } else {
+        setSpanSenderQueue((TDataSenderQueue)value);
+      }
+      break;
+
+    case DEFERRED_SAMPLING:
+      if (value == null) {
+        unsetDeferredSampling();
+      } else {
+        setDeferredSampling((TDeferredSampling)value);
+      }
+      break;
+
+    case SAMPLING_THROTTLE:
+      if (value == null) {
+        unsetSamplingThrottle();
+      } else {
+        setSamplingThrottle((TSamplingThrottle)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -570,6 +696,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case DATA_SOURCE_LIST:
       return getDataSourceList();
 
+    case SPAN_SENDER_QUEUE:
+      return getSpanSenderQueue();
+
+    case DEFERRED_SAMPLING:
+      return getDeferredSampling();
+
+    case SAMPLING_THROTTLE:
+      return getSamplingThrottle();
+
     case METADATA:
       return getMetadata();
 
@@ -602,6 +737,12 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetActiveTrace();
     case DATA_SOURCE_LIST:
       return isSetDataSourceList();
+    case SPAN_SENDER_QUEUE:
+      return isSetSpanSenderQueue();
+    case DEFERRED_SAMPLING:
+      return isSetDeferredSampling();
+    case SAMPLING_THROTTLE:
+      return isSetSamplingThrottle();
     case METADATA:
       return isSetMetadata();
     }
@@ -702,6 +843,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_spanSenderQueue = true && this.isSetSpanSenderQueue();
+    boolean that_present_spanSenderQueue = true && that.isSetSpanSenderQueue();
+    if (this_present_spanSenderQueue || that_present_spanSenderQueue) {
+      if (!(this_present_spanSenderQueue && that_present_spanSenderQueue))
+        return false;
+      if (!this.spanSenderQueue.equals(that.spanSenderQueue))
+        return false;
+    }
+
+    boolean this_present_deferredSampling = true && this.isSetDeferredSampling();
+    boolean that_present_deferredSampling = true && that.isSetDeferredSampling();
+    if (this_present_deferredSampling || that_present_deferredSampling) {
+      if (!(this_present_deferredSampling && that_present_deferredSampling))
+        return false;
+      if (!this.deferredSampling.equals(that.deferredSampling))
+        return false;
+    }
+
+    boolean this_present_samplingThrottle = true && this.isSetSamplingThrottle();
+    boolean that_present_samplingThrottle = true && that.isSetSamplingThrottle();
+    if (this_present_samplingThrottle || that_present_samplingThrottle) {
+      if (!(this_present_samplingThrottle && that_present_samplingThrottle))
+        return false;
+      if (!this.samplingThrottle.equals(that.samplingThrottle))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -763,6 +931,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (present_dataSourceList)
       list.add(dataSourceList);
 
+    boolean present_spanSenderQueue = true && (isSetSpanSenderQueue());
+    list.add(present_spanSenderQueue);
+    if (present_spanSenderQueue)
+      list.add(spanSenderQueue);
+
+    boolean present_deferredSampling = true && (isSetDeferredSampling());
+    list.add(present_deferredSampling);
+    if (present_deferredSampling)
+      list.add(deferredSampling);
+
+    boolean present_samplingThrottle = true && (isSetSamplingThrottle());
+    list.add(present_samplingThrottle);
+    if (present_samplingThrottle)
+      list.add(samplingThrottle);
+
     boolean present_metadata = true && (isSetMetadata());
     list.add(present_metadata);
     if (present_metadata)
@@ -869,6 +1052,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetSpanSenderQueue()).compareTo(other.isSetSpanSenderQueue());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpanSenderQueue()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spanSenderQueue, other.spanSenderQueue);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetDeferredSampling()).compareTo(other.isSetDeferredSampling());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetDeferredSampling()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.deferredSampling, other.deferredSampling);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSamplingThrottle()).compareTo(other.isSetSamplingThrottle());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSamplingThrottle()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.samplingThrottle, other.samplingThrottle);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -976,6 +1189,36 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetSpanSenderQueue()) {
+      if (!first) sb.append(", ");
+      sb.append("spanSenderQueue:");
+      if (this.spanSenderQueue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.spanSenderQueue);
+      }
+      first = false;
+    }
+    if (isSetDeferredSampling()) {
+      if (!first) sb.append(", ");
+      sb.append("deferredSampling:");
+      if (this.deferredSampling == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.deferredSampling);
+      }
+      first = false;
+    }
+    if (isSetSamplingThrottle()) {
+      if (!first) sb.append(", ");
+      sb.append("samplingThrottle:");
+      if (this.samplingThrottle == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.samplingThrottle);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -1120,6 +1363,33 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 70: // SPAN_SENDER_QUEUE
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.spanSenderQueue = new TDataSenderQueue();
+              struct.spanSenderQueue.read(iprot);
+              struct.setSpanSenderQueueIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 80: // DEFERRED_SAMPLING
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.deferredSampling = new TDeferredSampling();
+              struct.deferredSampling.read(iprot);
+              struct.setDeferredSamplingIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 90: // SAMPLING_THROTTLE
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.samplingThrottle = new TSamplingThrottle();
+              struct.samplingThrottle.read(iprot);
+              struct.setSamplingThrottleIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -1198,6 +1468,27 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.spanSenderQueue != null) {
+        if (struct.isSetSpanSenderQueue()) {
+          oprot.writeFieldBegin(SPAN_SENDER_QUEUE_FIELD_DESC);
+          struct.spanSenderQueue.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.deferredSampling != null) {
+        if (struct.isSetDeferredSampling()) {
+          oprot.writeFieldBegin(DEFERRED_SAMPLING_FIELD_DESC);
+          struct.deferredSampling.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.samplingThrottle != null) {
+        if (struct.isSetSamplingThrottle()) {
+          oprot.writeFieldBegin(SAMPLING_THROTTLE_FIELD_DESC);
+          struct.samplingThrottle.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -1250,10 +1541,19 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDataSourceList()) {
         optionals.set(8);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetSpanSenderQueue()) {
         optionals.set(9);
       }
-      oprot.writeBitSet(optionals, 10);
+      if (struct.isSetDeferredSampling()) {
+        optionals.set(10);
+      }
+      if (struct.isSetSamplingThrottle()) {
+        optionals.set(11);
+      }
+      if (struct.isSetMetadata()) {
+        optionals.set(12);
+      }
+      oprot.writeBitSet(optionals, 13);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1281,6 +1581,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDataSourceList()) {
         struct.dataSourceList.write(oprot);
       }
+      if (struct.isSetSpanSenderQueue()) {
+        struct.spanSenderQueue.write(oprot);
+      }
+      if (struct.isSetDeferredSampling()) {
+        struct.deferredSampling.write(oprot);
+      }
+      if (struct.isSetSamplingThrottle()) {
+        struct.samplingThrottle.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -1289,7 +1598,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(10);
+      BitSet incoming = iprot.readBitSet(13);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1332,6 +1641,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setDataSourceListIsSet(true);
       }
       if (incoming.get(9)) {
+        struct.spanSenderQueue = new TDataSenderQueue();
+        struct.spanSenderQueue.read(iprot);
+        struct.setSpanSenderQueueIsSet(true);
+      }
+      if (incoming.get(10)) {
+        struct.deferredSampling = new TDeferredSampling();
+        struct.deferredSampling.read(iprot);
+        struct.setDeferredSamplingIsSet(true);
+      }
+      if (incoming.get(11)) {
+        struct.samplingThrottle = new TSamplingThrottle();
+        struct.samplingThrottle.read(iprot);
+        struct.setSamplingThrottleIsSet(true);
+      }
+      if (incoming.get(12)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
@@ -46,6 +46,7 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
   private static final org.apache.thrift.protocol.TField BYTE_VALUE_FIELD_DESC = new org.apache.thrift.protocol.TField("byteValue", org.apache.thrift.protocol.TType.BYTE, (short)8);
   private static final org.apache.thrift.protocol.TField INT_STRING_VALUE_FIELD_DESC = new org.apache.thrift.protocol.TField("intStringValue", org.apache.thrift.protocol.TType.STRUCT, (short)9);
   private static final org.apache.thrift.protocol.TField INT_STRING_STRING_VALUE_FIELD_DESC = new org.apache.thrift.protocol.TField("intStringStringValue", org.apache.thrift.protocol.TType.STRUCT, (short)10);
+  private static final org.apache.thrift.protocol.TField COLLAPSED_CALL_VALUE_FIELD_DESC = new org.apache.thrift.protocol.TField("collapsedCallValue", org.apache.thrift.protocol.TType.STRUCT, (short)11);
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -58,7 +59,8 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
     BINARY_VALUE((short)7, "binaryValue"),
     BYTE_VALUE((short)8, "byteValue"),
     INT_STRING_VALUE((short)9, "intStringValue"),
-    INT_STRING_STRING_VALUE((short)10, "intStringStringValue");
+    INT_STRING_STRING_VALUE((short)10, "intStringStringValue"),
+    COLLAPSED_CALL_VALUE((short)11, "collapsedCallValue");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -93,6 +95,8 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
           return INT_STRING_VALUE;
         case 10: // INT_STRING_STRING_VALUE
           return INT_STRING_STRING_VALUE;
+        case 11: // COLLAPSED_CALL_VALUE
+          return COLLAPSED_CALL_VALUE;
         default:
           return null;
       }
@@ -155,6 +159,8 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TIntStringValue.class)));
     tmpMap.put(_Fields.INT_STRING_STRING_VALUE, new org.apache.thrift.meta_data.FieldMetaData("intStringStringValue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TIntStringStringValue.class)));
+    tmpMap.put(_Fields.COLLAPSED_CALL_VALUE, new org.apache.thrift.meta_data.FieldMetaData("collapsedCallValue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TCollapsedCallValue.class)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAnnotationValue.class, metaDataMap);
   }
@@ -240,6 +246,12 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
     return x;
   }
 
+  public static TAnnotationValue collapsedCallValue(TCollapsedCallValue value) {
+    TAnnotationValue x = new TAnnotationValue();
+    x.setCollapsedCallValue(value);
+    return x;
+  }
+
 
   @Override
   protected void checkType(_Fields setField, Object value) throws ClassCastException {
@@ -294,6 +306,11 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
           break;
         }
         throw new ClassCastException("Was expecting value of type TIntStringStringValue for field 'intStringStringValue', but got " + value.getClass().getSimpleName());
+      case COLLAPSED_CALL_VALUE:
+        if (value instanceof TCollapsedCallValue) {
+          break;
+        }
+        throw new ClassCastException("Was expecting value of type TCollapsedCallValue for field 'collapsedCallValue', but got " + value.getClass().getSimpleName());
       default:
         throw new IllegalArgumentException("Unknown field id " + setField);
     }
@@ -396,6 +413,16 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             return null;
           }
+        case COLLAPSED_CALL_VALUE:
+          if (field.type == COLLAPSED_CALL_VALUE_FIELD_DESC.type) {
+            TCollapsedCallValue collapsedCallValue;
+            collapsedCallValue = new TCollapsedCallValue();
+            collapsedCallValue.read(iprot);
+            return collapsedCallValue;
+          } else {
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            return null;
+          }
         default:
           throw new IllegalStateException("setField wasn't null, but didn't match any of the case statements!");
       }
@@ -448,6 +475,10 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
         TIntStringStringValue intStringStringValue = (TIntStringStringValue)value_;
         intStringStringValue.write(oprot);
         return;
+      case COLLAPSED_CALL_VALUE:
+        TCollapsedCallValue collapsedCallValue = (TCollapsedCallValue)value_;
+        collapsedCallValue.write(oprot);
+        return;
       default:
         throw new IllegalStateException("Cannot write union with unknown field " + setField_);
     }
@@ -500,6 +531,11 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
           intStringStringValue = new TIntStringStringValue();
           intStringStringValue.read(iprot);
           return intStringStringValue;
+        case COLLAPSED_CALL_VALUE:
+          TCollapsedCallValue collapsedCallValue;
+          collapsedCallValue = new TCollapsedCallValue();
+          collapsedCallValue.read(iprot);
+          return collapsedCallValue;
         default:
           throw new IllegalStateException("setField wasn't null, but didn't match any of the case statements!");
       }
@@ -551,6 +587,10 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
         TIntStringStringValue intStringStringValue = (TIntStringStringValue)value_;
         intStringStringValue.write(oprot);
         return;
+      case COLLAPSED_CALL_VALUE:
+        TCollapsedCallValue collapsedCallValue = (TCollapsedCallValue)value_;
+        collapsedCallValue.write(oprot);
+        return;
       default:
         throw new IllegalStateException("Cannot write union with unknown field " + setField_);
     }
@@ -579,6 +619,8 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
         return INT_STRING_VALUE_FIELD_DESC;
       case INT_STRING_STRING_VALUE:
         return INT_STRING_STRING_VALUE_FIELD_DESC;
+      case COLLAPSED_CALL_VALUE:
+        return COLLAPSED_CALL_VALUE_FIELD_DESC;
       default:
         throw new IllegalArgumentException("Unknown field id " + setField);
     }
@@ -743,6 +785,20 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
     value_ = value;
   }
 
+  public TCollapsedCallValue getCollapsedCallValue() {
+    if (getSetField() == _Fields.COLLAPSED_CALL_VALUE) {
+      return (TCollapsedCallValue)getFieldValue();
+    } else {
+      throw new RuntimeException("Cannot get field 'collapsedCallValue' because union is currently set to " + getFieldDesc(getSetField()).name);
+    }
+  }
+
+  public void setCollapsedCallValue(TCollapsedCallValue value) {
+    if (value == null) throw new NullPointerException();
+    setField_ = _Fields.COLLAPSED_CALL_VALUE;
+    value_ = value;
+  }
+
   public boolean isSetStringValue() {
     return setField_ == _Fields.STRING_VALUE;
   }
@@ -793,6 +849,11 @@ public class TAnnotationValue extends org.apache.thrift.TUnion<TAnnotationValue,
   }
 
 
+  public boolean isSetCollapsedCallValue() {
+    return setField_ == _Fields.COLLAPSED_CALL_VALUE;
+  }
+
+
   public boolean equals(Object other) {
     if (other instanceof TAnnotationValue) {
       return equals((TAnnotationValue)other);
@@ -61,6 +61,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   private static final org.apache.thrift.protocol.TField EXCEPTION_INFO_FIELD_DESC = new org.apache.thrift.protocol.TField("exceptionInfo", org.apache.thrift.protocol.TType.STRUCT, (short)26);
   private static final org.apache.thrift.protocol.TField APPLICATION_SERVICE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("applicationServiceType", org.apache.thrift.protocol.TType.I16, (short)30);
   private static final org.apache.thrift.protocol.TField LOGGING_TRANSACTION_INFO_FIELD_DESC = new org.apache.thrift.protocol.TField("loggingTransactionInfo", org.apache.thrift.protocol.TType.BYTE, (short)31);
+  private static final org.apache.thrift.protocol.TField CPU_TIME_FIELD_DESC = new org.apache.thrift.protocol.TField("cpuTime", org.apache.thrift.protocol.TType.I64, (short)32);
+  private static final org.apache.thrift.protocol.TField ALLOCATED_BYTES_FIELD_DESC = new org.apache.thrift.protocol.TField("allocatedBytes", org.apache.thrift.protocol.TType.I64, (short)33);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -91,6 +93,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   private TIntStringValue exceptionInfo; // optional
   private short applicationServiceType; // optional
   private byte loggingTransactionInfo; // optional
+  private long cpuTime; // optional
+  private long allocatedBytes; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -116,7 +120,9 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     API_ID((short)25, "apiId"),
     EXCEPTION_INFO((short)26, "exceptionInfo"),
     APPLICATION_SERVICE_TYPE((short)30, "applicationServiceType"),
-    LOGGING_TRANSACTION_INFO((short)31, "loggingTransactionInfo");
+    LOGGING_TRANSACTION_INFO((short)31, "loggingTransactionInfo"),
+    CPU_TIME((short)32, "cpuTime"),
+    ALLOCATED_BYTES((short)33, "allocatedBytes");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -177,6 +183,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
           return APPLICATION_SERVICE_TYPE;
         case 31: // LOGGING_TRANSACTION_INFO
           return LOGGING_TRANSACTION_INFO;
+        case 32: // CPU_TIME
+          return CPU_TIME;
+        case 33: // ALLOCATED_BYTES
+          return ALLOCATED_BYTES;
         default:
           return null;
       }
@@ -229,8 +239,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
   private static final int __APIID_ISSET_ID = 9;
   private static final int __APPLICATIONSERVICETYPE_ISSET_ID = 10;
   private static final int __LOGGINGTRANSACTIONINFO_ISSET_ID = 11;
+  private static final int __CPUTIME_ISSET_ID = 12;
+  private static final int __ALLOCATEDBYTES_ISSET_ID = 13;
   private short __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.PARENT_SPAN_ID,_Fields.ELAPSED,_Fields.RPC,_Fields.END_POINT,_Fields.REMOTE_ADDR,_Fields.ANNOTATIONS,_Fields.FLAG,_Fields.ERR,_Fields.SPAN_EVENT_LIST,_Fields.PARENT_APPLICATION_NAME,_Fields.PARENT_APPLICATION_TYPE,_Fields.ACCEPTOR_HOST,_Fields.API_ID,_Fields.EXCEPTION_INFO,_Fields.APPLICATION_SERVICE_TYPE,_Fields.LOGGING_TRANSACTION_INFO};
+  private static final _Fields optionals[] = {_Fields.PARENT_SPAN_ID,_Fields.ELAPSED,_Fields.RPC,_Fields.END_POINT,_Fields.REMOTE_ADDR,_Fields.ANNOTATIONS,_Fields.FLAG,_Fields.ERR,_Fields.SPAN_EVENT_LIST,_Fields.PARENT_APPLICATION_NAME,_Fields.PARENT_APPLICATION_TYPE,_Fields.ACCEPTOR_HOST,_Fields.API_ID,_Fields.EXCEPTION_INFO,_Fields.APPLICATION_SERVICE_TYPE,_Fields.LOGGING_TRANSACTION_INFO,_Fields.CPU_TIME,_Fields.ALLOCATED_BYTES};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -282,6 +294,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I16)));
     tmpMap.put(_Fields.LOGGING_TRANSACTION_INFO, new org.apache.thrift.meta_data.FieldMetaData("loggingTransactionInfo", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
+    tmpMap.put(_Fields.CPU_TIME, new org.apache.thrift.meta_data.FieldMetaData("cpuTime", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.ALLOCATED_BYTES, new org.apache.thrift.meta_data.FieldMetaData("allocatedBytes", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TSpan.class, metaDataMap);
   }
@@ -376,6 +392,8 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     }
     this.applicationServiceType = other.applicationServiceType;
     this.loggingTransactionInfo = other.loggingTransactionInfo;
+    this.cpuTime = other.cpuTime;
+    this.allocatedBytes = other.allocatedBytes;
   }
 
   public TSpan deepCopy() {
@@ -419,6 +437,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     this.applicationServiceType = 0;
     setLoggingTransactionInfoIsSet(false);
     this.loggingTransactionInfo = 0;
+    setCpuTimeIsSet(false);
+    this.cpuTime = 0;
+    setAllocatedBytesIsSet(false);
+    this.allocatedBytes = 0;
   }
 
   public String getAgentId() {
@@ -977,6 +999,50 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __LOGGINGTRANSACTIONINFO_ISSET_ID, value);
   }
 
+  public long getCpuTime() {
+    return this.cpuTime;
+  }
+
+  public void setCpuTime(long cpuTime) {
+    this.cpuTime = cpuTime;
+    setCpuTimeIsSet(true);
+  }
+
+  public void unsetCpuTime() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CPUTIME_ISSET_ID);
+  }
+
+  /** Returns true if field cpuTime is set (has been assigned a value) and false otherwise */
+  public boolean isSetCpuTime() {
+    return EncodingUtils.testBit(__isset_bitfield, __CPUTIME_ISSET_ID);
+  }
+
+  public void setCpuTimeIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CPUTIME_ISSET_ID, value);
+  }
+
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  public void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+    setAllocatedBytesIsSet(true);
+  }
+
+  public void unsetAllocatedBytes() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID);
+  }
+
+  /** Returns true if field allocatedBytes is set (has been assigned a value) and false otherwise */
+  public boolean isSetAllocatedBytes() {
+    return EncodingUtils.testBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID);
+  }
+
+  public void setAllocatedBytesIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __ALLOCATEDBYTES_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case AGENT_ID:
@@ -1163,6 +1229,22 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       }
       break;
 
+    case CPU_TIME:
+      if (value == null) {
+        unsetCpuTime();
+      } else {
+        setCpuTime((Long)value);
+      }
+      break;
+
+    case ALLOCATED_BYTES:
+      if (value == null) {
+        unsetAllocatedBytes();
+      } else {
+        setAllocatedBytes((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -1237,6 +1319,12 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     case LOGGING_TRANSACTION_INFO:
       return Byte.valueOf(getLoggingTransactionInfo());
 
+    case CPU_TIME:
+      return Long.valueOf(getCpuTime());
+
+    case ALLOCATED_BYTES:
+      return Long.valueOf(getAllocatedBytes());
+
     }
     throw new IllegalStateException();
   }
@@ -1294,6 +1382,10 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       return isSetApplicationServiceType();
     case LOGGING_TRANSACTION_INFO:
       return isSetLoggingTransactionInfo();
+    case CPU_TIME:
+      return isSetCpuTime();
+    case ALLOCATED_BYTES:
+      return isSetAllocatedBytes();
     }
     throw new IllegalStateException();
   }
@@ -1518,6 +1610,24 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         return false;
     }
 
+    boolean this_present_cpuTime = true && this.isSetCpuTime();
+    boolean that_present_cpuTime = true && that.isSetCpuTime();
+    if (this_present_cpuTime || that_present_cpuTime) {
+      if (!(this_present_cpuTime && that_present_cpuTime))
+        return false;
+      if (this.cpuTime != that.cpuTime)
+        return false;
+    }
+
+    boolean this_present_allocatedBytes = true && this.isSetAllocatedBytes();
+    boolean that_present_allocatedBytes = true && that.isSetAllocatedBytes();
+    if (this_present_allocatedBytes || that_present_allocatedBytes) {
+      if (!(this_present_allocatedBytes && that_present_allocatedBytes))
+        return false;
+      if (this.allocatedBytes != that.allocatedBytes)
+        return false;
+    }
+
     return true;
   }
 
@@ -1640,6 +1750,16 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
     if (present_loggingTransactionInfo)
       list.add(loggingTransactionInfo);
 
+    boolean present_cpuTime = true && (isSetCpuTime());
+    list.add(present_cpuTime);
+    if (present_cpuTime)
+      list.add(cpuTime);
+
+    boolean present_allocatedBytes = true && (isSetAllocatedBytes());
+    list.add(present_allocatedBytes);
+    if (present_allocatedBytes)
+      list.add(allocatedBytes);
+
     return list.hashCode();
   }
 
@@ -1881,6 +2001,26 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetCpuTime()).compareTo(other.isSetCpuTime());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetCpuTime()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.cpuTime, other.cpuTime);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetAllocatedBytes()).compareTo(other.isSetAllocatedBytes());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAllocatedBytes()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.allocatedBytes, other.allocatedBytes);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -2068,6 +2208,18 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       sb.append(this.loggingTransactionInfo);
       first = false;
     }
+    if (isSetCpuTime()) {
+      if (!first) sb.append(", ");
+      sb.append("cpuTime:");
+      sb.append(this.cpuTime);
+      first = false;
+    }
+    if (isSetAllocatedBytes()) {
+      if (!first) sb.append(", ");
+      sb.append("allocatedBytes:");
+      sb.append(this.allocatedBytes);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -2323,6 +2475,22 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 32: // CPU_TIME
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.cpuTime = iprot.readI64();
+              struct.setCpuTimeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 33: // ALLOCATED_BYTES
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.allocatedBytes = iprot.readI64();
+              struct.setAllocatedBytesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -2473,6 +2641,16 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         oprot.writeByte(struct.loggingTransactionInfo);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetCpuTime()) {
+        oprot.writeFieldBegin(CPU_TIME_FIELD_DESC);
+        oprot.writeI64(struct.cpuTime);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetAllocatedBytes()) {
+        oprot.writeFieldBegin(ALLOCATED_BYTES_FIELD_DESC);
+        oprot.writeI64(struct.allocatedBytes);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -2560,7 +2738,13 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       if (struct.isSetLoggingTransactionInfo()) {
         optionals.set(22);
       }
-      oprot.writeBitSet(optionals, 23);
+      if (struct.isSetCpuTime()) {
+        optionals.set(23);
+      }
+      if (struct.isSetAllocatedBytes()) {
+        optionals.set(24);
+      }
+      oprot.writeBitSet(optionals, 25);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -2642,12 +2826,18 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
       if (struct.isSetLoggingTransactionInfo()) {
         oprot.writeByte(struct.loggingTransactionInfo);
       }
+      if (struct.isSetCpuTime()) {
+        oprot.writeI64(struct.cpuTime);
+      }
+      if (struct.isSetAllocatedBytes()) {
+        oprot.writeI64(struct.allocatedBytes);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TSpan struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(23);
+      BitSet incoming = iprot.readBitSet(25);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -2761,6 +2951,14 @@ public class TSpan implements org.apache.thrift.TBase<TSpan, TSpan._Fields>, jav
         struct.loggingTransactionInfo = iprot.readByte();
         struct.setLoggingTransactionInfoIsSet(true);
       }
+      if (incoming.get(23)) {
+        struct.cpuTime = iprot.readI64();
+        struct.setCpuTimeIsSet(true);
+      }
+      if (incoming.get(24)) {
+        struct.allocatedBytes = iprot.readI64();
+        struct.setAllocatedBytesIsSet(true);
+      }
     }
   }
 
@@ -42,6 +42,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
   private static final org.apache.thrift.protocol.TField SAMPLED_CONTINUATION_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("sampledContinuationCount", org.apache.thrift.protocol.TType.I64, (short)3);
   private static final org.apache.thrift.protocol.TField UNSAMPLED_NEW_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("unsampledNewCount", org.apache.thrift.protocol.TType.I64, (short)4);
   private static final org.apache.thrift.protocol.TField UNSAMPLED_CONTINUATION_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("unsampledContinuationCount", org.apache.thrift.protocol.TType.I64, (short)5);
+  private static final org.apache.thrift.protocol.TField SAMPLING_RATE_FIELD_DESC = new org.apache.thrift.protocol.TField("samplingRate", org.apache.thrift.protocol.TType.DOUBLE, (short)6);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -53,13 +54,15 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
   private long sampledContinuationCount; // optional
   private long unsampledNewCount; // optional
   private long unsampledContinuationCount; // optional
+  private double samplingRate; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     SAMPLED_NEW_COUNT((short)2, "sampledNewCount"),
     SAMPLED_CONTINUATION_COUNT((short)3, "sampledContinuationCount"),
     UNSAMPLED_NEW_COUNT((short)4, "unsampledNewCount"),
-    UNSAMPLED_CONTINUATION_COUNT((short)5, "unsampledContinuationCount");
+    UNSAMPLED_CONTINUATION_COUNT((short)5, "unsampledContinuationCount"),
+    SAMPLING_RATE((short)6, "samplingRate");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -82,6 +85,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
           return UNSAMPLED_NEW_COUNT;
         case 5: // UNSAMPLED_CONTINUATION_COUNT
           return UNSAMPLED_CONTINUATION_COUNT;
+        case 6: // SAMPLING_RATE
+          return SAMPLING_RATE;
         default:
           return null;
       }
@@ -126,8 +131,9 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
   private static final int __SAMPLEDCONTINUATIONCOUNT_ISSET_ID = 1;
   private static final int __UNSAMPLEDNEWCOUNT_ISSET_ID = 2;
   private static final int __UNSAMPLEDCONTINUATIONCOUNT_ISSET_ID = 3;
+  private static final int __SAMPLINGRATE_ISSET_ID = 4;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.SAMPLED_NEW_COUNT,_Fields.SAMPLED_CONTINUATION_COUNT,_Fields.UNSAMPLED_NEW_COUNT,_Fields.UNSAMPLED_CONTINUATION_COUNT};
+  private static final _Fields optionals[] = {_Fields.SAMPLED_NEW_COUNT,_Fields.SAMPLED_CONTINUATION_COUNT,_Fields.UNSAMPLED_NEW_COUNT,_Fields.UNSAMPLED_CONTINUATION_COUNT,_Fields.SAMPLING_RATE};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -139,6 +145,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     tmpMap.put(_Fields.UNSAMPLED_CONTINUATION_COUNT, new org.apache.thrift.meta_data.FieldMetaData("unsampledContinuationCount", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.SAMPLING_RATE, new org.apache.thrift.meta_data.FieldMetaData("samplingRate", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.DOUBLE)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TTransaction.class, metaDataMap);
   }
@@ -155,6 +163,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     this.sampledContinuationCount = other.sampledContinuationCount;
     this.unsampledNewCount = other.unsampledNewCount;
     this.unsampledContinuationCount = other.unsampledContinuationCount;
+    this.samplingRate = other.samplingRate;
   }
 
   public TTransaction deepCopy() {
@@ -171,6 +180,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     this.unsampledNewCount = 0;
     setUnsampledContinuationCountIsSet(false);
     this.unsampledContinuationCount = 0;
+    setSamplingRateIsSet(false);
+    this.samplingRate = 0.0;
   }
 
   public long getSampledNewCount() {
@@ -261,6 +272,28 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __UNSAMPLEDCONTINUATIONCOUNT_ISSET_ID, value);
   }
 
+  public double getSamplingRate() {
+    return this.samplingRate;
+  }
+
+  public void setSamplingRate(double samplingRate) {
+    this.samplingRate = samplingRate;
+    setSamplingRateIsSet(true);
+  }
+
+  public void unsetSamplingRate() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SAMPLINGRATE_ISSET_ID);
+  }
+
+  /** Returns true if field samplingRate is set (has been assigned a value) and false otherwise */
+  public boolean isSetSamplingRate() {
+    return EncodingUtils.testBit(__isset_bitfield, __SAMPLINGRATE_ISSET_ID);
+  }
+
+  public void setSamplingRateIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SAMPLINGRATE_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case SAMPLED_NEW_COUNT:
@@ -295,6 +328,14 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       }
       break;
 
+    case SAMPLING_RATE:
+      if (value == null) {
+        unsetSamplingRate();
+      } else {
+        setSamplingRate((Double)value);
+      }
+      break;
+
     }
   }
 
@@ -312,6 +353,9 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     case UNSAMPLED_CONTINUATION_COUNT:
       return Long.valueOf(getUnsampledContinuationCount());
 
+    case SAMPLING_RATE:
+      return Double.valueOf(getSamplingRate());
+
     }
     throw new IllegalStateException();
   }
@@ -331,6 +375,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       return isSetUnsampledNewCount();
     case UNSAMPLED_CONTINUATION_COUNT:
       return isSetUnsampledContinuationCount();
+    case SAMPLING_RATE:
+      return isSetSamplingRate();
     }
     throw new IllegalStateException();
   }
@@ -384,6 +430,15 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         return false;
     }
 
+    boolean this_present_samplingRate = true && this.isSetSamplingRate();
+    boolean that_present_samplingRate = true && that.isSetSamplingRate();
+    if (this_present_samplingRate || that_present_samplingRate) {
+      if (!(this_present_samplingRate && that_present_samplingRate))
+        return false;
+      if (this.samplingRate != that.samplingRate)
+        return false;
+    }
+
     return true;
   }
 
@@ -411,6 +466,11 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     if (present_unsampledContinuationCount)
       list.add(unsampledContinuationCount);
 
+    boolean present_samplingRate = true && (isSetSamplingRate());
+    list.add(present_samplingRate);
+    if (present_samplingRate)
+      list.add(samplingRate);
+
     return list.hashCode();
   }
 
@@ -462,6 +522,16 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetSamplingRate()).compareTo(other.isSetSamplingRate());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSamplingRate()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.samplingRate, other.samplingRate);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -505,6 +575,12 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       sb.append(this.unsampledContinuationCount);
       first = false;
     }
+    if (isSetSamplingRate()) {
+      if (!first) sb.append(", ");
+      sb.append("samplingRate:");
+      sb.append(this.samplingRate);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -582,6 +658,14 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // SAMPLING_RATE
+            if (schemeField.type == org.apache.thrift.protocol.TType.DOUBLE) {
+              struct.samplingRate = iprot.readDouble();
+              struct.setSamplingRateIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -615,6 +699,11 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         oprot.writeI64(struct.unsampledContinuationCount);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetSamplingRate()) {
+        oprot.writeFieldBegin(SAMPLING_RATE_FIELD_DESC);
+        oprot.writeDouble(struct.samplingRate);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -645,7 +734,10 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       if (struct.isSetUnsampledContinuationCount()) {
         optionals.set(3);
       }
-      oprot.writeBitSet(optionals, 4);
+      if (struct.isSetSamplingRate()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
       if (struct.isSetSampledNewCount()) {
         oprot.writeI64(struct.sampledNewCount);
       }
@@ -658,12 +750,15 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       if (struct.isSetUnsampledContinuationCount()) {
         oprot.writeI64(struct.unsampledContinuationCount);
       }
+      if (struct.isSetSamplingRate()) {
+        oprot.writeDouble(struct.samplingRate);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TTransaction struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(4);
+      BitSet incoming = iprot.readBitSet(5);
       if (incoming.get(0)) {
         struct.sampledNewCount = iprot.readI64();
         struct.setSampledNewCountIsSet(true);
@@ -680,6 +775,10 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         struct.unsampledContinuationCount = iprot.readI64();
         struct.setUnsampledContinuationCountIsSet(true);
       }
+      if (incoming.get(4)) {
+        struct.samplingRate = iprot.readDouble();
+        struct.setSamplingRateIsSet(true);
+      }
     }
   }
 
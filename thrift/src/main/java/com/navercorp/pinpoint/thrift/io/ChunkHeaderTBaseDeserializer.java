@@ -23,6 +23,8 @@ import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TProtocol;
 import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
 import org.apache.thrift.transport.TMemoryInputTransport;
 
 /**
@@ -34,12 +36,28 @@ import org.apache.thrift.transport.TMemoryInputTransport;
 public class ChunkHeaderTBaseDeserializer {
     private final TProtocol protocol;
     private final TMemoryInputTransport trans;
+    private final TProtocolFactory protocolFactory;
     private final TBaseLocator locator;
+    // NetworkAvailabilityCheckPacket has no struct body
+    private final short emptyBodyType;
 
     ChunkHeaderTBaseDeserializer(TProtocolFactory protocolFactory, TBaseLocator locator) {
         this.trans = new TMemoryInputTransport();
         this.protocol = protocolFactory.getProtocol(trans);
+        this.protocolFactory = protocolFactory;
         this.locator = locator;
+        this.emptyBodyType = findEmptyBodyType(locator);
+    }
+
+    private static short findEmptyBodyType(TBaseLocator locator) {
+        if (!locator.isSupport(NetworkAvailabilityCheckPacket.class)) {
+            return -1;
+        }
+        try {
+            return locator.typeLookup(NetworkAvailabilityCheckPacket.class);
+        } catch (TException e) {
+            return -1;
+        }
     }
 
     public List<TBase<?, ?>> deserialize(byte[] bytes, int offset, int length) throws TException {
@@ -58,12 +76,46 @@ public class ChunkHeaderTBaseDeserializer {
                     list.add(base);
                 }
             } else {
-                TBase<?, ?> base = deserialize();
-                if (base != null) {
+                // single message. the header is already read
+                validate(header);
+                TBase<?, ?> base = locator.tBaseLookup(header.getType());
+                base.read(protocol);
+                list.add(base);
+            }
+
+        } finally {
+            trans.clear();
+            protocol.reset();
+        }
+
+        return list;
+    }
+
+    /**
+     * Parses the headers only. the bodies are not decoded and refer to the given bytes.
+     */
+    public List<LazyTBase> deserializeLazy(byte[] bytes, int offset, int length) throws TException {
+        final List<LazyTBase> list = new ArrayList<LazyTBase>();
+        try {
+            trans.reset(bytes, offset, length);
+
+            final Header header = readHeader();
+            if (header == null) {
+                return list;
+            }
+
+            if (locator.isChunkHeader(header.getType())) {
+                LazyTBase base;
+                while ((base = deserializeLazy(bytes)) != null) {
                     list.add(base);
                 }
+            } else {
+                // single message. the body is the rest of the packet
+                validateLazy(header);
+                final int bodyOffset = trans.getBufferPosition();
+                final int bodyLength = trans.getBytesRemainingInBuffer();
+                list.add(new LazyTBase(header, bytes, bodyOffset, bodyLength, protocolFactory, locator));
             }
-
         } finally {
             trans.clear();
             protocol.reset();
@@ -72,6 +124,29 @@ public class ChunkHeaderTBaseDeserializer {
         return list;
     }
 
+    private LazyTBase deserializeLazy(byte[] bytes) throws TException {
+        final Header header = readHeader();
+        if (header == null) {
+            return null;
+        }
+        validateLazy(header);
+
+        final int bodyOffset = trans.getBufferPosition();
+        if (header.getType() != emptyBodyType) {
+            // find the end of the body without building the object
+            TProtocolUtil.skip(protocol, TType.STRUCT);
+        }
+        final int bodyLength = trans.getBufferPosition() - bodyOffset;
+        return new LazyTBase(header, bytes, bodyOffset, bodyLength, protocolFactory, locator);
+    }
+
+    private void validateLazy(Header header) throws TException {
+        validate(header);
+        if (!locator.isSupport(header.getType())) {
+            throw new TException("Unsupported type:" + header.getType());
+        }
+    }
+
     private TBase<?, ?> deserialize() throws TException {
         final Header header = readHeader();
         if (header == null) {
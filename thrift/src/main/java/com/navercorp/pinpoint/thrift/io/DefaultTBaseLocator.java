@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeHistogram;
 import com.navercorp.pinpoint.thrift.dto.TResult;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
@@ -53,6 +54,8 @@ class DefaultTBaseLocator implements TBaseLocator {
     private static final Header AGENT_STAT_HEADER = createHeader(AGENT_STAT);
     private static final short AGENT_STAT_BATCH = 56;
     private static final Header AGENT_STAT_BATCH_HEADER = createHeader(AGENT_STAT_BATCH);
+    private static final short RESPONSE_TIME_HISTOGRAM = 57;
+    private static final Header RESPONSE_TIME_HISTOGRAM_HEADER = createHeader(RESPONSE_TIME_HISTOGRAM);
 
     private static final short SPANCHUNK = 70;
     private static final Header SPANCHUNK_HEADER = createHeader(SPANCHUNK);
@@ -86,6 +89,8 @@ class DefaultTBaseLocator implements TBaseLocator {
                 return new TAgentStat();
             case AGENT_STAT_BATCH:
                 return new TAgentStatBatch();
+            case RESPONSE_TIME_HISTOGRAM:
+                return new TResponseTimeHistogram();
             case SPANCHUNK:
                 return new TSpanChunk();
             case SPANEVENT:
@@ -104,6 +109,50 @@ class DefaultTBaseLocator implements TBaseLocator {
         throw new TException("Unsupported type:" + type);
     }
 
+    @Override
+    public short typeLookup(Class<? extends TBase> clazz) throws TException {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz must not be null");
+        }
+        if (clazz.equals(TSpan.class)) {
+            return SPAN;
+        }
+        if (clazz.equals(TSpanChunk.class)) {
+            return SPANCHUNK;
+        }
+        if (clazz.equals(TSpanEvent.class)) {
+            return SPANEVENT;
+        }
+        if (clazz.equals(TAgentInfo.class)) {
+            return AGENT_INFO;
+        }
+        if (clazz.equals(TAgentStat.class)) {
+            return AGENT_STAT;
+        }
+        if (clazz.equals(TAgentStatBatch.class)) {
+            return AGENT_STAT_BATCH;
+        }
+        if (clazz.equals(TResponseTimeHistogram.class)) {
+            return RESPONSE_TIME_HISTOGRAM;
+        }
+        if (clazz.equals(TSqlMetaData.class)) {
+            return SQLMETADATA;
+        }
+        if (clazz.equals(TApiMetaData.class)) {
+            return APIMETADATA;
+        }
+        if (clazz.equals(TResult.class)) {
+            return RESULT;
+        }
+        if (clazz.equals(TStringMetaData.class)) {
+            return STRINGMETADATA;
+        }
+        if (clazz.equals(NetworkAvailabilityCheckPacket.class)) {
+            return NETWORK_CHECK;
+        }
+        throw new TException("Unsupported Type" + clazz);
+    }
+
     public Header headerLookup(TBase<?, ?> tbase) throws TException {
         if (tbase == null) {
             throw new IllegalArgumentException("tbase must not be null");
@@ -126,6 +175,9 @@ class DefaultTBaseLocator implements TBaseLocator {
         if (tbase instanceof TAgentStatBatch) {
             return AGENT_STAT_BATCH_HEADER;
         }
+        if (tbase instanceof TResponseTimeHistogram) {
+            return RESPONSE_TIME_HISTOGRAM_HEADER;
+        }
         if (tbase instanceof TSqlMetaData) {
             return SQLMETADATA_HEADER;
         }
@@ -174,6 +226,9 @@ class DefaultTBaseLocator implements TBaseLocator {
         if (clazz.equals(TAgentStatBatch.class)) {
             return true;
         }
+        if (clazz.equals(TResponseTimeHistogram.class)) {
+            return true;
+        }
         if (clazz.equals(TSqlMetaData.class)) {
             return true;
         }
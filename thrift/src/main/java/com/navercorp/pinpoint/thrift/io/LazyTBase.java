@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TField;
+import org.apache.thrift.protocol.TList;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
+import org.apache.thrift.transport.TMemoryInputTransport;
+
+/**
+ * Undecoded message. only the header is parsed.
+ * <p>
+ * Routing and header filters use the header alone. The body is decoded on {@link #materialize()},
+ * for handlers that store the whole object.
+ * <p>
+ * Handlers that need a few fields, e.g. for statistics, read them without building the object.
+ * {@link #getString(short)}, {@link #getI16(short, short)}, {@link #getI32(short, int)}, {@link #getI64(short, long)}
+ * and {@link #readStructList(short, TBase, StructHandler)} scan the body for one top level field on every call.
+ * <p>
+ * Caution. not thread safe. the body refers to the receive buffer without copying,
+ * so it is valid only while the buffer is not reused.
+ */
+public class LazyTBase {
+
+    private final Header header;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private final TProtocolFactory protocolFactory;
+    private final TBaseLocator locator;
+
+    private TBase<?, ?> tBase;
+
+    private TMemoryInputTransport trans;
+    private TProtocol protocol;
+
+    public LazyTBase(Header header, byte[] bytes, int offset, int length, TProtocolFactory protocolFactory, TBaseLocator locator) {
+        if (header == null) {
+            throw new NullPointerException("header must not be null");
+        }
+        if (bytes == null) {
+            throw new NullPointerException("bytes must not be null");
+        }
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IllegalArgumentException("invalid range. offset:" + offset + ", length:" + length);
+        }
+        if (protocolFactory == null) {
+            throw new NullPointerException("protocolFactory must not be null");
+        }
+        if (locator == null) {
+            throw new NullPointerException("locator must not be null");
+        }
+        this.header = header;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.protocolFactory = protocolFactory;
+        this.locator = locator;
+    }
+
+    public Header getHeader() {
+        return header;
+    }
+
+    public short getType() {
+        return header.getType();
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return empty instance of the message type. the body is not decoded
+     */
+    public TBase<?, ?> newInstance() throws TException {
+        return locator.tBaseLookup(header.getType());
+    }
+
+    public boolean isTypeOf(Class<? extends TBase> clazz) {
+        if (clazz == null) {
+            return false;
+        }
+        try {
+            return locator.typeLookup(clazz) == header.getType();
+        } catch (TException e) {
+            return false;
+        }
+    }
+
+    public boolean isMaterialized() {
+        return tBase != null;
+    }
+
+    public TBase<?, ?> materialize() throws TException {
+        if (tBase != null) {
+            return tBase;
+        }
+        final TBase<?, ?> base = locator.tBaseLookup(header.getType());
+        if (length > 0) {
+            base.read(resetProtocol());
+        }
+        this.tBase = base;
+        return base;
+    }
+
+    /**
+     * @return null if the field is not set
+     */
+    public String getString(short fieldId) throws TException {
+        final TProtocol protocol = seekField(fieldId, TType.STRING);
+        if (protocol == null) {
+            return null;
+        }
+        return protocol.readString();
+    }
+
+    public long getI64(short fieldId, long defaultValue) throws TException {
+        final TProtocol protocol = seekField(fieldId, TType.I64);
+        if (protocol == null) {
+            return defaultValue;
+        }
+        return protocol.readI64();
+    }
+
+    public short getI16(short fieldId, short defaultValue) throws TException {
+        final TProtocol protocol = seekField(fieldId, TType.I16);
+        if (protocol == null) {
+            return defaultValue;
+        }
+        return protocol.readI16();
+    }
+
+    public int getI32(short fieldId, int defaultValue) throws TException {
+        final TProtocol protocol = seekField(fieldId, TType.I32);
+        if (protocol == null) {
+            return defaultValue;
+        }
+        return protocol.readI32();
+    }
+
+    /**
+     * Reads the elements of a top level list of structs one by one, without building the list.
+     * {@code element} is cleared and reused for every element, so the handler must not keep it.
+     * The handler must not read this message either, the list is read from the same protocol.
+     *
+     * @return number of elements. 0 if the field is not set
+     */
+    public <T extends TBase<?, ?>> int readStructList(short fieldId, T element, StructHandler<? super T> handler) throws TException {
+        if (element == null) {
+            throw new NullPointerException("element must not be null");
+        }
+        if (handler == null) {
+            throw new NullPointerException("handler must not be null");
+        }
+        final TProtocol protocol = seekField(fieldId, TType.LIST);
+        if (protocol == null) {
+            return 0;
+        }
+        final TList list = protocol.readListBegin();
+        if (list.elemType != TType.STRUCT) {
+            return 0;
+        }
+        for (int i = 0; i < list.size; i++) {
+            element.clear();
+            element.read(protocol);
+            handler.handle(element);
+        }
+        protocol.readListEnd();
+        return list.size;
+    }
+
+    private TProtocol seekField(short fieldId, byte fieldType) throws TException {
+        if (length == 0) {
+            return null;
+        }
+        final TProtocol protocol = resetProtocol();
+        protocol.readStructBegin();
+        while (true) {
+            final TField field = protocol.readFieldBegin();
+            if (field.type == TType.STOP) {
+                return null;
+            }
+            if (field.id == fieldId && field.type == fieldType) {
+                return protocol;
+            }
+            TProtocolUtil.skip(protocol, field.type);
+            protocol.readFieldEnd();
+        }
+    }
+
+    private TProtocol resetProtocol() {
+        if (protocol == null) {
+            this.trans = new TMemoryInputTransport();
+            this.protocol = protocolFactory.getProtocol(trans);
+        }
+        trans.reset(bytes, offset, length);
+        protocol.reset();
+        return protocol;
+    }
+
+    public interface StructHandler<T extends TBase<?, ?>> {
+        void handle(T element);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyTBase{" +
+                "header=" + header +
+                ", length=" + length +
+                ", materialized=" + isMaterialized() +
+                '}';
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocolException;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Hand-written {@link TSpan}, {@link TSpanChunk} serializer.
+ * <p>
+ * Writes the same header and TCompactProtocol bytes as {@link HeaderTBaseSerializer} straight into a reusable buffer,
+ * without the generic TProtocol/TTransport layers and the field descriptor lookups.
+ * Optional fields holding their IDL default value (parentSpanId, elapsed, flag, endElapsed, depth, nextSpanId) are not written.
+ * The reader gets the same values from the generated constructor.
+ * <p>
+ * Caution. not thread safe
+ */
+public class SpanCompactSerializer {
+
+    // TCompactProtocol.Types
+    private static final byte TYPE_BOOLEAN_TRUE = 0x01;
+    private static final byte TYPE_BOOLEAN_FALSE = 0x02;
+    private static final byte TYPE_BYTE = 0x03;
+    private static final byte TYPE_I16 = 0x04;
+    private static final byte TYPE_I32 = 0x05;
+    private static final byte TYPE_I64 = 0x06;
+    private static final byte TYPE_DOUBLE = 0x07;
+    private static final byte TYPE_BINARY = 0x08;
+    private static final byte TYPE_LIST = 0x09;
+    private static final byte TYPE_STRUCT = 0x0C;
+
+    private static final byte FIELD_STOP = 0x00;
+
+    private static final String UTF8 = "UTF-8";
+
+    private final ByteBuffer buffer;
+    private final Header spanHeader;
+    private final Header spanChunkHeader;
+
+    public SpanCompactSerializer(int bufferSize) {
+        this(bufferSize, new DefaultTBaseLocator());
+    }
+
+    public SpanCompactSerializer(int bufferSize, TBaseLocator locator) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize");
+        }
+        if (locator == null) {
+            throw new NullPointerException("locator must not be null");
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        try {
+            this.spanHeader = locator.headerLookup(new TSpan());
+            this.spanChunkHeader = locator.headerLookup(new TSpanChunk());
+        } catch (TException e) {
+            throw new IllegalArgumentException("header not found. locator:" + locator, e);
+        }
+    }
+
+    public static boolean isSupport(TBase<?, ?> base) {
+        return base instanceof TSpan || base instanceof TSpanChunk;
+    }
+
+    /**
+     * @return internal buffer. valid up to {@link #getInterBufferSize()} until the next call
+     * @throws BufferOverflowException if the message is larger than the buffer
+     */
+    public byte[] serialize(TBase<?, ?> base) throws TException {
+        if (base == null) {
+            throw new NullPointerException("base must not be null");
+        }
+        buffer.clear();
+        try {
+            if (base instanceof TSpan) {
+                writeHeader(spanHeader);
+                writeSpan((TSpan) base);
+            } else if (base instanceof TSpanChunk) {
+                writeHeader(spanChunkHeader);
+                writeSpanChunk((TSpanChunk) base);
+            } else {
+                throw new TException("Unsupported type:" + base.getClass());
+            }
+        } catch (java.nio.BufferOverflowException e) {
+            buffer.clear();
+            throw new BufferOverflowException("too large message. bufferSize:" + buffer.capacity(), e);
+        }
+        return buffer.array();
+    }
+
+    public int getInterBufferSize() {
+        return buffer.position();
+    }
+
+    private void writeHeader(Header header) {
+        buffer.put(header.getSignature());
+        buffer.put(header.getVersion());
+        // fixed size regardless protocol
+        final short type = header.getType();
+        buffer.put(BytesUtils.writeShort1(type));
+        buffer.put(BytesUtils.writeShort2(type));
+    }
+
+    private void writeSpan(TSpan span) throws TException {
+        int lastFieldId = 0;
+        final String agentId = span.getAgentId();
+        if (agentId != null) {
+            lastFieldId = writeFieldBegin(1, lastFieldId, TYPE_BINARY);
+            writeString(agentId);
+        }
+        final String applicationName = span.getApplicationName();
+        if (applicationName != null) {
+            lastFieldId = writeFieldBegin(2, lastFieldId, TYPE_BINARY);
+            writeString(applicationName);
+        }
+        lastFieldId = writeFieldBegin(3, lastFieldId, TYPE_I64);
+        writeI64(span.getAgentStartTime());
+        if (span.isSetTransactionId()) {
+            lastFieldId = writeFieldBegin(4, lastFieldId, TYPE_BINARY);
+            writeBinary(span.getTransactionId());
+        }
+        lastFieldId = writeFieldBegin(7, lastFieldId, TYPE_I64);
+        writeI64(span.getSpanId());
+        if (span.isSetParentSpanId() && span.getParentSpanId() != -1) {
+            lastFieldId = writeFieldBegin(8, lastFieldId, TYPE_I64);
+            writeI64(span.getParentSpanId());
+        }
+        lastFieldId = writeFieldBegin(9, lastFieldId, TYPE_I64);
+        writeI64(span.getStartTime());
+        if (span.isSetElapsed() && span.getElapsed() != 0) {
+            lastFieldId = writeFieldBegin(10, lastFieldId, TYPE_I32);
+            writeI32(span.getElapsed());
+        }
+        final String rpc = span.getRpc();
+        if (rpc != null) {
+            lastFieldId = writeFieldBegin(11, lastFieldId, TYPE_BINARY);
+            writeString(rpc);
+        }
+        lastFieldId = writeFieldBegin(12, lastFieldId, TYPE_I16);
+        writeI16(span.getServiceType());
+        final String endPoint = span.getEndPoint();
+        if (endPoint != null) {
+            lastFieldId = writeFieldBegin(13, lastFieldId, TYPE_BINARY);
+            writeString(endPoint);
+        }
+        final String remoteAddr = span.getRemoteAddr();
+        if (remoteAddr != null) {
+            lastFieldId = writeFieldBegin(14, lastFieldId, TYPE_BINARY);
+            writeString(remoteAddr);
+        }
+        final List<TAnnotation> annotations = span.getAnnotations();
+        if (annotations != null) {
+            lastFieldId = writeFieldBegin(15, lastFieldId, TYPE_LIST);
+            writeAnnotationList(annotations);
+        }
+        if (span.isSetFlag() && span.getFlag() != 0) {
+            lastFieldId = writeFieldBegin(16, lastFieldId, TYPE_I16);
+            writeI16(span.getFlag());
+        }
+        if (span.isSetErr()) {
+            lastFieldId = writeFieldBegin(17, lastFieldId, TYPE_I32);
+            writeI32(span.getErr());
+        }
+        final List<TSpanEvent> spanEventList = span.getSpanEventList();
+        if (spanEventList != null) {
+            lastFieldId = writeFieldBegin(18, lastFieldId, TYPE_LIST);
+            writeSpanEventList(spanEventList);
+        }
+        final String parentApplicationName = span.getParentApplicationName();
+        if (parentApplicationName != null) {
+            lastFieldId = writeFieldBegin(19, lastFieldId, TYPE_BINARY);
+            writeString(parentApplicationName);
+        }
+        if (span.isSetParentApplicationType()) {
+            lastFieldId = writeFieldBegin(20, lastFieldId, TYPE_I16);
+            writeI16(span.getParentApplicationType());
+        }
+        final String acceptorHost = span.getAcceptorHost();
+        if (acceptorHost != null) {
+            lastFieldId = writeFieldBegin(21, lastFieldId, TYPE_BINARY);
+            writeString(acceptorHost);
+        }
+        if (span.isSetApiId()) {
+            lastFieldId = writeFieldBegin(25, lastFieldId, TYPE_I32);
+            writeI32(span.getApiId());
+        }
+        final TIntStringValue exceptionInfo = span.getExceptionInfo();
+        if (exceptionInfo != null) {
+            lastFieldId = writeFieldBegin(26, lastFieldId, TYPE_STRUCT);
+            writeIntStringValue(exceptionInfo);
+        }
+        if (span.isSetApplicationServiceType()) {
+            lastFieldId = writeFieldBegin(30, lastFieldId, TYPE_I16);
+            writeI16(span.getApplicationServiceType());
+        }
+        if (span.isSetLoggingTransactionInfo()) {
+            lastFieldId = writeFieldBegin(31, lastFieldId, TYPE_BYTE);
+            buffer.put(span.getLoggingTransactionInfo());
+        }
+        if (span.isSetCpuTime()) {
+            lastFieldId = writeFieldBegin(32, lastFieldId, TYPE_I64);
+            writeI64(span.getCpuTime());
+        }
+        if (span.isSetAllocatedBytes()) {
+            writeFieldBegin(33, lastFieldId, TYPE_I64);
+            writeI64(span.getAllocatedBytes());
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeSpanChunk(TSpanChunk spanChunk) throws TException {
+        int lastFieldId = 0;
+        final String agentId = spanChunk.getAgentId();
+        if (agentId != null) {
+            lastFieldId = writeFieldBegin(1, lastFieldId, TYPE_BINARY);
+            writeString(agentId);
+        }
+        final String applicationName = spanChunk.getApplicationName();
+        if (applicationName != null) {
+            lastFieldId = writeFieldBegin(2, lastFieldId, TYPE_BINARY);
+            writeString(applicationName);
+        }
+        lastFieldId = writeFieldBegin(3, lastFieldId, TYPE_I64);
+        writeI64(spanChunk.getAgentStartTime());
+        lastFieldId = writeFieldBegin(4, lastFieldId, TYPE_I16);
+        writeI16(spanChunk.getServiceType());
+        if (spanChunk.isSetTransactionId()) {
+            lastFieldId = writeFieldBegin(5, lastFieldId, TYPE_BINARY);
+            writeBinary(spanChunk.getTransactionId());
+        }
+        lastFieldId = writeFieldBegin(8, lastFieldId, TYPE_I64);
+        writeI64(spanChunk.getSpanId());
+        final String endPoint = spanChunk.getEndPoint();
+        if (endPoint != null) {
+            lastFieldId = writeFieldBegin(9, lastFieldId, TYPE_BINARY);
+            writeString(endPoint);
+        }
+        final List<TSpanEvent> spanEventList = spanChunk.getSpanEventList();
+        if (spanEventList != null) {
+            lastFieldId = writeFieldBegin(10, lastFieldId, TYPE_LIST);
+            writeSpanEventList(spanEventList);
+        }
+        if (spanChunk.isSetApplicationServiceType()) {
+            writeFieldBegin(11, lastFieldId, TYPE_I16);
+            writeI16(spanChunk.getApplicationServiceType());
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeSpanEventList(List<TSpanEvent> spanEventList) throws TException {
+        final int size = spanEventList.size();
+        writeListBegin(TYPE_STRUCT, size);
+        for (int i = 0; i < size; i++) {
+            writeSpanEvent(spanEventList.get(i));
+        }
+    }
+
+    private void writeSpanEvent(TSpanEvent spanEvent) throws TException {
+        int lastFieldId = 0;
+        if (spanEvent.isSetSpanId()) {
+            lastFieldId = writeFieldBegin(7, lastFieldId, TYPE_I64);
+            writeI64(spanEvent.getSpanId());
+        }
+        lastFieldId = writeFieldBegin(8, lastFieldId, TYPE_I16);
+        writeI16(spanEvent.getSequence());
+        lastFieldId = writeFieldBegin(9, lastFieldId, TYPE_I32);
+        writeI32(spanEvent.getStartElapsed());
+        if (spanEvent.isSetEndElapsed() && spanEvent.getEndElapsed() != 0) {
+            lastFieldId = writeFieldBegin(10, lastFieldId, TYPE_I32);
+            writeI32(spanEvent.getEndElapsed());
+        }
+        final String rpc = spanEvent.getRpc();
+        if (rpc != null) {
+            lastFieldId = writeFieldBegin(11, lastFieldId, TYPE_BINARY);
+            writeString(rpc);
+        }
+        lastFieldId = writeFieldBegin(12, lastFieldId, TYPE_I16);
+        writeI16(spanEvent.getServiceType());
+        final String endPoint = spanEvent.getEndPoint();
+        if (endPoint != null) {
+            lastFieldId = writeFieldBegin(13, lastFieldId, TYPE_BINARY);
+            writeString(endPoint);
+        }
+        final List<TAnnotation> annotations = spanEvent.getAnnotations();
+        if (annotations != null) {
+            lastFieldId = writeFieldBegin(14, lastFieldId, TYPE_LIST);
+            writeAnnotationList(annotations);
+        }
+        if (spanEvent.isSetDepth() && spanEvent.getDepth() != -1) {
+            lastFieldId = writeFieldBegin(15, lastFieldId, TYPE_I32);
+            writeI32(spanEvent.getDepth());
+        }
+        if (spanEvent.isSetNextSpanId() && spanEvent.getNextSpanId() != -1) {
+            lastFieldId = writeFieldBegin(16, lastFieldId, TYPE_I64);
+            writeI64(spanEvent.getNextSpanId());
+        }
+        final String destinationId = spanEvent.getDestinationId();
+        if (destinationId != null) {
+            lastFieldId = writeFieldBegin(20, lastFieldId, TYPE_BINARY);
+            writeString(destinationId);
+        }
+        if (spanEvent.isSetApiId()) {
+            lastFieldId = writeFieldBegin(25, lastFieldId, TYPE_I32);
+            writeI32(spanEvent.getApiId());
+        }
+        final TIntStringValue exceptionInfo = spanEvent.getExceptionInfo();
+        if (exceptionInfo != null) {
+            lastFieldId = writeFieldBegin(26, lastFieldId, TYPE_STRUCT);
+            writeIntStringValue(exceptionInfo);
+        }
+        if (spanEvent.isSetAsyncId()) {
+            lastFieldId = writeFieldBegin(30, lastFieldId, TYPE_I32);
+            writeI32(spanEvent.getAsyncId());
+        }
+        if (spanEvent.isSetNextAsyncId()) {
+            lastFieldId = writeFieldBegin(31, lastFieldId, TYPE_I32);
+            writeI32(spanEvent.getNextAsyncId());
+        }
+        if (spanEvent.isSetAsyncSequence()) {
+            writeFieldBegin(32, lastFieldId, TYPE_I16);
+            writeI16(spanEvent.getAsyncSequence());
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeAnnotationList(List<TAnnotation> annotations) throws TException {
+        final int size = annotations.size();
+        writeListBegin(TYPE_STRUCT, size);
+        for (int i = 0; i < size; i++) {
+            writeAnnotation(annotations.get(i));
+        }
+    }
+
+    private void writeAnnotation(TAnnotation annotation) throws TException {
+        int lastFieldId = writeFieldBegin(1, 0, TYPE_I32);
+        writeI32(annotation.getKey());
+        final TAnnotationValue value = annotation.getValue();
+        if (value != null) {
+            writeFieldBegin(2, lastFieldId, TYPE_STRUCT);
+            writeAnnotationValue(value);
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeAnnotationValue(TAnnotationValue annotationValue) throws TException {
+        final TAnnotationValue._Fields setField = annotationValue.getSetField();
+        if (setField == null) {
+            throw new TProtocolException("Cannot write a TUnion with no set value!");
+        }
+        // getFieldValue() does not copy the binary value
+        final Object value = annotationValue.getFieldValue();
+        switch (setField) {
+            case STRING_VALUE:
+                writeFieldBegin(1, 0, TYPE_BINARY);
+                writeString((String) value);
+                break;
+            case BOOL_VALUE:
+                writeFieldBegin(2, 0, (Boolean) value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+                break;
+            case INT_VALUE:
+                writeFieldBegin(3, 0, TYPE_I32);
+                writeI32((Integer) value);
+                break;
+            case LONG_VALUE:
+                writeFieldBegin(4, 0, TYPE_I64);
+                writeI64((Long) value);
+                break;
+            case SHORT_VALUE:
+                writeFieldBegin(5, 0, TYPE_I16);
+                writeI16((Short) value);
+                break;
+            case DOUBLE_VALUE:
+                writeFieldBegin(6, 0, TYPE_DOUBLE);
+                writeDouble((Double) value);
+                break;
+            case BINARY_VALUE:
+                writeFieldBegin(7, 0, TYPE_BINARY);
+                writeBinary((ByteBuffer) value);
+                break;
+            case BYTE_VALUE:
+                writeFieldBegin(8, 0, TYPE_BYTE);
+                buffer.put((Byte) value);
+                break;
+            case INT_STRING_VALUE:
+                writeFieldBegin(9, 0, TYPE_STRUCT);
+                writeIntStringValue((TIntStringValue) value);
+                break;
+            case INT_STRING_STRING_VALUE:
+                writeFieldBegin(10, 0, TYPE_STRUCT);
+                writeIntStringStringValue((TIntStringStringValue) value);
+                break;
+            case COLLAPSED_CALL_VALUE:
+                writeFieldBegin(11, 0, TYPE_STRUCT);
+                writeCollapsedCallValue((TCollapsedCallValue) value);
+                break;
+            default:
+                throw new TProtocolException("Unknown field:" + setField);
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeIntStringValue(TIntStringValue intStringValue) throws TException {
+        int lastFieldId = writeFieldBegin(1, 0, TYPE_I32);
+        writeI32(intStringValue.getIntValue());
+        final String stringValue = intStringValue.getStringValue();
+        if (stringValue != null) {
+            writeFieldBegin(2, lastFieldId, TYPE_BINARY);
+            writeString(stringValue);
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeIntStringStringValue(TIntStringStringValue intStringStringValue) throws TException {
+        int lastFieldId = writeFieldBegin(1, 0, TYPE_I32);
+        writeI32(intStringStringValue.getIntValue());
+        final String stringValue1 = intStringStringValue.getStringValue1();
+        if (stringValue1 != null) {
+            lastFieldId = writeFieldBegin(2, lastFieldId, TYPE_BINARY);
+            writeString(stringValue1);
+        }
+        final String stringValue2 = intStringStringValue.getStringValue2();
+        if (stringValue2 != null) {
+            writeFieldBegin(3, lastFieldId, TYPE_BINARY);
+            writeString(stringValue2);
+        }
+        buffer.put(FIELD_STOP);
+    }
+
+    private void writeCollapsedCallValue(TCollapsedCallValue collapsedCallValue) throws TException {
+        writeFieldBegin(1, 0, TYPE_I32);
+        writeI32(collapsedCallValue.getCount());
+        writeFieldBegin(2, 1, TYPE_I64);
+        writeI64(collapsedCallValue.getTotalElapsed());
+        writeFieldBegin(3, 2, TYPE_I32);
+        writeI32(collapsedCallValue.getMinElapsed());
+        writeFieldBegin(4, 3, TYPE_I32);
+        writeI32(collapsedCallValue.getMaxElapsed());
+        writeFieldBegin(5, 4, TYPE_I32);
+        writeI32(collapsedCallValue.getErrorCount());
+        buffer.put(FIELD_STOP);
+    }
+
+    /**
+     * @return fieldId. the lastFieldId of the next field
+     */
+    private int writeFieldBegin(int fieldId, int lastFieldId, byte type) {
+        final int delta = fieldId - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            buffer.put((byte) (delta << 4 | type));
+        } else {
+            buffer.put(type);
+            writeI16((short) fieldId);
+        }
+        return fieldId;
+    }
+
+    private void writeListBegin(byte elementType, int size) {
+        if (size <= 14) {
+            buffer.put((byte) (size << 4 | elementType));
+        } else {
+            buffer.put((byte) (0xf0 | elementType));
+            writeVarint32(size);
+        }
+    }
+
+    private void writeString(String value) throws TException {
+        final int length = value.length();
+        final int startPosition = buffer.position();
+        writeVarint32(length);
+        // ascii fast path. no intermediate byte[]
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                buffer.position(startPosition);
+                writeUtf8String(value);
+                return;
+            }
+            buffer.put((byte) c);
+        }
+    }
+
+    private void writeUtf8String(String value) throws TException {
+        try {
+            final byte[] bytes = value.getBytes(UTF8);
+            writeVarint32(bytes.length);
+            buffer.put(bytes);
+        } catch (UnsupportedEncodingException e) {
+            throw new TException("JVM DOES NOT SUPPORT UTF-8");
+        }
+    }
+
+    private void writeBinary(byte[] value) {
+        writeVarint32(value.length);
+        buffer.put(value);
+    }
+
+    private void writeBinary(ByteBuffer value) {
+        final int length = value.remaining();
+        writeVarint32(length);
+        buffer.put(value.array(), value.arrayOffset() + value.position(), length);
+    }
+
+    private void writeI16(short value) {
+        writeVarint32(intToZigZag(value));
+    }
+
+    private void writeI32(int value) {
+        writeVarint32(intToZigZag(value));
+    }
+
+    private void writeI64(long value) {
+        writeVarint64(longToZigZag(value));
+    }
+
+    private void writeDouble(double value) {
+        // little endian
+        final long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            buffer.put((byte) (bits >> (i * 8)));
+        }
+    }
+
+    private void writeVarint32(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeVarint64(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int intToZigZag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static long longToZigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+}
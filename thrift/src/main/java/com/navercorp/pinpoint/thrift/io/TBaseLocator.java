@@ -26,7 +26,7 @@ import org.apache.thrift.TException;
 public interface TBaseLocator {
     TBase<?, ?> tBaseLookup(short type) throws TException;
 
-//    short typeLookup(TBase<?, ?> tbase) throws TException;
+    short typeLookup(Class<? extends TBase> clazz) throws TException;
 
     Header headerLookup(TBase<?, ?> dto) throws TException;
 
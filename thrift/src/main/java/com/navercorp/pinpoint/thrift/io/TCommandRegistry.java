@@ -68,6 +68,23 @@ public class TCommandRegistry implements TBaseLocator {
         throw new TException("Unsupported Type" + tbase.getClass());
     }
 
+    @Override
+    public short typeLookup(Class<? extends TBase> clazz) throws TException {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz must not be null");
+        }
+
+        Collection<TCommandType> commandTBaseList = commandTBaseRepository.values();
+
+        for (TCommandType commandTBase : commandTBaseList) {
+            if (commandTBase.getClazz().equals(clazz)) {
+                return commandTBase.getCode();
+            }
+        }
+
+        throw new TException("Unsupported Type" + clazz);
+    }
+
     @Override
     public boolean isSupport(short type) {
         TCommandType commandTBaseType = commandTBaseRepository.get(type);
@@ -100,6 +100,18 @@ public enum TCommandType {
         public TBase newObject() {
             return new TCmdActiveThreadLightDumpRes();
         }
+    },
+    STACK_PROFILE((short) 760, TCmdStackProfile.class) {
+        @Override
+        public TBase newObject() {
+            return new TCmdStackProfile();
+        }
+    },
+    STACK_PROFILE_RESPONSE((short) 761, TCmdStackProfileRes.class) {
+        @Override
+        public TBase newObject() {
+            return new TCmdStackProfileRes();
+        }
     };
 
     private final short code;
@@ -108,6 +108,29 @@ struct TCmdActiveThreadLightDumpRes {
     4: optional string version
 }
 
+struct TFoldedStack {
+    1: string stack
+    2: i32 count
+}
+
+struct TStackProfile {
+    1: string entryPoint
+    2: i32 sampleCount
+    3: list<TFoldedStack> foldedStacks
+    4: optional i32 droppedCount
+}
+
+struct TCmdStackProfile {
+}
+
+struct TCmdStackProfileRes {
+    1: i64 startTime
+    2: i64 endTime
+    3: i32 samplingInterval
+    4: list<TStackProfile> stackProfiles
+    5: optional i32 droppedCount
+}
+
 struct TCommandEcho {
 	1: string	message
 }
@@ -79,6 +79,8 @@ struct TTransaction {
     3: optional i64     sampledContinuationCount
     4: optional i64     unsampledNewCount
     5: optional i64     unsampledContinuationCount
+    // percent of new transactions sent to the collector, including the promoted deferred transactions
+    6: optional double  samplingRate
 }
 
 struct TActiveTraceHistogram {
@@ -101,6 +103,9 @@ struct TAgentStat {
     30: optional TTransaction   transaction
     40: optional TActiveTrace   activeTrace
     50: optional TDataSourceList dataSourceList
+    70: optional TDataSenderQueue spanSenderQueue
+    80: optional TDeferredSampling deferredSampling
+    90: optional TSamplingThrottle samplingThrottle
     200: optional string    metadata
 }
 
@@ -122,3 +127,40 @@ struct TDataSource {
 struct TDataSourceList {
     1: list<TDataSource> dataSourceList
 }
+
+struct TDataSenderQueue {
+    1: optional i32             queueSize
+    2: optional i32             queueCapacity
+    3: optional i64             dropCount   // dropped during the collect interval
+}
+
+// counts of deferred sampling during the collect interval
+struct TDeferredSampling {
+    1: optional i32             activeTraceCount    // buffered at the time of the collection
+    2: optional i64             promotedCount
+    3: optional i64             discardedCount
+    4: optional i64             rejectedCount
+    5: optional i64             expiredCount
+}
+
+struct TSamplingThrottle {
+    1: optional i32             throttleLevel       // 0 ~ 100 (%) at the time of the collection
+    2: optional i64             throttledCount      // sampled transactions dropped by the throttle
+}
+
+// response time counts of the transactions that are not sent as span (unsampled)
+struct TResponseTimeCount {
+    1: bool                     root    // started by the agent. the caller is the virtual user node
+    2: i16                      slot    // ApplicationMapStatisticsUtils.getSlotNumber()
+    3: i64                      count
+}
+
+struct TResponseTimeHistogram {
+    1: string                   agentId
+    2: string                   applicationName
+    3: i16                      applicationServiceType
+    4: i64                      startTimestamp
+    5: i64                      timestamp
+    6: i64                      collectInterval
+    10: list<TResponseTimeCount> responseTimeCounts
+}
@@ -12,6 +12,14 @@ struct TIntStringStringValue {
     3: optional string stringValue2;
 }
 
+struct TCollapsedCallValue {
+    1: i32 count;
+    2: i64 totalElapsed;
+    3: i32 minElapsed;
+    4: i32 maxElapsed;
+    5: i32 errorCount;
+}
+
 
 union TAnnotationValue {
   1: string stringValue
@@ -24,6 +32,7 @@ union TAnnotationValue {
   8: byte byteValue;
   9: TIntStringValue intStringValue;
   10: TIntStringStringValue intStringStringValue;
+  11: TCollapsedCallValue collapsedCallValue;
 }
 
 struct TAnnotation {
@@ -102,6 +111,10 @@ struct TSpan {
   
   30: optional i16 applicationServiceType;
   31: optional byte loggingTransactionInfo;
+
+  // thread cpu time (microseconds) and thread allocated bytes between span start and end
+  32: optional i64 cpuTime;
+  33: optional i64 allocatedBytes;
 }
 
 struct TSpanChunk {
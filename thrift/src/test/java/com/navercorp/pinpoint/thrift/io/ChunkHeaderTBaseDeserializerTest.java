@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.thrift.io;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.thrift.TBase;
@@ -25,6 +26,10 @@ import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocolFactory;
 import org.junit.Test;
 
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeCount;
+import com.navercorp.pinpoint.thrift.dto.TResponseTimeHistogram;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
@@ -50,4 +55,110 @@ public class ChunkHeaderTBaseDeserializerTest {
         TSpanChunk result = (TSpanChunk) list.get(0);
         assertEquals(3, result.getSpanEventList().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deserializeWithoutChunkHeader() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024 * 64, false).createSerializer();
+        TSpanChunk chunk = new TSpanMockBuilder().buildChunk(3, 10);
+        byte[] bytes = serializer.serialize(chunk);
+
+        List<TBase<?, ?>> list = deserializer.deserialize(bytes, 0, serializer.getInterBufferSize());
+        assertEquals(1, list.size());
+        TSpanChunk result = (TSpanChunk) list.get(0);
+        assertEquals(3, result.getSpanEventList().size());
+    }
+
+    @Test
+    public void deserializeLazy() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        UnsafeByteArrayOutputStream out = new UnsafeByteArrayOutputStream();
+        ChunkHeaderBufferedTBaseSerializer serializer = new ChunkHeaderBufferedTBaseSerializer(out, DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+        TSpanChunk chunk = new TSpanMockBuilder().setAgentId("lazyAgent").buildChunk(3, 10);
+        serializer.add(chunk);
+        TAgentStat agentStat = new TAgentStat();
+        agentStat.setAgentId("statAgent");
+        agentStat.setTimestamp(1234L);
+        serializer.add(agentStat);
+        serializer.add(new NetworkAvailabilityCheckPacket());
+
+        List<LazyTBase> list = deserializer.deserializeLazy(serializer.getTransport().getBuffer(), 0, serializer.getTransport().getBufferPosition());
+        assertEquals(3, list.size());
+
+        LazyTBase lazyChunk = list.get(0);
+        assertTrue(lazyChunk.isTypeOf(TSpanChunk.class));
+        assertFalse(lazyChunk.isTypeOf(TSpan.class));
+        assertEquals("lazyAgent", lazyChunk.getString((short) 1));
+        assertFalse(lazyChunk.isMaterialized());
+        TSpanChunk result = (TSpanChunk) lazyChunk.materialize();
+        assertEquals(chunk, result);
+        assertSame(result, lazyChunk.materialize());
+
+        LazyTBase lazyStat = list.get(1);
+        assertTrue(lazyStat.isTypeOf(TAgentStat.class));
+        assertEquals("statAgent", lazyStat.getString((short) 1));
+        assertEquals(1234L, lazyStat.getI64((short) 3, -1));
+        // not set
+        assertEquals(-1, lazyStat.getI32((short) 100, -1));
+        assertEquals(agentStat, lazyStat.materialize());
+
+        LazyTBase lazyCheck = list.get(2);
+        assertTrue(lazyCheck.isTypeOf(NetworkAvailabilityCheckPacket.class));
+        assertEquals(0, lazyCheck.getLength());
+        assertTrue(lazyCheck.materialize() instanceof NetworkAvailabilityCheckPacket);
+    }
+
+    @Test
+    public void deserializeLazyWithoutChunkHeader() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024 * 64, false).createSerializer();
+        TSpanChunk chunk = new TSpanMockBuilder().buildChunk(3, 10);
+        byte[] bytes = serializer.serialize(chunk);
+
+        List<LazyTBase> list = deserializer.deserializeLazy(bytes, 0, serializer.getInterBufferSize());
+        assertEquals(1, list.size());
+        assertTrue(list.get(0).newInstance() instanceof TSpanChunk);
+        TSpanChunk result = (TSpanChunk) list.get(0).materialize();
+        assertEquals(3, result.getSpanEventList().size());
+    }
+
+    @Test
+    public void deserializeLazyStructList() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024 * 64, false).createSerializer();
+        TResponseTimeHistogram histogram = new TResponseTimeHistogram();
+        histogram.setAgentId("agent");
+        histogram.setApplicationServiceType((short) 1010);
+        histogram.addToResponseTimeCounts(new TResponseTimeCount(true, (short) 1, 10L));
+        histogram.addToResponseTimeCounts(new TResponseTimeCount(false, (short) 2, 20L));
+        byte[] bytes = serializer.serialize(histogram);
+
+        List<LazyTBase> list = deserializer.deserializeLazy(bytes, 0, serializer.getInterBufferSize());
+        LazyTBase lazyHistogram = list.get(0);
+        assertEquals("agent", lazyHistogram.getString((short) 1));
+        assertEquals(1010, lazyHistogram.getI16((short) 3, (short) -1));
+
+        final List<TResponseTimeCount> counts = new ArrayList<TResponseTimeCount>();
+        int size = lazyHistogram.readStructList((short) 10, new TResponseTimeCount(), new LazyTBase.StructHandler<TResponseTimeCount>() {
+            @Override
+            public void handle(TResponseTimeCount element) {
+                counts.add(element.deepCopy());
+            }
+        });
+        assertEquals(2, size);
+        assertEquals(histogram.getResponseTimeCounts(), counts);
+        assertFalse(lazyHistogram.isMaterialized());
+
+        // not set
+        assertEquals(0, lazyHistogram.readStructList((short) 100, new TResponseTimeCount(), new LazyTBase.StructHandler<TResponseTimeCount>() {
+            @Override
+            public void handle(TResponseTimeCount element) {
+                fail();
+            }
+        }));
+    }
+}
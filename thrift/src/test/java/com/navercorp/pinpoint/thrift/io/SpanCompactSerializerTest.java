@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TCollapsedCallValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SpanCompactSerializerTest {
+
+    private static final int BUFFER_SIZE = 65507;
+
+    private final HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, BUFFER_SIZE, false).createSerializer();
+    private final HeaderTBaseDeserializer deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+    @Test
+    public void isSupport() {
+        Assert.assertTrue(SpanCompactSerializer.isSupport(new TSpan()));
+        Assert.assertTrue(SpanCompactSerializer.isSupport(new TSpanChunk()));
+        Assert.assertFalse(SpanCompactSerializer.isSupport(new TSpanEvent()));
+    }
+
+    @Test
+    public void serializeSpan() throws TException {
+        TSpan span = newSpan();
+        span.setAnnotations(newAnnotations());
+        span.setExceptionInfo(new TIntStringValue(10));
+        span.setErr(1);
+        span.setApiId(20);
+        span.setApplicationServiceType((short) 1010);
+        span.setLoggingTransactionInfo((byte) 1);
+        span.setCpuTime(1000);
+        span.setAllocatedBytes(2048);
+
+        List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>();
+        for (int i = 0; i < 20; i++) {
+            spanEventList.add(newSpanEvent(i));
+        }
+        span.setSpanEventList(spanEventList);
+
+        assertSameBytes(span);
+    }
+
+    @Test
+    public void serializeSpanChunk() throws TException {
+        TSpanChunk spanChunk = new TSpanChunk();
+        spanChunk.setAgentId("agentId");
+        spanChunk.setApplicationName("applicationName");
+        spanChunk.setAgentStartTime(System.currentTimeMillis());
+        spanChunk.setServiceType((short) 1000);
+        spanChunk.setTransactionId(new byte[] {1, 2, 3});
+        spanChunk.setSpanId(-1234567890L);
+        spanChunk.setEndPoint("localhost:8080");
+        spanChunk.setApplicationServiceType((short) 1010);
+        spanChunk.setSpanEventList(Arrays.asList(newSpanEvent(0), newSpanEvent(1)));
+
+        assertSameBytes(spanChunk);
+    }
+
+    @Test
+    public void serializeNonAscii() throws TException {
+        TSpan span = newSpan();
+        span.setRpc("/한글/path");
+        span.setAnnotations(Arrays.asList(newAnnotation(1, TAnnotationValue.stringValue("été"))));
+
+        assertSameBytes(span);
+    }
+
+    @Test
+    public void skipDefaultValue() throws TException {
+        TSpan span = newSpan();
+        span.setParentSpanId(-1);
+        span.setElapsed(0);
+        span.setFlag((short) 0);
+        TSpanEvent spanEvent = newSpanEvent(0);
+        spanEvent.setEndElapsed(0);
+        spanEvent.setDepth(-1);
+        spanEvent.setNextSpanId(-1);
+        span.setSpanEventList(Arrays.asList(spanEvent));
+
+        SpanCompactSerializer compactSerializer = new SpanCompactSerializer(BUFFER_SIZE);
+        byte[] buffer = compactSerializer.serialize(span);
+        byte[] bytes = Arrays.copyOf(buffer, compactSerializer.getInterBufferSize());
+        Assert.assertTrue(bytes.length < serializer.serialize(span).length);
+
+        TSpan deserialize = (TSpan) deserializer.deserialize(bytes);
+        Assert.assertEquals(-1, deserialize.getParentSpanId());
+        Assert.assertEquals(0, deserialize.getElapsed());
+        Assert.assertEquals(0, deserialize.getFlag());
+        TSpanEvent deserializeEvent = deserialize.getSpanEventList().get(0);
+        Assert.assertEquals(0, deserializeEvent.getEndElapsed());
+        Assert.assertEquals(-1, deserializeEvent.getDepth());
+        Assert.assertEquals(-1, deserializeEvent.getNextSpanId());
+        Assert.assertEquals(spanEvent.getSequence(), deserializeEvent.getSequence());
+        Assert.assertEquals(span.getSpanId(), deserialize.getSpanId());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void bufferOverflow() throws TException {
+        TSpan span = newSpan();
+        span.setAnnotations(newAnnotations());
+
+        SpanCompactSerializer compactSerializer = new SpanCompactSerializer(16);
+        compactSerializer.serialize(span);
+    }
+
+    @Test
+    public void reuse() throws TException {
+        SpanCompactSerializer compactSerializer = new SpanCompactSerializer(BUFFER_SIZE);
+        TSpan span = newSpan();
+        span.setAnnotations(newAnnotations());
+        compactSerializer.serialize(span);
+        int size = compactSerializer.getInterBufferSize();
+
+        compactSerializer.serialize(newSpan());
+        Assert.assertTrue(compactSerializer.getInterBufferSize() < size);
+        compactSerializer.serialize(span);
+        Assert.assertEquals(size, compactSerializer.getInterBufferSize());
+    }
+
+    private void assertSameBytes(TBase<?, ?> base) throws TException {
+        byte[] expected = serializer.serialize(base);
+        expected = Arrays.copyOf(expected, serializer.getInterBufferSize());
+
+        SpanCompactSerializer compactSerializer = new SpanCompactSerializer(BUFFER_SIZE);
+        byte[] buffer = compactSerializer.serialize(base);
+        byte[] actual = Arrays.copyOf(buffer, compactSerializer.getInterBufferSize());
+
+        Assert.assertArrayEquals(expected, actual);
+        Assert.assertEquals(base, deserializer.deserialize(actual));
+    }
+
+    private TSpan newSpan() {
+        TSpan span = new TSpan();
+        span.setAgentId("agentId");
+        span.setApplicationName("applicationName");
+        span.setAgentStartTime(System.currentTimeMillis());
+        span.setTransactionId(new byte[] {1, 2, 3, 4, 5});
+        span.setSpanId(1234567890123L);
+        span.setParentSpanId(98765);
+        span.setStartTime(System.currentTimeMillis());
+        span.setElapsed(300);
+        span.setRpc("/test/rpc");
+        span.setServiceType((short) 1010);
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        span.setFlag((short) 1);
+        span.setParentApplicationName("parentApplicationName");
+        span.setParentApplicationType((short) 1000);
+        span.setAcceptorHost("acceptorHost");
+        return span;
+    }
+
+    private TSpanEvent newSpanEvent(int sequence) {
+        TSpanEvent spanEvent = new TSpanEvent();
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setStartElapsed(sequence * 10);
+        spanEvent.setEndElapsed(5);
+        spanEvent.setServiceType((short) 5010);
+        spanEvent.setDepth(sequence + 1);
+        spanEvent.setApiId(-sequence);
+        spanEvent.setAnnotations(Arrays.asList(newAnnotation(12, TAnnotationValue.intValue(sequence))));
+        if (sequence % 2 == 0) {
+            spanEvent.setNextSpanId(Long.MAX_VALUE - sequence);
+            spanEvent.setRpc("rpc");
+            spanEvent.setEndPoint("endPoint");
+            spanEvent.setDestinationId("destinationId");
+            spanEvent.setExceptionInfo(new TIntStringValue(sequence));
+            spanEvent.getExceptionInfo().setStringValue("exception");
+        } else {
+            spanEvent.setSpanId(sequence);
+            spanEvent.setAsyncId(sequence);
+            spanEvent.setNextAsyncId(sequence + 1);
+            spanEvent.setAsyncSequence((short) sequence);
+        }
+        return spanEvent;
+    }
+
+    private List<TAnnotation> newAnnotations() {
+        List<TAnnotation> annotations = new ArrayList<TAnnotation>();
+        annotations.add(new TAnnotation(1));
+        annotations.add(newAnnotation(2, TAnnotationValue.stringValue("string")));
+        annotations.add(newAnnotation(3, TAnnotationValue.boolValue(true)));
+        annotations.add(newAnnotation(4, TAnnotationValue.boolValue(false)));
+        annotations.add(newAnnotation(5, TAnnotationValue.intValue(Integer.MIN_VALUE)));
+        annotations.add(newAnnotation(6, TAnnotationValue.longValue(Long.MAX_VALUE)));
+        annotations.add(newAnnotation(7, TAnnotationValue.shortValue(Short.MIN_VALUE)));
+        annotations.add(newAnnotation(8, TAnnotationValue.doubleValue(3.14)));
+        annotations.add(newAnnotation(9, TAnnotationValue.binaryValue(new byte[] {0, 1, 2, 3})));
+        annotations.add(newAnnotation(10, TAnnotationValue.byteValue((byte) -1)));
+        TIntStringValue intStringValue = new TIntStringValue(-10);
+        intStringValue.setStringValue("intString");
+        annotations.add(newAnnotation(11, TAnnotationValue.intStringValue(intStringValue)));
+        TIntStringStringValue intStringStringValue = new TIntStringStringValue(100);
+        intStringStringValue.setStringValue2("stringValue2");
+        annotations.add(newAnnotation(-12, TAnnotationValue.intStringStringValue(intStringStringValue)));
+        annotations.add(newAnnotation(-13, TAnnotationValue.collapsedCallValue(new TCollapsedCallValue(3, 100L, 10, 50, 1))));
+        // long list header
+        for (int i = 0; i < 20; i++) {
+            annotations.add(newAnnotation(100 + i, TAnnotationValue.intValue(i)));
+        }
+        return annotations;
+    }
+
+    private TAnnotation newAnnotation(int key, TAnnotationValue value) {
+        TAnnotation annotation = new TAnnotation(key);
+        annotation.setValue(value);
+        return annotation;
+    }
+}
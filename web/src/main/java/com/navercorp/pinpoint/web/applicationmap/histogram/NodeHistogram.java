@@ -51,6 +51,8 @@ public class NodeHistogram {
 
     private AgentTimeHistogram agentTimeHistogram;
 
+    private ResourceUsage applicationResourceUsage = new ResourceUsage();
+
 
     public NodeHistogram(Application application, Range range) {
         if (application == null) {
@@ -87,7 +89,7 @@ public class NodeHistogram {
 
         this.agentHistogramMap = createAgentLevelResponseTime(responseHistogramList);
         this.applicationHistogram = createApplicationLevelResponseTime(responseHistogramList);
-
+        this.applicationResourceUsage = createApplicationLevelResourceUsage(responseHistogramList);
     }
 
 
@@ -170,6 +172,20 @@ public class NodeHistogram {
         return applicationHistogram;
     }
     
+    private ResourceUsage createApplicationLevelResourceUsage(List<ResponseTime> responseHistogramList) {
+        final ResourceUsage applicationResourceUsage = new ResourceUsage();
+        for (ResponseTime responseTime : responseHistogramList) {
+            for (Map.Entry<String, ResourceUsage> entry : responseTime.getAgentResourceUsage()) {
+                applicationResourceUsage.add(entry.getValue());
+            }
+        }
+        return applicationResourceUsage;
+    }
+
+    public ResourceUsage getApplicationResourceUsage() {
+        return applicationResourceUsage;
+    }
+
     public Range getRange() {
         return range;
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+
+/**
+ * Sum of the span cpu time and allocated bytes and the number of spans that recorded them.
+ * Read from the resource usage column family of the self statistics table.
+ */
+public class ResourceUsage {
+
+    private long cpuTimeCount;
+    private long cpuTimeSum;
+    private long allocatedBytesCount;
+    private long allocatedBytesSum;
+
+    public void add(short resourceCode, long value) {
+        switch (resourceCode) {
+            case ApplicationMapStatisticsUtils.CPU_TIME_COUNT:
+                this.cpuTimeCount += value;
+                break;
+            case ApplicationMapStatisticsUtils.CPU_TIME_SUM:
+                this.cpuTimeSum += value;
+                break;
+            case ApplicationMapStatisticsUtils.ALLOCATED_BYTES_COUNT:
+                this.allocatedBytesCount += value;
+                break;
+            case ApplicationMapStatisticsUtils.ALLOCATED_BYTES_SUM:
+                this.allocatedBytesSum += value;
+                break;
+            default:
+                // written by a newer collector
+                break;
+        }
+    }
+
+    public void add(ResourceUsage resourceUsage) {
+        if (resourceUsage == null) {
+            throw new NullPointerException("resourceUsage must not be null");
+        }
+        this.cpuTimeCount += resourceUsage.cpuTimeCount;
+        this.cpuTimeSum += resourceUsage.cpuTimeSum;
+        this.allocatedBytesCount += resourceUsage.allocatedBytesCount;
+        this.allocatedBytesSum += resourceUsage.allocatedBytesSum;
+    }
+
+    public boolean isEmpty() {
+        return cpuTimeCount == 0 && allocatedBytesCount == 0;
+    }
+
+    public long getCpuTimeCount() {
+        return cpuTimeCount;
+    }
+
+    public long getAllocatedBytesCount() {
+        return allocatedBytesCount;
+    }
+
+    /**
+     * @return average cpu time in microseconds. -1 if not measured
+     */
+    public long getAvgCpuTime() {
+        if (cpuTimeCount == 0) {
+            return -1;
+        }
+        return cpuTimeSum / cpuTimeCount;
+    }
+
+    /**
+     * @return average allocated bytes. -1 if not measured
+     */
+    public long getAvgAllocatedBytes() {
+        if (allocatedBytesCount == 0) {
+            return -1;
+        }
+        return allocatedBytesSum / allocatedBytesCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceUsage{" +
+                "cpuTimeCount=" + cpuTimeCount +
+                ", cpuTimeSum=" + cpuTimeSum +
+                ", allocatedBytesCount=" + allocatedBytesCount +
+                ", allocatedBytesSum=" + allocatedBytesSum +
+                '}';
+    }
+}
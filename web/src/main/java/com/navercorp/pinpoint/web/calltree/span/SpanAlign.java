@@ -234,6 +234,20 @@ public class SpanAlign {
         return null;
     }
 
+    public long getCpuTime() {
+        if (isSpan()) {
+            return spanBo.getCpuTime();
+        }
+        return SpanBo.NOT_MEASURED;
+    }
+
+    public long getAllocatedBytes() {
+        if (isSpan()) {
+            return spanBo.getAllocatedBytes();
+        }
+        return SpanBo.NOT_MEASURED;
+    }
+
     public int getApiId() {
         if (isSpan()) {
             return spanBo.getApiId();
@@ -43,6 +43,9 @@ public class ConfigProperties {
     @Value("#{pinpointWebProps['config.enable.activeThreadDump'] ?: false}")
     private boolean enableActiveThreadDump;
 
+    @Value("#{pinpointWebProps['config.enable.stackProfile'] ?: false}")
+    private boolean enableStackProfile;
+
     @Value("#{pinpointWebProps['config.openSource'] ?: true}")
     private boolean openSource;
     
@@ -77,6 +80,10 @@ public class ConfigProperties {
         return enableActiveThreadDump;
     }
 
+    public boolean isEnableStackProfile() {
+        return enableStackProfile;
+    }
+
     public boolean isOpenSource() {
         return this.openSource;
     }
@@ -90,6 +97,7 @@ public class ConfigProperties {
         sb.append(", showActiveThreadDump=").append(showActiveThreadDump);
         sb.append(", showInspectorDataSource=").append(showInspectorDataSource);
         sb.append(", enableActiveThreadDump=").append(enableActiveThreadDump);
+        sb.append(", enableStackProfile=").append(enableStackProfile);
         sb.append(", openSource=").append(openSource);
         sb.append(", securityGuideUrl='").append(securityGuideUrl).append('\'');
         sb.append('}');
@@ -23,6 +23,8 @@ import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadDump;
 import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadDumpRes;
 import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadLightDump;
 import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadLightDumpRes;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfile;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
 import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
 import com.navercorp.pinpoint.web.cluster.PinpointRouteResponse;
 import com.navercorp.pinpoint.web.config.ConfigProperties;
@@ -30,6 +32,7 @@ import com.navercorp.pinpoint.web.service.AgentService;
 import com.navercorp.pinpoint.web.vo.AgentActiveThreadDumpFactory;
 import com.navercorp.pinpoint.web.vo.AgentActiveThreadDumpList;
 import com.navercorp.pinpoint.web.vo.AgentInfo;
+import com.navercorp.pinpoint.web.vo.AgentStackProfile;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -175,6 +178,35 @@ public class AgentCommandController {
         }
     }
 
+    @RequestMapping(value = "/stackProfile", method = RequestMethod.GET)
+    public ModelAndView getStackProfile(@RequestParam(value = "applicationName") String applicationName,
+                                        @RequestParam(value = "agentId") String agentId) throws TException {
+        if (!webProperties.isEnableStackProfile()) {
+            return createResponse(false, "Disable stackProfile option. 'config.enable.stackProfile=false'");
+        }
+
+        AgentInfo agentInfo = agentService.getAgentInfo(applicationName, agentId);
+        if (agentInfo == null) {
+            return createResponse(false, String.format("Can't find suitable Agent(%s/%s)", applicationName, agentId));
+        }
+
+        TCmdStackProfile stackProfile = new TCmdStackProfile();
+
+        try {
+            PinpointRouteResponse pinpointRouteResponse = agentService.invoke(agentInfo, stackProfile);
+            if (isSuccessResponse(pinpointRouteResponse)) {
+                TBase<?, ?> result = pinpointRouteResponse.getResponse();
+                if (result instanceof TCmdStackProfileRes) {
+                    AgentStackProfile agentStackProfile = new AgentStackProfile((TCmdStackProfileRes) result);
+                    return createResponse(true, agentStackProfile);
+                }
+            }
+            return handleFailedResponse(pinpointRouteResponse);
+        } catch (TException e) {
+            return createResponse(false, e.getMessage());
+        }
+    }
+
     private ModelAndView handleFailedResponse(PinpointRouteResponse response) {
         if (response == null) {
             return createResponse(false, "response is null");
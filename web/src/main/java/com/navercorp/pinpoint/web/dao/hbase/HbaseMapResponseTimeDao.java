@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.RangeFactory;
+import com.navercorp.pinpoint.web.vo.StatisticsRange;
 import com.navercorp.pinpoint.web.vo.ResponseTime;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -74,9 +75,15 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
             logger.debug("selectResponseTime applicationName:{}, {}", application, range);
         }
 
-        Scan scan = createScan(application, range, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
+        final List<ResponseTime> responseTimeList = new ArrayList<>();
+        // the coarsest rollup table for the range. the unaligned edges are read from the finer tables
+        final List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        for (StatisticsRange statisticsRange : statisticsRangeList) {
+            Scan scan = createScan(application, statisticsRange.getRange());
 
-        List<ResponseTime> responseTimeList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+            List<ResponseTime> result = hbaseOperations2.findParallel(statisticsRange.getResolution().getMapStatisticsSelfTable(), scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+            responseTimeList.addAll(result);
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("Self data {}", responseTimeList);
         }
@@ -88,8 +95,8 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         return new ArrayList<>();
     }
 
-    private Scan createScan(Application application, Range range, byte[] family) {
-        range = rangeFactory.createStatisticsRange(range);
+    // range : reversed statistics range. see RangeFactory
+    private Scan createScan(Application application, Range range) {
         if (logger.isDebugEnabled()) {
             logger.debug("scan time:{} ", range.prettyToString());
         }
@@ -102,7 +109,8 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         scan.setCaching(this.scanCacheSize);
         scan.setStartRow(startKey);
         scan.setStopRow(endKey);
-        scan.addFamily(family);
+        scan.addFamily(HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
+        scan.addFamily(HBaseTables.MAP_STATISTICS_SELF_VER2_CF_RESOURCE);
         scan.setId("ApplicationSelfScan");
 
         return scan;
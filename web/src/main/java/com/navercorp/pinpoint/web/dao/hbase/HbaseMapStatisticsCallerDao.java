@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.RangeFactory;
+import com.navercorp.pinpoint.web.vo.StatisticsRange;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.hadoop.hbase.client.Scan;
@@ -38,6 +39,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * @author netspider
  * @author emeroad
@@ -75,12 +78,20 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         }
 
         final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
-        // find distributed key.
-        final Scan scan = createScan(callerApplication, range, HBaseTables.MAP_STATISTICS_CALLEE_VER2_CF_COUNTER);
-        ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCallerMapper, new MapStatisticsTimeWindowReducer(timeWindow));
-        LinkDataMap linkDataMap = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_CALLEE_VER2, scan, rowKeyDistributorByHashPrefix, resultExtractor, MAP_STATISTICS_CALLEE_VER2_NUM_PARTITIONS);
+        final LinkDataMap linkDataMap = new LinkDataMap(timeWindow);
+        // the coarsest rollup table for the range. the unaligned edges are read from the finer tables
+        final List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        for (StatisticsRange statisticsRange : statisticsRangeList) {
+            // find distributed key.
+            final Scan scan = createScan(callerApplication, statisticsRange.getRange(), HBaseTables.MAP_STATISTICS_CALLEE_VER2_CF_COUNTER);
+            ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCallerMapper, new MapStatisticsTimeWindowReducer(timeWindow));
+            LinkDataMap result = hbaseOperations2.findParallel(statisticsRange.getResolution().getMapStatisticsCalleeTable(), scan, rowKeyDistributorByHashPrefix, resultExtractor, MAP_STATISTICS_CALLEE_VER2_NUM_PARTITIONS);
+            if (result != null) {
+                linkDataMap.addLinkDataMap(result);
+            }
+        }
         logger.debug("Caller data. {}, {}", linkDataMap, range);
-        if (linkDataMap != null && linkDataMap.size() > 0) {
+        if (linkDataMap.size() > 0) {
             return linkDataMap;
         }
 
@@ -88,9 +99,8 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
     }
 
 
+    // range : reversed statistics range. see RangeFactory
     private Scan createScan(Application application, Range range, byte[]... familyArgs) {
-        range = rangeFactory.createStatisticsRange(range);
-
         if (logger.isDebugEnabled()) {
             logger.debug("scan Time:{}", range.prettyToString());
         }
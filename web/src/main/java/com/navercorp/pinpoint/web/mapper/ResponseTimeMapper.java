@@ -66,9 +66,9 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
         for (Cell cell : result.rawCells()) {
             if (CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER)) {
                 recordColumn(responseTime, cell);
-            }
-
-            if (logger.isDebugEnabled()) {
+            } else if (CellUtil.matchingFamily(cell, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_RESOURCE)) {
+                recordResourceColumn(responseTime, cell);
+            } else if (logger.isDebugEnabled()) {
                 logger.debug("unknown column family:{}", Arrays.toString(CellUtil.cloneFamily(cell)));
             }
         }
@@ -87,6 +87,17 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
         responseTime.addResponseTime(agentId, slotNumber, count);
     }
 
+    void recordResourceColumn(ResponseTime responseTime, Cell cell) {
+
+        final byte[] qArray = cell.getQualifierArray();
+        final int qOffset = cell.getQualifierOffset();
+        short resourceCode = Bytes.toShort(qArray, qOffset);
+
+        String agentId = Bytes.toString(qArray, qOffset + BytesUtils.SHORT_BYTE_LENGTH, cell.getQualifierLength() - BytesUtils.SHORT_BYTE_LENGTH);
+        long value = Bytes.toLong(cell.getValueArray(), cell.getValueOffset());
+        responseTime.addResourceUsage(agentId, resourceCode, value);
+    }
+
     private ResponseTime createResponseTime(byte[] rowKey) {
         final Buffer row = new FixedBuffer(rowKey);
         String applicationName = row.read2PrefixedString();
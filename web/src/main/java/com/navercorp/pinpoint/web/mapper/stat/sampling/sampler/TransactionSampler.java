@@ -25,6 +25,8 @@ import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
 import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +47,9 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
         List<Double> unsampledNews = new ArrayList<>(dataPoints.size());
         List<Double> unsampledContinuations = new ArrayList<>(dataPoints.size());
         List<Double> totals = new ArrayList<>(dataPoints.size());
+        List<Double> samplingRates = new ArrayList<>(dataPoints.size());
+        double sentNewCount = 0;
+        long totalNewCount = 0;
         for (TransactionBo transactionBo : dataPoints) {
             long collectInterval = transactionBo.getCollectInterval();
             if (collectInterval > 0) {
@@ -77,6 +82,15 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
                 if (isTransactionCollected) {
                     totals.add(calculateTps(totalCount, collectInterval));
                 }
+                if (transactionBo.getSampledNewCount() != TransactionBo.UNCOLLECTED_VALUE && transactionBo.getUnsampledNewCount() != TransactionBo.UNCOLLECTED_VALUE) {
+                    long newCount = transactionBo.getSampledNewCount() + transactionBo.getUnsampledNewCount();
+                    if (newCount > 0) {
+                        double samplingRate = getSamplingRate(transactionBo, newCount);
+                        samplingRates.add(samplingRate);
+                        sentNewCount += samplingRate * newCount;
+                        totalNewCount += newCount;
+                    }
+                }
             }
         }
         SampledTransaction sampledTransaction = new SampledTransaction();
@@ -85,6 +99,7 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
         sampledTransaction.setUnsampledNew(createPoint(timestamp, unsampledNews));
         sampledTransaction.setUnsampledContinuation(createPoint(timestamp, unsampledContinuations));
         sampledTransaction.setTotal(createPoint(timestamp, totals));
+        sampledTransaction.setSamplingRate(createSamplingRatePoint(timestamp, samplingRates, sentNewCount, totalNewCount));
         return sampledTransaction;
     }
 
@@ -92,6 +107,30 @@ public class TransactionSampler implements AgentStatSampler<TransactionBo, Sampl
         return AgentStatUtils.calculateRate(count, intervalMs, NUM_DECIMAL_PLACES, UNCOLLECTED_TPS);
     }
 
+    // percentage of new transactions sent by the agent, used to re-scale sampled counts
+    private double getSamplingRate(TransactionBo transactionBo, long newCount) {
+        if (transactionBo.getSamplingRate() >= 0) {
+            // effective rate reported by the agent, includes promoted deferred transactions
+            return transactionBo.getSamplingRate();
+        }
+        // agents not reporting the rate
+        return (transactionBo.getSampledNewCount() * 100D) / newCount;
+    }
+
+    // average weighted by the new transaction count of each data point, rates do not add up
+    private Point<Long, Double> createSamplingRatePoint(long timestamp, List<Double> samplingRates, double sentNewCount, long totalNewCount) {
+        if (samplingRates.isEmpty()) {
+            return new UncollectedPoint<>(timestamp, UNCOLLECTED_TPS);
+        }
+        final double weightedSamplingRate = BigDecimal.valueOf(sentNewCount / totalNewCount).setScale(NUM_DECIMAL_PLACES, RoundingMode.HALF_UP).doubleValue();
+        return new Point<>(
+                timestamp,
+                DOUBLE_DOWN_SAMPLER.sampleMin(samplingRates),
+                DOUBLE_DOWN_SAMPLER.sampleMax(samplingRates),
+                weightedSamplingRate,
+                weightedSamplingRate);
+    }
+
     private Point<Long, Double> createPoint(long timestamp, List<Double> values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, UNCOLLECTED_TPS);
@@ -393,6 +393,16 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                     final Record remoteAddressRecord = factory.getParameter(record.getTab() + 1, record.getId(), "REMOTE_ADDRESS", align.getRemoteAddr());
                     recordList.add(remoteAddressRecord);
                 }
+
+                // add resource usage record.(span only)
+                if (align.getCpuTime() != SpanBo.NOT_MEASURED) {
+                    final Record cpuTimeRecord = factory.getParameter(record.getTab() + 1, record.getId(), "CPU_TIME", align.getCpuTime() + "us");
+                    recordList.add(cpuTimeRecord);
+                }
+                if (align.getAllocatedBytes() != SpanBo.NOT_MEASURED) {
+                    final Record allocatedBytesRecord = factory.getParameter(record.getTab() + 1, record.getId(), "ALLOCATED_BYTES", String.valueOf(align.getAllocatedBytes()));
+                    recordList.add(allocatedBytesRecord);
+                }
             }
 
             return recordList;
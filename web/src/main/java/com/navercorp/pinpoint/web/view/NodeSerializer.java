@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.web.applicationmap.Node;
 import com.navercorp.pinpoint.web.applicationmap.ServerInstanceList;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.NodeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.ResourceUsage;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -114,6 +115,8 @@ public class NodeSerializer extends JsonSerializer<Node>  {
             } else {
                 jgen.writeObjectField("agentHistogram", agentHistogramMap);
             }
+
+            writeResourceUsage(jgen, nodeHistogram.getApplicationResourceUsage());
         } else {
             jgen.writeBooleanField("hasAlert", false);  // for go.js
         }
@@ -131,6 +134,18 @@ public class NodeSerializer extends JsonSerializer<Node>  {
         }
     }
 
+    private void writeResourceUsage(JsonGenerator jgen, ResourceUsage resourceUsage) throws IOException {
+        if (resourceUsage == null || resourceUsage.isEmpty()) {
+            return;
+        }
+        jgen.writeObjectFieldStart("resourceUsage");
+        jgen.writeNumberField("cpuTimeCount", resourceUsage.getCpuTimeCount());
+        jgen.writeNumberField("avgCpuTime", resourceUsage.getAvgCpuTime());
+        jgen.writeNumberField("allocatedBytesCount", resourceUsage.getAllocatedBytesCount());
+        jgen.writeNumberField("avgAllocatedBytes", resourceUsage.getAvgAllocatedBytes());
+        jgen.writeEndObject();
+    }
+
     private void writeEmptyArray(JsonGenerator jgen, String fieldName) throws IOException {
         jgen.writeFieldName(fieldName);
         jgen.writeStartArray();
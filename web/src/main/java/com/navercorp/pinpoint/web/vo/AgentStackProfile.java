@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo;
+
+import com.navercorp.pinpoint.thrift.dto.command.TCmdStackProfileRes;
+import com.navercorp.pinpoint.thrift.dto.command.TFoldedStack;
+import com.navercorp.pinpoint.thrift.dto.command.TStackProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Folded stacks sampled by an agent, per entry point.
+ * Each stack is a line of the flame graph folded format ("root;...;leaf count").
+ */
+public class AgentStackProfile {
+
+    private final long startTime;
+    private final long endTime;
+    private final int samplingInterval;
+    // samples of entry points beyond the entry point limit
+    private final int droppedCount;
+    private final List<EntryPointStackProfile> stackProfiles;
+
+    public AgentStackProfile(TCmdStackProfileRes stackProfileRes) {
+        if (stackProfileRes == null) {
+            throw new NullPointerException("stackProfileRes must not be null");
+        }
+        this.startTime = stackProfileRes.getStartTime();
+        this.endTime = stackProfileRes.getEndTime();
+        this.samplingInterval = stackProfileRes.getSamplingInterval();
+        this.droppedCount = stackProfileRes.getDroppedCount();
+        this.stackProfiles = createStackProfiles(stackProfileRes.getStackProfiles());
+    }
+
+    private static List<EntryPointStackProfile> createStackProfiles(List<TStackProfile> tStackProfiles) {
+        if (tStackProfiles == null) {
+            return Collections.emptyList();
+        }
+        List<EntryPointStackProfile> stackProfiles = new ArrayList<>(tStackProfiles.size());
+        for (TStackProfile tStackProfile : tStackProfiles) {
+            stackProfiles.add(new EntryPointStackProfile(tStackProfile));
+        }
+        // most sampled first
+        Collections.sort(stackProfiles, new Comparator<EntryPointStackProfile>() {
+            @Override
+            public int compare(EntryPointStackProfile o1, EntryPointStackProfile o2) {
+                return Integer.compare(o2.getSampleCount(), o1.getSampleCount());
+            }
+        });
+        return stackProfiles;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public int getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    public List<EntryPointStackProfile> getStackProfiles() {
+        return stackProfiles;
+    }
+
+    public static class EntryPointStackProfile {
+
+        private final String entryPoint;
+        private final int sampleCount;
+        private final int droppedCount;
+        private final List<String> foldedStacks;
+
+        public EntryPointStackProfile(TStackProfile tStackProfile) {
+            this.entryPoint = tStackProfile.getEntryPoint();
+            this.sampleCount = tStackProfile.getSampleCount();
+            this.droppedCount = tStackProfile.getDroppedCount();
+
+            final List<TFoldedStack> tFoldedStacks = tStackProfile.getFoldedStacks();
+            if (tFoldedStacks == null) {
+                this.foldedStacks = Collections.emptyList();
+            } else {
+                this.foldedStacks = new ArrayList<>(tFoldedStacks.size());
+                for (TFoldedStack tFoldedStack : tFoldedStacks) {
+                    this.foldedStacks.add(tFoldedStack.getStack() + ' ' + tFoldedStack.getCount());
+                }
+            }
+        }
+
+        public String getEntryPoint() {
+            return entryPoint;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        public int getDroppedCount() {
+            return droppedCount;
+        }
+
+        public List<String> getFoldedStacks() {
+            return foldedStacks;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AgentStackProfile{" +
+                "startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", samplingInterval=" + samplingInterval +
+                ", droppedCount=" + droppedCount +
+                ", stackProfiles=" + stackProfiles.size() +
+                '}';
+    }
+}
@@ -16,9 +16,15 @@
 
 package com.navercorp.pinpoint.web.vo;
 
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
 import com.navercorp.pinpoint.common.util.TimeSlot;
-
+import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
+import com.navercorp.pinpoint.web.util.TimeWindowSampler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author emeroad
@@ -27,6 +33,16 @@ public class RangeFactory {
     @Autowired
     private TimeSlot timeSlot;
 
+    // the rollup tables are written by the collector. see collector.statistics.rollup.enable
+    @Value("#{pinpointWebProps['web.statistics.rollup.enable'] ?: false}")
+    private boolean rollUpEnable;
+
+    // epoch millis from which the collector has been writing the rollup tables. older rows are read from the one minute table
+    @Value("#{pinpointWebProps['web.statistics.rollup.since'] ?: -1}")
+    private long rollUpSince = -1;
+
+    private final TimeWindowSampler timeWindowSampler = TimeWindowDownSampler.SAMPLER;
+
     /**
      * Create minute-based reversed Range for statistics
      * 
@@ -44,4 +60,90 @@ public class RangeFactory {
         return Range.createUncheckedRange(startTime, endTime);
     }
 
+    /**
+     * Split the Range by the coarsest resolution whose rows fit in the TimeWindow slots of the range.
+     * the edges which are not aligned to the coarse time slot are read from the finer tables.
+     * the part of the range before web.statistics.rollup.since is read from the one minute table only.
+     *
+     * @param range
+     * @return reversed Ranges for statistics. one minute resolution only if the rollup is disabled
+     */
+    public List<StatisticsRange> createStatisticsRangeList(Range range) {
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+        final MapStatisticsResolution resolution = getCoarsestResolution(range);
+        final long fromSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long toSlot = timeSlot.getTimeSlot(range.getTo());
+
+        final List<StatisticsRange> statisticsRangeList = new ArrayList<>();
+        if (resolution.isRollup()) {
+            // first minute slot of which the rollup rows are complete
+            final long minuteSlotSize = MapStatisticsResolution.ONE_MINUTE.getSlotSize();
+            final long rollUpFromSlot = MapStatisticsResolution.ONE_MINUTE.getTimeSlot(rollUpSince + minuteSlotSize - 1);
+            if (rollUpFromSlot > fromSlot) {
+                final long minuteToSlot = Math.min(toSlot, rollUpFromSlot - minuteSlotSize);
+                split(fromSlot, minuteToSlot, MapStatisticsResolution.ONE_MINUTE, statisticsRangeList);
+                split(rollUpFromSlot, toSlot, resolution, statisticsRangeList);
+                return statisticsRangeList;
+            }
+        }
+        split(fromSlot, toSlot, resolution, statisticsRangeList);
+        return statisticsRangeList;
+    }
+
+    MapStatisticsResolution getCoarsestResolution(Range range) {
+        if (!rollUpEnable || rollUpSince < 0) {
+            return MapStatisticsResolution.ONE_MINUTE;
+        }
+        final long windowSize = timeWindowSampler.getWindowSize(range);
+        MapStatisticsResolution coarsest = MapStatisticsResolution.ONE_MINUTE;
+        for (MapStatisticsResolution resolution : MapStatisticsResolution.values()) {
+            // a row must not be spread over two window slots
+            if (windowSize % resolution.getSlotSize() == 0 && resolution.getSlotSize() > coarsest.getSlotSize()) {
+                coarsest = resolution;
+            }
+        }
+        return coarsest;
+    }
+
+    // fromSlot, toSlot : minute time slots. both inclusive
+    private void split(long fromSlot, long toSlot, MapStatisticsResolution resolution, List<StatisticsRange> statisticsRangeList) {
+        if (fromSlot > toSlot) {
+            return;
+        }
+        if (!resolution.isRollup()) {
+            // same as createStatisticsRange()
+            statisticsRangeList.add(new StatisticsRange(resolution, Range.createUncheckedRange(fromSlot - 1, toSlot)));
+            return;
+        }
+
+        final long slotSize = resolution.getSlotSize();
+        final long minuteSlotSize = MapStatisticsResolution.ONE_MINUTE.getSlotSize();
+        final MapStatisticsResolution finer = MapStatisticsResolution.values()[resolution.ordinal() - 1];
+
+        final long alignedFrom = resolution.isAligned(fromSlot) ? fromSlot : resolution.getTimeSlot(fromSlot) + slotSize;
+        // exclusive
+        final long alignedTo = resolution.getTimeSlot(toSlot + minuteSlotSize);
+        if (alignedFrom >= alignedTo) {
+            split(fromSlot, toSlot, finer, statisticsRangeList);
+            return;
+        }
+
+        split(fromSlot, alignedFrom - minuteSlotSize, finer, statisticsRangeList);
+        statisticsRangeList.add(new StatisticsRange(resolution, Range.createUncheckedRange(alignedFrom - 1, alignedTo - slotSize)));
+        split(alignedTo, toSlot, finer, statisticsRangeList);
+    }
+
+    void setRollUpEnable(boolean rollUpEnable) {
+        this.rollUpEnable = rollUpEnable;
+    }
+
+    void setRollUpSince(long rollUpSince) {
+        this.rollUpSince = rollUpSince;
+    }
+
+    void setTimeSlot(TimeSlot timeSlot) {
+        this.timeSlot = timeSlot;
+    }
 }
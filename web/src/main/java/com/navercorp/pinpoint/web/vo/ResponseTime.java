@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.vo;
 
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
+import com.navercorp.pinpoint.web.applicationmap.histogram.ResourceUsage;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
 
 import java.util.*;
@@ -33,6 +34,8 @@ public class ResponseTime {
 
     // agentId is the key
     private final Map<String, TimeHistogram> responseHistogramMap = new HashMap<>();
+    // agentId is the key
+    private final Map<String, ResourceUsage> resourceUsageMap = new HashMap<>();
 
 
     public ResponseTime(String applicationName, ServiceType applicationServiceType, long timeStamp) {
@@ -98,6 +101,27 @@ public class ResponseTime {
         histogram.addCallCountByElapsedTime(elapsedTime, error);
     }
 
+    public void addResourceUsage(String agentId, short resourceCode, long value) {
+        ResourceUsage resourceUsage = getResourceUsage(agentId);
+        resourceUsage.add(resourceCode, value);
+    }
+
+    private ResourceUsage getResourceUsage(String agentId) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        ResourceUsage resourceUsage = resourceUsageMap.get(agentId);
+        if (resourceUsage == null) {
+            resourceUsage = new ResourceUsage();
+            resourceUsageMap.put(agentId, resourceUsage);
+        }
+        return resourceUsage;
+    }
+
+    public Set<Map.Entry<String, ResourceUsage>> getAgentResourceUsage() {
+        return this.resourceUsageMap.entrySet();
+    }
+
     public Collection<TimeHistogram> getAgentResponseHistogramList() {
         return responseHistogramMap.values();
     }
@@ -121,6 +145,7 @@ public class ResponseTime {
         sb.append(", applicationServiceType=").append(applicationServiceType);
         sb.append(", timeStamp=").append(timeStamp);
         sb.append(", responseHistogramMap=").append(responseHistogramMap);
+        sb.append(", resourceUsageMap=").append(resourceUsageMap);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo;
+
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
+
+/**
+ * Reversed statistics {@link Range} to scan in the map statistics table of the given resolution.
+ */
+public class StatisticsRange {
+
+    private final MapStatisticsResolution resolution;
+    private final Range range;
+
+    public StatisticsRange(MapStatisticsResolution resolution, Range range) {
+        if (resolution == null) {
+            throw new NullPointerException("resolution must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+        this.resolution = resolution;
+        this.range = range;
+    }
+
+    public MapStatisticsResolution getResolution() {
+        return resolution;
+    }
+
+    public Range getRange() {
+        return range;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsRange{" +
+                "resolution=" + resolution +
+                ", range=" + range.prettyToString() +
+                '}';
+    }
+}
@@ -27,6 +27,7 @@ import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.util.ApiDescription;
+import com.navercorp.pinpoint.common.util.CollapsedCallValue;
 import com.navercorp.pinpoint.common.server.util.ApiDescriptionParser;
 import com.navercorp.pinpoint.web.calltree.span.CallTreeNode;
 import com.navercorp.pinpoint.web.calltree.span.SpanAlign;
@@ -158,7 +159,7 @@ public class RecordFactory {
                         parentId, 
                         false, 
                         key.getName(), 
-                        annotation.getValue().toString(), 
+                        getAnnotationValue(annotation), 
                         0L, 0L, 0, null, null, null, null, false, false, null, 0, 0,
                         MethodTypeEnum.DEFAULT, annotation.isAuthorized());
                 list.add(record);
@@ -168,6 +169,23 @@ public class RecordFactory {
         return list;
     }
     
+    private String getAnnotationValue(AnnotationBo annotation) {
+        final Object value = annotation.getValue();
+        if (value instanceof CollapsedCallValue) {
+            final CollapsedCallValue collapsedCall = (CollapsedCallValue) value;
+            final StringBuilder sb = new StringBuilder(64);
+            sb.append(collapsedCall.getCount()).append(" calls, total ").append(collapsedCall.getTotalElapsed()).append("ms");
+            sb.append(" (min ").append(collapsedCall.getMinElapsed()).append("ms");
+            sb.append(", avg ").append(collapsedCall.getTotalElapsed() / collapsedCall.getCount()).append("ms");
+            sb.append(", max ").append(collapsedCall.getMaxElapsed()).append("ms)");
+            if (collapsedCall.getErrorCount() > 0) {
+                sb.append(", ").append(collapsedCall.getErrorCount()).append(" errors");
+            }
+            return sb.toString();
+        }
+        return String.valueOf(value);
+    }
+
     public Record getParameter(final int depth, final int parentId, final String method, final String argument) {
         return new Record(depth, 
                 getNextId(), 
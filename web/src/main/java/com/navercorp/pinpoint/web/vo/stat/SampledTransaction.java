@@ -28,6 +28,7 @@ public class SampledTransaction implements SampledAgentStatDataPoint {
     private Point<Long, Double> unsampledNew;
     private Point<Long, Double> unsampledContinuation;
     private Point<Long, Double> total;
+    private Point<Long, Double> samplingRate;
 
     public Point<Long, Double> getSampledNew() {
         return sampledNew;
@@ -69,6 +70,14 @@ public class SampledTransaction implements SampledAgentStatDataPoint {
         this.total = total;
     }
 
+    public Point<Long, Double> getSamplingRate() {
+        return samplingRate;
+    }
+
+    public void setSamplingRate(Point<Long, Double> samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -82,7 +91,8 @@ public class SampledTransaction implements SampledAgentStatDataPoint {
         if (unsampledNew != null ? !unsampledNew.equals(that.unsampledNew) : that.unsampledNew != null) return false;
         if (unsampledContinuation != null ? !unsampledContinuation.equals(that.unsampledContinuation) : that.unsampledContinuation != null)
             return false;
-        return total != null ? total.equals(that.total) : that.total == null;
+        if (total != null ? !total.equals(that.total) : that.total != null) return false;
+        return samplingRate != null ? samplingRate.equals(that.samplingRate) : that.samplingRate == null;
     }
 
     @Override
@@ -92,6 +102,7 @@ public class SampledTransaction implements SampledAgentStatDataPoint {
         result = 31 * result + (unsampledNew != null ? unsampledNew.hashCode() : 0);
         result = 31 * result + (unsampledContinuation != null ? unsampledContinuation.hashCode() : 0);
         result = 31 * result + (total != null ? total.hashCode() : 0);
+        result = 31 * result + (samplingRate != null ? samplingRate.hashCode() : 0);
         return result;
     }
 
@@ -103,6 +114,7 @@ public class SampledTransaction implements SampledAgentStatDataPoint {
         sb.append(", unsampledNew=").append(unsampledNew);
         sb.append(", unsampledContinuation=").append(unsampledContinuation);
         sb.append(", total=").append(total);
+        sb.append(", samplingRate=").append(samplingRate);
         sb.append('}');
         return sb.toString();
     }
@@ -41,7 +41,8 @@ public class TransactionChartGroup implements AgentStatChartGroup {
         TPS_SAMPLED_CONTINUATION,
         TPS_UNSAMPLED_NEW,
         TPS_UNSAMPLED_CONTINUATION,
-        TPS_TOTAL
+        TPS_TOTAL,
+        SAMPLING_RATE
     }
 
     public TransactionChartGroup(TimeWindow timeWindow, List<SampledTransaction> sampledTransactions) {
@@ -51,18 +52,21 @@ public class TransactionChartGroup implements AgentStatChartGroup {
         List<Point<Long, Double>> unsampledNewTps = new ArrayList<>(sampledTransactions.size());
         List<Point<Long, Double>> unsampledContinuationTps = new ArrayList<>(sampledTransactions.size());
         List<Point<Long, Double>> totalTps = new ArrayList<>();
+        List<Point<Long, Double>> samplingRates = new ArrayList<>(sampledTransactions.size());
         for (SampledTransaction sampledTransaction : sampledTransactions) {
             sampledNewTps.add(sampledTransaction.getSampledNew());
             sampledContinuationTps.add(sampledTransaction.getSampledContinuation());
             unsampledNewTps.add(sampledTransaction.getUnsampledNew());
             unsampledContinuationTps.add(sampledTransaction.getUnsampledContinuation());
             totalTps.add(sampledTransaction.getTotal());
+            samplingRates.add(sampledTransaction.getSamplingRate());
         }
         transactionCharts.put(TransactionChartType.TPS_SAMPLED_NEW, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(sampledNewTps));
         transactionCharts.put(TransactionChartType.TPS_SAMPLED_CONTINUATION, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(sampledContinuationTps));
         transactionCharts.put(TransactionChartType.TPS_UNSAMPLED_NEW, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(unsampledNewTps));
         transactionCharts.put(TransactionChartType.TPS_UNSAMPLED_CONTINUATION, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(unsampledContinuationTps));
         transactionCharts.put(TransactionChartType.TPS_TOTAL, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(totalTps));
+        transactionCharts.put(TransactionChartType.SAMPLING_RATE, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_TPS).build(samplingRates));
     }
 
     @Override
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourceUsageTest {
+
+    @Test
+    public void responseTimeSlot() {
+        Application app = new Application("test", ServiceType.STAND_ALONE);
+        ResponseTime responseTime = new ResponseTime(app.getName(), app.getServiceType(), 0);
+        responseTime.addResponseTime("agent1", ServiceType.STAND_ALONE.getHistogramSchema().getFastSlot().getSlotTime(), 3);
+        addResourceUsage(responseTime, "agent1", 3, 300, 3, 3000);
+        addResourceUsage(responseTime, "agent2", 1, 500, 0, 0);
+
+        List<ResponseTime> responseTimeList = new ArrayList<>();
+        responseTimeList.add(responseTime);
+        NodeHistogram nodeHistogram = new NodeHistogram(app, new Range(0, 60000), responseTimeList);
+
+        Assert.assertEquals(3, nodeHistogram.getApplicationHistogram().getTotalCount());
+        ResourceUsage resourceUsage = nodeHistogram.getApplicationResourceUsage();
+        Assert.assertEquals(4, resourceUsage.getCpuTimeCount());
+        Assert.assertEquals(200, resourceUsage.getAvgCpuTime());
+        Assert.assertEquals(3, resourceUsage.getAllocatedBytesCount());
+        Assert.assertEquals(1000, resourceUsage.getAvgAllocatedBytes());
+    }
+
+    @Test
+    public void notMeasured() {
+        ResourceUsage resourceUsage = new ResourceUsage();
+        Assert.assertTrue(resourceUsage.isEmpty());
+        Assert.assertEquals(-1, resourceUsage.getAvgCpuTime());
+        Assert.assertEquals(-1, resourceUsage.getAvgAllocatedBytes());
+    }
+
+    @Test
+    public void unknownResourceCode() {
+        ResourceUsage resourceUsage = new ResourceUsage();
+        resourceUsage.add((short) 100, 1);
+        Assert.assertTrue(resourceUsage.isEmpty());
+    }
+
+    private void addResourceUsage(ResponseTime responseTime, String agentId, long cpuTimeCount, long cpuTimeSum, long allocatedBytesCount, long allocatedBytesSum) {
+        responseTime.addResourceUsage(agentId, ApplicationMapStatisticsUtils.CPU_TIME_COUNT, cpuTimeCount);
+        responseTime.addResourceUsage(agentId, ApplicationMapStatisticsUtils.CPU_TIME_SUM, cpuTimeSum);
+        responseTime.addResourceUsage(agentId, ApplicationMapStatisticsUtils.ALLOCATED_BYTES_COUNT, allocatedBytesCount);
+        responseTime.addResourceUsage(agentId, ApplicationMapStatisticsUtils.ALLOCATED_BYTES_SUM, allocatedBytesSum);
+    }
+}
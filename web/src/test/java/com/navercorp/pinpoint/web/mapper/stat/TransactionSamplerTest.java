@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.mapper.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.web.mapper.stat.sampling.sampler.TransactionSampler;
+import com.navercorp.pinpoint.web.vo.chart.Point;
+import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TransactionSamplerTest {
+
+    private final TransactionSampler sampler = new TransactionSampler();
+
+    @Test
+    public void samplingRate_weightedByNewCount() {
+        TransactionBo busy = createTransactionBo(10, 990, 1);
+        TransactionBo idle = createTransactionBo(10, 0, 100);
+
+        SampledTransaction sampledTransaction = sampler.sampleDataPoints(0, 0L, Arrays.asList(busy, idle), null);
+
+        Point<Long, Double> samplingRate = sampledTransaction.getSamplingRate();
+        Assert.assertEquals(1.0, samplingRate.getMinYVal(), 0.001);
+        Assert.assertEquals(100.0, samplingRate.getMaxYVal(), 0.001);
+        // 20 sent out of 1010
+        Assert.assertEquals(2.0, samplingRate.getAvgYVal(), 0.001);
+    }
+
+    @Test
+    public void samplingRate_notReported() {
+        TransactionBo transactionBo = createTransactionBo(10, 30, TransactionBo.UNCOLLECTED_VALUE);
+
+        SampledTransaction sampledTransaction = sampler.sampleDataPoints(0, 0L, Arrays.asList(transactionBo), null);
+
+        Assert.assertEquals(25.0, sampledTransaction.getSamplingRate().getAvgYVal(), 0.001);
+    }
+
+    private TransactionBo createTransactionBo(long sampledNewCount, long unsampledNewCount, double samplingRate) {
+        TransactionBo transactionBo = new TransactionBo();
+        transactionBo.setCollectInterval(5000);
+        transactionBo.setSampledNewCount(sampledNewCount);
+        transactionBo.setSampledContinuationCount(0);
+        transactionBo.setUnsampledNewCount(unsampledNewCount);
+        transactionBo.setUnsampledContinuationCount(0);
+        transactionBo.setSamplingRate(samplingRate);
+        return transactionBo;
+    }
+}
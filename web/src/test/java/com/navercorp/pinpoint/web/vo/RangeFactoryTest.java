@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo;
+
+import com.navercorp.pinpoint.common.hbase.MapStatisticsResolution;
+import com.navercorp.pinpoint.common.util.DefaultTimeSlot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class RangeFactoryTest {
+
+    // 2017-01-01 00:00:00 UTC
+    private static final long BASE_TIME = 1483228800000L;
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private RangeFactory newRangeFactory(boolean rollUpEnable) {
+        return newRangeFactory(rollUpEnable, 0);
+    }
+
+    private RangeFactory newRangeFactory(boolean rollUpEnable, long rollUpSince) {
+        RangeFactory rangeFactory = new RangeFactory();
+        rangeFactory.setTimeSlot(new DefaultTimeSlot());
+        rangeFactory.setRollUpEnable(rollUpEnable);
+        rangeFactory.setRollUpSince(rollUpSince);
+        return rangeFactory;
+    }
+
+    @Test
+    public void rollUpDisabled() {
+        RangeFactory rangeFactory = newRangeFactory(false);
+        Range range = new Range(BASE_TIME + 12345, BASE_TIME + TimeUnit.DAYS.toMillis(3));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Assert.assertEquals(1, statisticsRangeList.size());
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, statisticsRangeList.get(0).getResolution());
+        Assert.assertEquals(rangeFactory.createStatisticsRange(range), statisticsRangeList.get(0).getRange());
+    }
+
+    @Test
+    public void rollUpSinceNotSet() {
+        RangeFactory rangeFactory = newRangeFactory(true, -1);
+        Range range = new Range(BASE_TIME + 12345, BASE_TIME + TimeUnit.DAYS.toMillis(3));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Assert.assertEquals(1, statisticsRangeList.size());
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, statisticsRangeList.get(0).getResolution());
+    }
+
+    @Test
+    public void rollUpSinceAfterRange() {
+        Range range = new Range(BASE_TIME + 12345, BASE_TIME + TimeUnit.DAYS.toMillis(3));
+        RangeFactory rangeFactory = newRangeFactory(true, range.getTo() + TimeUnit.HOURS.toMillis(1));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Assert.assertEquals(1, statisticsRangeList.size());
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, statisticsRangeList.get(0).getResolution());
+        Assert.assertEquals(rangeFactory.createStatisticsRange(range), statisticsRangeList.get(0).getRange());
+    }
+
+    @Test
+    public void rollUpSinceInRange() {
+        Range range = new Range(BASE_TIME, BASE_TIME + TimeUnit.DAYS.toMillis(3));
+        // not aligned to a minute
+        final long rollUpSince = BASE_TIME + TimeUnit.DAYS.toMillis(1) + TimeUnit.MINUTES.toMillis(25) + 30000;
+        RangeFactory rangeFactory = newRangeFactory(true, rollUpSince);
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        // 00:00 ~ 00:25 of the day before the rollup
+        StatisticsRange first = statisticsRangeList.get(0);
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, first.getResolution());
+        Assert.assertEquals(Range.createUncheckedRange(BASE_TIME - 1, rollUpSince - 30000), first.getRange());
+
+        for (StatisticsRange statisticsRange : statisticsRangeList) {
+            if (statisticsRange.getResolution().isRollup()) {
+                Assert.assertTrue(statisticsRange.toString(), statisticsRange.getRange().getFrom() + 1 >= rollUpSince);
+            }
+        }
+        Assert.assertEquals(MapStatisticsResolution.ONE_HOUR, statisticsRangeList.get(3).getResolution());
+
+        assertCoverage(range, statisticsRangeList);
+    }
+
+    @Test
+    public void coarsestResolution() {
+        RangeFactory rangeFactory = newRangeFactory(true);
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, rangeFactory.getCoarsestResolution(new Range(0, TimeUnit.HOURS.toMillis(6))));
+        Assert.assertEquals(MapStatisticsResolution.TEN_MINUTES, rangeFactory.getCoarsestResolution(new Range(0, TimeUnit.HOURS.toMillis(12))));
+        Assert.assertEquals(MapStatisticsResolution.TEN_MINUTES, rangeFactory.getCoarsestResolution(new Range(0, TimeUnit.DAYS.toMillis(2))));
+        Assert.assertEquals(MapStatisticsResolution.ONE_HOUR, rangeFactory.getCoarsestResolution(new Range(0, TimeUnit.DAYS.toMillis(3))));
+    }
+
+    @Test
+    public void twoDays() {
+        RangeFactory rangeFactory = newRangeFactory(true);
+        long from = BASE_TIME + TimeUnit.MINUTES.toMillis(3) + 30000;
+        Range range = new Range(from, from + TimeUnit.DAYS.toMillis(2));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Assert.assertEquals(3, statisticsRangeList.size());
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, statisticsRangeList.get(0).getResolution());
+        Assert.assertEquals(MapStatisticsResolution.TEN_MINUTES, statisticsRangeList.get(1).getResolution());
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, statisticsRangeList.get(2).getResolution());
+        // 00:03 ~ 00:09
+        Assert.assertEquals(Range.createUncheckedRange(BASE_TIME + 3 * ONE_MINUTE - 1, BASE_TIME + 9 * ONE_MINUTE), statisticsRangeList.get(0).getRange());
+
+        assertCoverage(range, statisticsRangeList);
+    }
+
+    @Test
+    public void threeDays() {
+        RangeFactory rangeFactory = newRangeFactory(true);
+        long from = BASE_TIME + TimeUnit.MINUTES.toMillis(47);
+        Range range = new Range(from, from + TimeUnit.DAYS.toMillis(3));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Set<MapStatisticsResolution> resolutions = EnumSet.noneOf(MapStatisticsResolution.class);
+        for (StatisticsRange statisticsRange : statisticsRangeList) {
+            resolutions.add(statisticsRange.getResolution());
+        }
+        Assert.assertEquals(EnumSet.allOf(MapStatisticsResolution.class), resolutions);
+
+        assertCoverage(range, statisticsRangeList);
+    }
+
+    @Test
+    public void shortRange() {
+        RangeFactory rangeFactory = newRangeFactory(true);
+        // too short for a 10 minute row
+        Range range = new Range(BASE_TIME + TimeUnit.MINUTES.toMillis(1), BASE_TIME + TimeUnit.MINUTES.toMillis(8));
+        Assert.assertEquals(MapStatisticsResolution.ONE_MINUTE, rangeFactory.getCoarsestResolution(range));
+
+        List<StatisticsRange> statisticsRangeList = rangeFactory.createStatisticsRangeList(range);
+        Assert.assertEquals(1, statisticsRangeList.size());
+        assertCoverage(range, statisticsRangeList);
+    }
+
+    /**
+     * every minute of the range is read exactly once
+     */
+    private void assertCoverage(Range range, List<StatisticsRange> statisticsRangeList) {
+        long nextSlot = (range.getFrom() / ONE_MINUTE) * ONE_MINUTE;
+        for (StatisticsRange statisticsRange : statisticsRangeList) {
+            final MapStatisticsResolution resolution = statisticsRange.getResolution();
+            final Range scanRange = statisticsRange.getRange();
+            final long firstSlot = scanRange.getFrom() + 1;
+            Assert.assertEquals(statisticsRange.toString(), nextSlot, firstSlot);
+            Assert.assertTrue(resolution.isAligned(firstSlot));
+            Assert.assertTrue(resolution.isAligned(scanRange.getTo()));
+            nextSlot = scanRange.getTo() + resolution.getSlotSize();
+        }
+        Assert.assertEquals((range.getTo() / ONE_MINUTE) * ONE_MINUTE + ONE_MINUTE, nextSlot);
+    }
+}